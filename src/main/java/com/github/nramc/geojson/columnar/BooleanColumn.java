@@ -0,0 +1,79 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.columnar;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.text.MessageFormat;
+import java.util.BitSet;
+import java.util.Objects;
+
+/**
+ * A {@link PropertyColumn} of {@link Boolean} values, held in a {@link BitSet}.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * BitSet open = columns.getBooleanColumn("open").select(true);
+ * }</pre></p>
+ */
+public final class BooleanColumn extends PropertyColumn {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final BitSet values;
+
+    BooleanColumn(String name, BitSet present, BitSet values, int size) {
+        super(name, present, size);
+        this.values = values;
+    }
+
+    /**
+     * Returns the value of the given row without boxing.
+     *
+     * @param index The index of the row.
+     * @return the value, false if the row has no value.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public boolean getBoolean(int index) {
+        return values.get(Objects.checkIndex(index, size()));
+    }
+
+    @Override
+    public Serializable get(int index) {
+        return isNull(index) ? null : values.get(index);
+    }
+
+    /**
+     * Returns the rows with the given value.
+     *
+     * @param value The matching value.
+     * @return a new set of the matching rows.
+     */
+    public BitSet select(boolean value) {
+        BitSet matches = selectNotNull();
+        if (value) {
+            matches.and(values);
+        } else {
+            matches.andNot(values);
+        }
+        return matches;
+    }
+
+    @Override
+    public String toString() {
+        return MessageFormat.format("BooleanColumn'{'name={0}, size={1,number,#}, nulls={2,number,#}'}'", getName(), size(), getNullCount());
+    }
+}
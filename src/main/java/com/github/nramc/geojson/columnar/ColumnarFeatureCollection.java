@@ -0,0 +1,237 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.columnar;
+
+import com.github.nramc.geojson.domain.Feature;
+import com.github.nramc.geojson.domain.FeatureCollection;
+import com.github.nramc.geojson.domain.Geometry;
+import org.apache.commons.collections4.ListUtils;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.github.nramc.geojson.constant.GeoJsonType.FEATURE;
+import static com.github.nramc.geojson.constant.GeoJsonType.FEATURE_COLLECTION;
+
+/**
+ * A FeatureCollection held as columns instead of one object per feature: an id column, a {@link GeometryColumn}
+ * with the coordinates of all geometries in one array, and one typed {@link PropertyColumn} per property name.
+ * <p>
+ * Scanning one property over millions of features then reads one primitive array instead of a map per feature,
+ * e.g. to filter features by their properties and bounding boxes before restoring the few matching ones with
+ * {@link #getFeature(int)}. The rows of all columns are the features in the order of the collection.
+ * </p>
+ * <p>
+ * Ids, geometries and properties are restored equal to the original ones, properties with their original types.
+ * A property whose value is null is restored as missing property.
+ * </p>
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * ColumnarFeatureCollection columns = ColumnarFeatureCollection.of(featureCollection);
+ * BitSet rows = columns.getDoubleColumn("area").select(1000.0, Double.POSITIVE_INFINITY);
+ * rows.and(columns.getGeometries().selectIntersecting(13.0, 52.0, 14.0, 53.0));
+ * List<Feature> features = rows.stream().mapToObj(columns::getFeature).toList();
+ * }</pre></p>
+ *
+ * <p>A columnar FeatureCollection is immutable.</p>
+ *
+ * @see PropertyColumn
+ * @see GeometryColumn
+ */
+public final class ColumnarFeatureCollection implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final String[] ids;
+    private final GeometryColumn geometries;
+    private final Map<String, PropertyColumn> columns;
+
+    private ColumnarFeatureCollection(String[] ids, GeometryColumn geometries, Map<String, PropertyColumn> columns) {
+        this.ids = ids;
+        this.geometries = geometries;
+        this.columns = columns;
+    }
+
+    /**
+     * Splits the given features into columns.
+     *
+     * @param featureCollection The features to split.
+     * @return the columnar features.
+     */
+    public static ColumnarFeatureCollection of(FeatureCollection featureCollection) {
+        List<Feature> features = ListUtils.emptyIfNull(featureCollection.getFeatures());
+        String[] ids = new String[features.size()];
+        List<Geometry> geometries = new ArrayList<>(features.size());
+        Map<String, Serializable[]> values = new LinkedHashMap<>();
+        for (int i = 0; i < features.size(); i++) {
+            Feature feature = features.get(i);
+            ids[i] = feature.getId();
+            geometries.add(feature.getGeometry());
+            for (Map.Entry<String, Serializable> property : feature.getProperties().entrySet()) {
+                values.computeIfAbsent(property.getKey(), name -> new Serializable[features.size()])[i] = property.getValue();
+            }
+        }
+        Map<String, PropertyColumn> columns = new LinkedHashMap<>();
+        values.forEach((name, column) -> columns.put(name, PropertyColumn.of(name, column)));
+        return new ColumnarFeatureCollection(ids, GeometryColumn.of(geometries), Collections.unmodifiableMap(columns));
+    }
+
+    /**
+     * Returns the number of features, i.e. the number of rows of every column.
+     *
+     * @return the number of features.
+     */
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Returns the id of the feature at the given index.
+     *
+     * @param index The index of the feature.
+     * @return the id, or null if the feature has no id.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public String getId(int index) {
+        return ids[index];
+    }
+
+    /**
+     * Returns the geometries of all features.
+     *
+     * @return the geometry column.
+     */
+    public GeometryColumn getGeometries() {
+        return geometries;
+    }
+
+    /**
+     * Returns the names of all properties of any feature, in the order of first occurrence.
+     *
+     * @return the property names, unmodifiable.
+     */
+    public Set<String> getPropertyNames() {
+        return columns.keySet();
+    }
+
+    /**
+     * Returns the column of the given property.
+     *
+     * @param name The name of the property.
+     * @return the column, or null if no feature has such property.
+     */
+    public PropertyColumn getColumn(String name) {
+        return columns.get(name);
+    }
+
+    /**
+     * Returns the column of the given property, whose values are all {@link Double}, possibly mixed with whole numbers.
+     *
+     * @param name The name of the property.
+     * @return the column.
+     * @throws IllegalArgumentException if no feature has such property or the column is of another type.
+     */
+    public DoubleColumn getDoubleColumn(String name) {
+        return getColumn(name, DoubleColumn.class);
+    }
+
+    /**
+     * Returns the column of the given property, whose values are all {@link Long} or {@link Integer}.
+     *
+     * @param name The name of the property.
+     * @return the column.
+     * @throws IllegalArgumentException if no feature has such property or the column is of another type.
+     */
+    public LongColumn getLongColumn(String name) {
+        return getColumn(name, LongColumn.class);
+    }
+
+    /**
+     * Returns the column of the given property, whose values are all {@link Boolean}.
+     *
+     * @param name The name of the property.
+     * @return the column.
+     * @throws IllegalArgumentException if no feature has such property or the column is of another type.
+     */
+    public BooleanColumn getBooleanColumn(String name) {
+        return getColumn(name, BooleanColumn.class);
+    }
+
+    /**
+     * Returns the column of the given property, whose values are all {@link String}.
+     *
+     * @param name The name of the property.
+     * @return the column.
+     * @throws IllegalArgumentException if no feature has such property or the column is of another type.
+     */
+    public StringColumn getStringColumn(String name) {
+        return getColumn(name, StringColumn.class);
+    }
+
+    private <T extends PropertyColumn> T getColumn(String name, Class<T> type) {
+        PropertyColumn column = columns.get(name);
+        if (!type.isInstance(column)) {
+            throw new IllegalArgumentException("Property '%s' has %s, not a %s".formatted(name,
+                    column != null ? "a " + column.getClass().getSimpleName() : "no column", type.getSimpleName()));
+        }
+        return type.cast(column);
+    }
+
+    /**
+     * Restores the feature at the given index.
+     *
+     * @param index The index of the feature.
+     * @return the restored feature.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public Feature getFeature(int index) {
+        Map<String, Serializable> properties = HashMap.newHashMap(columns.size());
+        for (PropertyColumn column : columns.values()) {
+            Serializable value = column.get(index);
+            if (value != null) {
+                properties.put(column.getName(), value);
+            }
+        }
+        return new Feature(FEATURE, ids[index], geometries.getGeometry(index), properties);
+    }
+
+    /**
+     * Restores all features.
+     *
+     * @return the restored FeatureCollection.
+     */
+    public FeatureCollection toFeatureCollection() {
+        List<Feature> features = new ArrayList<>(size());
+        for (int i = 0; i < size(); i++) {
+            features.add(getFeature(i));
+        }
+        return new FeatureCollection(FEATURE_COLLECTION, features);
+    }
+
+    @Override
+    public String toString() {
+        return MessageFormat.format("ColumnarFeatureCollection'{'features={0,number,#}, properties={1}'}'", size(), columns.keySet());
+    }
+}
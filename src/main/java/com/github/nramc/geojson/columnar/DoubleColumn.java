@@ -0,0 +1,137 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.columnar;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.text.MessageFormat;
+import java.util.BitSet;
+import java.util.Objects;
+import java.util.OptionalDouble;
+
+/**
+ * A {@link PropertyColumn} of {@link Double} values, held in a {@code double[]}, possibly mixed with
+ * {@link Integer} and {@link Long} values which are exact doubles. Every value is restored with its original type.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * DoubleColumn area = columns.getDoubleColumn("area");
+ * BitSet large = area.select(1000.0, Double.POSITIVE_INFINITY);
+ * }</pre></p>
+ */
+public final class DoubleColumn extends PropertyColumn {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final double[] values;
+    private final BitSet integers;
+    private final BitSet longs;
+
+    DoubleColumn(String name, BitSet present, double[] values, BitSet integers, BitSet longs) {
+        super(name, present, values.length);
+        this.values = values;
+        this.integers = integers;
+        this.longs = longs;
+    }
+
+    /**
+     * Returns the value of the given row without boxing.
+     *
+     * @param index The index of the row.
+     * @return the value, 0 if the row has no value.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public double getDouble(int index) {
+        return values[Objects.checkIndex(index, size())];
+    }
+
+    @Override
+    public Serializable get(int index) {
+        if (isNull(index)) {
+            return null;
+        } else if (integers.get(index)) {
+            return (int) values[index];
+        } else if (longs.get(index)) {
+            return (long) values[index];
+        }
+        return values[index];
+    }
+
+    /**
+     * Returns the sum of all values.
+     *
+     * @return the sum, 0 if every row is null.
+     */
+    public double sum() {
+        double sum = 0;
+        for (double value : values) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    /**
+     * Returns the smallest value.
+     *
+     * @return the smallest value, empty if every row is null.
+     */
+    public OptionalDouble min() {
+        BitSet present = selectNotNull();
+        double min = Double.POSITIVE_INFINITY;
+        for (int i = present.nextSetBit(0); i >= 0; i = present.nextSetBit(i + 1)) {
+            min = Math.min(min, values[i]);
+        }
+        return present.isEmpty() ? OptionalDouble.empty() : OptionalDouble.of(min);
+    }
+
+    /**
+     * Returns the largest value.
+     *
+     * @return the largest value, empty if every row is null.
+     */
+    public OptionalDouble max() {
+        BitSet present = selectNotNull();
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = present.nextSetBit(0); i >= 0; i = present.nextSetBit(i + 1)) {
+            max = Math.max(max, values[i]);
+        }
+        return present.isEmpty() ? OptionalDouble.empty() : OptionalDouble.of(max);
+    }
+
+    /**
+     * Returns the rows whose value is between the given bounds.
+     *
+     * @param min The smallest matching value, inclusive.
+     * @param max The largest matching value, inclusive.
+     * @return a new set of the matching rows.
+     */
+    public BitSet select(double min, double max) {
+        long[] words = words(values.length);
+        for (int word = 0; word < words.length; word++) {
+            long bits = 0;
+            for (int i = word << 6, end = Math.min(i + Long.SIZE, values.length); i < end; i++) {
+                bits |= ((values[i] >= min ? 1L : 0L) & (values[i] <= max ? 1L : 0L)) << i;
+            }
+            words[word] = bits;
+        }
+        return matches(words);
+    }
+
+    @Override
+    public String toString() {
+        return MessageFormat.format("DoubleColumn'{'name={0}, size={1,number,#}, nulls={2,number,#}'}'", getName(), size(), getNullCount());
+    }
+}
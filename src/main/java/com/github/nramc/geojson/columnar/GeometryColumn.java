@@ -0,0 +1,403 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.columnar;
+
+import com.github.nramc.geojson.domain.CoordinateSequence;
+import com.github.nramc.geojson.domain.Geometry;
+import com.github.nramc.geojson.domain.GeometryCollection;
+import com.github.nramc.geojson.domain.LineString;
+import com.github.nramc.geojson.domain.MultiLineString;
+import com.github.nramc.geojson.domain.MultiPoint;
+import com.github.nramc.geojson.domain.MultiPolygon;
+import com.github.nramc.geojson.domain.Point;
+import com.github.nramc.geojson.domain.Polygon;
+import com.github.nramc.geojson.domain.PolygonCoordinates;
+import com.github.nramc.geojson.domain.Position;
+import org.apache.commons.collections4.ListUtils;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static com.github.nramc.geojson.constant.GeoJsonType.LINE_STRING;
+import static com.github.nramc.geojson.constant.GeoJsonType.MULTI_LINE_STRING;
+import static com.github.nramc.geojson.constant.GeoJsonType.MULTI_POINT;
+import static com.github.nramc.geojson.constant.GeoJsonType.MULTI_POLYGON;
+import static com.github.nramc.geojson.constant.GeoJsonType.POINT;
+import static com.github.nramc.geojson.constant.GeoJsonType.POLYGON;
+
+/**
+ * The geometries of all features of a {@link ColumnarFeatureCollection}, one row per feature, in flat arrays.
+ * <p>
+ * The coordinates of all geometries follow each other in one {@code double[]}. A geometry covers a range of
+ * parts, a part, i.e. a line, a ring or all points of a point or multi point, covers a range of the coordinates,
+ * and the polygons of a geometry list how many of its parts are their rings, so the layout needs no object per
+ * geometry. The bounding box of every geometry is held in four more columns, scanned by
+ * {@link #selectIntersecting(double, double, double, double)}.
+ * </p>
+ * <p>
+ * Geometries which do not fit the layout are kept as they are: geometry collections and geometries with
+ * missing coordinate lists, or positions which are null, have different dimensions or neither 2 nor 3
+ * coordinates.
+ * </p>
+ *
+ * <p>The column is immutable.</p>
+ */
+public final class GeometryColumn implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private static final byte NONE = 0;
+    private static final byte OTHER = 7;
+    private static final int MIN_DIMENSION = 2;
+    private static final List<String> TYPES = List.of(POINT, LINE_STRING, POLYGON, MULTI_POINT, MULTI_LINE_STRING, MULTI_POLYGON);
+
+    private final byte[] types;
+    private final byte[] dimensions;
+    private final int[] geometryOffsets;
+    private final int[] polygonOffsets;
+    private final int[] ringCounts;
+    private final int[] partOffsets;
+    private final double[] coordinates;
+    private final double[] minX;
+    private final double[] minY;
+    private final double[] maxX;
+    private final double[] maxY;
+    private final Map<Integer, Geometry> others;
+
+    private GeometryColumn(Builder builder) {
+        this.types = builder.types;
+        this.dimensions = builder.dimensions;
+        this.geometryOffsets = builder.geometryOffsets;
+        this.polygonOffsets = builder.polygonOffsets;
+        this.ringCounts = Arrays.copyOf(builder.ringCounts, builder.polygonCount);
+        this.partOffsets = Arrays.copyOf(builder.partOffsets, builder.partCount + 1);
+        this.coordinates = Arrays.copyOf(builder.coordinates, builder.coordinateCount);
+        this.minX = builder.minX;
+        this.minY = builder.minY;
+        this.maxX = builder.maxX;
+        this.maxY = builder.maxY;
+        this.others = builder.others;
+    }
+
+    /**
+     * Creates the column of the given geometries.
+     *
+     * @param geometries The geometry of every row, null for a feature without geometry.
+     */
+    static GeometryColumn of(List<Geometry> geometries) {
+        Builder builder = new Builder(geometries.size());
+        for (int i = 0; i < geometries.size(); i++) {
+            builder.add(i, geometries.get(i));
+        }
+        return new GeometryColumn(builder);
+    }
+
+    /**
+     * Returns the number of rows, i.e. the number of features.
+     *
+     * @return the number of rows.
+     */
+    public int size() {
+        return types.length;
+    }
+
+    /**
+     * Returns the GeoJSON type of the geometry of the given row.
+     *
+     * @param index The index of the row.
+     * @return the type, e.g. {@code "Polygon"}, or null if the feature has no geometry.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public String getType(int index) {
+        byte type = types[Objects.checkIndex(index, size())];
+        if (type == OTHER) {
+            return others.get(index).getClass().getSimpleName();
+        }
+        return type != NONE ? TYPES.get(type - 1) : null;
+    }
+
+    /**
+     * Returns the number of coordinates of all geometries held in the coordinate array, i.e. the number of
+     * positions times their dimensions.
+     *
+     * @return the length of the coordinate array.
+     */
+    public int getCoordinateCount() {
+        return coordinates.length;
+    }
+
+    /**
+     * Returns the bounding box of the geometry of the given row.
+     *
+     * @param index The index of the row.
+     * @return a new array with minimum longitude, minimum latitude, maximum longitude and maximum latitude,
+     * NaN if the feature has no geometry or the geometry has no positions.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public double[] getBoundingBox(int index) {
+        Objects.checkIndex(index, size());
+        return new double[]{minX[index], minY[index], maxX[index], maxY[index]};
+    }
+
+    /**
+     * Returns the rows whose bounding box intersects the given box.
+     *
+     * @param minX The minimum longitude of the box.
+     * @param minY The minimum latitude of the box.
+     * @param maxX The maximum longitude of the box.
+     * @param maxY The maximum latitude of the box.
+     * @return a new set of the matching rows, without features without geometry or positions.
+     */
+    public BitSet selectIntersecting(double minX, double minY, double maxX, double maxY) {
+        long[] words = new long[(size() + Long.SIZE - 1) / Long.SIZE];
+        for (int word = 0; word < words.length; word++) {
+            long bits = 0;
+            for (int i = word << 6, end = Math.min(i + Long.SIZE, types.length); i < end; i++) {
+                boolean intersects = this.minX[i] <= maxX & this.minY[i] <= maxY & this.maxX[i] >= minX & this.maxY[i] >= minY;
+                bits |= (intersects ? 1L : 0L) << i;
+            }
+            words[word] = bits;
+        }
+        return BitSet.valueOf(words);
+    }
+
+    /**
+     * Creates the geometry of the given row, with the positions of every part in a {@link CoordinateSequence}.
+     * The geometry is not validated, same as deserialization.
+     *
+     * @param index The index of the row.
+     * @return a new geometry equal to the one of the feature, or null if the feature has no geometry.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public Geometry getGeometry(int index) {
+        byte type = types[Objects.checkIndex(index, size())];
+        if (type == NONE || type == OTHER) {
+            return others.get(index);
+        }
+        int dimension = dimensions[index];
+        List<List<Position>> parts = new ArrayList<>(geometryOffsets[index + 1] - geometryOffsets[index]);
+        for (int part = geometryOffsets[index]; part < geometryOffsets[index + 1]; part++) {
+            parts.add(CoordinateSequence.of(dimension, coordinates, partOffsets[part], partOffsets[part + 1]));
+        }
+        return switch (TYPES.get(type - 1)) {
+            case POINT -> new Point(POINT, parts.getFirst().getFirst());
+            case LINE_STRING -> new LineString(LINE_STRING, parts.getFirst());
+            case MULTI_POINT -> new MultiPoint(MULTI_POINT, parts.getFirst());
+            case MULTI_LINE_STRING -> new MultiLineString(MULTI_LINE_STRING, parts);
+            case POLYGON -> new Polygon(POLYGON, polygons(index, parts).getFirst());
+            default -> new MultiPolygon(MULTI_POLYGON, polygons(index, parts));
+        };
+    }
+
+    private List<PolygonCoordinates> polygons(int index, List<List<Position>> parts) {
+        List<PolygonCoordinates> polygons = new ArrayList<>(polygonOffsets[index + 1] - polygonOffsets[index]);
+        int part = 0;
+        for (int polygon = polygonOffsets[index]; polygon < polygonOffsets[index + 1]; polygon++) {
+            polygons.add(new PolygonCoordinates(parts.get(part), parts.subList(part + 1, part + ringCounts[polygon])));
+            part += ringCounts[polygon];
+        }
+        return polygons;
+    }
+
+    @Override
+    public String toString() {
+        return MessageFormat.format("GeometryColumn'{'size={0,number,#}, coordinates={1,number,#}'}'", size(), coordinates.length);
+    }
+
+    /**
+     * Appends the parts and coordinates of the geometries to growing arrays, a geometry which does not fit the
+     * layout is rolled back and kept as it is.
+     */
+    private static final class Builder {
+        private final byte[] types;
+        private final byte[] dimensions;
+        private final int[] geometryOffsets;
+        private final int[] polygonOffsets;
+        private final double[] minX;
+        private final double[] minY;
+        private final double[] maxX;
+        private final double[] maxY;
+        private final Map<Integer, Geometry> others = new HashMap<>();
+        private int[] ringCounts = new int[16];
+        private int polygonCount;
+        private int[] partOffsets = new int[16];
+        private int partCount;
+        private double[] coordinates = new double[256];
+        private int coordinateCount;
+        private int dimension;
+
+        Builder(int size) {
+            types = new byte[size];
+            dimensions = new byte[size];
+            geometryOffsets = new int[size + 1];
+            polygonOffsets = new int[size + 1];
+            minX = new double[size];
+            minY = new double[size];
+            maxX = new double[size];
+            maxY = new double[size];
+        }
+
+        void add(int index, Geometry geometry) {
+            int polygonStart = polygonCount;
+            int partStart = partCount;
+            int coordinateStart = coordinateCount;
+            dimension = 0;
+            byte type = geometry != null && encode(geometry) ? (byte) (TYPES.indexOf(geometry.getClass().getSimpleName()) + 1) : NONE;
+            if (geometry != null && type == NONE) {
+                polygonCount = polygonStart;
+                partCount = partStart;
+                coordinateCount = coordinateStart;
+                others.put(index, geometry);
+                type = OTHER;
+            }
+            types[index] = type;
+            dimensions[index] = (byte) (type == OTHER || dimension == 0 ? MIN_DIMENSION : dimension);
+            geometryOffsets[index + 1] = partCount;
+            polygonOffsets[index + 1] = polygonCount;
+            double[] box = type == OTHER ? boundingBox(geometry) : boundingBox(coordinateStart, coordinateCount);
+            minX[index] = box[0];
+            minY[index] = box[1];
+            maxX[index] = box[2];
+            maxY[index] = box[3];
+        }
+
+        private boolean encode(Geometry geometry) {
+            return switch (geometry) {
+                case Point point -> point.getCoordinates() != null && addPart(List.of(point.getCoordinates()));
+                case LineString lineString -> addPart(lineString.getCoordinates());
+                case MultiPoint multiPoint -> addPart(multiPoint.getCoordinates());
+                case Polygon polygon -> addPolygon(polygon.getCoordinates());
+                case MultiLineString multiLineString -> multiLineString.getCoordinates() != null
+                        && multiLineString.getCoordinates().stream().allMatch(this::addPart);
+                case MultiPolygon multiPolygon -> multiPolygon.getCoordinates() != null
+                        && multiPolygon.getCoordinates().stream().allMatch(this::addPolygon);
+                case GeometryCollection ignored -> false;
+            };
+        }
+
+        private boolean addPolygon(PolygonCoordinates polygon) {
+            if (polygon == null || polygon.getExterior() == null || !addPart(polygon.getExterior())) {
+                return false;
+            }
+            List<List<Position>> holes = ListUtils.emptyIfNull(polygon.getHoles());
+            if (!holes.stream().allMatch(this::addPart)) {
+                return false;
+            }
+            if (polygonCount == ringCounts.length) {
+                ringCounts = Arrays.copyOf(ringCounts, polygonCount * 2);
+            }
+            ringCounts[polygonCount++] = 1 + holes.size();
+            return true;
+        }
+
+        private boolean addPart(List<Position> positions) {
+            if (positions == null || !addPositions(positions)) {
+                return false;
+            }
+            if (partCount + 1 == partOffsets.length) {
+                partOffsets = Arrays.copyOf(partOffsets, partOffsets.length * 2);
+            }
+            partOffsets[++partCount] = coordinateCount;
+            return true;
+        }
+
+        private boolean addPositions(List<Position> positions) {
+            if (positions instanceof CoordinateSequence sequence) {
+                if (dimension != 0 && dimension != sequence.getDimension() && !sequence.isEmpty()) {
+                    return false;
+                }
+                dimension = sequence.isEmpty() ? dimension : sequence.getDimension();
+                append(sequence.toCoordinateArray());
+                return true;
+            }
+            for (Position position : ListUtils.emptyIfNull(positions)) {
+                double[] values = position != null ? position.getCoordinates() : null;
+                int length = values != null ? values.length : 0;
+                if (length < 2 || length > 3 || (dimension != 0 && dimension != length)) {
+                    return false;
+                }
+                dimension = length;
+                append(values);
+            }
+            return true;
+        }
+
+        private void append(double[] values) {
+            if (coordinateCount + values.length > coordinates.length) {
+                coordinates = Arrays.copyOf(coordinates, Math.max(coordinates.length * 2, coordinateCount + values.length));
+            }
+            System.arraycopy(values, 0, coordinates, coordinateCount, values.length);
+            coordinateCount += values.length;
+        }
+
+        private double[] boundingBox(int from, int to) {
+            double[] box = {Double.NaN, Double.NaN, Double.NaN, Double.NaN};
+            for (int i = from; i < to; i += dimension) {
+                include(box, coordinates[i], coordinates[i + 1]);
+            }
+            return box;
+        }
+
+        private static double[] boundingBox(Geometry geometry) {
+            double[] box = {Double.NaN, Double.NaN, Double.NaN, Double.NaN};
+            include(box, geometry);
+            return box;
+        }
+
+        private static void include(double[] box, Geometry geometry) {
+            switch (geometry) {
+                case Point point -> include(box, point.getCoordinates() != null ? List.of(point.getCoordinates()) : List.of());
+                case LineString lineString -> include(box, lineString.getCoordinates());
+                case MultiPoint multiPoint -> include(box, multiPoint.getCoordinates());
+                case Polygon polygon -> include(box, polygon.getCoordinates());
+                case MultiLineString multiLineString -> ListUtils.emptyIfNull(multiLineString.getCoordinates()).forEach(line -> include(box, line));
+                case MultiPolygon multiPolygon -> ListUtils.emptyIfNull(multiPolygon.getCoordinates()).forEach(polygon -> include(box, polygon));
+                case GeometryCollection collection -> ListUtils.emptyIfNull(collection.getGeometries()).stream()
+                        .filter(Objects::nonNull).forEach(member -> include(box, member));
+            }
+        }
+
+        private static void include(double[] box, PolygonCoordinates polygon) {
+            if (polygon != null) {
+                include(box, polygon.getExterior());
+            }
+        }
+
+        private static void include(double[] box, List<Position> positions) {
+            for (Position position : ListUtils.emptyIfNull(positions)) {
+                double[] values = position != null ? position.getCoordinates() : null;
+                if (values != null && values.length >= 2) {
+                    include(box, values[0], values[1]);
+                }
+            }
+        }
+
+        private static void include(double[] box, double x, double y) {
+            box[0] = Double.isNaN(box[0]) ? x : Math.min(box[0], x);
+            box[1] = Double.isNaN(box[1]) ? y : Math.min(box[1], y);
+            box[2] = Double.isNaN(box[2]) ? x : Math.max(box[2], x);
+            box[3] = Double.isNaN(box[3]) ? y : Math.max(box[3], y);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.columnar;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.text.MessageFormat;
+import java.util.BitSet;
+import java.util.Objects;
+
+/**
+ * A {@link PropertyColumn} of values which fit none of the typed columns, e.g. nested objects, arrays or a mix of
+ * types, held as they are.
+ */
+public final class ObjectColumn extends PropertyColumn {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final Serializable[] values;
+
+    ObjectColumn(String name, BitSet present, Serializable[] values) {
+        super(name, present, values.length);
+        this.values = values;
+    }
+
+    @Override
+    public Serializable get(int index) {
+        return values[Objects.checkIndex(index, size())];
+    }
+
+    @Override
+    public String toString() {
+        return MessageFormat.format("ObjectColumn'{'name={0}, size={1,number,#}, nulls={2,number,#}'}'", getName(), size(), getNullCount());
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.columnar;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.BitSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * The values of one property of all features of a {@link ColumnarFeatureCollection}, one row per feature.
+ * <p>
+ * The type of a column is chosen from the values of the property: {@link LongColumn} if all of them are
+ * {@link Integer} or {@link Long}, {@link DoubleColumn} if they are {@link Double} mixed with such whole numbers
+ * as long as these are exact doubles, as Jackson reads {@code 12} and {@code 12.5} of one property as Integer and
+ * Double, {@link BooleanColumn} for {@link Boolean}, {@link StringColumn} for {@link String}, and
+ * {@link ObjectColumn} for everything else, e.g. nested objects or mixed types. Numeric columns remember the type
+ * of every row, so every value is restored with its original type.
+ * </p>
+ * <p>
+ * A row is null if the feature has no such property. The {@code select} methods of the typed columns scan the
+ * primitive values 64 rows at a time into the words of a {@link BitSet}, which can be combined
+ * with {@link BitSet#and(BitSet)} across columns. Null rows never match.
+ * </p>
+ *
+ * <p>Columns are immutable.</p>
+ */
+public abstract sealed class PropertyColumn implements Serializable
+        permits DoubleColumn, LongColumn, BooleanColumn, StringColumn, ObjectColumn {
+    @Serial
+    private static final long serialVersionUID = 1L;
+    /**
+     * The largest magnitude up to which every long is an exact double, 2^53.
+     */
+    private static final long MAX_EXACT_LONG = 1L << 53;
+
+    private final String name;
+    private final BitSet present;
+    private final int size;
+
+    PropertyColumn(String name, BitSet present, int size) {
+        this.name = name;
+        this.present = present;
+        this.size = size;
+    }
+
+    /**
+     * Creates the column of the given values, with the type of column which fits all of them.
+     *
+     * @param name   The name of the property.
+     * @param values The value of every row, null if the feature has no such property.
+     */
+    static PropertyColumn of(String name, Serializable[] values) {
+        BitSet present = new BitSet(values.length);
+        Class<?> type = null;
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                present.set(i);
+                type = type == null ? values[i].getClass() : columnType(type, values[i].getClass());
+            }
+        }
+        if (type == Double.class) {
+            return doubleColumn(name, present, values);
+        } else if (type == Long.class || type == Integer.class) {
+            return longColumn(name, present, values);
+        } else if (type == Boolean.class) {
+            BitSet booleans = new BitSet(values.length);
+            for (int i = present.nextSetBit(0); i >= 0; i = present.nextSetBit(i + 1)) {
+                booleans.set(i, (Boolean) values[i]);
+            }
+            return new BooleanColumn(name, present, booleans, values.length);
+        } else if (type == String.class) {
+            return stringColumn(name, present, values);
+        }
+        return new ObjectColumn(name, present, values.clone());
+    }
+
+    /**
+     * Returns the type of column for values of the given types: Long for whole numbers, Double for whole numbers
+     * mixed with Double, the type itself if both are the same and Object otherwise.
+     */
+    private static Class<?> columnType(Class<?> type, Class<?> valueType) {
+        if (type == valueType) {
+            return type;
+        } else if (isWholeNumber(type) && isWholeNumber(valueType)) {
+            return Long.class;
+        } else if ((type == Double.class || isWholeNumber(type)) && (valueType == Double.class || isWholeNumber(valueType))) {
+            return Double.class;
+        }
+        return Object.class;
+    }
+
+    private static boolean isWholeNumber(Class<?> type) {
+        return type == Long.class || type == Integer.class;
+    }
+
+    /**
+     * Creates a {@link DoubleColumn}, or an {@link ObjectColumn} if a Long is too large to be held as exact double.
+     */
+    private static PropertyColumn doubleColumn(String name, BitSet present, Serializable[] values) {
+        double[] doubles = new double[values.length];
+        BitSet integers = new BitSet();
+        BitSet longs = new BitSet();
+        for (int i = present.nextSetBit(0); i >= 0; i = present.nextSetBit(i + 1)) {
+            switch (values[i]) {
+                case Integer value -> {
+                    doubles[i] = value;
+                    integers.set(i);
+                }
+                case Long value -> {
+                    if (Math.abs(value) > MAX_EXACT_LONG) {
+                        return new ObjectColumn(name, present, values.clone());
+                    }
+                    doubles[i] = value;
+                    longs.set(i);
+                }
+                default -> doubles[i] = (Double) values[i];
+            }
+        }
+        return new DoubleColumn(name, present, doubles, integers, longs);
+    }
+
+    private static LongColumn longColumn(String name, BitSet present, Serializable[] values) {
+        long[] longs = new long[values.length];
+        BitSet integers = new BitSet();
+        for (int i = present.nextSetBit(0); i >= 0; i = present.nextSetBit(i + 1)) {
+            longs[i] = ((Number) values[i]).longValue();
+            integers.set(i, values[i] instanceof Integer);
+        }
+        return new LongColumn(name, present, longs, integers);
+    }
+
+    private static StringColumn stringColumn(String name, BitSet present, Serializable[] values) {
+        Map<String, Integer> codes = new TreeMap<>();
+        for (int i = present.nextSetBit(0); i >= 0; i = present.nextSetBit(i + 1)) {
+            codes.put((String) values[i], 0);
+        }
+        String[] dictionary = codes.keySet().toArray(String[]::new);
+        for (int code = 0; code < dictionary.length; code++) {
+            codes.put(dictionary[code], code);
+        }
+        int[] rows = new int[values.length];
+        for (int i = 0; i < values.length; i++) {
+            rows[i] = values[i] != null ? codes.get((String) values[i]) : StringColumn.NULL_CODE;
+        }
+        return new StringColumn(name, present, rows, dictionary);
+    }
+
+    /**
+     * Returns the name of the property.
+     *
+     * @return the property name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the number of rows, i.e. the number of features.
+     *
+     * @return the number of rows.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns whether the feature of the given row has no such property.
+     *
+     * @param index The index of the row.
+     * @return true if the row has no value.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public boolean isNull(int index) {
+        return !present.get(Objects.checkIndex(index, size));
+    }
+
+    /**
+     * Returns the number of rows without value.
+     *
+     * @return the number of null rows.
+     */
+    public int getNullCount() {
+        return size - present.cardinality();
+    }
+
+    /**
+     * Returns the rows with a value.
+     *
+     * @return a new set of the rows which are not null.
+     */
+    public BitSet selectNotNull() {
+        return (BitSet) present.clone();
+    }
+
+    /**
+     * Returns the value of the given row with its original type.
+     *
+     * @param index The index of the row.
+     * @return the value, or null if the row has no value.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public abstract Serializable get(int index);
+
+    /**
+     * Returns the given matches of a scan, without the null rows.
+     */
+    BitSet matches(long[] words) {
+        BitSet matches = BitSet.valueOf(words);
+        matches.and(present);
+        return matches;
+    }
+
+    static long[] words(int size) {
+        return new long[(size + Long.SIZE - 1) / Long.SIZE];
+    }
+}
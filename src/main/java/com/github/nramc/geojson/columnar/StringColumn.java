@@ -0,0 +1,132 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.columnar;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.text.MessageFormat;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A {@link PropertyColumn} of {@link String} values, dictionary-encoded: every distinct value is held once in a
+ * sorted dictionary and every row holds the {@code int} code of its value, its index in the dictionary.
+ * Since the dictionary is sorted, codes compare like the values, and a scan for a value compares codes only.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * BitSet parks = columns.getStringColumn("landuse").select("park");
+ * }</pre></p>
+ */
+public final class StringColumn extends PropertyColumn {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The code of a row without value.
+     */
+    public static final int NULL_CODE = -1;
+
+    private final int[] codes;
+    private final String[] dictionary;
+
+    StringColumn(String name, BitSet present, int[] codes, String[] dictionary) {
+        super(name, present, codes.length);
+        this.codes = codes;
+        this.dictionary = dictionary;
+    }
+
+    /**
+     * Returns the value of the given row.
+     *
+     * @param index The index of the row.
+     * @return the value, or null if the row has no value.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public String getString(int index) {
+        int code = getCode(index);
+        return code != NULL_CODE ? dictionary[code] : null;
+    }
+
+    /**
+     * Returns the dictionary code of the value of the given row.
+     *
+     * @param index The index of the row.
+     * @return the index of the value in {@link #getDictionary()}, or {@link #NULL_CODE} if the row has no value.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public int getCode(int index) {
+        return codes[Objects.checkIndex(index, size())];
+    }
+
+    /**
+     * Returns the distinct values of the column.
+     *
+     * @return the sorted distinct values, unmodifiable.
+     */
+    public List<String> getDictionary() {
+        return List.of(dictionary);
+    }
+
+    @Override
+    public Serializable get(int index) {
+        return getString(index);
+    }
+
+    /**
+     * Returns the rows with the given value.
+     *
+     * @param value The matching value.
+     * @return a new set of the matching rows, empty if no row has the value.
+     */
+    public BitSet select(String value) {
+        int code = Arrays.binarySearch(dictionary, Objects.requireNonNull(value, "value"));
+        return code >= 0 ? selectCodes(code, code) : new BitSet();
+    }
+
+    /**
+     * Returns the rows whose value is between the given values in the natural order of strings.
+     *
+     * @param from The smallest matching value, inclusive.
+     * @param to   The largest matching value, inclusive.
+     * @return a new set of the matching rows.
+     */
+    public BitSet select(String from, String to) {
+        int fromCode = Arrays.binarySearch(dictionary, Objects.requireNonNull(from, "from"));
+        int toCode = Arrays.binarySearch(dictionary, Objects.requireNonNull(to, "to"));
+        return selectCodes(fromCode >= 0 ? fromCode : -fromCode - 1, toCode >= 0 ? toCode : -toCode - 2);
+    }
+
+    private BitSet selectCodes(int min, int max) {
+        long[] words = words(codes.length);
+        for (int word = 0; word < words.length; word++) {
+            long bits = 0;
+            for (int i = word << 6, end = Math.min(i + Long.SIZE, codes.length); i < end; i++) {
+                bits |= ((codes[i] >= min ? 1L : 0L) & (codes[i] <= max ? 1L : 0L)) << i;
+            }
+            words[word] = bits;
+        }
+        return matches(words);
+    }
+
+    @Override
+    public String toString() {
+        return MessageFormat.format("StringColumn'{'name={0}, size={1,number,#}, nulls={2,number,#}, distinct={3,number,#}'}'",
+                getName(), size(), getNullCount(), dictionary.length);
+    }
+}
@@ -0,0 +1,395 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.domain;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.github.nramc.geojson.jackson.CoordinateSequenceSerializer;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Unmodifiable list of positions backed by a single flat array, {@code [x0, y0, x1, y1, ...]} with a stride of 2,
+ * or {@code [x0, y0, z0, x1, y1, z1, ...]} with a stride of 3 if every position has an altitude.
+ * <p>
+ * {@link LineString}, {@link MultiPoint}, {@link MultiLineString} and {@link PolygonCoordinates} store their
+ * positions as coordinate sequences, which takes 16 or 24 bytes per position instead of a {@link Position} object
+ * and a {@code double[]} of its own. Lists of positions with different dimensions, missing positions or
+ * positions without coordinates are kept as they are, so invalid geometries are reported the same way.
+ * </p>
+ * <p>
+ * A {@link Position} is created on access only, therefore positions are not identical between two calls of
+ * {@link #get(int)} and changes to their coordinates are not reflected in the sequence. Code which traverses many
+ * positions reads the coordinates with {@link #getX(int)}, {@link #getY(int)} and {@link #getOrdinate(int, int)}
+ * instead, without creating positions. Two coordinate sequences are compared by their arrays, a coordinate
+ * sequence and any other list of positions are equal if they contain equal positions in the same order.
+ * </p>
+ * <p>
+ * A single precision sequence stores {@code float} values instead, e.g. for visualization, which halves its
+ * memory. Values are rounded to the nearest {@code float} when the sequence is created and widened to
+ * {@code double} on access, so positions read from it are not equal to the original ones in general.
+ * The rounding error is at most half a unit in the last place of a {@code float}, i.e. a relative error of
+ * {@code 2^-24}. For longitudes and latitudes below 256 degrees that is at most {@code 2^-17} degrees,
+ * about {@code 7.6e-6} degrees or 0.85 m at the equator, and for latitudes below 64 degrees at most
+ * {@code 2^-19} degrees, about 0.21 m. As their widened values have more digits than the original
+ * values, they are best written with a coordinate precision of at most 5 decimals.
+ * </p>
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * CoordinateSequence sequence = CoordinateSequence.of(2, 100.0, 0.0, 101.0, 1.0);
+ * LineString lineString = LineString.of(sequence);
+ * }</pre></p>
+ */
+@JsonSerialize(using = CoordinateSequenceSerializer.class)
+public final class CoordinateSequence extends AbstractList<Position> implements RandomAccess, Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private static final int MIN_DIMENSION = 2;
+    private static final int MAX_DIMENSION = 3;
+    private static final int UNPACKABLE = -1;
+
+    private final double[] values;
+    private final float[] floats;
+    private final int dimension;
+
+    /**
+     * Constructs a coordinate sequence from the given array, which is used as is without copy.
+     */
+    CoordinateSequence(double[] values, int dimension) {
+        this.values = values;
+        this.floats = null;
+        this.dimension = dimension;
+    }
+
+    /**
+     * Constructs a single precision coordinate sequence from the given array, which is used as is without copy.
+     */
+    CoordinateSequence(float[] floats, int dimension) {
+        this.values = null;
+        this.floats = floats;
+        this.dimension = dimension;
+    }
+
+    /**
+     * Creates a coordinate sequence from a copy of the given values.
+     *
+     * @param dimension The number of values of every position, 2 or 3.
+     * @param values    The values of all positions, one position after another.
+     * @return a new {@link CoordinateSequence}.
+     * @throws IllegalArgumentException if the dimension is not 2 or 3 or the values are not a multiple of it.
+     */
+    public static CoordinateSequence of(int dimension, double... values) {
+        return of(dimension, values, 0, values.length);
+    }
+
+    /**
+     * Creates a coordinate sequence from a copy of the given range of values, e.g. of a growable buffer.
+     *
+     * @param dimension The number of values of every position, 2 or 3.
+     * @param values    The array containing the values of all positions, one position after another.
+     * @param from      The index of the first value, inclusive.
+     * @param to        The index of the last value, exclusive.
+     * @return a new {@link CoordinateSequence}.
+     * @throws IllegalArgumentException  if the dimension is not 2 or 3 or the range is not a multiple of it.
+     * @throws IndexOutOfBoundsException if the range is outside the values.
+     */
+    public static CoordinateSequence of(int dimension, double[] values, int from, int to) {
+        checkRange(dimension, values, from, to);
+        return new CoordinateSequence(Arrays.copyOfRange(values, from, to), dimension);
+    }
+
+    /**
+     * Creates a single precision coordinate sequence from the given values, each one rounded to the nearest
+     * {@code float}.
+     *
+     * @param dimension The number of values of every position, 2 or 3.
+     * @param values    The values of all positions, one position after another.
+     * @return a new single precision {@link CoordinateSequence}.
+     * @throws IllegalArgumentException if the dimension is not 2 or 3 or the values are not a multiple of it.
+     */
+    public static CoordinateSequence ofSinglePrecision(int dimension, double... values) {
+        return ofSinglePrecision(dimension, values, 0, values.length);
+    }
+
+    /**
+     * Creates a single precision coordinate sequence from the given range of values, each one rounded to the
+     * nearest {@code float}, e.g. of a growable buffer.
+     *
+     * @param dimension The number of values of every position, 2 or 3.
+     * @param values    The array containing the values of all positions, one position after another.
+     * @param from      The index of the first value, inclusive.
+     * @param to        The index of the last value, exclusive.
+     * @return a new single precision {@link CoordinateSequence}.
+     * @throws IllegalArgumentException  if the dimension is not 2 or 3 or the range is not a multiple of it.
+     * @throws IndexOutOfBoundsException if the range is outside the values.
+     */
+    public static CoordinateSequence ofSinglePrecision(int dimension, double[] values, int from, int to) {
+        checkRange(dimension, values, from, to);
+        float[] floats = new float[to - from];
+        for (int i = 0; i < floats.length; i++) {
+            floats[i] = (float) values[from + i];
+        }
+        return new CoordinateSequence(floats, dimension);
+    }
+
+    /**
+     * Creates a coordinate sequence from the given positions, e.g. to create a geometry from positions
+     * with {@code LineString.of(CoordinateSequence.copyOf(positions).toSinglePrecision())}.
+     *
+     * @param positions The positions, all of them with 2 or all of them with 3 coordinates.
+     * @return a new {@link CoordinateSequence}, or the given one.
+     * @throws IllegalArgumentException if a position is null or the positions have different dimensions.
+     */
+    public static CoordinateSequence copyOf(List<Position> positions) {
+        if (positions.isEmpty()) {
+            return new CoordinateSequence(new double[0], MIN_DIMENSION);
+        }
+        if (!(pack(positions) instanceof CoordinateSequence sequence)) {
+            throw new IllegalArgumentException("Cannot create a coordinate sequence of positions with different dimensions");
+        }
+        return sequence;
+    }
+
+    private static void checkRange(int dimension, double[] values, int from, int to) {
+        Objects.checkFromToIndex(from, to, values.length);
+        if (dimension < MIN_DIMENSION || dimension > MAX_DIMENSION || (to - from) % dimension != 0) {
+            throw new IllegalArgumentException("Cannot create positions of dimension %d from %d values".formatted(dimension, to - from));
+        }
+    }
+
+    /**
+     * Returns the given positions as coordinate sequence if all of them have 2 or all of them have 3 coordinates,
+     * otherwise an unmodifiable view of the given list.
+     */
+    static List<Position> pack(List<Position> positions) {
+        if (positions == null || positions instanceof CoordinateSequence) {
+            return positions;
+        }
+        int dimension = dimension(positions);
+        if (dimension == UNPACKABLE) {
+            return Collections.unmodifiableList(positions);
+        }
+        double[] values = new double[positions.size() * dimension];
+        int offset = 0;
+        for (Position position : positions) {
+            System.arraycopy(position.getCoordinates(), 0, values, offset, dimension);
+            offset += dimension;
+        }
+        return new CoordinateSequence(values, dimension);
+    }
+
+    /**
+     * Returns an unmodifiable list of the given lists of positions, each one packed by {@link #pack(List)}.
+     */
+    static List<List<Position>> packAll(List<List<Position>> lists) {
+        if (lists == null) {
+            return null;
+        }
+        List<List<Position>> packed = new ArrayList<>(lists.size());
+        for (List<Position> positions : lists) {
+            packed.add(pack(positions));
+        }
+        return Collections.unmodifiableList(packed);
+    }
+
+    private static int dimension(List<Position> positions) {
+        int dimension = UNPACKABLE;
+        for (Position position : positions) {
+            // subclasses of Position may carry more than coordinates
+            if (position == null || position.getClass() != Position.class || position.getCoordinates() == null) {
+                return UNPACKABLE;
+            }
+            int length = position.getCoordinates().length;
+            if (length < MIN_DIMENSION || length > MAX_DIMENSION || (dimension != UNPACKABLE && dimension != length)) {
+                return UNPACKABLE;
+            }
+            dimension = length;
+        }
+        return dimension;
+    }
+
+    /**
+     * Returns the number of coordinates of every position.
+     *
+     * @return 2 for longitude and latitude, 3 if every position has an altitude as well.
+     */
+    public int getDimension() {
+        return dimension;
+    }
+
+    /**
+     * Returns the longitude of the position at the given index.
+     *
+     * @param index The index of the position.
+     * @return the longitude.
+     * @throws IndexOutOfBoundsException if there is no such position.
+     */
+    public double getX(int index) {
+        return getOrdinate(index, 0);
+    }
+
+    /**
+     * Returns the latitude of the position at the given index.
+     *
+     * @param index The index of the position.
+     * @return the latitude.
+     * @throws IndexOutOfBoundsException if there is no such position.
+     */
+    public double getY(int index) {
+        return getOrdinate(index, 1);
+    }
+
+    /**
+     * Returns a coordinate of the position at the given index without creating a {@link Position}.
+     *
+     * @param index    The index of the position.
+     * @param ordinate The index of the coordinate, 0 for longitude, 1 for latitude and 2 for altitude.
+     * @return the coordinate.
+     * @throws IndexOutOfBoundsException if there is no such position or coordinate.
+     */
+    public double getOrdinate(int index, int ordinate) {
+        Objects.checkIndex(index, size());
+        Objects.checkIndex(ordinate, dimension);
+        return value(index * dimension + ordinate);
+    }
+
+    /**
+     * Returns whether the coordinates are stored as {@code float} values.
+     *
+     * @return true for a single precision sequence.
+     */
+    public boolean isSinglePrecision() {
+        return floats != null;
+    }
+
+    /**
+     * Returns this sequence with its coordinates rounded to the nearest {@code float} values.
+     *
+     * @return a single precision copy of this sequence, or this sequence if it is single precision already.
+     */
+    public CoordinateSequence toSinglePrecision() {
+        return floats != null ? this : ofSinglePrecision(dimension, values);
+    }
+
+    /**
+     * Returns a copy of the values of all positions, one position after another, widened to {@code double}
+     * for a single precision sequence.
+     *
+     * @return the values with a stride of {@link #getDimension()}.
+     */
+    public double[] toCoordinateArray() {
+        if (values != null) {
+            return values.clone();
+        }
+        double[] copy = new double[floats.length];
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = floats[i];
+        }
+        return copy;
+    }
+
+    /**
+     * Returns the backing array without copy, for the serialized forms of this package only.
+     *
+     * @return the double values, null for a single precision sequence.
+     */
+    double[] values() {
+        return values;
+    }
+
+    /**
+     * Returns the backing array of a single precision sequence without copy, for the serialized forms of this
+     * package only.
+     *
+     * @return the float values, null unless single precision.
+     */
+    float[] floats() {
+        return floats;
+    }
+
+    private double value(int index) {
+        return values != null ? values[index] : floats[index];
+    }
+
+    private int length() {
+        return values != null ? values.length : floats.length;
+    }
+
+    @Override
+    public Position get(int index) {
+        Objects.checkIndex(index, size());
+        int offset = index * dimension;
+        double[] coordinates = new double[dimension];
+        for (int i = 0; i < dimension; i++) {
+            coordinates[i] = value(offset + i);
+        }
+        return new Position(coordinates);
+    }
+
+    @Override
+    public int size() {
+        return length() / dimension;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof CoordinateSequence that)) {
+            return super.equals(o);
+        }
+        if (dimension != that.dimension || length() != that.length()) {
+            return false;
+        }
+        if (values != null && that.values != null) {
+            return Arrays.equals(values, that.values);
+        }
+        if (floats != null && that.floats != null) {
+            return Arrays.equals(floats, that.floats);
+        }
+        for (int i = 0; i < length(); i++) {
+            if (Double.doubleToLongBits(value(i)) != Double.doubleToLongBits(that.value(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the same hash code as any other list of equal positions, without creating positions.
+     *
+     * @return the hash code as specified by {@link List#hashCode()}.
+     */
+    @Override
+    public int hashCode() {
+        int result = 1;
+        for (int offset = 0; offset < length(); offset += dimension) {
+            int position = 1;
+            for (int i = offset; i < offset + dimension; i++) {
+                position = 31 * position + Double.hashCode(value(i));
+            }
+            result = 31 * result + position;
+        }
+        return result;
+    }
+}
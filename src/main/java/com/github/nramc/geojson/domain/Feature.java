@@ -18,6 +18,7 @@ package com.github.nramc.geojson.domain;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.github.nramc.geojson.constant.GeoJsonType;
+import com.github.nramc.geojson.jackson.LazyProperties;
 import com.github.nramc.geojson.validator.GeoJsonValidationException;
 import com.github.nramc.geojson.validator.Validatable;
 import com.github.nramc.geojson.validator.ValidationError;
@@ -26,6 +27,7 @@ import com.github.nramc.geojson.validator.ValidationUtils;
 import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.lang3.StringUtils;
 
+import java.io.Serial;
 import java.io.Serializable;
 import java.text.MessageFormat;
 import java.util.HashSet;
@@ -74,7 +76,8 @@ public non-sealed class Feature extends GeoJson implements Validatable, Serializ
      * Constructs a Feature object with the specified type, id, geometry, and properties.
      * <p>
      * This constructor is used when creating a Feature with a specified type, id, geometry, and properties.
-     * The properties are copied to ensure immutability.
+     * The properties are copied to ensure immutability, except {@link LazyProperties} which are unmodifiable already
+     * and would otherwise be decoded.
      * </p>
      *
      * @param type       The type of the feature. It should be "Feature" as per the GeoJSON specification.
@@ -91,7 +94,7 @@ public non-sealed class Feature extends GeoJson implements Validatable, Serializ
         super(type);
         this.id = id;
         this.geometry = geometry;
-        this.properties = Map.copyOf(properties);
+        this.properties = properties instanceof LazyProperties ? properties : Map.copyOf(properties);
     }
 
     /**
@@ -265,4 +268,14 @@ public non-sealed class Feature extends GeoJson implements Validatable, Serializ
         result = 31 * result + properties.hashCode();
         return result;
     }
+
+    /**
+     * Replaces this object by its compact {@link SerializedForm} for Java serialization.
+     *
+     * @return the serialization proxy of this object.
+     */
+    @Serial
+    private Object writeReplace() {
+        return new SerializedForm(this);
+    }
 }
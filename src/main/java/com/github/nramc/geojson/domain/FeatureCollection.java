@@ -25,6 +25,7 @@ import com.github.nramc.geojson.validator.ValidationUtils;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 
+import java.io.Serial;
 import java.text.MessageFormat;
 import java.util.HashSet;
 import java.util.List;
@@ -212,4 +213,14 @@ public final class FeatureCollection extends GeoJson implements Validatable {
         result = 31 * result + Objects.hashCode(features);
         return result;
     }
+
+    /**
+     * Replaces this object by its compact {@link SerializedForm} for Java serialization.
+     *
+     * @return the serialization proxy of this object.
+     */
+    @Serial
+    private Object writeReplace() {
+        return new SerializedForm(this);
+    }
 }
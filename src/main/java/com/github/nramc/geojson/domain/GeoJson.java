@@ -18,7 +18,9 @@ package com.github.nramc.geojson.domain;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.github.nramc.geojson.constant.GeoJsonType;
+import com.github.nramc.geojson.jackson.GeoJsonDeserializer;
 import com.github.nramc.geojson.validator.Validatable;
 
 import java.io.Serializable;
@@ -32,10 +34,15 @@ import java.io.Serializable;
  * <p>By using a sealed class, we restrict which classes can extend this base class,
  * improving the maintainability and clarity of the hierarchy.</p>
  *
+ * <p>The {@code @JsonTypeInfo} and {@code @JsonSubTypes} annotations describe the {@code "type"} member used
+ * for serialization. Deserialization of the whole hierarchy is handled by {@link GeoJsonDeserializer}, which
+ * resolves the {@code "type"} member in a single pass regardless of its position in the object.</p>
+ *
  * <p>GeoJSON Specification Reference:
  * <a href="https://datatracker.ietf.org/doc/html/rfc7946#section-3">RFC 7946 - Section 3</a>
  * </p>
  */
+@JsonDeserialize(using = GeoJsonDeserializer.class)
 @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, visible = true, property = "type")
 @JsonSubTypes({
         @JsonSubTypes.Type(value = Point.class, name = GeoJsonType.POINT),
@@ -48,6 +48,9 @@ import static com.github.nramc.geojson.constant.GeoJsonType.POLYGON;
  *   <li>{@code @JsonSubTypes}: This annotation lists all possible subclasses of {@code Geometry}
  *   and maps them to their respective type names. This enables Jackson to correctly handle
  *   polymorphic deserialization.</li>
+ *   <li>{@code @JsonDeserialize}: Inherited from {@link GeoJson}, the
+ *   {@link com.github.nramc.geojson.jackson.GeoJsonDeserializer} reads the {@code "type"} field in a single
+ *   pass, without buffering the object when {@code "type"} is not its first field.</li>
  * </ul>
  *
  * <p><strong>Inheritance:</strong></p>
@@ -26,6 +26,7 @@ import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 
+import java.io.Serial;
 import java.text.MessageFormat;
 import java.util.Arrays;
 import java.util.HashSet;
@@ -221,4 +222,14 @@ public final class GeometryCollection extends Geometry {
         result = 31 * result + geometries.hashCode();
         return result;
     }
+
+    /**
+     * Replaces this object by its compact {@link SerializedForm} for Java serialization.
+     *
+     * @return the serialization proxy of this object.
+     */
+    @Serial
+    private Object writeReplace() {
+        return new SerializedForm(this);
+    }
 }
@@ -24,9 +24,9 @@ import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 
+import java.io.Serial;
 import java.text.MessageFormat;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -79,7 +79,7 @@ public final class LineString extends Geometry {
     @JsonCreator
     public LineString(@JsonProperty("type") String type, @JsonProperty("coordinates") List<Position> coordinates) {
         super(type);
-        this.coordinates = Collections.unmodifiableList(coordinates);
+        this.coordinates = CoordinateSequence.pack(coordinates);
     }
 
     /**
@@ -148,7 +148,8 @@ public final class LineString extends Geometry {
      * Retrieves the list of coordinates that define this LineString.
      *
      * @return an unmodifiable list of {@link Position} objects representing the coordinates
-     * of the LineString. The list contains at least two positions.
+     * of the LineString, a {@link CoordinateSequence} if all positions have the same dimension.
+     * The list contains at least two positions.
      */
     public List<Position> getCoordinates() {
         return coordinates;
@@ -206,4 +207,14 @@ public final class LineString extends Geometry {
         result = 31 * result + coordinates.hashCode();
         return result;
     }
+
+    /**
+     * Replaces this object by its compact {@link SerializedForm} for Java serialization.
+     *
+     * @return the serialization proxy of this object.
+     */
+    @Serial
+    private Object writeReplace() {
+        return new SerializedForm(this);
+    }
 }
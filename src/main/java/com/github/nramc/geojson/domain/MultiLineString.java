@@ -24,10 +24,10 @@ import com.github.nramc.geojson.validator.ValidationUtils;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 
+import java.io.Serial;
 import java.text.MessageFormat;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -77,7 +77,7 @@ public final class MultiLineString extends Geometry {
     @JsonCreator
     public MultiLineString(@JsonProperty("type") String type, @JsonProperty("coordinates") List<List<Position>> coordinates) {
         super(type);
-        this.coordinates = Collections.unmodifiableList(coordinates);
+        this.coordinates = CoordinateSequence.packAll(coordinates);
     }
 
     /**
@@ -153,7 +153,8 @@ public final class MultiLineString extends Geometry {
      * Retrieves the list of coordinate sequences for this geometry.
      * Each inner list represents a sequence of {@link Position} objects, forming a line.
      *
-     * @return A list of coordinate sequences, where each sequence is a list of {@link Position} objects.
+     * @return A list of coordinate sequences, where each sequence is a list of {@link Position} objects,
+     * a {@link CoordinateSequence} if all positions of the line have the same dimension.
      */
     public List<List<Position>> getCoordinates() {
         return coordinates;
@@ -204,4 +205,14 @@ public final class MultiLineString extends Geometry {
         result = 31 * result + coordinates.hashCode();
         return result;
     }
+
+    /**
+     * Replaces this object by its compact {@link SerializedForm} for Java serialization.
+     *
+     * @return the serialization proxy of this object.
+     */
+    @Serial
+    private Object writeReplace() {
+        return new SerializedForm(this);
+    }
 }
@@ -24,9 +24,9 @@ import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 
+import java.io.Serial;
 import java.text.MessageFormat;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
@@ -81,7 +81,7 @@ public final class MultiPoint extends Geometry {
     @JsonCreator
     public MultiPoint(@JsonProperty("type") String type, @JsonProperty("coordinates") List<Position> coordinates) {
         super(type);
-        this.coordinates = Collections.unmodifiableList(coordinates);
+        this.coordinates = CoordinateSequence.pack(coordinates);
     }
 
     /**
@@ -119,7 +119,7 @@ public final class MultiPoint extends Geometry {
     /**
      * Gets the list of coordinates (Position objects) that make up the MultiPoint.
      *
-     * @return An unmodifiable list of Position objects.
+     * @return An unmodifiable list of Position objects, a {@link CoordinateSequence} if all positions have the same dimension.
      */
     public List<Position> getCoordinates() {
         return coordinates;
@@ -202,4 +202,14 @@ public final class MultiPoint extends Geometry {
         result = 31 * result + Objects.hashCode(coordinates);
         return result;
     }
+
+    /**
+     * Replaces this object by its compact {@link SerializedForm} for Java serialization.
+     *
+     * @return the serialization proxy of this object.
+     */
+    @Serial
+    private Object writeReplace() {
+        return new SerializedForm(this);
+    }
 }
@@ -23,6 +23,7 @@ import com.github.nramc.geojson.validator.ValidationResult;
 import com.github.nramc.geojson.validator.ValidationUtils;
 import org.apache.commons.lang3.StringUtils;
 
+import java.io.Serial;
 import java.text.MessageFormat;
 import java.util.HashSet;
 import java.util.Objects;
@@ -92,13 +93,14 @@ public final class Point extends Geometry {
 
     /**
      * Creates a new {@code Point} instance with the specified coordinates, performing validation.
+     * The position is replaced by its pooled instance if a default {@link PositionPool} is installed.
      *
      * @param coordinates The {@link Position} representing the coordinates of the point.
      * @return A validated {@code Point} object.
      * @throws GeoJsonValidationException if the provided coordinates are invalid.
      */
     public static Point of(Position coordinates) {
-        return ValidationUtils.validateAndThrowErrorIfInvalid(new Point(POINT, coordinates));
+        return ValidationUtils.validateAndThrowErrorIfInvalid(new Point(POINT, PositionPool.pooled(coordinates)));
     }
 
     /**
@@ -210,4 +212,14 @@ public final class Point extends Geometry {
         result = 31 * result + Objects.hashCode(coordinates);
         return result;
     }
+
+    /**
+     * Replaces this object by its compact {@link SerializedForm} for Java serialization.
+     *
+     * @return the serialization proxy of this object.
+     */
+    @Serial
+    private Object writeReplace() {
+        return new SerializedForm(this);
+    }
 }
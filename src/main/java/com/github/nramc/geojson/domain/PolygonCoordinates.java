@@ -24,6 +24,7 @@ import com.github.nramc.geojson.validator.ValidationResult;
 import com.github.nramc.geojson.validator.ValidationUtils;
 import org.apache.commons.collections4.CollectionUtils;
 
+import java.io.Serial;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -103,8 +104,8 @@ public class PolygonCoordinates implements Validatable, Serializable {
      * @param holes    The hole rings inside the polygon.
      */
     public PolygonCoordinates(final List<Position> exterior, final List<List<Position>> holes) {
-        this.exterior = CollectionUtils.isNotEmpty(exterior) ? Collections.unmodifiableList(exterior) : null;
-        this.holes = CollectionUtils.isNotEmpty(holes) ? Collections.unmodifiableList(holes) : null;
+        this.exterior = CollectionUtils.isNotEmpty(exterior) ? CoordinateSequence.pack(exterior) : null;
+        this.holes = CollectionUtils.isNotEmpty(holes) ? CoordinateSequence.packAll(holes) : null;
     }
 
     /**
@@ -192,7 +193,7 @@ public class PolygonCoordinates implements Validatable, Serializable {
     /**
      * Returns the list of {@link Position} objects representing the exterior coordinates of the polygon.
      *
-     * @return the exterior coordinates of the polygon
+     * @return the exterior coordinates of the polygon, a {@link CoordinateSequence} if all positions have the same dimension
      */
     public List<Position> getExterior() {
         return exterior;
@@ -294,4 +295,14 @@ public class PolygonCoordinates implements Validatable, Serializable {
         result = 31 * result + Objects.hashCode(holes);
         return result;
     }
+
+    /**
+     * Replaces this object by its compact {@link SerializedForm} for Java serialization.
+     *
+     * @return the serialization proxy of this object.
+     */
+    @Serial
+    private Object writeReplace() {
+        return new SerializedForm(this);
+    }
 }
@@ -18,12 +18,15 @@ package com.github.nramc.geojson.domain;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonValue;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.github.nramc.geojson.jackson.PositionSerializer;
 import com.github.nramc.geojson.validator.GeoJsonValidationException;
 import com.github.nramc.geojson.validator.Validatable;
 import com.github.nramc.geojson.validator.ValidationError;
 import com.github.nramc.geojson.validator.ValidationResult;
 import com.github.nramc.geojson.validator.ValidationUtils;
 
+import java.io.Serial;
 import java.io.Serializable;
 import java.util.Arrays;
 import java.util.HashSet;
@@ -49,9 +52,13 @@ import java.util.Set;
  * Position position = Position.of(40.7128, -74.0060);
  * }</pre></p>
  *
+ * <p>A position is serialized as array of numbers by {@link PositionSerializer}, the number of decimals can be
+ * limited with {@link com.github.nramc.geojson.jackson.GeoJsonWriteOptions}.</p>
+ *
  * <p>GeoJSON Specification Reference:
  * <a href="https://datatracker.ietf.org/doc/html/rfc7946#section-3.1.1">RFC 7946 - Section 3.1.1</a></p>
  */
+@JsonSerialize(using = PositionSerializer.class)
 public class Position implements Validatable, Serializable {
 
     @JsonValue
@@ -86,29 +93,32 @@ public class Position implements Validatable, Serializable {
     /**
      * Validate the given latitude, longitude and optional altitude, Constructs a Point only when given coordinates valid.
      * Otherwise, throws {@link GeoJsonValidationException} with validation errors.
+     * Returns the pooled instance if a default {@link PositionPool} is installed.
      *
      * @param coordinates [longitude, latitude, altitude]
      * @throws GeoJsonValidationException with validation errors
      */
     public static Position of(double[] coordinates) {
-        return ValidationUtils.validateAndThrowErrorIfInvalid(new Position(coordinates));
+        return PositionPool.pooled(ValidationUtils.validateAndThrowErrorIfInvalid(new Position(coordinates)));
     }
 
     /**
      * Validate the given latitude and longitude, Constructs a Point only when given coordinates valid.
      * Otherwise, throws {@link GeoJsonValidationException} with validation errors.
+     * Returns the pooled instance if a default {@link PositionPool} is installed.
      *
      * @param longitude The longitude of the point
      * @param latitude  The latitude of the point
      * @throws GeoJsonValidationException with validation errors
      */
     public static Position of(double longitude, double latitude) {
-        return ValidationUtils.validateAndThrowErrorIfInvalid(new Position(new double[]{longitude, latitude}));
+        return PositionPool.pooled(ValidationUtils.validateAndThrowErrorIfInvalid(new Position(new double[]{longitude, latitude})));
     }
 
     /**
      * Validate the given latitude, longitude and altitude, Constructs a Point only when given coordinates valid.
      * Otherwise, throws {@link GeoJsonValidationException} with validation errors.
+     * Returns the pooled instance if a default {@link PositionPool} is installed.
      *
      * @param longitude The longitude of the point
      * @param latitude  The latitude of the point
@@ -116,7 +126,7 @@ public class Position implements Validatable, Serializable {
      * @throws GeoJsonValidationException with validation errors
      */
     public static Position of(double longitude, double latitude, double altitude) {
-        return ValidationUtils.validateAndThrowErrorIfInvalid(new Position(new double[]{longitude, latitude, altitude}));
+        return PositionPool.pooled(ValidationUtils.validateAndThrowErrorIfInvalid(new Position(new double[]{longitude, latitude, altitude})));
     }
 
     /**
@@ -244,4 +254,14 @@ public class Position implements Validatable, Serializable {
     public int hashCode() {
         return Arrays.hashCode(coordinates);
     }
+
+    /**
+     * Replaces this object by its compact {@link SerializedForm} for Java serialization.
+     *
+     * @return the serialization proxy of this object.
+     */
+    @Serial
+    private Object writeReplace() {
+        return new SerializedForm(this);
+    }
 }
@@ -0,0 +1,289 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.domain;
+
+import java.text.MessageFormat;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Pool of canonical {@link Position} instances, so that equal positions, e.g. the vertices shared by neighbouring
+ * points of a dataset, resolve to one instance with one coordinate array, and comparing them takes the identity
+ * fast path of {@link Position#equals(Object)}.
+ * <p>
+ * The pool is a concurrent open-addressing hash table keyed on the bits of the coordinates, as compared by
+ * {@link Position#equals(Object)}. It is split into segments by hash; looking up a pooled position reads the
+ * table of its segment without locking, only adding a position locks its segment. Positions without 2 or 3
+ * coordinates and subclasses of {@link Position} are returned as they are.
+ * </p>
+ * <p>
+ * Lines and rings hold their positions packed in a {@link CoordinateSequence} without a {@link Position} per
+ * vertex, so the pool applies to positions held as objects: the position of a {@link Point}, positions of
+ * coordinate lists which cannot be packed, and positions created by the {@code of(...)} factories of
+ * {@link Position} once {@link #setDefault(PositionPool) installed as default}. To pool positions while parsing,
+ * attach a pool with {@link com.github.nramc.geojson.jackson.GeoJsonReadOptions#withPositionPool(PositionPool)}.
+ * </p>
+ * <p>
+ * Pooled positions are shared, so their coordinate arrays must not be modified. The pool keeps every position
+ * it has returned until {@link #clear()}, typically it lives as long as loading a dataset.
+ * </p>
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * PositionPool pool = PositionPool.create();
+ * ObjectReader reader = GeoJsonReadOptions.DEFAULT.withPositionPool(pool).applyTo(objectMapper.readerFor(FeatureCollection.class));
+ * FeatureCollection addresses = reader.readValue(json);
+ * }</pre></p>
+ *
+ * <p>The pool is thread-safe.</p>
+ */
+public final class PositionPool {
+    private static final int SEGMENT_BITS = 4;
+    private static final int SEGMENTS = 1 << SEGMENT_BITS;
+    private static final int MIN_CAPACITY = 16;
+    private static final int MIN_DIMENSION = 2;
+    private static final int MAX_DIMENSION = 3;
+
+    private static volatile PositionPool defaultPool;
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+    private final int initialCapacity;
+
+    private PositionPool(int initialCapacity) {
+        this.initialCapacity = initialCapacity;
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(initialCapacity);
+        }
+    }
+
+    /**
+     * Creates an empty pool.
+     *
+     * @return a new {@link PositionPool}.
+     */
+    public static PositionPool create() {
+        return create(0);
+    }
+
+    /**
+     * Creates an empty pool sized for the given number of distinct positions, to avoid growing the tables
+     * while adding them.
+     *
+     * @param expectedSize The expected number of distinct positions.
+     * @return a new {@link PositionPool}.
+     * @throws IllegalArgumentException if the expected size is negative.
+     */
+    public static PositionPool create(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size must not be negative but was " + expectedSize);
+        }
+        return new PositionPool(capacity(expectedSize / SEGMENTS + 1));
+    }
+
+    /**
+     * Returns the pool used by the {@code of(...)} factories of {@link Position} and by parsing without a pool
+     * in the read options.
+     *
+     * @return the default pool, or null if none is installed, which is the default.
+     */
+    public static PositionPool getDefault() {
+        return defaultPool;
+    }
+
+    /**
+     * Installs the given pool as default pool for the whole application, or removes it.
+     *
+     * @param pool The pool to install, null to stop pooling by default.
+     */
+    public static void setDefault(PositionPool pool) {
+        defaultPool = pool;
+    }
+
+    /**
+     * Returns the position of the default pool equal to the given one, or the given one if no pool is installed.
+     */
+    static Position pooled(Position position) {
+        PositionPool pool = defaultPool;
+        return pool != null ? pool.intern(position) : position;
+    }
+
+    /**
+     * Returns the pooled position equal to the given one, adding a position with a copy of its coordinates if
+     * there is none, so that later changes to the array of the given position affect neither the pool nor the
+     * positions it returns.
+     *
+     * @param position The position to pool.
+     * @return the pooled position, or the given one if it cannot be pooled.
+     */
+    public Position intern(Position position) {
+        if (position == null || position.getClass() != Position.class || !isPoolable(position.getCoordinates())) {
+            return position;
+        }
+        double[] coordinates = position.getCoordinates();
+        int hash = hash(coordinates, 0, coordinates.length);
+        Position pooled = segment(hash).find(hash, coordinates, 0, coordinates.length);
+        return pooled != null ? pooled : segment(hash).add(hash, coordinates, 0, coordinates.length);
+    }
+
+    /**
+     * Returns the pooled position with the given range of coordinates, adding a position with a copy of them if
+     * there is none, so a reader can pool positions straight from its buffer.
+     *
+     * @param values The array containing the coordinates.
+     * @param from   The index of the longitude.
+     * @param to     The index after the last coordinate.
+     * @return the pooled position, or a new position if the range has neither 2 nor 3 coordinates.
+     * @throws IndexOutOfBoundsException if the range is outside the values.
+     */
+    public Position intern(double[] values, int from, int to) {
+        if (from < 0 || from > to || to > values.length) {
+            throw new IndexOutOfBoundsException("Range [%d, %d) out of bounds for length %d".formatted(from, to, values.length));
+        }
+        if (to - from < MIN_DIMENSION || to - from > MAX_DIMENSION) {
+            return new Position(Arrays.copyOfRange(values, from, to));
+        }
+        int hash = hash(values, from, to);
+        Position pooled = segment(hash).find(hash, values, from, to);
+        return pooled != null ? pooled : segment(hash).add(hash, values, from, to);
+    }
+
+    /**
+     * Returns the number of pooled positions.
+     *
+     * @return the number of distinct positions added since creation or {@link #clear()}.
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /**
+     * Removes all pooled positions. Positions returned before stay valid, but are no longer shared with positions
+     * returned afterwards.
+     */
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.clear(initialCapacity);
+        }
+    }
+
+    private Segment segment(int hash) {
+        return segments[hash >>> (Integer.SIZE - SEGMENT_BITS)];
+    }
+
+    private static boolean isPoolable(double[] coordinates) {
+        return coordinates != null && coordinates.length >= MIN_DIMENSION && coordinates.length <= MAX_DIMENSION;
+    }
+
+    /**
+     * Hashes the bits of the coordinates as compared by {@link Arrays#equals(double[], double[])}, spread over
+     * all bits since the top bits select the segment and the bottom bits the slot.
+     */
+    private static int hash(double[] values, int from, int to) {
+        long hash = 0;
+        for (int i = from; i < to; i++) {
+            hash = (hash + Double.doubleToLongBits(values[i])) * 0x9E3779B97F4A7C15L;
+        }
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    private static int capacity(int size) {
+        return Math.max(MIN_CAPACITY, Integer.highestOneBit(Math.max(size, 1) * 2 - 1) * 2);
+    }
+
+    @Override
+    public String toString() {
+        return MessageFormat.format("PositionPool'{'size={0,number,#}'}'", size());
+    }
+
+    /**
+     * One open-addressing table with linear probing. Readers probe the published table without locking, a miss
+     * is repeated under the lock before adding, and growing publishes a new, completely filled table.
+     */
+    private static final class Segment {
+        private volatile AtomicReferenceArray<Position> table;
+        private int count;
+
+        Segment(int capacity) {
+            this.table = new AtomicReferenceArray<>(capacity);
+        }
+
+        Position find(int hash, double[] values, int from, int to) {
+            return find(table, hash, values, from, to);
+        }
+
+        private static Position find(AtomicReferenceArray<Position> table, int hash, double[] values, int from, int to) {
+            int mask = table.length() - 1;
+            for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+                Position position = table.get(slot);
+                if (position == null || matches(position.getCoordinates(), values, from, to)) {
+                    return position;
+                }
+            }
+        }
+
+        synchronized Position add(int hash, double[] values, int from, int to) {
+            Position pooled = find(table, hash, values, from, to);
+            if (pooled != null) {
+                return pooled;
+            }
+            if ((count + 1) * 2 > table.length()) {
+                table = grow(table);
+            }
+            Position added = new Position(Arrays.copyOfRange(values, from, to));
+            insert(table, hash, added);
+            count++;
+            return added;
+        }
+
+        synchronized int size() {
+            return count;
+        }
+
+        synchronized void clear(int capacity) {
+            table = new AtomicReferenceArray<>(capacity);
+            count = 0;
+        }
+
+        private static AtomicReferenceArray<Position> grow(AtomicReferenceArray<Position> table) {
+            AtomicReferenceArray<Position> grown = new AtomicReferenceArray<>(table.length() * 2);
+            for (int i = 0; i < table.length(); i++) {
+                Position position = table.get(i);
+                if (position != null) {
+                    double[] coordinates = position.getCoordinates();
+                    insert(grown, hash(coordinates, 0, coordinates.length), position);
+                }
+            }
+            return grown;
+        }
+
+        private static void insert(AtomicReferenceArray<Position> table, int hash, Position position) {
+            int mask = table.length() - 1;
+            int slot = hash & mask;
+            while (table.get(slot) != null) {
+                slot = (slot + 1) & mask;
+            }
+            table.set(slot, position);
+        }
+
+        private static boolean matches(double[] coordinates, double[] values, int from, int to) {
+            return Arrays.equals(coordinates, 0, coordinates.length, values, from, to);
+        }
+    }
+}
@@ -0,0 +1,347 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.domain;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.github.nramc.geojson.constant.GeoJsonType.FEATURE;
+import static com.github.nramc.geojson.constant.GeoJsonType.FEATURE_COLLECTION;
+import static com.github.nramc.geojson.constant.GeoJsonType.GEOMETRY_COLLECTION;
+import static com.github.nramc.geojson.constant.GeoJsonType.LINE_STRING;
+import static com.github.nramc.geojson.constant.GeoJsonType.MULTI_LINE_STRING;
+import static com.github.nramc.geojson.constant.GeoJsonType.MULTI_POINT;
+import static com.github.nramc.geojson.constant.GeoJsonType.MULTI_POLYGON;
+import static com.github.nramc.geojson.constant.GeoJsonType.POINT;
+import static com.github.nramc.geojson.constant.GeoJsonType.POLYGON;
+
+/**
+ * Serialization proxy of the domain classes, written in place of them by their {@code writeReplace} method.
+ * <p>
+ * Default serialization writes a class descriptor, an object and a {@code double[]} for every {@link Position}
+ * and the internal list classes for every array of positions. The proxy writes a tag identifying the class and
+ * the coordinates of an array of positions as a single count, dimension and the plain values instead, which are
+ * read back into a {@link CoordinateSequence} if the dimension is 2 or 3. The values of a single precision
+ * sequence are written as {@code float} values.
+ * The type is only written if it differs from the type of the class, nested geometries, features and properties
+ * are written as objects, so geometries and features use the proxy as well.
+ * </p>
+ * <p>
+ * The domain classes do not reject their default serialized form, so content written before the proxy was
+ * introduced can still be read. Subclasses of the non-final classes use the default serialized form.
+ * </p>
+ */
+final class SerializedForm implements Externalizable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private static final byte POSITION = 1;
+    private static final byte POLYGON_COORDINATES = 2;
+    private static final byte POINT_TAG = 3;
+    private static final byte LINE_STRING_TAG = 4;
+    private static final byte POLYGON_TAG = 5;
+    private static final byte MULTI_POINT_TAG = 6;
+    private static final byte MULTI_LINE_STRING_TAG = 7;
+    private static final byte MULTI_POLYGON_TAG = 8;
+    private static final byte GEOMETRY_COLLECTION_TAG = 9;
+    private static final byte FEATURE_TAG = 10;
+    private static final byte FEATURE_COLLECTION_TAG = 11;
+
+    private static final int NULL = -1;
+    private static final int NULL_COORDINATES = -2;
+    private static final int MIXED_DIMENSIONS = -1;
+    private static final int SINGLE_PRECISION = 0x100;
+
+    private Object object;
+
+    /**
+     * Constructor for deserialization only.
+     */
+    public SerializedForm() {
+        // content is read by readExternal
+    }
+
+    SerializedForm(Object object) {
+        this.object = object;
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        switch (object) {
+            case Position position -> {
+                out.writeByte(POSITION);
+                writePosition(out, position);
+            }
+            case PolygonCoordinates coordinates -> {
+                out.writeByte(POLYGON_COORDINATES);
+                writePolygonCoordinates(out, coordinates);
+            }
+            case Point point -> {
+                writeHeader(out, POINT_TAG, point.getType(), POINT);
+                writePosition(out, point.getCoordinates());
+            }
+            case LineString lineString -> {
+                writeHeader(out, LINE_STRING_TAG, lineString.getType(), LINE_STRING);
+                writePositions(out, lineString.getCoordinates());
+            }
+            case Polygon polygon -> {
+                writeHeader(out, POLYGON_TAG, polygon.getType(), POLYGON);
+                writeNullablePolygonCoordinates(out, polygon.getCoordinates());
+            }
+            case MultiPoint multiPoint -> {
+                writeHeader(out, MULTI_POINT_TAG, multiPoint.getType(), MULTI_POINT);
+                writePositions(out, multiPoint.getCoordinates());
+            }
+            case MultiLineString multiLineString -> {
+                writeHeader(out, MULTI_LINE_STRING_TAG, multiLineString.getType(), MULTI_LINE_STRING);
+                writeLines(out, multiLineString.getCoordinates());
+            }
+            case MultiPolygon multiPolygon -> {
+                writeHeader(out, MULTI_POLYGON_TAG, multiPolygon.getType(), MULTI_POLYGON);
+                List<PolygonCoordinates> polygons = multiPolygon.getCoordinates();
+                out.writeInt(polygons == null ? NULL : polygons.size());
+                for (PolygonCoordinates coordinates : polygons == null ? List.<PolygonCoordinates>of() : polygons) {
+                    writeNullablePolygonCoordinates(out, coordinates);
+                }
+            }
+            case GeometryCollection collection -> {
+                writeHeader(out, GEOMETRY_COLLECTION_TAG, collection.getType(), GEOMETRY_COLLECTION);
+                writeObjects(out, collection.getGeometries());
+            }
+            case Feature feature -> {
+                writeHeader(out, FEATURE_TAG, feature.getType(), FEATURE);
+                out.writeObject(feature.getId());
+                out.writeObject(feature.getGeometry());
+                out.writeObject(feature.getProperties());
+            }
+            case FeatureCollection featureCollection -> {
+                writeHeader(out, FEATURE_COLLECTION_TAG, featureCollection.getType(), FEATURE_COLLECTION);
+                writeObjects(out, featureCollection.getFeatures());
+            }
+            default -> throw new IllegalStateException("No serialized form for " + object.getClass().getName());
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+        byte tag = in.readByte();
+        object = switch (tag) {
+            case POSITION -> readPosition(in);
+            case POLYGON_COORDINATES -> readPolygonCoordinates(in);
+            case POINT_TAG -> new Point(readType(in, POINT), readPosition(in));
+            case LINE_STRING_TAG -> new LineString(readType(in, LINE_STRING), readPositions(in));
+            case POLYGON_TAG -> new Polygon(readType(in, POLYGON), readNullablePolygonCoordinates(in));
+            case MULTI_POINT_TAG -> new MultiPoint(readType(in, MULTI_POINT), readPositions(in));
+            case MULTI_LINE_STRING_TAG -> new MultiLineString(readType(in, MULTI_LINE_STRING), readLines(in));
+            case MULTI_POLYGON_TAG -> {
+                String type = readType(in, MULTI_POLYGON);
+                int count = in.readInt();
+                List<PolygonCoordinates> polygons = count == NULL ? null : new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    polygons.add(readNullablePolygonCoordinates(in));
+                }
+                yield new MultiPolygon(type, polygons);
+            }
+            case GEOMETRY_COLLECTION_TAG -> new GeometryCollection(readType(in, GEOMETRY_COLLECTION), readObjects(in, Geometry.class));
+            case FEATURE_TAG -> new Feature(readType(in, FEATURE), (String) in.readObject(), (Geometry) in.readObject(),
+                    (Map<String, Serializable>) in.readObject());
+            case FEATURE_COLLECTION_TAG -> new FeatureCollection(readType(in, FEATURE_COLLECTION), readObjects(in, Feature.class));
+            default -> throw new InvalidObjectException("Unknown serialized form " + tag);
+        };
+    }
+
+    @Serial
+    private Object readResolve() {
+        return object;
+    }
+
+    private static void writeHeader(ObjectOutput out, byte tag, String type, String defaultType) throws IOException {
+        out.writeByte(tag);
+        boolean custom = !defaultType.equals(type);
+        out.writeBoolean(custom);
+        if (custom) {
+            out.writeObject(type);
+        }
+    }
+
+    private static String readType(ObjectInput in, String defaultType) throws IOException, ClassNotFoundException {
+        return in.readBoolean() ? (String) in.readObject() : defaultType;
+    }
+
+    private static void writePosition(ObjectOutput out, Position position) throws IOException {
+        if (position == null || position.getCoordinates() == null) {
+            out.writeInt(position == null ? NULL : NULL_COORDINATES);
+            return;
+        }
+        double[] coordinates = position.getCoordinates();
+        out.writeInt(coordinates.length);
+        for (double coordinate : coordinates) {
+            out.writeDouble(coordinate);
+        }
+    }
+
+    private static Position readPosition(ObjectInput in) throws IOException {
+        int dimension = in.readInt();
+        if (dimension == NULL || dimension == NULL_COORDINATES) {
+            return dimension == NULL ? null : new Position(null);
+        }
+        return new Position(readCoordinates(in, dimension));
+    }
+
+    /**
+     * Writes the count and the dimension of the positions followed by all coordinates, or every position on its own
+     * if the positions have different dimensions.
+     */
+    private static void writePositions(ObjectOutput out, List<Position> positions) throws IOException {
+        if (positions == null) {
+            out.writeInt(NULL);
+            return;
+        }
+        out.writeInt(positions.size());
+        if (positions instanceof CoordinateSequence sequence && sequence.isSinglePrecision()) {
+            out.writeInt(sequence.getDimension() | SINGLE_PRECISION);
+            for (float value : sequence.floats()) {
+                out.writeFloat(value);
+            }
+            return;
+        }
+        if (positions instanceof CoordinateSequence sequence) {
+            out.writeInt(sequence.getDimension());
+            for (double value : sequence.values()) {
+                out.writeDouble(value);
+            }
+            return;
+        }
+        int dimension = dimension(positions);
+        out.writeInt(dimension);
+        for (Position position : positions) {
+            if (dimension == MIXED_DIMENSIONS) {
+                writePosition(out, position);
+            } else {
+                for (double coordinate : position.getCoordinates()) {
+                    out.writeDouble(coordinate);
+                }
+            }
+        }
+    }
+
+    private static int dimension(List<Position> positions) {
+        int dimension = MIXED_DIMENSIONS;
+        for (Position position : positions) {
+            if (position == null || position.getCoordinates() == null
+                    || (dimension != MIXED_DIMENSIONS && dimension != position.getCoordinates().length)) {
+                return MIXED_DIMENSIONS;
+            }
+            dimension = position.getCoordinates().length;
+        }
+        return dimension;
+    }
+
+    private static List<Position> readPositions(ObjectInput in) throws IOException {
+        int count = in.readInt();
+        if (count == NULL) {
+            return null;
+        }
+        int dimension = in.readInt();
+        if (dimension == 2 || dimension == 3) {
+            return new CoordinateSequence(readCoordinates(in, count * dimension), dimension);
+        }
+        if (dimension > 0 && (dimension & SINGLE_PRECISION) != 0) {
+            float[] values = new float[count * (dimension & ~SINGLE_PRECISION)];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = in.readFloat();
+            }
+            return new CoordinateSequence(values, dimension & ~SINGLE_PRECISION);
+        }
+        List<Position> positions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            positions.add(dimension == MIXED_DIMENSIONS ? readPosition(in) : new Position(readCoordinates(in, dimension)));
+        }
+        return positions;
+    }
+
+    private static double[] readCoordinates(ObjectInput in, int length) throws IOException {
+        double[] coordinates = new double[length];
+        for (int i = 0; i < length; i++) {
+            coordinates[i] = in.readDouble();
+        }
+        return coordinates;
+    }
+
+    private static void writeLines(ObjectOutput out, List<List<Position>> lines) throws IOException {
+        out.writeInt(lines == null ? NULL : lines.size());
+        for (List<Position> line : lines == null ? List.<List<Position>>of() : lines) {
+            writePositions(out, line);
+        }
+    }
+
+    private static List<List<Position>> readLines(ObjectInput in) throws IOException {
+        int count = in.readInt();
+        if (count == NULL) {
+            return null;
+        }
+        List<List<Position>> lines = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            lines.add(readPositions(in));
+        }
+        return lines;
+    }
+
+    private static void writePolygonCoordinates(ObjectOutput out, PolygonCoordinates coordinates) throws IOException {
+        writePositions(out, coordinates.getExterior());
+        writeLines(out, coordinates.getHoles());
+    }
+
+    private static PolygonCoordinates readPolygonCoordinates(ObjectInput in) throws IOException {
+        return new PolygonCoordinates(readPositions(in), readLines(in));
+    }
+
+    private static void writeNullablePolygonCoordinates(ObjectOutput out, PolygonCoordinates coordinates) throws IOException {
+        out.writeBoolean(coordinates != null);
+        if (coordinates != null) {
+            writePolygonCoordinates(out, coordinates);
+        }
+    }
+
+    private static PolygonCoordinates readNullablePolygonCoordinates(ObjectInput in) throws IOException {
+        return in.readBoolean() ? readPolygonCoordinates(in) : null;
+    }
+
+    private static void writeObjects(ObjectOutput out, List<?> objects) throws IOException {
+        out.writeInt(objects.size());
+        for (Object element : objects) {
+            out.writeObject(element);
+        }
+    }
+
+    private static <T> List<T> readObjects(ObjectInput in, Class<T> type) throws IOException, ClassNotFoundException {
+        int count = in.readInt();
+        List<T> objects = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            objects.add(type.cast(in.readObject()));
+        }
+        return objects;
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.flatgeobuf;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Minimal writer of a single size prefixed FlatBuffer, without a FlatBuffers runtime.
+ * <p>
+ * Unlike the official builders, which write back to front, the buffer is written front to back: the vtable of a
+ * table is reserved before the table itself and the objects referenced by a table (strings, vectors and other
+ * tables) are appended after it. Offset fields are reserved first and patched once their target is written,
+ * a target always follows its offset as required by the unsigned offsets of FlatBuffers. Positions are aligned
+ * relative to the start of the size prefix and the buffer is padded to a multiple of 8 bytes, so consecutive
+ * buffers in a file keep every scalar aligned.
+ * </p>
+ * <p>A builder is reused with {@link #reset()}, it is not thread-safe.</p>
+ */
+final class FlatBufferBuilder {
+    private static final int ROOT = Integer.BYTES;
+
+    private ByteBuffer buffer = ByteBuffer.allocate(1024).order(ByteOrder.LITTLE_ENDIAN);
+    private int vtable;
+    private int table;
+
+    FlatBufferBuilder() {
+        reset();
+    }
+
+    /**
+     * Discards the content and reserves the size prefix and the offset of the root table.
+     */
+    void reset() {
+        buffer.clear();
+        reserve(ROOT + Integer.BYTES);
+    }
+
+    /**
+     * Starts a table with the given number of fields of its schema, fields are added until {@link #endTable()}.
+     *
+     * @return the position of the table.
+     */
+    int startTable(int fieldCount) {
+        align(Short.BYTES);
+        vtable = reserve(Short.BYTES * (2 + fieldCount));
+        buffer.putShort(vtable, (short) (Short.BYTES * (2 + fieldCount)));
+        align(Long.BYTES);
+        table = reserve(Integer.BYTES);
+        buffer.putInt(table, table - vtable);
+        return table;
+    }
+
+    void endTable() {
+        buffer.putShort(vtable + Short.BYTES, (short) (buffer.position() - table));
+    }
+
+    void addByte(int field, int value) {
+        buffer.put(slot(field, Byte.BYTES), (byte) value);
+    }
+
+    void addBoolean(int field, boolean value) {
+        addByte(field, value ? 1 : 0);
+    }
+
+    void addShort(int field, int value) {
+        buffer.putShort(slot(field, Short.BYTES), (short) value);
+    }
+
+    void addInt(int field, int value) {
+        buffer.putInt(slot(field, Integer.BYTES), value);
+    }
+
+    void addLong(int field, long value) {
+        buffer.putLong(slot(field, Long.BYTES), value);
+    }
+
+    /**
+     * Reserves an offset field of the current table.
+     *
+     * @return the position of the offset, to {@link #patch(int, int) patch} once its target is written.
+     */
+    int addOffset(int field) {
+        return slot(field, Integer.BYTES);
+    }
+
+    /**
+     * Points the offset at the given position to the given target, which has to be written after the offset.
+     */
+    void patch(int offset, int target) {
+        buffer.putInt(offset, target - offset);
+    }
+
+    int string(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        int vector = startVector(bytes.length, Byte.BYTES);
+        buffer.put(bytes).put((byte) 0);
+        return vector;
+    }
+
+    int bytes(byte[] values, int length) {
+        int vector = startVector(length, Byte.BYTES);
+        buffer.put(values, 0, length);
+        return vector;
+    }
+
+    int ints(int[] values, int length) {
+        int vector = startVector(length, Integer.BYTES);
+        for (int i = 0; i < length; i++) {
+            buffer.putInt(values[i]);
+        }
+        return vector;
+    }
+
+    int doubles(double[] values, int length) {
+        int vector = startVector(length, Double.BYTES);
+        for (int i = 0; i < length; i++) {
+            buffer.putDouble(values[i]);
+        }
+        return vector;
+    }
+
+    /**
+     * Reserves a vector of offsets, the offset of element {@code i} is at {@code vector + 4 + 4 * i}.
+     *
+     * @return the position of the vector.
+     */
+    int offsets(int length) {
+        int vector = startVector(length, Integer.BYTES);
+        reserve(Integer.BYTES * length);
+        return vector;
+    }
+
+    /**
+     * Completes the buffer with the given root table.
+     *
+     * @return the number of bytes of the buffer, including the size prefix.
+     */
+    int finish(int rootTable) {
+        patch(ROOT, rootTable);
+        align(Long.BYTES);
+        buffer.putInt(0, buffer.position() - Integer.BYTES);
+        return buffer.position();
+    }
+
+    /**
+     * Returns the backing array, valid up to the size returned by {@link #finish(int)} until the next change.
+     */
+    byte[] array() {
+        return buffer.array();
+    }
+
+    private int startVector(int length, int elementSize) {
+        // the elements, not the length, have to be aligned
+        ensureCapacity(Long.BYTES + Integer.BYTES + length * elementSize + 1);
+        while ((buffer.position() + Integer.BYTES) % Math.max(elementSize, Integer.BYTES) != 0) {
+            buffer.put((byte) 0);
+        }
+        int vector = buffer.position();
+        buffer.putInt(length);
+        return vector;
+    }
+
+    private int slot(int field, int size) {
+        align(size);
+        int position = reserve(size);
+        buffer.putShort(vtable + Short.BYTES * (2 + field), (short) (position - table));
+        return position;
+    }
+
+    private void align(int alignment) {
+        int padding = -buffer.position() & (alignment - 1);
+        ensureCapacity(padding);
+        for (int i = 0; i < padding; i++) {
+            buffer.put((byte) 0);
+        }
+    }
+
+    private int reserve(int size) {
+        ensureCapacity(size);
+        int position = buffer.position();
+        Arrays.fill(buffer.array(), position, position + size, (byte) 0);
+        buffer.position(position + size);
+        return position;
+    }
+
+    private void ensureCapacity(int size) {
+        if (buffer.remaining() < size) {
+            int position = buffer.position();
+            ByteBuffer larger = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, position + size)).order(ByteOrder.LITTLE_ENDIAN);
+            larger.put(buffer.array(), 0, position);
+            buffer = larger;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.flatgeobuf;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Read access to a table of a FlatBuffer by absolute reads of a little-endian buffer, without a FlatBuffers runtime.
+ * Fields which are not present in the vtable of the table have their schema default.
+ */
+final class FlatBufferTable {
+    private final ByteBuffer buffer;
+    private final int position;
+    private final int vtable;
+    private final int vtableSize;
+
+    private FlatBufferTable(ByteBuffer buffer, int position) {
+        this.buffer = buffer;
+        this.position = position;
+        this.vtable = position - buffer.getInt(position);
+        this.vtableSize = Short.toUnsignedInt(buffer.getShort(vtable));
+    }
+
+    /**
+     * Returns the root table of the FlatBuffer starting at the given position, i.e. after its size prefix.
+     */
+    static FlatBufferTable root(ByteBuffer buffer, int position) {
+        return new FlatBufferTable(buffer, position + buffer.getInt(position));
+    }
+
+    ByteBuffer buffer() {
+        return buffer;
+    }
+
+    boolean has(int field) {
+        return offset(field) != 0;
+    }
+
+    int getUnsignedByte(int field, int defaultValue) {
+        int offset = offset(field);
+        return offset == 0 ? defaultValue : Byte.toUnsignedInt(buffer.get(position + offset));
+    }
+
+    boolean getBoolean(int field) {
+        return getUnsignedByte(field, 0) != 0;
+    }
+
+    int getUnsignedShort(int field, int defaultValue) {
+        int offset = offset(field);
+        return offset == 0 ? defaultValue : Short.toUnsignedInt(buffer.getShort(position + offset));
+    }
+
+    long getLong(int field) {
+        int offset = offset(field);
+        return offset == 0 ? 0 : buffer.getLong(position + offset);
+    }
+
+    String getString(int field) {
+        int offset = offset(field);
+        return offset == 0 ? null : string(indirect(position + offset));
+    }
+
+    FlatBufferTable getTable(int field) {
+        int offset = offset(field);
+        return offset == 0 ? null : new FlatBufferTable(buffer, indirect(position + offset));
+    }
+
+    /**
+     * Returns the number of elements of the given vector field, 0 if absent.
+     */
+    int vectorLength(int field) {
+        int offset = offset(field);
+        return offset == 0 ? 0 : buffer.getInt(indirect(position + offset));
+    }
+
+    /**
+     * Returns the position of the first element of the given vector field, only valid if the vector is present.
+     */
+    int vector(int field) {
+        return indirect(position + offset(field)) + Integer.BYTES;
+    }
+
+    /**
+     * Returns the table at the given index of the given vector of tables.
+     */
+    FlatBufferTable getTable(int field, int index) {
+        return new FlatBufferTable(buffer, indirect(vector(field) + Integer.BYTES * index));
+    }
+
+    private int offset(int field) {
+        int entry = Short.BYTES * (2 + field);
+        return entry < vtableSize ? Short.toUnsignedInt(buffer.getShort(vtable + entry)) : 0;
+    }
+
+    private int indirect(int offset) {
+        return offset + buffer.getInt(offset);
+    }
+
+    private String string(int position) {
+        byte[] bytes = new byte[buffer.getInt(position)];
+        buffer.get(position + Integer.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.flatgeobuf;
+
+/**
+ * Constants of the FlatGeobuf format, see <a href="https://flatgeobuf.org">flatgeobuf.org</a>.
+ * <p>
+ * A file starts with the magic bytes, followed by the size prefixed Header table, the optional packed
+ * Hilbert R-tree and the size prefixed Feature tables. Field indices are those of the {@code header.fbs}
+ * and {@code feature.fbs} schemas of version 3.
+ * </p>
+ */
+final class FlatGeobuf {
+    static final byte[] MAGIC_BYTES = {0x66, 0x67, 0x62, 0x03, 0x66, 0x67, 0x62, 0x00};
+    static final int DEFAULT_INDEX_NODE_SIZE = 16;
+    static final int CRS_WGS84 = 4326;
+
+    static final int UNKNOWN = 0;
+    static final int POINT = 1;
+    static final int LINE_STRING = 2;
+    static final int POLYGON = 3;
+    static final int MULTI_POINT = 4;
+    static final int MULTI_LINE_STRING = 5;
+    static final int MULTI_POLYGON = 6;
+    static final int GEOMETRY_COLLECTION = 7;
+
+    static final int HEADER_NAME = 0;
+    static final int HEADER_ENVELOPE = 1;
+    static final int HEADER_GEOMETRY_TYPE = 2;
+    static final int HEADER_HAS_Z = 3;
+    static final int HEADER_COLUMNS = 7;
+    static final int HEADER_FEATURES_COUNT = 8;
+    static final int HEADER_INDEX_NODE_SIZE = 9;
+    static final int HEADER_CRS = 10;
+    static final int HEADER_FIELDS = 14;
+
+    static final int COLUMN_NAME = 0;
+    static final int COLUMN_TYPE = 1;
+    static final int COLUMN_FIELDS = 11;
+
+    static final int CRS_CODE = 1;
+    static final int CRS_FIELDS = 6;
+
+    static final int FEATURE_GEOMETRY = 0;
+    static final int FEATURE_PROPERTIES = 1;
+    static final int FEATURE_COLUMNS = 2;
+    static final int FEATURE_FIELDS = 3;
+
+    static final int GEOMETRY_ENDS = 0;
+    static final int GEOMETRY_XY = 1;
+    static final int GEOMETRY_Z = 2;
+    static final int GEOMETRY_TYPE = 6;
+    static final int GEOMETRY_PARTS = 7;
+    static final int GEOMETRY_FIELDS = 8;
+
+    static final int COLUMN_TYPE_BYTE = 0;
+    static final int COLUMN_TYPE_UBYTE = 1;
+    static final int COLUMN_TYPE_BOOL = 2;
+    static final int COLUMN_TYPE_SHORT = 3;
+    static final int COLUMN_TYPE_USHORT = 4;
+    static final int COLUMN_TYPE_INT = 5;
+    static final int COLUMN_TYPE_UINT = 6;
+    static final int COLUMN_TYPE_LONG = 7;
+    static final int COLUMN_TYPE_ULONG = 8;
+    static final int COLUMN_TYPE_FLOAT = 9;
+    static final int COLUMN_TYPE_DOUBLE = 10;
+    static final int COLUMN_TYPE_STRING = 11;
+    static final int COLUMN_TYPE_JSON = 12;
+    static final int COLUMN_TYPE_DATE_TIME = 13;
+    static final int COLUMN_TYPE_BINARY = 14;
+
+    private FlatGeobuf() {
+        throw new IllegalStateException("Utility class");
+    }
+}
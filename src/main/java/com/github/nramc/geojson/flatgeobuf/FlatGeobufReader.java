@@ -0,0 +1,412 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.flatgeobuf;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.nramc.geojson.domain.CoordinateSequence;
+import com.github.nramc.geojson.domain.Feature;
+import com.github.nramc.geojson.domain.Geometry;
+import com.github.nramc.geojson.domain.GeometryCollection;
+import com.github.nramc.geojson.domain.LineString;
+import com.github.nramc.geojson.domain.MultiLineString;
+import com.github.nramc.geojson.domain.MultiPoint;
+import com.github.nramc.geojson.domain.MultiPolygon;
+import com.github.nramc.geojson.domain.Point;
+import com.github.nramc.geojson.domain.Polygon;
+import com.github.nramc.geojson.domain.PolygonCoordinates;
+import com.github.nramc.geojson.domain.Position;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static com.github.nramc.geojson.constant.GeoJsonType.FEATURE;
+import static com.github.nramc.geojson.constant.GeoJsonType.GEOMETRY_COLLECTION;
+import static com.github.nramc.geojson.constant.GeoJsonType.LINE_STRING;
+import static com.github.nramc.geojson.constant.GeoJsonType.MULTI_LINE_STRING;
+import static com.github.nramc.geojson.constant.GeoJsonType.MULTI_POINT;
+import static com.github.nramc.geojson.constant.GeoJsonType.MULTI_POLYGON;
+import static com.github.nramc.geojson.constant.GeoJsonType.POINT;
+import static com.github.nramc.geojson.constant.GeoJsonType.POLYGON;
+
+/**
+ * Reads the {@link Feature} objects of a <a href="https://flatgeobuf.org">FlatGeobuf</a> file, all of them or only
+ * those intersecting a bounding box.
+ * <p>
+ * The file is memory-mapped and only the header is decoded eagerly. A bounding box query walks the packed Hilbert
+ * R-tree of the file and decodes only the features whose bounding box intersects the query, in file order. Without
+ * an index, all features are scanned and only the geometries are inspected before a feature is decoded.
+ * The FlatBuffers tables are read by absolute reads of the mapping, no FlatBuffers runtime is required.
+ * </p>
+ * <p>
+ * Z coordinates are kept as altitude, M, T and TM values are dropped as GeoJSON positions have none. Properties are
+ * decoded with the Java type of their column, JSON columns with a default {@link ObjectMapper}. Curve, surface and
+ * TIN geometries are not supported. The CRS of the file is ignored, as GeoJSON is always WGS 84. Features have no id.
+ * Mapped regions are released by the garbage collector.
+ * </p>
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * FlatGeobufReader reader = FlatGeobufReader.of(Path.of("buildings.fgb"));
+ * try (Stream<Feature> features = reader.read(13.3, 52.4, 13.5, 52.6)) {
+ *     features.forEach(repository::save);
+ * }
+ * }</pre></p>
+ *
+ * <p>The reader is immutable and can be shared, every stream reads the mapping independently.</p>
+ *
+ * @see FlatGeobufWriter
+ */
+public final class FlatGeobufReader {
+    private static final ObjectMapper DEFAULT_OBJECT_MAPPER = new ObjectMapper();
+    private static final int DEFAULT_SEGMENT_SHIFT = 30;
+    private static final int HEADER_OFFSET = FlatGeobuf.MAGIC_BYTES.length + Integer.BYTES;
+    private static final int MAGIC_VERSION = 3;
+
+    private final MappedFile file;
+    private final int geometryType;
+    private final Column[] columns;
+    private final long featuresCount;
+    private final int indexNodeSize;
+    private final double[] envelope;
+    private final long indexOffset;
+    private final long featuresOffset;
+
+    private FlatGeobufReader(MappedFile file) throws IOException {
+        this.file = file;
+        if (file.size() < HEADER_OFFSET || !isMagic(file)) {
+            throw new IOException("Not a FlatGeobuf file of version " + MAGIC_VERSION);
+        }
+        int headerSize = file.getInt(FlatGeobuf.MAGIC_BYTES.length);
+        FlatBufferTable header = FlatBufferTable.root(file.slice(HEADER_OFFSET, headerSize), 0);
+        this.geometryType = header.getUnsignedByte(FlatGeobuf.HEADER_GEOMETRY_TYPE, FlatGeobuf.UNKNOWN);
+        this.columns = columns(header, FlatGeobuf.HEADER_COLUMNS);
+        this.featuresCount = header.getLong(FlatGeobuf.HEADER_FEATURES_COUNT);
+        this.indexNodeSize = header.getUnsignedShort(FlatGeobuf.HEADER_INDEX_NODE_SIZE, FlatGeobuf.DEFAULT_INDEX_NODE_SIZE);
+        if (featuresCount < 0 || indexNodeSize == 1) {
+            throw new IOException("Unsupported FlatGeobuf header with %s features and index node size %d"
+                    .formatted(Long.toUnsignedString(featuresCount), indexNodeSize));
+        }
+        this.envelope = header.vectorLength(FlatGeobuf.HEADER_ENVELOPE) >= 4 ? doubles(header, FlatGeobuf.HEADER_ENVELOPE, 4) : null;
+        this.indexOffset = HEADER_OFFSET + (long) headerSize;
+        this.featuresOffset = indexOffset + PackedRTree.size(featuresCount, indexNodeSize);
+    }
+
+    /**
+     * Maps the given file and reads its header.
+     *
+     * @param path The path of a FlatGeobuf file.
+     * @return A new {@link FlatGeobufReader}.
+     * @throws IOException if the file could not be mapped, is not a FlatGeobuf file or has an unsupported header.
+     */
+    public static FlatGeobufReader of(Path path) throws IOException {
+        return of(path, DEFAULT_SEGMENT_SHIFT);
+    }
+
+    /**
+     * Maps the given file in segments of {@code 2^segmentShift} bytes, a mapped buffer is limited to 2 GiB.
+     */
+    static FlatGeobufReader of(Path path, int segmentShift) throws IOException {
+        return new FlatGeobufReader(MappedFile.map(path, segmentShift));
+    }
+
+    /**
+     * Returns the number of features declared by the header.
+     *
+     * @return the number of features, 0 if unknown.
+     */
+    public long getFeaturesCount() {
+        return featuresCount;
+    }
+
+    /**
+     * Returns the bounding box of all features declared by the header.
+     *
+     * @return {@code [minX, minY, maxX, maxY]}, or null if the header has no envelope.
+     */
+    public double[] getEnvelope() {
+        return envelope != null ? envelope.clone() : null;
+    }
+
+    /**
+     * Returns whether the file has a spatial index, otherwise bounding box queries scan all features.
+     *
+     * @return true if the file has a packed Hilbert R-tree.
+     */
+    public boolean isIndexed() {
+        return indexNodeSize > 0 && featuresCount > 0;
+    }
+
+    /**
+     * Returns all features in file order.
+     *
+     * @return A lazily populated {@link Stream} of features.
+     * @throws UncheckedIOException if a JSON property could not be decoded.
+     */
+    public Stream<Feature> read() {
+        return buffers().map(this::feature);
+    }
+
+    /**
+     * Returns the features whose bounding box intersects the given bounding box, in file order.
+     *
+     * @param minX The minimum longitude of the bounding box.
+     * @param minY The minimum latitude of the bounding box.
+     * @param maxX The maximum longitude of the bounding box.
+     * @param maxY The maximum latitude of the bounding box.
+     * @return A lazily populated {@link Stream} of features.
+     * @throws UncheckedIOException if a JSON property could not be decoded.
+     */
+    public Stream<Feature> read(double minX, double minY, double maxX, double maxY) {
+        if (isIndexed()) {
+            long[] offsets = PackedRTree.search(file, indexOffset, featuresCount, indexNodeSize, minX, minY, maxX, maxY);
+            return Arrays.stream(offsets).mapToObj(offset -> buffer(featuresOffset + offset)).map(this::feature);
+        }
+        return buffers().filter(buffer -> {
+            FlatBufferTable geometry = FlatBufferTable.root(buffer, 0).getTable(FlatGeobuf.FEATURE_GEOMETRY);
+            double[] box = {Double.NaN, Double.NaN, Double.NaN, Double.NaN};
+            if (geometry != null) {
+                envelope(geometry, box);
+            }
+            return box[0] <= maxX && box[1] <= maxY && box[2] >= minX && box[3] >= minY;
+        }).map(this::feature);
+    }
+
+    private static boolean isMagic(MappedFile file) {
+        ByteBuffer magic = file.slice(0, FlatGeobuf.MAGIC_BYTES.length);
+        for (int i = 0; i < FlatGeobuf.MAGIC_BYTES.length - 1; i++) {
+            if (magic.get(i) != FlatGeobuf.MAGIC_BYTES[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Column[] columns(FlatBufferTable table, int field) {
+        Column[] columns = new Column[table.vectorLength(field)];
+        for (int i = 0; i < columns.length; i++) {
+            FlatBufferTable column = table.getTable(field, i);
+            columns[i] = new Column(column.getString(FlatGeobuf.COLUMN_NAME), column.getUnsignedByte(FlatGeobuf.COLUMN_TYPE, FlatGeobuf.COLUMN_TYPE_BYTE));
+        }
+        return columns;
+    }
+
+    /**
+     * Returns the size prefixed FlatBuffers of all features, one after another.
+     */
+    private Stream<ByteBuffer> buffers() {
+        Iterator<ByteBuffer> iterator = new Iterator<>() {
+            private long position = featuresOffset;
+
+            @Override
+            public boolean hasNext() {
+                return position < file.size();
+            }
+
+            @Override
+            public ByteBuffer next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException("No more features available");
+                }
+                ByteBuffer buffer = buffer(position);
+                position += Integer.BYTES + buffer.limit();
+                return buffer;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    private ByteBuffer buffer(long position) {
+        return file.slice(position + Integer.BYTES, file.getInt(position));
+    }
+
+    private Feature feature(ByteBuffer buffer) {
+        FlatBufferTable table = FlatBufferTable.root(buffer, 0);
+        FlatBufferTable geometry = table.getTable(FlatGeobuf.FEATURE_GEOMETRY);
+        return new Feature(FEATURE, null, geometry != null ? geometry(geometry, geometryType) : null, properties(table));
+    }
+
+    private Map<String, Serializable> properties(FlatBufferTable table) {
+        int length = table.vectorLength(FlatGeobuf.FEATURE_PROPERTIES);
+        if (length == 0) {
+            return Map.of();
+        }
+        Column[] featureColumns = table.has(FlatGeobuf.FEATURE_COLUMNS) ? columns(table, FlatGeobuf.FEATURE_COLUMNS) : columns;
+        ByteBuffer values = table.buffer().slice(table.vector(FlatGeobuf.FEATURE_PROPERTIES), length).order(table.buffer().order());
+        Map<String, Serializable> properties = HashMap.newHashMap(featureColumns.length);
+        while (values.hasRemaining()) {
+            Column column = featureColumns[Short.toUnsignedInt(values.getShort())];
+            properties.put(column.name(), value(values, column.type()));
+        }
+        return properties;
+    }
+
+    private static Serializable value(ByteBuffer values, int type) {
+        return switch (type) {
+            case FlatGeobuf.COLUMN_TYPE_BYTE -> values.get();
+            case FlatGeobuf.COLUMN_TYPE_UBYTE -> (short) Byte.toUnsignedInt(values.get());
+            case FlatGeobuf.COLUMN_TYPE_BOOL -> values.get() != 0;
+            case FlatGeobuf.COLUMN_TYPE_SHORT -> values.getShort();
+            case FlatGeobuf.COLUMN_TYPE_USHORT -> Short.toUnsignedInt(values.getShort());
+            case FlatGeobuf.COLUMN_TYPE_INT -> values.getInt();
+            case FlatGeobuf.COLUMN_TYPE_UINT -> Integer.toUnsignedLong(values.getInt());
+            case FlatGeobuf.COLUMN_TYPE_LONG -> values.getLong();
+            case FlatGeobuf.COLUMN_TYPE_ULONG -> unsigned(values.getLong());
+            case FlatGeobuf.COLUMN_TYPE_FLOAT -> values.getFloat();
+            case FlatGeobuf.COLUMN_TYPE_DOUBLE -> values.getDouble();
+            case FlatGeobuf.COLUMN_TYPE_STRING, FlatGeobuf.COLUMN_TYPE_DATE_TIME -> new String(bytes(values), StandardCharsets.UTF_8);
+            case FlatGeobuf.COLUMN_TYPE_JSON -> json(bytes(values));
+            case FlatGeobuf.COLUMN_TYPE_BINARY -> bytes(values);
+            default -> throw new IllegalArgumentException("Unknown FlatGeobuf column type " + type);
+        };
+    }
+
+    private static Serializable unsigned(long value) {
+        return value >= 0 ? (Serializable) value : new BigInteger(Long.toUnsignedString(value));
+    }
+
+    private static byte[] bytes(ByteBuffer values) {
+        byte[] bytes = new byte[values.getInt()];
+        values.get(bytes);
+        return bytes;
+    }
+
+    private static Serializable json(byte[] bytes) {
+        try {
+            return (Serializable) DEFAULT_OBJECT_MAPPER.readValue(bytes, Object.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Geometry geometry(FlatBufferTable table, int defaultType) {
+        int type = table.getUnsignedByte(FlatGeobuf.GEOMETRY_TYPE, FlatGeobuf.UNKNOWN);
+        return switch (type != FlatGeobuf.UNKNOWN ? type : defaultType) {
+            case FlatGeobuf.POINT -> {
+                List<Position> positions = positions(table, 0, table.vectorLength(FlatGeobuf.GEOMETRY_XY) / 2);
+                yield new Point(POINT, positions.isEmpty() ? new Position() : positions.getFirst());
+            }
+            case FlatGeobuf.LINE_STRING -> new LineString(LINE_STRING, positions(table, 0, table.vectorLength(FlatGeobuf.GEOMETRY_XY) / 2));
+            case FlatGeobuf.POLYGON -> new Polygon(POLYGON, new PolygonCoordinates(parts(table)));
+            case FlatGeobuf.MULTI_POINT -> new MultiPoint(MULTI_POINT, positions(table, 0, table.vectorLength(FlatGeobuf.GEOMETRY_XY) / 2));
+            case FlatGeobuf.MULTI_LINE_STRING -> new MultiLineString(MULTI_LINE_STRING, parts(table));
+            case FlatGeobuf.MULTI_POLYGON -> {
+                List<PolygonCoordinates> polygons = new ArrayList<>(table.vectorLength(FlatGeobuf.GEOMETRY_PARTS));
+                for (int i = 0; i < table.vectorLength(FlatGeobuf.GEOMETRY_PARTS); i++) {
+                    polygons.add(new PolygonCoordinates(parts(table.getTable(FlatGeobuf.GEOMETRY_PARTS, i))));
+                }
+                yield new MultiPolygon(MULTI_POLYGON, polygons);
+            }
+            case FlatGeobuf.GEOMETRY_COLLECTION -> {
+                List<Geometry> geometries = new ArrayList<>(table.vectorLength(FlatGeobuf.GEOMETRY_PARTS));
+                for (int i = 0; i < table.vectorLength(FlatGeobuf.GEOMETRY_PARTS); i++) {
+                    geometries.add(geometry(table.getTable(FlatGeobuf.GEOMETRY_PARTS, i), FlatGeobuf.UNKNOWN));
+                }
+                yield new GeometryCollection(GEOMETRY_COLLECTION, geometries);
+            }
+            default -> throw new IllegalArgumentException("Unsupported FlatGeobuf geometry type " + type);
+        };
+    }
+
+    /**
+     * Returns the positions of the parts of the given geometry, split at the ends or a single part if there are none.
+     */
+    private static List<List<Position>> parts(FlatBufferTable table) {
+        int count = table.vectorLength(FlatGeobuf.GEOMETRY_XY) / 2;
+        int partCount = table.vectorLength(FlatGeobuf.GEOMETRY_ENDS);
+        if (partCount == 0) {
+            return count == 0 ? List.of() : List.of(positions(table, 0, count));
+        }
+        List<List<Position>> parts = new ArrayList<>(partCount);
+        int ends = table.vector(FlatGeobuf.GEOMETRY_ENDS);
+        int start = 0;
+        for (int i = 0; i < partCount; i++) {
+            int end = table.buffer().getInt(ends + Integer.BYTES * i);
+            parts.add(positions(table, start, end));
+            start = end;
+        }
+        return parts;
+    }
+
+    private static List<Position> positions(FlatBufferTable table, int from, int to) {
+        int z = table.vectorLength(FlatGeobuf.GEOMETRY_Z) > 0 ? table.vector(FlatGeobuf.GEOMETRY_Z) : -1;
+        int dimension = z < 0 ? 2 : 3;
+        double[] values = new double[(to - from) * dimension];
+        if (to == from) {
+            return CoordinateSequence.of(dimension, values);
+        }
+        ByteBuffer buffer = table.buffer();
+        int xy = table.vector(FlatGeobuf.GEOMETRY_XY);
+        int offset = 0;
+        for (int i = from; i < to; i++) {
+            values[offset++] = buffer.getDouble(xy + Double.BYTES * 2 * i);
+            values[offset++] = buffer.getDouble(xy + Double.BYTES * (2 * i + 1));
+            if (z >= 0) {
+                values[offset++] = buffer.getDouble(z + Double.BYTES * i);
+            }
+        }
+        return CoordinateSequence.of(dimension, values);
+    }
+
+    /**
+     * Extends the given box by all positions of the given geometry and its parts.
+     */
+    private static void envelope(FlatBufferTable table, double[] box) {
+        ByteBuffer buffer = table.buffer();
+        double[] position = new double[4];
+        int count = table.vectorLength(FlatGeobuf.GEOMETRY_XY) / 2;
+        if (count > 0) {
+            int xy = table.vector(FlatGeobuf.GEOMETRY_XY);
+            for (int i = 0; i < count; i++) {
+                position[0] = buffer.getDouble(xy + Double.BYTES * 2 * i);
+                position[1] = buffer.getDouble(xy + Double.BYTES * (2 * i + 1));
+                position[2] = position[0];
+                position[3] = position[1];
+                PackedRTree.expand(box, 0, position, 0);
+            }
+        }
+        for (int i = 0; i < table.vectorLength(FlatGeobuf.GEOMETRY_PARTS); i++) {
+            envelope(table.getTable(FlatGeobuf.GEOMETRY_PARTS, i), box);
+        }
+    }
+
+    private static double[] doubles(FlatBufferTable table, int field, int length) {
+        double[] values = new double[length];
+        int vector = table.vector(field);
+        for (int i = 0; i < length; i++) {
+            values[i] = table.buffer().getDouble(vector + Double.BYTES * i);
+        }
+        return values;
+    }
+
+    private record Column(String name, int type) {
+    }
+}
@@ -0,0 +1,498 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.flatgeobuf;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.nramc.geojson.domain.CoordinateSequence;
+import com.github.nramc.geojson.domain.Feature;
+import com.github.nramc.geojson.domain.FeatureCollection;
+import com.github.nramc.geojson.domain.Geometry;
+import com.github.nramc.geojson.domain.GeometryCollection;
+import com.github.nramc.geojson.domain.LineString;
+import com.github.nramc.geojson.domain.MultiLineString;
+import com.github.nramc.geojson.domain.MultiPoint;
+import com.github.nramc.geojson.domain.MultiPolygon;
+import com.github.nramc.geojson.domain.Point;
+import com.github.nramc.geojson.domain.Polygon;
+import com.github.nramc.geojson.domain.PolygonCoordinates;
+import com.github.nramc.geojson.domain.Position;
+import org.apache.commons.collections4.ListUtils;
+import org.apache.commons.collections4.MapUtils;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.MessageFormat;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static com.github.nramc.geojson.constant.GeoJsonType.POLYGON;
+
+/**
+ * Writes a {@link FeatureCollection} as <a href="https://flatgeobuf.org">FlatGeobuf</a> file, which supports
+ * bounding box queries without reading the whole file, see {@link FlatGeobufReader}.
+ * <p>
+ * Features are sorted along a Hilbert curve and indexed by a packed Hilbert R-tree written between the header
+ * and the features. With an index node size of 0 no index is written and features keep their order. The FlatBuffers
+ * tables are written by a minimal builder of this package, no FlatBuffers runtime is required.
+ * </p>
+ * <p>
+ * The columns of the header are derived from the property values of all features: booleans, integers, longs,
+ * floats, doubles and strings are written with their type, integral and floating point numbers of the same key
+ * are widened, any other value and mixed types are written as JSON. Geometries are written with Z coordinates when
+ * any of their positions has an altitude, positions without altitude are then written with NaN. The CRS is
+ * EPSG:4326 as required by RFC 7946. FlatGeobuf has no feature identifier, the id of features is not written.
+ * </p>
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * FlatGeobufWriter.DEFAULT.write(featureCollection, Path.of("buildings.fgb"));
+ * }</pre></p>
+ *
+ * <p>The writer is immutable and can be shared.</p>
+ *
+ * @see FlatGeobufReader
+ */
+public final class FlatGeobufWriter {
+    /**
+     * Writes an index with nodes of 16 items, the default of the reference implementation.
+     */
+    public static final FlatGeobufWriter DEFAULT = new FlatGeobufWriter(FlatGeobuf.DEFAULT_INDEX_NODE_SIZE);
+    private static final ObjectMapper DEFAULT_OBJECT_MAPPER = new ObjectMapper();
+    private static final int MAX_INDEX_NODE_SIZE = 0xFFFF;
+    private static final int MAX_COLUMNS = 0xFFFF + 1;
+
+    private final int indexNodeSize;
+
+    private FlatGeobufWriter(int indexNodeSize) {
+        this.indexNodeSize = indexNodeSize;
+    }
+
+    /**
+     * Returns a writer which writes an index with nodes of the given number of items, or no index if 0.
+     *
+     * @param indexNodeSize The maximum number of children of a node of the index, 0 or between 2 and 65535.
+     * @return a writer with the given index node size.
+     * @throws IllegalArgumentException if the node size is out of range.
+     */
+    public FlatGeobufWriter withIndexNodeSize(int indexNodeSize) {
+        if (indexNodeSize != 0 && (indexNodeSize < 2 || indexNodeSize > MAX_INDEX_NODE_SIZE)) {
+            throw new IllegalArgumentException("Index node size must be 0 or between 2 and " + MAX_INDEX_NODE_SIZE + " but was " + indexNodeSize);
+        }
+        return new FlatGeobufWriter(indexNodeSize);
+    }
+
+    /**
+     * Returns the maximum number of children of a node of the index.
+     *
+     * @return the index node size, 0 if no index is written.
+     */
+    public int getIndexNodeSize() {
+        return indexNodeSize;
+    }
+
+    /**
+     * Writes the given FeatureCollection to the given file, an existing file is replaced.
+     *
+     * @param featureCollection The features to write.
+     * @param path              The path of the file.
+     * @throws IOException if the file could not be written.
+     */
+    public void write(FeatureCollection featureCollection, Path path) throws IOException {
+        try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(path))) {
+            write(featureCollection, output);
+        }
+    }
+
+    /**
+     * Writes the given FeatureCollection to the given stream, which is not closed.
+     * All features are encoded before the header is written, as the header and the index depend on all of them.
+     *
+     * @param featureCollection The features to write.
+     * @param output            The stream to write to.
+     * @throws IOException if the stream could not be written.
+     * @throws IllegalArgumentException if the features have more than 65536 distinct property keys or a position
+     *                                  has less than 2 coordinates.
+     */
+    public void write(FeatureCollection featureCollection, OutputStream output) throws IOException {
+        List<Feature> features = ListUtils.emptyIfNull(featureCollection.getFeatures());
+        Encoder encoder = new Encoder(columns(features));
+        byte[][] encoded = new byte[features.size()][];
+        double[] boxes = new double[features.size() * 4];
+        double[] extent = {Double.NaN, Double.NaN, Double.NaN, Double.NaN};
+        for (int i = 0; i < encoded.length; i++) {
+            encoded[i] = encoder.feature(features.get(i));
+            System.arraycopy(encoder.box, 0, boxes, i * 4, 4);
+            PackedRTree.expand(extent, 0, boxes, i);
+        }
+        boolean indexed = indexNodeSize > 0 && encoded.length > 0;
+        int[] order = indexed ? PackedRTree.hilbertOrder(boxes, extent) : null;
+
+        output.write(FlatGeobuf.MAGIC_BYTES);
+        output.write(encoder.builder.array(), 0, encoder.header(extent, geometryType(features), encoded.length, indexNodeSize));
+        if (indexed) {
+            double[] sortedBoxes = new double[boxes.length];
+            long[] offsets = new long[encoded.length];
+            long offset = 0;
+            for (int i = 0; i < order.length; i++) {
+                System.arraycopy(boxes, order[i] * 4, sortedBoxes, i * 4, 4);
+                offsets[i] = offset;
+                offset += encoded[order[i]].length;
+            }
+            PackedRTree.write(sortedBoxes, offsets, indexNodeSize, output);
+        }
+        for (int i = 0; i < encoded.length; i++) {
+            output.write(encoded[indexed ? order[i] : i]);
+        }
+    }
+
+    private static Map<String, Integer> columns(List<Feature> features) {
+        Map<String, Integer> columns = new LinkedHashMap<>();
+        for (Feature feature : features) {
+            for (Map.Entry<String, Serializable> property : MapUtils.emptyIfNull(feature.getProperties()).entrySet()) {
+                if (property.getValue() != null) {
+                    columns.merge(property.getKey(), columnType(property.getValue()), FlatGeobufWriter::widen);
+                }
+            }
+        }
+        if (columns.size() > MAX_COLUMNS) {
+            throw new IllegalArgumentException("FlatGeobuf supports at most " + MAX_COLUMNS + " columns but found " + columns.size());
+        }
+        return columns;
+    }
+
+    private static int columnType(Object value) {
+        return switch (value) {
+            case Boolean ignored -> FlatGeobuf.COLUMN_TYPE_BOOL;
+            case Byte ignored -> FlatGeobuf.COLUMN_TYPE_INT;
+            case Short ignored -> FlatGeobuf.COLUMN_TYPE_INT;
+            case Integer ignored -> FlatGeobuf.COLUMN_TYPE_INT;
+            case Long ignored -> FlatGeobuf.COLUMN_TYPE_LONG;
+            case Float ignored -> FlatGeobuf.COLUMN_TYPE_FLOAT;
+            case Double ignored -> FlatGeobuf.COLUMN_TYPE_DOUBLE;
+            case String ignored -> FlatGeobuf.COLUMN_TYPE_STRING;
+            default -> FlatGeobuf.COLUMN_TYPE_JSON;
+        };
+    }
+
+    private static int widen(int type, int other) {
+        if (type == other) {
+            return type;
+        }
+        if (isIntegral(type) && isIntegral(other)) {
+            return FlatGeobuf.COLUMN_TYPE_LONG;
+        }
+        if (isNumeric(type) && isNumeric(other)) {
+            return FlatGeobuf.COLUMN_TYPE_DOUBLE;
+        }
+        return FlatGeobuf.COLUMN_TYPE_JSON;
+    }
+
+    private static boolean isIntegral(int type) {
+        return type == FlatGeobuf.COLUMN_TYPE_INT || type == FlatGeobuf.COLUMN_TYPE_LONG;
+    }
+
+    private static boolean isNumeric(int type) {
+        return isIntegral(type) || type == FlatGeobuf.COLUMN_TYPE_FLOAT || type == FlatGeobuf.COLUMN_TYPE_DOUBLE;
+    }
+
+    /**
+     * Returns the type of all geometries, or unknown if they differ.
+     */
+    private static int geometryType(List<Feature> features) {
+        int type = FlatGeobuf.UNKNOWN;
+        for (Feature feature : features) {
+            if (feature.getGeometry() != null) {
+                int current = geometryType(feature.getGeometry());
+                if (type != FlatGeobuf.UNKNOWN && type != current) {
+                    return FlatGeobuf.UNKNOWN;
+                }
+                type = current;
+            }
+        }
+        return type;
+    }
+
+    private static int geometryType(Geometry geometry) {
+        return switch (geometry) {
+            case Point ignored -> FlatGeobuf.POINT;
+            case LineString ignored -> FlatGeobuf.LINE_STRING;
+            case Polygon ignored -> FlatGeobuf.POLYGON;
+            case MultiPoint ignored -> FlatGeobuf.MULTI_POINT;
+            case MultiLineString ignored -> FlatGeobuf.MULTI_LINE_STRING;
+            case MultiPolygon ignored -> FlatGeobuf.MULTI_POLYGON;
+            case GeometryCollection ignored -> FlatGeobuf.GEOMETRY_COLLECTION;
+        };
+    }
+
+    @Override
+    public String toString() {
+        return MessageFormat.format("FlatGeobufWriter'{'indexNodeSize={0,number,#}'}'", indexNodeSize);
+    }
+
+    /**
+     * Encodes the tables of a single file, reusing its buffers from one feature to the next.
+     */
+    private static final class Encoder {
+        private final FlatBufferBuilder builder = new FlatBufferBuilder();
+        private final Map<String, Integer> columns;
+        private final Map<String, Integer> columnIndices = new LinkedHashMap<>();
+        private final double[] box = new double[4];
+        private ByteBuffer properties = ByteBuffer.allocate(256).order(ByteOrder.LITTLE_ENDIAN);
+        private double[] xy = new double[256];
+        private double[] z = new double[128];
+        private int[] ends = new int[16];
+        private boolean hasZ;
+
+        private Encoder(Map<String, Integer> columns) {
+            this.columns = columns;
+            for (String name : columns.keySet()) {
+                columnIndices.put(name, columnIndices.size());
+            }
+        }
+
+        /**
+         * Returns the size prefixed Feature table of the given feature and sets the bounding box of its geometry.
+         */
+        private byte[] feature(Feature feature) throws IOException {
+            builder.reset();
+            Arrays.fill(box, 0, 2, Double.POSITIVE_INFINITY);
+            Arrays.fill(box, 2, 4, Double.NEGATIVE_INFINITY);
+            int propertiesLength = properties(MapUtils.emptyIfNull(feature.getProperties()));
+            int table = builder.startTable(FlatGeobuf.FEATURE_FIELDS);
+            int geometry = feature.getGeometry() != null ? builder.addOffset(FlatGeobuf.FEATURE_GEOMETRY) : 0;
+            int values = propertiesLength > 0 ? builder.addOffset(FlatGeobuf.FEATURE_PROPERTIES) : 0;
+            builder.endTable();
+            if (geometry != 0) {
+                builder.patch(geometry, geometry(feature.getGeometry()));
+            }
+            if (values != 0) {
+                builder.patch(values, builder.bytes(properties.array(), propertiesLength));
+            }
+            if (box[0] > box[2]) {
+                Arrays.fill(box, Double.NaN);
+            }
+            return Arrays.copyOf(builder.array(), builder.finish(table));
+        }
+
+        /**
+         * Writes the Header table to the builder.
+         *
+         * @return the size of the table including its size prefix.
+         */
+        private int header(double[] extent, int geometryType, long featuresCount, int indexNodeSize) {
+            builder.reset();
+            int table = builder.startTable(FlatGeobuf.HEADER_FIELDS);
+            int envelope = Double.isNaN(extent[0]) ? 0 : builder.addOffset(FlatGeobuf.HEADER_ENVELOPE);
+            builder.addByte(FlatGeobuf.HEADER_GEOMETRY_TYPE, geometryType);
+            if (hasZ) {
+                builder.addBoolean(FlatGeobuf.HEADER_HAS_Z, true);
+            }
+            int columnsVector = columns.isEmpty() ? 0 : builder.addOffset(FlatGeobuf.HEADER_COLUMNS);
+            builder.addLong(FlatGeobuf.HEADER_FEATURES_COUNT, featuresCount);
+            builder.addShort(FlatGeobuf.HEADER_INDEX_NODE_SIZE, indexNodeSize);
+            int crs = builder.addOffset(FlatGeobuf.HEADER_CRS);
+            builder.endTable();
+            if (envelope != 0) {
+                builder.patch(envelope, builder.doubles(extent, 4));
+            }
+            if (columnsVector != 0) {
+                int vector = builder.offsets(columns.size());
+                builder.patch(columnsVector, vector);
+                int index = 0;
+                for (Map.Entry<String, Integer> column : columns.entrySet()) {
+                    int columnTable = builder.startTable(FlatGeobuf.COLUMN_FIELDS);
+                    int name = builder.addOffset(FlatGeobuf.COLUMN_NAME);
+                    builder.addByte(FlatGeobuf.COLUMN_TYPE, column.getValue());
+                    builder.endTable();
+                    builder.patch(name, builder.string(column.getKey()));
+                    builder.patch(vector + Integer.BYTES * (1 + index++), columnTable);
+                }
+            }
+            int crsTable = builder.startTable(FlatGeobuf.CRS_FIELDS);
+            builder.addInt(FlatGeobuf.CRS_CODE, FlatGeobuf.CRS_WGS84);
+            builder.endTable();
+            builder.patch(crs, crsTable);
+            return builder.finish(table);
+        }
+
+        /**
+         * Writes the given properties as column index and value pairs to the properties buffer.
+         *
+         * @return the number of bytes written.
+         */
+        private int properties(Map<String, Serializable> values) throws IOException {
+            properties.clear();
+            for (Map.Entry<String, Serializable> property : values.entrySet()) {
+                Object value = property.getValue();
+                if (value == null) {
+                    continue;
+                }
+                int type = columns.get(property.getKey());
+                byte[] bytes = switch (type) {
+                    case FlatGeobuf.COLUMN_TYPE_STRING -> value.toString().getBytes(StandardCharsets.UTF_8);
+                    case FlatGeobuf.COLUMN_TYPE_JSON -> DEFAULT_OBJECT_MAPPER.writeValueAsBytes(value);
+                    default -> null;
+                };
+                ensureProperties(Short.BYTES + Long.BYTES + (bytes != null ? bytes.length : 0));
+                properties.putShort((short) (int) columnIndices.get(property.getKey()));
+                switch (type) {
+                    case FlatGeobuf.COLUMN_TYPE_BOOL -> properties.put((byte) (Boolean.TRUE.equals(value) ? 1 : 0));
+                    case FlatGeobuf.COLUMN_TYPE_INT -> properties.putInt(((Number) value).intValue());
+                    case FlatGeobuf.COLUMN_TYPE_LONG -> properties.putLong(((Number) value).longValue());
+                    case FlatGeobuf.COLUMN_TYPE_FLOAT -> properties.putFloat(((Number) value).floatValue());
+                    case FlatGeobuf.COLUMN_TYPE_DOUBLE -> properties.putDouble(((Number) value).doubleValue());
+                    default -> properties.putInt(Objects.requireNonNull(bytes).length).put(bytes);
+                }
+            }
+            return properties.position();
+        }
+
+        private void ensureProperties(int size) {
+            if (properties.remaining() < size) {
+                ByteBuffer larger = ByteBuffer.allocate(Math.max(properties.capacity() * 2, properties.position() + size)).order(ByteOrder.LITTLE_ENDIAN);
+                larger.put(properties.array(), 0, properties.position());
+                properties = larger;
+            }
+        }
+
+        /**
+         * Writes the Geometry table of the given geometry and its parts to the builder.
+         *
+         * @return the position of the table.
+         */
+        private int geometry(Geometry geometry) {
+            return switch (geometry) {
+                case Point point -> flat(FlatGeobuf.POINT, point.getCoordinates() != null ? List.of(List.of(point.getCoordinates())) : List.of());
+                case LineString lineString -> flat(FlatGeobuf.LINE_STRING, List.of(ListUtils.emptyIfNull(lineString.getCoordinates())));
+                case Polygon polygon -> flat(FlatGeobuf.POLYGON, rings(polygon.getCoordinates()));
+                case MultiPoint multiPoint -> flat(FlatGeobuf.MULTI_POINT, List.of(ListUtils.emptyIfNull(multiPoint.getCoordinates())));
+                case MultiLineString multiLineString -> flat(FlatGeobuf.MULTI_LINE_STRING, ListUtils.emptyIfNull(multiLineString.getCoordinates()));
+                case MultiPolygon multiPolygon -> parts(FlatGeobuf.MULTI_POLYGON, ListUtils.emptyIfNull(multiPolygon.getCoordinates()).stream()
+                        .<Geometry>map(coordinates -> new Polygon(POLYGON, coordinates)).toList());
+                case GeometryCollection collection -> parts(FlatGeobuf.GEOMETRY_COLLECTION, ListUtils.emptyIfNull(collection.getGeometries()).stream()
+                        .filter(Objects::nonNull).toList());
+            };
+        }
+
+        private static double[] coordinates(Position position) {
+            double[] coordinates = position != null ? position.getCoordinates() : null;
+            if (coordinates == null || coordinates.length < 2) {
+                throw new IllegalArgumentException("FlatGeobuf cannot write position " + position + ", a position needs at least 2 coordinates");
+            }
+            return coordinates;
+        }
+
+        private static List<List<Position>> rings(PolygonCoordinates coordinates) {
+            return coordinates != null && coordinates.getExterior() != null ? coordinates.getCoordinates() : List.of();
+        }
+
+        /**
+         * Writes a geometry whose positions are stored in flat arrays, with the end of every part but a single one.
+         */
+        private int flat(int type, List<List<Position>> parts) {
+            int count = 0;
+            int partCount = 0;
+            boolean altitude = false;
+            for (List<Position> part : parts) {
+                for (int i = 0; i < part.size(); i++) {
+                    if (count == z.length) {
+                        xy = Arrays.copyOf(xy, count * 4);
+                        z = Arrays.copyOf(z, count * 2);
+                    }
+                    double x;
+                    double y;
+                    if (part instanceof CoordinateSequence sequence) {
+                        x = sequence.getX(i);
+                        y = sequence.getY(i);
+                        z[count] = sequence.getDimension() > 2 ? sequence.getOrdinate(i, 2) : Double.NaN;
+                        altitude |= sequence.getDimension() > 2;
+                    } else {
+                        double[] coordinates = coordinates(part.get(i));
+                        x = coordinates[0];
+                        y = coordinates[1];
+                        z[count] = coordinates.length > 2 ? coordinates[2] : Double.NaN;
+                        altitude |= coordinates.length > 2;
+                    }
+                    xy[count * 2] = x;
+                    xy[count * 2 + 1] = y;
+                    expandBox(x, y);
+                    count++;
+                }
+                if (partCount == ends.length) {
+                    ends = Arrays.copyOf(ends, partCount * 2);
+                }
+                ends[partCount++] = count;
+            }
+            hasZ |= altitude;
+            int table = builder.startTable(FlatGeobuf.GEOMETRY_FIELDS);
+            int endsVector = partCount > 1 ? builder.addOffset(FlatGeobuf.GEOMETRY_ENDS) : 0;
+            int xyVector = count > 0 ? builder.addOffset(FlatGeobuf.GEOMETRY_XY) : 0;
+            int zVector = altitude ? builder.addOffset(FlatGeobuf.GEOMETRY_Z) : 0;
+            builder.addByte(FlatGeobuf.GEOMETRY_TYPE, type);
+            builder.endTable();
+            if (endsVector != 0) {
+                builder.patch(endsVector, builder.ints(ends, partCount));
+            }
+            if (xyVector != 0) {
+                builder.patch(xyVector, builder.doubles(xy, count * 2));
+            }
+            if (zVector != 0) {
+                builder.patch(zVector, builder.doubles(z, count));
+            }
+            return table;
+        }
+
+        private int parts(int type, List<Geometry> parts) {
+            int table = builder.startTable(FlatGeobuf.GEOMETRY_FIELDS);
+            int partsVector = parts.isEmpty() ? 0 : builder.addOffset(FlatGeobuf.GEOMETRY_PARTS);
+            builder.addByte(FlatGeobuf.GEOMETRY_TYPE, type);
+            builder.endTable();
+            if (partsVector != 0) {
+                int vector = builder.offsets(parts.size());
+                builder.patch(partsVector, vector);
+                for (int i = 0; i < parts.size(); i++) {
+                    builder.patch(vector + Integer.BYTES * (1 + i), geometry(parts.get(i)));
+                }
+            }
+            return table;
+        }
+
+        private void expandBox(double x, double y) {
+            if (x < box[0]) {
+                box[0] = x;
+            }
+            if (y < box[1]) {
+                box[1] = y;
+            }
+            if (x > box[2]) {
+                box[2] = x;
+            }
+            if (y > box[3]) {
+                box[3] = y;
+            }
+        }
+    }
+}
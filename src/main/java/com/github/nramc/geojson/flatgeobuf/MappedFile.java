@@ -0,0 +1,113 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.flatgeobuf;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Memory-mapped file, split into read-only little-endian segments of equal size but the last one, as a
+ * mapped buffer is limited to 2 GiB. Only absolute reads are used, so the segments can be shared by all threads.
+ * Mapped regions are released by the garbage collector.
+ */
+final class MappedFile {
+    private final ByteBuffer[] segments;
+    private final int segmentShift;
+    private final int segmentMask;
+    private final long size;
+
+    MappedFile(ByteBuffer[] segments, int segmentShift, long size) {
+        this.segments = segments;
+        this.segmentShift = segmentShift;
+        this.segmentMask = (1 << segmentShift) - 1;
+        this.size = size;
+    }
+
+    static MappedFile map(Path path, int segmentShift) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // a mapping stays valid after its channel has been closed
+            long size = channel.size();
+            long segmentSize = 1L << segmentShift;
+            ByteBuffer[] segments = new ByteBuffer[Math.toIntExact((size + segmentSize - 1) >>> segmentShift)];
+            for (int i = 0; i < segments.length; i++) {
+                long position = i * segmentSize;
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(segmentSize, size - position))
+                        .order(ByteOrder.LITTLE_ENDIAN);
+            }
+            return new MappedFile(segments, segmentShift, size);
+        }
+    }
+
+    long size() {
+        return size;
+    }
+
+    int getInt(long position) {
+        ByteBuffer segment = segment(position);
+        int index = index(position);
+        return index + Integer.BYTES <= segment.limit() ? segment.getInt(index) : slice(position, Integer.BYTES).getInt(0);
+    }
+
+    long getLong(long position) {
+        ByteBuffer segment = segment(position);
+        int index = index(position);
+        return index + Long.BYTES <= segment.limit() ? segment.getLong(index) : slice(position, Long.BYTES).getLong(0);
+    }
+
+    double getDouble(long position) {
+        return Double.longBitsToDouble(getLong(position));
+    }
+
+    /**
+     * Returns the given range as little-endian buffer, a view of the mapping if the range is within a single segment,
+     * a copy otherwise.
+     *
+     * @throws IndexOutOfBoundsException if the range exceeds the file.
+     */
+    ByteBuffer slice(long position, int length) {
+        if (position < 0 || length < 0 || position + length > size) {
+            throw new IndexOutOfBoundsException("Range [" + position + ", " + (position + length) + ") exceeds file size " + size);
+        }
+        ByteBuffer segment = segment(position);
+        int index = index(position);
+        if (index + length <= segment.limit()) {
+            return segment.slice(index, length).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        byte[] bytes = new byte[length];
+        int offset = 0;
+        while (offset < length) {
+            long current = position + offset;
+            ByteBuffer currentSegment = segment(current);
+            int currentIndex = index(current);
+            int count = Math.min(length - offset, currentSegment.limit() - currentIndex);
+            currentSegment.get(currentIndex, bytes, offset, count);
+            offset += count;
+        }
+        return ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private ByteBuffer segment(long position) {
+        return segments[(int) (position >>> segmentShift)];
+    }
+
+    private int index(long position) {
+        return (int) position & segmentMask;
+    }
+}
@@ -0,0 +1,268 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.flatgeobuf;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Static packed Hilbert R-tree of FlatGeobuf.
+ * <p>
+ * The tree is stored as a flat array of nodes of 40 bytes each, {@code minX, minY, maxX, maxY} and an offset,
+ * level by level from the root to the leaves. A leaf holds the bounding box of a feature and the byte offset of
+ * the feature relative to the first feature, an inner node the union of the boxes of its (at most {@code nodeSize})
+ * children and the index of its first child. Leaves are sorted by the Hilbert value of the center of their box,
+ * so neighbouring features share their parent nodes and are close to each other in the file.
+ * </p>
+ * <p>
+ * Boxes are passed as flat arrays of {@code minX, minY, maxX, maxY} per item. A box with NaN values, e.g. of a
+ * feature without geometry, never intersects a query.
+ * </p>
+ */
+final class PackedRTree {
+    static final int NODE_ITEM_SIZE = 4 * Double.BYTES + Long.BYTES;
+    private static final int HILBERT_MAX = (1 << 16) - 1;
+    private static final int WRITE_BUFFER_NODES = 1024;
+
+    private PackedRTree() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Returns the number of bytes of the tree, 0 if there is no tree.
+     */
+    static long size(long items, int nodeSize) {
+        if (items == 0 || nodeSize == 0) {
+            return 0;
+        }
+        long[][] levelBounds = levelBounds(items, nodeSize);
+        return levelBounds[0][1] * NODE_ITEM_SIZE;
+    }
+
+    /**
+     * Returns the node index range {@code [start, end)} of every level, from the leaves to the root.
+     * Same as the reference implementation, a single item still has a root above its leaf.
+     */
+    static long[][] levelBounds(long items, int nodeSize) {
+        if (items < 1 || nodeSize < 2) {
+            throw new IllegalArgumentException("Expected at least 1 item and node size 2 but was " + items + " and " + nodeSize);
+        }
+        long[] levelNodes = new long[64];
+        int levels = 0;
+        long n = items;
+        long nodes = n;
+        levelNodes[levels++] = n;
+        do {
+            n = (n + nodeSize - 1) / nodeSize;
+            nodes += n;
+            levelNodes[levels++] = n;
+        } while (n != 1);
+        long[][] bounds = new long[levels][];
+        long end = nodes;
+        for (int level = 0; level < levels; level++) {
+            bounds[level] = new long[]{end - levelNodes[level], end};
+            end -= levelNodes[level];
+        }
+        return bounds;
+    }
+
+    /**
+     * Returns the indices of the given boxes sorted by the Hilbert value of their center within the given extent.
+     */
+    static int[] hilbertOrder(double[] boxes, double[] extent) {
+        int items = boxes.length / 4;
+        double width = extent[2] - extent[0];
+        double height = extent[3] - extent[1];
+        long[] keys = new long[items];
+        for (int i = 0; i < items; i++) {
+            int x = hilbertCoordinate((boxes[i * 4] + boxes[i * 4 + 2]) / 2, extent[0], width);
+            int y = hilbertCoordinate((boxes[i * 4 + 1] + boxes[i * 4 + 3]) / 2, extent[1], height);
+            keys[i] = hilbert(x, y) << 31 | i;
+        }
+        Arrays.sort(keys);
+        int[] order = new int[items];
+        for (int i = 0; i < items; i++) {
+            order[i] = (int) (keys[i] & Integer.MAX_VALUE);
+        }
+        return order;
+    }
+
+    private static int hilbertCoordinate(double center, double min, double length) {
+        return length > 0 ? (int) Math.floor(HILBERT_MAX * (center - min) / length) : 0;
+    }
+
+    /**
+     * Returns the distance of the given cell along a Hilbert curve covering 2^16 x 2^16 cells, as an unsigned 32 bit value.
+     * Bitwise implementation without loops by rawrunprotected, as used by the reference implementation.
+     */
+    static long hilbert(int x, int y) {
+        int a = x ^ y;
+        int b = 0xFFFF ^ a;
+        int c = 0xFFFF ^ (x | y);
+        int d = x & (y ^ 0xFFFF);
+
+        int aa = a | (b >>> 1);
+        int bb = (a >>> 1) ^ a;
+        int cc = ((c >>> 1) ^ (b & (d >>> 1))) ^ c;
+        int dd = ((a & (c >>> 1)) ^ (d >>> 1)) ^ d;
+
+        a = aa;
+        b = bb;
+        c = cc;
+        d = dd;
+        aa = (a & (a >>> 2)) ^ (b & (b >>> 2));
+        bb = (a & (b >>> 2)) ^ (b & ((a ^ b) >>> 2));
+        cc ^= (a & (c >>> 2)) ^ (b & (d >>> 2));
+        dd ^= (b & (c >>> 2)) ^ ((a ^ b) & (d >>> 2));
+
+        a = aa;
+        b = bb;
+        c = cc;
+        d = dd;
+        aa = (a & (a >>> 4)) ^ (b & (b >>> 4));
+        bb = (a & (b >>> 4)) ^ (b & ((a ^ b) >>> 4));
+        cc ^= (a & (c >>> 4)) ^ (b & (d >>> 4));
+        dd ^= (b & (c >>> 4)) ^ ((a ^ b) & (d >>> 4));
+
+        a = aa;
+        b = bb;
+        c = cc;
+        d = dd;
+        cc ^= (a & (c >>> 8)) ^ (b & (d >>> 8));
+        dd ^= (b & (c >>> 8)) ^ ((a ^ b) & (d >>> 8));
+
+        a = cc ^ (cc >>> 1);
+        b = dd ^ (dd >>> 1);
+
+        int i0 = x ^ y;
+        int i1 = b | (0xFFFF ^ (i0 | a));
+        return (interleave(i1) << 1 | interleave(i0)) & 0xFFFFFFFFL;
+    }
+
+    private static long interleave(int value) {
+        long v = value & 0xFFFF;
+        v = (v | (v << 8)) & 0x00FF00FF;
+        v = (v | (v << 4)) & 0x0F0F0F0F;
+        v = (v | (v << 2)) & 0x33333333;
+        v = (v | (v << 1)) & 0x55555555;
+        return v;
+    }
+
+    /**
+     * Builds the tree above the given leaves and writes all nodes.
+     *
+     * @param boxes    The boxes of the leaves, in the order of the features in the file.
+     * @param offsets  The byte offset of every feature relative to the first feature.
+     * @param nodeSize The maximum number of children of a node.
+     * @param output   The stream to write the nodes to.
+     */
+    static void write(double[] boxes, long[] offsets, int nodeSize, OutputStream output) throws IOException {
+        long[][] levelBounds = levelBounds(offsets.length, nodeSize);
+        int nodes = Math.toIntExact(levelBounds[0][1]);
+        double[] nodeBoxes = new double[nodes * 4];
+        long[] nodeOffsets = new long[nodes];
+        int leafStart = nodes - offsets.length;
+        System.arraycopy(boxes, 0, nodeBoxes, leafStart * 4, offsets.length * 4);
+        System.arraycopy(offsets, 0, nodeOffsets, leafStart, offsets.length);
+        for (int level = 0; level < levelBounds.length - 1; level++) {
+            int parent = (int) levelBounds[level + 1][0];
+            int end = (int) levelBounds[level][1];
+            for (int child = (int) levelBounds[level][0]; child < end; child += nodeSize, parent++) {
+                Arrays.fill(nodeBoxes, parent * 4, parent * 4 + 4, Double.NaN);
+                for (int i = child, last = Math.min(child + nodeSize, end); i < last; i++) {
+                    expand(nodeBoxes, parent, nodeBoxes, i);
+                }
+                nodeOffsets[parent] = child;
+            }
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(WRITE_BUFFER_NODES * NODE_ITEM_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        for (int node = 0; node < nodes; node++) {
+            if (!buffer.hasRemaining()) {
+                output.write(buffer.array(), 0, buffer.position());
+                buffer.clear();
+            }
+            for (int i = 0; i < 4; i++) {
+                buffer.putDouble(nodeBoxes[node * 4 + i]);
+            }
+            buffer.putLong(nodeOffsets[node]);
+        }
+        output.write(buffer.array(), 0, buffer.position());
+    }
+
+    /**
+     * Extends the box at the given index of the target by the box at the given index of the source, ignoring NaN values.
+     */
+    static void expand(double[] target, int targetIndex, double[] source, int sourceIndex) {
+        for (int i = 0; i < 4; i++) {
+            double current = target[targetIndex * 4 + i];
+            double value = source[sourceIndex * 4 + i];
+            if (Double.isNaN(current) || (i < 2 ? value < current : value > current)) {
+                target[targetIndex * 4 + i] = value;
+            }
+        }
+    }
+
+    /**
+     * Returns the offsets of the features whose box intersects the given box, in ascending order.
+     *
+     * @param file     The mapped file.
+     * @param position The position of the tree in the file.
+     * @param items    The number of features.
+     * @param nodeSize The maximum number of children of a node.
+     */
+    static long[] search(MappedFile file, long position, long items, int nodeSize,
+                         double minX, double minY, double maxX, double maxY) {
+        long[][] levelBounds = levelBounds(items, nodeSize);
+        long leafStart = levelBounds[0][0];
+        long[] results = new long[16];
+        int resultCount = 0;
+        long[] stack = new long[32];
+        int stackSize = 0;
+        stack[stackSize++] = 0;
+        stack[stackSize++] = levelBounds.length - 1L;
+        while (stackSize > 0) {
+            int level = (int) stack[--stackSize];
+            long node = stack[--stackSize];
+            boolean leaf = node >= leafStart;
+            long end = Math.min(node + nodeSize, levelBounds[level][1]);
+            for (; node < end; node++) {
+                long item = position + node * NODE_ITEM_SIZE;
+                if (file.getDouble(item) <= maxX && file.getDouble(item + 8) <= maxY
+                        && file.getDouble(item + 16) >= minX && file.getDouble(item + 24) >= minY) {
+                    long offset = file.getLong(item + 32);
+                    if (leaf) {
+                        if (resultCount == results.length) {
+                            results = Arrays.copyOf(results, resultCount * 2);
+                        }
+                        results[resultCount++] = offset;
+                    } else {
+                        if (stackSize == stack.length) {
+                            stack = Arrays.copyOf(stack, stackSize * 2);
+                        }
+                        stack[stackSize++] = offset;
+                        stack[stackSize++] = level - 1L;
+                    }
+                }
+            }
+        }
+        long[] offsets = Arrays.copyOf(results, resultCount);
+        Arrays.sort(offsets);
+        return offsets;
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.io;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Runs independent chunk tasks on a {@link ForkJoinPool} and provides their results either in submission order
+ * or in completion order. At most {@code maxInFlight} tasks are submitted at any time, so the memory held by
+ * pending results stays bounded however many chunks there are. Tasks are wrapped in {@link FutureTask}, so that
+ * checked exceptions of a task are rethrown as they are and not wrapped by the pool.
+ *
+ * @param <R> The result type of a chunk.
+ */
+final class ChunkTasks<R> implements Iterator<R> {
+    private final Iterator<? extends Callable<R>> tasks;
+    private final ForkJoinPool pool;
+    private final int maxInFlight;
+    private final Deque<Future<R>> inFlight = new ArrayDeque<>();
+    private final CompletionService<R> completionService;
+    private boolean cancelled;
+
+    /**
+     * Constructs a runner for the given tasks, tasks are submitted lazily while results are consumed.
+     *
+     * @param tasks       The tasks, each producing the result of one chunk.
+     * @param pool        The pool the tasks are executed on.
+     * @param maxInFlight The maximum number of submitted tasks whose results have not been consumed yet.
+     * @param ordered     true to provide results in the order of the tasks, false in the order of completion.
+     */
+    ChunkTasks(Iterator<? extends Callable<R>> tasks, ForkJoinPool pool, int maxInFlight, boolean ordered) {
+        this.tasks = tasks;
+        this.pool = pool;
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.completionService = ordered ? null : new ExecutorCompletionService<>(pool);
+    }
+
+    /**
+     * Returns the default number of tasks in flight for the given pool, enough to keep every worker busy.
+     *
+     * @param pool The pool the tasks are executed on.
+     * @return twice the parallelism of the pool.
+     */
+    static int defaultMaxInFlight(ForkJoinPool pool) {
+        return pool.getParallelism() * 2;
+    }
+
+    @Override
+    public boolean hasNext() {
+        submit();
+        return !inFlight.isEmpty();
+    }
+
+    /**
+     * Returns the result of the next chunk, waiting for its task to complete.
+     *
+     * @return The result of the next chunk.
+     * @throws UncheckedIOException if the task failed with an {@link IOException} or the current thread was interrupted.
+     */
+    @Override
+    public R next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No more chunks available");
+        }
+        try {
+            Future<R> future = completionService == null ? inFlight.removeFirst() : completionService.take();
+            inFlight.remove(future);
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancel();
+            throw new UncheckedIOException(new InterruptedIOException("Interrupted while waiting for chunk"));
+        } catch (ExecutionException e) {
+            cancel();
+            throw rethrow(e.getCause());
+        }
+    }
+
+    /**
+     * Cancels all tasks which have been submitted but not consumed yet, no further tasks are submitted.
+     */
+    void cancel() {
+        cancelled = true;
+        inFlight.forEach(future -> future.cancel(false));
+        inFlight.clear();
+    }
+
+    private void submit() {
+        while (!cancelled && inFlight.size() < maxInFlight && tasks.hasNext()) {
+            Callable<R> task = tasks.next();
+            if (completionService == null) {
+                FutureTask<R> future = new FutureTask<>(task);
+                pool.execute(future);
+                inFlight.addLast(future);
+            } else {
+                inFlight.addLast(completionService.submit(task));
+            }
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable cause) {
+        if (cause instanceof IOException e) {
+            return new UncheckedIOException(e);
+        }
+        if (cause instanceof RuntimeException e) {
+            return e;
+        }
+        if (cause instanceof Error e) {
+            throw e;
+        }
+        return new IllegalStateException(cause);
+    }
+}
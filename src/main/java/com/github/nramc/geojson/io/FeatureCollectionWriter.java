@@ -0,0 +1,194 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.io;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.nramc.geojson.domain.Feature;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import static com.github.nramc.geojson.constant.GeoJsonType.FEATURE_COLLECTION;
+
+/**
+ * Writes a GeoJSON FeatureCollection one {@link Feature} at a time.
+ * <p>
+ * Unlike serializing a whole {@link com.github.nramc.geojson.domain.FeatureCollection}, the writer never
+ * materializes the {@code features} list. It writes the {@code {"type":"FeatureCollection","features":[}}
+ * envelope with a Jackson {@link JsonGenerator} when created, each feature as soon as it is passed and the end of
+ * the envelope when closed. The output is flushed every {@code flushInterval} features, so the memory required
+ * does not depend on the number of features written.
+ * </p>
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * try (FeatureCollectionWriter writer = FeatureCollectionWriter.of(response.getOutputStream());
+ *      Stream<Feature> features = repository.streamAll()) {
+ *     writer.writeAll(features);
+ * }
+ * }</pre></p>
+ *
+ * <p>The writer is not thread-safe. It must be closed to complete the FeatureCollection.</p>
+ *
+ * @see GeoJsonFeatureReader
+ */
+public class FeatureCollectionWriter implements Closeable, Flushable {
+    /**
+     * Default number of features written between two flushes of the underlying output stream.
+     */
+    public static final int DEFAULT_FLUSH_INTERVAL = 1000;
+    private static final ObjectMapper DEFAULT_OBJECT_MAPPER = new ObjectMapper();
+
+    private final ObjectWriter objectWriter;
+    private final JsonGenerator generator;
+    private final int flushInterval;
+    private int unflushed;
+
+    /**
+     * Constructs a writer for the given output stream and writes the start of the FeatureCollection.
+     * The output stream is closed when the writer is closed.
+     *
+     * @param objectWriter  The {@link ObjectWriter} used to create the generator and serialize features.
+     * @param outputStream  The output stream to write the FeatureCollection to.
+     * @param flushInterval The number of features written between two flushes, zero or less to flush on close only.
+     * @throws IOException if the start of the FeatureCollection could not be written.
+     */
+    public FeatureCollectionWriter(ObjectWriter objectWriter, OutputStream outputStream, int flushInterval) throws IOException {
+        this.objectWriter = objectWriter.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.generator = this.objectWriter.createGenerator(outputStream, JsonEncoding.UTF8);
+        this.flushInterval = flushInterval;
+        generator.writeStartObject();
+        generator.writeStringField("type", FEATURE_COLLECTION);
+        generator.writeArrayFieldStart("features");
+    }
+
+    /**
+     * Constructs a writer for the given output stream, flushed every {@link #DEFAULT_FLUSH_INTERVAL} features.
+     * The output stream is closed when the writer is closed.
+     *
+     * @param objectMapper The {@link ObjectMapper} used to create the generator and serialize features.
+     * @param outputStream The output stream to write the FeatureCollection to.
+     * @throws IOException if the start of the FeatureCollection could not be written.
+     */
+    public FeatureCollectionWriter(ObjectMapper objectMapper, OutputStream outputStream) throws IOException {
+        this(objectMapper.writer(), outputStream, DEFAULT_FLUSH_INTERVAL);
+    }
+
+    /**
+     * Creates a writer with a default {@link ObjectMapper} for the given output stream.
+     *
+     * @param outputStream The output stream to write the FeatureCollection to.
+     * @return A new {@link FeatureCollectionWriter}.
+     * @throws IOException if the start of the FeatureCollection could not be written.
+     */
+    public static FeatureCollectionWriter of(OutputStream outputStream) throws IOException {
+        return new FeatureCollectionWriter(DEFAULT_OBJECT_MAPPER, outputStream);
+    }
+
+    /**
+     * Creates a writer with a default {@link ObjectMapper} for the given file, an existing file is replaced.
+     *
+     * @param path The path of the file to write the FeatureCollection to.
+     * @return A new {@link FeatureCollectionWriter}.
+     * @throws IOException if the file could not be opened.
+     */
+    public static FeatureCollectionWriter of(Path path) throws IOException {
+        return of(Files.newOutputStream(path));
+    }
+
+    /**
+     * Writes the given feature as the next element of the {@code features} array.
+     *
+     * @param feature The feature to write.
+     * @throws IOException if the feature could not be serialized or written.
+     */
+    public void write(Feature feature) throws IOException {
+        objectWriter.writeValue(generator, feature);
+        if (flushInterval > 0 && ++unflushed >= flushInterval) {
+            flush();
+        }
+    }
+
+    /**
+     * Writes all remaining features of the given iterator, features are requested one at a time.
+     *
+     * @param features The features to write.
+     * @throws IOException if a feature could not be serialized or written.
+     */
+    public void writeAll(Iterator<? extends Feature> features) throws IOException {
+        while (features.hasNext()) {
+            write(features.next());
+        }
+    }
+
+    /**
+     * Writes all features of the given stream in encounter order. The stream is not closed.
+     *
+     * @param features The features to write.
+     * @throws IOException if a feature could not be serialized or written.
+     */
+    public void writeAll(Stream<? extends Feature> features) throws IOException {
+        try {
+            features.forEachOrdered(this::writeUnchecked);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Flushes the features written so far to the underlying output stream.
+     *
+     * @throws IOException if the output stream could not be flushed.
+     */
+    @Override
+    public void flush() throws IOException {
+        unflushed = 0;
+        generator.flush();
+    }
+
+    /**
+     * Writes the end of the FeatureCollection and closes the underlying output stream.
+     *
+     * @throws IOException if the end could not be written or the output stream could not be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        if (!generator.isClosed()) {
+            generator.writeEndArray();
+            generator.writeEndObject();
+            generator.close();
+        }
+    }
+
+    private void writeUnchecked(Feature feature) {
+        try {
+            write(feature);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
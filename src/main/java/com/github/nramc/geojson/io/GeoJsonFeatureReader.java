@@ -0,0 +1,263 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.io;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.github.nramc.geojson.domain.Feature;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static com.github.nramc.geojson.constant.GeoJsonType.FEATURE_COLLECTION;
+
+/**
+ * Reads the {@link Feature} objects of a GeoJSON FeatureCollection one at a time.
+ * <p>
+ * Unlike deserializing a whole {@link com.github.nramc.geojson.domain.FeatureCollection}, the reader never
+ * materializes the {@code features} array. It walks the document with a Jackson {@link JsonParser} and
+ * deserializes one feature per {@link #next()} call, so the memory required depends on the largest single
+ * feature rather than on the size of the document.
+ * </p>
+ * <p>
+ * Members of the FeatureCollection other than {@code type} and {@code features} (for example {@code bbox}
+ * or foreign members) are skipped. Features are not validated eagerly, same as regular deserialization, but a
+ * {@code features} member which is not an array and elements of it which are not objects, including null, are
+ * rejected.
+ * </p>
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * try (GeoJsonFeatureReader reader = GeoJsonFeatureReader.of(Path.of("countries.geojson"));
+ *      Stream<Feature> features = reader.stream()) {
+ *     features.filter(Feature::isValid).forEach(repository::save);
+ * }
+ * }</pre></p>
+ *
+ * <p>The reader is not thread-safe and should be closed once it is no longer required.</p>
+ *
+ * @see Feature
+ * @see com.github.nramc.geojson.domain.FeatureCollection
+ */
+public class GeoJsonFeatureReader implements Iterator<Feature>, Closeable {
+    private static final ObjectMapper DEFAULT_OBJECT_MAPPER = new ObjectMapper();
+
+    private final JsonParser parser;
+    private final ObjectReader featureReader;
+    private boolean insideFeatures;
+    private boolean finished;
+    private Feature next;
+
+    /**
+     * Constructs a reader for the FeatureCollection available from the given input stream.
+     * The input stream is closed when the reader is closed.
+     *
+     * @param objectMapper The {@link ObjectMapper} used to create the parser and deserialize features.
+     * @param inputStream  The input stream containing a GeoJSON FeatureCollection.
+     * @throws IOException if the parser could not be created.
+     */
+    public GeoJsonFeatureReader(ObjectMapper objectMapper, InputStream inputStream) throws IOException {
+        this(objectMapper.readerFor(Feature.class), inputStream);
+    }
+
+    /**
+     * Constructs a reader for the FeatureCollection available from the given input stream, using the given
+     * {@link ObjectReader} to deserialize the features. This allows reader specific configuration
+     * (for example attributes or features) to be applied for every feature.
+     * The input stream is closed when the reader is closed.
+     *
+     * @param featureReader The {@link ObjectReader} used to create the parser and deserialize features.
+     * @param inputStream   The input stream containing a GeoJSON FeatureCollection.
+     * @throws IOException if the parser could not be created.
+     */
+    public GeoJsonFeatureReader(ObjectReader featureReader, InputStream inputStream) throws IOException {
+        this.featureReader = featureReader.forType(Feature.class);
+        this.parser = featureReader.createParser(inputStream);
+    }
+
+    /**
+     * Creates a reader with a default {@link ObjectMapper} for the given input stream.
+     *
+     * @param inputStream The input stream containing a GeoJSON FeatureCollection.
+     * @return A new {@link GeoJsonFeatureReader}.
+     * @throws IOException if the parser could not be created.
+     */
+    public static GeoJsonFeatureReader of(InputStream inputStream) throws IOException {
+        return new GeoJsonFeatureReader(DEFAULT_OBJECT_MAPPER, inputStream);
+    }
+
+    /**
+     * Creates a reader with a default {@link ObjectMapper} for the given file.
+     *
+     * @param path The path of a file containing a GeoJSON FeatureCollection.
+     * @return A new {@link GeoJsonFeatureReader}.
+     * @throws IOException if the file could not be opened or the parser could not be created, the file is closed then.
+     */
+    public static GeoJsonFeatureReader of(Path path) throws IOException {
+        InputStream inputStream = Files.newInputStream(path);
+        try {
+            return new GeoJsonFeatureReader(DEFAULT_OBJECT_MAPPER, inputStream);
+        } catch (IOException | RuntimeException e) {
+            try {
+                inputStream.close();
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Checks whether there is at least one more feature available.
+     *
+     * @return {@code true} if {@link #next()} would return a feature, otherwise {@code false}.
+     * @throws UncheckedIOException if the content could not be read or is not a valid FeatureCollection.
+     */
+    @Override
+    public boolean hasNext() {
+        if (next == null && !finished) {
+            try {
+                next = readNextFeature();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return next != null;
+    }
+
+    /**
+     * Returns the next feature of the collection.
+     *
+     * @return The next {@link Feature}.
+     * @throws NoSuchElementException if there are no more features.
+     * @throws UncheckedIOException   if the content could not be read or is not a valid FeatureCollection.
+     */
+    @Override
+    public Feature next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No more features available");
+        }
+        Feature feature = next;
+        next = null;
+        return feature;
+    }
+
+    /**
+     * Returns a sequential, ordered stream of the remaining features.
+     * Closing the stream closes the reader.
+     *
+     * @return A lazily populated {@link Stream} of {@link Feature}.
+     */
+    public Stream<Feature> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(this::closeUnchecked);
+    }
+
+    /**
+     * Closes the underlying parser and its input source.
+     *
+     * @throws IOException if the parser could not be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        finished = true;
+        parser.close();
+    }
+
+    private void closeUnchecked() {
+        try {
+            close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Feature readNextFeature() throws IOException {
+        if (!insideFeatures && !moveToFeatures()) {
+            return finish();
+        }
+        JsonToken token = parser.nextToken();
+        if (token == JsonToken.END_ARRAY) {
+            insideFeatures = false;
+            readRemainingMembers();
+            return finish();
+        }
+        if (token != JsonToken.START_OBJECT) {
+            throw MismatchedInputException.from(parser, Feature.class, "Expected Feature object but found " + token);
+        }
+        return featureReader.readValue(parser);
+    }
+
+    private Feature finish() {
+        finished = true;
+        return null;
+    }
+
+    private boolean moveToFeatures() throws IOException {
+        if (parser.currentToken() == null) {
+            JsonToken token = parser.nextToken();
+            if (token == null) {
+                return false;
+            }
+            if (token != JsonToken.START_OBJECT) {
+                throw MismatchedInputException.from(parser, Feature.class, "Expected FeatureCollection object but found " + token);
+            }
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.currentName();
+            JsonToken valueToken = parser.nextToken();
+            if ("features".equals(fieldName)) {
+                if (valueToken != JsonToken.START_ARRAY) {
+                    throw MismatchedInputException.from(parser, Feature.class, "Expected features array but found " + valueToken);
+                }
+                insideFeatures = true;
+                return true;
+            }
+            readMember(fieldName);
+        }
+        return false;
+    }
+
+    private void readRemainingMembers() throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.currentName();
+            parser.nextToken();
+            readMember(fieldName);
+        }
+    }
+
+    private void readMember(String fieldName) throws IOException {
+        if ("type".equals(fieldName) && !StringUtils.equals(parser.getValueAsString(), FEATURE_COLLECTION)) {
+            throw MismatchedInputException.from(parser, Feature.class,
+                    "type '%s' is not valid. expected '%s'".formatted(parser.getValueAsString(), FEATURE_COLLECTION));
+        }
+        parser.skipChildren();
+    }
+}
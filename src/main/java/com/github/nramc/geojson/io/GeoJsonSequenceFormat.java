@@ -0,0 +1,70 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.io;
+
+/**
+ * Formats of a sequence of GeoJSON texts, one GeoJSON object per record.
+ *
+ * @see GeoJsonSequenceReader
+ * @see GeoJsonSequenceWriter
+ */
+public enum GeoJsonSequenceFormat {
+    /**
+     * GeoJSON Text Sequences as defined by RFC 8142, media type {@code application/geo+json-seq}.
+     * Every GeoJSON text is preceded by a record separator (0x1E) and followed by a line feed.
+     * A text may span multiple lines.
+     */
+    RFC_8142((byte) 0x1E),
+    /**
+     * Newline delimited GeoJSON, also known as GeoJSONSeq or GeoJSONL.
+     * Every GeoJSON text is written on a single line, blank lines are ignored.
+     */
+    NDJSON((byte) '\n');
+
+    private final byte delimiter;
+
+    GeoJsonSequenceFormat(byte delimiter) {
+        this.delimiter = delimiter;
+    }
+
+    /**
+     * Returns the byte separating two records.
+     *
+     * @return The record separator for RFC 8142 and the line feed for NDJSON.
+     */
+    public byte getDelimiter() {
+        return delimiter;
+    }
+
+    int indexOfDelimiter(byte[] bytes, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (bytes[i] == delimiter) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    static boolean isBlank(byte[] bytes, int from, int to) {
+        for (int i = from; i < to; i++) {
+            byte b = bytes[i];
+            if (b != ' ' && b != '\n' && b != '\r' && b != '\t') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
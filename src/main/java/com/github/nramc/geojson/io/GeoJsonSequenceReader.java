@@ -0,0 +1,222 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.io;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.github.nramc.geojson.domain.GeoJson;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads a sequence of GeoJSON objects, for example {@link com.github.nramc.geojson.domain.Feature} or
+ * {@link com.github.nramc.geojson.domain.Geometry}, from GeoJSON Text Sequences (RFC 8142) or newline
+ * delimited GeoJSON.
+ * <p>
+ * Records are split on the delimiter of the {@link GeoJsonSequenceFormat} and deserialized one per
+ * {@link #next()} call, so the memory required depends on the largest single record only.
+ * Blank records are skipped. Objects are not validated eagerly, same as regular deserialization.
+ * </p>
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * try (GeoJsonSequenceReader<Feature> reader = GeoJsonSequenceReader.of(Path.of("places.geojsonl"), GeoJsonSequenceFormat.NDJSON, Feature.class);
+ *      Stream<Feature> features = reader.stream()) {
+ *     features.filter(Feature::isValid).forEach(repository::save);
+ * }
+ * }</pre></p>
+ *
+ * <p>The reader is not thread-safe and should be closed once it is no longer required.
+ * See {@link ParallelGeoJsonSequenceReader} to parse a file on multiple threads.</p>
+ *
+ * @param <T> The type of the GeoJSON objects in the sequence.
+ * @see GeoJsonSequenceWriter
+ */
+public class GeoJsonSequenceReader<T extends GeoJson> implements Iterator<T>, Closeable {
+    private static final ObjectMapper DEFAULT_OBJECT_MAPPER = new ObjectMapper();
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final InputStream inputStream;
+    private final ObjectReader objectReader;
+    private final GeoJsonSequenceFormat format;
+    private byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private int scanned;
+    private int limit;
+    private boolean endOfInput;
+    private T next;
+
+    /**
+     * Constructs a reader for the sequence available from the given input stream, using the given
+     * {@link ObjectReader} to deserialize the records. The input stream is closed when the reader is closed.
+     *
+     * @param objectReader The {@link ObjectReader} used to deserialize records, reader specific configuration is kept.
+     * @param inputStream  The input stream containing the sequence.
+     * @param format       The format of the sequence.
+     * @param type         The type of the GeoJSON objects in the sequence.
+     */
+    public GeoJsonSequenceReader(ObjectReader objectReader, InputStream inputStream, GeoJsonSequenceFormat format, Class<T> type) {
+        this.objectReader = objectReader.forType(type);
+        this.inputStream = inputStream;
+        this.format = format;
+    }
+
+    /**
+     * Creates a reader with a default {@link ObjectMapper} for the given input stream.
+     *
+     * @param inputStream The input stream containing the sequence.
+     * @param format      The format of the sequence.
+     * @param type        The type of the GeoJSON objects in the sequence.
+     * @param <T>         The type of the GeoJSON objects in the sequence.
+     * @return A new {@link GeoJsonSequenceReader}.
+     */
+    public static <T extends GeoJson> GeoJsonSequenceReader<T> of(InputStream inputStream, GeoJsonSequenceFormat format, Class<T> type) {
+        return new GeoJsonSequenceReader<>(DEFAULT_OBJECT_MAPPER.reader(), inputStream, format, type);
+    }
+
+    /**
+     * Creates a reader with a default {@link ObjectMapper} for the given file.
+     *
+     * @param path   The path of a file containing the sequence.
+     * @param format The format of the sequence.
+     * @param type   The type of the GeoJSON objects in the sequence.
+     * @param <T>    The type of the GeoJSON objects in the sequence.
+     * @return A new {@link GeoJsonSequenceReader}.
+     * @throws IOException if the file could not be opened.
+     */
+    public static <T extends GeoJson> GeoJsonSequenceReader<T> of(Path path, GeoJsonSequenceFormat format, Class<T> type) throws IOException {
+        return of(Files.newInputStream(path), format, type);
+    }
+
+    /**
+     * Checks whether there is at least one more record available.
+     *
+     * @return {@code true} if {@link #next()} would return an object, otherwise {@code false}.
+     * @throws UncheckedIOException if the content could not be read or a record is not a valid GeoJSON object.
+     */
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            try {
+                next = readNext();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return next != null;
+    }
+
+    /**
+     * Returns the next object of the sequence.
+     *
+     * @return The next GeoJSON object.
+     * @throws NoSuchElementException if there are no more records.
+     * @throws UncheckedIOException   if the content could not be read or a record is not a valid GeoJSON object.
+     */
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No more records available");
+        }
+        T value = next;
+        next = null;
+        return value;
+    }
+
+    /**
+     * Returns a sequential, ordered stream of the remaining objects.
+     * Closing the stream closes the reader.
+     *
+     * @return A lazily populated {@link Stream} of GeoJSON objects.
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(this::closeUnchecked);
+    }
+
+    /**
+     * Closes the underlying input stream.
+     *
+     * @throws IOException if the input stream could not be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        endOfInput = true;
+        position = limit;
+        scanned = limit;
+        inputStream.close();
+    }
+
+    private void closeUnchecked() {
+        try {
+            close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private T readNext() throws IOException {
+        while (true) {
+            int end = format.indexOfDelimiter(buffer, scanned, limit);
+            if (end < 0) {
+                if (!endOfInput) {
+                    fill();
+                    continue;
+                }
+                if (position == limit) {
+                    return null;
+                }
+                end = limit;
+            }
+            int start = position;
+            position = Math.min(end + 1, limit);
+            scanned = position;
+            if (!GeoJsonSequenceFormat.isBlank(buffer, start, end)) {
+                return objectReader.readValue(buffer, start, end - start);
+            }
+        }
+    }
+
+    private void fill() throws IOException {
+        if (position > 0) {
+            System.arraycopy(buffer, position, buffer, 0, limit - position);
+            limit -= position;
+            position = 0;
+        }
+        scanned = limit;
+        if (limit == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        int read = inputStream.read(buffer, limit, buffer.length - limit);
+        if (read < 0) {
+            endOfInput = true;
+        } else {
+            limit += read;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.io;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.nramc.geojson.domain.GeoJson;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Writes GeoJSON objects, for example {@link com.github.nramc.geojson.domain.Feature} or
+ * {@link com.github.nramc.geojson.domain.Geometry}, as GeoJSON Text Sequences (RFC 8142) or newline
+ * delimited GeoJSON.
+ * <p>
+ * Every object is written as a single line, indentation configured on the mapper is ignored. With
+ * {@link GeoJsonSequenceFormat#RFC_8142} every line is preceded by a record separator. The output is buffered,
+ * use {@link #flush()} to pass the records written so far to the underlying output stream.
+ * </p>
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * try (GeoJsonSequenceWriter writer = GeoJsonSequenceWriter.of(Path.of("places.geojsonl"), GeoJsonSequenceFormat.NDJSON)) {
+ *     writer.writeAll(repository.findAll());
+ * }
+ * }</pre></p>
+ *
+ * <p>The writer is not thread-safe and should be closed once all objects have been written.</p>
+ *
+ * @see GeoJsonSequenceReader
+ */
+public class GeoJsonSequenceWriter implements Closeable, Flushable {
+    private static final ObjectMapper DEFAULT_OBJECT_MAPPER = new ObjectMapper();
+
+    private final ObjectWriter objectWriter;
+    private final JsonGenerator generator;
+    private final GeoJsonSequenceFormat format;
+
+    /**
+     * Constructs a writer for the given output stream, using the given {@link ObjectWriter} to serialize objects.
+     * The output stream is closed when the writer is closed.
+     *
+     * @param objectWriter The {@link ObjectWriter} used to serialize objects, writer specific configuration is kept.
+     * @param outputStream The output stream to write the sequence to.
+     * @param format       The format of the sequence.
+     * @throws IOException if the generator could not be created.
+     */
+    public GeoJsonSequenceWriter(ObjectWriter objectWriter, OutputStream outputStream, GeoJsonSequenceFormat format) throws IOException {
+        this.objectWriter = objectWriter.without(SerializationFeature.INDENT_OUTPUT)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("");
+        this.generator = this.objectWriter.createGenerator(outputStream, JsonEncoding.UTF8);
+        this.format = format;
+    }
+
+    /**
+     * Creates a writer with a default {@link ObjectMapper} for the given output stream.
+     *
+     * @param outputStream The output stream to write the sequence to.
+     * @param format       The format of the sequence.
+     * @return A new {@link GeoJsonSequenceWriter}.
+     * @throws IOException if the generator could not be created.
+     */
+    public static GeoJsonSequenceWriter of(OutputStream outputStream, GeoJsonSequenceFormat format) throws IOException {
+        return new GeoJsonSequenceWriter(DEFAULT_OBJECT_MAPPER.writer(), outputStream, format);
+    }
+
+    /**
+     * Creates a writer with a default {@link ObjectMapper} for the given file, an existing file is replaced.
+     *
+     * @param path   The path of the file to write the sequence to.
+     * @param format The format of the sequence.
+     * @return A new {@link GeoJsonSequenceWriter}.
+     * @throws IOException if the file could not be opened.
+     */
+    public static GeoJsonSequenceWriter of(Path path, GeoJsonSequenceFormat format) throws IOException {
+        return of(Files.newOutputStream(path), format);
+    }
+
+    /**
+     * Writes the given object as the next record of the sequence.
+     *
+     * @param geoJson The GeoJSON object to write.
+     * @throws IOException if the object could not be serialized or written.
+     */
+    public void write(GeoJson geoJson) throws IOException {
+        if (format == GeoJsonSequenceFormat.RFC_8142) {
+            generator.writeRaw((char) format.getDelimiter());
+        }
+        objectWriter.writeValue(generator, geoJson);
+        generator.writeRaw('\n');
+    }
+
+    /**
+     * Writes all given objects as records of the sequence, in iteration order.
+     *
+     * @param geoJsons The GeoJSON objects to write.
+     * @throws IOException if an object could not be serialized or written.
+     */
+    public void writeAll(Iterable<? extends GeoJson> geoJsons) throws IOException {
+        for (GeoJson geoJson : geoJsons) {
+            write(geoJson);
+        }
+    }
+
+    /**
+     * Flushes the buffered records to the underlying output stream.
+     *
+     * @throws IOException if the output stream could not be flushed.
+     */
+    @Override
+    public void flush() throws IOException {
+        generator.flush();
+    }
+
+    /**
+     * Flushes the buffered records and closes the underlying output stream.
+     *
+     * @throws IOException if the output stream could not be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+}
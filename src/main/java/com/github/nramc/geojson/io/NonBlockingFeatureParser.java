@@ -0,0 +1,265 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.io;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.github.nramc.geojson.domain.Feature;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.function.Consumer;
+
+import static com.github.nramc.geojson.constant.GeoJsonType.FEATURE_COLLECTION;
+
+/**
+ * Push style parser for the {@link Feature} objects of a GeoJSON FeatureCollection which arrives in chunks,
+ * for example from a non-blocking socket.
+ * <p>
+ * The content is fed as {@link ByteBuffer} chunks of any size, split anywhere, and parsed with Jackson's
+ * non-blocking parser as far as possible without waiting for more input. Every feature is passed to the
+ * consumer as soon as its closing brace has been parsed, the tokens of the incomplete feature are the only
+ * state kept between two chunks. Therefore, {@link #feed(ByteBuffer)} never blocks and the memory required
+ * depends on the largest single feature rather than on the size of the document.
+ * </p>
+ * <p>
+ * Members of the FeatureCollection other than {@code type} and {@code features} are skipped, same as
+ * {@link GeoJsonFeatureReader}. Features are not validated eagerly, same as regular deserialization.
+ * </p>
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * NonBlockingFeatureParser parser = NonBlockingFeatureParser.of(repository::save);
+ * // on every read event of the channel
+ * parser.feed(buffer);
+ * // once the channel reached end of stream
+ * parser.endOfInput();
+ * }</pre></p>
+ *
+ * <p>The parser is not thread-safe, chunks of one document must be fed by one thread at a time and in order.</p>
+ *
+ * @see GeoJsonFeatureReader
+ */
+public class NonBlockingFeatureParser implements Closeable {
+    private static final ObjectMapper DEFAULT_OBJECT_MAPPER = new ObjectMapper();
+
+    private enum State {
+        ROOT, MEMBERS, MEMBER_VALUE, SKIPPED_MEMBER, FEATURES, FEATURE, END
+    }
+
+    private final JsonParser parser;
+    private final ByteBufferFeeder feeder;
+    private final ObjectReader featureReader;
+    private final Consumer<? super Feature> consumer;
+    private State state = State.ROOT;
+    private String memberName;
+    private int depth;
+    private TokenBuffer feature;
+    private boolean endOfInput;
+
+    /**
+     * Constructs a parser which passes the features to the given consumer, using the given
+     * {@link ObjectReader} to deserialize them. This allows reader specific configuration
+     * (for example attributes or features) to be applied for every feature.
+     *
+     * @param featureReader The {@link ObjectReader} used to create the parser and deserialize features.
+     * @param consumer      The consumer called with every feature, on the thread feeding the input.
+     * @throws IOException if the parser could not be created.
+     */
+    public NonBlockingFeatureParser(ObjectReader featureReader, Consumer<? super Feature> consumer) throws IOException {
+        this.featureReader = featureReader.forType(Feature.class);
+        this.consumer = consumer;
+        this.parser = featureReader.getConfig().initialize(featureReader.getFactory().createNonBlockingByteBufferParser());
+        this.feeder = (ByteBufferFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    /**
+     * Constructs a parser which passes the features to the given consumer.
+     *
+     * @param objectMapper The {@link ObjectMapper} used to create the parser and deserialize features.
+     * @param consumer     The consumer called with every feature, on the thread feeding the input.
+     * @throws IOException if the parser could not be created.
+     */
+    public NonBlockingFeatureParser(ObjectMapper objectMapper, Consumer<? super Feature> consumer) throws IOException {
+        this(objectMapper.readerFor(Feature.class), consumer);
+    }
+
+    /**
+     * Creates a parser with a default {@link ObjectMapper} which passes the features to the given consumer.
+     *
+     * @param consumer The consumer called with every feature, on the thread feeding the input.
+     * @return A new {@link NonBlockingFeatureParser}.
+     * @throws IOException if the parser could not be created.
+     */
+    public static NonBlockingFeatureParser of(Consumer<? super Feature> consumer) throws IOException {
+        return new NonBlockingFeatureParser(DEFAULT_OBJECT_MAPPER, consumer);
+    }
+
+    /**
+     * Parses the remaining bytes of the given chunk and passes all features completed by it to the consumer.
+     * The chunk is consumed completely, its content must not be modified until this method returns,
+     * afterward it can be reused for the next chunk.
+     *
+     * @param chunk The next chunk of the document.
+     * @throws IOException           if the content is not a valid FeatureCollection or a feature could not be deserialized.
+     * @throws IllegalStateException if the end of input has been signalled already or the parser has been closed.
+     */
+    public void feed(ByteBuffer chunk) throws IOException {
+        if (endOfInput || parser.isClosed()) {
+            throw new IllegalStateException("No more input accepted after end of input or close");
+        }
+        if (!chunk.hasRemaining()) {
+            return;
+        }
+        feeder.feedInput(chunk);
+        chunk.position(chunk.limit());
+        parseAvailableTokens();
+    }
+
+    /**
+     * Signals that the document is complete and passes the remaining features to the consumer.
+     * Empty input is accepted as document without features.
+     *
+     * @throws IOException if the document ends before the FeatureCollection is complete.
+     */
+    public void endOfInput() throws IOException {
+        if (endOfInput) {
+            return;
+        }
+        endOfInput = true;
+        feeder.endOfInput();
+        parseAvailableTokens();
+        if (state != State.ROOT && state != State.END) {
+            throw MismatchedInputException.from(parser, Feature.class, "Unexpected end of input within FeatureCollection");
+        }
+    }
+
+    /**
+     * Returns whether the closing brace of the FeatureCollection has been parsed already.
+     *
+     * @return {@code true} if the document is complete, otherwise {@code false}.
+     */
+    public boolean isComplete() {
+        return state == State.END;
+    }
+
+    /**
+     * Closes the underlying parser and releases the tokens of an incomplete feature.
+     *
+     * @throws IOException if the parser could not be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        feature = null;
+        parser.close();
+    }
+
+    private void parseAvailableTokens() throws IOException {
+        for (JsonToken token = parser.nextToken(); token != null && token != JsonToken.NOT_AVAILABLE; token = parser.nextToken()) {
+            parseToken(token);
+        }
+    }
+
+    private void parseToken(JsonToken token) throws IOException {
+        switch (state) {
+            case ROOT -> {
+                if (token != JsonToken.START_OBJECT) {
+                    throw MismatchedInputException.from(parser, Feature.class, "Expected FeatureCollection object but found " + token);
+                }
+                state = State.MEMBERS;
+            }
+            case MEMBERS -> {
+                if (token == JsonToken.END_OBJECT) {
+                    state = State.END;
+                } else {
+                    memberName = parser.currentName();
+                    state = State.MEMBER_VALUE;
+                }
+            }
+            case MEMBER_VALUE -> parseMemberValue(token);
+            case SKIPPED_MEMBER -> {
+                depth += depthChange(token);
+                if (depth == 0) {
+                    state = State.MEMBERS;
+                }
+            }
+            case FEATURES -> parseFeaturesElement(token);
+            case FEATURE -> {
+                feature.copyCurrentEvent(parser);
+                depth += depthChange(token);
+                if (depth == 0) {
+                    completeFeature();
+                }
+            }
+            default -> throw MismatchedInputException.from(parser, Feature.class, "Unexpected content after FeatureCollection: " + token);
+        }
+    }
+
+    private void parseMemberValue(JsonToken token) throws IOException {
+        if ("features".equals(memberName) && token == JsonToken.START_ARRAY) {
+            state = State.FEATURES;
+            return;
+        }
+        if ("type".equals(memberName) && !StringUtils.equals(parser.getValueAsString(), FEATURE_COLLECTION)) {
+            throw MismatchedInputException.from(parser, Feature.class,
+                    "type '%s' is not valid. expected '%s'".formatted(parser.getValueAsString(), FEATURE_COLLECTION));
+        }
+        if (token.isStructStart()) {
+            depth = 1;
+            state = State.SKIPPED_MEMBER;
+        } else {
+            state = State.MEMBERS;
+        }
+    }
+
+    private void parseFeaturesElement(JsonToken token) throws IOException {
+        if (token == JsonToken.END_ARRAY) {
+            state = State.MEMBERS;
+        } else if (token == JsonToken.START_OBJECT) {
+            feature = new TokenBuffer(parser);
+            feature.copyCurrentEvent(parser);
+            depth = 1;
+            state = State.FEATURE;
+        } else if (token != JsonToken.VALUE_NULL) {
+            throw MismatchedInputException.from(parser, Feature.class, "Expected Feature object but found " + token);
+        }
+    }
+
+    private void completeFeature() throws IOException {
+        Feature completed;
+        try (JsonParser featureParser = feature.asParser(featureReader)) {
+            completed = featureReader.readValue(featureParser);
+        } finally {
+            feature = null;
+            state = State.FEATURES;
+        }
+        consumer.accept(completed);
+    }
+
+    private static int depthChange(JsonToken token) {
+        if (token.isStructStart()) {
+            return 1;
+        }
+        return token.isStructEnd() ? -1 : 0;
+    }
+}
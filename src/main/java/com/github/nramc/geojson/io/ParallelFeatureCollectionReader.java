@@ -0,0 +1,504 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.io;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.github.nramc.geojson.domain.Feature;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static com.github.nramc.geojson.constant.GeoJsonType.FEATURE_COLLECTION;
+
+/**
+ * Reads the {@link Feature} objects of a GeoJSON FeatureCollection file on multiple threads.
+ * <p>
+ * The file is memory-mapped and the elements of its {@code features} array are located by a byte scanner,
+ * which only tracks brackets, braces and strings instead of tokenizing the content. Consecutive features of
+ * roughly {@code chunkSize} bytes are parsed as independent tasks on a {@link ForkJoinPool} with the usual
+ * {@link Feature} deserialization. The resulting features are provided either in file order, see
+ * {@link #read(Path)}, or in the order in which chunks complete, see {@link #readUnordered(Path)}.
+ * Only a bounded number of chunks is in flight at any time, the memory required depends on the chunk size and
+ * the parallelism of the pool rather than on the size of the file.
+ * </p>
+ * <p>
+ * Members of the FeatureCollection other than {@code type} and {@code features} are skipped, same as
+ * {@link GeoJsonFeatureReader}. The scanner checks the structure of the FeatureCollection only, a malformed
+ * feature is reported once its chunk is parsed. Mapped regions are released by the garbage collector,
+ * not when the stream is closed.
+ * </p>
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * try (Stream<Feature> features = ParallelFeatureCollectionReader.of().readUnordered(Path.of("buildings.geojson"))) {
+ *     features.filter(Feature::isValid).forEach(repository::save);
+ * }
+ * }</pre></p>
+ *
+ * <p>The reader itself is immutable and can be shared, every stream has to be closed to release the file.</p>
+ *
+ * @see GeoJsonFeatureReader
+ * @see ParallelGeoJsonSequenceReader
+ */
+public class ParallelFeatureCollectionReader {
+    /**
+     * Default number of bytes of a chunk, a chunk might be larger to end after a feature.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1024 * 1024;
+    private static final ObjectMapper DEFAULT_OBJECT_MAPPER = new ObjectMapper();
+    private static final int DEFAULT_SEGMENT_SHIFT = 30;
+
+    private final ObjectReader featureReader;
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+    private final int segmentShift;
+
+    /**
+     * Constructs a reader parsing chunks of the given size on the given pool.
+     *
+     * @param featureReader The {@link ObjectReader} used to deserialize features, reader specific configuration is kept.
+     * @param pool          The pool chunks are parsed on.
+     * @param chunkSize     The approximate number of bytes parsed by a single task.
+     */
+    public ParallelFeatureCollectionReader(ObjectReader featureReader, ForkJoinPool pool, int chunkSize) {
+        this(featureReader, pool, chunkSize, DEFAULT_SEGMENT_SHIFT);
+    }
+
+    /**
+     * Constructs a reader which maps the file in segments of {@code 2^segmentShift} bytes, a mapped buffer is
+     * limited to 2 GiB.
+     */
+    ParallelFeatureCollectionReader(ObjectReader featureReader, ForkJoinPool pool, int chunkSize, int segmentShift) {
+        this.featureReader = featureReader.forType(Feature.class);
+        this.pool = pool;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.segmentShift = segmentShift;
+    }
+
+    /**
+     * Creates a reader with a default {@link ObjectMapper} which parses chunks of {@link #DEFAULT_CHUNK_SIZE} on
+     * the {@link ForkJoinPool#commonPool() common pool}.
+     *
+     * @return A new {@link ParallelFeatureCollectionReader}.
+     */
+    public static ParallelFeatureCollectionReader of() {
+        return new ParallelFeatureCollectionReader(DEFAULT_OBJECT_MAPPER.reader(), ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Returns the features of the given file in file order. Chunks are still parsed in parallel, a chunk is
+     * provided once all chunks before it have been provided.
+     *
+     * @param path The path of a file containing a GeoJSON FeatureCollection.
+     * @return A lazily populated {@link Stream} which has to be closed to release the file.
+     * @throws IOException if the file could not be opened or mapped.
+     */
+    public Stream<Feature> read(Path path) throws IOException {
+        return read(path, true);
+    }
+
+    /**
+     * Returns the features of the given file in the order in which their chunks have been parsed.
+     * The features of a single chunk keep their file order.
+     *
+     * @param path The path of a file containing a GeoJSON FeatureCollection.
+     * @return A lazily populated {@link Stream} which has to be closed to release the file.
+     * @throws IOException if the file could not be opened or mapped.
+     */
+    public Stream<Feature> readUnordered(Path path) throws IOException {
+        return read(path, false);
+    }
+
+    private Stream<Feature> read(Path path, boolean ordered) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // a mapping stays valid after its channel has been closed
+            MappedFile file = new MappedFile(channel, segmentShift);
+            ChunkTasks<List<Feature>> chunks = new ChunkTasks<>(new Chunks(new Scanner(file)), pool, ChunkTasks.defaultMaxInFlight(pool), ordered);
+            int characteristics = ordered ? Spliterator.ORDERED | Spliterator.NONNULL : Spliterator.NONNULL;
+            return StreamSupport.stream(Spliterators.spliteratorUnknownSize(chunks, characteristics), false)
+                    .flatMap(List::stream)
+                    .onClose(chunks::cancel);
+        }
+    }
+
+    private List<Feature> parse(MappedFile file, long start, int[] bounds, int count) throws IOException {
+        byte[] bytes = new byte[bounds[count * 2 - 1]];
+        file.get(start, bytes);
+        List<Feature> features = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int from = bounds[i * 2];
+            features.add(featureReader.readValue(bytes, from, bounds[i * 2 + 1] - from));
+        }
+        return features;
+    }
+
+    /**
+     * Provides the parse tasks of consecutive chunks, the features of a chunk are located only when its task is requested.
+     */
+    private final class Chunks implements Iterator<Callable<List<Feature>>> {
+        private final Scanner scanner;
+        private boolean available;
+
+        private Chunks(Scanner scanner) {
+            this.scanner = scanner;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (!available) {
+                available = scanner.nextFeature();
+            }
+            return available;
+        }
+
+        @Override
+        public Callable<List<Feature>> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more chunks available");
+            }
+            long start = scanner.featureStart;
+            int[] bounds = new int[16];
+            int count = 0;
+            do {
+                if (count * 2 == bounds.length) {
+                    bounds = Arrays.copyOf(bounds, bounds.length * 2);
+                }
+                bounds[count * 2] = Math.toIntExact(scanner.featureStart - start);
+                bounds[count * 2 + 1] = Math.toIntExact(scanner.featureEnd - start);
+                count++;
+                available = scanner.featureEnd - start < chunkSize && scanner.nextFeature();
+            } while (available);
+            int[] chunkBounds = bounds;
+            int chunkCount = count;
+            return () -> parse(scanner.file, start, chunkBounds, chunkCount);
+        }
+    }
+
+    /**
+     * Memory-mapped file, split into read-only segments of equal size but the last one.
+     * Only absolute reads are used, so the segments can be shared by all threads.
+     */
+    private static final class MappedFile {
+        private final MappedByteBuffer[] segments;
+        private final int segmentShift;
+        private final int segmentMask;
+        private final long size;
+
+        private MappedFile(FileChannel channel, int segmentShift) throws IOException {
+            this.size = channel.size();
+            this.segmentShift = segmentShift;
+            this.segmentMask = (1 << segmentShift) - 1;
+            long segmentSize = 1L << segmentShift;
+            this.segments = new MappedByteBuffer[Math.toIntExact((size + segmentSize - 1) >>> segmentShift)];
+            for (int i = 0; i < segments.length; i++) {
+                long position = i * segmentSize;
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(segmentSize, size - position));
+            }
+        }
+
+        private byte get(long position) {
+            return segment(position).get(index(position));
+        }
+
+        private ByteBuffer segment(long position) {
+            return segments[(int) (position >>> segmentShift)];
+        }
+
+        private int index(long position) {
+            return (int) position & segmentMask;
+        }
+
+        private void get(long position, byte[] bytes) {
+            int offset = 0;
+            while (offset < bytes.length) {
+                long current = position + offset;
+                ByteBuffer segment = segment(current);
+                int index = index(current);
+                int length = Math.min(bytes.length - offset, segment.limit() - index);
+                segment.get(index, bytes, offset, length);
+                offset += length;
+            }
+        }
+    }
+
+    /**
+     * Locates the elements of the {@code features} array by tracking nesting and strings byte by byte,
+     * without tokenizing the content.
+     */
+    private static final class Scanner {
+        private final MappedFile file;
+        private long position;
+        private boolean started;
+        private boolean insideFeatures;
+        private boolean finished;
+        private long featureStart;
+        private long featureEnd;
+
+        private Scanner(MappedFile file) {
+            this.file = file;
+        }
+
+        /**
+         * Moves to the next feature and sets its bounds.
+         *
+         * @return false if the FeatureCollection has no more features.
+         * @throws UncheckedIOException if the content is not a valid FeatureCollection.
+         */
+        private boolean nextFeature() {
+            try {
+                while (!finished) {
+                    if (insideFeatures) {
+                        if (nextElement()) {
+                            return true;
+                        }
+                    } else {
+                        moveToFeatures();
+                    }
+                }
+                return false;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private boolean nextElement() throws IOException {
+            while (true) {
+                byte next = nextNonWhitespace();
+                if (next == ',') {
+                    position++;
+                } else if (next == ']') {
+                    position++;
+                    insideFeatures = false;
+                    endOfMember();
+                    return false;
+                } else if (next == '{') {
+                    featureStart = position;
+                    skipValue();
+                    featureEnd = position;
+                    return true;
+                } else if (next == 'n' && matches("null")) {
+                    position += 4;
+                } else {
+                    throw error("Expected Feature object");
+                }
+            }
+        }
+
+        private void moveToFeatures() throws IOException {
+            if (!started) {
+                started = true;
+                skipByteOrderMark();
+                while (position < file.size && isWhitespace(file.get(position))) {
+                    position++;
+                }
+                if (position == file.size) {
+                    finished = true;
+                    return;
+                }
+                expect('{', "Expected FeatureCollection object");
+                if (nextNonWhitespace() == '}') {
+                    position++;
+                    finish();
+                    return;
+                }
+            }
+            String name = readString();
+            expect(':', "Expected ':' after member name");
+            byte next = nextNonWhitespace();
+            if ("features".equals(name) && next == '[') {
+                position++;
+                insideFeatures = true;
+                return;
+            }
+            if ("type".equals(name)) {
+                String type = next == '"' ? readString() : null;
+                if (!FEATURE_COLLECTION.equals(type)) {
+                    throw error("type '%s' is not valid. expected '%s'".formatted(type, FEATURE_COLLECTION));
+                }
+            } else {
+                skipValue();
+            }
+            endOfMember();
+        }
+
+        private void endOfMember() throws IOException {
+            byte next = nextNonWhitespace();
+            position++;
+            if (next == '}') {
+                finish();
+            } else if (next != ',') {
+                position--;
+                throw error("Expected ',' or '}' after member");
+            }
+        }
+
+        private void finish() throws IOException {
+            finished = true;
+            if (position < file.size && nextNonWhitespace() != 0) {
+                throw error("Unexpected content after FeatureCollection");
+            }
+        }
+
+        /**
+         * Skips a value, nested values are scanned segment by segment as this is where most of the time is spent.
+         */
+        private void skipValue() throws IOException {
+            byte first = nextNonWhitespace();
+            if (first != '{' && first != '[' && first != '"') {
+                skipScalar();
+                return;
+            }
+            int depth = 0;
+            boolean insideString = false;
+            boolean escaped = false;
+            while (position < file.size) {
+                ByteBuffer segment = file.segment(position);
+                long segmentStart = position - file.index(position);
+                for (int index = file.index(position), limit = segment.limit(); index < limit; index++) {
+                    byte next = segment.get(index);
+                    if (insideString) {
+                        if (escaped) {
+                            escaped = false;
+                        } else if (next == '\\') {
+                            escaped = true;
+                        } else if (next == '"') {
+                            insideString = false;
+                        }
+                    } else if (next == '"') {
+                        insideString = true;
+                    } else if (next == '{' || next == '[') {
+                        depth++;
+                    } else if (next == '}' || next == ']') {
+                        depth--;
+                    } else {
+                        continue;
+                    }
+                    if (depth == 0 && !insideString) {
+                        position = segmentStart + index + 1;
+                        return;
+                    }
+                }
+                position = segmentStart + segment.limit();
+            }
+            throw error("Unexpected end of file");
+        }
+
+        private void skipScalar() throws IOException {
+            while (position < file.size) {
+                byte next = file.get(position);
+                if (next == ',' || next == '}' || next == ']' || isWhitespace(next)) {
+                    return;
+                }
+                position++;
+            }
+            throw error("Unexpected end of file");
+        }
+
+        private void skipString() throws IOException {
+            position++;
+            while (position < file.size) {
+                byte next = file.get(position++);
+                if (next == '"') {
+                    return;
+                }
+                if (next == '\\') {
+                    position++;
+                }
+            }
+            throw error("Unexpected end of file within string");
+        }
+
+        private String readString() throws IOException {
+            if (nextNonWhitespace() != '"') {
+                throw error("Expected member name");
+            }
+            long start = position + 1;
+            skipString();
+            byte[] bytes = new byte[Math.toIntExact(position - 1 - start)];
+            file.get(start, bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private boolean matches(String literal) {
+            if (position + literal.length() > file.size) {
+                return false;
+            }
+            for (int i = 0; i < literal.length(); i++) {
+                if (file.get(position + i) != literal.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void expect(char expected, String message) throws IOException {
+            if (nextNonWhitespace() != expected) {
+                throw error(message);
+            }
+            position++;
+        }
+
+        /**
+         * Skips whitespace and returns the next byte without consuming it, 0 at the end of the file.
+         */
+        private byte nextNonWhitespace() throws IOException {
+            while (position < file.size) {
+                byte next = file.get(position);
+                if (!isWhitespace(next)) {
+                    return next;
+                }
+                position++;
+            }
+            if (!finished) {
+                throw error("Unexpected end of file");
+            }
+            return 0;
+        }
+
+        private void skipByteOrderMark() {
+            if (file.size >= 3 && file.get(0) == (byte) 0xEF && file.get(1) == (byte) 0xBB && file.get(2) == (byte) 0xBF) {
+                position = 3;
+            }
+        }
+
+        private static boolean isWhitespace(byte value) {
+            return value == ' ' || value == '\n' || value == '\r' || value == '\t';
+        }
+
+        private JsonParseException error(String message) {
+            return new JsonParseException(null, message + " at byte offset " + position);
+        }
+    }
+}
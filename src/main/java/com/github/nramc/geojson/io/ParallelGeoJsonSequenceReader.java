@@ -0,0 +1,226 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.io;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.github.nramc.geojson.domain.GeoJson;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads a file of GeoJSON Text Sequences (RFC 8142) or newline delimited GeoJSON on multiple threads.
+ * <p>
+ * The file is split into chunks of roughly {@code chunkSize} bytes, each ending right after a record delimiter,
+ * so no record is shared by two chunks. Chunks are read with positional reads and parsed as independent tasks
+ * on a {@link ForkJoinPool}. The resulting objects are provided either in file order, see {@link #read(Path)},
+ * or in the order in which chunks complete, see {@link #readUnordered(Path)}. Only a bounded number of chunks is
+ * in flight at any time, the memory required depends on the chunk size and the parallelism of the pool.
+ * </p>
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * ParallelGeoJsonSequenceReader<Feature> reader = ParallelGeoJsonSequenceReader.of(GeoJsonSequenceFormat.NDJSON, Feature.class);
+ * try (Stream<Feature> features = reader.readUnordered(Path.of("places.geojsonl"))) {
+ *     features.filter(Feature::isValid).forEach(repository::save);
+ * }
+ * }</pre></p>
+ *
+ * <p>The reader itself is immutable and can be shared, every stream has to be closed to release the file.</p>
+ *
+ * @param <T> The type of the GeoJSON objects in the sequence.
+ * @see GeoJsonSequenceReader
+ */
+public class ParallelGeoJsonSequenceReader<T extends GeoJson> {
+    /**
+     * Default number of bytes of a chunk, a chunk might be larger to end on a record delimiter.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1024 * 1024;
+    private static final ObjectMapper DEFAULT_OBJECT_MAPPER = new ObjectMapper();
+    private static final int SCAN_BUFFER_SIZE = 8 * 1024;
+
+    private final ObjectReader objectReader;
+    private final GeoJsonSequenceFormat format;
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+
+    /**
+     * Constructs a reader parsing chunks of the given size on the given pool.
+     *
+     * @param objectReader The {@link ObjectReader} used to deserialize records, reader specific configuration is kept.
+     * @param format       The format of the sequence.
+     * @param type         The type of the GeoJSON objects in the sequence.
+     * @param pool         The pool chunks are parsed on.
+     * @param chunkSize    The approximate number of bytes parsed by a single task.
+     */
+    public ParallelGeoJsonSequenceReader(ObjectReader objectReader, GeoJsonSequenceFormat format, Class<T> type, ForkJoinPool pool, int chunkSize) {
+        this.objectReader = objectReader.forType(type);
+        this.format = format;
+        this.pool = pool;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    /**
+     * Creates a reader with a default {@link ObjectMapper} which parses chunks of {@link #DEFAULT_CHUNK_SIZE} on
+     * the {@link ForkJoinPool#commonPool() common pool}.
+     *
+     * @param format The format of the sequence.
+     * @param type   The type of the GeoJSON objects in the sequence.
+     * @param <T>    The type of the GeoJSON objects in the sequence.
+     * @return A new {@link ParallelGeoJsonSequenceReader}.
+     */
+    public static <T extends GeoJson> ParallelGeoJsonSequenceReader<T> of(GeoJsonSequenceFormat format, Class<T> type) {
+        return new ParallelGeoJsonSequenceReader<>(DEFAULT_OBJECT_MAPPER.reader(), format, type, ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Returns the objects of the given file in file order. Chunks are still parsed in parallel, a chunk is
+     * provided once all chunks before it have been provided.
+     *
+     * @param path The path of a file containing the sequence.
+     * @return A lazily populated {@link Stream} which has to be closed to release the file.
+     * @throws IOException if the file could not be opened.
+     */
+    public Stream<T> read(Path path) throws IOException {
+        return read(path, true);
+    }
+
+    /**
+     * Returns the objects of the given file in the order in which their chunks have been parsed.
+     * The objects of a single chunk keep their file order.
+     *
+     * @param path The path of a file containing the sequence.
+     * @return A lazily populated {@link Stream} which has to be closed to release the file.
+     * @throws IOException if the file could not be opened.
+     */
+    public Stream<T> readUnordered(Path path) throws IOException {
+        return read(path, false);
+    }
+
+    private Stream<T> read(Path path, boolean ordered) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            ChunkTasks<List<T>> chunks = new ChunkTasks<>(new Chunks(channel, channel.size()), pool, ChunkTasks.defaultMaxInFlight(pool), ordered);
+            int characteristics = ordered ? Spliterator.ORDERED | Spliterator.NONNULL : Spliterator.NONNULL;
+            return StreamSupport.stream(Spliterators.spliteratorUnknownSize(chunks, characteristics), false)
+                    .flatMap(List::stream)
+                    .onClose(() -> close(chunks, channel));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static void close(ChunkTasks<?> chunks, FileChannel channel) {
+        chunks.cancel();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private List<T> parse(FileChannel channel, long start, long end) throws IOException {
+        byte[] bytes = new byte[Math.toIntExact(end - start)];
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, start + buffer.position()) < 0) {
+                throw new EOFException("Unexpected end of file at position " + (start + buffer.position()));
+            }
+        }
+        List<T> values = new ArrayList<>();
+        int from = 0;
+        while (from < bytes.length) {
+            int to = format.indexOfDelimiter(bytes, from, bytes.length);
+            if (to < 0) {
+                to = bytes.length;
+            }
+            if (!GeoJsonSequenceFormat.isBlank(bytes, from, to)) {
+                values.add(objectReader.readValue(bytes, from, to - from));
+            }
+            from = to + 1;
+        }
+        return values;
+    }
+
+    /**
+     * Provides the parse tasks of consecutive chunks, the end of a chunk is searched only when its task is requested.
+     */
+    private final class Chunks implements Iterator<Callable<List<T>>> {
+        private final FileChannel channel;
+        private final long size;
+        private final ByteBuffer scanBuffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        private long start;
+
+        private Chunks(FileChannel channel, long size) {
+            this.channel = channel;
+            this.size = size;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return start < size;
+        }
+
+        @Override
+        public Callable<List<T>> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more chunks available");
+            }
+            long chunkStart = start;
+            long chunkEnd = endOfChunk(chunkStart + chunkSize);
+            start = chunkEnd;
+            return () -> parse(channel, chunkStart, chunkEnd);
+        }
+
+        private long endOfChunk(long from) {
+            try {
+                long position = from;
+                while (position < size) {
+                    scanBuffer.clear();
+                    int read = channel.read(scanBuffer, position);
+                    if (read < 0) {
+                        break;
+                    }
+                    int index = format.indexOfDelimiter(scanBuffer.array(), 0, read);
+                    if (index >= 0) {
+                        return position + index + 1;
+                    }
+                    position += read;
+                }
+                return size;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
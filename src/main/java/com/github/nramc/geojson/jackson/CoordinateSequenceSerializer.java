@@ -0,0 +1,64 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.jackson;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.github.nramc.geojson.domain.CoordinateSequence;
+
+import java.io.IOException;
+
+/**
+ * Jackson serializer for {@link CoordinateSequence}, writes the positions as array of arrays of numbers straight
+ * from the packed coordinates, without creating a {@link com.github.nramc.geojson.domain.Position} per element.
+ * The output is the same as for a list of positions written by {@link PositionSerializer}, including the
+ * coordinate precision of {@link GeoJsonWriteOptions}. Without a coordinate precision, the values of a single
+ * precision sequence are written as {@code float}, i.e. with the shortest digits which read back into the same
+ * {@code float}, instead of all digits of their widened {@code double} values.
+ */
+public class CoordinateSequenceSerializer extends StdSerializer<CoordinateSequence> {
+
+    /**
+     * Constructs the serializer, used by Jackson for {@code @JsonSerialize(using = ...)}.
+     */
+    public CoordinateSequenceSerializer() {
+        super(CoordinateSequence.class);
+    }
+
+    @Override
+    public void serialize(CoordinateSequence sequence, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        int precision = GeoJsonWriteOptions.from(provider).getCoordinatePrecision();
+        char[] buffer = precision < 0 ? null : PositionSerializer.newBuffer();
+        int size = sequence.size();
+        int dimension = sequence.getDimension();
+        boolean writeFloats = precision < 0 && sequence.isSinglePrecision();
+        gen.writeStartArray(sequence, size);
+        for (int index = 0; index < size; index++) {
+            gen.writeStartArray(null, dimension);
+            for (int ordinate = 0; ordinate < dimension; ordinate++) {
+                double coordinate = sequence.getOrdinate(index, ordinate);
+                if (writeFloats) {
+                    gen.writeNumber((float) coordinate);
+                } else {
+                    PositionSerializer.writeCoordinate(gen, coordinate, precision, buffer);
+                }
+            }
+            gen.writeEndArray();
+        }
+        gen.writeEndArray();
+    }
+}
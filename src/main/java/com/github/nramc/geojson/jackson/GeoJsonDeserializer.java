@@ -0,0 +1,606 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.jackson;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.NumberInput;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+import com.github.nramc.geojson.domain.CoordinateSequence;
+import com.github.nramc.geojson.domain.Feature;
+import com.github.nramc.geojson.domain.FeatureCollection;
+import com.github.nramc.geojson.domain.GeoJson;
+import com.github.nramc.geojson.domain.Geometry;
+import com.github.nramc.geojson.domain.GeometryCollection;
+import com.github.nramc.geojson.domain.LineString;
+import com.github.nramc.geojson.domain.MultiLineString;
+import com.github.nramc.geojson.domain.MultiPoint;
+import com.github.nramc.geojson.domain.MultiPolygon;
+import com.github.nramc.geojson.domain.Point;
+import com.github.nramc.geojson.domain.Polygon;
+import com.github.nramc.geojson.domain.PolygonCoordinates;
+import com.github.nramc.geojson.domain.Position;
+import com.github.nramc.geojson.domain.PositionPool;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static com.github.nramc.geojson.constant.GeoJsonType.FEATURE;
+import static com.github.nramc.geojson.constant.GeoJsonType.FEATURE_COLLECTION;
+import static com.github.nramc.geojson.constant.GeoJsonType.GEOMETRY_COLLECTION;
+import static com.github.nramc.geojson.constant.GeoJsonType.LINE_STRING;
+import static com.github.nramc.geojson.constant.GeoJsonType.MULTI_LINE_STRING;
+import static com.github.nramc.geojson.constant.GeoJsonType.MULTI_POINT;
+import static com.github.nramc.geojson.constant.GeoJsonType.MULTI_POLYGON;
+import static com.github.nramc.geojson.constant.GeoJsonType.POINT;
+import static com.github.nramc.geojson.constant.GeoJsonType.POLYGON;
+
+/**
+ * Jackson deserializer for the sealed {@link GeoJson} hierarchy, from {@link Point} to {@link FeatureCollection}.
+ * <p>
+ * With {@code @JsonTypeInfo} alone, Jackson has to know the {@code "type"} member before it can pick the
+ * deserializer of the subtype. Whenever {@code "type"} is not the first member, which is common for data exported
+ * by PostGIS or QGIS, the whole object is first copied into a {@code TokenBuffer} and then parsed a second time.
+ * This deserializer reads the members of an object in a single pass, whatever their order is, and dispatches
+ * on {@code "type"} once the object has been read completely. The {@code "coordinates"} member is decoded into a
+ * type-agnostic nested structure, so it can be mapped to the right geometry even when it precedes {@code "type"}.
+ * </p>
+ * <p>
+ * The deserializer is registered on {@link GeoJson} and therefore applies to every subtype. It is contextual,
+ * deserializing {@code Point.class} only accepts a {@code "Point"} object, same as before. Members ignored by
+ * the GeoJSON types, like {@code "valid"}, are skipped, other unknown members are handled according to
+ * {@link DeserializationFeature#FAIL_ON_UNKNOWN_PROPERTIES}, and missing or unexpected type ids are reported
+ * with the same exceptions Jackson raises for {@code @JsonTypeInfo}.
+ * </p>
+ * <p>
+ * Reading can be tuned per {@code ObjectReader} with {@link GeoJsonReadOptions}, e.g. to read arrays of
+ * positions into packed primitive buffers instead of one object per vertex, to decode Feature properties on demand,
+ * or to skip the geometry, the properties or single property keys of features without decoding them.
+ * </p>
+ *
+ * @see GeoJson
+ * @see Geometry
+ */
+public class GeoJsonDeserializer extends StdDeserializer<GeoJson> implements ContextualDeserializer {
+    private static final int TYPE = 1;
+    private static final int ID = 1 << 1;
+    private static final int COORDINATES = 1 << 2;
+    private static final int GEOMETRY = 1 << 3;
+    private static final int GEOMETRIES = 1 << 4;
+    private static final int PROPERTIES = 1 << 5;
+    private static final int FEATURES = 1 << 6;
+
+    private static final int GEOMETRY_MEMBERS = TYPE | COORDINATES;
+    private static final int GEOMETRY_COLLECTION_MEMBERS = TYPE | GEOMETRIES;
+    private static final int FEATURE_MEMBERS = TYPE | ID | GEOMETRY | PROPERTIES;
+    private static final int FEATURE_COLLECTION_MEMBERS = TYPE | FEATURES;
+
+    private static final Map<String, Class<? extends GeoJson>> SUBTYPES = Map.of(
+            POINT, Point.class,
+            MULTI_POINT, MultiPoint.class,
+            LINE_STRING, LineString.class,
+            MULTI_LINE_STRING, MultiLineString.class,
+            POLYGON, Polygon.class,
+            MULTI_POLYGON, MultiPolygon.class,
+            GEOMETRY_COLLECTION, GeometryCollection.class,
+            FEATURE, Feature.class,
+            FEATURE_COLLECTION, FeatureCollection.class
+    );
+
+    private final transient JsonDeserializer<Object> propertiesDeserializer;
+    private final transient JsonDeserializer<Object> propertyValueDeserializer;
+    private final Map<Class<?>, Set<String>> ignoredProperties;
+
+    /**
+     * Constructs a deserializer for the {@link GeoJson} base type.
+     * Used by Jackson when the deserializer is declared with {@code @JsonDeserialize(using = ...)}.
+     */
+    public GeoJsonDeserializer() {
+        this(GeoJson.class, null, null, Map.of());
+    }
+
+    /**
+     * Constructs a deserializer for the given target type.
+     *
+     * @param targetType                The {@link GeoJson} type expected by the caller.
+     * @param propertiesDeserializer    The deserializer used for Feature properties, resolved contextually.
+     * @param propertyValueDeserializer The deserializer used for single property values when properties are
+     *                                  filtered by key, resolved contextually.
+     * @param ignoredProperties         The names of the ignored properties of every GeoJSON type, e.g. of getters
+     *                                  annotated with {@code @JsonIgnore}, resolved contextually.
+     */
+    protected GeoJsonDeserializer(Class<?> targetType, JsonDeserializer<Object> propertiesDeserializer,
+                                  JsonDeserializer<Object> propertyValueDeserializer, Map<Class<?>, Set<String>> ignoredProperties) {
+        super(targetType);
+        this.propertiesDeserializer = propertiesDeserializer;
+        this.propertyValueDeserializer = propertyValueDeserializer;
+        this.ignoredProperties = ignoredProperties;
+    }
+
+    @Override
+    public JsonDeserializer<?> createContextual(DeserializationContext ctxt, BeanProperty property) throws JsonMappingException {
+        JavaType contextualType = ctxt.getContextualType();
+        Class<?> targetType = contextualType != null && GeoJson.class.isAssignableFrom(contextualType.getRawClass())
+                ? contextualType.getRawClass() : handledType();
+        JavaType propertiesType = ctxt.getTypeFactory().constructMapType(Map.class, String.class, Serializable.class);
+        return new GeoJsonDeserializer(targetType, ctxt.findRootValueDeserializer(propertiesType),
+                ctxt.findRootValueDeserializer(propertiesType.getContentType()), ignoredProperties(ctxt.getConfig()));
+    }
+
+    /**
+     * Collects the properties every GeoJSON type ignores on deserialization, the ones Jackson skips silently for
+     * a bean, i.e. properties annotated with {@code @JsonIgnore} like {@code "valid"} and the ones listed by
+     * {@code @JsonIgnoreProperties}.
+     */
+    private static Map<Class<?>, Set<String>> ignoredProperties(DeserializationConfig config) {
+        Map<Class<?>, Set<String>> ignoredProperties = new HashMap<>();
+        for (Class<? extends GeoJson> subType : SUBTYPES.values()) {
+            BeanDescription description = config.introspect(config.constructType(subType));
+            // properties are collected lazily, ignored ones are known afterward only
+            description.findProperties();
+            Set<String> names = new HashSet<>(description.getIgnoredPropertyNames());
+            names.addAll(config.getDefaultPropertyIgnorals(subType, description.getClassInfo()).findIgnoredForDeserialization());
+            ignoredProperties.put(subType, Set.copyOf(names));
+        }
+        return Map.copyOf(ignoredProperties);
+    }
+
+    private boolean isIgnored(Class<?> expectedType, String name) {
+        for (Map.Entry<Class<?>, Set<String>> entry : ignoredProperties.entrySet()) {
+            if (expectedType.isAssignableFrom(entry.getKey()) && entry.getValue().contains(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public GeoJson deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        return readGeoJson(p, ctxt, handledType());
+    }
+
+    /**
+     * Resolves the type id while reading the object instead of delegating to the given type deserializer,
+     * which would buffer the object whenever {@code "type"} is not its first member.
+     */
+    @Override
+    public Object deserializeWithType(JsonParser p, DeserializationContext ctxt, TypeDeserializer typeDeserializer) throws IOException {
+        return deserialize(p, ctxt);
+    }
+
+    private GeoJson readGeoJson(JsonParser p, DeserializationContext ctxt, Class<?> expectedType) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            token = p.nextToken();
+        } else if (token != JsonToken.FIELD_NAME && token != JsonToken.END_OBJECT) {
+            return (GeoJson) ctxt.handleUnexpectedToken(expectedType, p);
+        }
+
+        Members members = new Members();
+        for (; token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+            String name = p.currentName();
+            p.nextToken();
+            switch (name) {
+                case "type" -> members.type = members.read(TYPE, readString(p, ctxt));
+                case "id" -> members.id = members.read(ID, readString(p, ctxt));
+                case "coordinates" -> members.coordinates = members.read(COORDINATES, readCoordinates(p, ctxt));
+                case "geometry" -> members.geometry = members.read(GEOMETRY, readGeometry(p, ctxt));
+                case "geometries" -> members.geometries = members.read(GEOMETRIES, readArray(p, ctxt, Geometry.class));
+                case "properties" -> members.properties = members.read(PROPERTIES, readProperties(p, ctxt));
+                case "features" -> members.features = members.read(FEATURES, readArray(p, ctxt, Feature.class));
+                default -> {
+                    if (isIgnored(expectedType, name)) {
+                        p.skipChildren();
+                    } else {
+                        ctxt.handleUnknownProperty(p, this, expectedType, name);
+                    }
+                }
+            }
+        }
+        return create(p, ctxt, expectedType, members);
+    }
+
+    private GeoJson create(JsonParser p, DeserializationContext ctxt, Class<?> expectedType, Members members) throws IOException {
+        if (members.type == null) {
+            throw ctxt.missingTypeIdException(ctxt.constructType(expectedType), "missing type id property 'type'");
+        }
+        Class<? extends GeoJson> subType = SUBTYPES.get(members.type);
+        if (subType == null || !expectedType.isAssignableFrom(subType)) {
+            throw ctxt.invalidTypeIdException(ctxt.constructType(expectedType), members.type, "known type ids = " + knownTypeIds(expectedType));
+        }
+        try {
+            return switch (members.type) {
+                case POINT -> new Point(members.type, toPosition(ctxt, members.accept(p, ctxt, subType, GEOMETRY_MEMBERS).coordinates));
+                case MULTI_POINT -> new MultiPoint(members.type, toPositions(ctxt, members.accept(p, ctxt, subType, GEOMETRY_MEMBERS).coordinates));
+                case LINE_STRING -> new LineString(members.type, toPositions(ctxt, members.accept(p, ctxt, subType, GEOMETRY_MEMBERS).coordinates));
+                case MULTI_LINE_STRING -> new MultiLineString(members.type, toLines(ctxt, members.accept(p, ctxt, subType, GEOMETRY_MEMBERS).coordinates));
+                case POLYGON -> new Polygon(members.type, toPolygon(ctxt, members.accept(p, ctxt, subType, GEOMETRY_MEMBERS).coordinates));
+                case MULTI_POLYGON -> new MultiPolygon(members.type, toPolygons(ctxt, members.accept(p, ctxt, subType, GEOMETRY_MEMBERS).coordinates));
+                case GEOMETRY_COLLECTION -> new GeometryCollection(members.type, members.accept(p, ctxt, subType, GEOMETRY_COLLECTION_MEMBERS).geometries);
+                case FEATURE -> new Feature(members.type, members.accept(p, ctxt, subType, FEATURE_MEMBERS).id, members.geometry, members.properties);
+                default -> new FeatureCollection(members.type, members.accept(p, ctxt, subType, FEATURE_COLLECTION_MEMBERS).features);
+            };
+        } catch (RuntimeException e) {
+            return (GeoJson) ctxt.handleInstantiationProblem(subType, null, e);
+        }
+    }
+
+    /**
+     * Returns the type ids of the GeoJSON types assignable to the given type, e.g. only geometry types for {@link Geometry}.
+     */
+    private static Set<String> knownTypeIds(Class<?> expectedType) {
+        Set<String> typeIds = new TreeSet<>();
+        SUBTYPES.forEach((typeId, subType) -> {
+            if (expectedType.isAssignableFrom(subType)) {
+                typeIds.add(typeId);
+            }
+        });
+        return typeIds;
+    }
+
+    private String readString(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token.isScalarValue()) {
+            return p.getValueAsString();
+        }
+        return (String) ctxt.handleUnexpectedToken(String.class, p);
+    }
+
+    private <T extends GeoJson> T readNullable(JsonParser p, DeserializationContext ctxt, Class<T> type) throws IOException {
+        return p.currentToken() == JsonToken.VALUE_NULL ? null : type.cast(readGeoJson(p, ctxt, type));
+    }
+
+    private <T extends GeoJson> List<T> readArray(JsonParser p, DeserializationContext ctxt, Class<T> type) throws IOException {
+        if (p.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (p.currentToken() != JsonToken.START_ARRAY) {
+            ctxt.handleUnexpectedToken(ctxt.getTypeFactory().constructCollectionType(List.class, type), p);
+        }
+        List<T> values = new ArrayList<>();
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            values.add(readNullable(p, ctxt, type));
+        }
+        return values;
+    }
+
+    private Geometry readGeometry(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (GeoJsonReadOptions.from(ctxt).isSkipGeometry()) {
+            p.skipChildren();
+            return null;
+        }
+        return readNullable(p, ctxt, Geometry.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Serializable> readProperties(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        GeoJsonReadOptions options = GeoJsonReadOptions.from(ctxt);
+        if (options.isSkipProperties()) {
+            p.skipChildren();
+            return Map.of();
+        }
+        if (token == JsonToken.START_OBJECT && options.isPropertyKeyFiltered()) {
+            return readFilteredProperties(p, ctxt, options);
+        }
+        if (token == JsonToken.START_OBJECT && options.isLazyProperties()) {
+            return LazyProperties.read(p);
+        }
+        return (Map<String, Serializable>) propertiesDeserializer.deserialize(p, ctxt);
+    }
+
+    /**
+     * Reads only the included keys of a {@code "properties"} object, the values of all other keys are skipped
+     * without decoding them.
+     */
+    private Map<String, Serializable> readFilteredProperties(JsonParser p, DeserializationContext ctxt, GeoJsonReadOptions options) throws IOException {
+        Map<String, Serializable> properties = new LinkedHashMap<>();
+        for (JsonToken token = p.nextToken(); token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+            String key = p.currentName();
+            token = p.nextToken();
+            if (!options.isPropertyKeyIncluded(key)) {
+                p.skipChildren();
+            } else if (token == JsonToken.VALUE_NULL) {
+                properties.put(key, null);
+            } else {
+                properties.put(key, (Serializable) propertyValueDeserializer.deserialize(p, ctxt));
+            }
+        }
+        return properties;
+    }
+
+    /**
+     * Reads a {@code "coordinates"} member into a nested structure without knowing the geometry type yet.
+     * Arrays of numbers become {@link Position} objects, arrays of arrays become lists and an empty
+     * array becomes an empty list, as its depth can only be decided by the geometry type.
+     * With {@link GeoJsonReadOptions#isPackedCoordinates()} or {@link GeoJsonReadOptions#isSinglePrecisionCoordinates()},
+     * arrays of positions become a {@link CoordinateSequence}. {@link Position} objects are resolved with the
+     * position pool of the options or the default pool, if any.
+     */
+    private Object readCoordinates(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.currentToken();
+        GeoJsonReadOptions options = GeoJsonReadOptions.from(ctxt);
+        PositionPool pool = options.getPositionPool() != null ? options.getPositionPool() : PositionPool.getDefault();
+        return token == JsonToken.VALUE_NULL ? null
+                : readCoordinates(p, ctxt, token, options.isPackedCoordinates() || options.isSinglePrecisionCoordinates(), pool);
+    }
+
+    private Object readCoordinates(JsonParser p, DeserializationContext ctxt, JsonToken token, boolean packed, PositionPool pool) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token != JsonToken.START_ARRAY) {
+            return ctxt.handleUnexpectedToken(double[].class, p);
+        }
+        return readArrayContent(p, ctxt, p.nextToken(), packed, pool);
+    }
+
+    /**
+     * Reads the content of an array whose start has been consumed already, the given token is its first element.
+     */
+    private Object readArrayContent(JsonParser p, DeserializationContext ctxt, JsonToken token, boolean packed, PositionPool pool) throws IOException {
+        if (token == JsonToken.END_ARRAY) {
+            return List.of();
+        }
+        if (token != JsonToken.START_ARRAY) {
+            return readPosition(p, ctxt, token, pool);
+        }
+        token = p.nextToken();
+        if (packed && token != JsonToken.START_ARRAY && token != JsonToken.END_ARRAY) {
+            return readPackedPositions(p, ctxt, token, pool);
+        }
+        List<Object> children = new ArrayList<>();
+        children.add(readArrayContent(p, ctxt, token, packed, pool));
+        return readRemainingCoordinates(p, ctxt, children, packed, pool);
+    }
+
+    private Object readRemainingCoordinates(JsonParser p, DeserializationContext ctxt, List<Object> children, boolean packed,
+                                            PositionPool pool) throws IOException {
+        for (JsonToken token = p.nextToken(); token != JsonToken.END_ARRAY; token = p.nextToken()) {
+            children.add(readCoordinates(p, ctxt, token, packed, pool));
+        }
+        return children;
+    }
+
+    private Position readPosition(JsonParser p, DeserializationContext ctxt, JsonToken token, PositionPool pool) throws IOException {
+        double[] values = new double[3];
+        int size = 0;
+        for (; token != JsonToken.END_ARRAY; token = p.nextToken()) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = readDouble(p, ctxt, token);
+        }
+        return pool != null ? pool.intern(values, 0, size) : new Position(Arrays.copyOf(values, size));
+    }
+
+    /**
+     * Reads an array of positions into a single growable {@code double[]}, the given token is the first value of
+     * the first position. Falls back to a list of {@link Position} as soon as an element is not a position of the
+     * same dimension as the first one or the first one has neither 2 nor 3 coordinates, so that malformed input
+     * is reported the same way as without packing.
+     */
+    private Object readPackedPositions(JsonParser p, DeserializationContext ctxt, JsonToken token, PositionPool pool) throws IOException {
+        double[] values = new double[64];
+        int size = 0;
+        int dimension = 0;
+        while (true) {
+            int start = size;
+            for (; token != JsonToken.END_ARRAY; token = p.nextToken()) {
+                if (size == values.length) {
+                    values = Arrays.copyOf(values, size * 2);
+                }
+                values[size++] = readPackedDouble(p, ctxt, token);
+            }
+            if (dimension == 0 && (size == 2 || size == 3)) {
+                dimension = size;
+            } else if (size - start != dimension) {
+                List<Object> children = unpack(values, start, dimension, pool);
+                children.add(pool != null ? pool.intern(values, start, size) : new Position(Arrays.copyOfRange(values, start, size)));
+                return readRemainingCoordinates(p, ctxt, children, true, pool);
+            }
+
+            token = p.nextToken();
+            if (token == JsonToken.END_ARRAY) {
+                return GeoJsonReadOptions.from(ctxt).isSinglePrecisionCoordinates()
+                        ? CoordinateSequence.ofSinglePrecision(dimension, values, 0, size)
+                        : CoordinateSequence.of(dimension, values, 0, size);
+            }
+            if (token != JsonToken.START_ARRAY) {
+                List<Object> children = unpack(values, size, dimension, pool);
+                children.add(readCoordinates(p, ctxt, token, true, pool));
+                return readRemainingCoordinates(p, ctxt, children, true, pool);
+            }
+            token = p.nextToken();
+            if (token == JsonToken.START_ARRAY || token == JsonToken.END_ARRAY) {
+                List<Object> children = unpack(values, size, dimension, pool);
+                children.add(readArrayContent(p, ctxt, token, true, pool));
+                return readRemainingCoordinates(p, ctxt, children, true, pool);
+            }
+        }
+    }
+
+    private static List<Object> unpack(double[] values, int size, int dimension, PositionPool pool) {
+        if (pool != null) {
+            List<Object> positions = new ArrayList<>();
+            for (int start = 0; start < size; start += dimension) {
+                positions.add(pool.intern(values, start, start + dimension));
+            }
+            return positions;
+        }
+        return size == 0 ? new ArrayList<>() : new ArrayList<>(CoordinateSequence.of(dimension, values, 0, size));
+    }
+
+    private double readDouble(JsonParser p, DeserializationContext ctxt, JsonToken token) throws IOException {
+        return token == JsonToken.VALUE_NUMBER_FLOAT || token == JsonToken.VALUE_NUMBER_INT ? p.getDoubleValue() : _parseDoublePrimitive(p, ctxt);
+    }
+
+    /**
+     * Parses a number straight from the character buffer of the parser, unlike {@link JsonParser#getDoubleValue()}
+     * which creates a {@code String} for every number. Non-standard numbers like {@code NaN} are left to the parser.
+     */
+    private double readPackedDouble(JsonParser p, DeserializationContext ctxt, JsonToken token) throws IOException {
+        if (token != JsonToken.VALUE_NUMBER_FLOAT && token != JsonToken.VALUE_NUMBER_INT) {
+            return _parseDoublePrimitive(p, ctxt);
+        }
+        try {
+            return NumberInput.parseDouble(p.getTextCharacters(), p.getTextOffset(), p.getTextLength(), true);
+        } catch (NumberFormatException e) {
+            return p.getDoubleValue();
+        }
+    }
+
+    private static Position toPosition(DeserializationContext ctxt, Object node) throws IOException {
+        if (node == null || node instanceof Position) {
+            return (Position) node;
+        }
+        if (node instanceof List<?> list && list.isEmpty()) {
+            return new Position(new double[0]);
+        }
+        return ctxt.reportInputMismatch(Position.class, "Cannot deserialize value of type `double` from Array value (token `JsonToken.START_ARRAY`)");
+    }
+
+    private static List<Position> toPositions(DeserializationContext ctxt, Object node) throws IOException {
+        if (node instanceof CoordinateSequence positions) {
+            return positions;
+        }
+        List<?> nodes = toList(ctxt, node, Position.class);
+        if (nodes == null) {
+            return null;
+        }
+        List<Position> positions = new ArrayList<>(nodes.size());
+        for (Object child : nodes) {
+            positions.add(toPosition(ctxt, child));
+        }
+        return positions;
+    }
+
+    private static List<List<Position>> toLines(DeserializationContext ctxt, Object node) throws IOException {
+        List<?> nodes = toList(ctxt, node, List.class);
+        if (nodes == null) {
+            return null;
+        }
+        List<List<Position>> lines = new ArrayList<>(nodes.size());
+        for (Object child : nodes) {
+            lines.add(toPositions(ctxt, child));
+        }
+        return lines;
+    }
+
+    private static PolygonCoordinates toPolygon(DeserializationContext ctxt, Object node) throws IOException {
+        List<List<Position>> linearRings = toLines(ctxt, node);
+        return linearRings == null ? null : new PolygonCoordinates(linearRings);
+    }
+
+    private static List<PolygonCoordinates> toPolygons(DeserializationContext ctxt, Object node) throws IOException {
+        List<?> nodes = toList(ctxt, node, PolygonCoordinates.class);
+        if (nodes == null) {
+            return null;
+        }
+        List<PolygonCoordinates> polygons = new ArrayList<>(nodes.size());
+        for (Object child : nodes) {
+            polygons.add(toPolygon(ctxt, child));
+        }
+        return polygons;
+    }
+
+    private static List<?> toList(DeserializationContext ctxt, Object node, Class<?> elementType) throws IOException {
+        if (node == null || node instanceof List<?>) {
+            return (List<?>) node;
+        }
+        return ctxt.reportInputMismatch(elementType, "Cannot deserialize value of type `%s` from number array %s", elementType.getSimpleName(), node);
+    }
+
+    /**
+     * Members of a GeoJSON object collected in document order, with a bitmask of the members present.
+     */
+    private static final class Members {
+        private int present;
+        private String type;
+        private String id;
+        private Object coordinates;
+        private Geometry geometry;
+        private List<Geometry> geometries;
+        private Map<String, Serializable> properties;
+        private List<Feature> features;
+
+        private <T> T read(int member, T value) {
+            present |= member;
+            return value;
+        }
+
+        /**
+         * Verifies that only members of the given GeoJSON type were present. Members belonging to another
+         * GeoJSON type are reported as unknown, same as Jackson reports them for the concrete subtype.
+         */
+        private Members accept(JsonParser p, DeserializationContext ctxt, Class<?> type, int allowed) throws IOException {
+            int unexpected = present & ~allowed;
+            if (unexpected != 0 && ctxt.isEnabled(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)) {
+                String name = nameOf(Integer.lowestOneBit(unexpected));
+                throw UnrecognizedPropertyException.from(p, type, name, List.of(namesOf(allowed)));
+            }
+            return this;
+        }
+
+        private static Object[] namesOf(int members) {
+            List<Object> names = new ArrayList<>();
+            for (int member = 1; member <= FEATURES; member <<= 1) {
+                if ((members & member) != 0) {
+                    names.add(nameOf(member));
+                }
+            }
+            return names.toArray();
+        }
+
+        private static String nameOf(int member) {
+            return switch (member) {
+                case TYPE -> "type";
+                case ID -> "id";
+                case COORDINATES -> "coordinates";
+                case GEOMETRY -> "geometry";
+                case GEOMETRIES -> "geometries";
+                case PROPERTIES -> "properties";
+                default -> "features";
+            };
+        }
+    }
+}
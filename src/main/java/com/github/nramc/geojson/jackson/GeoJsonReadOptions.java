@@ -0,0 +1,277 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.jackson;
+
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.github.nramc.geojson.domain.PositionPool;
+
+import java.text.MessageFormat;
+import java.util.Set;
+
+/**
+ * Immutable set of options for reading GeoJSON with {@link GeoJsonDeserializer}.
+ * <p>
+ * Options are not part of the {@code ObjectMapper} configuration, they are attached to an {@link ObjectReader}
+ * as attribute, so the same mapper can be used with different options per call.
+ * </p>
+ * <pre>{@code
+ * ObjectReader reader = GeoJsonReadOptions.DEFAULT.withPackedCoordinates(true)
+ *         .applyTo(objectMapper.readerFor(FeatureCollection.class));
+ * FeatureCollection featureCollection = reader.readValue(json);
+ * }</pre>
+ */
+public final class GeoJsonReadOptions {
+    /**
+     * Options used when no options are attached to the reader, same behaviour as plain Jackson deserialization.
+     */
+    public static final GeoJsonReadOptions DEFAULT = new GeoJsonReadOptions(false, false, false, false, false, null, Set.of(), null);
+
+    private final boolean packedCoordinates;
+    private final boolean singlePrecisionCoordinates;
+    private final boolean lazyProperties;
+    private final boolean skipGeometry;
+    private final boolean skipProperties;
+    private final Set<String> includedPropertyKeys;
+    private final Set<String> excludedPropertyKeys;
+    private final PositionPool positionPool;
+
+    private GeoJsonReadOptions(boolean packedCoordinates, boolean singlePrecisionCoordinates, boolean lazyProperties, boolean skipGeometry,
+                               boolean skipProperties, Set<String> includedPropertyKeys, Set<String> excludedPropertyKeys, PositionPool positionPool) {
+        this.packedCoordinates = packedCoordinates;
+        this.singlePrecisionCoordinates = singlePrecisionCoordinates;
+        this.lazyProperties = lazyProperties;
+        this.skipGeometry = skipGeometry;
+        this.skipProperties = skipProperties;
+        this.includedPropertyKeys = includedPropertyKeys;
+        this.excludedPropertyKeys = excludedPropertyKeys;
+        this.positionPool = positionPool;
+    }
+
+    /**
+     * Returns options with packed coordinates enabled or disabled.
+     * <p>
+     * Geometries store their positions as {@link com.github.nramc.geojson.domain.CoordinateSequence} either way.
+     * With packed coordinates, every array of positions (the coordinates of a MultiPoint or LineString, every
+     * linear ring of a Polygon, ...) is read straight from the token stream into a single {@code double[]}
+     * instead of one {@code double[]} and one {@link com.github.nramc.geojson.domain.Position} per vertex,
+     * which are packed into a coordinate sequence afterwards. Arrays of positions with different dimensions
+     * are read as usual.
+     * </p>
+     *
+     * @param packedCoordinates true to read arrays of positions into packed primitive buffers.
+     * @return options with the given packed coordinates setting.
+     */
+    public GeoJsonReadOptions withPackedCoordinates(boolean packedCoordinates) {
+        return new GeoJsonReadOptions(packedCoordinates, singlePrecisionCoordinates, lazyProperties, skipGeometry, skipProperties, includedPropertyKeys, excludedPropertyKeys, positionPool);
+    }
+
+    /**
+     * Returns whether arrays of positions are read into packed primitive buffers.
+     *
+     * @return true if packed coordinates are enabled.
+     */
+    public boolean isPackedCoordinates() {
+        return packedCoordinates;
+    }
+
+    /**
+     * Returns options with single precision coordinates enabled or disabled.
+     * <p>
+     * With single precision coordinates, every array of positions is read as packed coordinates into a
+     * {@link com.github.nramc.geojson.domain.CoordinateSequence} of {@code float} values, which halves the memory
+     * of the coordinates, e.g. for visualization. The error of every coordinate is documented by
+     * {@link com.github.nramc.geojson.domain.CoordinateSequence}, at most about 0.85 m for a longitude.
+     * Arrays of positions with different dimensions and the position of a Point keep double precision.
+     * </p>
+     *
+     * @param singlePrecisionCoordinates true to read arrays of positions into {@code float} values.
+     * @return options with the given single precision coordinates setting.
+     */
+    public GeoJsonReadOptions withSinglePrecisionCoordinates(boolean singlePrecisionCoordinates) {
+        return new GeoJsonReadOptions(packedCoordinates, singlePrecisionCoordinates, lazyProperties, skipGeometry, skipProperties,
+                includedPropertyKeys, excludedPropertyKeys, positionPool);
+    }
+
+    /**
+     * Returns whether arrays of positions are read into {@code float} values.
+     *
+     * @return true if single precision coordinates are enabled.
+     */
+    public boolean isSinglePrecisionCoordinates() {
+        return singlePrecisionCoordinates;
+    }
+
+    /**
+     * Returns options which resolve every position read as {@link com.github.nramc.geojson.domain.Position}
+     * object, e.g. the position of a Point, to its instance in the given pool, so that equal positions of all
+     * reads with the pool share one instance. Arrays of positions packed into a coordinate sequence hold no
+     * position objects and are not pooled. Without a pool in the options, the default pool is used if installed.
+     *
+     * @param positionPool The pool to resolve positions with, or null to use the default pool.
+     * @return options with the given position pool.
+     * @see PositionPool#setDefault(PositionPool)
+     */
+    public GeoJsonReadOptions withPositionPool(PositionPool positionPool) {
+        return new GeoJsonReadOptions(packedCoordinates, singlePrecisionCoordinates, lazyProperties, skipGeometry, skipProperties,
+                includedPropertyKeys, excludedPropertyKeys, positionPool);
+    }
+
+    /**
+     * Returns the pool positions are resolved with.
+     *
+     * @return the position pool, or null if the default pool is used.
+     */
+    public PositionPool getPositionPool() {
+        return positionPool;
+    }
+
+    /**
+     * Returns options with lazy Feature properties enabled or disabled.
+     * <p>
+     * With lazy properties, the {@code properties} object of a Feature is kept as JSON in a {@link LazyProperties}
+     * map and its values are decoded on first access, all at once or one key at a time. Features whose properties
+     * are never accessed skip building the map entirely. Properties are decoded with the configuration of the
+     * mapper, attributes of the reader do not apply. Ignored when properties are skipped or filtered by key.
+     * </p>
+     *
+     * @param lazyProperties true to decode Feature properties on demand.
+     * @return options with the given lazy properties setting.
+     */
+    public GeoJsonReadOptions withLazyProperties(boolean lazyProperties) {
+        return new GeoJsonReadOptions(packedCoordinates, singlePrecisionCoordinates, lazyProperties, skipGeometry, skipProperties, includedPropertyKeys, excludedPropertyKeys, positionPool);
+    }
+
+    /**
+     * Returns whether Feature properties are decoded on demand.
+     *
+     * @return true if lazy properties are enabled.
+     */
+    public boolean isLazyProperties() {
+        return lazyProperties;
+    }
+
+    /**
+     * Returns options which skip the {@code geometry} member of every Feature, e.g. for attribute indexing.
+     * The member is passed over with {@code skipChildren()} and the geometry of the Feature is null,
+     * therefore such features are not valid.
+     *
+     * @param skipGeometry true to skip the geometry of features.
+     * @return options with the given skip geometry setting.
+     */
+    public GeoJsonReadOptions withSkipGeometry(boolean skipGeometry) {
+        return new GeoJsonReadOptions(packedCoordinates, singlePrecisionCoordinates, lazyProperties, skipGeometry, skipProperties, includedPropertyKeys, excludedPropertyKeys, positionPool);
+    }
+
+    /**
+     * Returns whether the geometry of features is skipped.
+     *
+     * @return true if the geometry of features is skipped.
+     */
+    public boolean isSkipGeometry() {
+        return skipGeometry;
+    }
+
+    /**
+     * Returns options which skip the {@code properties} member of every Feature, e.g. for tiling.
+     * The member is passed over with {@code skipChildren()} and the properties of the Feature are empty.
+     *
+     * @param skipProperties true to skip the properties of features.
+     * @return options with the given skip properties setting.
+     */
+    public GeoJsonReadOptions withSkipProperties(boolean skipProperties) {
+        return new GeoJsonReadOptions(packedCoordinates, singlePrecisionCoordinates, lazyProperties, skipGeometry, skipProperties, includedPropertyKeys, excludedPropertyKeys, positionPool);
+    }
+
+    /**
+     * Returns whether the properties of features are skipped.
+     *
+     * @return true if the properties of features are skipped.
+     */
+    public boolean isSkipProperties() {
+        return skipProperties;
+    }
+
+    /**
+     * Returns options which read only the given keys of the properties of every Feature.
+     * Values of other keys are passed over with {@code skipChildren()} without decoding them.
+     *
+     * @param includedPropertyKeys The keys to read, or null to read all keys except the excluded ones.
+     * @return options with the given included property keys.
+     */
+    public GeoJsonReadOptions withIncludedPropertyKeys(Set<String> includedPropertyKeys) {
+        return new GeoJsonReadOptions(packedCoordinates, singlePrecisionCoordinates, lazyProperties, skipGeometry, skipProperties,
+                includedPropertyKeys == null ? null : Set.copyOf(includedPropertyKeys), excludedPropertyKeys, positionPool);
+    }
+
+    /**
+     * Returns the keys read from the properties of features.
+     *
+     * @return the included keys, or null if all keys except the excluded ones are read.
+     */
+    public Set<String> getIncludedPropertyKeys() {
+        return includedPropertyKeys;
+    }
+
+    /**
+     * Returns options which do not read the given keys of the properties of every Feature.
+     * Their values are passed over with {@code skipChildren()} without decoding them.
+     *
+     * @param excludedPropertyKeys The keys to skip, empty or null to skip none.
+     * @return options with the given excluded property keys.
+     */
+    public GeoJsonReadOptions withExcludedPropertyKeys(Set<String> excludedPropertyKeys) {
+        return new GeoJsonReadOptions(packedCoordinates, singlePrecisionCoordinates, lazyProperties, skipGeometry, skipProperties,
+                includedPropertyKeys, excludedPropertyKeys == null ? Set.of() : Set.copyOf(excludedPropertyKeys), positionPool);
+    }
+
+    /**
+     * Returns the keys skipped in the properties of features.
+     *
+     * @return the excluded keys, empty if no key is excluded.
+     */
+    public Set<String> getExcludedPropertyKeys() {
+        return excludedPropertyKeys;
+    }
+
+    /**
+     * Returns a reader which uses these options for all GeoJSON objects it reads.
+     *
+     * @param reader The reader to attach the options to.
+     * @return a new reader with these options attached.
+     */
+    public ObjectReader applyTo(ObjectReader reader) {
+        return reader.withAttribute(GeoJsonReadOptions.class, this);
+    }
+
+    static GeoJsonReadOptions from(DeserializationContext ctxt) {
+        return ctxt.getAttribute(GeoJsonReadOptions.class) instanceof GeoJsonReadOptions options ? options : DEFAULT;
+    }
+
+    boolean isPropertyKeyFiltered() {
+        return includedPropertyKeys != null || !excludedPropertyKeys.isEmpty();
+    }
+
+    boolean isPropertyKeyIncluded(String key) {
+        return (includedPropertyKeys == null || includedPropertyKeys.contains(key)) && !excludedPropertyKeys.contains(key);
+    }
+
+    @Override
+    public String toString() {
+        return MessageFormat.format("GeoJsonReadOptions'{'packedCoordinates={0}, singlePrecisionCoordinates={1}, lazyProperties={2}, skipGeometry={3}, skipProperties={4}, includedPropertyKeys={5}, excludedPropertyKeys={6}, positionPool={7}'}'",
+                packedCoordinates, singlePrecisionCoordinates, lazyProperties, skipGeometry, skipProperties, includedPropertyKeys, excludedPropertyKeys, positionPool);
+    }
+}
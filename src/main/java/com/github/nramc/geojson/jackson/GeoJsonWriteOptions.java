@@ -0,0 +1,103 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.jackson;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.text.MessageFormat;
+
+/**
+ * Immutable set of options for writing GeoJSON.
+ * <p>
+ * Options are not part of the {@code ObjectMapper} configuration, they are attached to an {@link ObjectWriter}
+ * as attribute, so the same mapper can be used with different options per call.
+ * </p>
+ * <pre>{@code
+ * ObjectWriter writer = GeoJsonWriteOptions.DEFAULT.withCoordinatePrecision(6).applyTo(objectMapper.writer());
+ * String json = writer.writeValueAsString(featureCollection);
+ * }</pre>
+ */
+public final class GeoJsonWriteOptions {
+    /**
+     * Maximum number of decimals supported by {@link #withCoordinatePrecision(int)}.
+     */
+    public static final int MAX_COORDINATE_PRECISION = 15;
+    /**
+     * Options used when no options are attached to the writer, same behaviour as plain Jackson serialization.
+     */
+    public static final GeoJsonWriteOptions DEFAULT = new GeoJsonWriteOptions(-1);
+
+    private final int coordinatePrecision;
+
+    private GeoJsonWriteOptions(int coordinatePrecision) {
+        this.coordinatePrecision = coordinatePrecision;
+    }
+
+    /**
+     * Returns options which write every coordinate rounded to the given number of decimals, halves away from zero.
+     * Trailing zeros are omitted, e.g. {@code 100.0} is written as {@code 100}. RFC 7946 recommends 6 decimals,
+     * which is about 10 centimeters. Values too large to be rounded exactly, {@code NaN} and infinities
+     * are written with full precision.
+     *
+     * @param coordinatePrecision The number of decimals, between 0 and {@link #MAX_COORDINATE_PRECISION}.
+     * @return options with the given coordinate precision.
+     * @throws IllegalArgumentException if the precision is out of range.
+     */
+    public GeoJsonWriteOptions withCoordinatePrecision(int coordinatePrecision) {
+        if (coordinatePrecision < 0 || coordinatePrecision > MAX_COORDINATE_PRECISION) {
+            throw new IllegalArgumentException("coordinate precision must be between 0 and " + MAX_COORDINATE_PRECISION + " but was " + coordinatePrecision);
+        }
+        return new GeoJsonWriteOptions(coordinatePrecision);
+    }
+
+    /**
+     * Returns options which write every coordinate with full precision, same as {@link Double#toString(double)}.
+     *
+     * @return options without coordinate precision.
+     */
+    public GeoJsonWriteOptions withFullCoordinatePrecision() {
+        return new GeoJsonWriteOptions(-1);
+    }
+
+    /**
+     * Returns the number of decimals coordinates are rounded to.
+     *
+     * @return the number of decimals, or -1 if coordinates are written with full precision.
+     */
+    public int getCoordinatePrecision() {
+        return coordinatePrecision;
+    }
+
+    /**
+     * Returns a writer which uses these options for all GeoJSON objects it writes.
+     *
+     * @param writer The writer to attach the options to.
+     * @return a new writer with these options attached.
+     */
+    public ObjectWriter applyTo(ObjectWriter writer) {
+        return writer.withAttribute(GeoJsonWriteOptions.class, this);
+    }
+
+    static GeoJsonWriteOptions from(SerializerProvider provider) {
+        return provider.getAttribute(GeoJsonWriteOptions.class) instanceof GeoJsonWriteOptions options ? options : DEFAULT;
+    }
+
+    @Override
+    public String toString() {
+        return MessageFormat.format("GeoJsonWriteOptions'{'coordinatePrecision={0}'}'", coordinatePrecision);
+    }
+}
@@ -0,0 +1,313 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.jackson;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.json.JsonGeneratorImpl;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Unmodifiable properties of a {@link com.github.nramc.geojson.domain.Feature}, kept as the JSON of the
+ * {@code properties} object and decoded on demand.
+ * <p>
+ * {@link #get(Object)} and {@link #containsKey(Object)} scan the JSON and decode the value of the requested key only,
+ * every other operation decodes all properties once and keeps the result. Decoding uses the {@code ObjectMapper}
+ * or {@code ObjectReader} which read the feature, or a default {@link ObjectMapper} after Java deserialization.
+ * When written with Jackson, the JSON is copied to the output without decoding it.
+ * Keys are expected to be unique, for duplicate keys {@link #get(Object)} returns the first value.
+ * </p>
+ *
+ * @see GeoJsonReadOptions#withLazyProperties(boolean)
+ */
+@JsonSerialize(using = LazyProperties.LazyPropertiesSerializer.class)
+public final class LazyProperties extends AbstractMap<String, Serializable> implements Serializable {
+    private static final ObjectMapper DEFAULT_OBJECT_MAPPER = new ObjectMapper();
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final TypeReference<LinkedHashMap<String, Serializable>> PROPERTIES_TYPE = new TypeReference<>() {
+    };
+
+    private final byte[] json;
+    private final transient ObjectCodec codec;
+    private transient volatile Map<String, Serializable> decoded;
+
+    private LazyProperties(byte[] json, ObjectCodec codec) {
+        this.json = json;
+        this.codec = codec;
+    }
+
+    /**
+     * Reads the JSON object the parser points to without decoding its values. Field names, strings and numbers
+     * are copied from the character buffer of the parser, nothing but the resulting byte array is kept.
+     *
+     * @param p The parser pointing to the start of the {@code properties} object.
+     * @return properties to be decoded on demand.
+     * @throws IOException if the object could not be read.
+     */
+    static LazyProperties read(JsonParser p) throws IOException {
+        ByteArrayBuilder bytes = new ByteArrayBuilder();
+        try (JsonGenerator gen = JSON_FACTORY.createGenerator(bytes)) {
+            int depth = 0;
+            JsonToken token = p.currentToken();
+            do {
+                switch (token) {
+                    case START_OBJECT -> {
+                        depth++;
+                        gen.writeStartObject();
+                    }
+                    case END_OBJECT -> {
+                        depth--;
+                        gen.writeEndObject();
+                    }
+                    case START_ARRAY -> {
+                        depth++;
+                        gen.writeStartArray();
+                    }
+                    case END_ARRAY -> {
+                        depth--;
+                        gen.writeEndArray();
+                    }
+                    case FIELD_NAME -> gen.writeFieldName(p.currentName());
+                    case VALUE_STRING -> gen.writeString(p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
+                    case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> gen.writeNumber(p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
+                    default -> gen.copyCurrentEvent(p);
+                }
+            } while (depth > 0 && (token = p.nextToken()) != null);
+        }
+        return new LazyProperties(bytes.toByteArray(), p.getCodec());
+    }
+
+    /**
+     * Returns the value of the given key, decoding only this value unless all properties are decoded already.
+     *
+     * @param key The property name.
+     * @return the decoded value, or null if there is no such property.
+     */
+    @Override
+    public Serializable get(Object key) {
+        Map<String, Serializable> properties = decoded;
+        if (properties != null) {
+            return properties.get(key);
+        }
+        try (JsonParser parser = moveTo(key)) {
+            return parser.currentToken() == JsonToken.FIELD_NAME ? readValue(parser) : null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        Map<String, Serializable> properties = decoded;
+        if (properties != null) {
+            return properties.containsKey(key);
+        }
+        try (JsonParser parser = moveTo(key)) {
+            return parser.currentToken() == JsonToken.FIELD_NAME;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public Set<Entry<String, Serializable>> entrySet() {
+        return decode().entrySet();
+    }
+
+    /**
+     * Checks whether all properties have been decoded already.
+     *
+     * @return true if the properties have been decoded.
+     */
+    public boolean isDecoded() {
+        return decoded != null;
+    }
+
+    private Map<String, Serializable> decode() {
+        Map<String, Serializable> properties = decoded;
+        if (properties == null) {
+            try (JsonParser parser = codec().getFactory().createParser(json)) {
+                properties = Collections.unmodifiableMap(codec().readValue(parser, PROPERTIES_TYPE));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            decoded = properties;
+        }
+        return properties;
+    }
+
+    /**
+     * Returns a parser positioned on the field name of the given key, or on the end of the object if not found.
+     */
+    private JsonParser moveTo(Object key) throws IOException {
+        JsonParser parser = codec().getFactory().createParser(json);
+        parser.nextToken();
+        while (parser.nextToken() == JsonToken.FIELD_NAME && !parser.currentName().equals(key)) {
+            parser.nextToken();
+            parser.skipChildren();
+        }
+        return parser;
+    }
+
+    private Serializable readValue(JsonParser parser) throws IOException {
+        return parser.nextToken() == JsonToken.VALUE_NULL ? null : codec().readValue(parser, Serializable.class);
+    }
+
+    private ObjectCodec codec() {
+        return codec != null ? codec : DEFAULT_OBJECT_MAPPER;
+    }
+
+    /**
+     * Writes the undecoded JSON as is when writing compact JSON without escaping, otherwise copies its tokens to
+     * the generator, so pretty printing and character escaping apply to the properties as well.
+     */
+    public static class LazyPropertiesSerializer extends StdSerializer<LazyProperties> {
+
+        /**
+         * Constructs the serializer, used by Jackson for {@code @JsonSerialize(using = ...)}.
+         */
+        public LazyPropertiesSerializer() {
+            super(LazyProperties.class);
+        }
+
+        @Override
+        public void serialize(LazyProperties properties, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            if (isRawWritable(gen)) {
+                gen.writeRawValue(new RawJson(properties.json));
+                return;
+            }
+            try (JsonParser parser = JSON_FACTORY.createParser(properties.json)) {
+                parser.nextToken();
+                gen.copyCurrentStructure(parser);
+            }
+        }
+
+        private static boolean isRawWritable(JsonGenerator gen) {
+            return gen instanceof JsonGeneratorImpl && gen.getPrettyPrinter() == null
+                    && gen.getHighestEscapedChar() == 0 && gen.getCharacterEscapes() == null;
+        }
+    }
+
+    /**
+     * UTF-8 encoded JSON written as raw value, a generator writing bytes copies it without decoding it first.
+     */
+    private static final class RawJson implements SerializableString {
+        private final byte[] json;
+
+        private RawJson(byte[] json) {
+            this.json = json;
+        }
+
+        @Override
+        public String getValue() {
+            return new String(json, StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public int charLength() {
+            return getValue().length();
+        }
+
+        @Override
+        public byte[] asUnquotedUTF8() {
+            return json;
+        }
+
+        @Override
+        public int appendUnquotedUTF8(byte[] buffer, int offset) {
+            if (offset + json.length > buffer.length) {
+                return -1;
+            }
+            System.arraycopy(json, 0, buffer, offset, json.length);
+            return json.length;
+        }
+
+        @Override
+        public int appendUnquoted(char[] buffer, int offset) {
+            return -1;
+        }
+
+        @Override
+        public int writeUnquotedUTF8(OutputStream out) throws IOException {
+            out.write(json);
+            return json.length;
+        }
+
+        @Override
+        public int putUnquotedUTF8(ByteBuffer buffer) {
+            if (json.length > buffer.remaining()) {
+                return -1;
+            }
+            buffer.put(json);
+            return json.length;
+        }
+
+        @Override
+        public char[] asQuotedChars() {
+            throw quoted();
+        }
+
+        @Override
+        public byte[] asQuotedUTF8() {
+            throw quoted();
+        }
+
+        @Override
+        public int appendQuotedUTF8(byte[] buffer, int offset) {
+            throw quoted();
+        }
+
+        @Override
+        public int appendQuoted(char[] buffer, int offset) {
+            throw quoted();
+        }
+
+        @Override
+        public int writeQuotedUTF8(OutputStream out) {
+            throw quoted();
+        }
+
+        @Override
+        public int putQuotedUTF8(ByteBuffer buffer) {
+            throw quoted();
+        }
+
+        private static UnsupportedOperationException quoted() {
+            return new UnsupportedOperationException("Raw JSON is never written as quoted string");
+        }
+    }
+}
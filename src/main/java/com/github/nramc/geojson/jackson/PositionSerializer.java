@@ -0,0 +1,117 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.jackson;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.github.nramc.geojson.domain.Position;
+
+import java.io.IOException;
+
+/**
+ * Jackson serializer for {@link Position}, writes the coordinates as array of numbers.
+ * <p>
+ * Without {@link GeoJsonWriteOptions} the output is the same as for the {@code double[]} of the position.
+ * With {@link GeoJsonWriteOptions#withCoordinatePrecision(int)} every coordinate is rounded to a fixed number of
+ * decimals and its digits are written into a character buffer which is passed to the generator as is,
+ * without {@link Double#toString(double)} or any intermediate {@code String}.
+ * </p>
+ */
+public class PositionSerializer extends StdSerializer<Position> {
+    private static final long[] POWERS_OF_TEN = new long[GeoJsonWriteOptions.MAX_COORDINATE_PRECISION + 1];
+    // largest scaled value which is still an exact integer in double precision
+    private static final double MAX_SCALED_VALUE = 0x1p53;
+    private static final int MAX_DIGITS = 24;
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    /**
+     * Constructs the serializer, used by Jackson for {@code @JsonSerialize(using = ...)}.
+     */
+    public PositionSerializer() {
+        super(Position.class);
+    }
+
+    @Override
+    public void serialize(Position position, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        double[] coordinates = position.getCoordinates();
+        int precision = GeoJsonWriteOptions.from(provider).getCoordinatePrecision();
+        gen.writeStartArray(position, coordinates.length);
+        char[] buffer = precision < 0 ? null : newBuffer();
+        for (double coordinate : coordinates) {
+            writeCoordinate(gen, coordinate, precision, buffer);
+        }
+        gen.writeEndArray();
+    }
+
+    static char[] newBuffer() {
+        return new char[MAX_DIGITS];
+    }
+
+    /**
+     * Writes the given coordinate as is if the precision is negative, otherwise rounded to the given number of
+     * decimals into the given buffer of {@link #newBuffer()}.
+     */
+    static void writeCoordinate(JsonGenerator gen, double coordinate, int precision, char[] buffer) throws IOException {
+        if (precision < 0) {
+            gen.writeNumber(coordinate);
+        } else {
+            writeFixed(gen, coordinate, precision, buffer);
+        }
+    }
+
+    private static void writeFixed(JsonGenerator gen, double value, int precision, char[] buffer) throws IOException {
+        long scale = POWERS_OF_TEN[precision];
+        double scaled = Math.abs(value) * scale;
+        if (!(scaled < MAX_SCALED_VALUE)) {
+            // NaN, infinite or too large to be rounded without loss
+            gen.writeNumber(value);
+            return;
+        }
+        long rounded = Math.round(scaled);
+        long integer = rounded / scale;
+        long fraction = rounded % scale;
+
+        int end = buffer.length;
+        int position = end;
+        if (fraction != 0) {
+            int digits = precision;
+            while (fraction % 10 == 0) {
+                fraction /= 10;
+                digits--;
+            }
+            for (int i = 0; i < digits; i++) {
+                buffer[--position] = (char) ('0' + fraction % 10);
+                fraction /= 10;
+            }
+            buffer[--position] = '.';
+        }
+        do {
+            buffer[--position] = (char) ('0' + integer % 10);
+            integer /= 10;
+        } while (integer != 0);
+        if (value < 0 && rounded != 0) {
+            buffer[--position] = '-';
+        }
+        gen.writeNumber(buffer, position, end - position);
+    }
+}
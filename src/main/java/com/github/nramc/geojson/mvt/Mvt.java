@@ -0,0 +1,66 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.mvt;
+
+/**
+ * Constants of the Mapbox Vector Tile format, see the
+ * <a href="https://github.com/mapbox/vector-tile-spec/tree/master/2.1">vector tile specification 2.1</a>.
+ * <p>
+ * A tile is a Protocol Buffers message with repeated Layer messages, a layer holds the features and the tables of
+ * property keys and values referenced by the tags of its features. Field numbers are those of
+ * {@code vector_tile.proto}.
+ * </p>
+ */
+final class Mvt {
+    static final int VERSION = 2;
+    static final int DEFAULT_EXTENT = 4096;
+    static final int DEFAULT_BUFFER = 64;
+    static final int MAX_ZOOM = 30;
+
+    static final int TILE_LAYERS = 3;
+
+    static final int LAYER_NAME = 1;
+    static final int LAYER_FEATURES = 2;
+    static final int LAYER_KEYS = 3;
+    static final int LAYER_VALUES = 4;
+    static final int LAYER_EXTENT = 5;
+    static final int LAYER_VERSION = 15;
+
+    static final int FEATURE_ID = 1;
+    static final int FEATURE_TAGS = 2;
+    static final int FEATURE_TYPE = 3;
+    static final int FEATURE_GEOMETRY = 4;
+
+    static final int VALUE_STRING = 1;
+    static final int VALUE_FLOAT = 2;
+    static final int VALUE_DOUBLE = 3;
+    static final int VALUE_UINT = 5;
+    static final int VALUE_SINT = 6;
+    static final int VALUE_BOOL = 7;
+
+    static final int UNKNOWN = 0;
+    static final int POINT = 1;
+    static final int LINE_STRING = 2;
+    static final int POLYGON = 3;
+
+    static final int MOVE_TO = 1;
+    static final int LINE_TO = 2;
+    static final int CLOSE_PATH = 7;
+
+    private Mvt() {
+        throw new IllegalStateException("Utility class");
+    }
+}
@@ -0,0 +1,309 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.mvt;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.nramc.geojson.domain.Feature;
+import com.github.nramc.geojson.domain.FeatureCollection;
+import com.github.nramc.geojson.domain.Geometry;
+import com.github.nramc.geojson.domain.GeometryCollection;
+import org.apache.commons.collections4.ListUtils;
+import org.apache.commons.collections4.MapUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.text.MessageFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Encodes features into a <a href="https://github.com/mapbox/vector-tile-spec">Mapbox Vector Tile</a> (MVT) of
+ * one layer, ready to be served as {@code application/vnd.mapbox-vector-tile}.
+ * <p>
+ * The tile is addressed by zoom level, column and row of the XYZ scheme used by web maps, with row 0 at the north.
+ * Geometries are projected to Web Mercator, clipped to the tile extended by a buffer on each side and rounded to the
+ * integer grid of the extent, 4096 by default. Points, lines and polygons are written as geometry commands, multi
+ * geometries as one feature, and the members of a GeometryCollection as one feature each with the same id and
+ * properties. Features without geometry or without anything left in the tile are skipped.
+ * </p>
+ * <p>
+ * Property keys and values are deduplicated into the tables of the layer. Strings and booleans are written as such,
+ * integral numbers as unsigned or zig-zag encoded integers, floats and doubles with their precision, and any other
+ * value, e.g. a list or a nested object, as JSON text. Null values are skipped. The id of a feature is written when
+ * it is an unsigned integer of up to 19 digits, as the format requires. The Protocol Buffers messages are written by a minimal writer
+ * of this package, no Protocol Buffers runtime is required.
+ * </p>
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * byte[] tile = MvtEncoder.DEFAULT.encode("buildings", featureCollection, 14, 8802, 5373);
+ * }</pre></p>
+ *
+ * <p>The encoder is immutable and can be shared.</p>
+ *
+ * @see <a href="https://github.com/mapbox/vector-tile-spec/tree/master/2.1">Vector Tile Specification 2.1</a>
+ */
+public final class MvtEncoder {
+    /**
+     * Encodes with an extent of 4096 and a buffer of 64, the defaults of most tile servers.
+     */
+    public static final MvtEncoder DEFAULT = new MvtEncoder(Mvt.DEFAULT_EXTENT, Mvt.DEFAULT_BUFFER);
+    private static final ObjectMapper DEFAULT_OBJECT_MAPPER = new ObjectMapper();
+    private static final int MAX_EXTENT = 1 << 16;
+    /**
+     * Any number of 19 digits fits into an unsigned 64-bit integer.
+     */
+    private static final int MAX_ID_DIGITS = 19;
+
+    private final int extent;
+    private final int buffer;
+
+    private MvtEncoder(int extent, int buffer) {
+        this.extent = extent;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Returns an encoder which rounds coordinates to a grid of the given size per tile side.
+     *
+     * @param extent The number of grid units per tile side, between 1 and 65536, usually 4096.
+     * @return an encoder with the given extent.
+     * @throws IllegalArgumentException if the extent is out of range.
+     */
+    public MvtEncoder withExtent(int extent) {
+        if (extent < 1 || extent > MAX_EXTENT) {
+            throw new IllegalArgumentException("Extent must be between 1 and " + MAX_EXTENT + " but was " + extent);
+        }
+        return new MvtEncoder(extent, buffer);
+    }
+
+    /**
+     * Returns the number of grid units per tile side.
+     *
+     * @return the extent.
+     */
+    public int getExtent() {
+        return extent;
+    }
+
+    /**
+     * Returns an encoder which keeps the given number of grid units around the tile when clipping, so that
+     * lines and polygon outlines crossing the tile border are rendered seamlessly.
+     *
+     * @param buffer The number of grid units kept on each side of the tile, between 0 and the extent.
+     * @return an encoder with the given buffer.
+     * @throws IllegalArgumentException if the buffer is out of range.
+     */
+    public MvtEncoder withBuffer(int buffer) {
+        if (buffer < 0 || buffer > extent) {
+            throw new IllegalArgumentException("Buffer must be between 0 and " + extent + " but was " + buffer);
+        }
+        return new MvtEncoder(extent, buffer);
+    }
+
+    /**
+     * Returns the number of grid units kept on each side of the tile when clipping.
+     *
+     * @return the buffer.
+     */
+    public int getBuffer() {
+        return buffer;
+    }
+
+    /**
+     * Encodes the features of the given FeatureCollection into a tile with a single layer.
+     *
+     * @param layerName         The name of the layer.
+     * @param featureCollection The features to encode.
+     * @param z                 The zoom level, between 0 and 30.
+     * @param x                 The column of the tile, between 0 and {@code 2^z - 1}.
+     * @param y                 The row of the tile, between 0 and {@code 2^z - 1}, counted from the north.
+     * @return the encoded tile, empty if no feature is left in the tile.
+     * @throws IllegalArgumentException if the tile coordinates are out of range.
+     * @throws UncheckedIOException     if a property value could not be written as JSON.
+     */
+    public byte[] encode(String layerName, FeatureCollection featureCollection, int z, int x, int y) {
+        return encode(layerName, ListUtils.emptyIfNull(featureCollection.getFeatures()).iterator(), z, x, y);
+    }
+
+    /**
+     * Encodes the given features into a tile with a single layer, the features are consumed one at a time.
+     *
+     * @param layerName The name of the layer.
+     * @param features  The features to encode.
+     * @param z         The zoom level, between 0 and 30.
+     * @param x         The column of the tile, between 0 and {@code 2^z - 1}.
+     * @param y         The row of the tile, between 0 and {@code 2^z - 1}, counted from the north.
+     * @return the encoded tile, empty if no feature is left in the tile.
+     * @throws IllegalArgumentException if the tile coordinates are out of range.
+     * @throws UncheckedIOException     if a property value could not be written as JSON.
+     */
+    public byte[] encode(String layerName, Iterator<Feature> features, int z, int x, int y) {
+        Objects.requireNonNull(layerName, "layerName");
+        if (z < 0 || z > Mvt.MAX_ZOOM) {
+            throw new IllegalArgumentException("Zoom level must be between 0 and " + Mvt.MAX_ZOOM + " but was " + z);
+        }
+        int tiles = 1 << z;
+        if (x < 0 || x >= tiles || y < 0 || y >= tiles) {
+            throw new IllegalArgumentException(MessageFormat.format("Tile {0,number,#}/{1,number,#}/{2,number,#} does not exist", z, x, y));
+        }
+        Layer layer = new Layer(new TileGeometryEncoder(z, x, y, extent, buffer));
+        while (features.hasNext()) {
+            layer.add(features.next());
+        }
+        return layer.toTile(layerName, extent);
+    }
+
+    @Override
+    public String toString() {
+        return MessageFormat.format("MvtEncoder'{'extent={0,number,#}, buffer={1,number,#}'}'", extent, buffer);
+    }
+
+    /**
+     * Collects the features of a layer and the tables of its property keys and values.
+     */
+    private static final class Layer {
+        private final TileGeometryEncoder geometryEncoder;
+        private final ProtobufWriter features = new ProtobufWriter(4096);
+        private final ProtobufWriter feature = new ProtobufWriter(256);
+        private final ProtobufWriter tags = new ProtobufWriter(64);
+        private final Map<String, Integer> keys = new LinkedHashMap<>();
+        private final Map<Object, Integer> values = new LinkedHashMap<>();
+        private boolean tagsWritten;
+
+        Layer(TileGeometryEncoder geometryEncoder) {
+            this.geometryEncoder = geometryEncoder;
+        }
+
+        void add(Feature value) {
+            if (value != null && value.getGeometry() != null) {
+                tagsWritten = false;
+                add(value, value.getGeometry());
+            }
+        }
+
+        private void add(Feature value, Geometry geometry) {
+            if (geometry instanceof GeometryCollection collection) {
+                for (Geometry member : ListUtils.emptyIfNull(collection.getGeometries())) {
+                    if (member != null) {
+                        add(value, member);
+                    }
+                }
+                return;
+            }
+            int type = geometryEncoder.encode(geometry);
+            if (type == Mvt.UNKNOWN) {
+                return;
+            }
+            if (!tagsWritten) {
+                writeTags(value.getProperties());
+                tagsWritten = true;
+            }
+            feature.reset();
+            String id = value.getId();
+            if (StringUtils.isNumeric(id) && id.length() <= MAX_ID_DIGITS) {
+                feature.varintField(Mvt.FEATURE_ID, Long.parseUnsignedLong(id));
+            }
+            if (tags.size() > 0) {
+                feature.messageField(Mvt.FEATURE_TAGS, tags);
+            }
+            feature.varintField(Mvt.FEATURE_TYPE, type);
+            feature.messageField(Mvt.FEATURE_GEOMETRY, geometryEncoder.commands());
+            features.messageField(Mvt.LAYER_FEATURES, feature);
+        }
+
+        /**
+         * Writes the tags of the given properties, i.e. pairs of indices into the tables of keys and values.
+         */
+        private void writeTags(Map<String, Serializable> properties) {
+            tags.reset();
+            for (Map.Entry<String, Serializable> property : MapUtils.emptyIfNull(properties).entrySet()) {
+                if (property.getKey() == null || property.getValue() == null) {
+                    continue;
+                }
+                tags.varint(keys.computeIfAbsent(property.getKey(), key -> keys.size()));
+                tags.varint(values.computeIfAbsent(normalize(property.getValue()), key -> values.size()));
+            }
+        }
+
+        byte[] toTile(String name, int extent) {
+            if (features.size() == 0) {
+                return new byte[0];
+            }
+            ProtobufWriter layer = new ProtobufWriter(features.size() + 1024);
+            layer.varintField(Mvt.LAYER_VERSION, Mvt.VERSION);
+            layer.stringField(Mvt.LAYER_NAME, name);
+            layer.append(features);
+            for (String key : keys.keySet()) {
+                layer.stringField(Mvt.LAYER_KEYS, key);
+            }
+            ProtobufWriter value = new ProtobufWriter(16);
+            for (Object entry : values.keySet()) {
+                value.reset();
+                writeValue(entry, value);
+                layer.messageField(Mvt.LAYER_VALUES, value);
+            }
+            layer.varintField(Mvt.LAYER_EXTENT, extent);
+            return new ProtobufWriter(layer.size() + 8).messageField(Mvt.TILE_LAYERS, layer).toByteArray();
+        }
+
+        /**
+         * Returns the given property value as one of the types of the Value message, so that equal values of
+         * different Java types, e.g. an Integer and a Long, share one entry of the table.
+         */
+        private static Object normalize(Object value) {
+            return switch (value) {
+                case String string -> string;
+                case Boolean bool -> bool;
+                case Float number -> number;
+                case Double number -> number;
+                case Byte number -> number.longValue();
+                case Short number -> number.longValue();
+                case Integer number -> number.longValue();
+                case Long number -> number;
+                case BigInteger number when number.bitLength() < Long.SIZE -> number.longValue();
+                case Number number -> number.doubleValue();
+                case Character character -> character.toString();
+                default -> json(value);
+            };
+        }
+
+        private static String json(Object value) {
+            try {
+                return DEFAULT_OBJECT_MAPPER.writeValueAsString(value);
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private static void writeValue(Object entry, ProtobufWriter value) {
+            switch (entry) {
+                case String string -> value.stringField(Mvt.VALUE_STRING, string);
+                case Boolean bool -> value.varintField(Mvt.VALUE_BOOL, bool ? 1 : 0);
+                case Float number -> value.fixed32Field(Mvt.VALUE_FLOAT, number);
+                case Double number -> value.fixed64Field(Mvt.VALUE_DOUBLE, number);
+                case Long number when number >= 0 -> value.varintField(Mvt.VALUE_UINT, number);
+                case Long number -> value.varintField(Mvt.VALUE_SINT, ProtobufWriter.zigZag(number));
+                default -> throw new IllegalStateException("Unexpected property value " + entry);
+            }
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.mvt;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Minimal writer of Protocol Buffers messages, without a Protocol Buffers runtime.
+ * <p>
+ * Fields are appended to a growing byte array. A nested message is written into its own writer first and then
+ * copied with its length by {@link #messageField(int, ProtobufWriter)}, so its length is known up front. Packed
+ * repeated fields are written the same way, the elements being varints appended to the nested writer.
+ * </p>
+ * <p>A writer is reused with {@link #reset()}, it is not thread-safe.</p>
+ */
+final class ProtobufWriter {
+    static final int WIRE_VARINT = 0;
+    static final int WIRE_FIXED64 = 1;
+    static final int WIRE_LENGTH_DELIMITED = 2;
+    static final int WIRE_FIXED32 = 5;
+
+    private byte[] bytes;
+    private int size;
+
+    ProtobufWriter(int capacity) {
+        this.bytes = new byte[capacity];
+    }
+
+    void reset() {
+        size = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(bytes, size);
+    }
+
+    /**
+     * Returns the given signed value zig-zag encoded, so that values of small magnitude take few bytes.
+     */
+    static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    ProtobufWriter varint(long value) {
+        ensure(10);
+        long remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            bytes[size++] = (byte) ((remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+        bytes[size++] = (byte) remaining;
+        return this;
+    }
+
+    ProtobufWriter tag(int field, int wireType) {
+        return varint((long) field << 3 | wireType);
+    }
+
+    ProtobufWriter varintField(int field, long value) {
+        return tag(field, WIRE_VARINT).varint(value);
+    }
+
+    ProtobufWriter fixed32Field(int field, float value) {
+        tag(field, WIRE_FIXED32);
+        ensure(Integer.BYTES);
+        int bits = Float.floatToIntBits(value);
+        for (int i = 0; i < Integer.BYTES; i++) {
+            bytes[size++] = (byte) (bits >>> (i * Byte.SIZE));
+        }
+        return this;
+    }
+
+    ProtobufWriter fixed64Field(int field, double value) {
+        tag(field, WIRE_FIXED64);
+        ensure(Long.BYTES);
+        long bits = Double.doubleToLongBits(value);
+        for (int i = 0; i < Long.BYTES; i++) {
+            bytes[size++] = (byte) (bits >>> (i * Byte.SIZE));
+        }
+        return this;
+    }
+
+    ProtobufWriter stringField(int field, String value) {
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        tag(field, WIRE_LENGTH_DELIMITED).varint(utf8.length);
+        return append(utf8, 0, utf8.length);
+    }
+
+    /**
+     * Writes the content of the given writer as length delimited field, i.e. as nested message or packed field.
+     */
+    ProtobufWriter messageField(int field, ProtobufWriter message) {
+        tag(field, WIRE_LENGTH_DELIMITED).varint(message.size);
+        return append(message.bytes, 0, message.size);
+    }
+
+    /**
+     * Appends the content of the given writer as is, i.e. the fields it contains.
+     */
+    ProtobufWriter append(ProtobufWriter fields) {
+        return append(fields.bytes, 0, fields.size);
+    }
+
+    private ProtobufWriter append(byte[] source, int offset, int length) {
+        ensure(length);
+        System.arraycopy(source, offset, bytes, size, length);
+        size += length;
+        return this;
+    }
+
+    private void ensure(int length) {
+        if (size + length > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + length));
+        }
+    }
+}
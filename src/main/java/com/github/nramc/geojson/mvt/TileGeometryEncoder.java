@@ -0,0 +1,455 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.mvt;
+
+import com.github.nramc.geojson.domain.CoordinateSequence;
+import com.github.nramc.geojson.domain.Geometry;
+import com.github.nramc.geojson.domain.GeometryCollection;
+import com.github.nramc.geojson.domain.LineString;
+import com.github.nramc.geojson.domain.MultiLineString;
+import com.github.nramc.geojson.domain.MultiPoint;
+import com.github.nramc.geojson.domain.MultiPolygon;
+import com.github.nramc.geojson.domain.Point;
+import com.github.nramc.geojson.domain.Polygon;
+import com.github.nramc.geojson.domain.PolygonCoordinates;
+import com.github.nramc.geojson.domain.Position;
+import org.apache.commons.collections4.ListUtils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Encodes geometries into the command integers of a vector tile feature for one tile.
+ * <p>
+ * Positions are projected to Web Mercator pixels of the tile, clipped to the tile extended by the buffer and
+ * rounded to the integer grid of the extent. Lines are clipped segment by segment and may be split into several
+ * lines, polygon rings are clipped by Sutherland-Hodgman against the four edges of the buffered tile. Consecutive
+ * positions which fall on the same grid point are written once, lines with less than two and rings with less
+ * than three distinct grid points are dropped, and the holes of a polygon are dropped with its exterior ring.
+ * Rings are wound as the specification requires, exterior rings clockwise and holes counterclockwise on screen.
+ * Positions without finite longitude and latitude are skipped, altitudes are ignored.
+ * </p>
+ * <p>The buffers of an encoder are reused from geometry to geometry, it is not thread-safe.</p>
+ */
+final class TileGeometryEncoder {
+    private static final double MAX_LATITUDE = 85.0511287798066;
+
+    private final double worldSize;
+    private final int tileX;
+    private final int tileY;
+    private final int extent;
+    private final double min;
+    private final double max;
+    private final double minLongitude;
+    private final double maxLongitude;
+    private final double minLatitude;
+    private final double maxLatitude;
+    private final ProtobufWriter commands = new ProtobufWriter(256);
+
+    private double[] points = new double[64];
+    private int pointCount;
+    private double[] clipped = new double[64];
+    private int clippedCount;
+    private int[] vertices = new int[64];
+    private int vertexCount;
+    private int cursorX;
+    private int cursorY;
+    private double enter;
+    private double exit;
+
+    TileGeometryEncoder(int z, int x, int y, int extent, int buffer) {
+        this.worldSize = Math.scalb(1.0, z);
+        this.tileX = x;
+        this.tileY = y;
+        this.extent = extent;
+        this.min = -buffer;
+        this.max = (double) extent + buffer;
+        double margin = (double) buffer / extent;
+        this.minLongitude = longitude(x - margin);
+        this.maxLongitude = longitude(x + 1 + margin);
+        // latitudes beyond the poles of Web Mercator are clamped, they belong to the tiles of the first and last row
+        this.minLatitude = y + 1 == worldSize ? Double.NEGATIVE_INFINITY : latitude(y + 1 + margin);
+        this.maxLatitude = y == 0 ? Double.POSITIVE_INFINITY : latitude(y - margin);
+    }
+
+    private double longitude(double tileColumn) {
+        return tileColumn / worldSize * 360 - 180;
+    }
+
+    private double latitude(double tileRow) {
+        return Math.toDegrees(Math.atan(Math.sinh(Math.PI * (1 - 2 * tileRow / worldSize))));
+    }
+
+    /**
+     * Returns the command integers of the last encoded geometry, to be written as packed field.
+     */
+    ProtobufWriter commands() {
+        return commands;
+    }
+
+    /**
+     * Encodes the given geometry, which must not be a GeometryCollection.
+     *
+     * @return the vector tile geometry type, or {@link Mvt#UNKNOWN} if nothing of the geometry is left in the tile.
+     */
+    int encode(Geometry geometry) {
+        commands.reset();
+        cursorX = 0;
+        cursorY = 0;
+        return switch (geometry) {
+            case Point point -> encodePoints(Collections.singletonList(point.getCoordinates()));
+            case MultiPoint multiPoint -> encodePoints(multiPoint.getCoordinates());
+            case LineString lineString -> encodeLines(Collections.singletonList(lineString.getCoordinates()));
+            case MultiLineString multiLineString -> encodeLines(multiLineString.getCoordinates());
+            case Polygon polygon -> encodePolygons(Collections.singletonList(polygon.getCoordinates()));
+            case MultiPolygon multiPolygon -> encodePolygons(multiPolygon.getCoordinates());
+            case GeometryCollection ignored -> throw new IllegalArgumentException("GeometryCollection must be encoded member by member");
+        };
+    }
+
+    private int encodePoints(List<Position> positions) {
+        project(positions);
+        vertexCount = 0;
+        ensureVertices(pointCount);
+        for (int i = 0; i < pointCount; i++) {
+            double x = points[2 * i];
+            double y = points[2 * i + 1];
+            if (x >= min && x <= max && y >= min && y <= max) {
+                vertices[2 * vertexCount] = (int) Math.round(x);
+                vertices[2 * vertexCount + 1] = (int) Math.round(y);
+                vertexCount++;
+            }
+        }
+        if (vertexCount == 0) {
+            return Mvt.UNKNOWN;
+        }
+        command(Mvt.MOVE_TO, vertexCount);
+        for (int i = 0; i < vertexCount; i++) {
+            moveCursor(i);
+        }
+        return Mvt.POINT;
+    }
+
+    private int encodeLines(List<List<Position>> lines) {
+        boolean written = false;
+        for (List<Position> line : ListUtils.emptyIfNull(lines)) {
+            project(line);
+            clippedCount = 0;
+            for (int i = 0; i + 1 < pointCount; i++) {
+                double x0 = points[2 * i];
+                double y0 = points[2 * i + 1];
+                double dx = points[2 * i + 2] - x0;
+                double dy = points[2 * i + 3] - y0;
+                if (!clipSegment(x0, y0, dx, dy)) {
+                    written |= flushLine();
+                    continue;
+                }
+                if (clippedCount == 0) {
+                    addClipped(x0 + enter * dx, y0 + enter * dy);
+                }
+                addClipped(x0 + exit * dx, y0 + exit * dy);
+                if (exit < 1) {
+                    written |= flushLine();
+                }
+            }
+            written |= flushLine();
+        }
+        return written ? Mvt.LINE_STRING : Mvt.UNKNOWN;
+    }
+
+    /**
+     * Clips the segment to the buffered tile with the algorithm of Liang and Barsky.
+     *
+     * @return false if the segment is outside, otherwise the clipped segment is between the parameters enter and exit.
+     */
+    private boolean clipSegment(double x0, double y0, double dx, double dy) {
+        enter = 0;
+        exit = 1;
+        return clipParameter(-dx, x0 - min) && clipParameter(dx, max - x0) && clipParameter(-dy, y0 - min) && clipParameter(dy, max - y0);
+    }
+
+    private boolean clipParameter(double p, double q) {
+        if (p == 0) {
+            return q >= 0;
+        }
+        double t = q / p;
+        if (p < 0) {
+            if (t > exit) {
+                return false;
+            }
+            enter = Math.max(enter, t);
+        } else {
+            if (t < enter) {
+                return false;
+            }
+            exit = Math.min(exit, t);
+        }
+        return true;
+    }
+
+    /**
+     * Writes the clipped part of a line, if any is left on the grid, and starts the next one.
+     */
+    private boolean flushLine() {
+        if (clippedCount == 0) {
+            return false;
+        }
+        quantize(clipped, clippedCount, false);
+        clippedCount = 0;
+        if (vertexCount < 2) {
+            return false;
+        }
+        command(Mvt.MOVE_TO, 1);
+        moveCursor(0);
+        command(Mvt.LINE_TO, vertexCount - 1);
+        for (int i = 1; i < vertexCount; i++) {
+            moveCursor(i);
+        }
+        return true;
+    }
+
+    private int encodePolygons(List<PolygonCoordinates> polygons) {
+        boolean written = false;
+        for (PolygonCoordinates polygon : ListUtils.emptyIfNull(polygons)) {
+            List<List<Position>> rings = polygon != null && polygon.getExterior() != null ? polygon.getCoordinates() : List.of();
+            for (int i = 0; i < rings.size(); i++) {
+                boolean exterior = i == 0;
+                boolean ringWritten = encodeRing(rings.get(i), exterior);
+                if (exterior && !ringWritten) {
+                    break;
+                }
+                written |= ringWritten;
+            }
+        }
+        return written ? Mvt.POLYGON : Mvt.UNKNOWN;
+    }
+
+    private boolean encodeRing(List<Position> ring, boolean exterior) {
+        project(ring);
+        clipRing();
+        quantize(points, pointCount, true);
+        if (vertexCount < 3) {
+            return false;
+        }
+        long area = doubleArea();
+        if (area == 0) {
+            return false;
+        }
+        if ((area > 0) != exterior) {
+            reverseVertices();
+        }
+        command(Mvt.MOVE_TO, 1);
+        moveCursor(0);
+        command(Mvt.LINE_TO, vertexCount - 1);
+        for (int i = 1; i < vertexCount; i++) {
+            moveCursor(i);
+        }
+        command(Mvt.CLOSE_PATH, 1);
+        return true;
+    }
+
+    /**
+     * Clips the projected ring to the buffered tile, a ring completely inside is kept as is.
+     */
+    private void clipRing() {
+        double minX = Double.POSITIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < pointCount; i++) {
+            minX = Math.min(minX, points[2 * i]);
+            minY = Math.min(minY, points[2 * i + 1]);
+            maxX = Math.max(maxX, points[2 * i]);
+            maxY = Math.max(maxY, points[2 * i + 1]);
+        }
+        if (minX >= min && maxX <= max && minY >= min && maxY <= max) {
+            return;
+        }
+        if (maxX < min || minX > max || maxY < min || minY > max) {
+            pointCount = 0;
+            return;
+        }
+        clipEdge(0, min, true);
+        clipEdge(0, max, false);
+        clipEdge(1, min, true);
+        clipEdge(1, max, false);
+    }
+
+    /**
+     * Keeps the part of the ring on one side of the given axis-parallel edge, one step of Sutherland-Hodgman.
+     */
+    private void clipEdge(int axis, double bound, boolean keepGreater) {
+        clippedCount = 0;
+        for (int i = 0; i < pointCount; i++) {
+            int previous = i == 0 ? pointCount - 1 : i - 1;
+            double currentValue = points[2 * i + axis];
+            double previousValue = points[2 * previous + axis];
+            boolean currentInside = keepGreater ? currentValue >= bound : currentValue <= bound;
+            boolean previousInside = keepGreater ? previousValue >= bound : previousValue <= bound;
+            if (currentInside != previousInside) {
+                double t = (bound - previousValue) / (currentValue - previousValue);
+                double x = points[2 * previous] + t * (points[2 * i] - points[2 * previous]);
+                double y = points[2 * previous + 1] + t * (points[2 * i + 1] - points[2 * previous + 1]);
+                addClipped(axis == 0 ? bound : x, axis == 1 ? bound : y);
+            }
+            if (currentInside) {
+                addClipped(points[2 * i], points[2 * i + 1]);
+            }
+        }
+        double[] swap = points;
+        points = clipped;
+        pointCount = clippedCount;
+        clipped = swap;
+        clippedCount = 0;
+    }
+
+    /**
+     * Projects the given positions to pixels of the tile. Positions completely outside the buffered tile are
+     * rejected by their bounding box first, which is much cheaper than their projection.
+     */
+    private void project(List<Position> positions) {
+        List<Position> values = ListUtils.emptyIfNull(positions);
+        pointCount = 0;
+        if (isOutside(values)) {
+            return;
+        }
+        if (points.length < 2 * values.size()) {
+            points = new double[2 * values.size()];
+        }
+        for (int i = 0; i < values.size(); i++) {
+            double longitude = coordinate(values, i, 0);
+            double latitude = coordinate(values, i, 1);
+            if (!Double.isFinite(longitude) || !Double.isFinite(latitude)) {
+                continue;
+            }
+            points[2 * pointCount] = projectX(longitude);
+            points[2 * pointCount + 1] = projectY(latitude);
+            pointCount++;
+        }
+    }
+
+    private boolean isOutside(List<Position> positions) {
+        double west = Double.POSITIVE_INFINITY;
+        double south = Double.POSITIVE_INFINITY;
+        double east = Double.NEGATIVE_INFINITY;
+        double north = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < positions.size(); i++) {
+            double longitude = coordinate(positions, i, 0);
+            double latitude = coordinate(positions, i, 1);
+            if (!Double.isNaN(longitude) && !Double.isNaN(latitude)) {
+                west = Math.min(west, longitude);
+                east = Math.max(east, longitude);
+                south = Math.min(south, latitude);
+                north = Math.max(north, latitude);
+            }
+        }
+        return east < minLongitude || west > maxLongitude || north < minLatitude || south > maxLatitude;
+    }
+
+    /**
+     * Returns the longitude or latitude of the position at the given index, NaN if the position has none.
+     * Positions of a coordinate sequence are read without creating them.
+     */
+    private static double coordinate(List<Position> positions, int index, int ordinate) {
+        if (positions instanceof CoordinateSequence sequence) {
+            return sequence.getOrdinate(index, ordinate);
+        }
+        Position position = positions.get(index);
+        double[] coordinates = position != null ? position.getCoordinates() : null;
+        return coordinates != null && coordinates.length >= 2 ? coordinates[ordinate] : Double.NaN;
+    }
+
+    private double projectX(double longitude) {
+        return ((longitude + 180) / 360 * worldSize - tileX) * extent;
+    }
+
+    private double projectY(double latitude) {
+        double sin = Math.sin(Math.toRadians(Math.clamp(latitude, -MAX_LATITUDE, MAX_LATITUDE)));
+        return ((0.5 - Math.log((1 + sin) / (1 - sin)) / (4 * Math.PI)) * worldSize - tileY) * extent;
+    }
+
+    private void addClipped(double x, double y) {
+        if (clipped.length < 2 * clippedCount + 2) {
+            clipped = Arrays.copyOf(clipped, Math.max(2 * clipped.length, 2 * clippedCount + 2));
+        }
+        clipped[2 * clippedCount] = x;
+        clipped[2 * clippedCount + 1] = y;
+        clippedCount++;
+    }
+
+    /**
+     * Rounds the given points to the grid and drops consecutive duplicates, and the closing point of a ring.
+     */
+    private void quantize(double[] source, int count, boolean ring) {
+        vertexCount = 0;
+        ensureVertices(count);
+        for (int i = 0; i < count; i++) {
+            int x = (int) Math.round(source[2 * i]);
+            int y = (int) Math.round(source[2 * i + 1]);
+            if (vertexCount > 0 && x == vertices[2 * vertexCount - 2] && y == vertices[2 * vertexCount - 1]) {
+                continue;
+            }
+            vertices[2 * vertexCount] = x;
+            vertices[2 * vertexCount + 1] = y;
+            vertexCount++;
+        }
+        while (ring && vertexCount > 1 && vertices[2 * vertexCount - 2] == vertices[0] && vertices[2 * vertexCount - 1] == vertices[1]) {
+            vertexCount--;
+        }
+    }
+
+    private void ensureVertices(int count) {
+        if (vertices.length < 2 * count) {
+            vertices = new int[2 * count];
+        }
+    }
+
+    /**
+     * Returns twice the area of the ring by the surveyor's formula, positive if clockwise with y pointing down.
+     */
+    private long doubleArea() {
+        long area = 0;
+        for (int i = 0; i < vertexCount; i++) {
+            int next = i + 1 == vertexCount ? 0 : i + 1;
+            area += (long) vertices[2 * i] * vertices[2 * next + 1] - (long) vertices[2 * next] * vertices[2 * i + 1];
+        }
+        return area;
+    }
+
+    private void reverseVertices() {
+        for (int i = 0, j = vertexCount - 1; i < j; i++, j--) {
+            int x = vertices[2 * i];
+            int y = vertices[2 * i + 1];
+            vertices[2 * i] = vertices[2 * j];
+            vertices[2 * i + 1] = vertices[2 * j + 1];
+            vertices[2 * j] = x;
+            vertices[2 * j + 1] = y;
+        }
+    }
+
+    private void command(int id, int count) {
+        commands.varint((long) count << 3 | id);
+    }
+
+    private void moveCursor(int vertex) {
+        int x = vertices[2 * vertex];
+        int y = vertices[2 * vertex + 1];
+        commands.varint(ProtobufWriter.zigZag((long) x - cursorX)).varint(ProtobufWriter.zigZag((long) y - cursorY));
+        cursorX = x;
+        cursorY = y;
+    }
+}
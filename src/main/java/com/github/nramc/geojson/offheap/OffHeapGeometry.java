@@ -0,0 +1,329 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.offheap;
+
+import com.github.nramc.geojson.domain.CoordinateSequence;
+import com.github.nramc.geojson.domain.Geometry;
+import com.github.nramc.geojson.domain.LineString;
+import com.github.nramc.geojson.domain.MultiLineString;
+import com.github.nramc.geojson.domain.MultiPoint;
+import com.github.nramc.geojson.domain.MultiPolygon;
+import com.github.nramc.geojson.domain.Point;
+import com.github.nramc.geojson.domain.Polygon;
+import com.github.nramc.geojson.domain.PolygonCoordinates;
+import com.github.nramc.geojson.domain.Position;
+
+import java.nio.ByteBuffer;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import static com.github.nramc.geojson.constant.GeoJsonType.LINE_STRING;
+import static com.github.nramc.geojson.constant.GeoJsonType.MULTI_LINE_STRING;
+import static com.github.nramc.geojson.constant.GeoJsonType.MULTI_POINT;
+import static com.github.nramc.geojson.constant.GeoJsonType.MULTI_POLYGON;
+import static com.github.nramc.geojson.constant.GeoJsonType.POINT;
+import static com.github.nramc.geojson.constant.GeoJsonType.POLYGON;
+
+/**
+ * Handle of a geometry stored in an {@link OffHeapGeometryStore}, which reads the geometry from the direct memory
+ * of the store on every call instead of holding positions on the heap.
+ * <p>
+ * The positions of a geometry are numbered from 0 to {@link #getPositionCount()}, across all parts. A part is a
+ * line, a ring or, for points and multi points, all points, and covers the positions from
+ * {@link #getPartStart(int)} to {@link #getPartEnd(int)}. The parts of polygons follow each other, the exterior
+ * ring of a polygon first, {@link #getRingCount(int)} tells how many of them belong to a polygon.
+ * </p>
+ * <p>
+ * {@link #toGeometry()} creates a regular, on-heap {@link Geometry} with the same positions, e.g. to serialize or
+ * validate it. Every method throws {@link IllegalStateException} once the store has been closed.
+ * </p>
+ *
+ * <p>Handles are immutable and can be shared, two handles are equal if they refer to the same stored geometry.</p>
+ */
+public final class OffHeapGeometry {
+    static final int POINT_TYPE = 1;
+    static final int LINE_STRING_TYPE = 2;
+    static final int POLYGON_TYPE = 3;
+    static final int MULTI_POINT_TYPE = 4;
+    static final int MULTI_LINE_STRING_TYPE = 5;
+    static final int MULTI_POLYGON_TYPE = 6;
+
+    static final int TYPE = 0;
+    static final int DIMENSION = 4;
+    static final int POLYGON_COUNT = 8;
+    static final int PART_COUNT = 12;
+    static final int POSITION_COUNT = 16;
+    static final int BOUNDING_BOX = 24;
+    static final int HEADER_SIZE = BOUNDING_BOX + 4 * Double.BYTES;
+
+    private static final List<String> TYPES = List.of(POINT, LINE_STRING, POLYGON, MULTI_POINT, MULTI_LINE_STRING, MULTI_POLYGON);
+
+    private final OffHeapGeometryStore store;
+    private final long address;
+
+    OffHeapGeometry(OffHeapGeometryStore store, long address) {
+        this.store = store;
+        this.address = address;
+    }
+
+    /**
+     * Returns the offset of the coordinates from the start of a geometry, after the header and the part tables,
+     * aligned for doubles.
+     */
+    static int coordinatesOffset(int polygonCount, int partCount) {
+        return align(HEADER_SIZE + (polygonCount + partCount) * Integer.BYTES);
+    }
+
+    static int align(int offset) {
+        return (offset + Double.BYTES - 1) & -Double.BYTES;
+    }
+
+    /**
+     * Returns the GeoJSON type of the geometry.
+     *
+     * @return the type, e.g. {@code "Polygon"}.
+     */
+    public String getType() {
+        return TYPES.get(intAt(TYPE) - 1);
+    }
+
+    /**
+     * Returns the number of coordinates of every position.
+     *
+     * @return 2 or 3.
+     */
+    public int getDimension() {
+        return intAt(DIMENSION);
+    }
+
+    /**
+     * Returns the number of positions of all parts.
+     *
+     * @return the number of positions, 0 for an empty geometry.
+     */
+    public int getPositionCount() {
+        return intAt(POSITION_COUNT);
+    }
+
+    /**
+     * Returns the longitude of the given position.
+     *
+     * @param index The index of the position across all parts.
+     * @return the first coordinate of the position.
+     * @throws IndexOutOfBoundsException if there is no such position.
+     */
+    public double getX(int index) {
+        return getOrdinate(index, 0);
+    }
+
+    /**
+     * Returns the latitude of the given position.
+     *
+     * @param index The index of the position across all parts.
+     * @return the second coordinate of the position.
+     * @throws IndexOutOfBoundsException if there is no such position.
+     */
+    public double getY(int index) {
+        return getOrdinate(index, 1);
+    }
+
+    /**
+     * Returns a coordinate of the given position.
+     *
+     * @param index    The index of the position across all parts.
+     * @param ordinate The index of the coordinate, 0 for longitude, 1 for latitude and 2 for altitude.
+     * @return the coordinate.
+     * @throws IndexOutOfBoundsException if there is no such position or coordinate.
+     */
+    public double getOrdinate(int index, int ordinate) {
+        ByteBuffer block = store.block(address);
+        int offset = OffHeapGeometryStore.offset(address);
+        int dimension = block.getInt(offset + DIMENSION);
+        Objects.checkIndex(index, block.getInt(offset + POSITION_COUNT));
+        Objects.checkIndex(ordinate, dimension);
+        int coordinates = coordinatesOffset(block.getInt(offset + POLYGON_COUNT), block.getInt(offset + PART_COUNT));
+        return block.getDouble(offset + coordinates + (index * dimension + ordinate) * Double.BYTES);
+    }
+
+    /**
+     * Returns the number of parts, i.e. lines of a multi line string or rings of all polygons. Points and multi
+     * points have one part.
+     *
+     * @return the number of parts.
+     */
+    public int getPartCount() {
+        return intAt(PART_COUNT);
+    }
+
+    /**
+     * Returns the index of the first position of the given part.
+     *
+     * @param part The index of the part.
+     * @return the index of the first position.
+     * @throws IndexOutOfBoundsException if there is no such part.
+     */
+    public int getPartStart(int part) {
+        ByteBuffer block = store.block(address);
+        int offset = OffHeapGeometryStore.offset(address);
+        Objects.checkIndex(part, block.getInt(offset + PART_COUNT));
+        return part == 0 ? 0 : partEnd(block, offset, part - 1);
+    }
+
+    /**
+     * Returns the index after the last position of the given part.
+     *
+     * @param part The index of the part.
+     * @return the index after the last position.
+     * @throws IndexOutOfBoundsException if there is no such part.
+     */
+    public int getPartEnd(int part) {
+        ByteBuffer block = store.block(address);
+        int offset = OffHeapGeometryStore.offset(address);
+        Objects.checkIndex(part, block.getInt(offset + PART_COUNT));
+        return partEnd(block, offset, part);
+    }
+
+    private static int partEnd(ByteBuffer block, int offset, int part) {
+        return block.getInt(offset + HEADER_SIZE + (block.getInt(offset + POLYGON_COUNT) + part) * Integer.BYTES);
+    }
+
+    /**
+     * Returns the number of polygons, 1 for a polygon, 0 for other types than polygon and multi polygon.
+     *
+     * @return the number of polygons.
+     */
+    public int getPolygonCount() {
+        return intAt(POLYGON_COUNT);
+    }
+
+    /**
+     * Returns the number of rings of the given polygon, its exterior ring and its holes.
+     *
+     * @param polygon The index of the polygon.
+     * @return the number of rings, 0 for an empty polygon.
+     * @throws IndexOutOfBoundsException if there is no such polygon.
+     */
+    public int getRingCount(int polygon) {
+        ByteBuffer block = store.block(address);
+        int offset = OffHeapGeometryStore.offset(address);
+        Objects.checkIndex(polygon, block.getInt(offset + POLYGON_COUNT));
+        return block.getInt(offset + HEADER_SIZE + polygon * Integer.BYTES);
+    }
+
+    /**
+     * Returns the bounding box of the longitudes and latitudes of all positions.
+     *
+     * @return a new array with minimum longitude, minimum latitude, maximum longitude and maximum latitude,
+     * NaN for an empty geometry.
+     */
+    public double[] getBoundingBox() {
+        ByteBuffer block = store.block(address);
+        int offset = OffHeapGeometryStore.offset(address) + BOUNDING_BOX;
+        return new double[]{block.getDouble(offset), block.getDouble(offset + Double.BYTES),
+                block.getDouble(offset + 2 * Double.BYTES), block.getDouble(offset + 3 * Double.BYTES)};
+    }
+
+    /**
+     * Returns whether the bounding box of the geometry intersects the given box, reading only the stored
+     * bounding box, e.g. to filter many geometries before materializing the few remaining ones.
+     *
+     * @param minX The minimum longitude of the box.
+     * @param minY The minimum latitude of the box.
+     * @param maxX The maximum longitude of the box.
+     * @param maxY The maximum latitude of the box.
+     * @return true if the boxes have at least one point in common, false for an empty geometry.
+     */
+    public boolean intersects(double minX, double minY, double maxX, double maxY) {
+        ByteBuffer block = store.block(address);
+        int offset = OffHeapGeometryStore.offset(address) + BOUNDING_BOX;
+        return block.getDouble(offset) <= maxX && block.getDouble(offset + Double.BYTES) <= maxY
+                && block.getDouble(offset + 2 * Double.BYTES) >= minX && block.getDouble(offset + 3 * Double.BYTES) >= minY;
+    }
+
+    /**
+     * Copies the geometry to the heap, with the positions of every part in a {@link CoordinateSequence}.
+     * The geometry is not validated, same as deserialization.
+     *
+     * @return a new geometry equal to the stored one.
+     */
+    public Geometry toGeometry() {
+        ByteBuffer block = store.block(address);
+        int offset = OffHeapGeometryStore.offset(address);
+        int dimension = block.getInt(offset + DIMENSION);
+        int polygonCount = block.getInt(offset + POLYGON_COUNT);
+        int partCount = block.getInt(offset + PART_COUNT);
+        double[] values = new double[block.getInt(offset + POSITION_COUNT) * dimension];
+        block.slice(offset + coordinatesOffset(polygonCount, partCount), values.length * Double.BYTES)
+                .order(block.order()).asDoubleBuffer().get(values);
+        List<List<Position>> parts = new ArrayList<>(partCount);
+        int start = 0;
+        for (int part = 0; part < partCount; part++) {
+            int end = partEnd(block, offset, part);
+            parts.add(CoordinateSequence.of(dimension, values, start * dimension, end * dimension));
+            start = end;
+        }
+        return switch (block.getInt(offset + TYPE)) {
+            case POINT_TYPE -> new Point(POINT, parts.getFirst().isEmpty() ? null : parts.getFirst().getFirst());
+            case LINE_STRING_TYPE -> new LineString(LINE_STRING, parts.getFirst());
+            case MULTI_POINT_TYPE -> new MultiPoint(MULTI_POINT, parts.getFirst());
+            case MULTI_LINE_STRING_TYPE -> new MultiLineString(MULTI_LINE_STRING, parts);
+            case POLYGON_TYPE -> new Polygon(POLYGON, polygonCount == 0 ? null : polygons(block, offset, parts).getFirst());
+            case MULTI_POLYGON_TYPE -> new MultiPolygon(MULTI_POLYGON, polygons(block, offset, parts));
+            default -> throw new IllegalStateException("Unknown off-heap geometry type " + block.getInt(offset + TYPE));
+        };
+    }
+
+    private static List<PolygonCoordinates> polygons(ByteBuffer block, int offset, List<List<Position>> parts) {
+        int polygonCount = block.getInt(offset + POLYGON_COUNT);
+        List<PolygonCoordinates> polygons = new ArrayList<>(polygonCount);
+        int part = 0;
+        for (int polygon = 0; polygon < polygonCount; polygon++) {
+            int rings = block.getInt(offset + HEADER_SIZE + polygon * Integer.BYTES);
+            polygons.add(rings == 0 ? new PolygonCoordinates(null, List.of())
+                    : new PolygonCoordinates(parts.get(part), parts.subList(part + 1, part + rings)));
+            part += rings;
+        }
+        return polygons;
+    }
+
+    private int intAt(int field) {
+        return store.block(address).getInt(OffHeapGeometryStore.offset(address) + field);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        OffHeapGeometry that = (OffHeapGeometry) o;
+        return store == that.store && address == that.address;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(System.identityHashCode(store), address);
+    }
+
+    @Override
+    public String toString() {
+        return store.isOpen()
+                ? MessageFormat.format("OffHeapGeometry'{'type={0}, dimension={1}, positions={2,number,#}, boundingBox={3}'}'",
+                getType(), getDimension(), getPositionCount(), Arrays.toString(getBoundingBox()))
+                : "OffHeapGeometry{released}";
+    }
+}
@@ -0,0 +1,416 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.offheap;
+
+import com.github.nramc.geojson.domain.CoordinateSequence;
+import com.github.nramc.geojson.domain.Geometry;
+import com.github.nramc.geojson.domain.GeometryCollection;
+import com.github.nramc.geojson.domain.LineString;
+import com.github.nramc.geojson.domain.MultiLineString;
+import com.github.nramc.geojson.domain.MultiPoint;
+import com.github.nramc.geojson.domain.MultiPolygon;
+import com.github.nramc.geojson.domain.Point;
+import com.github.nramc.geojson.domain.Polygon;
+import com.github.nramc.geojson.domain.PolygonCoordinates;
+import com.github.nramc.geojson.domain.Position;
+import org.apache.commons.collections4.ListUtils;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Arena of geometries whose coordinates are stored outside the Java heap, in direct {@link ByteBuffer} blocks,
+ * e.g. to keep many gigabytes of geometries resident without the garbage collector tracing or copying them.
+ * <p>
+ * {@link #add(Geometry)} copies a geometry into the current block and returns an {@link OffHeapGeometry} handle,
+ * a small object which reads the type, bounding box, parts and coordinates of the geometry straight from the
+ * block, or creates an on-heap copy with {@link OffHeapGeometry#toGeometry()}. Every geometry is also found by its
+ * index in the order of addition with {@link #get(int)}, so a caller can keep indexes instead of handles. On the
+ * heap, the store keeps only the block buffers and one {@code long} per geometry.
+ * </p>
+ * <p>
+ * {@link #close()} releases all geometries at once, like an arena. Afterwards, every handle of the store throws
+ * {@link IllegalStateException} and the blocks are no longer referenced by the store, so their memory is returned
+ * when the collector clears the few block buffers, without tracing their content. Direct memory is limited by
+ * {@code -XX:MaxDirectMemorySize}, which defaults to the maximum heap size.
+ * </p>
+ * <p>
+ * Positions are stored with double precision, 2 or 3 coordinates per position. Every position of a geometry
+ * must have the same dimension, geometry collections and positions without coordinates are not supported.
+ * </p>
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * try (OffHeapGeometryStore store = OffHeapGeometryStore.create()) {
+ *     featureCollection.getFeatures().forEach(feature -> store.add(feature.getGeometry()));
+ *     OffHeapGeometry geometry = store.get(42);
+ *     double[] boundingBox = geometry.getBoundingBox();
+ * }
+ * }</pre></p>
+ *
+ * <p>Adding is synchronized, handles can be read by all threads.</p>
+ */
+public final class OffHeapGeometryStore implements AutoCloseable {
+    /**
+     * The default size of a block, a geometry which does not fit into a block gets a block of its own.
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 64 << 20;
+
+    private static final int MIN_BLOCK_SIZE = 4096;
+    private static final int BLOCK_SHIFT = 32;
+    private static final long OFFSET_MASK = 0xffffffffL;
+
+    private final int blockSize;
+    private volatile ByteBuffer[] blocks;
+    private int blockCount;
+    private int position;
+    private long[] addresses;
+    private volatile int size;
+    private long usedBytes;
+
+    private OffHeapGeometryStore(int blockSize) {
+        this.blockSize = blockSize;
+        this.blocks = new ByteBuffer[16];
+        this.addresses = new long[1024];
+    }
+
+    /**
+     * Creates an empty store with blocks of {@link #DEFAULT_BLOCK_SIZE}.
+     *
+     * @return a new, open {@link OffHeapGeometryStore}.
+     */
+    public static OffHeapGeometryStore create() {
+        return create(DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Creates an empty store with blocks of the given size. Larger blocks mean fewer buffers on the heap,
+     * smaller blocks less unused direct memory at the end of the last block.
+     *
+     * @param blockSize The size of a block in bytes, at least 4096.
+     * @return a new, open {@link OffHeapGeometryStore}.
+     * @throws IllegalArgumentException if the block size is too small.
+     */
+    public static OffHeapGeometryStore create(int blockSize) {
+        if (blockSize < MIN_BLOCK_SIZE) {
+            throw new IllegalArgumentException("Block size must be at least %d but was %d".formatted(MIN_BLOCK_SIZE, blockSize));
+        }
+        return new OffHeapGeometryStore(blockSize);
+    }
+
+    /**
+     * Copies the given geometry into the store.
+     *
+     * @param geometry The geometry to copy, any geometry but a geometry collection.
+     * @return the handle of the stored geometry, its index is {@link #size()} before the call.
+     * @throws IllegalArgumentException if the geometry is a geometry collection, a position has no coordinates,
+     *                                  or the positions have different dimensions or neither 2 nor 3 coordinates.
+     * @throws IllegalStateException    if the store has been closed.
+     */
+    public synchronized OffHeapGeometry add(Geometry geometry) {
+        Encoder encoder = new Encoder();
+        encoder.encode(Objects.requireNonNull(geometry, "geometry"));
+        int length = encoder.length();
+        ByteBuffer[] currentBlocks = openBlocks();
+        if (blockCount == 0 || position + length > currentBlocks[blockCount - 1].capacity()) {
+            currentBlocks = allocate(currentBlocks, Math.max(blockSize, length));
+            position = 0;
+        }
+        ByteBuffer block = currentBlocks[blockCount - 1];
+        encoder.write(block, position);
+        long address = (long) (blockCount - 1) << BLOCK_SHIFT | position;
+        position = OffHeapGeometry.align(position + length);
+        usedBytes += length;
+        if (size == addresses.length) {
+            addresses = Arrays.copyOf(addresses, size * 2);
+        }
+        addresses[size] = address;
+        size++;
+        return new OffHeapGeometry(this, address);
+    }
+
+    private ByteBuffer[] allocate(ByteBuffer[] currentBlocks, int capacity) {
+        ByteBuffer[] grown = blockCount == currentBlocks.length ? Arrays.copyOf(currentBlocks, blockCount * 2) : currentBlocks;
+        grown[blockCount++] = ByteBuffer.allocateDirect(capacity).order(ByteOrder.nativeOrder());
+        blocks = grown;
+        return grown;
+    }
+
+    /**
+     * Returns the handle of the geometry with the given index.
+     *
+     * @param index The index of the geometry in the order of addition.
+     * @return the handle of the geometry.
+     * @throws IndexOutOfBoundsException if there is no such geometry.
+     * @throws IllegalStateException     if the store has been closed.
+     */
+    public OffHeapGeometry get(int index) {
+        openBlocks();
+        Objects.checkIndex(index, size);
+        synchronized (this) {
+            return new OffHeapGeometry(this, addresses[index]);
+        }
+    }
+
+    /**
+     * Returns the handles of all geometries in the order of addition.
+     *
+     * @return a new list of handles.
+     * @throws IllegalStateException if the store has been closed.
+     */
+    public synchronized List<OffHeapGeometry> getAll() {
+        openBlocks();
+        List<OffHeapGeometry> geometries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            geometries.add(new OffHeapGeometry(this, addresses[i]));
+        }
+        return geometries;
+    }
+
+    /**
+     * Returns the number of geometries added to the store.
+     *
+     * @return the number of geometries.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of bytes of direct memory allocated for blocks.
+     *
+     * @return the capacity of all blocks, 0 after the store has been closed.
+     */
+    public synchronized long getAllocatedBytes() {
+        ByteBuffer[] currentBlocks = blocks;
+        long allocated = 0;
+        for (int i = 0; currentBlocks != null && i < blockCount; i++) {
+            allocated += currentBlocks[i].capacity();
+        }
+        return allocated;
+    }
+
+    /**
+     * Returns the number of bytes occupied by the stored geometries, without alignment and unused block ends.
+     *
+     * @return the size of all stored geometries.
+     */
+    public synchronized long getUsedBytes() {
+        return usedBytes;
+    }
+
+    /**
+     * Returns whether the store is open, i.e. geometries can be added and read.
+     *
+     * @return false after {@link #close()}.
+     */
+    public boolean isOpen() {
+        return blocks != null;
+    }
+
+    /**
+     * Releases all geometries of the store, every handle of the store throws {@link IllegalStateException}
+     * afterwards. Closing a closed store has no effect.
+     */
+    @Override
+    public synchronized void close() {
+        blocks = null;
+        addresses = new long[0];
+        blockCount = 0;
+        size = 0;
+        usedBytes = 0;
+    }
+
+    /**
+     * Returns the block containing the given address.
+     *
+     * @throws IllegalStateException if the store has been closed.
+     */
+    ByteBuffer block(long address) {
+        return openBlocks()[(int) (address >>> BLOCK_SHIFT)];
+    }
+
+    static int offset(long address) {
+        return (int) (address & OFFSET_MASK);
+    }
+
+    private ByteBuffer[] openBlocks() {
+        ByteBuffer[] currentBlocks = blocks;
+        if (currentBlocks == null) {
+            throw new IllegalStateException("Off-heap geometry store has been closed");
+        }
+        return currentBlocks;
+    }
+
+    @Override
+    public String toString() {
+        return MessageFormat.format("OffHeapGeometryStore'{'blockSize={0,number,#}, size={1,number,#}, open={2}'}'", blockSize, size, isOpen());
+    }
+
+    /**
+     * Collects the parts and positions of a geometry and writes them in the layout read by {@link OffHeapGeometry}.
+     */
+    private static final class Encoder {
+        private int type;
+        private int dimension;
+        private final List<Integer> ringCounts = new ArrayList<>();
+        private final List<Integer> partEnds = new ArrayList<>();
+        private double[] coordinates = new double[64];
+        private int coordinateCount;
+
+        void encode(Geometry geometry) {
+            switch (geometry) {
+                case Point point -> {
+                    type = OffHeapGeometry.POINT_TYPE;
+                    addPart(point.getCoordinates() != null ? List.of(point.getCoordinates()) : List.of());
+                }
+                case LineString lineString -> {
+                    type = OffHeapGeometry.LINE_STRING_TYPE;
+                    addPart(lineString.getCoordinates());
+                }
+                case MultiPoint multiPoint -> {
+                    type = OffHeapGeometry.MULTI_POINT_TYPE;
+                    addPart(multiPoint.getCoordinates());
+                }
+                case Polygon polygon -> {
+                    type = OffHeapGeometry.POLYGON_TYPE;
+                    if (polygon.getCoordinates() != null) {
+                        addPolygon(polygon.getCoordinates());
+                    }
+                }
+                case MultiLineString multiLineString -> {
+                    type = OffHeapGeometry.MULTI_LINE_STRING_TYPE;
+                    ListUtils.emptyIfNull(multiLineString.getCoordinates()).forEach(this::addPart);
+                }
+                case MultiPolygon multiPolygon -> {
+                    type = OffHeapGeometry.MULTI_POLYGON_TYPE;
+                    ListUtils.emptyIfNull(multiPolygon.getCoordinates()).forEach(this::addPolygon);
+                }
+                case GeometryCollection ignored ->
+                        throw new IllegalArgumentException("Off-heap geometry store does not support geometry collections");
+            }
+        }
+
+        private void addPolygon(PolygonCoordinates coordinates) {
+            int rings = 0;
+            if (coordinates != null && coordinates.getExterior() != null) {
+                addPart(coordinates.getExterior());
+                rings++;
+                for (List<Position> hole : ListUtils.emptyIfNull(coordinates.getHoles())) {
+                    addPart(hole);
+                    rings++;
+                }
+            }
+            ringCounts.add(rings);
+        }
+
+        private void addPart(List<Position> part) {
+            if (part instanceof CoordinateSequence sequence) {
+                addPositions(sequence);
+            } else {
+                for (Position position : ListUtils.emptyIfNull(part)) {
+                    double[] values = position != null ? position.getCoordinates() : null;
+                    int length = values != null ? values.length : 0;
+                    if (length < 2 || length > 3 || (dimension != 0 && dimension != length)) {
+                        throw new IllegalArgumentException("Off-heap geometry store cannot store position " + position
+                                + ", all positions of a geometry need 2 or all of them 3 coordinates");
+                    }
+                    dimension = length;
+                    ensureCapacity(length);
+                    System.arraycopy(values, 0, coordinates, coordinateCount, length);
+                    coordinateCount += length;
+                }
+            }
+            partEnds.add(positionCount());
+        }
+
+        /**
+         * Copies the coordinates of the given sequence without creating a {@link Position} per position.
+         */
+        private void addPositions(CoordinateSequence sequence) {
+            if (sequence.isEmpty()) {
+                return;
+            }
+            if (dimension != 0 && dimension != sequence.getDimension()) {
+                throw new IllegalArgumentException("Off-heap geometry store cannot store positions with " + sequence.getDimension()
+                        + " coordinates, all positions of a geometry need 2 or all of them 3 coordinates");
+            }
+            dimension = sequence.getDimension();
+            ensureCapacity(sequence.size() * dimension);
+            for (int i = 0; i < sequence.size(); i++) {
+                for (int j = 0; j < dimension; j++) {
+                    coordinates[coordinateCount++] = sequence.getOrdinate(i, j);
+                }
+            }
+        }
+
+        private void ensureCapacity(int additional) {
+            if (coordinateCount + additional > coordinates.length) {
+                coordinates = Arrays.copyOf(coordinates, Math.max(coordinates.length * 2, coordinateCount + additional));
+            }
+        }
+
+        private int positionCount() {
+            return dimension != 0 ? coordinateCount / dimension : 0;
+        }
+
+        int length() {
+            return OffHeapGeometry.coordinatesOffset(ringCounts.size(), partEnds.size())
+                    + coordinateCount * Double.BYTES;
+        }
+
+        void write(ByteBuffer block, int offset) {
+            int stride = Math.max(dimension, 2);
+            double[] box = {Double.NaN, Double.NaN, Double.NaN, Double.NaN};
+            if (coordinateCount > 0) {
+                box = new double[]{Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY};
+                for (int i = 0; i < coordinateCount; i += stride) {
+                    box[0] = Math.min(box[0], coordinates[i]);
+                    box[1] = Math.min(box[1], coordinates[i + 1]);
+                    box[2] = Math.max(box[2], coordinates[i]);
+                    box[3] = Math.max(box[3], coordinates[i + 1]);
+                }
+            }
+            block.putInt(offset + OffHeapGeometry.TYPE, type)
+                    .putInt(offset + OffHeapGeometry.DIMENSION, stride)
+                    .putInt(offset + OffHeapGeometry.POLYGON_COUNT, ringCounts.size())
+                    .putInt(offset + OffHeapGeometry.PART_COUNT, partEnds.size())
+                    .putInt(offset + OffHeapGeometry.POSITION_COUNT, positionCount());
+            for (int i = 0; i < box.length; i++) {
+                block.putDouble(offset + OffHeapGeometry.BOUNDING_BOX + i * Double.BYTES, box[i]);
+            }
+            int index = offset + OffHeapGeometry.HEADER_SIZE;
+            for (int rings : ringCounts) {
+                block.putInt(index, rings);
+                index += Integer.BYTES;
+            }
+            for (int end : partEnds) {
+                block.putInt(index, end);
+                index += Integer.BYTES;
+            }
+            index = offset + OffHeapGeometry.coordinatesOffset(ringCounts.size(), partEnds.size());
+            for (int i = 0; i < coordinateCount; i++) {
+                block.putDouble(index, coordinates[i]);
+                index += Double.BYTES;
+            }
+        }
+    }
+}
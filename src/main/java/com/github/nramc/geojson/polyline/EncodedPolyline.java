@@ -0,0 +1,284 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.polyline;
+
+import com.github.nramc.geojson.domain.CoordinateSequence;
+import com.github.nramc.geojson.domain.LineString;
+import com.github.nramc.geojson.domain.MultiLineString;
+import com.github.nramc.geojson.domain.Position;
+import org.apache.commons.collections4.ListUtils;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.github.nramc.geojson.constant.GeoJsonType.LINE_STRING;
+import static com.github.nramc.geojson.constant.GeoJsonType.MULTI_LINE_STRING;
+
+/**
+ * Encodes line strings as encoded polylines and decodes them, using the polyline algorithm of Google Maps.
+ * <p>
+ * Latitude and longitude are scaled by {@code 10^precision}, rounded and written as zig-zag encoded deltas to the
+ * previous position, five bits per printable ASCII character. Note that a polyline lists latitude before longitude,
+ * while a GeoJSON position lists longitude first. Altitudes are not part of the format and are dropped.
+ * Google Maps uses precision 5, OSRM and Valhalla can also return precision 6.
+ * </p>
+ * <p>
+ * Positions are encoded straight from the domain classes into a {@link StringBuilder}, which can be reused for
+ * many lines with {@link #encode(List, StringBuilder)}, and decoded straight from any {@link CharSequence} or a
+ * range of it, without intermediate strings or arrays.
+ * </p>
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * String polyline = EncodedPolyline.DEFAULT.encode(lineString);
+ * LineString decoded = EncodedPolyline.DEFAULT.withPrecision(6).decodeLineString(osrmGeometry);
+ * }</pre></p>
+ *
+ * <p>The codec is immutable and can be shared.</p>
+ *
+ * @see <a href="https://developers.google.com/maps/documentation/utilities/polylinealgorithm">Encoded Polyline Algorithm Format</a>
+ */
+public final class EncodedPolyline {
+    /**
+     * Encodes with precision 5, as Google Maps does.
+     */
+    public static final EncodedPolyline DEFAULT = new EncodedPolyline(5);
+
+    private static final int MAX_PRECISION = 7;
+    private static final int CHARACTER_OFFSET = 63;
+    private static final int CHUNK_BITS = 5;
+    private static final int CHUNK_MASK = 0x1f;
+    private static final int CONTINUATION = 0x20;
+    private static final int MAX_SHIFT = 64;
+
+    private final int precision;
+    private final double scale;
+
+    private EncodedPolyline(int precision) {
+        this.precision = precision;
+        this.scale = Math.pow(10, precision);
+    }
+
+    /**
+     * Returns a codec which scales latitude and longitude with the given number of decimal digits.
+     *
+     * @param precision The number of decimal digits, from 0 to 7, usually 5 or 6.
+     * @return a codec with the given precision.
+     * @throws IllegalArgumentException if the precision is out of range.
+     */
+    public EncodedPolyline withPrecision(int precision) {
+        if (precision < 0 || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("Precision must be between 0 and %d but was %d".formatted(MAX_PRECISION, precision));
+        }
+        return new EncodedPolyline(precision);
+    }
+
+    /**
+     * Returns the number of decimal digits of latitude and longitude.
+     *
+     * @return the precision.
+     */
+    public int getPrecision() {
+        return precision;
+    }
+
+    /**
+     * Returns the coordinates of the given line string as encoded polyline.
+     *
+     * @param lineString The line string to encode.
+     * @return the encoded polyline, empty if the line string has no positions.
+     * @throws IllegalArgumentException if a position has no longitude and latitude or a coordinate is NaN or infinite.
+     */
+    public String encode(LineString lineString) {
+        return encode(lineString.getCoordinates(), new StringBuilder()).toString();
+    }
+
+    /**
+     * Returns every line of the given multi line string as encoded polyline, in the order of the lines.
+     *
+     * @param multiLineString The multi line string to encode.
+     * @return the encoded polylines, empty if the multi line string has no lines.
+     * @throws IllegalArgumentException if a position has no longitude and latitude or a coordinate is NaN or infinite.
+     */
+    public List<String> encode(MultiLineString multiLineString) {
+        List<List<Position>> lines = ListUtils.emptyIfNull(multiLineString.getCoordinates());
+        List<String> polylines = new ArrayList<>(lines.size());
+        StringBuilder builder = new StringBuilder();
+        for (List<Position> positions : lines) {
+            builder.setLength(0);
+            polylines.add(encode(positions, builder).toString());
+        }
+        return polylines;
+    }
+
+    /**
+     * Appends the given positions as encoded polyline to the given builder. Each polyline starts from 0,
+     * so a caller which encodes many lines resets the builder with {@code setLength(0)} between them,
+     * or remembers the lengths to separate the polylines again.
+     *
+     * @param positions The positions to encode, null is encoded as empty polyline.
+     * @param builder   The builder to append to.
+     * @return the given builder.
+     * @throws IllegalArgumentException if a position has no longitude and latitude or a coordinate is NaN or infinite.
+     */
+    public StringBuilder encode(List<Position> positions, StringBuilder builder) {
+        long previousLatitude = 0;
+        long previousLongitude = 0;
+        List<Position> values = ListUtils.emptyIfNull(positions);
+        for (int i = 0; i < values.size(); i++) {
+            long latitude;
+            long longitude;
+            if (values instanceof CoordinateSequence sequence) {
+                latitude = scale(sequence.getY(i));
+                longitude = scale(sequence.getX(i));
+            } else {
+                Position position = values.get(i);
+                double[] coordinates = position != null ? position.getCoordinates() : null;
+                if (coordinates == null || coordinates.length < 2) {
+                    throw new IllegalArgumentException("Encoded polyline cannot encode position " + position);
+                }
+                latitude = scale(coordinates[1]);
+                longitude = scale(coordinates[0]);
+            }
+            encodeValue(latitude - previousLatitude, builder);
+            encodeValue(longitude - previousLongitude, builder);
+            previousLatitude = latitude;
+            previousLongitude = longitude;
+        }
+        return builder;
+    }
+
+    private long scale(double coordinate) {
+        if (!Double.isFinite(coordinate)) {
+            throw new IllegalArgumentException("Encoded polyline cannot encode coordinate " + coordinate);
+        }
+        return Math.round(coordinate * scale);
+    }
+
+    private static void encodeValue(long delta, StringBuilder builder) {
+        long value = delta < 0 ? ~(delta << 1) : delta << 1;
+        while (value >= CONTINUATION) {
+            builder.append((char) ((CONTINUATION | (value & CHUNK_MASK)) + CHARACTER_OFFSET));
+            value >>>= CHUNK_BITS;
+        }
+        builder.append((char) (value + CHARACTER_OFFSET));
+    }
+
+    /**
+     * Decodes the given encoded polyline into a line string. The line string is not validated,
+     * same as deserialization.
+     *
+     * @param polyline The encoded polyline.
+     * @return the decoded line string.
+     * @throws IllegalArgumentException if the polyline contains an invalid character or is truncated.
+     */
+    public LineString decodeLineString(CharSequence polyline) {
+        return new LineString(LINE_STRING, decode(polyline, 0, polyline.length()));
+    }
+
+    /**
+     * Decodes the given encoded polylines into the lines of a multi line string. The multi line string is not
+     * validated, same as deserialization.
+     *
+     * @param polylines The encoded polylines, one per line.
+     * @return the decoded multi line string.
+     * @throws IllegalArgumentException if a polyline contains an invalid character or is truncated.
+     */
+    public MultiLineString decodeMultiLineString(List<? extends CharSequence> polylines) {
+        List<List<Position>> lines = new ArrayList<>(polylines.size());
+        for (CharSequence polyline : polylines) {
+            lines.add(decode(polyline, 0, polyline.length()));
+        }
+        return new MultiLineString(MULTI_LINE_STRING, lines);
+    }
+
+    /**
+     * Decodes the encoded polyline between the given indices of the given characters, e.g. one of many polylines
+     * appended to the same builder, without copying it. Decoded positions have longitude and latitude.
+     *
+     * @param characters The characters containing the encoded polyline.
+     * @param start      The index of the first character of the polyline.
+     * @param end        The index after the last character of the polyline.
+     * @return the decoded positions, as {@link CoordinateSequence}.
+     * @throws IllegalArgumentException  if the polyline contains an invalid character or is truncated.
+     * @throws IndexOutOfBoundsException if the range is outside the characters.
+     */
+    public List<Position> decode(CharSequence characters, int start, int end) {
+        if (start < 0 || start > end || end > characters.length()) {
+            throw new IndexOutOfBoundsException("Range [%d, %d) out of bounds for length %d".formatted(start, end, characters.length()));
+        }
+        double[] values = new double[countValues(characters, start, end) / 2 * 2];
+        int size = 0;
+        long latitude = 0;
+        long longitude = 0;
+        boolean hasLatitude = false;
+        long value = 0;
+        int shift = 0;
+        for (int index = start; index < end; index++) {
+            if (shift >= MAX_SHIFT) {
+                throw new IllegalArgumentException("Encoded polyline contains a malformed number at index " + index);
+            }
+            int chunk = chunk(characters, index);
+            value |= (long) (chunk & CHUNK_MASK) << shift;
+            shift += CHUNK_BITS;
+            if (chunk < CONTINUATION) {
+                long delta = (value >>> 1) ^ -(value & 1);
+                if (hasLatitude) {
+                    longitude += delta;
+                    values[size++] = longitude / scale;
+                    values[size++] = latitude / scale;
+                } else {
+                    latitude += delta;
+                }
+                hasLatitude = !hasLatitude;
+                value = 0;
+                shift = 0;
+            }
+        }
+        if (shift != 0 || hasLatitude) {
+            throw new IllegalArgumentException("Encoded polyline is truncated at index " + end);
+        }
+        return CoordinateSequence.of(2, values);
+    }
+
+    /**
+     * Counts the characters which end a value, i.e. the number of encoded latitudes and longitudes,
+     * to size the array of coordinates up front.
+     */
+    private static int countValues(CharSequence characters, int start, int end) {
+        int count = 0;
+        for (int i = start; i < end; i++) {
+            if (chunk(characters, i) < CONTINUATION) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static int chunk(CharSequence characters, int index) {
+        int chunk = characters.charAt(index) - CHARACTER_OFFSET;
+        if (chunk < 0 || chunk > (CONTINUATION | CHUNK_MASK)) {
+            throw new IllegalArgumentException("Encoded polyline contains invalid character '%s' at index %d".formatted(characters.charAt(index), index));
+        }
+        return chunk;
+    }
+
+    @Override
+    public String toString() {
+        return MessageFormat.format("EncodedPolyline'{'precision={0}'}'", precision);
+    }
+}
@@ -0,0 +1,266 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.quantization;
+
+import com.github.nramc.geojson.domain.Feature;
+import com.github.nramc.geojson.domain.FeatureCollection;
+import com.github.nramc.geojson.domain.Geometry;
+import com.github.nramc.geojson.domain.GeometryCollection;
+import com.github.nramc.geojson.domain.LineString;
+import com.github.nramc.geojson.domain.MultiLineString;
+import com.github.nramc.geojson.domain.MultiPoint;
+import com.github.nramc.geojson.domain.MultiPolygon;
+import com.github.nramc.geojson.domain.Point;
+import com.github.nramc.geojson.domain.Polygon;
+import com.github.nramc.geojson.domain.PolygonCoordinates;
+import com.github.nramc.geojson.domain.Position;
+import org.apache.commons.collections4.ListUtils;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * An affine transform between longitude and latitude and an integer grid, defined by a scale and a translate
+ * per axis as the {@code transform} of TopoJSON.
+ * <p>
+ * A coordinate is quantized to {@code round((value - translate) / scale)} and restored to
+ * {@code quantized * scale + translate}, the same formula TopoJSON clients use, so restored coordinates are equal to
+ * those of any other reader of the same transform. Restored coordinates lie on the grid, quantizing them again
+ * returns the same integers, i.e. a quantized geometry can be restored and quantized any number of times without
+ * drifting. A transform created with {@link #of(int, FeatureCollection)} maps the bounding box of the features onto
+ * a grid of the given number of values per axis, e.g. 10<sup>6</sup> values keep about 1 m over a whole continent.
+ * </p>
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * Quantization quantization = Quantization.of(1_000_000, featureCollection);
+ * int x = quantization.quantizeX(13.404954);
+ * double longitude = quantization.dequantizeX(x);
+ * }</pre></p>
+ *
+ * <p>The transform is immutable and can be shared.</p>
+ *
+ * @see QuantizedGeometry
+ * @see <a href="https://github.com/topojson/topojson-specification#212-transforms">TopoJSON transforms</a>
+ */
+public final class Quantization implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final double scaleX;
+    private final double scaleY;
+    private final double translateX;
+    private final double translateY;
+
+    private Quantization(double scaleX, double scaleY, double translateX, double translateY) {
+        this.scaleX = scaleX;
+        this.scaleY = scaleY;
+        this.translateX = translateX;
+        this.translateY = translateY;
+    }
+
+    /**
+     * Creates a transform with the given scale and translate of longitude and latitude.
+     *
+     * @param scaleX     The size of a grid unit in degrees of longitude, positive.
+     * @param scaleY     The size of a grid unit in degrees of latitude, positive.
+     * @param translateX The longitude of grid value 0.
+     * @param translateY The latitude of grid value 0.
+     * @return the transform.
+     * @throws IllegalArgumentException if a scale is not positive or a value is not finite.
+     */
+    public static Quantization of(double scaleX, double scaleY, double translateX, double translateY) {
+        if (!(scaleX > 0) || !(scaleY > 0) || !Double.isFinite(scaleX) || !Double.isFinite(scaleY)) {
+            throw new IllegalArgumentException("Scale must be positive but was [%s, %s]".formatted(scaleX, scaleY));
+        }
+        if (!Double.isFinite(translateX) || !Double.isFinite(translateY)) {
+            throw new IllegalArgumentException("Translate must be finite but was [%s, %s]".formatted(translateX, translateY));
+        }
+        return new Quantization(scaleX, scaleY, translateX, translateY);
+    }
+
+    /**
+     * Creates a transform which maps the given bounding box onto a grid of the given number of values per axis,
+     * as the quantization of TopoJSON. An axis without extent gets a scale of 1.
+     *
+     * @param quantization The number of grid values per axis, at least 2.
+     * @param minX         The minimum longitude.
+     * @param minY         The minimum latitude.
+     * @param maxX         The maximum longitude.
+     * @param maxY         The maximum latitude.
+     * @return the transform.
+     * @throws IllegalArgumentException if the quantization is less than 2 or the bounding box is invalid.
+     */
+    public static Quantization of(int quantization, double minX, double minY, double maxX, double maxY) {
+        if (quantization < 2) {
+            throw new IllegalArgumentException("Quantization must be at least 2 but was " + quantization);
+        }
+        if (!(minX <= maxX) || !(minY <= maxY)) {
+            throw new IllegalArgumentException("Bounding box [%s, %s, %s, %s] is invalid".formatted(minX, minY, maxX, maxY));
+        }
+        double scaleX = maxX > minX ? (maxX - minX) / (quantization - 1) : 1;
+        double scaleY = maxY > minY ? (maxY - minY) / (quantization - 1) : 1;
+        return of(scaleX, scaleY, minX, minY);
+    }
+
+    /**
+     * Creates a transform which maps the bounding box of the given features onto a grid of the given number of
+     * values per axis. Positions without finite longitude and latitude are ignored, without any position the
+     * transform is the identity.
+     *
+     * @param quantization      The number of grid values per axis, at least 2.
+     * @param featureCollection The features to cover.
+     * @return the transform.
+     * @throws IllegalArgumentException if the quantization is less than 2.
+     */
+    public static Quantization of(int quantization, FeatureCollection featureCollection) {
+        double[] box = {Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY};
+        for (Feature feature : ListUtils.emptyIfNull(featureCollection.getFeatures())) {
+            if (feature != null && feature.getGeometry() != null) {
+                expand(box, feature.getGeometry());
+            }
+        }
+        return box[0] <= box[2] ? of(quantization, box[0], box[1], box[2], box[3]) : of(quantization, 0, 0, 0, 0);
+    }
+
+    private static void expand(double[] box, Geometry geometry) {
+        switch (geometry) {
+            case Point point -> expand(box, point.getCoordinates());
+            case LineString lineString -> expand(box, lineString.getCoordinates());
+            case Polygon polygon -> expand(box, polygon.getCoordinates());
+            case MultiPoint multiPoint -> expand(box, multiPoint.getCoordinates());
+            case MultiLineString multiLineString -> ListUtils.emptyIfNull(multiLineString.getCoordinates()).forEach(positions -> expand(box, positions));
+            case MultiPolygon multiPolygon -> ListUtils.emptyIfNull(multiPolygon.getCoordinates()).forEach(coordinates -> expand(box, coordinates));
+            case GeometryCollection collection -> ListUtils.emptyIfNull(collection.getGeometries()).stream()
+                    .filter(member -> member != null).forEach(member -> expand(box, member));
+        }
+    }
+
+    private static void expand(double[] box, PolygonCoordinates coordinates) {
+        if (coordinates != null && coordinates.getExterior() != null) {
+            coordinates.getCoordinates().forEach(ring -> expand(box, ring));
+        }
+    }
+
+    private static void expand(double[] box, List<Position> positions) {
+        ListUtils.emptyIfNull(positions).forEach(position -> expand(box, position));
+    }
+
+    private static void expand(double[] box, Position position) {
+        double[] coordinates = position != null ? position.getCoordinates() : null;
+        if (coordinates != null && coordinates.length >= 2 && Double.isFinite(coordinates[0]) && Double.isFinite(coordinates[1])) {
+            box[0] = Math.min(box[0], coordinates[0]);
+            box[1] = Math.min(box[1], coordinates[1]);
+            box[2] = Math.max(box[2], coordinates[0]);
+            box[3] = Math.max(box[3], coordinates[1]);
+        }
+    }
+
+    /**
+     * Returns the grid value of the given longitude.
+     *
+     * @param longitude The longitude to quantize.
+     * @return the grid value.
+     * @throws IllegalArgumentException if the longitude is not finite or too far outside the grid for an int.
+     */
+    public int quantizeX(double longitude) {
+        return quantize(longitude, scaleX, translateX);
+    }
+
+    /**
+     * Returns the grid value of the given latitude.
+     *
+     * @param latitude The latitude to quantize.
+     * @return the grid value.
+     * @throws IllegalArgumentException if the latitude is not finite or too far outside the grid for an int.
+     */
+    public int quantizeY(double latitude) {
+        return quantize(latitude, scaleY, translateY);
+    }
+
+    private static int quantize(double value, double scale, double translate) {
+        double quantized = Math.rint((value - translate) / scale);
+        if (!(quantized >= Integer.MIN_VALUE && quantized <= Integer.MAX_VALUE)) {
+            throw new IllegalArgumentException("Coordinate " + value + " cannot be quantized");
+        }
+        return (int) quantized;
+    }
+
+    /**
+     * Returns the longitude of the given grid value.
+     *
+     * @param x The grid value.
+     * @return the longitude.
+     */
+    public double dequantizeX(int x) {
+        return x * scaleX + translateX;
+    }
+
+    /**
+     * Returns the latitude of the given grid value.
+     *
+     * @param y The grid value.
+     * @return the latitude.
+     */
+    public double dequantizeY(int y) {
+        return y * scaleY + translateY;
+    }
+
+    /**
+     * Returns the scale as written in the {@code transform} of TopoJSON.
+     *
+     * @return the size of a grid unit in degrees of longitude and latitude.
+     */
+    public double[] getScale() {
+        return new double[]{scaleX, scaleY};
+    }
+
+    /**
+     * Returns the translate as written in the {@code transform} of TopoJSON.
+     *
+     * @return the longitude and latitude of grid value 0.
+     */
+    public double[] getTranslate() {
+        return new double[]{translateX, translateY};
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Quantization that)) {
+            return false;
+        }
+        return Double.compare(scaleX, that.scaleX) == 0 && Double.compare(scaleY, that.scaleY) == 0
+                && Double.compare(translateX, that.translateX) == 0 && Double.compare(translateY, that.translateY) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Double.hashCode(scaleX);
+        result = 31 * result + Double.hashCode(scaleY);
+        result = 31 * result + Double.hashCode(translateX);
+        result = 31 * result + Double.hashCode(translateY);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "Quantization{scale=[%s, %s], translate=[%s, %s]}".formatted(scaleX, scaleY, translateX, translateY);
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.quantization;
+
+import com.github.nramc.geojson.domain.Feature;
+import com.github.nramc.geojson.domain.FeatureCollection;
+import org.apache.commons.collections4.ListUtils;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.github.nramc.geojson.constant.GeoJsonType.FEATURE;
+import static com.github.nramc.geojson.constant.GeoJsonType.FEATURE_COLLECTION;
+
+/**
+ * A FeatureCollection whose geometries are held as {@link QuantizedGeometry} on the grid of one {@link Quantization},
+ * for large layers kept in memory or sent over the wire.
+ * <p>
+ * Ids and properties are kept as they are, features are restored one at a time with {@link #getFeature(int)}
+ * or all at once with {@link #toFeatureCollection()}. Features without geometry stay without geometry.
+ * </p>
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * QuantizedFeatureCollection layer = QuantizedFeatureCollection.of(featureCollection, 1_000_000);
+ * Feature feature = layer.getFeature(42);
+ * }</pre></p>
+ *
+ * <p>A quantized FeatureCollection is immutable.</p>
+ *
+ * @see QuantizedGeometry
+ */
+public final class QuantizedFeatureCollection implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final Quantization quantization;
+    private final String[] ids;
+    private final QuantizedGeometry[] geometries;
+    private final List<Map<String, Serializable>> properties;
+
+    private QuantizedFeatureCollection(Quantization quantization, String[] ids, QuantizedGeometry[] geometries, List<Map<String, Serializable>> properties) {
+        this.quantization = quantization;
+        this.ids = ids;
+        this.geometries = geometries;
+        this.properties = properties;
+    }
+
+    /**
+     * Quantizes the given features onto a grid of the given number of values per axis over their bounding box.
+     *
+     * @param featureCollection The features to quantize.
+     * @param quantization      The number of grid values per axis, at least 2, e.g. 1000000.
+     * @return the quantized features.
+     * @throws IllegalArgumentException if the quantization is less than 2 or a position has no finite longitude and latitude.
+     */
+    public static QuantizedFeatureCollection of(FeatureCollection featureCollection, int quantization) {
+        return of(featureCollection, Quantization.of(quantization, featureCollection));
+    }
+
+    /**
+     * Quantizes the given features with the given transform.
+     *
+     * @param featureCollection The features to quantize.
+     * @param quantization      The transform to the integer grid.
+     * @return the quantized features.
+     * @throws IllegalArgumentException if a position has no finite longitude and latitude or lies too far outside the grid.
+     */
+    public static QuantizedFeatureCollection of(FeatureCollection featureCollection, Quantization quantization) {
+        List<Feature> features = ListUtils.emptyIfNull(featureCollection.getFeatures());
+        String[] ids = new String[features.size()];
+        QuantizedGeometry[] geometries = new QuantizedGeometry[features.size()];
+        List<Map<String, Serializable>> properties = new ArrayList<>(features.size());
+        for (int i = 0; i < features.size(); i++) {
+            Feature feature = features.get(i);
+            ids[i] = feature.getId();
+            geometries[i] = feature.getGeometry() != null ? QuantizedGeometry.of(feature.getGeometry(), quantization) : null;
+            properties.add(feature.getProperties());
+        }
+        return new QuantizedFeatureCollection(quantization, ids, geometries, properties);
+    }
+
+    /**
+     * Returns the transform of the geometries.
+     *
+     * @return the quantization.
+     */
+    public Quantization getQuantization() {
+        return quantization;
+    }
+
+    /**
+     * Returns the number of features.
+     *
+     * @return the number of features.
+     */
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Returns the quantized geometry of the feature at the given index.
+     *
+     * @param index The index of the feature.
+     * @return the quantized geometry, or null if the feature has no geometry.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public QuantizedGeometry getGeometry(int index) {
+        return geometries[index];
+    }
+
+    /**
+     * Restores the feature at the given index.
+     *
+     * @param index The index of the feature.
+     * @return the restored feature.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public Feature getFeature(int index) {
+        QuantizedGeometry geometry = geometries[index];
+        return new Feature(FEATURE, ids[index], geometry != null ? geometry.toGeometry(quantization) : null, properties.get(index));
+    }
+
+    /**
+     * Restores all features.
+     *
+     * @return the restored FeatureCollection.
+     */
+    public FeatureCollection toFeatureCollection() {
+        List<Feature> features = new ArrayList<>(size());
+        for (int i = 0; i < size(); i++) {
+            features.add(getFeature(i));
+        }
+        return new FeatureCollection(FEATURE_COLLECTION, features);
+    }
+
+    @Override
+    public String toString() {
+        return MessageFormat.format("QuantizedFeatureCollection'{'quantization={0}, features={1,number,#}'}'", quantization, size());
+    }
+}
@@ -0,0 +1,359 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.quantization;
+
+import com.github.nramc.geojson.domain.Geometry;
+import com.github.nramc.geojson.domain.GeometryCollection;
+import com.github.nramc.geojson.domain.LineString;
+import com.github.nramc.geojson.domain.MultiLineString;
+import com.github.nramc.geojson.domain.MultiPoint;
+import com.github.nramc.geojson.domain.MultiPolygon;
+import com.github.nramc.geojson.domain.Point;
+import com.github.nramc.geojson.domain.Polygon;
+import com.github.nramc.geojson.domain.PolygonCoordinates;
+import com.github.nramc.geojson.domain.Position;
+import org.apache.commons.collections4.ListUtils;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import static com.github.nramc.geojson.constant.GeoJsonType.GEOMETRY_COLLECTION;
+import static com.github.nramc.geojson.constant.GeoJsonType.LINE_STRING;
+import static com.github.nramc.geojson.constant.GeoJsonType.MULTI_LINE_STRING;
+import static com.github.nramc.geojson.constant.GeoJsonType.MULTI_POINT;
+import static com.github.nramc.geojson.constant.GeoJsonType.MULTI_POLYGON;
+import static com.github.nramc.geojson.constant.GeoJsonType.POINT;
+import static com.github.nramc.geojson.constant.GeoJsonType.POLYGON;
+
+/**
+ * A geometry whose positions are quantized by a {@link Quantization} and stored as delta encoded integers.
+ * <p>
+ * All positions of the geometry are stored in one {@code int[]} as differences in x and y to the previous position,
+ * the first one to 0, and the nesting of rings, lines and polygons as counts in a second {@code int[]}. Altitudes are
+ * kept as they are in a {@code double[]}, only if any position has one. Compared to the domain classes, which hold
+ * an object and an array per position and a list per ring, a quantized geometry takes about 8 bytes per position,
+ * and the small deltas of dense lines compress well on the wire. The members of a GeometryCollection are stored as
+ * quantized geometries of their own.
+ * </p>
+ * <p>
+ * Restoring creates the domain geometry with the positions on the grid, empty coordinates are restored as empty
+ * lists. Positions without finite longitude and latitude cannot be quantized.
+ * </p>
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * QuantizedGeometry quantized = QuantizedGeometry.of(geometry, quantization);
+ * Geometry restored = quantized.toGeometry(quantization);
+ * }</pre></p>
+ *
+ * <p>A quantized geometry is immutable.</p>
+ *
+ * @see Quantization
+ * @see QuantizedFeatureCollection
+ */
+public final class QuantizedGeometry implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+    private static final QuantizedGeometry[] NO_MEMBERS = {};
+
+    private final String type;
+    private final int[] structure;
+    private final int[] deltas;
+    private final double[] altitudes;
+    private final QuantizedGeometry[] members;
+
+    private QuantizedGeometry(String type, int[] structure, int[] deltas, double[] altitudes, QuantizedGeometry[] members) {
+        this.type = type;
+        this.structure = structure;
+        this.deltas = deltas;
+        this.altitudes = altitudes;
+        this.members = members;
+    }
+
+    /**
+     * Quantizes the given geometry.
+     *
+     * @param geometry     The geometry to quantize.
+     * @param quantization The transform to the integer grid.
+     * @return the quantized geometry.
+     * @throws IllegalArgumentException if a position has no finite longitude and latitude or lies too far outside the grid.
+     */
+    public static QuantizedGeometry of(Geometry geometry, Quantization quantization) {
+        if (geometry instanceof GeometryCollection collection) {
+            QuantizedGeometry[] members = ListUtils.emptyIfNull(collection.getGeometries()).stream()
+                    .map(member -> of(member, quantization)).toArray(QuantizedGeometry[]::new);
+            return new QuantizedGeometry(GEOMETRY_COLLECTION, new int[0], new int[0], null, members);
+        }
+        return new Encoder(quantization).encode(geometry);
+    }
+
+    /**
+     * Restores the geometry with the given transform, usually the one it has been quantized with.
+     *
+     * @param quantization The transform from the integer grid.
+     * @return the restored geometry.
+     */
+    public Geometry toGeometry(Quantization quantization) {
+        if (GEOMETRY_COLLECTION.equals(type)) {
+            return new GeometryCollection(GEOMETRY_COLLECTION, Arrays.stream(members).map(member -> member.toGeometry(quantization)).toList());
+        }
+        return new Decoder(quantization).decode();
+    }
+
+    /**
+     * Returns the GeoJSON type of the geometry, e.g. "Polygon".
+     *
+     * @return the type.
+     */
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * Returns the number of positions of the geometry, including those of the members of a GeometryCollection.
+     *
+     * @return the number of positions.
+     */
+    public int getPositionCount() {
+        return deltas.length / 2 + Arrays.stream(members).mapToInt(QuantizedGeometry::getPositionCount).sum();
+    }
+
+    /**
+     * Returns the delta encoded positions, x and y of every position in turn as difference to the previous position.
+     *
+     * @return a copy of the deltas, empty for a GeometryCollection.
+     */
+    public int[] getDeltas() {
+        return deltas.clone();
+    }
+
+    /**
+     * Returns the nesting of the positions, the number of positions of a LineString or MultiPoint, the number of
+     * rings followed by the number of positions of each ring for a Polygon, and so on.
+     *
+     * @return a copy of the counts, empty for a GeometryCollection.
+     */
+    public int[] getStructure() {
+        return structure.clone();
+    }
+
+    /**
+     * Returns the quantized members of a GeometryCollection.
+     *
+     * @return the members, empty for any other geometry.
+     */
+    public List<QuantizedGeometry> getMembers() {
+        return List.of(members);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof QuantizedGeometry that)) {
+            return false;
+        }
+        return type.equals(that.type) && Arrays.equals(structure, that.structure) && Arrays.equals(deltas, that.deltas)
+                && Arrays.equals(altitudes, that.altitudes) && Arrays.equals(members, that.members);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Objects.hash(type);
+        result = 31 * result + Arrays.hashCode(structure);
+        result = 31 * result + Arrays.hashCode(deltas);
+        result = 31 * result + Arrays.hashCode(altitudes);
+        result = 31 * result + Arrays.hashCode(members);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return MessageFormat.format("QuantizedGeometry'{'type=''{0}'', positions={1,number,#}'}'", type, getPositionCount());
+    }
+
+    /**
+     * Collects the counts, deltas and altitudes of one geometry in growing arrays.
+     */
+    private static final class Encoder {
+        private final Quantization quantization;
+        private int[] structure = new int[4];
+        private int structureSize;
+        private int[] deltas = new int[32];
+        private double[] altitudes = new double[16];
+        private int positionCount;
+        private boolean hasAltitude;
+        private int previousX;
+        private int previousY;
+
+        Encoder(Quantization quantization) {
+            this.quantization = quantization;
+        }
+
+        QuantizedGeometry encode(Geometry geometry) {
+            String type = switch (geometry) {
+                case Point point -> {
+                    writePositions(point.getCoordinates() != null ? List.of(point.getCoordinates()) : List.of());
+                    yield POINT;
+                }
+                case LineString lineString -> {
+                    writePositions(lineString.getCoordinates());
+                    yield LINE_STRING;
+                }
+                case Polygon polygon -> {
+                    writePolygon(polygon.getCoordinates());
+                    yield POLYGON;
+                }
+                case MultiPoint multiPoint -> {
+                    writePositions(multiPoint.getCoordinates());
+                    yield MULTI_POINT;
+                }
+                case MultiLineString multiLineString -> {
+                    List<List<Position>> lines = ListUtils.emptyIfNull(multiLineString.getCoordinates());
+                    writeCount(lines.size());
+                    lines.forEach(this::writePositions);
+                    yield MULTI_LINE_STRING;
+                }
+                case MultiPolygon multiPolygon -> {
+                    List<PolygonCoordinates> polygons = ListUtils.emptyIfNull(multiPolygon.getCoordinates());
+                    writeCount(polygons.size());
+                    polygons.forEach(this::writePolygon);
+                    yield MULTI_POLYGON;
+                }
+                case GeometryCollection ignored -> throw new IllegalArgumentException("GeometryCollection is quantized member by member");
+            };
+            double[] positionAltitudes = hasAltitude ? Arrays.copyOf(altitudes, positionCount) : null;
+            return new QuantizedGeometry(type, Arrays.copyOf(structure, structureSize), Arrays.copyOf(deltas, 2 * positionCount), positionAltitudes, NO_MEMBERS);
+        }
+
+        private void writePolygon(PolygonCoordinates coordinates) {
+            List<List<Position>> rings = coordinates != null && coordinates.getExterior() != null ? coordinates.getCoordinates() : List.of();
+            writeCount(rings.size());
+            rings.forEach(this::writePositions);
+        }
+
+        private void writePositions(List<Position> positions) {
+            List<Position> values = ListUtils.emptyIfNull(positions);
+            writeCount(values.size());
+            for (Position position : values) {
+                writePosition(position);
+            }
+        }
+
+        private void writeCount(int count) {
+            if (structureSize == structure.length) {
+                structure = Arrays.copyOf(structure, 2 * structure.length);
+            }
+            structure[structureSize++] = count;
+        }
+
+        private void writePosition(Position position) {
+            double[] coordinates = position != null ? position.getCoordinates() : null;
+            if (coordinates == null || coordinates.length < 2 || !Double.isFinite(coordinates[0]) || !Double.isFinite(coordinates[1])) {
+                throw new IllegalArgumentException("Position " + position + " cannot be quantized");
+            }
+            int x = quantization.quantizeX(coordinates[0]);
+            int y = quantization.quantizeY(coordinates[1]);
+            if (deltas.length < 2 * positionCount + 2) {
+                deltas = Arrays.copyOf(deltas, 2 * deltas.length);
+                altitudes = Arrays.copyOf(altitudes, deltas.length / 2);
+            }
+            deltas[2 * positionCount] = x - previousX;
+            deltas[2 * positionCount + 1] = y - previousY;
+            altitudes[positionCount] = coordinates.length > 2 ? coordinates[2] : Double.NaN;
+            hasAltitude |= coordinates.length > 2;
+            previousX = x;
+            previousY = y;
+            positionCount++;
+        }
+    }
+
+    /**
+     * Reads the counts, deltas and altitudes of the enclosing geometry in order.
+     */
+    private final class Decoder {
+        private final Quantization quantization;
+        private int structureIndex;
+        private int positionIndex;
+        private int x;
+        private int y;
+
+        Decoder(Quantization quantization) {
+            this.quantization = quantization;
+        }
+
+        Geometry decode() {
+            return switch (type) {
+                case POINT -> {
+                    List<Position> positions = readPositions();
+                    yield new Point(POINT, positions.isEmpty() ? null : positions.getFirst());
+                }
+                case LINE_STRING -> new LineString(LINE_STRING, readPositions());
+                case POLYGON -> new Polygon(POLYGON, readPolygon());
+                case MULTI_POINT -> new MultiPoint(MULTI_POINT, readPositions());
+                case MULTI_LINE_STRING -> {
+                    List<List<Position>> lines = new ArrayList<>(structure[structureIndex]);
+                    for (int i = structure[structureIndex++]; i > 0; i--) {
+                        lines.add(readPositions());
+                    }
+                    yield new MultiLineString(MULTI_LINE_STRING, lines);
+                }
+                case MULTI_POLYGON -> {
+                    List<PolygonCoordinates> polygons = new ArrayList<>(structure[structureIndex]);
+                    for (int i = structure[structureIndex++]; i > 0; i--) {
+                        polygons.add(readPolygon());
+                    }
+                    yield new MultiPolygon(MULTI_POLYGON, polygons);
+                }
+                default -> throw new IllegalStateException("Unexpected geometry type " + type);
+            };
+        }
+
+        private PolygonCoordinates readPolygon() {
+            int ringCount = structure[structureIndex++];
+            if (ringCount == 0) {
+                return new PolygonCoordinates(null, List.of());
+            }
+            List<Position> exterior = readPositions();
+            List<List<Position>> holes = new ArrayList<>(ringCount - 1);
+            for (int i = 1; i < ringCount; i++) {
+                holes.add(readPositions());
+            }
+            return new PolygonCoordinates(exterior, holes);
+        }
+
+        private List<Position> readPositions() {
+            int count = structure[structureIndex++];
+            List<Position> positions = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                x += deltas[2 * positionIndex];
+                y += deltas[2 * positionIndex + 1];
+                double longitude = quantization.dequantizeX(x);
+                double latitude = quantization.dequantizeY(y);
+                double altitude = altitudes != null ? altitudes[positionIndex] : Double.NaN;
+                positions.add(new Position(Double.isNaN(altitude) ? new double[]{longitude, latitude} : new double[]{longitude, latitude, altitude}));
+                positionIndex++;
+            }
+            return positions;
+        }
+    }
+}
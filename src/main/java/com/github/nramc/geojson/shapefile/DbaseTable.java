@@ -0,0 +1,188 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.shapefile;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The records of a memory-mapped dBase III table, the {@code .dbf} file of a shapefile, decoded on demand.
+ * <p>
+ * Every record has the same size, so a record is found by its index without scanning. Character fields are
+ * decoded with the charset of the table without trailing blanks, numeric fields become a {@link Long} without
+ * decimals and a {@link Double} otherwise, logical fields a {@link Boolean} and date fields an ISO 8601 date
+ * string. Blank or malformed numbers, dates and logical values are null, i.e. missing from the properties.
+ * Only absolute reads of the mapping are used, so a table can be read by all threads.
+ * </p>
+ */
+final class DbaseTable {
+    private static final int MAX_LONG_DIGITS = 18;
+
+    private final ByteBuffer buffer;
+    private final Charset charset;
+    private final int recordCount;
+    private final int headerSize;
+    private final int recordSize;
+    private final List<Field> fields;
+
+    DbaseTable(ByteBuffer buffer, Charset charset) throws IOException {
+        this.buffer = buffer;
+        this.charset = charset;
+        if (buffer.limit() < Shapefile.DBF_FIELDS_OFFSET) {
+            throw new IOException("dBase table is truncated");
+        }
+        this.recordCount = buffer.getInt(Shapefile.DBF_RECORD_COUNT_OFFSET);
+        this.headerSize = Short.toUnsignedInt(buffer.getShort(Shapefile.DBF_HEADER_SIZE_OFFSET));
+        this.recordSize = Short.toUnsignedInt(buffer.getShort(Shapefile.DBF_RECORD_SIZE_OFFSET));
+        this.fields = fields();
+        if (recordCount < 0 || headerSize + (long) recordCount * recordSize > buffer.limit()) {
+            throw new IOException("dBase table of %d records is truncated".formatted(recordCount));
+        }
+    }
+
+    private List<Field> fields() {
+        List<Field> list = new ArrayList<>();
+        int offset = 1;
+        for (int position = Shapefile.DBF_FIELDS_OFFSET;
+             position + Shapefile.DBF_FIELD_SIZE <= headerSize && buffer.get(position) != Shapefile.DBF_FIELDS_TERMINATOR;
+             position += Shapefile.DBF_FIELD_SIZE) {
+            int nameLength = 0;
+            while (nameLength < Shapefile.DBF_FIELD_NAME_SIZE && buffer.get(position + nameLength) != 0) {
+                nameLength++;
+            }
+            byte[] name = new byte[nameLength];
+            buffer.get(position, name);
+            int length = Byte.toUnsignedInt(buffer.get(position + Shapefile.DBF_FIELD_LENGTH_OFFSET));
+            list.add(new Field(new String(name, charset).trim(), (char) buffer.get(position + Shapefile.DBF_FIELD_TYPE_OFFSET),
+                    offset, length, buffer.get(position + Shapefile.DBF_FIELD_DECIMALS_OFFSET)));
+            offset += length;
+        }
+        return List.copyOf(list);
+    }
+
+    int getRecordCount() {
+        return recordCount;
+    }
+
+    List<String> getFieldNames() {
+        return fields.stream().map(Field::name).toList();
+    }
+
+    boolean isDeleted(int index) {
+        return buffer.get(recordPosition(index)) == Shapefile.DBF_DELETED;
+    }
+
+    /**
+     * Returns the values of the given record by field name, without null values.
+     */
+    Map<String, Serializable> getRecord(int index) {
+        int position = recordPosition(index);
+        Map<String, Serializable> values = HashMap.newHashMap(fields.size());
+        for (Field field : fields) {
+            Serializable value = value(field, position + field.offset());
+            if (value != null) {
+                values.put(field.name(), value);
+            }
+        }
+        return values;
+    }
+
+    private int recordPosition(int index) {
+        if (index < 0 || index >= recordCount) {
+            throw new IndexOutOfBoundsException("Record %d out of bounds for %d records".formatted(index, recordCount));
+        }
+        return headerSize + index * recordSize;
+    }
+
+    private Serializable value(Field field, int position) {
+        int start = position;
+        int end = position + field.length();
+        while (end > start && isBlank(buffer.get(end - 1))) {
+            end--;
+        }
+        return switch (field.type()) {
+            case 'C' -> string(start, end);
+            case 'N', 'F' -> number(start, end, field.decimals());
+            case 'L' -> logical(start, end);
+            case 'D' -> date(start, end);
+            default -> end > start ? string(start, end) : null;
+        };
+    }
+
+    private String string(int start, int end) {
+        byte[] bytes = new byte[end - start];
+        buffer.get(start, bytes);
+        return new String(bytes, charset);
+    }
+
+    private Serializable number(int start, int end, int decimals) {
+        while (start < end && isBlank(buffer.get(start))) {
+            start++;
+        }
+        if (start == end) {
+            return null;
+        }
+        byte[] bytes = new byte[end - start];
+        buffer.get(start, bytes);
+        String text = new String(bytes, StandardCharsets.US_ASCII);
+        try {
+            if (decimals == 0 && bytes.length <= MAX_LONG_DIGITS && text.indexOf('.') < 0) {
+                return Long.parseLong(text);
+            }
+            return Double.parseDouble(text);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private Boolean logical(int start, int end) {
+        if (end - start != 1) {
+            return null;
+        }
+        return switch (buffer.get(start)) {
+            case 'T', 't', 'Y', 'y' -> Boolean.TRUE;
+            case 'F', 'f', 'N', 'n' -> Boolean.FALSE;
+            default -> null;
+        };
+    }
+
+    private String date(int start, int end) {
+        if (end - start != 8) {
+            return null;
+        }
+        for (int i = start; i < end; i++) {
+            if (buffer.get(i) < '0' || buffer.get(i) > '9') {
+                return null;
+            }
+        }
+        String digits = string(start, end);
+        return digits.substring(0, 4) + '-' + digits.substring(4, 6) + '-' + digits.substring(6);
+    }
+
+    private static boolean isBlank(byte value) {
+        return value == ' ' || value == 0;
+    }
+
+    private record Field(String name, char type, int offset, int length, int decimals) {
+    }
+}
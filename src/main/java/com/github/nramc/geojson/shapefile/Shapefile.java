@@ -0,0 +1,86 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.shapefile;
+
+/**
+ * Constants of the ESRI Shapefile format, its {@code .shp} main file, {@code .shx} index and {@code .dbf} dBase table.
+ * <p>
+ * The file code, the file length and the record headers of {@code .shp} and {@code .shx} are big-endian, everything
+ * else, including all of {@code .dbf}, is little-endian. Lengths and offsets of {@code .shp} and {@code .shx} are
+ * counted in 16-bit words.
+ * </p>
+ *
+ * @see <a href="https://www.esri.com/content/dam/esrisites/sitecore-archive/Files/Pdfs/library/whitepapers/pdfs/shapefile.pdf">ESRI Shapefile Technical Description</a>
+ */
+final class Shapefile {
+    static final int FILE_CODE = 9994;
+    static final int HEADER_SIZE = 100;
+    static final int FILE_LENGTH_OFFSET = 24;
+    static final int SHAPE_TYPE_OFFSET = 32;
+    static final int BOUNDING_BOX_OFFSET = 36;
+    static final int RECORD_HEADER_SIZE = 8;
+    static final int INDEX_RECORD_SIZE = 8;
+
+    static final int NULL_SHAPE = 0;
+    static final int POINT = 1;
+    static final int POLY_LINE = 3;
+    static final int POLYGON = 5;
+    static final int MULTI_POINT = 8;
+    static final int POINT_Z = 11;
+    static final int POLY_LINE_Z = 13;
+    static final int POLYGON_Z = 15;
+    static final int MULTI_POINT_Z = 18;
+    static final int POINT_M = 21;
+    static final int POLY_LINE_M = 23;
+    static final int POLYGON_M = 25;
+    static final int MULTI_POINT_M = 28;
+
+    static final int DBF_RECORD_COUNT_OFFSET = 4;
+    static final int DBF_HEADER_SIZE_OFFSET = 8;
+    static final int DBF_RECORD_SIZE_OFFSET = 10;
+    static final int DBF_FIELDS_OFFSET = 32;
+    static final int DBF_FIELD_SIZE = 32;
+    static final int DBF_FIELD_NAME_SIZE = 11;
+    static final int DBF_FIELD_TYPE_OFFSET = 11;
+    static final int DBF_FIELD_LENGTH_OFFSET = 16;
+    static final int DBF_FIELD_DECIMALS_OFFSET = 17;
+    static final byte DBF_FIELDS_TERMINATOR = 0x0D;
+    static final byte DBF_DELETED = '*';
+
+    private Shapefile() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Returns whether the given shape type has Z coordinates, which are followed by optional M values.
+     */
+    static boolean hasZ(int shapeType) {
+        return shapeType >= POINT_Z && shapeType <= MULTI_POINT_Z;
+    }
+
+    /**
+     * Returns the shape type without Z or M, e.g. {@link #POLYGON} for {@link #POLYGON_Z}, any other type as it is.
+     */
+    static int baseType(int shapeType) {
+        return switch (shapeType) {
+            case POINT, POINT_Z, POINT_M -> POINT;
+            case POLY_LINE, POLY_LINE_Z, POLY_LINE_M -> POLY_LINE;
+            case POLYGON, POLYGON_Z, POLYGON_M -> POLYGON;
+            case MULTI_POINT, MULTI_POINT_Z, MULTI_POINT_M -> MULTI_POINT;
+            default -> shapeType;
+        };
+    }
+}
@@ -0,0 +1,477 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.shapefile;
+
+import com.github.nramc.geojson.domain.Feature;
+import com.github.nramc.geojson.domain.Geometry;
+import com.github.nramc.geojson.domain.LineString;
+import com.github.nramc.geojson.domain.MultiLineString;
+import com.github.nramc.geojson.domain.MultiPoint;
+import com.github.nramc.geojson.domain.MultiPolygon;
+import com.github.nramc.geojson.domain.Point;
+import com.github.nramc.geojson.domain.Polygon;
+import com.github.nramc.geojson.domain.PolygonCoordinates;
+import com.github.nramc.geojson.domain.Position;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.StandardCharsets;
+import java.nio.charset.UnsupportedCharsetException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static com.github.nramc.geojson.constant.GeoJsonType.FEATURE;
+import static com.github.nramc.geojson.constant.GeoJsonType.LINE_STRING;
+import static com.github.nramc.geojson.constant.GeoJsonType.MULTI_LINE_STRING;
+import static com.github.nramc.geojson.constant.GeoJsonType.MULTI_POINT;
+import static com.github.nramc.geojson.constant.GeoJsonType.MULTI_POLYGON;
+import static com.github.nramc.geojson.constant.GeoJsonType.POINT;
+import static com.github.nramc.geojson.constant.GeoJsonType.POLYGON;
+
+/**
+ * Reads the {@link Feature} objects of an ESRI Shapefile, i.e. the geometries of its {@code .shp} main file and the
+ * properties of its {@code .dbf} dBase table, in file order or by record number through its {@code .shx} index.
+ * <p>
+ * All files are memory-mapped and only their headers are decoded eagerly, a record is decoded when its feature is
+ * requested. The {@code .shx} index and the {@code .dbf} table are found next to the {@code .shp} file, with the
+ * same base name and an extension of the same case. The index is required, the table is optional, without it
+ * features have no properties. The charset of the table is read from the {@code .cpg} file and defaults to
+ * ISO-8859-1. Records marked as deleted in the table are skipped by {@link #read()}.
+ * </p>
+ * <p>
+ * Z coordinates are kept as altitude, M values are dropped as GeoJSON positions have none. The rings of a polygon
+ * record are grouped into polygons by their orientation and containment, shapefile outer rings are clockwise, and
+ * reoriented as RFC 7946 requires. A record with more than one polygon becomes a {@link MultiPolygon}, a poly line
+ * with more than one part a {@link MultiLineString}. MultiPatch records are not supported. The projection of the
+ * {@code .prj} file is ignored, as GeoJSON is always WGS 84. Features have no id. Mapped regions are released by the
+ * garbage collector. Each file is mapped as a single buffer and is therefore limited to 2 GiB, the limit the
+ * specification sets for the {@code .shp} and {@code .dbf} files anyway.
+ * </p>
+ * <p>
+ * The streams of {@link #read()} are sized and split by ranges of record numbers, so a parallel stream decodes
+ * the records on all cores, e.g. to convert a large shapefile to GeoJSON:
+ * <pre>{@code
+ * ShapefileReader reader = ShapefileReader.of(Path.of("parcels.shp"));
+ * List<Feature> features = reader.read().parallel().toList();
+ * Feature fifth = reader.getFeature(4);
+ * }</pre></p>
+ *
+ * <p>The reader is immutable and can be shared, every stream reads the mapping independently.</p>
+ *
+ * @see <a href="https://www.esri.com/content/dam/esrisites/sitecore-archive/Files/Pdfs/library/whitepapers/pdfs/shapefile.pdf">ESRI Shapefile Technical Description</a>
+ */
+public final class ShapefileReader {
+    private static final Charset DEFAULT_CHARSET = StandardCharsets.ISO_8859_1;
+    private static final int UTF_8_CODE_PAGE = 65001;
+
+    private final ByteBuffer shp;
+    private final ByteBuffer shx;
+    private final DbaseTable table;
+    private final int shapeType;
+    private final double[] boundingBox;
+    private final int recordCount;
+
+    private ShapefileReader(ByteBuffer shp, ByteBuffer shx, DbaseTable table) throws IOException {
+        this.shp = shp;
+        this.shx = shx;
+        this.table = table;
+        if (!isShapefile(shp) || !isShapefile(shx)) {
+            throw new IOException("Not a shapefile, the file code must be " + Shapefile.FILE_CODE);
+        }
+        this.shapeType = shp.getInt(Shapefile.SHAPE_TYPE_OFFSET);
+        this.boundingBox = new double[4];
+        for (int i = 0; i < boundingBox.length; i++) {
+            boundingBox[i] = shp.getDouble(Shapefile.BOUNDING_BOX_OFFSET + i * Double.BYTES);
+        }
+        long indexLength = Math.min(words(shx, Shapefile.FILE_LENGTH_OFFSET), shx.limit());
+        this.recordCount = (int) Math.max(0, (indexLength - Shapefile.HEADER_SIZE) / Shapefile.INDEX_RECORD_SIZE);
+    }
+
+    /**
+     * Maps the given {@code .shp} file, its {@code .shx} index and, if present, its {@code .dbf} table, whose charset
+     * is read from the {@code .cpg} file.
+     *
+     * @param path The path of the {@code .shp} file.
+     * @return A new {@link ShapefileReader}.
+     * @throws IOException if a file could not be mapped, the index is missing or a file is not part of a shapefile.
+     */
+    public static ShapefileReader of(Path path) throws IOException {
+        Path cpg = sibling(path, "cpg");
+        return of(path, Files.isRegularFile(cpg) ? charset(Files.readString(cpg, StandardCharsets.US_ASCII)) : DEFAULT_CHARSET);
+    }
+
+    /**
+     * Maps the given {@code .shp} file, its {@code .shx} index and, if present, its {@code .dbf} table, whose
+     * character fields are decoded with the given charset regardless of the {@code .cpg} file.
+     *
+     * @param path    The path of the {@code .shp} file.
+     * @param charset The charset of the character fields of the {@code .dbf} table.
+     * @return A new {@link ShapefileReader}.
+     * @throws IOException if a file could not be mapped, the index is missing or a file is not part of a shapefile.
+     */
+    public static ShapefileReader of(Path path, Charset charset) throws IOException {
+        Path shx = sibling(path, "shx");
+        if (!Files.isRegularFile(shx)) {
+            throw new IOException("Shapefile index not found: " + shx);
+        }
+        Path dbf = sibling(path, "dbf");
+        DbaseTable table = Files.isRegularFile(dbf) ? new DbaseTable(map(dbf), charset) : null;
+        return new ShapefileReader(map(path), map(shx), table);
+    }
+
+    /**
+     * Returns the number of records, including records marked as deleted.
+     *
+     * @return the number of records of the index.
+     */
+    public int getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Returns the bounding box of all records declared by the header, without Z and M ranges.
+     *
+     * @return {@code [minX, minY, maxX, maxY]}.
+     */
+    public double[] getBoundingBox() {
+        return boundingBox.clone();
+    }
+
+    /**
+     * Returns the names of the fields of the {@code .dbf} table in table order, i.e. the property names.
+     *
+     * @return the field names, empty if the shapefile has no table.
+     */
+    public List<String> getFieldNames() {
+        return table != null ? table.getFieldNames() : List.of();
+    }
+
+    /**
+     * Returns whether the given record is marked as deleted in the {@code .dbf} table.
+     *
+     * @param index The 0-based record number.
+     * @return true if the record is deleted, false if not or if the shapefile has no table.
+     * @throws IndexOutOfBoundsException if there is no such record.
+     */
+    public boolean isDeleted(int index) {
+        checkIndex(index);
+        return table != null && index < table.getRecordCount() && table.isDeleted(index);
+    }
+
+    /**
+     * Returns the feature of the given record, found through the {@code .shx} index. Records marked as deleted
+     * are returned as well.
+     *
+     * @param index The 0-based record number.
+     * @return the decoded feature.
+     * @throws IndexOutOfBoundsException if there is no such record.
+     * @throws IllegalArgumentException  if the record is truncated or its shape type is not supported.
+     */
+    public Feature getFeature(int index) {
+        checkIndex(index);
+        return feature(index);
+    }
+
+    /**
+     * Returns all features which are not marked as deleted, in file order.
+     *
+     * @return A lazily populated {@link Stream} of features, split by record ranges if parallel.
+     * @throws IllegalArgumentException if a record is truncated or its shape type is not supported.
+     */
+    public Stream<Feature> read() {
+        return read(0, recordCount);
+    }
+
+    /**
+     * Returns the features of the given range of records which are not marked as deleted, in file order,
+     * e.g. to distribute the records of a shapefile among workers.
+     *
+     * @param fromIndex The 0-based number of the first record, inclusive.
+     * @param toIndex   The 0-based number of the last record, exclusive.
+     * @return A lazily populated {@link Stream} of features, split by record ranges if parallel.
+     * @throws IndexOutOfBoundsException if the range is outside the records.
+     * @throws IllegalArgumentException  if a record is truncated or its shape type is not supported.
+     */
+    public Stream<Feature> read(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || fromIndex > toIndex || toIndex > recordCount) {
+            throw new IndexOutOfBoundsException("Range [%d, %d) out of bounds for %d records".formatted(fromIndex, toIndex, recordCount));
+        }
+        return IntStream.range(fromIndex, toIndex).filter(index -> !isDeleted(index)).mapToObj(this::feature);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= recordCount) {
+            throw new IndexOutOfBoundsException("Record %d out of bounds for %d records".formatted(index, recordCount));
+        }
+    }
+
+    private Feature feature(int index) {
+        Map<String, Serializable> properties = table != null && index < table.getRecordCount() ? table.getRecord(index) : Map.of();
+        return new Feature(FEATURE, null, geometry(index), properties);
+    }
+
+    private Geometry geometry(int index) {
+        int indexRecord = Shapefile.HEADER_SIZE + index * Shapefile.INDEX_RECORD_SIZE;
+        long offset = words(shx, indexRecord);
+        long length = words(shx, indexRecord + Integer.BYTES);
+        if (offset < Shapefile.HEADER_SIZE || length < Integer.BYTES || offset + Shapefile.RECORD_HEADER_SIZE + length > shp.limit()) {
+            throw new IllegalArgumentException("Shapefile record %d is truncated".formatted(index));
+        }
+        Record record = new Record(shp, (int) offset + Shapefile.RECORD_HEADER_SIZE, (int) length, index);
+        int type = record.getInt(0);
+        return switch (Shapefile.baseType(type)) {
+            case Shapefile.NULL_SHAPE -> null;
+            case Shapefile.POINT -> new Point(POINT, record.position(4, Shapefile.hasZ(type) ? 20 : -1));
+            case Shapefile.MULTI_POINT -> multiPoint(record, Shapefile.hasZ(type));
+            case Shapefile.POLY_LINE -> polyLine(record, Shapefile.hasZ(type));
+            case Shapefile.POLYGON -> polygon(record, Shapefile.hasZ(type));
+            default -> throw new IllegalArgumentException("Shapefile record %d has unsupported shape type %d".formatted(index, type));
+        };
+    }
+
+    private static MultiPoint multiPoint(Record record, boolean hasZ) {
+        int count = record.count(36);
+        return new MultiPoint(MULTI_POINT, record.positions(40, 0, count, hasZ ? 40 + count * 16 + 16 : -1));
+    }
+
+    private static Geometry polyLine(Record record, boolean hasZ) {
+        List<List<Position>> parts = parts(record, hasZ);
+        return parts.size() == 1 ? new LineString(LINE_STRING, parts.getFirst()) : new MultiLineString(MULTI_LINE_STRING, parts);
+    }
+
+    /**
+     * Returns the parts of a poly line or polygon record: the bounding box, the number of parts and points,
+     * the index of the first point of each part, the points, optionally followed by the Z range and values.
+     */
+    private static List<List<Position>> parts(Record record, boolean hasZ) {
+        int partCount = record.count(36);
+        int pointCount = record.count(40);
+        int points = 44 + partCount * Integer.BYTES;
+        int z = hasZ ? points + pointCount * 16 + 16 : -1;
+        List<List<Position>> parts = new ArrayList<>(partCount);
+        for (int part = 0; part < partCount; part++) {
+            int start = record.getInt(44 + part * Integer.BYTES);
+            int end = part + 1 < partCount ? record.getInt(44 + (part + 1) * Integer.BYTES) : pointCount;
+            if (start < 0 || start > end || end > pointCount) {
+                throw record.truncated();
+            }
+            parts.add(record.positions(points, start, end, z));
+        }
+        return parts;
+    }
+
+    private static Geometry polygon(Record record, boolean hasZ) {
+        List<List<Position>> rings = parts(record, hasZ);
+        List<Shell> shells = new ArrayList<>();
+        List<List<Position>> holes = new ArrayList<>();
+        for (List<Position> ring : rings) {
+            if (ring.isEmpty()) {
+                continue;
+            }
+            if (signedArea(ring) <= 0) {
+                shells.add(new Shell(orient(ring, true)));
+            } else {
+                holes.add(ring);
+            }
+        }
+        for (List<Position> hole : holes) {
+            Shell container = null;
+            for (Shell shell : shells) {
+                if ((container == null || shell.area() < container.area()) && shell.contains(hole.getFirst())) {
+                    container = shell;
+                }
+            }
+            if (container != null) {
+                container.holes().add(orient(hole, false));
+            } else {
+                shells.add(new Shell(orient(hole, true)));
+            }
+        }
+        if (shells.size() == 1) {
+            return new Polygon(POLYGON, shells.getFirst().coordinates());
+        }
+        if (shells.isEmpty()) {
+            return new Polygon(POLYGON, null);
+        }
+        return new MultiPolygon(MULTI_POLYGON, shells.stream().map(Shell::coordinates).toList());
+    }
+
+    /**
+     * Returns twice the signed area of the given ring, positive if counterclockwise.
+     */
+    private static double signedArea(List<Position> ring) {
+        double area = 0;
+        for (int i = 0, j = ring.size() - 1; i < ring.size(); j = i++) {
+            double[] current = ring.get(i).getCoordinates();
+            double[] previous = ring.get(j).getCoordinates();
+            area += (previous[0] - current[0]) * (previous[1] + current[1]);
+        }
+        return area;
+    }
+
+    /**
+     * Returns the given ring counterclockwise if it is an exterior ring, clockwise otherwise.
+     */
+    private static List<Position> orient(List<Position> ring, boolean exterior) {
+        if (signedArea(ring) < 0 == exterior) {
+            return ring.reversed();
+        }
+        return ring;
+    }
+
+    private static boolean isShapefile(ByteBuffer buffer) {
+        return buffer.limit() >= Shapefile.HEADER_SIZE && Integer.reverseBytes(buffer.getInt(0)) == Shapefile.FILE_CODE;
+    }
+
+    /**
+     * Returns the big-endian length or offset at the given position in bytes, it is stored in 16-bit words.
+     */
+    private static long words(ByteBuffer buffer, int position) {
+        return Integer.toUnsignedLong(Integer.reverseBytes(buffer.getInt(position))) * 2;
+    }
+
+    /**
+     * Returns the file with the same base name as the given {@code .shp} file and the given extension,
+     * upper case if the extension of the {@code .shp} file is.
+     */
+    static Path sibling(Path path, String extension) {
+        String name = path.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String base = dot >= 0 ? name.substring(0, dot) : name;
+        boolean upperCase = dot >= 0 && name.substring(dot + 1).equals("SHP");
+        return path.resolveSibling(base + '.' + (upperCase ? extension.toUpperCase() : extension));
+    }
+
+    /**
+     * Returns the charset named by a {@code .cpg} file, either a charset name or a Windows code page number.
+     */
+    static Charset charset(String name) {
+        String trimmed = name.trim();
+        try {
+            if (!trimmed.isEmpty() && trimmed.chars().allMatch(Character::isDigit)) {
+                return Integer.parseInt(trimmed) == UTF_8_CODE_PAGE ? StandardCharsets.UTF_8 : Charset.forName("windows-" + trimmed);
+            }
+            return Charset.forName(trimmed);
+        } catch (IllegalCharsetNameException | UnsupportedCharsetException | NumberFormatException e) {
+            return DEFAULT_CHARSET;
+        }
+    }
+
+    private static ByteBuffer map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // a mapping stays valid after its channel has been closed
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("File exceeds 2 GiB: " + path);
+            }
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).order(ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+
+    /**
+     * The content of a record, read by offsets relative to its start, which fail if they exceed the record.
+     */
+    private record Record(ByteBuffer buffer, int start, int length, int index) {
+
+        int getInt(int offset) {
+            check(offset, Integer.BYTES);
+            return buffer.getInt(start + offset);
+        }
+
+        double getDouble(int offset) {
+            check(offset, Double.BYTES);
+            return buffer.getDouble(start + offset);
+        }
+
+        int count(int offset) {
+            int count = getInt(offset);
+            if (count < 0 || count > length) {
+                throw truncated();
+            }
+            return count;
+        }
+
+        Position position(int offset, int zOffset) {
+            return zOffset >= 0
+                    ? new Position(new double[]{getDouble(offset), getDouble(offset + 8), getDouble(zOffset)})
+                    : new Position(new double[]{getDouble(offset), getDouble(offset + 8)});
+        }
+
+        /**
+         * Returns the points from the given start to the given end index of the points at the given offset,
+         * with Z values of the values at the given offset unless it is negative.
+         */
+        List<Position> positions(int offset, int from, int to, int zOffset) {
+            Position[] positions = new Position[to - from];
+            for (int i = from; i < to; i++) {
+                positions[i - from] = position(offset + i * 16, zOffset >= 0 ? zOffset + i * Double.BYTES : -1);
+            }
+            return Arrays.asList(positions);
+        }
+
+        private void check(int offset, int size) {
+            if (offset < 0 || offset + size > length) {
+                throw truncated();
+            }
+        }
+
+        IllegalArgumentException truncated() {
+            return new IllegalArgumentException("Shapefile record %d is truncated".formatted(index));
+        }
+    }
+
+    /**
+     * An exterior ring with the holes assigned to it.
+     */
+    private record Shell(List<Position> exterior, List<List<Position>> holes, double area) {
+
+        Shell(List<Position> exterior) {
+            this(exterior, new ArrayList<>(), Math.abs(signedArea(exterior)));
+        }
+
+        /**
+         * Returns whether the given position is inside the exterior ring, by counting the crossings of a ray.
+         */
+        boolean contains(Position position) {
+            double x = position.getCoordinates()[0];
+            double y = position.getCoordinates()[1];
+            boolean inside = false;
+            for (int i = 0, j = exterior.size() - 1; i < exterior.size(); j = i++) {
+                double[] a = exterior.get(i).getCoordinates();
+                double[] b = exterior.get(j).getCoordinates();
+                if ((a[1] > y) != (b[1] > y) && x < (b[0] - a[0]) * (y - a[1]) / (b[1] - a[1]) + a[0]) {
+                    inside = !inside;
+                }
+            }
+            return inside;
+        }
+
+        PolygonCoordinates coordinates() {
+            return new PolygonCoordinates(exterior, holes);
+        }
+    }
+}
@@ -0,0 +1,271 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.topojson;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cuts the lines and rings of a topology into arcs and stores every arc once.
+ * <p>
+ * Points are quantized coordinates packed into a long, see {@link #point(int, int)}. A point is a junction if
+ * it is the end of a line, or if it is visited with different neighbors by two shapes, e.g. the point where the
+ * border of two districts meets a third one. Junctions are found by hashing every point into an open addressing
+ * table which remembers the neighbors of the first visit. Shapes are then cut at junctions, so a border shared by
+ * two rings becomes the same sequence of points in both, once in reverse. A ring without junction becomes a single
+ * closed arc starting at its smallest point, so an island and the hole it fills share one arc as well.
+ * </p>
+ * <p>
+ * Each arc is looked up by its points in both directions, a shape refers to an arc as its index or, if the arc is
+ * traversed backwards, as the ones' complement {@code ~index} of it, as defined by TopoJSON.
+ * </p>
+ */
+final class ArcIndex {
+    /**
+     * Marks a free slot of the hash table, the point of {@code (Integer.MIN_VALUE, 0)} which the bounding box
+     * quantization of the writer never produces.
+     */
+    private static final long NO_POINT = Long.MIN_VALUE;
+
+    private final List<long[]> shapes = new ArrayList<>();
+    private final List<Boolean> rings = new ArrayList<>();
+    private final List<long[]> arcs = new ArrayList<>();
+    private final Map<Arc, Integer> arcIndices = new HashMap<>();
+    private int pointCount;
+
+    private long[] keys;
+    private long[] previous;
+    private long[] next;
+    private boolean[] visited;
+    private boolean[] junctions;
+    private int mask;
+
+    /**
+     * Packs the given quantized coordinates into a point.
+     */
+    static long point(int x, int y) {
+        return (long) x << Integer.SIZE | (y & 0xffffffffL);
+    }
+
+    static int x(long point) {
+        return (int) (point >> Integer.SIZE);
+    }
+
+    static int y(long point) {
+        return (int) point;
+    }
+
+    /**
+     * Adds a line, consecutive duplicate points must have been removed.
+     *
+     * @return the index of the shape, to get its arcs after {@link #build()}.
+     */
+    int addLine(long[] points) {
+        return add(points, false);
+    }
+
+    /**
+     * Adds a ring without its closing point, consecutive duplicate points must have been removed.
+     *
+     * @return the index of the shape, to get its arcs after {@link #build()}.
+     */
+    int addRing(long[] points) {
+        return add(points, true);
+    }
+
+    private int add(long[] points, boolean ring) {
+        shapes.add(points);
+        rings.add(ring);
+        pointCount += points.length;
+        return shapes.size() - 1;
+    }
+
+    /**
+     * Finds the junctions of all shapes added so far and cuts every shape into arcs.
+     *
+     * @return the arc references of every shape, in the order the shapes were added.
+     */
+    int[][] build() {
+        int capacity = Integer.highestOneBit(Math.max(pointCount, 1) * 2 - 1) << 1;
+        keys = new long[capacity];
+        Arrays.fill(keys, NO_POINT);
+        previous = new long[capacity];
+        next = new long[capacity];
+        visited = new boolean[capacity];
+        junctions = new boolean[capacity];
+        mask = capacity - 1;
+        for (int shape = 0; shape < shapes.size(); shape++) {
+            findJunctions(shapes.get(shape), rings.get(shape));
+        }
+        int[][] references = new int[shapes.size()][];
+        for (int shape = 0; shape < shapes.size(); shape++) {
+            long[] points = shapes.get(shape);
+            references[shape] = Boolean.TRUE.equals(rings.get(shape)) ? cutRing(points) : cutLine(points);
+        }
+        return references;
+    }
+
+    /**
+     * Returns the distinct arcs, available after {@link #build()}.
+     */
+    List<long[]> getArcs() {
+        return arcs;
+    }
+
+    private void findJunctions(long[] points, boolean ring) {
+        int n = points.length;
+        if (ring) {
+            for (int i = 0; i < n; i++) {
+                visit(points[i], points[(i + n - 1) % n], points[(i + 1) % n]);
+            }
+        } else if (n > 0) {
+            junctions[slot(points[0])] = true;
+            junctions[slot(points[n - 1])] = true;
+            for (int i = 1; i < n - 1; i++) {
+                visit(points[i], points[i - 1], points[i + 1]);
+            }
+        }
+    }
+
+    private void visit(long point, long before, long after) {
+        int slot = slot(point);
+        if (!visited[slot]) {
+            visited[slot] = true;
+            previous[slot] = before;
+            next[slot] = after;
+        } else if (!(previous[slot] == before && next[slot] == after) && !(previous[slot] == after && next[slot] == before)) {
+            junctions[slot] = true;
+        }
+    }
+
+    /**
+     * Returns the slot of the given point in the hash table, claimed for the point on first use.
+     */
+    private int slot(long point) {
+        int slot = (int) ((point * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+        while (keys[slot] != NO_POINT && keys[slot] != point) {
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = point;
+        return slot;
+    }
+
+    private boolean isJunction(long point) {
+        return junctions[slot(point)];
+    }
+
+    private int[] cutLine(long[] points) {
+        if (points.length == 0) {
+            return new int[0];
+        }
+        if (points.length == 1) {
+            return new int[]{reference(new long[]{points[0], points[0]})};
+        }
+        return cut(points);
+    }
+
+    private int[] cutRing(long[] points) {
+        int n = points.length;
+        if (n == 0) {
+            return new int[0];
+        }
+        int start = -1;
+        for (int i = 0; i < n && start < 0; i++) {
+            if (isJunction(points[i])) {
+                start = i;
+            }
+        }
+        boolean closed = start < 0;
+        if (closed) {
+            start = 0;
+            for (int i = 1; i < n; i++) {
+                if (points[i] < points[start]) {
+                    start = i;
+                }
+            }
+        }
+        long[] rotated = new long[n + 1];
+        for (int i = 0; i <= n; i++) {
+            rotated[i] = points[(start + i) % n];
+        }
+        return closed ? new int[]{reference(rotated)} : cut(rotated);
+    }
+
+    /**
+     * Cuts the given points at every inner junction, the first and last point are ends of arcs anyway.
+     */
+    private int[] cut(long[] points) {
+        int[] references = new int[points.length];
+        int count = 0;
+        int from = 0;
+        for (int i = 1; i < points.length; i++) {
+            if (i == points.length - 1 || isJunction(points[i])) {
+                references[count++] = reference(Arrays.copyOfRange(points, from, i + 1));
+                from = i;
+            }
+        }
+        return Arrays.copyOf(references, count);
+    }
+
+    /**
+     * Returns the reference to the given arc, as index of an equal arc, or as ones' complement of the index of the
+     * reversed arc, adding the arc if neither exists yet.
+     */
+    private int reference(long[] points) {
+        Arc arc = new Arc(points);
+        Integer index = arcIndices.get(arc);
+        if (index != null) {
+            return index;
+        }
+        long[] reversed = new long[points.length];
+        for (int i = 0; i < points.length; i++) {
+            reversed[i] = points[points.length - 1 - i];
+        }
+        index = arcIndices.get(new Arc(reversed));
+        if (index != null) {
+            return ~index;
+        }
+        arcs.add(points);
+        arcIndices.put(arc, arcs.size() - 1);
+        return arcs.size() - 1;
+    }
+
+    /**
+     * The points of an arc as key of the arc index, compared by content.
+     */
+    private static final class Arc {
+        private final long[] points;
+        private final int hash;
+
+        private Arc(long[] points) {
+            this.points = points;
+            this.hash = Arrays.hashCode(points);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Arc arc && hash == arc.hash && Arrays.equals(points, arc.points);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
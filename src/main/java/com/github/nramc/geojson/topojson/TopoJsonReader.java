@@ -0,0 +1,285 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.topojson;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.nramc.geojson.domain.Feature;
+import com.github.nramc.geojson.domain.FeatureCollection;
+import com.github.nramc.geojson.domain.Geometry;
+import com.github.nramc.geojson.domain.GeometryCollection;
+import com.github.nramc.geojson.domain.LineString;
+import com.github.nramc.geojson.domain.MultiLineString;
+import com.github.nramc.geojson.domain.MultiPoint;
+import com.github.nramc.geojson.domain.MultiPolygon;
+import com.github.nramc.geojson.domain.Point;
+import com.github.nramc.geojson.domain.Polygon;
+import com.github.nramc.geojson.domain.PolygonCoordinates;
+import com.github.nramc.geojson.domain.Position;
+import com.github.nramc.geojson.quantization.Quantization;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static com.github.nramc.geojson.constant.GeoJsonType.FEATURE;
+import static com.github.nramc.geojson.constant.GeoJsonType.FEATURE_COLLECTION;
+import static com.github.nramc.geojson.constant.GeoJsonType.GEOMETRY_COLLECTION;
+import static com.github.nramc.geojson.constant.GeoJsonType.LINE_STRING;
+import static com.github.nramc.geojson.constant.GeoJsonType.MULTI_LINE_STRING;
+import static com.github.nramc.geojson.constant.GeoJsonType.MULTI_POINT;
+import static com.github.nramc.geojson.constant.GeoJsonType.MULTI_POLYGON;
+import static com.github.nramc.geojson.constant.GeoJsonType.POINT;
+import static com.github.nramc.geojson.constant.GeoJsonType.POLYGON;
+
+/**
+ * Reads an object of a TopoJSON topology as {@link FeatureCollection}.
+ * <p>
+ * The arcs are decoded once, with the {@code transform} of the topology if it has one, and the lines and rings of
+ * the geometries are stitched together from them, each geometry packs its own copy of the positions. A
+ * GeometryCollection object becomes one feature per member, any other object a single feature, with the {@code id}
+ * and {@code properties} of the member. A member of type null becomes a feature without geometry, properties with
+ * a null value are dropped, as are polygons without rings of a MultiPolygon. Geometries are not validated eagerly,
+ * same as deserialization.
+ * </p>
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * FeatureCollection districts = TopoJsonReader.read(Path.of("districts.topojson"), "districts");
+ * }</pre></p>
+ *
+ * @see TopoJsonWriter
+ */
+public final class TopoJsonReader {
+    private static final ObjectMapper DEFAULT_OBJECT_MAPPER = new ObjectMapper();
+    private static final TypeReference<HashMap<String, Serializable>> PROPERTIES = new TypeReference<>() {
+    };
+
+    private TopoJsonReader() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Reads the object with the given name of the topology in the given file.
+     *
+     * @param path       The path of the TopoJSON file.
+     * @param objectName The name of the object to read.
+     * @return the features of the object.
+     * @throws IOException              if the file could not be read or parsed.
+     * @throws IllegalArgumentException if the content is not a topology or has no object with the given name.
+     */
+    public static FeatureCollection read(Path path, String objectName) throws IOException {
+        try (InputStream inputStream = Files.newInputStream(path)) {
+            return read(inputStream, objectName);
+        }
+    }
+
+    /**
+     * Reads the object with the given name of the topology in the given input stream, which is not closed.
+     *
+     * @param inputStream The input stream of the TopoJSON content.
+     * @param objectName  The name of the object to read.
+     * @return the features of the object.
+     * @throws IOException              if the content could not be read or parsed.
+     * @throws IllegalArgumentException if the content is not a topology or has no object with the given name.
+     */
+    public static FeatureCollection read(InputStream inputStream, String objectName) throws IOException {
+        return read(DEFAULT_OBJECT_MAPPER.readTree(inputStream), objectName);
+    }
+
+    /**
+     * Reads the object with the given name of the given topology.
+     *
+     * @param topology   The TopoJSON content.
+     * @param objectName The name of the object to read.
+     * @return the features of the object.
+     * @throws IOException              if the content could not be parsed.
+     * @throws IllegalArgumentException if the content is not a topology or has no object with the given name.
+     */
+    public static FeatureCollection read(String topology, String objectName) throws IOException {
+        return read(DEFAULT_OBJECT_MAPPER.readTree(topology), objectName);
+    }
+
+    /**
+     * Reads the object with the given name of the given parsed topology.
+     *
+     * @param topology   The TopoJSON content.
+     * @param objectName The name of the object to read.
+     * @return the features of the object.
+     * @throws IllegalArgumentException if the content is not a topology or has no object with the given name.
+     */
+    public static FeatureCollection read(JsonNode topology, String objectName) {
+        if (topology == null || !"Topology".equals(topology.path("type").asText())) {
+            throw new IllegalArgumentException("TopoJSON content is not a Topology");
+        }
+        JsonNode object = topology.path("objects").path(objectName);
+        if (!object.isObject()) {
+            List<String> names = new ArrayList<>();
+            topology.path("objects").fieldNames().forEachRemaining(names::add);
+            throw new IllegalArgumentException("Topology has no object '%s' but %s".formatted(objectName, names));
+        }
+        Decoder decoder = new Decoder(topology);
+        List<Feature> features = new ArrayList<>();
+        if (GEOMETRY_COLLECTION.equals(object.path("type").textValue())) {
+            for (JsonNode member : object.path("geometries")) {
+                features.add(decoder.feature(member));
+            }
+        } else {
+            features.add(decoder.feature(object));
+        }
+        return new FeatureCollection(FEATURE_COLLECTION, features);
+    }
+
+    /**
+     * Holds the decoded arcs of a topology and builds geometries from them.
+     */
+    private static final class Decoder {
+        private final Quantization transform;
+        private final List<List<Position>> arcs;
+
+        private Decoder(JsonNode topology) {
+            JsonNode node = topology.path("transform");
+            transform = node.isObject() ? Quantization.of(node.path("scale").path(0).asDouble(), node.path("scale").path(1).asDouble(),
+                    node.path("translate").path(0).asDouble(), node.path("translate").path(1).asDouble()) : null;
+            arcs = new ArrayList<>(topology.path("arcs").size());
+            for (JsonNode arc : topology.path("arcs")) {
+                arcs.add(arc(arc));
+            }
+        }
+
+        /**
+         * Decodes an arc, with a transform the positions are quantized and delta encoded.
+         */
+        private List<Position> arc(JsonNode arc) {
+            List<Position> positions = new ArrayList<>(arc.size());
+            int x = 0;
+            int y = 0;
+            for (JsonNode position : arc) {
+                if (transform != null) {
+                    x += position.path(0).asInt();
+                    y += position.path(1).asInt();
+                    positions.add(new Position(new double[]{transform.dequantizeX(x), transform.dequantizeY(y)}));
+                } else {
+                    positions.add(position(position));
+                }
+            }
+            return positions;
+        }
+
+        private Position position(JsonNode position) {
+            if (transform != null) {
+                return new Position(new double[]{transform.dequantizeX(position.path(0).asInt()), transform.dequantizeY(position.path(1).asInt())});
+            }
+            double[] coordinates = new double[position.size()];
+            for (int i = 0; i < coordinates.length; i++) {
+                coordinates[i] = position.get(i).asDouble();
+            }
+            return new Position(coordinates);
+        }
+
+        private Feature feature(JsonNode member) {
+            JsonNode id = member.get("id");
+            JsonNode properties = member.get("properties");
+            Map<String, Serializable> values = Collections.emptyMap();
+            if (properties != null && properties.isObject()) {
+                HashMap<String, Serializable> map = DEFAULT_OBJECT_MAPPER.convertValue(properties, PROPERTIES);
+                map.values().removeIf(Objects::isNull);
+                values = map;
+            }
+            return new Feature(FEATURE, id != null && !id.isNull() ? id.asText() : null, geometry(member), values);
+        }
+
+        private Geometry geometry(JsonNode member) {
+            JsonNode type = member.path("type");
+            if (type.isNull() || type.isMissingNode()) {
+                return null;
+            }
+            JsonNode arcReferences = member.path("arcs");
+            return switch (type.asText()) {
+                case POINT -> {
+                    JsonNode coordinates = member.path("coordinates");
+                    yield new Point(POINT, coordinates.isArray() ? position(coordinates) : null);
+                }
+                case MULTI_POINT -> {
+                    List<Position> positions = new ArrayList<>(member.path("coordinates").size());
+                    member.path("coordinates").forEach(position -> positions.add(position(position)));
+                    yield new MultiPoint(MULTI_POINT, positions);
+                }
+                case LINE_STRING -> new LineString(LINE_STRING, line(arcReferences));
+                case MULTI_LINE_STRING -> new MultiLineString(MULTI_LINE_STRING, lines(arcReferences));
+                case POLYGON -> new Polygon(POLYGON, polygon(arcReferences));
+                case MULTI_POLYGON -> {
+                    List<PolygonCoordinates> polygons = new ArrayList<>(arcReferences.size());
+                    for (JsonNode polygon : arcReferences) {
+                        if (!polygon.isEmpty()) {
+                            polygons.add(polygon(polygon));
+                        }
+                    }
+                    yield new MultiPolygon(MULTI_POLYGON, polygons);
+                }
+                case GEOMETRY_COLLECTION -> {
+                    List<Geometry> geometries = new ArrayList<>(member.path("geometries").size());
+                    member.path("geometries").forEach(geometry -> geometries.add(geometry(geometry)));
+                    yield new GeometryCollection(GEOMETRY_COLLECTION, geometries);
+                }
+                default -> throw new IllegalArgumentException("TopoJSON geometry type '%s' is not supported".formatted(type.asText()));
+            };
+        }
+
+        private PolygonCoordinates polygon(JsonNode rings) {
+            return rings.isEmpty() ? null : new PolygonCoordinates(lines(rings));
+        }
+
+        private List<List<Position>> lines(JsonNode lines) {
+            List<List<Position>> positions = new ArrayList<>(lines.size());
+            lines.forEach(line -> positions.add(line(line)));
+            return positions;
+        }
+
+        /**
+         * Joins the referenced arcs, each arc after the first starts at the last position of the previous one.
+         */
+        private List<Position> line(JsonNode references) {
+            List<Position> positions = new ArrayList<>();
+            for (JsonNode reference : references) {
+                int index = reference.asInt();
+                int arcIndex = index < 0 ? ~index : index;
+                if (arcIndex >= arcs.size()) {
+                    throw new IllegalArgumentException("Topology has no arc " + arcIndex);
+                }
+                List<Position> arc = arcs.get(arcIndex);
+                int skip = positions.isEmpty() ? 0 : 1;
+                if (index >= 0) {
+                    positions.addAll(arc.subList(Math.min(skip, arc.size()), arc.size()));
+                } else {
+                    for (int i = arc.size() - 1 - skip; i >= 0; i--) {
+                        positions.add(arc.get(i));
+                    }
+                }
+            }
+            return positions;
+        }
+    }
+}
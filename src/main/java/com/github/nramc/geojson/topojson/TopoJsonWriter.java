@@ -0,0 +1,416 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.topojson;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.nramc.geojson.domain.Feature;
+import com.github.nramc.geojson.domain.FeatureCollection;
+import com.github.nramc.geojson.domain.Geometry;
+import com.github.nramc.geojson.domain.GeometryCollection;
+import com.github.nramc.geojson.domain.LineString;
+import com.github.nramc.geojson.domain.MultiLineString;
+import com.github.nramc.geojson.domain.MultiPoint;
+import com.github.nramc.geojson.domain.MultiPolygon;
+import com.github.nramc.geojson.domain.Point;
+import com.github.nramc.geojson.domain.Polygon;
+import com.github.nramc.geojson.domain.PolygonCoordinates;
+import com.github.nramc.geojson.domain.Position;
+import com.github.nramc.geojson.quantization.Quantization;
+import org.apache.commons.collections4.ListUtils;
+import org.apache.commons.collections4.MapUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.MessageFormat;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.github.nramc.geojson.constant.GeoJsonType.GEOMETRY_COLLECTION;
+import static com.github.nramc.geojson.constant.GeoJsonType.LINE_STRING;
+import static com.github.nramc.geojson.constant.GeoJsonType.MULTI_LINE_STRING;
+import static com.github.nramc.geojson.constant.GeoJsonType.MULTI_POINT;
+import static com.github.nramc.geojson.constant.GeoJsonType.MULTI_POLYGON;
+import static com.github.nramc.geojson.constant.GeoJsonType.POINT;
+import static com.github.nramc.geojson.constant.GeoJsonType.POLYGON;
+
+/**
+ * Writes a {@link FeatureCollection} as TopoJSON topology, in which a border shared by two polygons is stored once.
+ * <p>
+ * Positions are quantized onto a grid over the bounding box of the features, see {@link Quantization}. The rings
+ * of polygons and the lines are cut into arcs wherever shapes meet, and arcs which are equal in either direction
+ * are written once, in the {@code arcs} of the topology, with delta encoded positions. Geometries refer to their
+ * arcs by index, or by {@code ~index} if they traverse an arc backwards. For layers of adjacent polygons, such as
+ * countries or districts, almost every border is shared and the topology is a fraction of the size of the GeoJSON.
+ * Points keep their quantized positions, altitudes are dropped.
+ * </p>
+ * <p>
+ * The features are written as members of a GeometryCollection object with the given name, a member keeps the
+ * {@code id} and {@code properties} of its feature, a feature without geometry becomes a member of type null.
+ * </p>
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * TopoJsonWriter.DEFAULT.write("districts", featureCollection, Path.of("districts.topojson"));
+ * FeatureCollection districts = TopoJsonReader.read(Path.of("districts.topojson"), "districts");
+ * }</pre></p>
+ *
+ * <p>The writer is immutable and can be shared.</p>
+ *
+ * @see TopoJsonReader
+ * @see <a href="https://github.com/topojson/topojson-specification">TopoJSON Format Specification</a>
+ */
+public final class TopoJsonWriter {
+    /**
+     * Default number of grid values per axis, keeps about 1 m over a whole continent.
+     */
+    public static final int DEFAULT_QUANTIZATION = 1_000_000;
+    /**
+     * Writes with {@link #DEFAULT_QUANTIZATION}.
+     */
+    public static final TopoJsonWriter DEFAULT = new TopoJsonWriter(DEFAULT_QUANTIZATION);
+
+    private static final ObjectMapper DEFAULT_OBJECT_MAPPER = new ObjectMapper();
+
+    private final int quantization;
+
+    private TopoJsonWriter(int quantization) {
+        this.quantization = quantization;
+    }
+
+    /**
+     * Returns a writer which quantizes positions onto a grid of the given number of values per axis.
+     * A coarser grid makes more neighboring positions equal and the output smaller.
+     *
+     * @param quantization The number of grid values per axis, at least 2.
+     * @return a writer with the given quantization.
+     * @throws IllegalArgumentException if the quantization is less than 2.
+     */
+    public TopoJsonWriter withQuantization(int quantization) {
+        if (quantization < 2) {
+            throw new IllegalArgumentException("Quantization must be at least 2 but was " + quantization);
+        }
+        return new TopoJsonWriter(quantization);
+    }
+
+    /**
+     * Returns the number of grid values per axis.
+     *
+     * @return the quantization.
+     */
+    public int getQuantization() {
+        return quantization;
+    }
+
+    /**
+     * Writes the given features as topology to the given file, an existing file is replaced.
+     *
+     * @param objectName        The name of the object holding the features.
+     * @param featureCollection The features to write.
+     * @param path              The path of the file to write.
+     * @throws IOException              if the file could not be written.
+     * @throws IllegalArgumentException if a position has no longitude and latitude or a coordinate is NaN or infinite.
+     */
+    public void write(String objectName, FeatureCollection featureCollection, Path path) throws IOException {
+        try (OutputStream outputStream = Files.newOutputStream(path)) {
+            write(objectName, featureCollection, outputStream);
+        }
+    }
+
+    /**
+     * Returns the given features as topology.
+     *
+     * @param objectName        The name of the object holding the features.
+     * @param featureCollection The features to write.
+     * @return the TopoJSON content.
+     * @throws IOException              if a property could not be serialized.
+     * @throws IllegalArgumentException if a position has no longitude and latitude or a coordinate is NaN or infinite.
+     */
+    public String writeValueAsString(String objectName, FeatureCollection featureCollection) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        write(objectName, featureCollection, outputStream);
+        return outputStream.toString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes the given features as topology to the given output stream, which is flushed but not closed.
+     * All arcs are extracted before the first byte is written.
+     *
+     * @param objectName        The name of the object holding the features.
+     * @param featureCollection The features to write.
+     * @param outputStream      The output stream to write to.
+     * @throws IOException              if the topology could not be written.
+     * @throws IllegalArgumentException if a position has no longitude and latitude or a coordinate is NaN or infinite.
+     */
+    public void write(String objectName, FeatureCollection featureCollection, OutputStream outputStream) throws IOException {
+        List<Feature> features = ListUtils.emptyIfNull(featureCollection.getFeatures());
+        Topology topology = new Topology(Quantization.of(quantization, featureCollection));
+        for (Feature feature : features) {
+            if (feature != null && feature.getGeometry() != null) {
+                topology.add(feature.getGeometry());
+            }
+        }
+        topology.build();
+
+        try (JsonGenerator generator = DEFAULT_OBJECT_MAPPER.createGenerator(outputStream, JsonEncoding.UTF8)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartObject();
+            generator.writeStringField("type", "Topology");
+            topology.writeTransform(generator);
+            generator.writeObjectFieldStart("objects");
+            generator.writeObjectFieldStart(objectName);
+            generator.writeStringField("type", GEOMETRY_COLLECTION);
+            generator.writeArrayFieldStart("geometries");
+            for (Feature feature : features) {
+                if (feature != null) {
+                    topology.writeFeature(generator, feature);
+                }
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+            generator.writeEndObject();
+            topology.writeArcs(generator);
+            generator.writeEndObject();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return MessageFormat.format("TopoJsonWriter'{'quantization={0,number,#}'}'", quantization);
+    }
+
+    /**
+     * Collects the lines and rings of all geometries into the arc index, then writes the geometries in the same
+     * order, each taking the arc references of the next shapes.
+     */
+    private static final class Topology {
+        private final Quantization quantization;
+        private final ArcIndex arcIndex = new ArcIndex();
+        private int[][] references;
+        private int nextShape;
+
+        private Topology(Quantization quantization) {
+            this.quantization = quantization;
+        }
+
+        private void add(Geometry geometry) {
+            switch (geometry) {
+                case Point point -> {
+                    if (point.getCoordinates() != null) {
+                        quantize(point.getCoordinates());
+                    }
+                }
+                case MultiPoint multiPoint -> ListUtils.emptyIfNull(multiPoint.getCoordinates()).forEach(this::quantize);
+                case LineString lineString -> arcIndex.addLine(points(lineString.getCoordinates(), false));
+                case MultiLineString multiLineString -> ListUtils.emptyIfNull(multiLineString.getCoordinates())
+                        .forEach(positions -> arcIndex.addLine(points(positions, false)));
+                case Polygon polygon -> add(polygon.getCoordinates());
+                case MultiPolygon multiPolygon -> ListUtils.emptyIfNull(multiPolygon.getCoordinates()).forEach(this::add);
+                case GeometryCollection collection -> ListUtils.emptyIfNull(collection.getGeometries()).stream()
+                        .filter(member -> member != null).forEach(this::add);
+            }
+        }
+
+        private void add(PolygonCoordinates coordinates) {
+            for (List<Position> ring : rings(coordinates)) {
+                arcIndex.addRing(points(ring, true));
+            }
+        }
+
+        private static List<List<Position>> rings(PolygonCoordinates coordinates) {
+            return coordinates != null && coordinates.getExterior() != null ? coordinates.getCoordinates() : List.of();
+        }
+
+        private void build() {
+            references = arcIndex.build();
+        }
+
+        /**
+         * Quantizes the given positions without consecutive duplicates, and without closing point for a ring.
+         */
+        private long[] points(List<Position> positions, boolean ring) {
+            List<Position> list = ListUtils.emptyIfNull(positions);
+            long[] points = new long[list.size()];
+            int count = 0;
+            for (Position position : list) {
+                long point = quantize(position);
+                if (count == 0 || points[count - 1] != point) {
+                    points[count++] = point;
+                }
+            }
+            while (ring && count > 1 && points[count - 1] == points[0]) {
+                count--;
+            }
+            return Arrays.copyOf(points, count);
+        }
+
+        /**
+         * Returns the quantized point of the given position, positions of points are checked the same way before
+         * the first byte is written.
+         */
+        private long quantize(Position position) {
+            double[] coordinates = position != null ? position.getCoordinates() : null;
+            if (coordinates == null || coordinates.length < 2) {
+                throw new IllegalArgumentException("TopoJSON cannot encode position " + position);
+            }
+            return ArcIndex.point(quantization.quantizeX(coordinates[0]), quantization.quantizeY(coordinates[1]));
+        }
+
+        private void writeTransform(JsonGenerator generator) throws IOException {
+            generator.writeObjectFieldStart("transform");
+            generator.writeFieldName("scale");
+            generator.writeArray(quantization.getScale(), 0, 2);
+            generator.writeFieldName("translate");
+            generator.writeArray(quantization.getTranslate(), 0, 2);
+            generator.writeEndObject();
+        }
+
+        private void writeFeature(JsonGenerator generator, Feature feature) throws IOException {
+            Geometry geometry = feature.getGeometry();
+            generator.writeStartObject();
+            if (geometry == null) {
+                generator.writeNullField("type");
+            } else {
+                generator.writeStringField("type", type(geometry));
+            }
+            if (feature.getId() != null) {
+                generator.writeStringField("id", feature.getId());
+            }
+            if (MapUtils.isNotEmpty(feature.getProperties())) {
+                generator.writeObjectField("properties", feature.getProperties());
+            }
+            if (geometry != null) {
+                writeMembers(generator, geometry);
+            }
+            generator.writeEndObject();
+        }
+
+        private void writeGeometry(JsonGenerator generator, Geometry geometry) throws IOException {
+            generator.writeStartObject();
+            generator.writeStringField("type", type(geometry));
+            writeMembers(generator, geometry);
+            generator.writeEndObject();
+        }
+
+        private static String type(Geometry geometry) {
+            return switch (geometry) {
+                case Point ignored -> POINT;
+                case MultiPoint ignored -> MULTI_POINT;
+                case LineString ignored -> LINE_STRING;
+                case MultiLineString ignored -> MULTI_LINE_STRING;
+                case Polygon ignored -> POLYGON;
+                case MultiPolygon ignored -> MULTI_POLYGON;
+                case GeometryCollection ignored -> GEOMETRY_COLLECTION;
+            };
+        }
+
+        private void writeMembers(JsonGenerator generator, Geometry geometry) throws IOException {
+            switch (geometry) {
+                case Point point -> {
+                    generator.writeFieldName("coordinates");
+                    if (point.getCoordinates() == null) {
+                        generator.writeNull();
+                    } else {
+                        writePosition(generator, point.getCoordinates());
+                    }
+                }
+                case MultiPoint multiPoint -> {
+                    generator.writeArrayFieldStart("coordinates");
+                    for (Position position : ListUtils.emptyIfNull(multiPoint.getCoordinates())) {
+                        writePosition(generator, position);
+                    }
+                    generator.writeEndArray();
+                }
+                case LineString ignored -> {
+                    generator.writeFieldName("arcs");
+                    writeReferences(generator);
+                }
+                case MultiLineString multiLineString -> {
+                    generator.writeArrayFieldStart("arcs");
+                    for (int i = ListUtils.emptyIfNull(multiLineString.getCoordinates()).size(); i > 0; i--) {
+                        writeReferences(generator);
+                    }
+                    generator.writeEndArray();
+                }
+                case Polygon polygon -> {
+                    generator.writeFieldName("arcs");
+                    writePolygon(generator, polygon.getCoordinates());
+                }
+                case MultiPolygon multiPolygon -> {
+                    generator.writeArrayFieldStart("arcs");
+                    for (PolygonCoordinates coordinates : ListUtils.emptyIfNull(multiPolygon.getCoordinates())) {
+                        writePolygon(generator, coordinates);
+                    }
+                    generator.writeEndArray();
+                }
+                case GeometryCollection collection -> {
+                    generator.writeArrayFieldStart("geometries");
+                    for (Geometry member : ListUtils.emptyIfNull(collection.getGeometries())) {
+                        if (member != null) {
+                            writeGeometry(generator, member);
+                        }
+                    }
+                    generator.writeEndArray();
+                }
+            }
+        }
+
+        private void writePolygon(JsonGenerator generator, PolygonCoordinates coordinates) throws IOException {
+            generator.writeStartArray();
+            for (int i = rings(coordinates).size(); i > 0; i--) {
+                writeReferences(generator);
+            }
+            generator.writeEndArray();
+        }
+
+        private void writeReferences(JsonGenerator generator) throws IOException {
+            int[] shape = references[nextShape++];
+            generator.writeArray(shape, 0, shape.length);
+        }
+
+        private void writePosition(JsonGenerator generator, Position position) throws IOException {
+            long point = quantize(position);
+            generator.writeStartArray();
+            generator.writeNumber(ArcIndex.x(point));
+            generator.writeNumber(ArcIndex.y(point));
+            generator.writeEndArray();
+        }
+
+        private void writeArcs(JsonGenerator generator) throws IOException {
+            generator.writeArrayFieldStart("arcs");
+            for (long[] arc : arcIndex.getArcs()) {
+                generator.writeStartArray();
+                int x = 0;
+                int y = 0;
+                for (long point : arc) {
+                    generator.writeStartArray();
+                    generator.writeNumber(ArcIndex.x(point) - x);
+                    generator.writeNumber(ArcIndex.y(point) - y);
+                    generator.writeEndArray();
+                    x = ArcIndex.x(point);
+                    y = ArcIndex.y(point);
+                }
+                generator.writeEndArray();
+            }
+            generator.writeEndArray();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.wkb;
+
+/**
+ * Constants of the Tiny Well-Known Binary format, shared by {@link TwkbReader} and {@link TwkbWriter}.
+ * <p>
+ * Every geometry starts with a byte holding the geometry type (same codes as WKB) and the zig-zag encoded
+ * precision, followed by a metadata byte with the flags below. Coordinates are scaled by {@code 10^precision},
+ * rounded and written as zig-zag encoded variable length deltas to the previous position.
+ * </p>
+ *
+ * @see <a href="https://github.com/TWKB/Specification/blob/master/twkb.md">TWKB specification</a>
+ */
+final class Twkb {
+    static final int BBOX = 1;
+    static final int SIZE = 1 << 1;
+    static final int ID_LIST = 1 << 2;
+    static final int EXTENDED_DIMENSIONS = 1 << 3;
+    static final int EMPTY = 1 << 4;
+
+    static final int HAS_Z = 1;
+    static final int HAS_M = 1 << 1;
+
+    static final int MIN_PRECISION = -7;
+    static final int MAX_PRECISION = 7;
+    static final int MAX_Z_PRECISION = 7;
+
+    private Twkb() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    static long zigZagEncode(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static long zigZagDecode(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Returns {@code 10^precision}, the factor coordinates are multiplied with before rounding.
+     */
+    static double scale(int precision) {
+        return Math.pow(10, precision);
+    }
+}
@@ -0,0 +1,251 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.wkb;
+
+import com.github.nramc.geojson.domain.CoordinateSequence;
+import com.github.nramc.geojson.domain.Geometry;
+import com.github.nramc.geojson.domain.GeometryCollection;
+import com.github.nramc.geojson.domain.LineString;
+import com.github.nramc.geojson.domain.MultiLineString;
+import com.github.nramc.geojson.domain.MultiPoint;
+import com.github.nramc.geojson.domain.MultiPolygon;
+import com.github.nramc.geojson.domain.Point;
+import com.github.nramc.geojson.domain.Polygon;
+import com.github.nramc.geojson.domain.PolygonCoordinates;
+import com.github.nramc.geojson.domain.Position;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.github.nramc.geojson.constant.GeoJsonType.GEOMETRY_COLLECTION;
+import static com.github.nramc.geojson.constant.GeoJsonType.LINE_STRING;
+import static com.github.nramc.geojson.constant.GeoJsonType.MULTI_LINE_STRING;
+import static com.github.nramc.geojson.constant.GeoJsonType.MULTI_POINT;
+import static com.github.nramc.geojson.constant.GeoJsonType.MULTI_POLYGON;
+import static com.github.nramc.geojson.constant.GeoJsonType.POINT;
+import static com.github.nramc.geojson.constant.GeoJsonType.POLYGON;
+
+/**
+ * Reads geometries from Tiny Well-Known Binary (TWKB).
+ * <p>
+ * The content is decoded straight into the domain classes. Z coordinates are kept as altitude, M coordinates,
+ * bounding boxes and identifier lists are skipped. An empty Point is read as a Point with NaN coordinates.
+ * Coordinates are restored with the precision they have been written with, e.g. 7 decimal digits.
+ * Geometries are not validated eagerly, same as deserialization.
+ * </p>
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * Geometry geometry = TwkbReader.read(twkb);
+ * }</pre></p>
+ *
+ * @see TwkbWriter
+ * @see <a href="https://github.com/TWKB/Specification/blob/master/twkb.md">TWKB specification</a>
+ */
+public final class TwkbReader {
+
+    private TwkbReader() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Reads the geometry encoded in the given bytes.
+     *
+     * @param bytes The TWKB content.
+     * @return the decoded geometry.
+     * @throws IllegalArgumentException if the content contains an unknown geometry type or a malformed number.
+     * @throws BufferUnderflowException if the content is truncated or declares more elements than it contains.
+     */
+    public static Geometry read(byte[] bytes) {
+        return read(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Reads the geometry starting at the position of the given buffer, the position is moved after the geometry.
+     *
+     * @param buffer The buffer containing TWKB content.
+     * @return the decoded geometry.
+     * @throws IllegalArgumentException if the content contains an unknown geometry type or a malformed number.
+     * @throws BufferUnderflowException if the content is truncated or declares more elements than it contains.
+     */
+    public static Geometry read(ByteBuffer buffer) {
+        int header = buffer.get() & 0xFF;
+        int type = header & 0x0F;
+        int precision = (int) Twkb.zigZagDecode(header >>> 4);
+        int metadata = buffer.get() & 0xFF;
+        boolean z = false;
+        boolean m = false;
+        int zPrecision = 0;
+        if ((metadata & Twkb.EXTENDED_DIMENSIONS) != 0) {
+            int extended = buffer.get() & 0xFF;
+            z = (extended & Twkb.HAS_Z) != 0;
+            m = (extended & Twkb.HAS_M) != 0;
+            zPrecision = extended >>> 2 & 0x07;
+        }
+        if ((metadata & Twkb.SIZE) != 0) {
+            readUnsigned(buffer);
+        }
+        if ((metadata & Twkb.EMPTY) != 0) {
+            return empty(type);
+        }
+        Decoder decoder = new Decoder(precision, z, zPrecision, m);
+        if ((metadata & Twkb.BBOX) != 0) {
+            for (int i = 0; i < decoder.dimension * 2; i++) {
+                readUnsigned(buffer);
+            }
+        }
+        boolean idList = (metadata & Twkb.ID_LIST) != 0;
+        return switch (type) {
+            case Wkb.POINT -> new Point(POINT, decoder.readPosition(buffer));
+            case Wkb.LINE_STRING -> new LineString(LINE_STRING, decoder.readPositions(buffer));
+            case Wkb.POLYGON -> new Polygon(POLYGON, decoder.readPolygonCoordinates(buffer));
+            case Wkb.MULTI_POINT -> new MultiPoint(MULTI_POINT, decoder.readPositions(buffer, readCount(buffer, idList)));
+            case Wkb.MULTI_LINE_STRING -> {
+                int count = readCount(buffer, idList);
+                List<List<Position>> lines = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    lines.add(decoder.readPositions(buffer));
+                }
+                yield new MultiLineString(MULTI_LINE_STRING, lines);
+            }
+            case Wkb.MULTI_POLYGON -> {
+                int count = readCount(buffer, idList);
+                List<PolygonCoordinates> polygons = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    polygons.add(decoder.readPolygonCoordinates(buffer));
+                }
+                yield new MultiPolygon(MULTI_POLYGON, polygons);
+            }
+            case Wkb.GEOMETRY_COLLECTION -> {
+                int count = readCount(buffer, idList);
+                List<Geometry> geometries = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    geometries.add(read(buffer));
+                }
+                yield new GeometryCollection(GEOMETRY_COLLECTION, geometries);
+            }
+            default -> throw new IllegalArgumentException("Unknown TWKB geometry type " + type);
+        };
+    }
+
+    private static Geometry empty(int type) {
+        return switch (type) {
+            case Wkb.POINT -> new Point(POINT, new Position());
+            case Wkb.LINE_STRING -> new LineString(LINE_STRING, List.of());
+            case Wkb.POLYGON -> new Polygon(POLYGON, new PolygonCoordinates(List.of()));
+            case Wkb.MULTI_POINT -> new MultiPoint(MULTI_POINT, List.of());
+            case Wkb.MULTI_LINE_STRING -> new MultiLineString(MULTI_LINE_STRING, List.of());
+            case Wkb.MULTI_POLYGON -> new MultiPolygon(MULTI_POLYGON, List.of());
+            case Wkb.GEOMETRY_COLLECTION -> new GeometryCollection(GEOMETRY_COLLECTION, List.of());
+            default -> throw new IllegalArgumentException("Unknown TWKB geometry type " + type);
+        };
+    }
+
+    private static int readCount(ByteBuffer buffer, boolean idList) {
+        int count = readCount(buffer, 1);
+        if (idList) {
+            for (int i = 0; i < count; i++) {
+                readUnsigned(buffer);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Reads the number of elements which follow, each one taking at least the given number of bytes, so a corrupt
+     * count is rejected before anything is allocated for it.
+     */
+    private static int readCount(ByteBuffer buffer, int minElementSize) {
+        long count = readUnsigned(buffer);
+        if (count < 0 || count > buffer.remaining() / minElementSize) {
+            throw new BufferUnderflowException();
+        }
+        return (int) count;
+    }
+
+    private static long readUnsigned(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            byte next = buffer.get();
+            value |= (long) (next & 0x7F) << shift;
+            if (next >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed TWKB variable length integer");
+    }
+
+    /**
+     * Restores the delta encoded positions of one geometry.
+     */
+    private static final class Decoder {
+        private final int dimension;
+        private final int coordinates;
+        private final int[] precisions;
+        private final double[] scales;
+        private final long[] previous;
+
+        private Decoder(int precision, boolean z, int zPrecision, boolean m) {
+            this.coordinates = z ? 3 : 2;
+            this.dimension = coordinates + (m ? 1 : 0);
+            this.precisions = new int[]{precision, precision, z ? zPrecision : 0};
+            this.scales = new double[]{Twkb.scale(Math.abs(precision)), Twkb.scale(Math.abs(precision)), Twkb.scale(precisions[2])};
+            this.previous = new long[dimension];
+        }
+
+        private PolygonCoordinates readPolygonCoordinates(ByteBuffer buffer) {
+            int count = readCount(buffer, 1);
+            List<List<Position>> rings = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                rings.add(readPositions(buffer));
+            }
+            return new PolygonCoordinates(rings);
+        }
+
+        private List<Position> readPositions(ByteBuffer buffer) {
+            return readPositions(buffer, readCount(buffer, dimension));
+        }
+
+        private List<Position> readPositions(ByteBuffer buffer, int count) {
+            double[] values = new double[count * coordinates];
+            for (int offset = 0; offset < values.length; offset += coordinates) {
+                readCoordinates(buffer, values, offset);
+            }
+            return CoordinateSequence.of(coordinates, values);
+        }
+
+        private Position readPosition(ByteBuffer buffer) {
+            double[] values = new double[coordinates];
+            readCoordinates(buffer, values, 0);
+            return new Position(values);
+        }
+
+        /**
+         * Divides by a power of ten instead of multiplying with its inverse, which is not exact,
+         * so 1234567 with precision 7 becomes exactly the double closest to 0.1234567.
+         */
+        private void readCoordinates(ByteBuffer buffer, double[] values, int offset) {
+            for (int i = 0; i < dimension; i++) {
+                previous[i] += Twkb.zigZagDecode(readUnsigned(buffer));
+                if (i < coordinates) {
+                    values[offset + i] = precisions[i] >= 0 ? previous[i] / scales[i] : previous[i] * scales[i];
+                }
+            }
+        }
+    }
+}
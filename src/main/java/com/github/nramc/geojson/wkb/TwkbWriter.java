@@ -0,0 +1,428 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.wkb;
+
+import com.github.nramc.geojson.domain.CoordinateSequence;
+import com.github.nramc.geojson.domain.Geometry;
+import com.github.nramc.geojson.domain.GeometryCollection;
+import com.github.nramc.geojson.domain.LineString;
+import com.github.nramc.geojson.domain.MultiLineString;
+import com.github.nramc.geojson.domain.MultiPoint;
+import com.github.nramc.geojson.domain.MultiPolygon;
+import com.github.nramc.geojson.domain.Point;
+import com.github.nramc.geojson.domain.Polygon;
+import com.github.nramc.geojson.domain.PolygonCoordinates;
+import com.github.nramc.geojson.domain.Position;
+import org.apache.commons.collections4.ListUtils;
+
+import java.nio.ByteBuffer;
+import java.text.MessageFormat;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Writes geometries as Tiny Well-Known Binary (TWKB), a compact encoding for the transfer of geometries.
+ * <p>
+ * Coordinates are scaled by {@code 10^precision} and rounded, so the precision decides the accuracy of the
+ * encoded geometry, e.g. 7 decimal digits are about 1 cm at the equator, 5 digits about 1 m. Every coordinate is
+ * written as variable length delta to the previous one, which takes one or two bytes for dense line strings instead
+ * of eight. A geometry is written with Z coordinates when any of its positions has an altitude, positions without
+ * altitude are then written with altitude 0. Optionally, the bounding box and the size of the geometry are written
+ * in front of the coordinates, which allows readers to skip geometries without decoding them.
+ * </p>
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * byte[] twkb = TwkbWriter.DEFAULT.withPrecision(6).withBoundingBox(true).write(geometry);
+ * }</pre></p>
+ *
+ * <p>The writer is immutable and can be shared.</p>
+ *
+ * @see TwkbReader
+ * @see <a href="https://github.com/TWKB/Specification/blob/master/twkb.md">TWKB specification</a>
+ */
+public final class TwkbWriter {
+    /**
+     * Writes coordinates with 7 decimal digits and altitudes with none, without bounding box and size.
+     */
+    public static final TwkbWriter DEFAULT = new TwkbWriter(7, 0, false, false);
+
+    private final int precision;
+    private final int zPrecision;
+    private final boolean boundingBox;
+    private final boolean size;
+
+    private TwkbWriter(int precision, int zPrecision, boolean boundingBox, boolean size) {
+        this.precision = precision;
+        this.zPrecision = zPrecision;
+        this.boundingBox = boundingBox;
+        this.size = size;
+    }
+
+    /**
+     * Returns a writer which writes longitude and latitude with the given number of decimal digits.
+     * A negative precision rounds to tens, hundreds, ...
+     *
+     * @param precision The number of decimal digits, from -7 to 7.
+     * @return a writer with the given precision.
+     * @throws IllegalArgumentException if the precision is out of range.
+     */
+    public TwkbWriter withPrecision(int precision) {
+        if (precision < Twkb.MIN_PRECISION || precision > Twkb.MAX_PRECISION) {
+            throw new IllegalArgumentException("Precision must be between %d and %d but was %d".formatted(Twkb.MIN_PRECISION, Twkb.MAX_PRECISION, precision));
+        }
+        return new TwkbWriter(precision, zPrecision, boundingBox, size);
+    }
+
+    /**
+     * Returns the number of decimal digits of longitude and latitude.
+     *
+     * @return the precision.
+     */
+    public int getPrecision() {
+        return precision;
+    }
+
+    /**
+     * Returns a writer which writes altitudes with the given number of decimal digits.
+     *
+     * @param zPrecision The number of decimal digits, from 0 to 7.
+     * @return a writer with the given altitude precision.
+     * @throws IllegalArgumentException if the precision is out of range.
+     */
+    public TwkbWriter withZPrecision(int zPrecision) {
+        if (zPrecision < 0 || zPrecision > Twkb.MAX_Z_PRECISION) {
+            throw new IllegalArgumentException("Z precision must be between 0 and %d but was %d".formatted(Twkb.MAX_Z_PRECISION, zPrecision));
+        }
+        return new TwkbWriter(precision, zPrecision, boundingBox, size);
+    }
+
+    /**
+     * Returns the number of decimal digits of altitudes.
+     *
+     * @return the altitude precision.
+     */
+    public int getZPrecision() {
+        return zPrecision;
+    }
+
+    /**
+     * Returns a writer which writes the bounding box of every geometry in its header.
+     *
+     * @param boundingBox true to write the bounding box.
+     * @return a writer with the given bounding box setting.
+     */
+    public TwkbWriter withBoundingBox(boolean boundingBox) {
+        return new TwkbWriter(precision, zPrecision, boundingBox, size);
+    }
+
+    /**
+     * Returns whether the bounding box of every geometry is written.
+     *
+     * @return true if the bounding box is written.
+     */
+    public boolean isBoundingBox() {
+        return boundingBox;
+    }
+
+    /**
+     * Returns a writer which writes the size in bytes of every geometry in its header.
+     *
+     * @param size true to write the size.
+     * @return a writer with the given size setting.
+     */
+    public TwkbWriter withSize(boolean size) {
+        return new TwkbWriter(precision, zPrecision, boundingBox, size);
+    }
+
+    /**
+     * Returns whether the size of every geometry is written.
+     *
+     * @return true if the size is written.
+     */
+    public boolean isSize() {
+        return size;
+    }
+
+    /**
+     * Returns the given geometry encoded as TWKB.
+     *
+     * @param geometry The geometry to encode.
+     * @return the encoded geometry.
+     * @throws IllegalArgumentException if a coordinate is NaN or infinite.
+     */
+    public byte[] write(Geometry geometry) {
+        Output output = new Output();
+        writeGeometry(geometry, output, null);
+        return output.toByteArray();
+    }
+
+    /**
+     * Writes the given geometry at the position of the given buffer, the position is moved after the geometry.
+     *
+     * @param geometry The geometry to encode.
+     * @param buffer   The buffer to write to.
+     * @throws IllegalArgumentException         if a coordinate is NaN or infinite.
+     * @throws java.nio.BufferOverflowException if the buffer is too small.
+     */
+    public void write(Geometry geometry, ByteBuffer buffer) {
+        buffer.put(write(geometry));
+    }
+
+    private void writeGeometry(Geometry geometry, Output output, Encoder parent) {
+        Encoder encoder = new Encoder(Wkb.hasAltitude(geometry));
+        Output body = new Output();
+        boolean empty = writeBody(geometry, encoder, body);
+        if (parent != null) {
+            parent.include(encoder);
+        }
+
+        output.write((int) Twkb.zigZagEncode(precision) << 4 | type(geometry));
+        int metadata = (encoder.dimension > 2 ? Twkb.EXTENDED_DIMENSIONS : 0) | (size ? Twkb.SIZE : 0);
+        if (empty) {
+            metadata |= Twkb.EMPTY;
+        } else if (boundingBox) {
+            metadata |= Twkb.BBOX;
+        }
+        output.write(metadata);
+        if (encoder.dimension > 2) {
+            output.write(Twkb.HAS_Z | zPrecision << 2);
+        }
+        Output boundingBoxOutput = new Output();
+        if ((metadata & Twkb.BBOX) != 0) {
+            for (int i = 0; i < encoder.dimension; i++) {
+                // a collection of empty members has no bounds
+                long min = Math.min(encoder.min[i], encoder.max[i]);
+                boundingBoxOutput.writeSigned(min);
+                boundingBoxOutput.writeSigned(encoder.max[i] - min);
+            }
+        }
+        if (size) {
+            output.writeUnsigned((long) boundingBoxOutput.length + body.length);
+        }
+        output.write(boundingBoxOutput);
+        output.write(body);
+    }
+
+    /**
+     * Writes the coordinates of the given geometry.
+     *
+     * @return true if the geometry is empty and nothing has been written.
+     */
+    private boolean writeBody(Geometry geometry, Encoder encoder, Output body) {
+        switch (geometry) {
+            case Point point -> {
+                if (isEmpty(point.getCoordinates())) {
+                    return true;
+                }
+                encoder.write(point.getCoordinates(), body);
+            }
+            case LineString lineString -> {
+                if (Wkb.count(lineString.getCoordinates()) == 0) {
+                    return true;
+                }
+                encoder.write(lineString.getCoordinates(), body);
+            }
+            case Polygon polygon -> {
+                if (Wkb.rings(polygon.getCoordinates()).isEmpty()) {
+                    return true;
+                }
+                writePolygonCoordinates(polygon.getCoordinates(), encoder, body);
+            }
+            case MultiPoint multiPoint -> {
+                if (Wkb.count(multiPoint.getCoordinates()) == 0) {
+                    return true;
+                }
+                body.writeUnsigned(multiPoint.getCoordinates().size());
+                for (int i = 0; i < multiPoint.getCoordinates().size(); i++) {
+                    encoder.write(multiPoint.getCoordinates(), i, body);
+                }
+            }
+            case MultiLineString multiLineString -> {
+                if (Wkb.count(multiLineString.getCoordinates()) == 0) {
+                    return true;
+                }
+                body.writeUnsigned(multiLineString.getCoordinates().size());
+                for (List<Position> positions : multiLineString.getCoordinates()) {
+                    encoder.write(positions, body);
+                }
+            }
+            case MultiPolygon multiPolygon -> {
+                if (Wkb.count(multiPolygon.getCoordinates()) == 0) {
+                    return true;
+                }
+                body.writeUnsigned(multiPolygon.getCoordinates().size());
+                for (PolygonCoordinates coordinates : multiPolygon.getCoordinates()) {
+                    writePolygonCoordinates(coordinates, encoder, body);
+                }
+            }
+            case GeometryCollection collection -> {
+                if (Wkb.count(collection.getGeometries()) == 0) {
+                    return true;
+                }
+                body.writeUnsigned(collection.getGeometries().size());
+                for (Geometry member : collection.getGeometries()) {
+                    writeGeometry(member, body, encoder);
+                }
+            }
+        }
+        return false;
+    }
+
+    private static void writePolygonCoordinates(PolygonCoordinates coordinates, Encoder encoder, Output body) {
+        List<List<Position>> rings = Wkb.rings(coordinates);
+        body.writeUnsigned(rings.size());
+        for (List<Position> ring : rings) {
+            encoder.write(ring, body);
+        }
+    }
+
+    private static boolean isEmpty(Position position) {
+        return position == null || position.getCoordinates() == null || position.getCoordinates().length < 2
+                || Double.isNaN(position.getLongitude()) && Double.isNaN(position.getLatitude());
+    }
+
+    private static int type(Geometry geometry) {
+        return switch (geometry) {
+            case Point ignored -> Wkb.POINT;
+            case LineString ignored -> Wkb.LINE_STRING;
+            case Polygon ignored -> Wkb.POLYGON;
+            case MultiPoint ignored -> Wkb.MULTI_POINT;
+            case MultiLineString ignored -> Wkb.MULTI_LINE_STRING;
+            case MultiPolygon ignored -> Wkb.MULTI_POLYGON;
+            case GeometryCollection ignored -> Wkb.GEOMETRY_COLLECTION;
+        };
+    }
+
+    @Override
+    public String toString() {
+        return MessageFormat.format("TwkbWriter'{'precision={0}, zPrecision={1}, boundingBox={2}, size={3}'}'", precision, zPrecision, boundingBox, size);
+    }
+
+    /**
+     * Delta encodes the positions of one geometry and tracks their bounding box.
+     */
+    private final class Encoder {
+        private final int dimension;
+        private final double[] scales;
+        private final long[] previous;
+        private final long[] min;
+        private final long[] max;
+
+        private Encoder(boolean altitude) {
+            this.dimension = altitude ? 3 : 2;
+            this.scales = new double[]{Twkb.scale(precision), Twkb.scale(precision), Twkb.scale(zPrecision)};
+            this.previous = new long[dimension];
+            this.min = new long[dimension];
+            this.max = new long[dimension];
+            Arrays.fill(min, Long.MAX_VALUE);
+            Arrays.fill(max, Long.MIN_VALUE);
+        }
+
+        private void write(List<Position> positions, Output body) {
+            List<Position> values = ListUtils.emptyIfNull(positions);
+            body.writeUnsigned(values.size());
+            for (int i = 0; i < values.size(); i++) {
+                write(values, i, body);
+            }
+        }
+
+        /**
+         * Writes the position at the given index, the positions of a coordinate sequence without creating them.
+         */
+        private void write(List<Position> positions, int index, Output body) {
+            if (!(positions instanceof CoordinateSequence sequence)) {
+                write(positions.get(index), body);
+                return;
+            }
+            for (int i = 0; i < dimension; i++) {
+                write(i, i < sequence.getDimension() ? sequence.getOrdinate(index, i) : 0, body);
+            }
+        }
+
+        private void write(Position position, Output body) {
+            double[] coordinates = position != null ? position.getCoordinates() : null;
+            if (coordinates == null || coordinates.length < 2) {
+                throw new IllegalArgumentException("TWKB cannot encode position " + position);
+            }
+            for (int i = 0; i < dimension; i++) {
+                write(i, i < coordinates.length ? coordinates[i] : 0, body);
+            }
+        }
+
+        private void write(int ordinate, double coordinate, Output body) {
+            if (!Double.isFinite(coordinate)) {
+                throw new IllegalArgumentException("TWKB cannot encode coordinate " + coordinate);
+            }
+            long value = Math.round(coordinate * scales[ordinate]);
+            body.writeSigned(value - previous[ordinate]);
+            previous[ordinate] = value;
+            min[ordinate] = Math.min(min[ordinate], value);
+            max[ordinate] = Math.max(max[ordinate], value);
+        }
+
+        /**
+         * Extends the bounding box by the one of a member of a collection, member altitudes are ignored if
+         * the collection has none.
+         */
+        private void include(Encoder member) {
+            for (int i = 0; i < Math.min(dimension, member.dimension); i++) {
+                min[i] = Math.min(min[i], member.min[i]);
+                max[i] = Math.max(max[i], member.max[i]);
+            }
+        }
+    }
+
+    /**
+     * Growable byte array with variable length integer encoding.
+     */
+    private static final class Output {
+        private byte[] bytes = new byte[64];
+        private int length;
+
+        private void write(int value) {
+            if (length == bytes.length) {
+                bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            }
+            bytes[length++] = (byte) value;
+        }
+
+        private void write(Output other) {
+            if (length + other.length > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + other.length));
+            }
+            System.arraycopy(other.bytes, 0, bytes, length, other.length);
+            length += other.length;
+        }
+
+        private void writeSigned(long value) {
+            writeUnsigned(Twkb.zigZagEncode(value));
+        }
+
+        private void writeUnsigned(long value) {
+            long remaining = value;
+            while ((remaining & ~0x7FL) != 0) {
+                write((int) (remaining & 0x7F) | 0x80);
+                remaining >>>= 7;
+            }
+            write((int) remaining);
+        }
+
+        private byte[] toByteArray() {
+            return Arrays.copyOf(bytes, length);
+        }
+    }
+}
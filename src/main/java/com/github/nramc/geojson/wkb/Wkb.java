@@ -0,0 +1,103 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.wkb;
+
+import com.github.nramc.geojson.domain.CoordinateSequence;
+import com.github.nramc.geojson.domain.Geometry;
+import com.github.nramc.geojson.domain.GeometryCollection;
+import com.github.nramc.geojson.domain.LineString;
+import com.github.nramc.geojson.domain.MultiLineString;
+import com.github.nramc.geojson.domain.MultiPoint;
+import com.github.nramc.geojson.domain.MultiPolygon;
+import com.github.nramc.geojson.domain.Point;
+import com.github.nramc.geojson.domain.Polygon;
+import com.github.nramc.geojson.domain.PolygonCoordinates;
+import com.github.nramc.geojson.domain.Position;
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.collections4.ListUtils;
+
+import java.util.List;
+
+/**
+ * Constants of the Well-Known Binary format and helpers shared by the binary readers and writers.
+ * <p>
+ * ISO WKB adds 1000 (Z), 2000 (M) or 3000 (ZM) to the geometry type code, PostGIS Extended WKB (EWKB) sets
+ * flag bits in the most significant byte of the type code instead and may be followed by a SRID.
+ * </p>
+ */
+final class Wkb {
+    static final byte BIG_ENDIAN = 0;
+    static final byte LITTLE_ENDIAN = 1;
+
+    static final int POINT = 1;
+    static final int LINE_STRING = 2;
+    static final int POLYGON = 3;
+    static final int MULTI_POINT = 4;
+    static final int MULTI_LINE_STRING = 5;
+    static final int MULTI_POLYGON = 6;
+    static final int GEOMETRY_COLLECTION = 7;
+
+    static final int ISO_Z = 1000;
+    static final int ISO_M = 2000;
+    static final int ISO_ZM = 3000;
+
+    static final int EWKB_Z = 0x80000000;
+    static final int EWKB_M = 0x40000000;
+    static final int EWKB_SRID = 0x20000000;
+    static final int EWKB_FLAGS = EWKB_Z | EWKB_M | EWKB_SRID;
+
+    private Wkb() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Returns the linear rings of the given polygon, empty if the polygon has no exterior ring.
+     */
+    static List<List<Position>> rings(PolygonCoordinates coordinates) {
+        return coordinates != null && coordinates.getExterior() != null ? coordinates.getCoordinates() : List.of();
+    }
+
+    static int count(List<?> values) {
+        return CollectionUtils.size(values);
+    }
+
+    /**
+     * Returns whether any position of the given geometry has an altitude, i.e. whether it has to be written with Z.
+     */
+    static boolean hasAltitude(Geometry geometry) {
+        return switch (geometry) {
+            case Point point -> hasAltitude(point.getCoordinates());
+            case LineString lineString -> hasAltitude(lineString.getCoordinates());
+            case Polygon polygon -> rings(polygon.getCoordinates()).stream().anyMatch(Wkb::hasAltitude);
+            case MultiPoint multiPoint -> hasAltitude(multiPoint.getCoordinates());
+            case MultiLineString multiLineString -> ListUtils.emptyIfNull(multiLineString.getCoordinates()).stream().anyMatch(Wkb::hasAltitude);
+            case MultiPolygon multiPolygon -> ListUtils.emptyIfNull(multiPolygon.getCoordinates()).stream()
+                    .flatMap(coordinates -> rings(coordinates).stream()).anyMatch(Wkb::hasAltitude);
+            case GeometryCollection collection -> ListUtils.emptyIfNull(collection.getGeometries()).stream().anyMatch(Wkb::hasAltitude);
+        };
+    }
+
+    private static boolean hasAltitude(List<Position> positions) {
+        if (positions instanceof CoordinateSequence sequence) {
+            return sequence.getDimension() > 2 && !sequence.isEmpty();
+        }
+        return ListUtils.emptyIfNull(positions).stream().anyMatch(Wkb::hasAltitude);
+    }
+
+    private static boolean hasAltitude(Position position) {
+        return position != null && position.getCoordinates() != null && position.getCoordinates().length > 2;
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.wkb;
+
+import com.github.nramc.geojson.domain.CoordinateSequence;
+import com.github.nramc.geojson.domain.Geometry;
+import com.github.nramc.geojson.domain.GeometryCollection;
+import com.github.nramc.geojson.domain.LineString;
+import com.github.nramc.geojson.domain.MultiLineString;
+import com.github.nramc.geojson.domain.MultiPoint;
+import com.github.nramc.geojson.domain.MultiPolygon;
+import com.github.nramc.geojson.domain.Point;
+import com.github.nramc.geojson.domain.Polygon;
+import com.github.nramc.geojson.domain.PolygonCoordinates;
+import com.github.nramc.geojson.domain.Position;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.github.nramc.geojson.constant.GeoJsonType.GEOMETRY_COLLECTION;
+import static com.github.nramc.geojson.constant.GeoJsonType.LINE_STRING;
+import static com.github.nramc.geojson.constant.GeoJsonType.MULTI_LINE_STRING;
+import static com.github.nramc.geojson.constant.GeoJsonType.MULTI_POINT;
+import static com.github.nramc.geojson.constant.GeoJsonType.MULTI_POLYGON;
+import static com.github.nramc.geojson.constant.GeoJsonType.POINT;
+import static com.github.nramc.geojson.constant.GeoJsonType.POLYGON;
+
+/**
+ * Reads geometries from Well-Known Binary (WKB), as defined by the OGC Simple Features specification,
+ * and from the Extended WKB (EWKB) of PostGIS.
+ * <p>
+ * The content is decoded straight into the domain classes, without any intermediate representation.
+ * Both byte orders are supported, every nested geometry declares its own. Z coordinates are kept as altitude,
+ * M coordinates are dropped as GeoJSON positions have no measure. An empty Point, encoded with NaN coordinates,
+ * is read as a Point with NaN coordinates. Geometries are not validated eagerly, same as deserialization.
+ * </p>
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * byte[] wkb = resultSet.getBytes("geom");
+ * Geometry geometry = WkbReader.read(wkb);
+ * int srid = WkbReader.readSrid(ByteBuffer.wrap(wkb));
+ * }</pre></p>
+ *
+ * @see WkbWriter
+ */
+public final class WkbReader {
+
+    private WkbReader() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Reads the geometry encoded in the given bytes.
+     *
+     * @param bytes The WKB or EWKB content.
+     * @return the decoded geometry.
+     * @throws IllegalArgumentException if the content contains an unknown byte order, geometry type or a negative count.
+     * @throws BufferUnderflowException if the content is truncated or declares more elements than it contains.
+     */
+    public static Geometry read(byte[] bytes) {
+        return read(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Reads the geometry starting at the position of the given buffer, the position is moved after the geometry.
+     * The byte order of the buffer is ignored and restored afterward, the content declares its own.
+     *
+     * @param buffer The buffer containing WKB or EWKB content.
+     * @return the decoded geometry.
+     * @throws IllegalArgumentException if the content contains an unknown byte order, geometry type or a negative count.
+     * @throws BufferUnderflowException if the content is truncated or declares more elements than it contains.
+     */
+    public static Geometry read(ByteBuffer buffer) {
+        ByteOrder order = buffer.order();
+        try {
+            return readGeometry(buffer);
+        } finally {
+            buffer.order(order);
+        }
+    }
+
+    /**
+     * Returns the SRID of the EWKB geometry starting at the position of the given buffer, without moving the position.
+     *
+     * @param buffer The buffer containing WKB or EWKB content.
+     * @return the SRID, or 0 if the geometry has no SRID.
+     * @throws IllegalArgumentException if the content starts with an unknown byte order.
+     * @throws IndexOutOfBoundsException if the content is truncated.
+     */
+    public static int readSrid(ByteBuffer buffer) {
+        ByteOrder order = buffer.order();
+        try {
+            int position = buffer.position();
+            buffer.order(byteOrder(buffer.get(position)));
+            return (buffer.getInt(position + 1) & Wkb.EWKB_SRID) != 0 ? buffer.getInt(position + 5) : 0;
+        } finally {
+            buffer.order(order);
+        }
+    }
+
+    private static Geometry readGeometry(ByteBuffer buffer) {
+        buffer.order(byteOrder(buffer.get()));
+        int typeCode = buffer.getInt();
+        if ((typeCode & Wkb.EWKB_SRID) != 0) {
+            buffer.getInt();
+        }
+        boolean z = (typeCode & Wkb.EWKB_Z) != 0;
+        boolean m = (typeCode & Wkb.EWKB_M) != 0;
+        int type = typeCode & ~Wkb.EWKB_FLAGS;
+        switch (type / 1000 * 1000) {
+            case Wkb.ISO_Z -> z = true;
+            case Wkb.ISO_M -> m = true;
+            case Wkb.ISO_ZM -> {
+                z = true;
+                m = true;
+            }
+            default -> {
+                // plain 2D type code
+            }
+        }
+        return switch (type % 1000) {
+            case Wkb.POINT -> new Point(POINT, readPosition(buffer, z, m));
+            case Wkb.LINE_STRING -> new LineString(LINE_STRING, readPositions(buffer, z, m));
+            case Wkb.POLYGON -> new Polygon(POLYGON, readPolygonCoordinates(buffer, z, m));
+            case Wkb.MULTI_POINT -> new MultiPoint(MULTI_POINT, readMembers(buffer, Point.class).stream().map(Point::getCoordinates).toList());
+            case Wkb.MULTI_LINE_STRING -> new MultiLineString(MULTI_LINE_STRING, readMembers(buffer, LineString.class).stream().map(LineString::getCoordinates).toList());
+            case Wkb.MULTI_POLYGON -> new MultiPolygon(MULTI_POLYGON, readMembers(buffer, Polygon.class).stream().map(Polygon::getCoordinates).toList());
+            case Wkb.GEOMETRY_COLLECTION -> new GeometryCollection(GEOMETRY_COLLECTION, readMembers(buffer, Geometry.class));
+            default -> throw new IllegalArgumentException("Unknown WKB geometry type " + typeCode);
+        };
+    }
+
+    private static <T extends Geometry> List<T> readMembers(ByteBuffer buffer, Class<T> type) {
+        int count = readCount(buffer, Integer.BYTES);
+        List<T> members = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Geometry member = readGeometry(buffer);
+            if (!type.isInstance(member)) {
+                throw new IllegalArgumentException("Expected WKB " + type.getSimpleName() + " but found " + member.getClass().getSimpleName());
+            }
+            members.add(type.cast(member));
+        }
+        return members;
+    }
+
+    private static PolygonCoordinates readPolygonCoordinates(ByteBuffer buffer, boolean z, boolean m) {
+        int count = readCount(buffer, Integer.BYTES);
+        List<List<Position>> rings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rings.add(readPositions(buffer, z, m));
+        }
+        return new PolygonCoordinates(rings);
+    }
+
+    private static List<Position> readPositions(ByteBuffer buffer, boolean z, boolean m) {
+        int dimension = z ? 3 : 2;
+        int count = readCount(buffer, (dimension + (m ? 1 : 0)) * Double.BYTES);
+        double[] values = new double[count * dimension];
+        for (int offset = 0; offset < values.length; offset += dimension) {
+            readCoordinates(buffer, values, offset, z, m);
+        }
+        return CoordinateSequence.of(dimension, values);
+    }
+
+    /**
+     * Reads the number of elements which follow, each one taking at least the given number of bytes, so a corrupt
+     * count is rejected before anything is allocated for it.
+     */
+    private static int readCount(ByteBuffer buffer, int minElementSize) {
+        int count = buffer.getInt();
+        if (count < 0) {
+            throw new IllegalArgumentException("Invalid WKB element count " + Integer.toUnsignedString(count));
+        }
+        if (count > buffer.remaining() / minElementSize) {
+            throw new BufferUnderflowException();
+        }
+        return count;
+    }
+
+    private static Position readPosition(ByteBuffer buffer, boolean z, boolean m) {
+        double[] coordinates = new double[z ? 3 : 2];
+        readCoordinates(buffer, coordinates, 0, z, m);
+        return new Position(coordinates);
+    }
+
+    private static void readCoordinates(ByteBuffer buffer, double[] values, int offset, boolean z, boolean m) {
+        values[offset] = buffer.getDouble();
+        values[offset + 1] = buffer.getDouble();
+        if (z) {
+            values[offset + 2] = buffer.getDouble();
+        }
+        if (m) {
+            buffer.getDouble();
+        }
+    }
+
+    private static ByteOrder byteOrder(byte value) {
+        return switch (value) {
+            case Wkb.BIG_ENDIAN -> ByteOrder.BIG_ENDIAN;
+            case Wkb.LITTLE_ENDIAN -> ByteOrder.LITTLE_ENDIAN;
+            default -> throw new IllegalArgumentException("Unknown WKB byte order " + value);
+        };
+    }
+}
@@ -0,0 +1,286 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.wkb;
+
+import com.github.nramc.geojson.domain.CoordinateSequence;
+import com.github.nramc.geojson.domain.Geometry;
+import com.github.nramc.geojson.domain.GeometryCollection;
+import com.github.nramc.geojson.domain.LineString;
+import com.github.nramc.geojson.domain.MultiLineString;
+import com.github.nramc.geojson.domain.MultiPoint;
+import com.github.nramc.geojson.domain.MultiPolygon;
+import com.github.nramc.geojson.domain.Point;
+import com.github.nramc.geojson.domain.Polygon;
+import com.github.nramc.geojson.domain.PolygonCoordinates;
+import com.github.nramc.geojson.domain.Position;
+import org.apache.commons.collections4.ListUtils;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.text.MessageFormat;
+import java.util.List;
+
+/**
+ * Writes geometries as Well-Known Binary (WKB), as defined by the OGC Simple Features specification,
+ * or as Extended WKB (EWKB) of PostGIS when a SRID is given.
+ * <p>
+ * A geometry is written with Z coordinates when any of its positions has an altitude, positions without
+ * altitude are then written with NaN. ISO WKB marks Z coordinates by adding 1000 to the type code, EWKB by a flag.
+ * An empty Point is written with NaN coordinates. The exact size of the encoded geometry is computed first,
+ * so every geometry is written in a single pass into a buffer of the right size.
+ * </p>
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * byte[] wkb = WkbWriter.DEFAULT.write(geometry);
+ * byte[] ewkb = WkbWriter.DEFAULT.withSrid(4326).write(geometry);
+ * }</pre></p>
+ *
+ * <p>The writer is immutable and can be shared.</p>
+ *
+ * @see WkbReader
+ */
+public final class WkbWriter {
+    /**
+     * Writes little-endian ISO WKB without SRID.
+     */
+    public static final WkbWriter DEFAULT = new WkbWriter(ByteOrder.LITTLE_ENDIAN, 0);
+
+    private static final int HEADER_SIZE = Byte.BYTES + Integer.BYTES;
+
+    private final ByteOrder byteOrder;
+    private final int srid;
+
+    private WkbWriter(ByteOrder byteOrder, int srid) {
+        this.byteOrder = byteOrder;
+        this.srid = srid;
+    }
+
+    /**
+     * Returns a writer using the given byte order.
+     *
+     * @param byteOrder The byte order of the encoded geometries.
+     * @return a writer with the given byte order.
+     */
+    public WkbWriter withByteOrder(ByteOrder byteOrder) {
+        return new WkbWriter(byteOrder, srid);
+    }
+
+    /**
+     * Returns the byte order of the encoded geometries.
+     *
+     * @return the byte order.
+     */
+    public ByteOrder getByteOrder() {
+        return byteOrder;
+    }
+
+    /**
+     * Returns a writer which writes EWKB with the given SRID, or ISO WKB if the SRID is 0.
+     *
+     * @param srid The spatial reference identifier written with the outermost geometry, e.g. 4326.
+     * @return a writer with the given SRID.
+     * @throws IllegalArgumentException if the SRID is negative.
+     */
+    public WkbWriter withSrid(int srid) {
+        if (srid < 0) {
+            throw new IllegalArgumentException("SRID must not be negative but was " + srid);
+        }
+        return new WkbWriter(byteOrder, srid);
+    }
+
+    /**
+     * Returns the SRID written with the outermost geometry.
+     *
+     * @return the SRID, or 0 if ISO WKB without SRID is written.
+     */
+    public int getSrid() {
+        return srid;
+    }
+
+    /**
+     * Returns the given geometry encoded as WKB, or as EWKB if a SRID is set.
+     *
+     * @param geometry The geometry to encode.
+     * @return the encoded geometry.
+     */
+    public byte[] write(Geometry geometry) {
+        byte[] bytes = new byte[size(geometry)];
+        write(geometry, ByteBuffer.wrap(bytes));
+        return bytes;
+    }
+
+    /**
+     * Writes the given geometry at the position of the given buffer, the position is moved after the geometry.
+     * The byte order of the buffer is restored afterward.
+     *
+     * @param geometry The geometry to encode.
+     * @param buffer   The buffer to write to, with at least {@link #size(Geometry)} bytes remaining.
+     * @throws java.nio.BufferOverflowException if the buffer is too small.
+     */
+    public void write(Geometry geometry, ByteBuffer buffer) {
+        ByteOrder order = buffer.order();
+        try {
+            buffer.order(byteOrder);
+            writeGeometry(geometry, buffer, Wkb.hasAltitude(geometry), srid);
+        } finally {
+            buffer.order(order);
+        }
+    }
+
+    /**
+     * Returns the number of bytes of the given geometry once encoded.
+     *
+     * @param geometry The geometry to encode.
+     * @return the size of the encoded geometry in bytes.
+     */
+    public int size(Geometry geometry) {
+        return size(geometry, Wkb.hasAltitude(geometry) ? 3 : 2) + (srid != 0 ? Integer.BYTES : 0);
+    }
+
+    private static int size(Geometry geometry, int dimension) {
+        return HEADER_SIZE + switch (geometry) {
+            case Point ignored -> dimension * Double.BYTES;
+            case LineString lineString -> size(lineString.getCoordinates(), dimension);
+            case Polygon polygon -> size(polygon.getCoordinates(), dimension);
+            case MultiPoint multiPoint -> Integer.BYTES + Wkb.count(multiPoint.getCoordinates()) * (HEADER_SIZE + dimension * Double.BYTES);
+            case MultiLineString multiLineString -> Integer.BYTES + ListUtils.emptyIfNull(multiLineString.getCoordinates()).stream()
+                    .mapToInt(positions -> HEADER_SIZE + size(positions, dimension)).sum();
+            case MultiPolygon multiPolygon -> Integer.BYTES + ListUtils.emptyIfNull(multiPolygon.getCoordinates()).stream()
+                    .mapToInt(coordinates -> HEADER_SIZE + size(coordinates, dimension)).sum();
+            case GeometryCollection collection -> Integer.BYTES + ListUtils.emptyIfNull(collection.getGeometries()).stream()
+                    .mapToInt(member -> size(member, dimension)).sum();
+        };
+    }
+
+    private static int size(PolygonCoordinates coordinates, int dimension) {
+        return Integer.BYTES + Wkb.rings(coordinates).stream().mapToInt(ring -> size(ring, dimension)).sum();
+    }
+
+    private static int size(List<Position> positions, int dimension) {
+        return Integer.BYTES + Wkb.count(positions) * dimension * Double.BYTES;
+    }
+
+    private void writeGeometry(Geometry geometry, ByteBuffer buffer, boolean altitude, int geometrySrid) {
+        switch (geometry) {
+            case Point point -> {
+                writeHeader(buffer, Wkb.POINT, altitude, geometrySrid);
+                writePosition(buffer, point.getCoordinates(), altitude);
+            }
+            case LineString lineString -> {
+                writeHeader(buffer, Wkb.LINE_STRING, altitude, geometrySrid);
+                writePositions(buffer, lineString.getCoordinates(), altitude);
+            }
+            case Polygon polygon -> {
+                writeHeader(buffer, Wkb.POLYGON, altitude, geometrySrid);
+                writePolygonCoordinates(buffer, polygon.getCoordinates(), altitude);
+            }
+            case MultiPoint multiPoint -> {
+                writeHeader(buffer, Wkb.MULTI_POINT, altitude, geometrySrid);
+                List<Position> positions = ListUtils.emptyIfNull(multiPoint.getCoordinates());
+                buffer.putInt(positions.size());
+                for (int i = 0; i < positions.size(); i++) {
+                    writeHeader(buffer, Wkb.POINT, altitude, 0);
+                    writePosition(buffer, positions, i, altitude);
+                }
+            }
+            case MultiLineString multiLineString -> {
+                writeHeader(buffer, Wkb.MULTI_LINE_STRING, altitude, geometrySrid);
+                buffer.putInt(Wkb.count(multiLineString.getCoordinates()));
+                for (List<Position> positions : ListUtils.emptyIfNull(multiLineString.getCoordinates())) {
+                    writeHeader(buffer, Wkb.LINE_STRING, altitude, 0);
+                    writePositions(buffer, positions, altitude);
+                }
+            }
+            case MultiPolygon multiPolygon -> {
+                writeHeader(buffer, Wkb.MULTI_POLYGON, altitude, geometrySrid);
+                buffer.putInt(Wkb.count(multiPolygon.getCoordinates()));
+                for (PolygonCoordinates coordinates : ListUtils.emptyIfNull(multiPolygon.getCoordinates())) {
+                    writeHeader(buffer, Wkb.POLYGON, altitude, 0);
+                    writePolygonCoordinates(buffer, coordinates, altitude);
+                }
+            }
+            case GeometryCollection collection -> {
+                writeHeader(buffer, Wkb.GEOMETRY_COLLECTION, altitude, geometrySrid);
+                buffer.putInt(Wkb.count(collection.getGeometries()));
+                for (Geometry member : ListUtils.emptyIfNull(collection.getGeometries())) {
+                    writeGeometry(member, buffer, altitude, 0);
+                }
+            }
+        }
+    }
+
+    private void writeHeader(ByteBuffer buffer, int type, boolean altitude, int geometrySrid) {
+        buffer.put(byteOrder == ByteOrder.BIG_ENDIAN ? Wkb.BIG_ENDIAN : Wkb.LITTLE_ENDIAN);
+        if (srid == 0) {
+            buffer.putInt(altitude ? type + Wkb.ISO_Z : type);
+            return;
+        }
+        int typeCode = altitude ? type | Wkb.EWKB_Z : type;
+        if (geometrySrid != 0) {
+            buffer.putInt(typeCode | Wkb.EWKB_SRID).putInt(geometrySrid);
+        } else {
+            buffer.putInt(typeCode);
+        }
+    }
+
+    private static void writePolygonCoordinates(ByteBuffer buffer, PolygonCoordinates coordinates, boolean altitude) {
+        List<List<Position>> rings = Wkb.rings(coordinates);
+        buffer.putInt(rings.size());
+        for (List<Position> ring : rings) {
+            writePositions(buffer, ring, altitude);
+        }
+    }
+
+    private static void writePositions(ByteBuffer buffer, List<Position> positions, boolean altitude) {
+        List<Position> values = ListUtils.emptyIfNull(positions);
+        buffer.putInt(values.size());
+        for (int i = 0; i < values.size(); i++) {
+            writePosition(buffer, values, i, altitude);
+        }
+    }
+
+    /**
+     * Writes the position at the given index, the positions of a coordinate sequence without creating them.
+     */
+    private static void writePosition(ByteBuffer buffer, List<Position> positions, int index, boolean altitude) {
+        if (!(positions instanceof CoordinateSequence sequence)) {
+            writePosition(buffer, positions.get(index), altitude);
+            return;
+        }
+        buffer.putDouble(sequence.getX(index)).putDouble(sequence.getY(index));
+        if (altitude) {
+            buffer.putDouble(sequence.getDimension() > 2 ? sequence.getOrdinate(index, 2) : Double.NaN);
+        }
+    }
+
+    private static void writePosition(ByteBuffer buffer, Position position, boolean altitude) {
+        double[] coordinates = position != null ? position.getCoordinates() : null;
+        buffer.putDouble(coordinate(coordinates, 0)).putDouble(coordinate(coordinates, 1));
+        if (altitude) {
+            buffer.putDouble(coordinate(coordinates, 2));
+        }
+    }
+
+    private static double coordinate(double[] coordinates, int index) {
+        return coordinates != null && index < coordinates.length ? coordinates[index] : Double.NaN;
+    }
+
+    @Override
+    public String toString() {
+        return MessageFormat.format("WkbWriter'{'byteOrder={0}, srid={1,number,#}'}'", byteOrder, srid);
+    }
+}
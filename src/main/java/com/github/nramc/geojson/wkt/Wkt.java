@@ -0,0 +1,134 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.wkt;
+
+import com.github.nramc.geojson.domain.CoordinateSequence;
+import com.github.nramc.geojson.domain.Geometry;
+import com.github.nramc.geojson.domain.GeometryCollection;
+import com.github.nramc.geojson.domain.LineString;
+import com.github.nramc.geojson.domain.MultiLineString;
+import com.github.nramc.geojson.domain.MultiPoint;
+import com.github.nramc.geojson.domain.MultiPolygon;
+import com.github.nramc.geojson.domain.Point;
+import com.github.nramc.geojson.domain.Polygon;
+import com.github.nramc.geojson.domain.PolygonCoordinates;
+import com.github.nramc.geojson.domain.Position;
+import org.apache.commons.collections4.ListUtils;
+
+import java.util.List;
+
+/**
+ * Keywords of the Well-Known Text format and helpers shared by the reader and the writer.
+ * <p>
+ * ISO WKT marks Z and M coordinates with a keyword after the geometry type, e.g. {@code POINT Z (1 2 3)}, PostGIS
+ * Extended WKT (EWKT) may start with a SRID, e.g. {@code SRID=4326;POINT(1 2)}.
+ * </p>
+ */
+final class Wkt {
+    static final String POINT = "POINT";
+    static final String LINE_STRING = "LINESTRING";
+    static final String POLYGON = "POLYGON";
+    static final String MULTI_POINT = "MULTIPOINT";
+    static final String MULTI_LINE_STRING = "MULTILINESTRING";
+    static final String MULTI_POLYGON = "MULTIPOLYGON";
+    static final String GEOMETRY_COLLECTION = "GEOMETRYCOLLECTION";
+    static final String EMPTY = "EMPTY";
+    static final String SRID = "SRID";
+
+    private Wkt() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Returns the linear rings of the given polygon, empty if the polygon has no exterior ring.
+     */
+    static List<List<Position>> rings(PolygonCoordinates coordinates) {
+        return coordinates != null && coordinates.getExterior() != null ? coordinates.getCoordinates() : List.of();
+    }
+
+    /**
+     * Returns whether the positions of the given geometry have an altitude, i.e. whether it has to be written with Z.
+     * Positions without longitude and latitude, written as {@code EMPTY}, fit either way.
+     *
+     * @throws IllegalArgumentException if some positions have an altitude and others have not.
+     */
+    static boolean hasAltitude(Geometry geometry) {
+        return dimension(geometry, 0) > 2;
+    }
+
+    /**
+     * Returns the dimension, 2 or 3, of the positions of the given geometry, the given dimension if it has no positions.
+     */
+    private static int dimension(Geometry geometry, int dimension) {
+        int result = dimension;
+        switch (geometry) {
+            case Point point -> result = dimension(point.getCoordinates(), result);
+            case LineString lineString -> result = dimension(lineString.getCoordinates(), result);
+            case Polygon polygon -> {
+                for (List<Position> ring : rings(polygon.getCoordinates())) {
+                    result = dimension(ring, result);
+                }
+            }
+            case MultiPoint multiPoint -> result = dimension(multiPoint.getCoordinates(), result);
+            case MultiLineString multiLineString -> {
+                for (List<Position> line : ListUtils.emptyIfNull(multiLineString.getCoordinates())) {
+                    result = dimension(line, result);
+                }
+            }
+            case MultiPolygon multiPolygon -> {
+                for (PolygonCoordinates polygon : ListUtils.emptyIfNull(multiPolygon.getCoordinates())) {
+                    for (List<Position> ring : rings(polygon)) {
+                        result = dimension(ring, result);
+                    }
+                }
+            }
+            case GeometryCollection collection -> {
+                for (Geometry member : ListUtils.emptyIfNull(collection.getGeometries())) {
+                    if (member != null) {
+                        result = dimension(member, result);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private static int dimension(List<Position> positions, int dimension) {
+        if (positions instanceof CoordinateSequence sequence) {
+            return sequence.isEmpty() ? dimension : merge(sequence.getDimension() > 2 ? 3 : 2, dimension);
+        }
+        int result = dimension;
+        for (Position position : ListUtils.emptyIfNull(positions)) {
+            result = dimension(position, result);
+        }
+        return result;
+    }
+
+    private static int dimension(Position position, int dimension) {
+        double[] coordinates = position != null ? position.getCoordinates() : null;
+        if (coordinates == null || coordinates.length < 2 || (Double.isNaN(coordinates[0]) && Double.isNaN(coordinates[1]))) {
+            return dimension;
+        }
+        return merge(coordinates.length > 2 ? 3 : 2, dimension);
+    }
+
+    private static int merge(int positionDimension, int dimension) {
+        if (dimension != 0 && dimension != positionDimension) {
+            throw new IllegalArgumentException("WKT cannot write positions with and without altitude in one geometry");
+        }
+        return positionDimension;
+    }
+}
@@ -0,0 +1,548 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.wkt;
+
+import com.github.nramc.geojson.domain.Geometry;
+import com.github.nramc.geojson.domain.GeometryCollection;
+import com.github.nramc.geojson.domain.LineString;
+import com.github.nramc.geojson.domain.MultiLineString;
+import com.github.nramc.geojson.domain.MultiPoint;
+import com.github.nramc.geojson.domain.MultiPolygon;
+import com.github.nramc.geojson.domain.Point;
+import com.github.nramc.geojson.domain.Polygon;
+import com.github.nramc.geojson.domain.PolygonCoordinates;
+import com.github.nramc.geojson.domain.Position;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.github.nramc.geojson.constant.GeoJsonType.GEOMETRY_COLLECTION;
+import static com.github.nramc.geojson.constant.GeoJsonType.LINE_STRING;
+import static com.github.nramc.geojson.constant.GeoJsonType.MULTI_LINE_STRING;
+import static com.github.nramc.geojson.constant.GeoJsonType.MULTI_POINT;
+import static com.github.nramc.geojson.constant.GeoJsonType.MULTI_POLYGON;
+import static com.github.nramc.geojson.constant.GeoJsonType.POINT;
+import static com.github.nramc.geojson.constant.GeoJsonType.POLYGON;
+
+/**
+ * Reads geometries from Well-Known Text (WKT), as defined by the OGC Simple Features specification,
+ * and from the Extended WKT (EWKT) of PostGIS.
+ * <p>
+ * The text is scanned by a hand-written tokenizer, without regular expressions or intermediate strings, and the
+ * coordinates are parsed straight into the domain classes. A number of up to 18 significant digits with a decimal
+ * exponent up to 22, which covers the output of databases and of {@link Double#toString(double)}, is converted
+ * exactly with a multiplication or division by a power of ten, any other number is passed to
+ * {@link Double#parseDouble(String)}. Keywords are case-insensitive.
+ * Z coordinates are kept as altitude, M coordinates are dropped as GeoJSON positions have no measure. Positions
+ * without Z or M keyword are read with all of their coordinates, i.e. three coordinates are longitude, latitude and
+ * altitude. An empty Point, as well as an empty member of a MultiPoint, is read with NaN coordinates, same as
+ * {@link com.github.nramc.geojson.wkb.WkbReader}. Geometries are not validated eagerly, same as deserialization.
+ * </p>
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * Geometry geometry = WktReader.read("POLYGON ((30 10, 40 40, 20 40, 10 20, 30 10))");
+ * Geometry fromCsv = WktReader.read(line, start, end - start);
+ * }</pre></p>
+ *
+ * @see WktWriter
+ */
+public final class WktReader {
+
+    private WktReader() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Reads the geometry of the given WKT or EWKT text.
+     *
+     * @param text The WKT or EWKT text.
+     * @return the decoded geometry.
+     * @throws IllegalArgumentException if the text is malformed, truncated or followed by anything but whitespace.
+     */
+    public static Geometry read(CharSequence text) {
+        char[] characters = text.toString().toCharArray();
+        return read(characters, 0, characters.length);
+    }
+
+    /**
+     * Reads the geometry of the WKT or EWKT text in the given range of characters, e.g. a column of a CSV line,
+     * without copying it.
+     *
+     * @param characters The characters containing the text.
+     * @param offset     The index of the first character of the text.
+     * @param length     The number of characters of the text.
+     * @return the decoded geometry.
+     * @throws IllegalArgumentException  if the text is malformed, truncated or followed by anything but whitespace.
+     * @throws IndexOutOfBoundsException if the range is outside the characters.
+     */
+    public static Geometry read(char[] characters, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > characters.length - length) {
+            throw new IndexOutOfBoundsException("Range [%d, %d) out of bounds for length %d".formatted(offset, offset + length, characters.length));
+        }
+        Tokenizer tokenizer = new Tokenizer(characters, offset, offset + length);
+        tokenizer.skipSrid();
+        Geometry geometry = tokenizer.geometry();
+        tokenizer.expectEnd();
+        return geometry;
+    }
+
+    /**
+     * Returns the SRID of the given EWKT text.
+     *
+     * @param text The WKT or EWKT text.
+     * @return the SRID, or 0 if the text has no SRID.
+     * @throws IllegalArgumentException if the SRID is malformed.
+     */
+    public static int readSrid(CharSequence text) {
+        char[] characters = text.toString().toCharArray();
+        return new Tokenizer(characters, 0, characters.length).skipSrid();
+    }
+
+    /**
+     * Scans WKT text and builds the geometries, keeping the dimension declared by the current geometry.
+     */
+    private static final class Tokenizer {
+        private static final int MAX_FAST_DIGITS = 15;
+        private static final int MAX_EXACT_DIGITS = 18;
+        private static final int MAX_FAST_EXPONENT = 22;
+        private static final double ROUNDING_MARGIN = 0x1p-40;
+        private static final String[] TYPES = {Wkt.POINT, Wkt.LINE_STRING, Wkt.POLYGON, Wkt.MULTI_POINT,
+                Wkt.MULTI_LINE_STRING, Wkt.MULTI_POLYGON, Wkt.GEOMETRY_COLLECTION};
+        private static final double[] POWERS_OF_TEN = new double[MAX_FAST_EXPONENT + 1];
+
+        static {
+            POWERS_OF_TEN[0] = 1;
+            for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+                POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+            }
+        }
+
+        private final char[] characters;
+        private final int end;
+        private int index;
+        private final double[] coordinates = new double[4];
+        private boolean z;
+        private boolean m;
+        private boolean declared;
+
+        private Tokenizer(char[] characters, int start, int end) {
+            this.characters = characters;
+            this.index = start;
+            this.end = end;
+        }
+
+        /**
+         * Skips the {@code SRID=n;} prefix of EWKT if there is one.
+         *
+         * @return the SRID, or 0 if there is no prefix.
+         */
+        private int skipSrid() {
+            skipWhitespace();
+            if (!matchesWord(Wkt.SRID)) {
+                return 0;
+            }
+            index += Wkt.SRID.length();
+            expect('=');
+            skipWhitespace();
+            int start = index;
+            long srid = 0;
+            while (index < end && isDigit(characters[index]) && srid <= Integer.MAX_VALUE) {
+                srid = srid * 10 + characters[index++] - '0';
+            }
+            if (index == start || srid > Integer.MAX_VALUE) {
+                throw error("a SRID");
+            }
+            expect(';');
+            return (int) srid;
+        }
+
+        private Geometry geometry() {
+            String type = type();
+            dimension();
+            return switch (type) {
+                case Wkt.POINT -> new Point(POINT, isEmpty() ? new Position() : point());
+                case Wkt.LINE_STRING -> new LineString(LINE_STRING, positions());
+                case Wkt.POLYGON -> new Polygon(POLYGON, polygon());
+                case Wkt.MULTI_POINT -> new MultiPoint(MULTI_POINT, multiPoint());
+                case Wkt.MULTI_LINE_STRING -> new MultiLineString(MULTI_LINE_STRING, lines());
+                case Wkt.MULTI_POLYGON -> {
+                    List<PolygonCoordinates> polygons = new ArrayList<>();
+                    if (!isEmpty()) {
+                        expect('(');
+                        do {
+                            polygons.add(polygon());
+                        } while (next(','));
+                        expect(')');
+                    }
+                    yield new MultiPolygon(MULTI_POLYGON, polygons);
+                }
+                case Wkt.GEOMETRY_COLLECTION -> {
+                    List<Geometry> members = new ArrayList<>();
+                    if (!isEmpty()) {
+                        boolean collectionZ = z;
+                        boolean collectionM = m;
+                        boolean collectionDeclared = declared;
+                        expect('(');
+                        do {
+                            members.add(geometry());
+                            z = collectionZ;
+                            m = collectionM;
+                            declared = collectionDeclared;
+                        } while (next(','));
+                        expect(')');
+                    }
+                    yield new GeometryCollection(GEOMETRY_COLLECTION, members);
+                }
+                default -> throw new IllegalStateException("Unexpected type " + type);
+            };
+        }
+
+        /**
+         * Reads the geometry type keyword, which may be directly followed by Z, M or ZM as in older EWKT.
+         */
+        private String type() {
+            skipWhitespace();
+            int start = index;
+            while (index < end && isLetter(characters[index])) {
+                index++;
+            }
+            for (String type : TYPES) {
+                if (index - start >= type.length() && regionMatches(start, type) && setDimension(start + type.length(), index)) {
+                    return type;
+                }
+            }
+            index = start;
+            throw error("a geometry type");
+        }
+
+        /**
+         * Reads the optional Z, M or ZM keyword after the geometry type.
+         */
+        private void dimension() {
+            skipWhitespace();
+            int start = index;
+            while (index < end && isLetter(characters[index])) {
+                index++;
+            }
+            if (index > start && !setDimension(start, index)) {
+                index = start;
+            }
+        }
+
+        /**
+         * Applies the dimension keyword in the given range, an empty range keeps the dimension declared so far.
+         *
+         * @return whether the range is empty or a dimension keyword.
+         */
+        private boolean setDimension(int start, int stop) {
+            int length = stop - start;
+            if (length == 0) {
+                return true;
+            }
+            boolean hasZ = Character.toUpperCase(characters[start]) == 'Z';
+            boolean hasM = Character.toUpperCase(characters[stop - 1]) == 'M';
+            if (length > 2 || (length == 2 && !(hasZ && hasM)) || (length == 1 && !hasZ && !hasM)) {
+                return false;
+            }
+            z = hasZ;
+            m = hasM;
+            declared = true;
+            return true;
+        }
+
+        private boolean isEmpty() {
+            skipWhitespace();
+            if (matchesWord(Wkt.EMPTY)) {
+                index += Wkt.EMPTY.length();
+                return true;
+            }
+            return false;
+        }
+
+        private Position point() {
+            expect('(');
+            Position position = position();
+            expect(')');
+            return position;
+        }
+
+        private List<Position> multiPoint() {
+            List<Position> positions = new ArrayList<>();
+            if (isEmpty()) {
+                return positions;
+            }
+            expect('(');
+            do {
+                skipWhitespace();
+                if (isEmpty()) {
+                    positions.add(new Position());
+                } else if (index < end && characters[index] == '(') {
+                    positions.add(point());
+                } else {
+                    positions.add(position());
+                }
+            } while (next(','));
+            expect(')');
+            return positions;
+        }
+
+        private PolygonCoordinates polygon() {
+            if (isEmpty()) {
+                return null;
+            }
+            return new PolygonCoordinates(lines());
+        }
+
+        private List<List<Position>> lines() {
+            List<List<Position>> lines = new ArrayList<>();
+            if (isEmpty()) {
+                return lines;
+            }
+            expect('(');
+            do {
+                lines.add(positions());
+            } while (next(','));
+            expect(')');
+            return lines;
+        }
+
+        private List<Position> positions() {
+            List<Position> positions = new ArrayList<>();
+            if (isEmpty()) {
+                return positions;
+            }
+            expect('(');
+            do {
+                positions.add(position());
+            } while (next(','));
+            expect(')');
+            return positions;
+        }
+
+        private Position position() {
+            int count = 0;
+            skipWhitespace();
+            while (index < end && isNumberStart(characters[index])) {
+                if (count == coordinates.length) {
+                    throw error("',' or ')'");
+                }
+                coordinates[count++] = number();
+                skipWhitespace();
+            }
+            if (count < 2) {
+                throw error("a coordinate");
+            }
+            int dimension = declared ? 2 + (z ? 1 : 0) + (m ? 1 : 0) : count;
+            if (count != dimension) {
+                throw new IllegalArgumentException("WKT position at index %d has %d coordinates but %d were declared".formatted(index, count, dimension));
+            }
+            boolean altitude = declared ? z : count > 2;
+            return new Position(altitude ? new double[]{coordinates[0], coordinates[1], coordinates[2]} : new double[]{coordinates[0], coordinates[1]});
+        }
+
+        /**
+         * Parses a decimal number, exactly with a single floating point operation if the significant digits fit
+         * into a double and the power of ten is exact, as proven by Clinger, with double-double arithmetic for up to
+         * 18 significant digits, otherwise with the JDK.
+         */
+        private double number() {
+            int start = index;
+            boolean negative = characters[index] == '-';
+            if (negative || characters[index] == '+') {
+                index++;
+            }
+            if (index < end && isLetter(characters[index])) {
+                return special(start, negative);
+            }
+            long significand = 0;
+            int digits = 0;
+            int exponent = 0;
+            boolean hasDigits = false;
+            while (index < end && isDigit(characters[index])) {
+                hasDigits = true;
+                if (digits > 0 || characters[index] != '0') {
+                    if (digits < MAX_EXACT_DIGITS) {
+                        significand = significand * 10 + characters[index] - '0';
+                    } else {
+                        exponent++;
+                    }
+                    digits++;
+                }
+                index++;
+            }
+            if (index < end && characters[index] == '.') {
+                index++;
+                while (index < end && isDigit(characters[index])) {
+                    hasDigits = true;
+                    if (digits > 0 || characters[index] != '0') {
+                        if (digits < MAX_EXACT_DIGITS) {
+                            significand = significand * 10 + characters[index] - '0';
+                            exponent--;
+                        }
+                        digits++;
+                    } else {
+                        exponent--;
+                    }
+                    index++;
+                }
+            }
+            if (!hasDigits) {
+                index = start;
+                throw error("a number");
+            }
+            if (index < end && (characters[index] == 'e' || characters[index] == 'E')) {
+                index++;
+                int exponentStart = index;
+                boolean negativeExponent = index < end && characters[index] == '-';
+                if (index < end && (negativeExponent || characters[index] == '+')) {
+                    index++;
+                }
+                int value = 0;
+                int exponentDigits = index;
+                while (index < end && isDigit(characters[index])) {
+                    value = Math.min(value * 10 + characters[index++] - '0', 100_000);
+                }
+                if (index == exponentDigits) {
+                    index = exponentStart;
+                    throw error("an exponent");
+                }
+                exponent += negativeExponent ? -value : value;
+            }
+            if (exponent >= -MAX_FAST_EXPONENT && exponent <= MAX_FAST_EXPONENT) {
+                double value = Double.NaN;
+                if (digits <= MAX_FAST_DIGITS) {
+                    value = exponent >= 0 ? significand * POWERS_OF_TEN[exponent] : significand / POWERS_OF_TEN[-exponent];
+                } else if (digits <= MAX_EXACT_DIGITS) {
+                    value = extended(significand, exponent);
+                }
+                if (!Double.isNaN(value)) {
+                    return negative ? -value : value;
+                }
+            }
+            return Double.parseDouble(new String(characters, start, index - start));
+        }
+
+        /**
+         * Converts a significand of up to 18 digits, i.e. beyond the 53 bits of a double, with double-double
+         * arithmetic: the product or quotient is computed with its rounding error, which is exact with
+         * {@link Math#fma}, and the sum of both is correctly rounded unless the value lies so close to the middle of
+         * two doubles that the remaining error could decide the rounding.
+         *
+         * @return the value, or NaN if the rounding is ambiguous and the number has to be parsed by the JDK.
+         */
+        private static double extended(long significand, int exponent) {
+            double high = significand;
+            double low = significand - (long) high;
+            double power = POWERS_OF_TEN[Math.abs(exponent)];
+            double result;
+            double rest;
+            if (exponent >= 0) {
+                result = high * power;
+                rest = Math.fma(high, power, -result) + low * power;
+            } else {
+                result = high / power;
+                rest = (Math.fma(-result, power, high) + low) / power;
+            }
+            double value = result + rest;
+            double error = rest - (value - result);
+            double ulp = Math.ulp(value);
+            return ulp / 2 - Math.abs(error) > ulp * ROUNDING_MARGIN ? value : Double.NaN;
+        }
+
+        /**
+         * Parses NaN and Infinity, as written for missing or unbounded coordinates.
+         */
+        private double special(int start, boolean negative) {
+            if (matchesWord("NAN")) {
+                index += 3;
+                return Double.NaN;
+            }
+            if (matchesWord("INFINITY")) {
+                index += 8;
+                return negative ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+            }
+            if (matchesWord("INF")) {
+                index += 3;
+                return negative ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+            }
+            index = start;
+            throw error("a number");
+        }
+
+        private boolean next(char separator) {
+            skipWhitespace();
+            if (index < end && characters[index] == separator) {
+                index++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(char expected) {
+            if (!next(expected)) {
+                throw error("'" + expected + "'");
+            }
+        }
+
+        private void expectEnd() {
+            skipWhitespace();
+            if (index < end) {
+                throw error("the end of the text");
+            }
+        }
+
+        private void skipWhitespace() {
+            while (index < end && characters[index] <= ' ') {
+                index++;
+            }
+        }
+
+        /**
+         * Returns whether the given upper case keyword follows, ignoring case, and is not followed by another letter.
+         */
+        private boolean matchesWord(String word) {
+            int stop = index + word.length();
+            return stop <= end && regionMatches(index, word) && (stop == end || !isLetter(characters[stop]));
+        }
+
+        private boolean regionMatches(int start, String word) {
+            for (int i = 0; i < word.length(); i++) {
+                if (Character.toUpperCase(characters[start + i]) != word.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean isDigit(char character) {
+            return character >= '0' && character <= '9';
+        }
+
+        private static boolean isLetter(char character) {
+            return (character >= 'A' && character <= 'Z') || (character >= 'a' && character <= 'z');
+        }
+
+        private static boolean isNumberStart(char character) {
+            return isDigit(character) || character == '-' || character == '+' || character == '.' || isLetter(character);
+        }
+
+        private IllegalArgumentException error(String expected) {
+            String found = index < end ? "'" + characters[index] + "'" : "the end of the text";
+            return new IllegalArgumentException("Expected %s at index %d but found %s".formatted(expected, index, found));
+        }
+    }
+}
@@ -0,0 +1,305 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.wkt;
+
+import com.github.nramc.geojson.domain.CoordinateSequence;
+import com.github.nramc.geojson.domain.Geometry;
+import com.github.nramc.geojson.domain.GeometryCollection;
+import com.github.nramc.geojson.domain.LineString;
+import com.github.nramc.geojson.domain.MultiLineString;
+import com.github.nramc.geojson.domain.MultiPoint;
+import com.github.nramc.geojson.domain.MultiPolygon;
+import com.github.nramc.geojson.domain.Point;
+import com.github.nramc.geojson.domain.Polygon;
+import com.github.nramc.geojson.domain.PolygonCoordinates;
+import com.github.nramc.geojson.domain.Position;
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.collections4.ListUtils;
+
+import java.text.MessageFormat;
+import java.util.List;
+
+/**
+ * Writes geometries as Well-Known Text (WKT), as defined by the OGC Simple Features specification,
+ * or as Extended WKT (EWKT) of PostGIS when a SRID is given.
+ * <p>
+ * A geometry is written with Z coordinates when its positions have an altitude, a geometry mixing positions with
+ * and without altitude is rejected since WKT has no value for a missing altitude. A Point without coordinates
+ * and an empty list of positions or geometries are written as {@code EMPTY}. Coordinates are appended with the
+ * shortest decimal representation which reads back to the same double, integral values without fraction digits.
+ * Everything is appended straight into a {@link StringBuilder}, which can be reused for many geometries with
+ * {@link #write(Geometry, StringBuilder)}, without intermediate strings.
+ * </p>
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * String wkt = WktWriter.DEFAULT.write(geometry);
+ * String ewkt = WktWriter.DEFAULT.withSrid(4326).write(geometry);
+ * }</pre></p>
+ *
+ * <p>The writer is immutable and can be shared.</p>
+ *
+ * @see WktReader
+ */
+public final class WktWriter {
+    /**
+     * Writes WKT without SRID.
+     */
+    public static final WktWriter DEFAULT = new WktWriter(0);
+
+    private static final double MAX_INTEGRAL = 1e15;
+
+    private final int srid;
+
+    private WktWriter(int srid) {
+        this.srid = srid;
+    }
+
+    /**
+     * Returns a writer which writes EWKT with the given SRID, or WKT if the SRID is 0.
+     *
+     * @param srid The spatial reference identifier written before the geometry, e.g. 4326.
+     * @return a writer with the given SRID.
+     * @throws IllegalArgumentException if the SRID is negative.
+     */
+    public WktWriter withSrid(int srid) {
+        if (srid < 0) {
+            throw new IllegalArgumentException("SRID must not be negative but was " + srid);
+        }
+        return new WktWriter(srid);
+    }
+
+    /**
+     * Returns the SRID written before the geometry.
+     *
+     * @return the SRID, or 0 if WKT without SRID is written.
+     */
+    public int getSrid() {
+        return srid;
+    }
+
+    /**
+     * Returns the given geometry as WKT, or as EWKT if a SRID is set.
+     *
+     * @param geometry The geometry to write.
+     * @return the geometry as text.
+     * @throws IllegalArgumentException if the geometry mixes positions with and without altitude.
+     */
+    public String write(Geometry geometry) {
+        return write(geometry, new StringBuilder()).toString();
+    }
+
+    /**
+     * Appends the given geometry as WKT, or as EWKT if a SRID is set, to the given builder.
+     *
+     * @param geometry The geometry to write.
+     * @param builder  The builder to append to.
+     * @return the given builder.
+     * @throws IllegalArgumentException if the geometry mixes positions with and without altitude, nothing is appended then.
+     */
+    public StringBuilder write(Geometry geometry, StringBuilder builder) {
+        boolean altitude = Wkt.hasAltitude(geometry);
+        if (srid != 0) {
+            builder.append(Wkt.SRID).append('=').append(srid).append(';');
+        }
+        writeGeometry(geometry, builder, altitude);
+        return builder;
+    }
+
+    private static void writeGeometry(Geometry geometry, StringBuilder builder, boolean altitude) {
+        switch (geometry) {
+            case Point point -> {
+                writeType(builder, Wkt.POINT, altitude);
+                if (isEmpty(point.getCoordinates())) {
+                    builder.append(Wkt.EMPTY);
+                } else {
+                    builder.append('(');
+                    writePosition(builder, point.getCoordinates(), altitude);
+                    builder.append(')');
+                }
+            }
+            case LineString lineString -> {
+                writeType(builder, Wkt.LINE_STRING, altitude);
+                writePositions(builder, lineString.getCoordinates(), altitude);
+            }
+            case Polygon polygon -> {
+                writeType(builder, Wkt.POLYGON, altitude);
+                writePolygonCoordinates(builder, polygon.getCoordinates(), altitude);
+            }
+            case MultiPoint multiPoint -> {
+                writeType(builder, Wkt.MULTI_POINT, altitude);
+                writeMultiPoint(builder, multiPoint.getCoordinates(), altitude);
+            }
+            case MultiLineString multiLineString -> {
+                writeType(builder, Wkt.MULTI_LINE_STRING, altitude);
+                List<List<Position>> lines = multiLineString.getCoordinates();
+                if (CollectionUtils.isEmpty(lines)) {
+                    builder.append(Wkt.EMPTY);
+                    return;
+                }
+                builder.append('(');
+                for (int i = 0; i < lines.size(); i++) {
+                    separate(builder, i);
+                    writePositions(builder, lines.get(i), altitude);
+                }
+                builder.append(')');
+            }
+            case MultiPolygon multiPolygon -> {
+                writeType(builder, Wkt.MULTI_POLYGON, altitude);
+                List<PolygonCoordinates> polygons = multiPolygon.getCoordinates();
+                if (CollectionUtils.isEmpty(polygons)) {
+                    builder.append(Wkt.EMPTY);
+                    return;
+                }
+                builder.append('(');
+                for (int i = 0; i < polygons.size(); i++) {
+                    separate(builder, i);
+                    writePolygonCoordinates(builder, polygons.get(i), altitude);
+                }
+                builder.append(')');
+            }
+            case GeometryCollection collection -> {
+                writeType(builder, Wkt.GEOMETRY_COLLECTION, altitude);
+                List<Geometry> members = ListUtils.emptyIfNull(collection.getGeometries()).stream().filter(member -> member != null).toList();
+                if (members.isEmpty()) {
+                    builder.append(Wkt.EMPTY);
+                    return;
+                }
+                builder.append('(');
+                for (int i = 0; i < members.size(); i++) {
+                    separate(builder, i);
+                    writeGeometry(members.get(i), builder, altitude);
+                }
+                builder.append(')');
+            }
+        }
+    }
+
+    private static void writeType(StringBuilder builder, String type, boolean altitude) {
+        builder.append(type).append(altitude ? " Z " : " ");
+    }
+
+    private static void separate(StringBuilder builder, int index) {
+        if (index > 0) {
+            builder.append(", ");
+        }
+    }
+
+    private static void writePolygonCoordinates(StringBuilder builder, PolygonCoordinates coordinates, boolean altitude) {
+        List<List<Position>> rings = Wkt.rings(coordinates);
+        if (rings.isEmpty()) {
+            builder.append(Wkt.EMPTY);
+            return;
+        }
+        builder.append('(');
+        for (int i = 0; i < rings.size(); i++) {
+            separate(builder, i);
+            writePositions(builder, rings.get(i), altitude);
+        }
+        builder.append(')');
+    }
+
+    private static void writeMultiPoint(StringBuilder builder, List<Position> positions, boolean altitude) {
+        if (CollectionUtils.isEmpty(positions)) {
+            builder.append(Wkt.EMPTY);
+            return;
+        }
+        builder.append('(');
+        for (int i = 0; i < positions.size(); i++) {
+            separate(builder, i);
+            if (isEmpty(positions, i)) {
+                builder.append(Wkt.EMPTY);
+            } else {
+                builder.append('(');
+                writePosition(builder, positions, i, altitude);
+                builder.append(')');
+            }
+        }
+        builder.append(')');
+    }
+
+    private static void writePositions(StringBuilder builder, List<Position> positions, boolean altitude) {
+        if (CollectionUtils.isEmpty(positions)) {
+            builder.append(Wkt.EMPTY);
+            return;
+        }
+        builder.append('(');
+        for (int i = 0; i < positions.size(); i++) {
+            separate(builder, i);
+            writePosition(builder, positions, i, altitude);
+        }
+        builder.append(')');
+    }
+
+    /**
+     * Writes the position at the given index, the positions of a coordinate sequence without creating them.
+     */
+    private static void writePosition(StringBuilder builder, List<Position> positions, int index, boolean altitude) {
+        if (!(positions instanceof CoordinateSequence sequence)) {
+            writePosition(builder, positions.get(index), altitude);
+            return;
+        }
+        writeCoordinates(builder, sequence.getX(index), sequence.getY(index),
+                sequence.getDimension() > 2 ? sequence.getOrdinate(index, 2) : Double.NaN, altitude);
+    }
+
+    private static void writePosition(StringBuilder builder, Position position, boolean altitude) {
+        double[] coordinates = position != null ? position.getCoordinates() : null;
+        writeCoordinates(builder, coordinate(coordinates, 0), coordinate(coordinates, 1), coordinate(coordinates, 2), altitude);
+    }
+
+    private static void writeCoordinates(StringBuilder builder, double longitude, double latitude, double altitude, boolean hasAltitude) {
+        writeCoordinate(builder, longitude);
+        builder.append(' ');
+        writeCoordinate(builder, latitude);
+        if (hasAltitude) {
+            builder.append(' ');
+            writeCoordinate(builder, altitude);
+        }
+    }
+
+    private static void writeCoordinate(StringBuilder builder, double value) {
+        if (value == (long) value && Math.abs(value) < MAX_INTEGRAL) {
+            builder.append((long) value);
+        } else {
+            builder.append(value);
+        }
+    }
+
+    private static double coordinate(double[] coordinates, int index) {
+        return coordinates != null && index < coordinates.length ? coordinates[index] : Double.NaN;
+    }
+
+    /**
+     * Returns whether the position at the given index has no longitude and latitude, written as {@code EMPTY} where allowed.
+     */
+    private static boolean isEmpty(List<Position> positions, int index) {
+        if (positions instanceof CoordinateSequence sequence) {
+            return Double.isNaN(sequence.getX(index)) && Double.isNaN(sequence.getY(index));
+        }
+        return isEmpty(positions.get(index));
+    }
+
+    private static boolean isEmpty(Position position) {
+        double[] coordinates = position != null ? position.getCoordinates() : null;
+        return Double.isNaN(coordinate(coordinates, 0)) && Double.isNaN(coordinate(coordinates, 1));
+    }
+
+    @Override
+    public String toString() {
+        return MessageFormat.format("WktWriter'{'srid={0,number,#}'}'", srid);
+    }
+}
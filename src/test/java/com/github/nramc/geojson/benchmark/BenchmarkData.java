@@ -0,0 +1,117 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.benchmark;
+
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Generates deterministic synthetic GeoJSON documents for benchmarks.
+ * Every feature has a closed polygon ring around a random center and a fixed set of properties.
+ */
+public final class BenchmarkData {
+
+    /**
+     * Position of the {@code "type"} member within every object of the generated document.
+     */
+    public enum KeyOrder {
+        TYPE_FIRST, TYPE_LAST
+    }
+
+    private BenchmarkData() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    static String featureCollection(int features, int verticesPerRing, int propertiesPerFeature, KeyOrder keyOrder) {
+        Random random = new Random(42);
+        StringBuilder json = new StringBuilder(features * verticesPerRing * 40);
+        json.append('{');
+        if (keyOrder == KeyOrder.TYPE_FIRST) {
+            json.append("\"type\":\"FeatureCollection\",");
+        }
+        json.append("\"features\":[");
+        for (int i = 0; i < features; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            feature(json, random, i, verticesPerRing, propertiesPerFeature, keyOrder);
+        }
+        json.append(']');
+        if (keyOrder == KeyOrder.TYPE_LAST) {
+            json.append(",\"type\":\"FeatureCollection\"");
+        }
+        return json.append('}').toString();
+    }
+
+    static String feature(Random random, int index, int verticesPerRing, int propertiesPerFeature, KeyOrder keyOrder) {
+        StringBuilder json = new StringBuilder(verticesPerRing * 40);
+        feature(json, random, index, verticesPerRing, propertiesPerFeature, keyOrder);
+        return json.toString();
+    }
+
+    private static void feature(StringBuilder json, Random random, int index, int verticesPerRing, int propertiesPerFeature, KeyOrder keyOrder) {
+        json.append('{');
+        if (keyOrder == KeyOrder.TYPE_FIRST) {
+            json.append("\"type\":\"Feature\",\"id\":\"ID_").append(index).append("\",");
+        }
+        json.append("\"properties\":{");
+        for (int p = 0; p < propertiesPerFeature; p++) {
+            if (p > 0) {
+                json.append(',');
+            }
+            json.append("\"attribute_").append(p).append("\":");
+            if (p % 3 == 0) {
+                json.append(random.nextInt(100_000));
+            } else if (p % 3 == 1) {
+                json.append(String.format(Locale.ROOT, "%.4f", random.nextDouble() * 1000));
+            } else {
+                json.append("\"value ").append(random.nextInt(1000)).append('"');
+            }
+        }
+        json.append("},\"geometry\":{");
+        if (keyOrder == KeyOrder.TYPE_FIRST) {
+            json.append("\"type\":\"Polygon\",");
+        }
+        json.append("\"coordinates\":[");
+        ring(json, random, verticesPerRing);
+        json.append(']');
+        if (keyOrder == KeyOrder.TYPE_LAST) {
+            json.append(",\"type\":\"Polygon\"");
+        }
+        json.append('}');
+        if (keyOrder == KeyOrder.TYPE_LAST) {
+            json.append(",\"id\":\"ID_").append(index).append("\",\"type\":\"Feature\"");
+        }
+        json.append('}');
+    }
+
+    private static void ring(StringBuilder json, Random random, int vertices) {
+        double centerLongitude = random.nextDouble() * 340 - 170;
+        double centerLatitude = random.nextDouble() * 160 - 80;
+        json.append('[');
+        String first = null;
+        for (int v = 0; v < vertices - 1; v++) {
+            double angle = 2 * Math.PI * v / (vertices - 1);
+            double radius = 0.01 + random.nextDouble() * 0.05;
+            String position = "[" + (centerLongitude + radius * Math.cos(angle)) + "," + (centerLatitude + radius * Math.sin(angle)) + "]";
+            if (first == null) {
+                first = position;
+            }
+            json.append(position).append(',');
+        }
+        json.append(first).append(']');
+    }
+}
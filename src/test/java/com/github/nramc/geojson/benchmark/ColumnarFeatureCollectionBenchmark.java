@@ -0,0 +1,120 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.nramc.geojson.columnar.ColumnarFeatureCollection;
+import com.github.nramc.geojson.domain.Feature;
+import com.github.nramc.geojson.domain.FeatureCollection;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures filtering features by a numeric and a string property, once on the properties of every feature and
+ * once on the columns of a {@link ColumnarFeatureCollection}.
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.github.nramc.geojson.benchmark.ColumnarFeatureCollectionBenchmark}
+ * or directly from the IDE.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ColumnarFeatureCollectionBenchmark {
+    private static final String NUMBER = "attribute_1";
+    private static final String TEXT = "attribute_2";
+
+    private FeatureCollection featureCollection;
+    private ColumnarFeatureCollection columns;
+
+    @Setup
+    public void setup() throws IOException {
+        String json = BenchmarkData.featureCollection(100_000, 5, 3, BenchmarkData.KeyOrder.TYPE_FIRST);
+        featureCollection = new ObjectMapper().readValue(json, FeatureCollection.class);
+        columns = ColumnarFeatureCollection.of(featureCollection);
+    }
+
+    @Benchmark
+    public int filterRange_features() {
+        int count = 0;
+        for (Feature feature : featureCollection.getFeatures()) {
+            Serializable value = feature.getProperty(NUMBER);
+            if (value instanceof Double number && number >= 250.0 && number <= 500.0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int filterRange_columns() {
+        return columns.getDoubleColumn(NUMBER).select(250.0, 500.0).cardinality();
+    }
+
+    @Benchmark
+    public int filterEquals_features() {
+        int count = 0;
+        for (Feature feature : featureCollection.getFeatures()) {
+            if ("value 42".equals(feature.getProperty(TEXT))) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int filterEquals_columns() {
+        return columns.getStringColumn(TEXT).select("value 42").cardinality();
+    }
+
+    @Benchmark
+    public double sum_columns() {
+        return columns.getDoubleColumn(NUMBER).sum();
+    }
+
+    @Benchmark
+    public ColumnarFeatureCollection toColumns() {
+        return ColumnarFeatureCollection.of(featureCollection);
+    }
+
+    @Benchmark
+    public FeatureCollection toFeatureCollection() {
+        return columns.toFeatureCollection();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ColumnarFeatureCollectionBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.github.nramc.geojson.domain.FeatureCollection;
+import com.github.nramc.geojson.jackson.GeoJsonReadOptions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reading coordinates into one {@link com.github.nramc.geojson.domain.Position} per vertex with reading
+ * them into packed primitive buffers, see {@link GeoJsonReadOptions#withPackedCoordinates(boolean)}.
+ * <p>
+ * Runs with the GC profiler, {@code gc.alloc.rate.norm} reports the bytes allocated per parsed document.
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.github.nramc.geojson.benchmark.CoordinateDecodingBenchmark}
+ * or directly from the IDE.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CoordinateDecodingBenchmark {
+
+    @Param({"1:200000", "1000:50"})
+    public String featuresAndVertices;
+
+    private byte[] json;
+    private ObjectReader positionsReader;
+    private ObjectReader packedReader;
+
+    @Setup
+    public void setup() {
+        String[] parameters = featuresAndVertices.split(":");
+        json = BenchmarkData.featureCollection(Integer.parseInt(parameters[0]), Integer.parseInt(parameters[1]), 0, BenchmarkData.KeyOrder.TYPE_FIRST)
+                .getBytes(StandardCharsets.UTF_8);
+        ObjectMapper objectMapper = new ObjectMapper();
+        positionsReader = objectMapper.readerFor(FeatureCollection.class);
+        packedReader = GeoJsonReadOptions.DEFAULT.withPackedCoordinates(true).applyTo(objectMapper.readerFor(FeatureCollection.class));
+    }
+
+    @Benchmark
+    public FeatureCollection positions() throws IOException {
+        return positionsReader.readValue(json);
+    }
+
+    @Benchmark
+    public FeatureCollection packed() throws IOException {
+        return packedReader.readValue(json);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(CoordinateDecodingBenchmark.class.getSimpleName()).addProfiler(GCProfiler.class).build()).run();
+    }
+}
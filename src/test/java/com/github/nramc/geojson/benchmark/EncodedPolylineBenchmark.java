@@ -0,0 +1,89 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.nramc.geojson.domain.FeatureCollection;
+import com.github.nramc.geojson.domain.LineString;
+import com.github.nramc.geojson.domain.Polygon;
+import com.github.nramc.geojson.polyline.EncodedPolyline;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures encoding line strings as encoded polylines into a reused builder and decoding them again.
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.github.nramc.geojson.benchmark.EncodedPolylineBenchmark}
+ * or directly from the IDE.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EncodedPolylineBenchmark {
+
+    private final StringBuilder builder = new StringBuilder();
+    private List<LineString> lineStrings;
+    private List<String> polylines;
+
+    @Setup
+    public void setup() throws IOException {
+        String featureCollection = BenchmarkData.featureCollection(1_000, 50, 0, BenchmarkData.KeyOrder.TYPE_FIRST);
+        lineStrings = new ObjectMapper().readValue(featureCollection, FeatureCollection.class).getFeatures().stream()
+                .map(feature -> LineString.of(((Polygon) feature.getGeometry()).getCoordinates().getExterior()))
+                .toList();
+        polylines = lineStrings.stream().map(EncodedPolyline.DEFAULT::encode).toList();
+    }
+
+    @Benchmark
+    public void encode(Blackhole blackhole) {
+        for (LineString lineString : lineStrings) {
+            builder.setLength(0);
+            blackhole.consume(EncodedPolyline.DEFAULT.encode(lineString.getCoordinates(), builder).length());
+        }
+    }
+
+    @Benchmark
+    public void decode(Blackhole blackhole) {
+        for (String polyline : polylines) {
+            blackhole.consume(EncodedPolyline.DEFAULT.decodeLineString(polyline));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(EncodedPolylineBenchmark.class.getSimpleName()).build()).run();
+    }
+}
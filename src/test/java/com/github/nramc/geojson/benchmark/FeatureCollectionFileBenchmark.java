@@ -0,0 +1,99 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.benchmark;
+
+import com.github.nramc.geojson.domain.Feature;
+import com.github.nramc.geojson.io.GeoJsonFeatureReader;
+import com.github.nramc.geojson.io.ParallelFeatureCollectionReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Compares reading the features of a FeatureCollection file sequentially with {@link GeoJsonFeatureReader}
+ * and in parallel with {@link ParallelFeatureCollectionReader} on the common pool.
+ * The speedup depends on the number of available cores.
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.github.nramc.geojson.benchmark.FeatureCollectionFileBenchmark}
+ * or directly from the IDE.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FeatureCollectionFileBenchmark {
+
+    private Path file;
+    private ParallelFeatureCollectionReader parallelReader;
+
+    @Setup
+    public void setup() throws IOException {
+        file = Files.createTempFile("features", ".geojson");
+        Files.writeString(file, BenchmarkData.featureCollection(20_000, 50, 10, BenchmarkData.KeyOrder.TYPE_FIRST));
+        parallelReader = ParallelFeatureCollectionReader.of();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public long sequential() throws IOException {
+        try (GeoJsonFeatureReader reader = GeoJsonFeatureReader.of(file); Stream<Feature> features = reader.stream()) {
+            return features.count();
+        }
+    }
+
+    @Benchmark
+    public long parallelOrdered() throws IOException {
+        try (Stream<Feature> features = parallelReader.read(file)) {
+            return features.count();
+        }
+    }
+
+    @Benchmark
+    public long parallelUnordered() throws IOException {
+        try (Stream<Feature> features = parallelReader.readUnordered(file)) {
+            return features.count();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(FeatureCollectionFileBenchmark.class.getSimpleName()).build()).run();
+    }
+}
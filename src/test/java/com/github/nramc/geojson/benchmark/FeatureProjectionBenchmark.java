@@ -0,0 +1,97 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.github.nramc.geojson.domain.FeatureCollection;
+import com.github.nramc.geojson.jackson.GeoJsonReadOptions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reading features with wide properties completely with reading only parts of them,
+ * by skipping the geometry, the properties or all property keys but one.
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.github.nramc.geojson.benchmark.FeatureProjectionBenchmark}
+ * or directly from the IDE, add {@code -prof gc} to the JMH arguments to compare allocations.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FeatureProjectionBenchmark {
+
+    private byte[] json;
+    private ObjectReader fullReader;
+    private ObjectReader skipGeometryReader;
+    private ObjectReader skipPropertiesReader;
+    private ObjectReader singlePropertyReader;
+
+    @Setup
+    public void setup() {
+        json = BenchmarkData.featureCollection(1_000, 50, 100, BenchmarkData.KeyOrder.TYPE_FIRST).getBytes(StandardCharsets.UTF_8);
+        ObjectReader reader = new ObjectMapper().readerFor(FeatureCollection.class);
+        fullReader = reader;
+        skipGeometryReader = GeoJsonReadOptions.DEFAULT.withSkipGeometry(true).applyTo(reader);
+        skipPropertiesReader = GeoJsonReadOptions.DEFAULT.withSkipProperties(true).applyTo(reader);
+        singlePropertyReader = GeoJsonReadOptions.DEFAULT.withSkipGeometry(true).withIncludedPropertyKeys(Set.of("attribute_42")).applyTo(reader);
+    }
+
+    @Benchmark
+    public FeatureCollection full() throws IOException {
+        return fullReader.readValue(json);
+    }
+
+    @Benchmark
+    public FeatureCollection skipGeometry() throws IOException {
+        return skipGeometryReader.readValue(json);
+    }
+
+    @Benchmark
+    public FeatureCollection skipProperties() throws IOException {
+        return skipPropertiesReader.readValue(json);
+    }
+
+    @Benchmark
+    public FeatureCollection singleProperty() throws IOException {
+        return singlePropertyReader.readValue(json);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(FeatureProjectionBenchmark.class.getSimpleName()).build()).run();
+    }
+}
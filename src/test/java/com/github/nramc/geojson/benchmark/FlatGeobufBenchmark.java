@@ -0,0 +1,131 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.nramc.geojson.domain.Feature;
+import com.github.nramc.geojson.domain.FeatureCollection;
+import com.github.nramc.geojson.domain.Polygon;
+import com.github.nramc.geojson.domain.Position;
+import com.github.nramc.geojson.flatgeobuf.FlatGeobufReader;
+import com.github.nramc.geojson.flatgeobuf.FlatGeobufWriter;
+import com.github.nramc.geojson.io.GeoJsonFeatureReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Compares a bounding box query of about 0.2% of the world against a FeatureCollection, by filtering all features
+ * of a GeoJSON file and by querying a FlatGeobuf file with and without its packed Hilbert R-tree.
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.github.nramc.geojson.benchmark.FlatGeobufBenchmark}
+ * or directly from the IDE.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FlatGeobufBenchmark {
+    private static final double MIN_X = 10.0;
+    private static final double MIN_Y = 40.0;
+    private static final double MAX_X = 20.0;
+    private static final double MAX_Y = 50.0;
+
+    private Path geoJsonFile;
+    private Path indexedFile;
+    private Path unindexedFile;
+    private FlatGeobufReader indexedReader;
+    private FlatGeobufReader unindexedReader;
+
+    @Setup
+    public void setup() throws IOException {
+        String json = BenchmarkData.featureCollection(20_000, 50, 10, BenchmarkData.KeyOrder.TYPE_FIRST);
+        FeatureCollection featureCollection = new ObjectMapper().readValue(json, FeatureCollection.class);
+        geoJsonFile = Files.createTempFile("features", ".geojson");
+        Files.writeString(geoJsonFile, json);
+        indexedFile = Files.createTempFile("features", ".fgb");
+        FlatGeobufWriter.DEFAULT.write(featureCollection, indexedFile);
+        unindexedFile = Files.createTempFile("features", ".fgb");
+        FlatGeobufWriter.DEFAULT.withIndexNodeSize(0).write(featureCollection, unindexedFile);
+        indexedReader = FlatGeobufReader.of(indexedFile);
+        unindexedReader = FlatGeobufReader.of(unindexedFile);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(geoJsonFile);
+        Files.deleteIfExists(indexedFile);
+        Files.deleteIfExists(unindexedFile);
+    }
+
+    @Benchmark
+    public List<Feature> geoJsonFilter() throws IOException {
+        try (GeoJsonFeatureReader reader = GeoJsonFeatureReader.of(geoJsonFile); Stream<Feature> features = reader.stream()) {
+            return features.filter(FlatGeobufBenchmark::intersects).toList();
+        }
+    }
+
+    @Benchmark
+    public List<Feature> flatGeobufScan() {
+        return unindexedReader.read(MIN_X, MIN_Y, MAX_X, MAX_Y).toList();
+    }
+
+    @Benchmark
+    public List<Feature> flatGeobufIndexed() {
+        return indexedReader.read(MIN_X, MIN_Y, MAX_X, MAX_Y).toList();
+    }
+
+    private static boolean intersects(Feature feature) {
+        List<Position> ring = ((Polygon) feature.getGeometry()).getCoordinates().getExterior();
+        double minX = Double.POSITIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        for (Position position : ring) {
+            minX = Math.min(minX, position.getLongitude());
+            minY = Math.min(minY, position.getLatitude());
+            maxX = Math.max(maxX, position.getLongitude());
+            maxY = Math.max(maxY, position.getLatitude());
+        }
+        return minX <= MAX_X && minY <= MAX_Y && maxX >= MIN_X && maxY >= MIN_Y;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(FlatGeobufBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.benchmark;
+
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.github.nramc.geojson.domain.FeatureCollection;
+import com.github.nramc.geojson.domain.GeoJson;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the single pass {@link com.github.nramc.geojson.jackson.GeoJsonDeserializer} with Jackson's
+ * {@code @JsonTypeInfo} based deserialization, for documents with {@code "type"} as first and as last member.
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.github.nramc.geojson.benchmark.GeoJsonDeserializationBenchmark}
+ * or directly from the IDE.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GeoJsonDeserializationBenchmark {
+
+    @Param({"TYPE_FIRST", "TYPE_LAST"})
+    public BenchmarkData.KeyOrder keyOrder;
+
+    private byte[] json;
+    private ObjectMapper singlePassObjectMapper;
+    private ObjectMapper typeInfoObjectMapper;
+
+    @Setup
+    public void setup() {
+        json = BenchmarkData.featureCollection(1_000, 50, 10, keyOrder).getBytes(StandardCharsets.UTF_8);
+        singlePassObjectMapper = new ObjectMapper();
+        typeInfoObjectMapper = new ObjectMapper().addMixIn(GeoJson.class, TypeInfoDeserialization.class);
+    }
+
+    @Benchmark
+    public FeatureCollection typeInfo() throws IOException {
+        return typeInfoObjectMapper.readValue(json, FeatureCollection.class);
+    }
+
+    @Benchmark
+    public FeatureCollection singlePass() throws IOException {
+        return singlePassObjectMapper.readValue(json, FeatureCollection.class);
+    }
+
+    /**
+     * Restores the annotation driven deserialization, i.e. {@code @JsonTypeInfo} with {@code @JsonCreator}.
+     */
+    @JsonDeserialize(using = JsonDeserializer.None.class)
+    abstract static class TypeInfoDeserialization {
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(GeoJsonDeserializationBenchmark.class.getSimpleName()).build()).run();
+    }
+}
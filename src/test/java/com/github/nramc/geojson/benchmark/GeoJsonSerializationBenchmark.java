@@ -0,0 +1,113 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.benchmark;
+
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.github.nramc.geojson.domain.CoordinateSequence;
+import com.github.nramc.geojson.domain.FeatureCollection;
+import com.github.nramc.geojson.domain.Position;
+import com.github.nramc.geojson.jackson.GeoJsonWriteOptions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares writing coordinates through the {@code @JsonValue double[]} of {@link Position}, with lines and rings
+ * written position by position, with the {@link com.github.nramc.geojson.jackson.PositionSerializer} and
+ * {@link com.github.nramc.geojson.jackson.CoordinateSequenceSerializer}, with full precision and with a fixed
+ * number of decimals.
+ * <p>
+ * Output is written to a null output stream so that only the serialization is measured.
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.github.nramc.geojson.benchmark.GeoJsonSerializationBenchmark}
+ * or directly from the IDE.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GeoJsonSerializationBenchmark {
+
+    private FeatureCollection featureCollection;
+    private ObjectWriter jsonValueWriter;
+    private ObjectWriter fullPrecisionWriter;
+    private ObjectWriter precision6Writer;
+    private ObjectWriter precision7Writer;
+
+    @Setup
+    public void setup() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        featureCollection = objectMapper.readValue(BenchmarkData.featureCollection(1_000, 50, 10, BenchmarkData.KeyOrder.TYPE_FIRST), FeatureCollection.class);
+        jsonValueWriter = new ObjectMapper().addMixIn(Position.class, JsonValueSerialization.class)
+                .addMixIn(CoordinateSequence.class, JsonValueSerialization.class).writer();
+        fullPrecisionWriter = objectMapper.writer();
+        precision6Writer = GeoJsonWriteOptions.DEFAULT.withCoordinatePrecision(6).applyTo(objectMapper.writer());
+        precision7Writer = GeoJsonWriteOptions.DEFAULT.withCoordinatePrecision(7).applyTo(objectMapper.writer());
+    }
+
+    @Benchmark
+    public void jsonValue() throws IOException {
+        jsonValueWriter.writeValue(OutputStream.nullOutputStream(), featureCollection);
+    }
+
+    @Benchmark
+    public void fullPrecision() throws IOException {
+        fullPrecisionWriter.writeValue(OutputStream.nullOutputStream(), featureCollection);
+    }
+
+    @Benchmark
+    public void precision6() throws IOException {
+        precision6Writer.writeValue(OutputStream.nullOutputStream(), featureCollection);
+    }
+
+    @Benchmark
+    public void precision7() throws IOException {
+        precision7Writer.writeValue(OutputStream.nullOutputStream(), featureCollection);
+    }
+
+    /**
+     * Restores the serialization through the {@code @JsonValue double[]} of {@link Position}, and of a
+     * {@link CoordinateSequence} as list of such positions.
+     */
+    @JsonSerialize(using = JsonSerializer.None.class)
+    abstract static class JsonValueSerialization {
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(GeoJsonSerializationBenchmark.class.getSimpleName()).addProfiler(GCProfiler.class).build()).run();
+    }
+}
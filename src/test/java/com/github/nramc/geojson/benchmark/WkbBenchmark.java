@@ -0,0 +1,127 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.nramc.geojson.domain.Feature;
+import com.github.nramc.geojson.domain.FeatureCollection;
+import com.github.nramc.geojson.domain.Geometry;
+import com.github.nramc.geojson.wkb.TwkbReader;
+import com.github.nramc.geojson.wkb.TwkbWriter;
+import com.github.nramc.geojson.wkb.WkbReader;
+import com.github.nramc.geojson.wkb.WkbWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares encoding and decoding polygons as Well-Known Binary and Tiny WKB with a round trip through GeoJSON text.
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.github.nramc.geojson.benchmark.WkbBenchmark}
+ * or directly from the IDE.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WkbBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private List<Geometry> geometries;
+    private List<byte[]> json;
+    private List<byte[]> wkb;
+    private List<byte[]> twkb;
+
+    @Setup
+    public void setup() throws IOException {
+        String featureCollection = BenchmarkData.featureCollection(1_000, 50, 0, BenchmarkData.KeyOrder.TYPE_FIRST);
+        geometries = objectMapper.readValue(featureCollection, FeatureCollection.class).getFeatures().stream().map(Feature::getGeometry).toList();
+        json = new ArrayList<>();
+        wkb = new ArrayList<>();
+        twkb = new ArrayList<>();
+        for (Geometry geometry : geometries) {
+            json.add(objectMapper.writeValueAsBytes(geometry));
+            wkb.add(WkbWriter.DEFAULT.write(geometry));
+            twkb.add(TwkbWriter.DEFAULT.write(geometry));
+        }
+    }
+
+    @Benchmark
+    public void writeJson(Blackhole blackhole) throws IOException {
+        for (Geometry geometry : geometries) {
+            blackhole.consume(objectMapper.writeValueAsBytes(geometry));
+        }
+    }
+
+    @Benchmark
+    public void readJson(Blackhole blackhole) throws IOException {
+        for (byte[] bytes : json) {
+            blackhole.consume(objectMapper.readValue(bytes, Geometry.class));
+        }
+    }
+
+    @Benchmark
+    public void writeWkb(Blackhole blackhole) {
+        for (Geometry geometry : geometries) {
+            blackhole.consume(WkbWriter.DEFAULT.write(geometry));
+        }
+    }
+
+    @Benchmark
+    public void readWkb(Blackhole blackhole) {
+        for (byte[] bytes : wkb) {
+            blackhole.consume(WkbReader.read(bytes));
+        }
+    }
+
+    @Benchmark
+    public void writeTwkb(Blackhole blackhole) {
+        for (Geometry geometry : geometries) {
+            blackhole.consume(TwkbWriter.DEFAULT.write(geometry));
+        }
+    }
+
+    @Benchmark
+    public void readTwkb(Blackhole blackhole) {
+        for (byte[] bytes : twkb) {
+            blackhole.consume(TwkbReader.read(bytes));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(WkbBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.nramc.geojson.domain.Feature;
+import com.github.nramc.geojson.domain.FeatureCollection;
+import com.github.nramc.geojson.domain.Geometry;
+import com.github.nramc.geojson.wkt.WktReader;
+import com.github.nramc.geojson.wkt.WktWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Measures writing polygons as Well-Known Text into a reused builder and reading them from character arrays,
+ * as when importing a CSV file. Full precision coordinates have up to 17 significant digits, rounded coordinates
+ * have 7 decimal places as most databases export them. The throughput in MB/s is the number of operations per
+ * second times the size of the text, see {@link #setup()}.
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.github.nramc.geojson.benchmark.WktBenchmark}
+ * or directly from the IDE.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WktBenchmark {
+    private static final Pattern FULL_PRECISION = Pattern.compile("-?\\d+\\.\\d+(E-?\\d+)?");
+
+    private final StringBuilder builder = new StringBuilder();
+    private List<Geometry> geometries;
+    private char[] fullPrecision;
+    private int[] fullPrecisionOffsets;
+    private char[] rounded;
+    private int[] roundedOffsets;
+
+    /**
+     * Prepares 1000 polygons of 50 vertices, about 1.9 MB of full precision and 1.2 MB of rounded text.
+     */
+    @Setup
+    public void setup() throws IOException {
+        String featureCollection = BenchmarkData.featureCollection(1_000, 50, 0, BenchmarkData.KeyOrder.TYPE_FIRST);
+        geometries = new ObjectMapper().readValue(featureCollection, FeatureCollection.class).getFeatures().stream().map(Feature::getGeometry).toList();
+        StringBuilder full = new StringBuilder();
+        StringBuilder round = new StringBuilder();
+        fullPrecisionOffsets = new int[geometries.size() + 1];
+        roundedOffsets = new int[geometries.size() + 1];
+        for (int i = 0; i < geometries.size(); i++) {
+            String wkt = WktWriter.DEFAULT.write(geometries.get(i));
+            full.append(wkt);
+            fullPrecisionOffsets[i + 1] = full.length();
+            Matcher matcher = FULL_PRECISION.matcher(wkt);
+            while (matcher.find()) {
+                matcher.appendReplacement(round, String.format(java.util.Locale.ROOT, "%.7f", Double.parseDouble(matcher.group())));
+            }
+            matcher.appendTail(round);
+            roundedOffsets[i + 1] = round.length();
+        }
+        fullPrecision = full.toString().toCharArray();
+        rounded = round.toString().toCharArray();
+    }
+
+    @Benchmark
+    public void write(Blackhole blackhole) {
+        for (Geometry geometry : geometries) {
+            builder.setLength(0);
+            blackhole.consume(WktWriter.DEFAULT.write(geometry, builder).length());
+        }
+    }
+
+    @Benchmark
+    public void readFullPrecision(Blackhole blackhole) {
+        read(fullPrecision, fullPrecisionOffsets, blackhole);
+    }
+
+    @Benchmark
+    public void readRounded(Blackhole blackhole) {
+        read(rounded, roundedOffsets, blackhole);
+    }
+
+    private static void read(char[] characters, int[] offsets, Blackhole blackhole) {
+        for (int i = 0; i < offsets.length - 1; i++) {
+            blackhole.consume(WktReader.read(characters, offsets[i], offsets[i + 1] - offsets[i]));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(WktBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.columnar;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.Serializable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BooleanColumnTest {
+    private static final BooleanColumn COLUMN = (BooleanColumn) PropertyColumn.of("open", new Serializable[]{true, null, false, true});
+
+    @Test
+    void select_shouldReturnRowsWithValue() {
+        assertThat(COLUMN.select(true).stream().toArray()).containsExactly(0, 3);
+        assertThat(COLUMN.select(false).stream().toArray()).as("null rows never match").containsExactly(2);
+    }
+
+    @Test
+    void getBoolean_shouldReturnValue() {
+        assertThat(COLUMN.getBoolean(0)).isTrue();
+        assertThat(COLUMN.getBoolean(1)).isFalse();
+        assertThat(COLUMN.get(1)).isNull();
+        assertThat(COLUMN.get(2)).isEqualTo(false);
+        assertThrows(IndexOutOfBoundsException.class, () -> COLUMN.getBoolean(4));
+    }
+
+    @Test
+    void toString_shouldContainNameAndNulls() {
+        assertThat(COLUMN).hasToString("BooleanColumn{name=open, size=4, nulls=1}");
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.columnar;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.nramc.geojson.domain.Feature;
+import com.github.nramc.geojson.domain.FeatureCollection;
+import com.github.nramc.geojson.domain.GeometryCollection;
+import com.github.nramc.geojson.domain.LineString;
+import com.github.nramc.geojson.domain.Point;
+import com.github.nramc.geojson.domain.Polygon;
+import com.github.nramc.geojson.domain.PolygonCoordinates;
+import com.github.nramc.geojson.domain.Position;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ColumnarFeatureCollectionTest {
+    private static final List<Position> RING = List.of(Position.of(100.0, 0.0), Position.of(101.0, 0.0), Position.of(101.0, 1.0), Position.of(100.0, 1.0), Position.of(100.0, 0.0));
+    private static final FeatureCollection FEATURES = FeatureCollection.of(
+            Feature.of("1", Point.of(100.0, 0.0), Map.of("name", "Dinagat Islands", "area", 12.5, "rank", 1, "open", true)),
+            Feature.of("2", Polygon.of(PolygonCoordinates.of(RING)), Map.of("name", "Siargao", "area", 7.25, "tags", new ArrayList<>(List.of("surf")))),
+            Feature.of(null, LineString.of(Position.of(101.0, 0.0), Position.of(102.0, 1.0)), Map.of("name", "Dinagat Islands", "rank", 3, "open", false))
+    );
+
+    @Test
+    void of_shouldSplitFeaturesIntoColumns() {
+        ColumnarFeatureCollection columns = ColumnarFeatureCollection.of(FEATURES);
+
+        assertThat(columns.size()).isEqualTo(3);
+        assertThat(columns.getId(0)).isEqualTo("1");
+        assertThat(columns.getId(2)).isNull();
+        assertThat(columns.getPropertyNames()).containsExactlyInAnyOrder("name", "area", "rank", "open", "tags");
+        assertThat(columns.getColumn("name")).isInstanceOf(StringColumn.class);
+        assertThat(columns.getColumn("area")).isInstanceOf(DoubleColumn.class);
+        assertThat(columns.getColumn("rank")).isInstanceOf(LongColumn.class);
+        assertThat(columns.getColumn("open")).isInstanceOf(BooleanColumn.class);
+        assertThat(columns.getColumn("tags")).isInstanceOf(ObjectColumn.class);
+        assertThat(columns.getColumn("unknown")).isNull();
+        assertThat(columns.getGeometries().getType(1)).isEqualTo("Polygon");
+    }
+
+    @Test
+    void toFeatureCollection_shouldRestoreEqualFeatures() {
+        ColumnarFeatureCollection columns = ColumnarFeatureCollection.of(FEATURES);
+
+        assertThat(columns.toFeatureCollection()).isEqualTo(FEATURES);
+        assertThat(columns.getFeature(2)).isEqualTo(FEATURES.getFeatures().get(2));
+        assertThat(columns.getFeature(0).getProperty("rank")).isInstanceOf(Integer.class);
+    }
+
+    @Test
+    void toFeatureCollection_withoutFeatures_shouldBeEmpty() {
+        ColumnarFeatureCollection columns = ColumnarFeatureCollection.of(new FeatureCollection("FeatureCollection", List.of()));
+
+        assertThat(columns.size()).isZero();
+        assertThat(columns.getPropertyNames()).isEmpty();
+        assertThat(columns.toFeatureCollection().getFeatures()).isEmpty();
+    }
+
+    @Test
+    void toFeatureCollection_withParsedFeatures_shouldRestoreEqualFeatures() throws Exception {
+        FeatureCollection parsed = new ObjectMapper().readValue("""
+                {"type":"FeatureCollection","features":[
+                {"type":"Feature","id":"a","geometry":{"type":"MultiPolygon","coordinates":[[[[0,0],[1,0],[1,1],[0,0]],[[0.2,0.1],[0.8,0.1],[0.8,0.7],[0.2,0.1]]],[[[5,5],[6,5],[6,6],[5,5]]]]},
+                 "properties":{"height":12.5,"count":4000000000,"nested":{"key":"value"}}},
+                {"type":"Feature","id":"b","geometry":{"type":"Point","coordinates":[3,4,5]},"properties":{"height":3.0,"count":1}},
+                {"type":"Feature","id":"c","geometry":{"type":"GeometryCollection","geometries":[{"type":"Point","coordinates":[7,8]}]},"properties":{}}
+                ]}""", FeatureCollection.class);
+
+        ColumnarFeatureCollection columns = ColumnarFeatureCollection.of(parsed);
+
+        assertThat(columns.toFeatureCollection()).isEqualTo(parsed);
+        assertThat(columns.getColumn("count")).isInstanceOf(LongColumn.class);
+        assertThat(columns.getGeometries().getBoundingBox(1)).containsExactly(3.0, 4.0, 3.0, 4.0);
+        assertThat(columns.getGeometries().getType(2)).isEqualTo("GeometryCollection");
+    }
+
+    @Test
+    void of_withParsedMixedNumbers_shouldCreateTypedColumns() throws Exception {
+        FeatureCollection parsed = new ObjectMapper().readValue("""
+                {"type":"FeatureCollection","features":[
+                {"type":"Feature","id":"a","geometry":{"type":"Point","coordinates":[1,2]},"properties":{"area":12,"osm_id":4000000000}},
+                {"type":"Feature","id":"b","geometry":{"type":"Point","coordinates":[3,4]},"properties":{"area":12.5,"osm_id":17}},
+                {"type":"Feature","id":"c","geometry":{"type":"Point","coordinates":[5,6]},"properties":{"area":5000000000,"osm_id":-3}}
+                ]}""", FeatureCollection.class);
+
+        ColumnarFeatureCollection columns = ColumnarFeatureCollection.of(parsed);
+
+        assertThat(columns.getDoubleColumn("area").select(12.0, 13.0).stream().toArray()).containsExactly(0, 1);
+        assertThat(columns.getLongColumn("osm_id").select(0, Long.MAX_VALUE).stream().toArray()).containsExactly(0, 1);
+        assertThat(columns.getFeature(0).getProperty("area")).isInstanceOf(Integer.class);
+        assertThat(columns.getFeature(2).getProperty("area")).isInstanceOf(Long.class);
+        assertThat(columns.getFeature(1).getProperty("osm_id")).isInstanceOf(Integer.class);
+        assertThat(columns.toFeatureCollection()).isEqualTo(parsed);
+    }
+
+    @Test
+    void getColumn_whenTypeDiffers_shouldThrowError() {
+        ColumnarFeatureCollection columns = ColumnarFeatureCollection.of(FEATURES);
+
+        assertThat(columns.getStringColumn("name").getString(1)).isEqualTo("Siargao");
+        assertThat(columns.getLongColumn("rank").getLong(2)).isEqualTo(3L);
+        assertThat(columns.getBooleanColumn("open").getBoolean(0)).isTrue();
+        assertThat(columns.getDoubleColumn("area").getDouble(1)).isEqualTo(7.25);
+        assertThrows(IllegalArgumentException.class, () -> columns.getDoubleColumn("name"));
+        assertThrows(IllegalArgumentException.class, () -> columns.getStringColumn("unknown"));
+    }
+
+    @Test
+    void select_shouldCombineColumnScans() {
+        ColumnarFeatureCollection columns = ColumnarFeatureCollection.of(FEATURES);
+
+        BitSet rows = columns.getStringColumn("name").select("Dinagat Islands");
+        rows.and(columns.getGeometries().selectIntersecting(100.5, -1.0, 110.0, 1.0));
+
+        assertThat(rows.stream().mapToObj(columns::getFeature)).containsExactly(FEATURES.getFeatures().get(2));
+    }
+
+    @Test
+    void serialize_shouldKeepColumns() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+            output.writeObject(ColumnarFeatureCollection.of(FEATURES));
+        }
+        try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertThat(((ColumnarFeatureCollection) input.readObject()).toFeatureCollection()).isEqualTo(FEATURES);
+        }
+    }
+
+    @Test
+    void toString_shouldContainSizeAndProperties() {
+        ColumnarFeatureCollection columns = ColumnarFeatureCollection.of(FeatureCollection.of(
+                Feature.of("1", GeometryCollection.of(Point.of(1.0, 2.0)), Map.of("name", "a"))));
+        assertThat(columns).hasToString("ColumnarFeatureCollection{features=1, properties=[name]}");
+    }
+}
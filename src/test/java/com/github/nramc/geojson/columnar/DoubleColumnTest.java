@@ -0,0 +1,69 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.columnar;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.Serializable;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DoubleColumnTest {
+    private static final DoubleColumn COLUMN = (DoubleColumn) PropertyColumn.of("area", new Serializable[]{2.5, null, -1.0, 7.25, null});
+
+    @Test
+    void sum_shouldAddValuesWithoutNulls() {
+        assertThat(COLUMN.sum()).isEqualTo(8.75);
+        assertThat(COLUMN.getDouble(1)).isZero();
+        assertThat(COLUMN.getDouble(3)).isEqualTo(7.25);
+    }
+
+    @Test
+    void minAndMax_shouldIgnoreNulls() {
+        DoubleColumn negative = (DoubleColumn) PropertyColumn.of("area", new Serializable[]{null, -3.0, -2.0});
+
+        assertThat(COLUMN.min()).hasValue(-1.0);
+        assertThat(COLUMN.max()).hasValue(7.25);
+        assertThat(negative.max()).hasValue(-2.0);
+        assertThat(((DoubleColumn) PropertyColumn.of("area", new Serializable[]{null, 1.0})).min()).hasValue(1.0);
+    }
+
+    @Test
+    void select_shouldReturnRowsInRange() {
+        assertThat(COLUMN.select(0.0, 5.0).stream().toArray()).containsExactly(0);
+        assertThat(COLUMN.select(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY).stream().toArray()).containsExactly(0, 2, 3);
+        assertThat(COLUMN.select(-1.0, 0.0).stream().toArray()).as("null rows hold 0 but never match").containsExactly(2);
+    }
+
+    @Test
+    void select_withManyRows_shouldMatchEveryWord() {
+        DoubleColumn column = (DoubleColumn) PropertyColumn.of("x", IntStream.range(0, 1000).mapToObj(i -> (Serializable) (i / 10.0)).toArray(Serializable[]::new));
+
+        assertThat(column.select(6.3, 70.0).stream().toArray()).isEqualTo(IntStream.rangeClosed(63, 700).toArray());
+    }
+
+    @Test
+    void getDouble_whenIndexOutOfRange_shouldThrowError() {
+        assertThrows(IndexOutOfBoundsException.class, () -> COLUMN.getDouble(5));
+    }
+
+    @Test
+    void toString_shouldContainNameAndNulls() {
+        assertThat(COLUMN).hasToString("DoubleColumn{name=area, size=5, nulls=2}");
+    }
+}
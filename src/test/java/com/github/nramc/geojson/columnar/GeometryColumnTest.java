@@ -0,0 +1,109 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.columnar;
+
+import com.github.nramc.geojson.domain.CoordinateSequence;
+import com.github.nramc.geojson.domain.Geometry;
+import com.github.nramc.geojson.domain.GeometryCollection;
+import com.github.nramc.geojson.domain.LineString;
+import com.github.nramc.geojson.domain.MultiLineString;
+import com.github.nramc.geojson.domain.MultiPoint;
+import com.github.nramc.geojson.domain.MultiPolygon;
+import com.github.nramc.geojson.domain.Point;
+import com.github.nramc.geojson.domain.Polygon;
+import com.github.nramc.geojson.domain.PolygonCoordinates;
+import com.github.nramc.geojson.domain.Position;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GeometryColumnTest {
+    private static final List<Position> RING = List.of(Position.of(100.0, 0.0), Position.of(101.0, 0.0), Position.of(101.0, 1.0), Position.of(100.0, 1.0), Position.of(100.0, 0.0));
+    private static final List<Position> HOLE = List.of(Position.of(100.2, 0.2), Position.of(100.8, 0.2), Position.of(100.8, 0.8), Position.of(100.2, 0.2));
+    private static final List<Position> OTHER_RING = List.of(Position.of(102.0, 2.0), Position.of(103.0, 2.0), Position.of(103.0, 3.0), Position.of(102.0, 3.0), Position.of(102.0, 2.0));
+
+    @Test
+    void getGeometry_shouldRestoreEveryType() {
+        List<Geometry> geometries = List.of(
+                Point.of(100.0, 0.0),
+                Point.of(100.0, 0.0, 42.0),
+                LineString.of(Position.of(100.0, 0.0), Position.of(101.0, 1.0)),
+                Polygon.of(PolygonCoordinates.of(RING, HOLE)),
+                MultiPoint.of(Position.of(100.0, 0.0, 1.0), Position.of(101.0, 1.0, 2.0)),
+                MultiLineString.of(List.of(Position.of(100.0, 0.0), Position.of(101.0, 1.0)), List.of(Position.of(102.0, 2.0), Position.of(103.0, 3.0))),
+                MultiPolygon.of(PolygonCoordinates.of(RING, HOLE), PolygonCoordinates.of(OTHER_RING)),
+                GeometryCollection.of(Point.of(100.0, 0.0), LineString.of(Position.of(101.0, 0.0), Position.of(102.0, 1.0)))
+        );
+
+        GeometryColumn column = GeometryColumn.of(geometries);
+
+        assertThat(column.size()).isEqualTo(geometries.size());
+        assertThat(IntStream.range(0, column.size()).mapToObj(column::getGeometry).toList()).isEqualTo(geometries);
+        assertThat(IntStream.range(0, column.size()).mapToObj(column::getType).toList()).containsExactly(
+                "Point", "Point", "LineString", "Polygon", "MultiPoint", "MultiLineString", "MultiPolygon", "GeometryCollection");
+        assertThat(((LineString) column.getGeometry(2)).getCoordinates()).isInstanceOf(CoordinateSequence.class);
+        assertThat(column.getCoordinateCount()).isEqualTo(2 + 3 + 4 + 18 + 6 + 8 + 28);
+    }
+
+    @Test
+    void getGeometry_whenGeometryDoesNotFitColumns_shouldKeepIt() {
+        LineString mixed = new LineString("LineString", List.of(Position.of(1.0, 2.0), Position.of(1.0, 2.0, 3.0)));
+        LineString withNull = new LineString("LineString", Arrays.asList(Position.of(1.0, 2.0), null));
+        LineString empty = new LineString("LineString", List.of());
+
+        GeometryColumn column = GeometryColumn.of(Arrays.asList(mixed, null, withNull, empty, Point.of(5.0, 6.0)));
+
+        assertThat(column.getGeometry(0)).isSameAs(mixed);
+        assertThat(column.getGeometry(1)).isNull();
+        assertThat(column.getGeometry(2)).isSameAs(withNull);
+        assertThat(column.getGeometry(3)).isEqualTo(empty);
+        assertThat(column.getGeometry(4)).isEqualTo(Point.of(5.0, 6.0));
+        assertThat(column.getBoundingBox(0)).containsExactly(1.0, 2.0, 1.0, 2.0);
+        assertThat(column.getBoundingBox(1)).containsOnly(Double.NaN);
+        assertThat(column.getBoundingBox(3)).containsOnly(Double.NaN);
+        assertThat(column.getCoordinateCount()).isEqualTo(2);
+    }
+
+    @Test
+    void selectIntersecting_shouldScanBoundingBoxes() {
+        GeometryColumn column = GeometryColumn.of(IntStream.range(0, 200)
+                .<Geometry>mapToObj(i -> LineString.of(Position.of(i / 2.0, 0.0), Position.of(i / 2.0 + 0.25, 1.0)))
+                .toList());
+
+        assertThat(column.getBoundingBox(10)).containsExactly(5.0, 0.0, 5.25, 1.0);
+        assertThat(column.selectIntersecting(49.875, 0.5, 65.0, 2.0).stream().toArray())
+                .isEqualTo(IntStream.rangeClosed(100, 130).toArray());
+        assertThat(column.selectIntersecting(0.0, 5.0, 100.0, 6.0).isEmpty()).isTrue();
+    }
+
+    @Test
+    void getGeometry_whenIndexOutOfRange_shouldThrowError() {
+        GeometryColumn column = GeometryColumn.of(List.of(Point.of(1.0, 2.0)));
+        assertThrows(IndexOutOfBoundsException.class, () -> column.getGeometry(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> column.getType(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> column.getBoundingBox(1));
+    }
+
+    @Test
+    void toString_shouldContainSizeAndCoordinates() {
+        assertThat(GeometryColumn.of(List.of(Point.of(1.0, 2.0)))).hasToString("GeometryColumn{size=1, coordinates=2}");
+    }
+}
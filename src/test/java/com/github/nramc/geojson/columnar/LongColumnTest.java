@@ -0,0 +1,68 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.columnar;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.Serializable;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LongColumnTest {
+    private static final LongColumn COLUMN = (LongColumn) PropertyColumn.of("population", new Serializable[]{5_000_000_000L, null, -3L, 12L});
+
+    @Test
+    void sum_shouldAddValuesWithoutNulls() {
+        assertThat(COLUMN.sum()).isEqualTo(5_000_000_009L);
+        assertThat(COLUMN.getLong(1)).isZero();
+    }
+
+    @Test
+    void minAndMax_shouldIgnoreNulls() {
+        assertThat(COLUMN.min()).hasValue(-3L);
+        assertThat(COLUMN.max()).hasValue(5_000_000_000L);
+    }
+
+    @Test
+    void get_withIntegers_shouldRestoreIntegers() {
+        LongColumn column = (LongColumn) PropertyColumn.of("rank", new Serializable[]{1, null, Integer.MIN_VALUE});
+
+        assertThat(column.get(0)).isEqualTo(1);
+        assertThat(column.get(2)).isEqualTo(Integer.MIN_VALUE);
+        assertThat(COLUMN.get(3)).isEqualTo(12L);
+    }
+
+    @Test
+    void select_shouldReturnRowsInRange() {
+        LongColumn column = (LongColumn) PropertyColumn.of("x", IntStream.range(0, 1000).mapToObj(i -> (Serializable) i).toArray(Serializable[]::new));
+
+        assertThat(COLUMN.select(-10L, 12L).stream().toArray()).containsExactly(2, 3);
+        assertThat(COLUMN.select(0L, 0L).isEmpty()).isTrue();
+        assertThat(column.select(64L, 127L).stream().toArray()).isEqualTo(IntStream.rangeClosed(64, 127).toArray());
+    }
+
+    @Test
+    void getLong_whenIndexOutOfRange_shouldThrowError() {
+        assertThrows(IndexOutOfBoundsException.class, () -> COLUMN.getLong(-1));
+    }
+
+    @Test
+    void toString_shouldContainNameAndNulls() {
+        assertThat(COLUMN).hasToString("LongColumn{name=population, size=4, nulls=1}");
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.columnar;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PropertyColumnTest {
+
+    @Test
+    void of_shouldChooseColumnOfValueTypes() {
+        assertThat(PropertyColumn.of("a", new Serializable[]{1.5, null, 2.0})).isInstanceOf(DoubleColumn.class);
+        assertThat(PropertyColumn.of("a", new Serializable[]{1, 2})).isInstanceOf(LongColumn.class);
+        assertThat(PropertyColumn.of("a", new Serializable[]{1L, null})).isInstanceOf(LongColumn.class);
+        assertThat(PropertyColumn.of("a", new Serializable[]{true, false})).isInstanceOf(BooleanColumn.class);
+        assertThat(PropertyColumn.of("a", new Serializable[]{"x", "y"})).isInstanceOf(StringColumn.class);
+        assertThat(PropertyColumn.of("a", new Serializable[]{1, 2L})).isInstanceOf(LongColumn.class);
+        assertThat(PropertyColumn.of("a", new Serializable[]{1.0, 2, 3L})).isInstanceOf(DoubleColumn.class);
+        assertThat(PropertyColumn.of("a", new Serializable[]{1.0, (1L << 53) + 1})).isInstanceOf(ObjectColumn.class);
+        assertThat(PropertyColumn.of("a", new Serializable[]{1.0, "2"})).isInstanceOf(ObjectColumn.class);
+        assertThat(PropertyColumn.of("a", new Serializable[]{new BigDecimal("1.5")})).isInstanceOf(ObjectColumn.class);
+        assertThat(PropertyColumn.of("a", new Serializable[]{null, null})).isInstanceOf(ObjectColumn.class);
+    }
+
+    @Test
+    void get_shouldRestoreValuesWithOriginalTypes() {
+        List<Serializable[]> columns = List.of(
+                new Serializable[]{1.5, null, 2.0},
+                new Serializable[]{1, null, 3},
+                new Serializable[]{null, 5_000_000_000L, -1L},
+                new Serializable[]{1, null, 5_000_000_000L},
+                new Serializable[]{1.5, 2, null, -5_000_000_000L, 3.0},
+                new Serializable[]{2.5, Long.MAX_VALUE},
+                new Serializable[]{true, false, null},
+                new Serializable[]{"b", "a", "b"},
+                new Serializable[]{new ArrayList<>(List.of(1, 2)), "mixed", null}
+        );
+        for (Serializable[] values : columns) {
+            PropertyColumn column = PropertyColumn.of("name", values);
+            assertThat(column.size()).isEqualTo(values.length);
+            for (int i = 0; i < values.length; i++) {
+                assertThat(column.get(i)).isEqualTo(values[i]);
+                assertThat(column.isNull(i)).isEqualTo(values[i] == null);
+            }
+        }
+    }
+
+    @Test
+    void selectNotNull_shouldReturnRowsWithValue() {
+        PropertyColumn column = PropertyColumn.of("name", new Serializable[]{null, "a", null, "b"});
+
+        assertThat(column.getName()).isEqualTo("name");
+        assertThat(column.getNullCount()).isEqualTo(2);
+        assertThat(column.selectNotNull().stream().toArray()).containsExactly(1, 3);
+    }
+
+    @Test
+    void get_whenIndexOutOfRange_shouldThrowError() {
+        PropertyColumn column = PropertyColumn.of("name", new Serializable[]{new ArrayList<>()});
+        assertThrows(IndexOutOfBoundsException.class, () -> column.get(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> column.isNull(-1));
+    }
+
+    @Test
+    void toString_shouldContainNameAndNulls() {
+        assertThat(PropertyColumn.of("tags", new Serializable[]{null, new ArrayList<>()})).hasToString("ObjectColumn{name=tags, size=2, nulls=1}");
+    }
+}
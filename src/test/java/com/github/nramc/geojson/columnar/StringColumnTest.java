@@ -0,0 +1,56 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.columnar;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.Serializable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class StringColumnTest {
+    private static final StringColumn COLUMN = (StringColumn) PropertyColumn.of("landuse", new Serializable[]{"park", "forest", null, "park", "meadow"});
+
+    @Test
+    void getDictionary_shouldHoldSortedDistinctValues() {
+        assertThat(COLUMN.getDictionary()).containsExactly("forest", "meadow", "park");
+        assertThat(COLUMN.getCode(0)).isEqualTo(2);
+        assertThat(COLUMN.getCode(2)).isEqualTo(StringColumn.NULL_CODE);
+        assertThat(COLUMN.getString(1)).isEqualTo("forest");
+        assertThat(COLUMN.getString(2)).isNull();
+    }
+
+    @Test
+    void select_shouldCompareCodes() {
+        assertThat(COLUMN.select("park").stream().toArray()).containsExactly(0, 3);
+        assertThat(COLUMN.select("farmland").isEmpty()).isTrue();
+        assertThat(COLUMN.select("g", "p").stream().toArray()).containsExactly(4);
+        assertThat(COLUMN.select("forest", "meadow").stream().toArray()).containsExactly(1, 4);
+        assertThat(COLUMN.select("q", "z").isEmpty()).isTrue();
+    }
+
+    @Test
+    void select_whenValueNull_shouldThrowError() {
+        assertThrows(NullPointerException.class, () -> COLUMN.select(null));
+        assertThrows(IndexOutOfBoundsException.class, () -> COLUMN.getCode(5));
+    }
+
+    @Test
+    void toString_shouldContainDistinctValues() {
+        assertThat(COLUMN).hasToString("StringColumn{name=landuse, size=5, nulls=1, distinct=3}");
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.domain;
+
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static com.github.nramc.geojson.constant.GeoJsonType.LINE_STRING;
+import static com.github.nramc.geojson.constant.GeoJsonType.MULTI_LINE_STRING;
+import static com.github.nramc.geojson.constant.GeoJsonType.MULTI_POINT;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CoordinateSequenceTest {
+    private static final List<Position> RING = List.of(Position.of(100.0, 0.0), Position.of(101.0, 0.0), Position.of(101.0, 1.0), Position.of(100.0, 0.0));
+
+    @Test
+    void get_shouldProvidePositionOfGivenIndex() {
+        CoordinateSequence positions = CoordinateSequence.of(2, 100.0, 0.0, 101.0, 1.0, 102.0, 2.0);
+        assertThat(positions).hasSize(3)
+                .containsExactly(Position.of(100.0, 0.0), Position.of(101.0, 1.0), Position.of(102.0, 2.0));
+        assertThrows(IndexOutOfBoundsException.class, () -> positions.get(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> positions.get(-1));
+    }
+
+    @Test
+    void getOrdinate_shouldReadCoordinatesWithoutPositions() {
+        CoordinateSequence positions = CoordinateSequence.of(3, 100.0, 0.0, 10.0, 101.0, 1.0, 20.0);
+        assertThat(positions.getDimension()).isEqualTo(3);
+        assertThat(positions.getX(1)).isEqualTo(101.0);
+        assertThat(positions.getY(1)).isEqualTo(1.0);
+        assertThat(positions.getOrdinate(0, 2)).isEqualTo(10.0);
+        assertThat(positions.toCoordinateArray()).containsExactly(100.0, 0.0, 10.0, 101.0, 1.0, 20.0);
+        assertThrows(IndexOutOfBoundsException.class, () -> positions.getOrdinate(0, 3));
+        assertThrows(IndexOutOfBoundsException.class, () -> positions.getX(2));
+    }
+
+    @Test
+    void get_shouldNotExposeBackingArray() {
+        double[] values = {100.0, 0.0, 10.0};
+        CoordinateSequence positions = CoordinateSequence.of(3, values);
+        positions.getFirst().getCoordinates()[0] = 0.0;
+        positions.toCoordinateArray()[0] = 0.0;
+        values[0] = 0.0;
+        assertThat(positions.getFirst()).isEqualTo(Position.of(100.0, 0.0, 10.0));
+    }
+
+    @Test
+    void of_whenValuesInvalid_shouldThrowError() {
+        double[] values = {1.0, 2.0, 3.0};
+        assertThrows(IllegalArgumentException.class, () -> CoordinateSequence.of(2, values));
+        assertThrows(IllegalArgumentException.class, () -> CoordinateSequence.of(1, values));
+        assertThrows(IllegalArgumentException.class, () -> CoordinateSequence.of(4, 1.0, 2.0, 3.0, 4.0));
+        assertThrows(IndexOutOfBoundsException.class, () -> CoordinateSequence.of(3, values, 1, 4));
+        assertThat(CoordinateSequence.of(2, values, 1, 3)).containsExactly(new Position(new double[]{2.0, 3.0}));
+    }
+
+    @Test
+    void equals_shouldBeSameAsOtherListsOfPositions() {
+        CoordinateSequence positions = CoordinateSequence.of(2, 100.0, 0.0, 101.0, 1.0);
+        List<Position> expected = List.of(Position.of(100.0, 0.0), Position.of(101.0, 1.0));
+        assertThat(positions).isEqualTo(expected).hasSameHashCodeAs(expected);
+        assertThat(expected).isEqualTo(positions);
+        assertThat(positions).isEqualTo(CoordinateSequence.of(2, 100.0, 0.0, 101.0, 1.0))
+                .isNotEqualTo(CoordinateSequence.of(2, 100.0, 0.0, 101.0, 2.0))
+                .isNotEqualTo(CoordinateSequence.of(3, 100.0, 0.0, 101.0, 1.0, 2.0, 3.0));
+    }
+
+    @Test
+    void add_shouldNotBeSupported() {
+        CoordinateSequence positions = CoordinateSequence.of(2, 100.0, 0.0);
+        Position position = Position.of(101.0, 1.0);
+        assertThrows(UnsupportedOperationException.class, () -> positions.add(position));
+        assertThrows(UnsupportedOperationException.class, () -> positions.set(0, position));
+    }
+
+    @Test
+    void serialization_shouldBeSupportedAsPartOfGeometry() {
+        LineString lineString = new LineString(LINE_STRING, CoordinateSequence.of(2, 100.0, 0.0, 101.0, 1.0));
+        LineString result = SerializationUtils.roundtrip(lineString);
+        assertThat(result).isEqualTo(lineString);
+        assertThat(result.getCoordinates()).isInstanceOf(CoordinateSequence.class);
+        assertThat(SerializationUtils.roundtrip(CoordinateSequence.of(3, 1.0, 2.0, 3.0))).isEqualTo(CoordinateSequence.of(3, 1.0, 2.0, 3.0));
+    }
+
+    @Test
+    void ofSinglePrecision_shouldRoundToNearestFloat() {
+        CoordinateSequence positions = CoordinateSequence.ofSinglePrecision(3, 13.388860, 52.517037, 34.5);
+        assertThat(positions.isSinglePrecision()).isTrue();
+        assertThat(positions.getX(0)).isEqualTo((float) 13.388860);
+        assertThat(positions.getFirst()).isEqualTo(new Position(new double[]{(float) 13.388860, (float) 52.517037, 34.5}));
+        assertThat(positions.toSinglePrecision()).isSameAs(positions);
+        assertThat(CoordinateSequence.of(3, 13.388860, 52.517037, 34.5).toSinglePrecision()).isEqualTo(positions);
+        assertThrows(IllegalArgumentException.class, () -> CoordinateSequence.ofSinglePrecision(2, 1.0));
+    }
+
+    @Test
+    void ofSinglePrecision_shouldStayWithinDocumentedError() {
+        Random random = new Random(42);
+        double[] values = new double[200_000];
+        for (int i = 0; i < values.length; i += 2) {
+            values[i] = random.nextDouble(-180.0, 180.0);
+            values[i + 1] = random.nextDouble(-64.0, 64.0);
+        }
+        CoordinateSequence positions = CoordinateSequence.ofSinglePrecision(2, values);
+        for (int i = 0; i < positions.size(); i++) {
+            assertThat(Math.abs(positions.getX(i) - values[2 * i])).isLessThanOrEqualTo(0x1p-17);
+            assertThat(Math.abs(positions.getY(i) - values[2 * i + 1])).isLessThanOrEqualTo(0x1p-19);
+        }
+    }
+
+    @Test
+    void equals_withSinglePrecision_shouldCompareWidenedValues() {
+        CoordinateSequence floats = CoordinateSequence.ofSinglePrecision(2, 0.5, 1.5, Double.NaN, -0.0);
+        CoordinateSequence doubles = CoordinateSequence.of(2, 0.5, 1.5, Double.NaN, -0.0);
+        assertThat(floats).isEqualTo(doubles).hasSameHashCodeAs(doubles).isEqualTo(new ArrayList<>(doubles));
+        assertThat(doubles).isEqualTo(floats);
+        assertThat(floats).isNotEqualTo(CoordinateSequence.of(2, 0.5, 1.5, Double.NaN, 0.0));
+        assertThat(CoordinateSequence.ofSinglePrecision(2, 0.1, 0.2)).isNotEqualTo(CoordinateSequence.of(2, 0.1, 0.2));
+    }
+
+    @Test
+    void serialization_withSinglePrecision_shouldKeepFloats() {
+        LineString lineString = LineString.of(CoordinateSequence.copyOf(List.of(Position.of(100.1, 0.1), Position.of(101.1, 1.1))).toSinglePrecision());
+        LineString result = SerializationUtils.roundtrip(lineString);
+        assertThat(result).isEqualTo(lineString);
+        assertThat(result.getCoordinates()).isInstanceOfSatisfying(CoordinateSequence.class,
+                sequence -> assertThat(sequence.isSinglePrecision()).isTrue());
+        CoordinateSequence standalone = CoordinateSequence.ofSinglePrecision(2, 1.1, 2.2);
+        assertThat(SerializationUtils.roundtrip(standalone)).isEqualTo(standalone);
+    }
+
+    @Test
+    void copyOf_shouldPackPositions() {
+        assertThat(CoordinateSequence.copyOf(RING)).isEqualTo(RING).isNotSameAs(RING);
+        CoordinateSequence sequence = CoordinateSequence.of(2, 1.0, 2.0);
+        assertThat(CoordinateSequence.copyOf(sequence)).isSameAs(sequence);
+        assertThat(CoordinateSequence.copyOf(List.of())).isEmpty();
+        List<Position> mixed = List.of(Position.of(1.0, 2.0), Position.of(1.0, 2.0, 3.0));
+        assertThrows(IllegalArgumentException.class, () -> CoordinateSequence.copyOf(mixed));
+    }
+
+    @Test
+    void constructors_shouldPackPositionsOfSameDimension() {
+        List<Position> positions = new ArrayList<>(List.of(Position.of(100.0, 0.0, 1.0), Position.of(101.0, 1.0, 2.0)));
+        LineString lineString = new LineString(LINE_STRING, positions);
+        MultiPoint multiPoint = new MultiPoint(MULTI_POINT, positions);
+        MultiLineString multiLineString = new MultiLineString(MULTI_LINE_STRING, List.of(positions, RING));
+        PolygonCoordinates polygon = PolygonCoordinates.of(RING, RING);
+        positions.clear();
+
+        assertThat(lineString.getCoordinates()).isInstanceOf(CoordinateSequence.class).hasSize(2);
+        assertThat(((CoordinateSequence) lineString.getCoordinates()).getDimension()).isEqualTo(3);
+        assertThat(multiPoint.getCoordinates()).isInstanceOf(CoordinateSequence.class).hasSize(2);
+        assertThat(multiLineString.getCoordinates()).allSatisfy(line -> assertThat(line).isInstanceOf(CoordinateSequence.class));
+        assertThat(polygon.getExterior()).isInstanceOf(CoordinateSequence.class).isEqualTo(RING);
+        assertThat(polygon.getHoles()).singleElement().isInstanceOf(CoordinateSequence.class);
+        assertThat(polygon.isValid()).isTrue();
+        assertThrows(UnsupportedOperationException.class, () -> multiLineString.getCoordinates().add(RING));
+    }
+
+    @Test
+    void constructors_whenPositionsNotPackable_shouldKeepPositions() {
+        Position subclass = new Position(new double[]{1.0, 2.0}) {
+        };
+        List<List<Position>> lists = List.of(
+                List.of(Position.of(1.0, 2.0), Position.of(1.0, 2.0, 3.0)),
+                Arrays.asList(Position.of(1.0, 2.0), null),
+                List.of(Position.of(1.0, 2.0), new Position(null)),
+                List.of(new Position(new double[]{1.0}), new Position(new double[]{2.0})),
+                List.of(subclass, subclass),
+                List.of()
+        );
+        for (List<Position> positions : lists) {
+            LineString lineString = new LineString(LINE_STRING, positions);
+            assertThat(lineString.getCoordinates()).isNotInstanceOf(CoordinateSequence.class).isEqualTo(positions);
+        }
+        assertThat(new LineString(LINE_STRING, List.of(subclass, subclass)).getCoordinates().getFirst()).isSameAs(subclass);
+        assertThat(new LineString(LINE_STRING, List.of(new Position(), Position.of(1.0, 2.0))).isValid()).isFalse();
+    }
+}
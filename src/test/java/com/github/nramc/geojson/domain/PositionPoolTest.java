@@ -0,0 +1,154 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.domain;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PositionPoolTest {
+
+    @AfterEach
+    void removeDefault() {
+        PositionPool.setDefault(null);
+    }
+
+    @Test
+    void intern_shouldReturnFirstEqualPosition() {
+        PositionPool pool = PositionPool.create();
+        Position first = pool.intern(Position.of(13.3888, 52.517033));
+
+        assertThat(first).isEqualTo(Position.of(13.3888, 52.517033));
+        assertThat(pool.intern(Position.of(13.3888, 52.517033))).isSameAs(first);
+        assertThat(pool.intern(new double[]{0.0, 13.3888, 52.517033, 0.0}, 1, 3)).isSameAs(first);
+        assertThat(pool.intern(Position.of(13.3888, 52.517033, 0.0))).isNotSameAs(first);
+        assertThat(pool.size()).isEqualTo(2);
+    }
+
+    @Test
+    void intern_shouldCompareCoordinatesLikeEquals() {
+        PositionPool pool = PositionPool.create();
+
+        assertThat(pool.intern(Position.of(0.0, 0.0))).isNotSameAs(pool.intern(new Position(new double[]{-0.0, 0.0})));
+        Position nan = pool.intern(new Position(new double[]{Double.NaN, 1.0}));
+        assertThat(pool.intern(new double[]{Double.NaN, 1.0}, 0, 2)).isSameAs(nan);
+    }
+
+    @Test
+    void intern_whenPositionNotPoolable_shouldReturnItAsIs() {
+        PositionPool pool = PositionPool.create();
+        Position withoutCoordinates = new Position(null);
+        Position oneCoordinate = new Position(new double[]{1.0});
+        Position subclass = new Position(new double[]{1.0, 2.0}) {
+        };
+
+        assertThat(pool.intern((Position) null)).isNull();
+        assertThat(pool.intern(withoutCoordinates)).isSameAs(withoutCoordinates);
+        assertThat(pool.intern(oneCoordinate)).isSameAs(oneCoordinate);
+        assertThat(pool.intern(subclass)).isSameAs(subclass);
+        assertThat(pool.intern(new double[]{1.0, 2.0, 3.0, 4.0}, 0, 4).getCoordinates()).containsExactly(1.0, 2.0, 3.0, 4.0);
+        assertThat(pool.size()).isZero();
+    }
+
+    @Test
+    void intern_withManyPositions_shouldGrowTables() {
+        PositionPool pool = PositionPool.create();
+        List<Position> positions = IntStream.range(0, 100_000).mapToObj(i -> pool.intern(Position.of(i / 1000.0, i / 2000.0))).toList();
+
+        assertThat(pool.size()).isEqualTo(100_000);
+        assertThat(IntStream.range(0, 100_000).allMatch(i -> pool.intern(Position.of(i / 1000.0, i / 2000.0)) == positions.get(i))).isTrue();
+    }
+
+    @Test
+    void intern_fromManyThreads_shouldReturnOneInstancePerPosition() {
+        PositionPool pool = PositionPool.create(16);
+        Position[] results = new Position[200_000];
+        IntStream.range(0, results.length).parallel()
+                .forEach(i -> results[i] = pool.intern(new double[]{(i % 5000) / 100.0, 1.0}, 0, 2));
+
+        assertThat(pool.size()).isEqualTo(5000);
+        assertThat(IntStream.range(0, results.length).allMatch(i -> results[i] == results[i % 5000])).isTrue();
+        assertThat(results[4999]).isEqualTo(Position.of(49.99, 1.0));
+    }
+
+    @Test
+    void intern_whenCoordinatesModifiedAfterwards_shouldKeepPooledPosition() {
+        PositionPool pool = PositionPool.create();
+        double[] coordinates = {1.0, 2.0};
+        Position pooled = pool.intern(new Position(coordinates));
+        coordinates[0] = 3.0;
+
+        assertThat(pooled.getCoordinates()).containsExactly(1.0, 2.0);
+        assertThat(pool.intern(Position.of(1.0, 2.0))).isSameAs(pooled);
+        assertThat(pool.intern(Position.of(3.0, 2.0))).isNotSameAs(pooled);
+        assertThat(pool.size()).isEqualTo(2);
+    }
+
+    @Test
+    void setDefault_whenCoordinatesModifiedAfterwards_shouldKeepPooledPosition() {
+        PositionPool.setDefault(PositionPool.create());
+        double[] coordinates = {1.0, 2.0};
+        Position first = Position.of(coordinates);
+        coordinates[0] = 3.0;
+        Position second = Position.of(coordinates);
+
+        assertThat(first.getCoordinates()).containsExactly(1.0, 2.0);
+        assertThat(second.getCoordinates()).containsExactly(3.0, 2.0);
+        assertThat(Position.of(1.0, 2.0)).isSameAs(first);
+        assertThat(Position.of(3.0, 2.0)).isSameAs(second);
+    }
+
+    @Test
+    void clear_shouldRemovePooledPositions() {
+        PositionPool pool = PositionPool.create(1000);
+        Position first = pool.intern(Position.of(1.0, 2.0));
+        pool.clear();
+
+        assertThat(pool.size()).isZero();
+        assertThat(pool.intern(Position.of(1.0, 2.0))).isNotSameAs(first).isEqualTo(first);
+    }
+
+    @Test
+    void create_whenExpectedSizeNegative_shouldThrowError() {
+        assertThrows(IllegalArgumentException.class, () -> PositionPool.create(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> PositionPool.create().intern(new double[2], 1, 3));
+    }
+
+    @Test
+    void setDefault_shouldPoolPositionsOfFactories() {
+        assertThat(Position.of(1.0, 2.0)).isNotSameAs(Position.of(1.0, 2.0));
+
+        PositionPool.setDefault(PositionPool.create());
+
+        assertThat(PositionPool.getDefault()).isNotNull();
+        assertThat(Position.of(1.0, 2.0)).isSameAs(Position.of(new double[]{1.0, 2.0}));
+        assertThat(Position.of(1.0, 2.0, 3.0)).isSameAs(Position.of(1.0, 2.0, 3.0));
+        assertThat(Point.of(1.0, 2.0).getCoordinates()).isSameAs(Point.of(new Position(new double[]{1.0, 2.0})).getCoordinates());
+        assertThat(PositionPool.getDefault().size()).isEqualTo(2);
+    }
+
+    @Test
+    void toString_shouldContainSize() {
+        PositionPool pool = PositionPool.create();
+        pool.intern(Position.of(1.0, 2.0));
+        assertThat(pool).hasToString("PositionPool{size=1}");
+    }
+}
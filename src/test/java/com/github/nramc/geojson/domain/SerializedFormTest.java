@@ -0,0 +1,117 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.domain;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.nramc.geojson.jackson.GeoJsonReadOptions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SerializedFormTest {
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final List<Position> RING = List.of(Position.of(100.0, 0.0), Position.of(101.0, 0.0), Position.of(101.0, 1.0), Position.of(100.0, 1.0), Position.of(100.0, 0.0));
+    private static final List<Position> HOLE = List.of(Position.of(100.2, 0.2), Position.of(100.8, 0.2), Position.of(100.8, 0.8), Position.of(100.2, 0.2));
+
+    @Test
+    void serialize_shouldRoundTripEveryType() throws Exception {
+        List<Serializable> objects = List.of(
+                Position.of(100.0, 0.0, 42.0),
+                PolygonCoordinates.of(RING, HOLE),
+                Point.of(100.0, 0.0),
+                LineString.of(Position.of(100.0, 0.0), Position.of(101.0, 1.0)),
+                Polygon.of(PolygonCoordinates.of(RING, HOLE)),
+                MultiPoint.of(Position.of(100.0, 0.0, 1.0), Position.of(101.0, 1.0, 2.0)),
+                MultiLineString.of(List.of(Position.of(100.0, 0.0), Position.of(101.0, 1.0)), List.of(Position.of(102.0, 2.0), Position.of(103.0, 3.0))),
+                MultiPolygon.of(PolygonCoordinates.of(RING, HOLE), PolygonCoordinates.of(RING)),
+                GeometryCollection.of(Point.of(100.0, 0.0), LineString.of(Position.of(101.0, 0.0), Position.of(102.0, 1.0))),
+                Feature.of("1", Point.of(100.0, 0.0), Map.of("name", "Dinagat Islands", "rank", 1)),
+                FeatureCollection.of(Feature.of("1", Point.of(100.0, 0.0), Map.of()), Feature.of("2", Polygon.of(PolygonCoordinates.of(RING)), Map.of("key", "value")))
+        );
+        for (Serializable object : objects) {
+            assertThat(roundTrip(object)).isEqualTo(object).isNotSameAs(object).hasSameClassAs(object);
+        }
+    }
+
+    @Test
+    void serialize_withIncompleteObjects_shouldKeepThemAsIs() throws Exception {
+        List<Serializable> objects = List.of(
+                new Position(),
+                new Point("Point", null),
+                new Point("Invalid", Position.of(1.0, 2.0)),
+                new LineString("LineString", List.of(Position.of(1.0, 2.0), Position.of(1.0, 2.0, 3.0), new Position())),
+                new MultiLineString("MultiLineString", List.of()),
+                new GeometryCollection("GeometryCollection", List.of()),
+                new FeatureCollection("FeatureCollection", List.of())
+        );
+        for (Serializable object : objects) {
+            assertThat(roundTrip(object)).isEqualTo(object).hasSameClassAs(object);
+        }
+        Position withoutCoordinates = (Position) roundTrip(new Position(null));
+        assertThat(withoutCoordinates.getCoordinates()).isNull();
+        assertThat(((Polygon) roundTrip(new Polygon("Polygon", null))).getCoordinates()).isNull();
+        Feature feature = (Feature) roundTrip(new Feature("Feature", null, null, Map.of()));
+        assertThat(feature.getId()).isNull();
+        assertThat(feature.getGeometry()).isNull();
+        assertThat(feature.getProperties()).isEmpty();
+        assertThat(((MultiPolygon) roundTrip(new MultiPolygon("MultiPolygon", null))).getCoordinates()).isNull();
+        assertThat(((PolygonCoordinates) roundTrip(new PolygonCoordinates(List.of(), List.of()))).getExterior()).isNull();
+    }
+
+    @Test
+    void serialize_withLazyProperties_shouldKeepProperties() throws Exception {
+        Feature feature = GeoJsonReadOptions.DEFAULT.withLazyProperties(true).applyTo(objectMapper.readerFor(Feature.class)).readValue("""
+                {"type":"Feature","geometry":{"type":"Point","coordinates":[1.0,2.0]},"properties":{"name":"lazy","values":[1,2]}}""");
+
+        Feature result = (Feature) roundTrip(feature);
+        assertThat(result.getProperties()).isEqualTo(Map.of("name", "lazy", "values", List.of(1, 2)));
+        assertThat(result.getGeometry()).isEqualTo(Point.of(1.0, 2.0));
+    }
+
+    @Test
+    void serialize_shouldWriteCoordinatesPacked() throws Exception {
+        List<Position> positions = new ArrayList<>(IntStream.range(0, 1000).mapToObj(i -> Position.of(i / 10.0, i / 20.0)).toList());
+        byte[] bytes = serialize(LineString.of(positions));
+
+        assertThat(bytes.length).as("16 bytes per position plus a small header")
+                .isBetween(1000 * 16, 1000 * 16 + 200);
+    }
+
+    private static Object roundTrip(Serializable object) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(serialize(object)))) {
+            return input.readObject();
+        }
+    }
+
+    private static byte[] serialize(Serializable object) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+            output.writeObject(object);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,313 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.flatgeobuf;
+
+import com.github.nramc.geojson.domain.Feature;
+import com.github.nramc.geojson.domain.FeatureCollection;
+import com.github.nramc.geojson.domain.Geometry;
+import com.github.nramc.geojson.domain.GeometryCollection;
+import com.github.nramc.geojson.domain.LineString;
+import com.github.nramc.geojson.domain.MultiLineString;
+import com.github.nramc.geojson.domain.MultiPoint;
+import com.github.nramc.geojson.domain.MultiPolygon;
+import com.github.nramc.geojson.domain.Point;
+import com.github.nramc.geojson.domain.Polygon;
+import com.github.nramc.geojson.domain.PolygonCoordinates;
+import com.github.nramc.geojson.domain.Position;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FlatGeobufReaderTest {
+    private static final List<Position> RING = List.of(Position.of(100.0, 0.0), Position.of(101.0, 0.0), Position.of(101.0, 1.0), Position.of(100.0, 1.0), Position.of(100.0, 0.0));
+    private static final List<Position> HOLE = List.of(Position.of(100.2, 0.2), Position.of(100.8, 0.2), Position.of(100.8, 0.8), Position.of(100.2, 0.2));
+
+    /**
+     * A FlatGeobuf file assembled by hand from the {@code header.fbs} and {@code feature.fbs} schemas, independent of
+     * {@link FlatGeobufWriter}. Like the FlatBuffers builders of the reference implementation every vtable precedes
+     * its table, vectors and strings follow it and fields with default values, here the geometry type Unknown and
+     * the index node size 16, are omitted. It holds a Point with the properties name "a" and count 7 and a
+     * LineString with Z and name "b", indexed by a packed Hilbert R-tree.
+     */
+    private static final String SCHEMA_LAYOUT = ""
+            // magic bytes, version 3
+            + "6667620366676200"
+            // size prefix
+            + "e5000000"
+            // root table offset
+            + "24000000"
+            // Header vtable
+            + "1a00240010001400000020000000000000001800080000001c000000"
+            // padding
+            + "00000000"
+            // Header: features_count 2, name, envelope, columns, crs, has_z true
+            + "200000000000000002000000000000001400000020000000400000009000000001000000"
+            // name "fixture"
+            + "070000006669787475726500"
+            // padding
+            + "00000000"
+            // envelope [0.5, 1.5, 3.5, 4.5]
+            + "04000000000000000000e03f000000000000f83f0000000000000c400000000000001240"
+            // columns, 2 tables
+            + "02000000100000002c000000"
+            // Column vtable
+            + "08000c0004000800"
+            // Column: name, type String
+            + "08000000080000000b000000"
+            // column name "name"
+            + "040000006e616d6500"
+            // padding
+            + "00"
+            // Column vtable
+            + "08000c0004000800"
+            // padding
+            + "0000"
+            // Column: name, type Int
+            + "0a0000000800000005000000"
+            // column name "count"
+            + "05000000636f756e7400"
+            // Crs vtable
+            + "08000c0004000800"
+            // padding
+            + "0000"
+            // Crs: org, code 4326
+            + "0a00000008000000e6100000"
+            // crs org "EPSG"
+            + "040000004550534700"
+            // index root node: box of all features, first child node 1
+            + "000000000000e03f000000000000f83f0000000000000c4000000000000012400100000000000000"
+            // index leaf node: box of first feature at offset 0
+            + "000000000000f03f0000000000000040000000000000f03f00000000000000400000000000000000"
+            // index leaf node: box of second feature at offset 97
+            + "000000000000e03f000000000000f83f0000000000000c4000000000000012406100000000000000"
+            // size prefix
+            + "5d000000"
+            // root table offset
+            + "0c000000"
+            // first Feature vtable
+            + "08000c0004000800"
+            // first Feature: geometry, properties
+            + "080000001c00000038000000"
+            // Geometry vtable
+            + "12000c0000000400000000000000000008000000"
+            // Geometry: xy, type Point
+            + "140000000800000001000000"
+            // xy [1.0, 2.0]
+            + "02000000000000000000f03f0000000000000040"
+            // properties, column index and value of every property
+            + "0d00000000000100000061010007000000"
+            // size prefix
+            + "87000000"
+            // root table offset
+            + "0c000000"
+            // second Feature vtable
+            + "08000c0004000800"
+            // second Feature: geometry, properties
+            + "080000001c00000068000000"
+            // Geometry vtable
+            + "120010000000040008000000000000000c000000"
+            // Geometry: xy, z, type LineString
+            + "14000000100000003400000002000000"
+            // padding
+            + "00000000"
+            // xy [0.5, 1.5, 3.5, 4.5]
+            + "04000000000000000000e03f000000000000f83f0000000000000c400000000000001240"
+            // padding
+            + "00000000"
+            // z [10.0, 20.0]
+            + "0200000000000000000024400000000000003440"
+            // properties, column index and value of every property
+            + "0700000000000100000062";
+
+    @TempDir
+    Path directory;
+
+    static List<Geometry> geometries() {
+        return List.of(
+                Point.of(100.0, 0.0),
+                Point.of(100.0, 0.0, 42.0),
+                LineString.of(Position.of(100.0, 0.0), Position.of(101.0, 1.0)),
+                Polygon.of(PolygonCoordinates.of(RING)),
+                Polygon.of(PolygonCoordinates.of(RING, HOLE)),
+                MultiPoint.of(Position.of(100.0, 0.0, 1.0), Position.of(101.0, 1.0, 2.0)),
+                MultiLineString.of(List.of(Position.of(100.0, 0.0), Position.of(101.0, 1.0)), List.of(Position.of(102.0, 2.0), Position.of(103.0, 3.0))),
+                MultiPolygon.of(PolygonCoordinates.of(RING, HOLE), PolygonCoordinates.of(RING)),
+                GeometryCollection.of(Point.of(100.0, 0.0), LineString.of(Position.of(101.0, 0.0), Position.of(102.0, 1.0)),
+                        MultiPolygon.of(PolygonCoordinates.of(RING)))
+        );
+    }
+
+    @Test
+    void read_shouldRoundTripEveryGeometryType() throws IOException {
+        List<Feature> features = geometries().stream().map(geometry -> Feature.of(null, geometry, Map.of())).toList();
+        for (FlatGeobufWriter writer : new FlatGeobufWriter[]{FlatGeobufWriter.DEFAULT, FlatGeobufWriter.DEFAULT.withIndexNodeSize(0)}) {
+            Path path = directory.resolve("geometries.fgb");
+            writer.write(FeatureCollection.of(features), path);
+
+            List<Feature> result = FlatGeobufReader.of(path).read().toList();
+            assertThat(result).extracting(Feature::getGeometry).containsExactlyInAnyOrderElementsOf(geometries());
+            assertThat(result).allSatisfy(feature -> assertThat(feature.isValid()).isTrue());
+        }
+    }
+
+    @Test
+    void read_shouldRoundTripPropertyTypes() throws IOException {
+        Map<String, Serializable> properties = new LinkedHashMap<>();
+        properties.put("boolean", true);
+        properties.put("integer", 42);
+        properties.put("long", 1L << 40);
+        properties.put("float", 1.5f);
+        properties.put("double", 2.25);
+        properties.put("string", "Grüße");
+        properties.put("object", new LinkedHashMap<>(Map.of("key", "value")));
+        properties.put("array", new ArrayList<>(List.of(1, "two")));
+        Path path = directory.resolve("properties.fgb");
+        FlatGeobufWriter.DEFAULT.write(FeatureCollection.of(Feature.of("1", Point.of(1.0, 2.0), properties)), path);
+
+        Feature feature = FlatGeobufReader.of(path).read().findFirst().orElseThrow();
+        assertThat(feature.getProperties()).isEqualTo(properties);
+        assertThat(feature.getId()).isNull();
+    }
+
+    @Test
+    void read_withMissingProperties_shouldOnlyReadPresentValues() throws IOException {
+        Path path = directory.resolve("properties.fgb");
+        FlatGeobufWriter.DEFAULT.withIndexNodeSize(0).write(FeatureCollection.of(
+                Feature.of("1", Point.of(1.0, 2.0), Map.of("name", "first")),
+                Feature.of("2", Point.of(1.0, 2.0), Map.of("rank", 2)),
+                Feature.of("3", Point.of(1.0, 2.0), Map.of())
+        ), path);
+
+        assertThat(FlatGeobufReader.of(path).read()).extracting(Feature::getProperties)
+                .containsExactly(Map.of("name", "first"), Map.of("rank", 2), Map.of());
+    }
+
+    @Test
+    void read_withBoundingBox_shouldReturnIntersectingFeaturesOnly() throws IOException {
+        List<Feature> features = FlatGeobufWriterTest.features(2000);
+        Path indexed = directory.resolve("indexed.fgb");
+        Path unindexed = directory.resolve("unindexed.fgb");
+        FlatGeobufWriter.DEFAULT.write(FeatureCollection.of(features), indexed);
+        FlatGeobufWriter.DEFAULT.withIndexNodeSize(0).write(FeatureCollection.of(features), unindexed);
+        // small segments to read features and index nodes across segment boundaries
+        List<FlatGeobufReader> readers = List.of(FlatGeobufReader.of(indexed), FlatGeobufReader.of(indexed, 6),
+                FlatGeobufReader.of(unindexed), FlatGeobufReader.of(unindexed, 6));
+        assertThat(readers).extracting(FlatGeobufReader::isIndexed).containsExactly(true, true, false, false);
+
+        Random random = new Random(3);
+        for (int query = 0; query < 20; query++) {
+            double minX = random.nextDouble() * 340 - 170;
+            double minY = random.nextDouble() * 160 - 80;
+            double maxX = minX + random.nextDouble() * 30;
+            double maxY = minY + random.nextDouble() * 15;
+            List<Feature> expected = features.stream().filter(feature -> intersects(feature, minX, minY, maxX, maxY)).toList();
+            for (FlatGeobufReader reader : readers) {
+                assertThat(reader.read(minX, minY, maxX, maxY).toList()).containsExactlyInAnyOrderElementsOf(expected);
+            }
+        }
+    }
+
+    @Test
+    void read_withBoundingBoxCoveringEverything_shouldReturnAllFeaturesInFileOrder() throws IOException {
+        Path path = directory.resolve("features.fgb");
+        FlatGeobufWriter.DEFAULT.write(FeatureCollection.of(FlatGeobufWriterTest.features(500)), path);
+        FlatGeobufReader reader = FlatGeobufReader.of(path);
+
+        assertThat(reader.read(-180, -90, 180, 90).toList()).containsExactlyElementsOf(reader.read().toList()).hasSize(500);
+        assertThat(reader.read(0.0, 0.0, -1.0, -1.0)).isEmpty();
+    }
+
+    @Test
+    void header_shouldProvideCountAndEnvelope() throws IOException {
+        Path path = directory.resolve("features.fgb");
+        FlatGeobufWriter.DEFAULT.write(FeatureCollection.of(
+                Feature.of("1", Point.of(1.0, 2.0), Map.of()),
+                Feature.of("2", LineString.of(Position.of(-3.0, 4.0), Position.of(5.0, -6.0)), Map.of())
+        ), path);
+
+        FlatGeobufReader reader = FlatGeobufReader.of(path);
+        assertThat(reader.getFeaturesCount()).isEqualTo(2);
+        assertThat(reader.getEnvelope()).containsExactly(-3.0, -6.0, 5.0, 4.0);
+        assertThat(reader.isIndexed()).isTrue();
+    }
+
+    @Test
+    void read_withFeatureWithoutGeometry_shouldNeverMatchBoundingBox() throws IOException {
+        Path path = directory.resolve("features.fgb");
+        Feature withoutGeometry = new Feature("Feature", null, null, Map.of("name", "none"));
+        FlatGeobufWriter.DEFAULT.write(new FeatureCollection("FeatureCollection", List.of(withoutGeometry, Feature.of(null, Point.of(1.0, 2.0), Map.of()))), path);
+
+        FlatGeobufReader reader = FlatGeobufReader.of(path);
+        assertThat(reader.read()).extracting(Feature::getGeometry).containsExactlyInAnyOrder(null, Point.of(1.0, 2.0));
+        assertThat(reader.read(-180, -90, 180, 90)).extracting(Feature::getGeometry).containsExactly(Point.of(1.0, 2.0));
+    }
+
+    @Test
+    void of_withOtherContent_shouldThrowException() throws IOException {
+        Path path = directory.resolve("features.geojson");
+        Files.writeString(path, "{\"type\":\"FeatureCollection\",\"features\":[]}");
+        assertThrows(IOException.class, () -> FlatGeobufReader.of(path));
+        Files.write(path, new byte[3]);
+        assertThrows(IOException.class, () -> FlatGeobufReader.of(path));
+    }
+
+    @Test
+    void read_withFileAssembledFromSchema_shouldReadHeaderIndexAndFeatures() throws IOException {
+        Path path = Files.write(directory.resolve("schema.fgb"), HexFormat.of().parseHex(SCHEMA_LAYOUT));
+        FlatGeobufReader reader = FlatGeobufReader.of(path);
+        Feature point = Feature.of(null, Point.of(1.0, 2.0), Map.of("name", "a", "count", 7));
+        Feature lineString = Feature.of(null, LineString.of(Position.of(0.5, 1.5, 10.0), Position.of(3.5, 4.5, 20.0)), Map.of("name", "b"));
+
+        assertThat(reader.getFeaturesCount()).isEqualTo(2);
+        assertThat(reader.getEnvelope()).containsExactly(0.5, 1.5, 3.5, 4.5);
+        assertThat(reader.isIndexed()).isTrue();
+        assertThat(reader.read()).containsExactly(point, lineString);
+        assertThat(reader.read(3.0, 4.0, 5.0, 5.0)).containsExactly(lineString);
+    }
+
+    @Test
+    void of_withIndexNodeSizeOne_shouldThrowException() throws IOException {
+        Path path = Files.write(directory.resolve("features.fgb"), HexFormat.of().parseHex(""
+                // magic bytes, size prefix and root table offset
+                + "6667620366676200" + "30000000" + "1c000000"
+                // Header vtable: features_count at 8, index_node_size at 16
+                + "180014000000000000000000000000000000000008001000"
+                // Header: features_count 1, index_node_size 1
+                + "1800000000000000010000000000000001000000"));
+        assertThrows(IOException.class, () -> FlatGeobufReader.of(path));
+    }
+
+    private static boolean intersects(Feature feature, double minX, double minY, double maxX, double maxY) {
+        List<Position> ring = ((Polygon) feature.getGeometry()).getCoordinates().getExterior();
+        return ring.stream().mapToDouble(Position::getLongitude).min().orElseThrow() <= maxX
+                && ring.stream().mapToDouble(Position::getLatitude).min().orElseThrow() <= maxY
+                && ring.stream().mapToDouble(Position::getLongitude).max().orElseThrow() >= minX
+                && ring.stream().mapToDouble(Position::getLatitude).max().orElseThrow() >= minY;
+    }
+}
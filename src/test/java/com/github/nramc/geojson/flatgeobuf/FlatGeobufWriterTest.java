@@ -0,0 +1,187 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.flatgeobuf;
+
+import com.github.nramc.geojson.domain.Feature;
+import com.github.nramc.geojson.domain.FeatureCollection;
+import com.github.nramc.geojson.domain.Geometry;
+import com.github.nramc.geojson.domain.LineString;
+import com.github.nramc.geojson.domain.Point;
+import com.github.nramc.geojson.domain.Polygon;
+import com.github.nramc.geojson.domain.PolygonCoordinates;
+import com.github.nramc.geojson.domain.Position;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FlatGeobufWriterTest {
+    @TempDir
+    Path directory;
+
+    static List<Feature> features(int count) {
+        Random random = new Random(42);
+        List<Feature> features = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            double x = random.nextDouble() * 340 - 170;
+            double y = random.nextDouble() * 160 - 80;
+            double size = 0.01 + random.nextDouble() * 0.5;
+            Polygon polygon = Polygon.of(PolygonCoordinates.of(List.of(Position.of(x, y), Position.of(x + size, y),
+                    Position.of(x + size, y + size), Position.of(x, y + size), Position.of(x, y))));
+            features.add(Feature.of(null, polygon, Map.of("index", i, "name", "feature " + i)));
+        }
+        return features;
+    }
+
+    @Test
+    void withIndexNodeSize_shouldValidateRange() {
+        assertThat(FlatGeobufWriter.DEFAULT.getIndexNodeSize()).isEqualTo(16);
+        assertThat(FlatGeobufWriter.DEFAULT.withIndexNodeSize(0).getIndexNodeSize()).isZero();
+        assertThat(FlatGeobufWriter.DEFAULT.withIndexNodeSize(65535).getIndexNodeSize()).isEqualTo(65535);
+        assertThrows(IllegalArgumentException.class, () -> FlatGeobufWriter.DEFAULT.withIndexNodeSize(1));
+        assertThrows(IllegalArgumentException.class, () -> FlatGeobufWriter.DEFAULT.withIndexNodeSize(-1));
+        assertThrows(IllegalArgumentException.class, () -> FlatGeobufWriter.DEFAULT.withIndexNodeSize(65536));
+        assertThat(FlatGeobufWriter.DEFAULT).hasToString("FlatGeobufWriter{indexNodeSize=16}");
+        assertThat(FlatGeobufWriter.DEFAULT.withIndexNodeSize(4096)).hasToString("FlatGeobufWriter{indexNodeSize=4096}");
+    }
+
+    @Test
+    void write_shouldWriteMagicBytesAndHeader() throws IOException {
+        Path path = directory.resolve("features.fgb");
+        FlatGeobufWriter.DEFAULT.write(FeatureCollection.of(features(3)), path);
+
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path)).order(ByteOrder.LITTLE_ENDIAN);
+        assertThat(Arrays.copyOf(buffer.array(), 8)).containsExactly(0x66, 0x67, 0x62, 0x03, 0x66, 0x67, 0x62, 0x00);
+        FlatBufferTable header = FlatBufferTable.root(buffer.slice(12, buffer.getInt(8)).order(ByteOrder.LITTLE_ENDIAN), 0);
+        assertThat(header.getUnsignedByte(FlatGeobuf.HEADER_GEOMETRY_TYPE, -1)).isEqualTo(FlatGeobuf.POLYGON);
+        assertThat(header.getBoolean(FlatGeobuf.HEADER_HAS_Z)).isFalse();
+        assertThat(header.getLong(FlatGeobuf.HEADER_FEATURES_COUNT)).isEqualTo(3);
+        assertThat(header.getUnsignedShort(FlatGeobuf.HEADER_INDEX_NODE_SIZE, -1)).isEqualTo(16);
+        assertThat(header.vectorLength(FlatGeobuf.HEADER_ENVELOPE)).isEqualTo(4);
+        assertThat(header.getTable(FlatGeobuf.HEADER_CRS).getUnsignedShort(FlatGeobuf.CRS_CODE, 0)).isEqualTo(4326);
+        assertThat(header.vectorLength(FlatGeobuf.HEADER_COLUMNS)).isEqualTo(2);
+        assertThat(List.of(header.getTable(FlatGeobuf.HEADER_COLUMNS, 0), header.getTable(FlatGeobuf.HEADER_COLUMNS, 1)))
+                .extracting(column -> column.getString(FlatGeobuf.COLUMN_NAME) + ":" + column.getUnsignedByte(FlatGeobuf.COLUMN_TYPE, -1))
+                .containsExactlyInAnyOrder("index:" + FlatGeobuf.COLUMN_TYPE_INT, "name:" + FlatGeobuf.COLUMN_TYPE_STRING);
+    }
+
+    @Test
+    void write_shouldAlignEveryPartToEightBytes() throws IOException {
+        Path path = directory.resolve("features.fgb");
+        FlatGeobufWriter.DEFAULT.write(FeatureCollection.of(features(100)), path);
+
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path)).order(ByteOrder.LITTLE_ENDIAN);
+        long position = 8 + 4L + buffer.getInt(8);
+        assertThat(position % 8).isZero();
+        position += PackedRTree.size(100, 16);
+        int features = 0;
+        while (position < buffer.limit()) {
+            assertThat(position % 8).isZero();
+            position += 4 + buffer.getInt((int) position);
+            features++;
+        }
+        assertThat(features).isEqualTo(100);
+        assertThat(position).isEqualTo(buffer.limit());
+    }
+
+    @Test
+    void write_withIndex_shouldSortFeaturesAlongHilbertCurve() throws IOException {
+        List<Feature> features = features(100);
+        Path indexed = directory.resolve("indexed.fgb");
+        Path unindexed = directory.resolve("unindexed.fgb");
+        FlatGeobufWriter.DEFAULT.write(FeatureCollection.of(features), indexed);
+        FlatGeobufWriter.DEFAULT.withIndexNodeSize(0).write(FeatureCollection.of(features), unindexed);
+
+        assertThat(FlatGeobufReader.of(unindexed).read().map(feature -> feature.getProperty("index")))
+                .containsExactlyElementsOf(features.stream().map(feature -> feature.getProperty("index")).toList());
+        assertThat(FlatGeobufReader.of(indexed).read().map(feature -> feature.getProperty("index")))
+                .containsExactlyInAnyOrderElementsOf(features.stream().map(feature -> feature.getProperty("index")).toList())
+                .isNotEqualTo(features.stream().map(feature -> feature.getProperty("index")).toList());
+        assertThat(Files.size(indexed) - Files.size(unindexed)).isEqualTo(PackedRTree.size(100, 16));
+    }
+
+    @Test
+    void write_withMixedPropertyTypes_shouldWidenColumns() throws IOException {
+        Path path = directory.resolve("features.fgb");
+        Point point = Point.of(1.0, 2.0);
+        FlatGeobufWriter.DEFAULT.write(FeatureCollection.of(
+                Feature.of("1", point, Map.<String, Serializable>of("long", 1, "double", 1, "json", 1, "list", new ArrayList<>(List.of(1, 2)))),
+                Feature.of("2", point, Map.<String, Serializable>of("long", 2L, "double", 2.5, "json", "two"))
+        ), path);
+
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path)).order(ByteOrder.LITTLE_ENDIAN);
+        FlatBufferTable header = FlatBufferTable.root(buffer.slice(12, buffer.getInt(8)).order(ByteOrder.LITTLE_ENDIAN), 0);
+        List<String> columns = new ArrayList<>();
+        for (int i = 0; i < header.vectorLength(FlatGeobuf.HEADER_COLUMNS); i++) {
+            FlatBufferTable column = header.getTable(FlatGeobuf.HEADER_COLUMNS, i);
+            columns.add(column.getString(FlatGeobuf.COLUMN_NAME) + ":" + column.getUnsignedByte(FlatGeobuf.COLUMN_TYPE, -1));
+        }
+        assertThat(columns).containsExactlyInAnyOrder("long:" + FlatGeobuf.COLUMN_TYPE_LONG, "double:" + FlatGeobuf.COLUMN_TYPE_DOUBLE,
+                "json:" + FlatGeobuf.COLUMN_TYPE_JSON, "list:" + FlatGeobuf.COLUMN_TYPE_JSON);
+    }
+
+    @Test
+    void write_withDifferentGeometryTypes_shouldWriteUnknownHeaderTypeAndZ() throws IOException {
+        Path path = directory.resolve("features.fgb");
+        FlatGeobufWriter.DEFAULT.write(FeatureCollection.of(
+                Feature.of("1", Point.of(1.0, 2.0, 3.0), Map.of()),
+                Feature.of("2", LineString.of(Position.of(1.0, 2.0), Position.of(3.0, 4.0)), Map.of())
+        ), path);
+
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path)).order(ByteOrder.LITTLE_ENDIAN);
+        FlatBufferTable header = FlatBufferTable.root(buffer.slice(12, buffer.getInt(8)).order(ByteOrder.LITTLE_ENDIAN), 0);
+        assertThat(header.getUnsignedByte(FlatGeobuf.HEADER_GEOMETRY_TYPE, -1)).isEqualTo(FlatGeobuf.UNKNOWN);
+        assertThat(header.getBoolean(FlatGeobuf.HEADER_HAS_Z)).isTrue();
+        assertThat(header.has(FlatGeobuf.HEADER_COLUMNS)).isFalse();
+    }
+
+    @Test
+    void write_whenPositionHasNoCoordinates_shouldThrowError() {
+        Path path = directory.resolve("features.fgb");
+        List<Geometry> geometries = List.of(new Point("Point", new Position(null)),
+                new LineString("LineString", Arrays.asList(Position.of(1.0, 2.0), new Position(null))));
+        for (Geometry geometry : geometries) {
+            FeatureCollection features = new FeatureCollection("FeatureCollection", List.of(new Feature("Feature", "1", geometry, Map.of())));
+            assertThrows(IllegalArgumentException.class, () -> FlatGeobufWriter.DEFAULT.write(features, path));
+        }
+    }
+
+    @Test
+    void write_withEmptyFeatureCollection_shouldWriteHeaderOnly() throws IOException {
+        Path path = directory.resolve("empty.fgb");
+        FlatGeobufWriter.DEFAULT.write(FeatureCollection.of(List.of()), path);
+
+        FlatGeobufReader reader = FlatGeobufReader.of(path);
+        assertThat(reader.getFeaturesCount()).isZero();
+        assertThat(reader.getEnvelope()).isNull();
+        assertThat(reader.isIndexed()).isFalse();
+        assertThat(reader.read()).isEmpty();
+        assertThat(reader.read(-180, -90, 180, 90)).isEmpty();
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.flatgeobuf;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PackedRTreeTest {
+
+    @Test
+    void levelBounds_shouldMatchReferenceImplementation() {
+        assertThat(PackedRTree.levelBounds(1, 16)).isDeepEqualTo(new long[][]{{1, 2}, {0, 1}});
+        assertThat(PackedRTree.levelBounds(100, 16)).isDeepEqualTo(new long[][]{{8, 108}, {1, 8}, {0, 1}});
+        assertThat(PackedRTree.levelBounds(256, 16)).isDeepEqualTo(new long[][]{{17, 273}, {1, 17}, {0, 1}});
+        assertThat(PackedRTree.size(100, 16)).isEqualTo(108L * PackedRTree.NODE_ITEM_SIZE);
+        assertThat(PackedRTree.size(100, 0)).isZero();
+        assertThat(PackedRTree.size(0, 16)).isZero();
+        assertThrows(IllegalArgumentException.class, () -> PackedRTree.levelBounds(10, 1));
+    }
+
+    @Test
+    void hilbert_shouldVisitEveryCellOnce() {
+        int side = 1 << 16;
+        int cells = 64;
+        int step = side / cells;
+        long[] values = IntStream.range(0, cells * cells)
+                .mapToLong(i -> PackedRTree.hilbert(i % cells * step, i / cells * step))
+                .sorted().toArray();
+        assertThat(Arrays.stream(values).distinct().count()).isEqualTo(cells * cells);
+        assertThat(PackedRTree.hilbert(0, 0)).isZero();
+        assertThat(PackedRTree.hilbert(side - 1, 0)).isEqualTo((1L << 32) - 1);
+    }
+
+    @Test
+    void hilbertOrder_shouldKeepNeighboursClose() {
+        double[] boxes = {0, 0, 1, 1, 9, 9, 10, 10, 0, 1, 1, 2, 9, 8, 10, 9};
+        int[] order = PackedRTree.hilbertOrder(boxes, new double[]{0, 0, 10, 10});
+        assertThat(order).hasSize(4);
+        int first = indexOf(order, 0);
+        assertThat(Math.abs(first - indexOf(order, 2))).isEqualTo(1);
+        assertThat(Math.abs(indexOf(order, 1) - indexOf(order, 3))).isEqualTo(1);
+    }
+
+    @Test
+    void search_shouldReturnSameOffsetsAsLinearScan() throws IOException {
+        Random random = new Random(7);
+        int items = 1000;
+        double[] boxes = new double[items * 4];
+        long[] offsets = new long[items];
+        for (int i = 0; i < items; i++) {
+            double x = random.nextDouble() * 360 - 180;
+            double y = random.nextDouble() * 180 - 90;
+            double[] box = {x, y, x + random.nextDouble(), y + random.nextDouble()};
+            System.arraycopy(box, 0, boxes, i * 4, 4);
+            offsets[i] = i * 100L;
+        }
+        Arrays.fill(boxes, 4 * 10, 4 * 11, Double.NaN);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        PackedRTree.write(boxes, offsets, 16, output);
+        byte[] bytes = output.toByteArray();
+        assertThat(bytes).hasSize((int) PackedRTree.size(items, 16));
+        MappedFile file = new MappedFile(new ByteBuffer[]{ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN)}, 30, bytes.length);
+
+        for (int query = 0; query < 50; query++) {
+            double minX = random.nextDouble() * 360 - 180;
+            double minY = random.nextDouble() * 180 - 90;
+            double maxX = minX + random.nextDouble() * 40;
+            double maxY = minY + random.nextDouble() * 20;
+            long[] expected = IntStream.range(0, items)
+                    .filter(i -> boxes[i * 4] <= maxX && boxes[i * 4 + 1] <= maxY && boxes[i * 4 + 2] >= minX && boxes[i * 4 + 3] >= minY)
+                    .mapToLong(i -> offsets[i]).toArray();
+            assertThat(PackedRTree.search(file, 0, items, 16, minX, minY, maxX, maxY)).containsExactly(expected);
+        }
+        assertThat(PackedRTree.search(file, 0, items, 16, -180, -90, 180, 90)).hasSize(items - 1);
+    }
+
+    private static int indexOf(int[] values, int value) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.io;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ChunkTasksTest {
+    private static ForkJoinPool pool;
+
+    @BeforeAll
+    static void setUp() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        pool.shutdown();
+    }
+
+    private static List<Callable<Integer>> tasks(int count) {
+        return IntStream.range(0, count).<Callable<Integer>>mapToObj(i -> () -> {
+            Thread.sleep((count - i) % 5);
+            return i;
+        }).toList();
+    }
+
+    private static List<Integer> consume(ChunkTasks<Integer> chunkTasks) {
+        List<Integer> results = new ArrayList<>();
+        chunkTasks.forEachRemaining(results::add);
+        return results;
+    }
+
+    @Test
+    void next_whenOrdered_shouldProvideResultsInTaskOrder() {
+        ChunkTasks<Integer> chunkTasks = new ChunkTasks<>(tasks(50).iterator(), pool, 4, true);
+        assertThat(consume(chunkTasks)).isEqualTo(IntStream.range(0, 50).boxed().toList());
+        assertThrows(NoSuchElementException.class, chunkTasks::next);
+    }
+
+    @Test
+    void next_whenUnordered_shouldProvideAllResults() {
+        ChunkTasks<Integer> chunkTasks = new ChunkTasks<>(tasks(50).iterator(), pool, 4, false);
+        assertThat(consume(chunkTasks)).containsExactlyInAnyOrderElementsOf(IntStream.range(0, 50).boxed().toList());
+    }
+
+    @Test
+    void hasNext_shouldSubmitAtMostMaxInFlightTasks() {
+        AtomicInteger submitted = new AtomicInteger();
+        List<Callable<Integer>> tasks = IntStream.range(0, 10).<Callable<Integer>>mapToObj(i -> () -> i).toList();
+        ChunkTasks<Integer> chunkTasks = new ChunkTasks<>(tasks.stream().peek(task -> submitted.incrementAndGet()).iterator(), pool, 3, true);
+        assertThat(chunkTasks.hasNext()).isTrue();
+        assertThat(submitted).hasValue(3);
+        assertThat(chunkTasks.next()).isZero();
+        assertThat(chunkTasks.hasNext()).isTrue();
+        assertThat(submitted).hasValue(4);
+    }
+
+    @Test
+    void next_whenTaskFails_shouldRethrowAndCancelRemainingTasks() {
+        List<Callable<Integer>> tasks = List.of(() -> 0, () -> {
+            throw new IOException("invalid chunk");
+        }, () -> 2);
+        ChunkTasks<Integer> chunkTasks = new ChunkTasks<>(tasks.iterator(), pool, 3, true);
+        assertThat(chunkTasks.next()).isZero();
+        UncheckedIOException exception = assertThrows(UncheckedIOException.class, chunkTasks::next);
+        assertThat(exception).hasRootCauseMessage("invalid chunk");
+        assertThat(chunkTasks.hasNext()).isFalse();
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.io;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.nramc.geojson.domain.Feature;
+import com.github.nramc.geojson.domain.FeatureCollection;
+import com.github.nramc.geojson.domain.Point;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FeatureCollectionWriterTest {
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static Stream<Feature> features(int count) {
+        return IntStream.range(0, count).mapToObj(i -> Feature.of("ID_" + i, Point.of(i % 180, i % 90), Map.of("index", i)));
+    }
+
+    @Test
+    void writeAll_withStream_shouldWriteFeatureCollection() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (FeatureCollectionWriter writer = FeatureCollectionWriter.of(outputStream)) {
+            writer.writeAll(features(3));
+        }
+        FeatureCollection featureCollection = objectMapper.readValue(outputStream.toByteArray(), FeatureCollection.class);
+        assertThat(featureCollection.getFeatures()).isEqualTo(features(3).toList());
+        assertThat(featureCollection.isValid()).isTrue();
+    }
+
+    @Test
+    void writeAll_withIterator_shouldKeepOrder() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (FeatureCollectionWriter writer = new FeatureCollectionWriter(objectMapper, outputStream)) {
+            writer.writeAll(features(10).iterator());
+            writer.write(Feature.of("ID_LAST", Point.of(100.0, 0.0), Map.of()));
+        }
+        assertThat(objectMapper.readValue(outputStream.toByteArray(), FeatureCollection.class).getFeatures())
+                .extracting(Feature::getId).hasSize(11).startsWith("ID_0", "ID_1").endsWith("ID_9", "ID_LAST");
+    }
+
+    @Test
+    void close_withoutFeatures_shouldWriteEmptyFeatureCollection() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        FeatureCollectionWriter writer = FeatureCollectionWriter.of(outputStream);
+        writer.close();
+        writer.close();
+        assertThat(outputStream.toString(StandardCharsets.UTF_8)).isEqualTo("""
+                {"type":"FeatureCollection","features":[]}""");
+    }
+
+    @Test
+    void write_shouldFlushEveryFlushInterval() throws IOException {
+        List<Integer> flushedSizes = new ArrayList<>();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream() {
+            @Override
+            public void flush() {
+                flushedSizes.add(size());
+            }
+        };
+        try (FeatureCollectionWriter writer = new FeatureCollectionWriter(objectMapper.writer(), outputStream, 10)) {
+            writer.writeAll(features(25));
+            assertThat(flushedSizes).hasSize(2);
+            writer.flush();
+            assertThat(flushedSizes).hasSize(3);
+        }
+    }
+
+    @Test
+    void writeAll_withIndentOutput_shouldWriteValidFeatureCollection() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ObjectMapper indentingObjectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        try (FeatureCollectionWriter writer = new FeatureCollectionWriter(indentingObjectMapper, outputStream)) {
+            writer.writeAll(features(2));
+        }
+        assertThat(outputStream.toString(StandardCharsets.UTF_8)).contains(System.lineSeparator());
+        assertThat(objectMapper.readValue(outputStream.toByteArray(), FeatureCollection.class).getFeatures()).hasSize(2);
+    }
+
+    @Test
+    void of_withPath_shouldBeReadableByFeatureReader(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("features.geojson");
+        try (FeatureCollectionWriter writer = FeatureCollectionWriter.of(file)) {
+            writer.writeAll(features(100));
+        }
+        try (GeoJsonFeatureReader reader = GeoJsonFeatureReader.of(file)) {
+            assertThat(reader.stream().toList()).isEqualTo(features(100).toList());
+        }
+    }
+
+    @Test
+    void close_shouldCloseUnderlyingOutputStream() throws IOException {
+        List<String> events = new ArrayList<>();
+        OutputStream outputStream = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                events.add("closed");
+            }
+        };
+        FeatureCollectionWriter writer = FeatureCollectionWriter.of(outputStream);
+        writer.close();
+        assertThat(events).containsExactly("closed");
+    }
+}
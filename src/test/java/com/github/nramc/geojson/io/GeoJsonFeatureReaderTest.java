@@ -0,0 +1,159 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.io;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.github.nramc.geojson.domain.Feature;
+import com.github.nramc.geojson.domain.LineString;
+import com.github.nramc.geojson.domain.Point;
+import com.github.nramc.geojson.domain.Polygon;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.CharConversionException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GeoJsonFeatureReaderTest {
+    private static final String FEATURE_COLLECTION_JSON = """
+            {
+              "type": "FeatureCollection",
+              "bbox": [100.0, 0.0, 102.0, 1.0],
+              "features": [
+                {"id": "ID_001", "type": "Feature", "properties": {"name": "Olympic Park"}, "geometry": {"type": "Point", "coordinates": [100.0, 0.0]}},
+                {"id": "ID_002", "type": "Feature", "properties": {"name": "English garden"}, "geometry": {"type": "LineString", "coordinates": [[101.0, 0.0], [102.0, 1.0]]}},
+                {"id": "ID_003", "type": "Feature", "properties": {"name": "Hirschgarten"}, "geometry": {"type": "Polygon", "coordinates": [[[100.0, 0.0], [101.0, 0.0], [101.0, 1.0], [100.0, 1.0], [100.0, 0.0]]]}}
+              ]
+            }""";
+
+    private static InputStream toInputStream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void stream_shouldProvideFeaturesInDocumentOrder() throws IOException {
+        try (GeoJsonFeatureReader reader = GeoJsonFeatureReader.of(toInputStream(FEATURE_COLLECTION_JSON));
+             Stream<Feature> features = reader.stream()) {
+            List<Feature> result = features.toList();
+            assertThat(result).hasSize(3)
+                    .extracting(Feature::getId).containsExactly("ID_001", "ID_002", "ID_003");
+            assertThat(result).extracting(Feature::getGeometry)
+                    .hasExactlyElementsOfTypes(Point.class, LineString.class, Polygon.class);
+            assertThat(result).allSatisfy(feature -> assertThat(feature.isValid()).isTrue());
+        }
+    }
+
+    @Test
+    void iterator_whenFeaturesAppearBeforeType_shouldProvideFeatures() throws IOException {
+        String json = """
+                {"features": [{"type": "Feature", "id": "ID_001", "properties": {}, "geometry": {"type": "Point", "coordinates": [100.0, 0.0]}}], "type": "FeatureCollection"}""";
+        try (GeoJsonFeatureReader reader = new GeoJsonFeatureReader(new ObjectMapper(), toInputStream(json))) {
+            assertThat(reader.hasNext()).isTrue();
+            assertThat(reader.next()).extracting(Feature::getId).isEqualTo("ID_001");
+            assertThat(reader.hasNext()).isFalse();
+            assertThrows(NoSuchElementException.class, reader::next);
+        }
+    }
+
+    @Test
+    void of_withPath_shouldReadFeaturesFromFile(@TempDir Path directory) throws IOException {
+        Path file = Files.writeString(directory.resolve("features.geojson"), FEATURE_COLLECTION_JSON);
+        try (GeoJsonFeatureReader reader = GeoJsonFeatureReader.of(file)) {
+            assertThat(reader.stream().count()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    void of_withPathWhenEncodingUnsupported_shouldThrowError(@TempDir Path directory) throws IOException {
+        Path file = Files.write(directory.resolve("features.geojson"), new byte[]{0, 0, (byte) 0xFF, (byte) 0xFE, 0, 0, 0, '{'});
+        assertThrows(CharConversionException.class, () -> GeoJsonFeatureReader.of(file));
+    }
+
+    @Test
+    void stream_withEmptyFeatures_shouldBeEmpty() throws IOException {
+        try (GeoJsonFeatureReader reader = GeoJsonFeatureReader.of(toInputStream("""
+                {"type": "FeatureCollection", "features": []}"""))) {
+            assertThat(reader.stream()).isEmpty();
+        }
+    }
+
+    @Test
+    void hasNext_whenTypeIsNotFeatureCollection_shouldThrowError() throws IOException {
+        try (GeoJsonFeatureReader reader = GeoJsonFeatureReader.of(toInputStream("""
+                {"type": "Feature", "features": []}"""))) {
+            assertThrows(UncheckedIOException.class, reader::hasNext);
+        }
+    }
+
+    @Test
+    void hasNext_whenFeaturesContainsNonObject_shouldThrowError() throws IOException {
+        try (GeoJsonFeatureReader reader = GeoJsonFeatureReader.of(toInputStream("""
+                {"type": "FeatureCollection", "features": [42]}"""))) {
+            assertThrows(UncheckedIOException.class, reader::hasNext);
+        }
+    }
+
+    @Test
+    void hasNext_whenFeaturesContainsNull_shouldThrowError() throws IOException {
+        try (GeoJsonFeatureReader reader = GeoJsonFeatureReader.of(toInputStream("""
+                {"type": "FeatureCollection", "features": [{"type": "Feature", "properties": {}, "geometry": null}, null]}"""))) {
+            assertThat(reader.hasNext()).isTrue();
+            reader.next();
+            assertThrows(UncheckedIOException.class, reader::hasNext);
+        }
+    }
+
+    @Test
+    void hasNext_whenFeaturesIsNotArray_shouldThrowError() throws IOException {
+        for (String features : List.of("null", "{}", "\"features\"")) {
+            try (GeoJsonFeatureReader reader = GeoJsonFeatureReader.of(toInputStream("""
+                    {"type": "FeatureCollection", "features": %s}""".formatted(features)))) {
+                UncheckedIOException exception = assertThrows(UncheckedIOException.class, reader::hasNext);
+                assertThat(exception.getCause()).isInstanceOf(MismatchedInputException.class);
+            }
+        }
+    }
+
+    @Test
+    void close_shouldCloseUnderlyingInputStream() throws IOException {
+        AtomicBoolean closed = new AtomicBoolean();
+        InputStream inputStream = new ByteArrayInputStream(FEATURE_COLLECTION_JSON.getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public void close() throws IOException {
+                closed.set(true);
+                super.close();
+            }
+        };
+        GeoJsonFeatureReader reader = GeoJsonFeatureReader.of(inputStream);
+        try (Stream<Feature> features = reader.stream()) {
+            assertThat(features.findFirst()).isPresent();
+        }
+        assertThat(closed).isTrue();
+    }
+}
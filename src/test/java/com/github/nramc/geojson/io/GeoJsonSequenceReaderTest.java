@@ -0,0 +1,121 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.io;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.nramc.geojson.domain.Feature;
+import com.github.nramc.geojson.domain.GeoJson;
+import com.github.nramc.geojson.domain.Geometry;
+import com.github.nramc.geojson.domain.LineString;
+import com.github.nramc.geojson.domain.Point;
+import com.github.nramc.geojson.domain.Position;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GeoJsonSequenceReaderTest {
+
+    private static InputStream toInputStream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void stream_withNdjson_shouldProvideFeaturesInOrder() throws IOException {
+        String content = """
+                {"type": "Feature", "id": "ID_001", "properties": {}, "geometry": {"type": "Point", "coordinates": [100.0, 0.0]}}
+
+                {"type": "Feature", "id": "ID_002", "properties": {}, "geometry": {"type": "LineString", "coordinates": [[101.0, 0.0], [102.0, 1.0]]}}\r
+                {"type": "Feature", "id": "ID_003", "properties": {}, "geometry": null}""";
+        try (GeoJsonSequenceReader<Feature> reader = GeoJsonSequenceReader.of(toInputStream(content), GeoJsonSequenceFormat.NDJSON, Feature.class);
+             Stream<Feature> features = reader.stream()) {
+            List<Feature> result = features.toList();
+            assertThat(result).extracting(Feature::getId).containsExactly("ID_001", "ID_002", "ID_003");
+            assertThat(result.get(1).getGeometry()).isInstanceOf(LineString.class);
+        }
+    }
+
+    @Test
+    void stream_withRfc8142_shouldProvideGeometriesSpanningMultipleLines() throws IOException {
+        String content = """
+                \u001E{"type": "Point", "coordinates": [100.0, 0.0]}
+                \u001E{
+                  "type": "LineString",
+                  "coordinates": [[101.0, 0.0], [102.0, 1.0]]
+                }
+                \u001E
+                """;
+        try (GeoJsonSequenceReader<Geometry> reader = GeoJsonSequenceReader.of(toInputStream(content), GeoJsonSequenceFormat.RFC_8142, Geometry.class)) {
+            assertThat(reader.stream().toList()).containsExactly(
+                    Point.of(100.0, 0.0),
+                    LineString.of(List.of(Position.of(101.0, 0.0), Position.of(102.0, 1.0))));
+        }
+    }
+
+    @Test
+    void next_whenRecordsExceedBuffer_shouldReadCompleteRecords() throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            content.append("{\"type\": \"Feature\", \"id\": \"ID_").append(i).append("\", \"properties\": {\"description\": \"")
+                    .append("x".repeat(i % 100)).append("\"}, \"geometry\": {\"type\": \"Point\", \"coordinates\": [100.0, 0.0]}}\n");
+        }
+        try (GeoJsonSequenceReader<GeoJson> reader = new GeoJsonSequenceReader<>(new ObjectMapper().reader(), toInputStream(content.toString()), GeoJsonSequenceFormat.NDJSON, GeoJson.class)) {
+            for (int i = 0; i < 2000; i++) {
+                assertThat(reader.next()).isInstanceOf(Feature.class).extracting(geoJson -> ((Feature) geoJson).getId()).isEqualTo("ID_" + i);
+            }
+            assertThat(reader.hasNext()).isFalse();
+            assertThrows(NoSuchElementException.class, reader::next);
+        }
+    }
+
+    @Test
+    void of_withPath_shouldReadRecordsFromFile(@TempDir Path directory) throws IOException {
+        Path file = Files.writeString(directory.resolve("points.geojsonl"), """
+                {"type": "Point", "coordinates": [100.0, 0.0]}
+                {"type": "Point", "coordinates": [101.0, 1.0]}
+                """);
+        try (GeoJsonSequenceReader<Point> reader = GeoJsonSequenceReader.of(file, GeoJsonSequenceFormat.NDJSON, Point.class)) {
+            assertThat(reader.stream().toList()).containsExactly(Point.of(100.0, 0.0), Point.of(101.0, 1.0));
+        }
+    }
+
+    @Test
+    void hasNext_whenRecordIsNotOfExpectedType_shouldThrowError() throws IOException {
+        try (GeoJsonSequenceReader<Point> reader = GeoJsonSequenceReader.of(toInputStream("""
+                {"type": "LineString", "coordinates": [[101.0, 0.0], [102.0, 1.0]]}"""), GeoJsonSequenceFormat.NDJSON, Point.class)) {
+            assertThrows(UncheckedIOException.class, reader::hasNext);
+        }
+    }
+
+    @Test
+    void stream_withEmptyInput_shouldBeEmpty() throws IOException {
+        try (GeoJsonSequenceReader<Feature> reader = GeoJsonSequenceReader.of(toInputStream(""), GeoJsonSequenceFormat.RFC_8142, Feature.class)) {
+            assertThat(reader.stream()).isEmpty();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.io;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.nramc.geojson.domain.Feature;
+import com.github.nramc.geojson.domain.Geometry;
+import com.github.nramc.geojson.domain.Point;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GeoJsonSequenceWriterTest {
+    private static final List<Feature> FEATURES = List.of(
+            Feature.of("ID_001", Point.of(100.0, 0.0), Map.of()),
+            Feature.of("ID_002", Point.of(101.0, 1.0), Map.of("name", "English garden"))
+    );
+
+    @Test
+    void write_withNdjson_shouldWriteOneLinePerObject() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ObjectMapper indentingObjectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        try (GeoJsonSequenceWriter writer = new GeoJsonSequenceWriter(indentingObjectMapper.writer(), outputStream, GeoJsonSequenceFormat.NDJSON)) {
+            writer.write(Point.of(100.0, 0.0));
+            writer.write(Point.of(101.0, 1.0));
+        }
+        assertThat(outputStream.toString(StandardCharsets.UTF_8)).isEqualTo("""
+                {"type":"Point","coordinates":[100.0,0.0]}
+                {"type":"Point","coordinates":[101.0,1.0]}
+                """);
+    }
+
+    @Test
+    void write_withRfc8142_shouldPrefixRecordSeparator() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (GeoJsonSequenceWriter writer = GeoJsonSequenceWriter.of(outputStream, GeoJsonSequenceFormat.RFC_8142)) {
+            writer.write(Point.of(100.0, 0.0));
+            writer.write(Point.of(101.0, 1.0));
+        }
+        assertThat(outputStream.toString(StandardCharsets.UTF_8)).isEqualTo("""
+                \u001E{"type":"Point","coordinates":[100.0,0.0]}
+                \u001E{"type":"Point","coordinates":[101.0,1.0]}
+                """);
+    }
+
+    @Test
+    void writeAll_shouldBeReadableBySequenceReader() throws IOException {
+        for (GeoJsonSequenceFormat format : GeoJsonSequenceFormat.values()) {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            try (GeoJsonSequenceWriter writer = GeoJsonSequenceWriter.of(outputStream, format)) {
+                writer.writeAll(FEATURES);
+            }
+            try (GeoJsonSequenceReader<Feature> reader = GeoJsonSequenceReader.of(new ByteArrayInputStream(outputStream.toByteArray()), format, Feature.class)) {
+                assertThat(reader.stream().toList()).isEqualTo(FEATURES);
+            }
+        }
+    }
+
+    @Test
+    void flush_shouldPassWrittenRecordsToOutputStream() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (GeoJsonSequenceWriter writer = GeoJsonSequenceWriter.of(outputStream, GeoJsonSequenceFormat.NDJSON)) {
+            writer.write(Point.of(100.0, 0.0));
+            assertThat(outputStream.size()).isZero();
+            writer.flush();
+            assertThat(outputStream.toString(StandardCharsets.UTF_8)).isEqualTo("{\"type\":\"Point\",\"coordinates\":[100.0,0.0]}\n");
+        }
+    }
+
+    @Test
+    void of_withPath_shouldWriteToFile(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("geometries.geojsonl");
+        try (GeoJsonSequenceWriter writer = GeoJsonSequenceWriter.of(file, GeoJsonSequenceFormat.NDJSON)) {
+            writer.write(Point.of(100.0, 0.0));
+        }
+        try (GeoJsonSequenceReader<Geometry> reader = GeoJsonSequenceReader.of(file, GeoJsonSequenceFormat.NDJSON, Geometry.class)) {
+            assertThat(reader.stream().toList()).containsExactly(Point.of(100.0, 0.0));
+        }
+        assertThat(Files.readAllLines(file)).hasSize(1);
+    }
+}
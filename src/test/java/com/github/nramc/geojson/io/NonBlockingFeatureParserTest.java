@@ -0,0 +1,167 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.io;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.github.nramc.geojson.domain.Feature;
+import com.github.nramc.geojson.domain.LineString;
+import com.github.nramc.geojson.domain.Point;
+import com.github.nramc.geojson.domain.Polygon;
+import com.github.nramc.geojson.domain.Position;
+import com.github.nramc.geojson.jackson.GeoJsonReadOptions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class NonBlockingFeatureParserTest {
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final String FEATURE_COLLECTION_JSON = """
+            {
+              "type": "FeatureCollection",
+              "bbox": [100.0, 0.0, 102.0, 1.0],
+              "features": [
+                {"id": "ID_001", "type": "Feature", "properties": {"name": "Olympic Park", "tags": ["park", {"größe": 1.5}]}, "geometry": {"type": "Point", "coordinates": [100.0, 0.0]}},
+                null,
+                {"id": "ID_002", "type": "Feature", "properties": {"name": "English garden"}, "geometry": {"type": "LineString", "coordinates": [[101.0, 0.0], [102.0, 1.0]]}},
+                {"id": "ID_003", "type": "Feature", "properties": {"name": "Hirschgarten"}, "geometry": {"type": "Polygon", "coordinates": [[[100.0, 0.0], [101.0, 0.0], [101.0, 1.0], [100.0, 1.0], [100.0, 0.0]]]}}
+              ],
+              "foreign": {"nested": [{"features": []}]}
+            }""";
+
+    private static void feed(NonBlockingFeatureParser parser, String json, int chunkSize, boolean direct) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer chunk = direct ? ByteBuffer.allocateDirect(chunkSize) : ByteBuffer.allocate(chunkSize);
+        for (int offset = 0; offset < bytes.length; offset += chunkSize) {
+            chunk.clear();
+            chunk.put(bytes, offset, Math.min(chunkSize, bytes.length - offset)).flip();
+            parser.feed(chunk);
+            assertThat(chunk.hasRemaining()).isFalse();
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 3, 7, 64, 4096})
+    void feed_withChunksOfAnySize_shouldProvideFeaturesInDocumentOrder(int chunkSize) throws IOException {
+        List<Feature> features = new ArrayList<>();
+        try (NonBlockingFeatureParser parser = NonBlockingFeatureParser.of(features::add)) {
+            feed(parser, FEATURE_COLLECTION_JSON, chunkSize, chunkSize % 2 == 1);
+            parser.endOfInput();
+            assertThat(parser.isComplete()).isTrue();
+        }
+        assertThat(features).extracting(Feature::getId).containsExactly("ID_001", "ID_002", "ID_003");
+        assertThat(features).extracting(Feature::getGeometry).hasExactlyElementsOfTypes(Point.class, LineString.class, Polygon.class);
+        assertThat(features).allSatisfy(feature -> assertThat(feature.isValid()).isTrue());
+        assertThat(features.get(0)).isEqualTo(objectMapper.readValue("""
+                {"id": "ID_001", "type": "Feature", "properties": {"name": "Olympic Park", "tags": ["park", {"größe": 1.5}]}, "geometry": {"type": "Point", "coordinates": [100.0, 0.0]}}""", Feature.class));
+    }
+
+    @Test
+    void feed_shouldProvideFeatureAsSoonAsItIsComplete() throws IOException {
+        List<Feature> features = new ArrayList<>();
+        try (NonBlockingFeatureParser parser = new NonBlockingFeatureParser(objectMapper, features::add)) {
+            parser.feed(ByteBuffer.wrap("""
+                    {"features": [{"type": "Feature", "id": "ID_001", "properties": {}, "geometry": {"type": "Point", "coordinates": [100.0, 0.0]}}, {"type": "Feat"""
+                    .getBytes(StandardCharsets.UTF_8)));
+            assertThat(features).extracting(Feature::getId).containsExactly("ID_001");
+
+            parser.feed(ByteBuffer.wrap("""
+                    ure", "id": "ID_002", "properties": {}, "geometry": {"type": "Point", "coordinates": [101.0, 1.0]}}], "type": "FeatureCollection"}"""
+                    .getBytes(StandardCharsets.UTF_8)));
+            assertThat(features).extracting(Feature::getId).containsExactly("ID_001", "ID_002");
+            assertThat(parser.isComplete()).isTrue();
+        }
+    }
+
+    @Test
+    void feed_withReaderOptions_shouldApplyOptionsToFeatures() throws IOException {
+        List<Feature> features = new ArrayList<>();
+        try (NonBlockingFeatureParser parser = new NonBlockingFeatureParser(
+                GeoJsonReadOptions.DEFAULT.withPackedCoordinates(true).withSkipProperties(true).applyTo(objectMapper.readerFor(Feature.class)), features::add)) {
+            feed(parser, FEATURE_COLLECTION_JSON, 5, false);
+            parser.endOfInput();
+        }
+        assertThat(features).allSatisfy(feature -> assertThat(feature.getProperties()).isEmpty());
+        assertThat(features.get(1).getGeometry()).isEqualTo(LineString.of(
+                Position.of(101.0, 0.0), Position.of(102.0, 1.0)));
+    }
+
+    @Test
+    void endOfInput_withEmptyInput_shouldProvideNoFeatures() throws IOException {
+        List<Feature> features = new ArrayList<>();
+        try (NonBlockingFeatureParser parser = NonBlockingFeatureParser.of(features::add)) {
+            parser.feed(ByteBuffer.allocate(0));
+            parser.endOfInput();
+            assertThat(parser.isComplete()).isFalse();
+        }
+        assertThat(features).isEmpty();
+    }
+
+    @Test
+    void endOfInput_whenDocumentIncomplete_shouldThrowError() throws IOException {
+        List<Feature> features = new ArrayList<>();
+        try (NonBlockingFeatureParser parser = NonBlockingFeatureParser.of(features::add)) {
+            feed(parser, FEATURE_COLLECTION_JSON.substring(0, FEATURE_COLLECTION_JSON.indexOf("ID_003")), 16, false);
+            assertThrows(IOException.class, parser::endOfInput);
+        }
+        assertThat(features).extracting(Feature::getId).containsExactly("ID_001", "ID_002");
+    }
+
+    @Test
+    void feed_afterEndOfInput_shouldThrowError() throws IOException {
+        try (NonBlockingFeatureParser parser = NonBlockingFeatureParser.of(feature -> {
+        })) {
+            parser.endOfInput();
+            ByteBuffer chunk = ByteBuffer.wrap(new byte[]{'{'});
+            assertThrows(IllegalStateException.class, () -> parser.feed(chunk));
+        }
+    }
+
+    @Test
+    void feed_whenNotFeatureCollection_shouldThrowError() throws IOException {
+        assertThrows(MismatchedInputException.class, () -> feedAll("""
+                {"type": "Feature", "properties": {}, "geometry": null}"""));
+        assertThrows(MismatchedInputException.class, () -> feedAll("""
+                [{"type": "Feature", "properties": {}, "geometry": null}]"""));
+        assertThrows(MismatchedInputException.class, () -> feedAll("""
+                {"type": "FeatureCollection", "features": [42]}"""));
+        assertThrows(MismatchedInputException.class, () -> feedAll("""
+                {"type": "FeatureCollection", "features": []} {}"""));
+    }
+
+    @Test
+    void feed_whenFeatureInvalid_shouldThrowError() {
+        assertThrows(MismatchedInputException.class, () -> feedAll("""
+                {"type": "FeatureCollection", "features": [{"type": "Point", "coordinates": [100.0, 0.0]}]}"""));
+    }
+
+    private static void feedAll(String json) throws IOException {
+        try (NonBlockingFeatureParser parser = NonBlockingFeatureParser.of(feature -> {
+        })) {
+            parser.feed(ByteBuffer.wrap(json.getBytes(StandardCharsets.UTF_8)));
+            parser.endOfInput();
+        }
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.io;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.nramc.geojson.domain.Feature;
+import com.github.nramc.geojson.domain.FeatureCollection;
+import com.github.nramc.geojson.domain.Point;
+import com.github.nramc.geojson.jackson.GeoJsonReadOptions;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ParallelFeatureCollectionReaderTest {
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final List<Feature> FEATURES = IntStream.range(0, 500)
+            .mapToObj(i -> Feature.of("ID_" + i, Point.of(i % 180, i % 90), Map.of("name", "name with \"quotes\", [brackets] and {braces} " + i)))
+            .toList();
+    private static ForkJoinPool pool;
+
+    @TempDir
+    static Path directory;
+
+    @BeforeAll
+    static void setUp() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        pool.shutdown();
+    }
+
+    private static Path write(String name, String json) throws IOException {
+        return Files.writeString(directory.resolve(name), json);
+    }
+
+    private static Path writeFeatures() throws IOException {
+        Path file = directory.resolve("features.geojson");
+        if (Files.notExists(file)) {
+            String features = objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(FeatureCollection.of(FEATURES));
+            Files.writeString(file, features.replace("\"features\"", "\"bbox\": [{\"features\": \"]\"}], \"features\""));
+        }
+        return file;
+    }
+
+    private static ParallelFeatureCollectionReader reader(int chunkSize) {
+        return new ParallelFeatureCollectionReader(objectMapper.reader(), pool, chunkSize);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 100, 4096, ParallelFeatureCollectionReader.DEFAULT_CHUNK_SIZE})
+    void read_shouldProvideFeaturesInFileOrder(int chunkSize) throws IOException {
+        try (Stream<Feature> features = reader(chunkSize).read(writeFeatures())) {
+            assertThat(features.toList()).isEqualTo(FEATURES);
+        }
+    }
+
+    @Test
+    void read_whenFeaturesSpanMappedSegments_shouldProvideFeaturesInFileOrder() throws IOException {
+        try (Stream<Feature> features = new ParallelFeatureCollectionReader(objectMapper.reader(), pool, 1000, 6).read(writeFeatures())) {
+            assertThat(features.toList()).isEqualTo(FEATURES);
+        }
+    }
+
+    @Test
+    void readUnordered_shouldProvideAllFeatures() throws IOException {
+        try (Stream<Feature> features = reader(100).readUnordered(writeFeatures())) {
+            assertThat(features.toList()).containsExactlyInAnyOrderElementsOf(FEATURES);
+        }
+    }
+
+    @Test
+    void read_withDefaultReader_shouldProvideFeatures() throws IOException {
+        try (Stream<Feature> features = ParallelFeatureCollectionReader.of().read(writeFeatures())) {
+            assertThat(features.limit(3)).extracting(Feature::getId).containsExactly("ID_0", "ID_1", "ID_2");
+        }
+    }
+
+    @Test
+    void read_withReaderOptions_shouldApplyOptionsToFeatures() throws IOException {
+        ParallelFeatureCollectionReader reader = new ParallelFeatureCollectionReader(
+                GeoJsonReadOptions.DEFAULT.withSkipGeometry(true).applyTo(objectMapper.reader()), pool, 100);
+        try (Stream<Feature> features = reader.read(writeFeatures())) {
+            assertThat(features.toList()).hasSize(FEATURES.size()).allSatisfy(feature -> assertThat(feature.getGeometry()).isNull());
+        }
+    }
+
+    @Test
+    void read_whenFeaturesAppearBeforeType_shouldProvideFeatures() throws IOException {
+        Path file = write("type-last.geojson", "\uFEFF" + """
+                {"features": [{"type": "Feature", "id": "ID_001", "properties": {"escaped\\\\": "\\\\"}, "geometry": {"type": "Point", "coordinates": [100.0, 0.0]}},null ,
+                  {"type": "Feature", "id": "ID_002", "properties": {}, "geometry": null}], "count": 2, "flag": true, "type": "FeatureCollection"}
+                """);
+        try (Stream<Feature> features = reader(10).read(file)) {
+            assertThat(features).extracting(Feature::getId).containsExactly("ID_001", "ID_002");
+        }
+    }
+
+    @Test
+    void read_withEmptyDocument_shouldBeEmpty() throws IOException {
+        for (String json : new String[]{"", "  \n", "{}", """
+                {"type": "FeatureCollection", "features": []}"""}) {
+            try (Stream<Feature> features = reader(100).read(write("empty.geojson", json))) {
+                assertThat(features).isEmpty();
+            }
+        }
+    }
+
+    @Test
+    void read_whenNotFeatureCollection_shouldThrowError() throws IOException {
+        for (String json : new String[]{
+                """
+                {"type": "Feature", "properties": {}, "geometry": null}""",
+                """
+                [{"type": "Feature", "properties": {}, "geometry": null}]""",
+                """
+                {"type": "FeatureCollection", "features": [42]}""",
+                """
+                {"type": "FeatureCollection", "features": [] "bbox": []}""",
+                """
+                {"type": "FeatureCollection", "features": []} {}""",
+                """
+                {"type": "FeatureCollection", "features": [{"type": "Feature", "properties": {"name": "}"""}) {
+            try (Stream<Feature> features = reader(100).read(write("invalid.geojson", json))) {
+                assertThrows(UncheckedIOException.class, features::toList, json);
+            }
+        }
+    }
+
+    @Test
+    void read_whenFeatureInvalid_shouldThrowError() throws IOException {
+        Path file = write("invalid-feature.geojson", """
+                {"type": "FeatureCollection", "features": [{"type": "Feature", "properties": {}, "geometry": null}, {"type": "Feature", "properties": 42, "geometry": null}]}""");
+        try (Stream<Feature> features = reader(10).read(file)) {
+            assertThrows(UncheckedIOException.class, features::toList);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.io;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.nramc.geojson.domain.Feature;
+import com.github.nramc.geojson.domain.Point;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ParallelGeoJsonSequenceReaderTest {
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final List<Feature> FEATURES = IntStream.range(0, 500)
+            .mapToObj(i -> Feature.of("ID_" + i, Point.of(i % 180, i % 90), Map.of("index", i)))
+            .toList();
+    private static ForkJoinPool pool;
+
+    @TempDir
+    static Path directory;
+
+    @BeforeAll
+    static void setUp() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        pool.shutdown();
+    }
+
+    private static Path write(GeoJsonSequenceFormat format) throws IOException {
+        Path file = directory.resolve("features-" + format + ".txt");
+        try (GeoJsonSequenceWriter writer = GeoJsonSequenceWriter.of(file, format)) {
+            writer.writeAll(FEATURES);
+        }
+        return file;
+    }
+
+    private static ParallelGeoJsonSequenceReader<Feature> reader(GeoJsonSequenceFormat format, int chunkSize) {
+        return new ParallelGeoJsonSequenceReader<>(objectMapper.reader(), format, Feature.class, pool, chunkSize);
+    }
+
+    @Test
+    void read_shouldProvideFeaturesInFileOrder() throws IOException {
+        for (GeoJsonSequenceFormat format : GeoJsonSequenceFormat.values()) {
+            Path file = write(format);
+            for (int chunkSize : new int[]{1, 100, 4096, ParallelGeoJsonSequenceReader.DEFAULT_CHUNK_SIZE}) {
+                try (Stream<Feature> features = reader(format, chunkSize).read(file)) {
+                    assertThat(features.toList()).isEqualTo(FEATURES);
+                }
+            }
+        }
+    }
+
+    @Test
+    void readUnordered_shouldProvideAllFeatures() throws IOException {
+        Path file = write(GeoJsonSequenceFormat.NDJSON);
+        try (Stream<Feature> features = reader(GeoJsonSequenceFormat.NDJSON, 100).readUnordered(file)) {
+            assertThat(features.toList()).containsExactlyInAnyOrderElementsOf(FEATURES);
+        }
+    }
+
+    @Test
+    void read_withDefaultReader_shouldProvideFeatures() throws IOException {
+        Path file = write(GeoJsonSequenceFormat.RFC_8142);
+        try (Stream<Feature> features = ParallelGeoJsonSequenceReader.of(GeoJsonSequenceFormat.RFC_8142, Feature.class).read(file)) {
+            assertThat(features.limit(3)).extracting(Feature::getId).containsExactly("ID_0", "ID_1", "ID_2");
+        }
+    }
+
+    @Test
+    void read_withEmptyFile_shouldBeEmpty() throws IOException {
+        Path file = Files.createFile(directory.resolve("empty.geojsonl"));
+        try (Stream<Feature> features = reader(GeoJsonSequenceFormat.NDJSON, 100).read(file)) {
+            assertThat(features).isEmpty();
+        }
+    }
+
+    @Test
+    void read_whenRecordInvalid_shouldThrowError() throws IOException {
+        Path file = Files.writeString(directory.resolve("invalid.geojsonl"), """
+                {"type": "Feature", "id": "ID_001", "properties": {}, "geometry": null}
+                {"type": "Feature", "id": "ID_002", "properties": {}, "geometry": null
+                """);
+        try (Stream<Feature> features = reader(GeoJsonSequenceFormat.NDJSON, 10).read(file)) {
+            assertThrows(UncheckedIOException.class, features::toList);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.jackson;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.nramc.geojson.domain.CoordinateSequence;
+import com.github.nramc.geojson.domain.LineString;
+import com.github.nramc.geojson.domain.Polygon;
+import com.github.nramc.geojson.domain.Position;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CoordinateSequenceSerializerTest {
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void serialization_shouldBeSameAsListOfPositions() throws JsonProcessingException {
+        CoordinateSequence sequence = CoordinateSequence.of(3, 100.12345678901234, -0.000001, 1.0E-10, 101.0, 1.0, Double.NaN);
+        List<Position> positions = new ArrayList<>(sequence);
+
+        assertThat(objectMapper.writeValueAsString(sequence)).isEqualTo(objectMapper.writeValueAsString(positions));
+        assertThat(objectMapper.writeValueAsString(CoordinateSequence.of(2))).isEqualTo("[]");
+    }
+
+    @Test
+    void serialization_withCoordinatePrecision_shouldRoundToDecimals() throws JsonProcessingException {
+        ObjectWriter writer = GeoJsonWriteOptions.DEFAULT.withCoordinatePrecision(6).applyTo(objectMapper.writer());
+        LineString lineString = LineString.of(Position.of(100.0, 0.0, 10.123456789), Position.of(101.0, 1.0, 0.1));
+
+        assertThat(lineString.getCoordinates()).isInstanceOf(CoordinateSequence.class);
+        assertThat(writer.writeValueAsString(lineString)).isEqualTo("""
+                {"type":"LineString","coordinates":[[100,0,10.123457],[101,1,0.1]]}""");
+    }
+
+    @Test
+    void serialization_withSinglePrecision_shouldWriteShortestFloats() throws JsonProcessingException {
+        CoordinateSequence sequence = CoordinateSequence.ofSinglePrecision(2, 13.4, 52.52, -0.1276, 51.5072);
+
+        assertThat(objectMapper.writeValueAsString(sequence)).isEqualTo("[[13.4,52.52],[-0.1276,51.5072]]");
+        assertThat(GeoJsonWriteOptions.DEFAULT.withCoordinatePrecision(2).applyTo(objectMapper.writer()).writeValueAsString(sequence))
+                .isEqualTo("[[13.4,52.52],[-0.13,51.51]]");
+    }
+
+    @Test
+    void serialization_shouldRoundTripGeometries() throws JsonProcessingException {
+        String json = """
+                {"type":"Polygon","coordinates":[[[100.0,0.0],[101.0,0.0],[101.0,1.0],[100.0,1.0],[100.0,0.0]]]}""";
+        Polygon polygon = objectMapper.readValue(json, Polygon.class);
+
+        assertThat(polygon.getCoordinates().getExterior()).isInstanceOf(CoordinateSequence.class);
+        assertThat(objectMapper.writeValueAsString(polygon)).isEqualTo(json);
+    }
+}
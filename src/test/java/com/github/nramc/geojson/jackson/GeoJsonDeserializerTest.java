@@ -0,0 +1,340 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.jackson;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.json.JsonReadFeature;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.exc.InvalidTypeIdException;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
+import com.github.nramc.geojson.domain.CoordinateSequence;
+import com.github.nramc.geojson.domain.Feature;
+import com.github.nramc.geojson.domain.FeatureCollection;
+import com.github.nramc.geojson.domain.GeoJson;
+import com.github.nramc.geojson.domain.Geometry;
+import com.github.nramc.geojson.domain.GeometryCollection;
+import com.github.nramc.geojson.domain.LineString;
+import com.github.nramc.geojson.domain.MultiLineString;
+import com.github.nramc.geojson.domain.MultiPoint;
+import com.github.nramc.geojson.domain.Point;
+import com.github.nramc.geojson.domain.Polygon;
+import com.github.nramc.geojson.domain.Position;
+import com.github.nramc.geojson.domain.PositionPool;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.assertj.core.api.Assertions.offset;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GeoJsonDeserializerTest {
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    @ParameterizedTest
+    @CsvSource(quoteCharacter = '"', delimiter = ';', textBlock = """
+            # Type first,                                                                      Type last
+            {"type": "Point", "coordinates": [100.0, 0.0]};                                    {"coordinates": [100.0, 0.0], "type": "Point"}
+            {"type": "MultiPoint", "coordinates": [[100.0, 0.0], [101.0, 1.0]]};               {"coordinates": [[100.0, 0.0], [101.0, 1.0]], "type": "MultiPoint"}
+            {"type": "LineString", "coordinates": [[100.0, 0.0], [101.0, 1.0]]};               {"coordinates": [[100.0, 0.0], [101.0, 1.0]], "type": "LineString"}
+            {"type": "MultiLineString", "coordinates": [[[100.0, 0.0], [101.0, 1.0]]]};        {"coordinates": [[[100.0, 0.0], [101.0, 1.0]]], "type": "MultiLineString"}
+            {"type": "Polygon", "coordinates": [[[100.0, 0.0], [101.0, 0.0], [101.0, 1.0], [100.0, 0.0]]]};      {"coordinates": [[[100.0, 0.0], [101.0, 0.0], [101.0, 1.0], [100.0, 0.0]]], "type": "Polygon"}
+            {"type": "MultiPolygon", "coordinates": [[[[100.0, 0.0], [101.0, 0.0], [101.0, 1.0], [100.0, 0.0]]]]}; {"coordinates": [[[[100.0, 0.0], [101.0, 0.0], [101.0, 1.0], [100.0, 0.0]]]], "type": "MultiPolygon"}
+            {"type": "GeometryCollection", "geometries": [{"type": "Point", "coordinates": [100.0, 0.0]}]};     {"geometries": [{"coordinates": [100.0, 0.0], "type": "Point"}], "type": "GeometryCollection"}
+            """)
+    void deserialization_whenTypeIsLastMember_shouldBeSameAsTypeFirst(String typeFirst, String typeLast) throws JsonProcessingException {
+        GeoJson expected = objectMapper.readValue(typeFirst, GeoJson.class);
+        assertThat(objectMapper.readValue(typeLast, GeoJson.class)).isEqualTo(expected);
+        assertThat(objectMapper.readValue(typeLast, Geometry.class)).isEqualTo(expected);
+        assertThat(objectMapper.readValue(typeLast, expected.getClass())).isEqualTo(expected).satisfies(geoJson -> assertThat(geoJson.isValid()).isTrue());
+    }
+
+    @Test
+    void deserialization_withFeatureCollection_whenTypeIsLastMember() throws JsonProcessingException {
+        String json = """
+                {
+                  "features": [
+                    {"properties": {"name": "Olympic Park", "size": 85}, "geometry": {"coordinates": [100.0, 0.0], "type": "Point"}, "id": 1, "type": "Feature"},
+                    {"geometry": {"coordinates": [[101.0, 0.0], [102.0, 1.0]], "type": "LineString"}, "properties": {}, "type": "Feature"}
+                  ],
+                  "type": "FeatureCollection"
+                }""";
+        FeatureCollection featureCollection = objectMapper.readValue(json, FeatureCollection.class);
+        assertThat(featureCollection.isValid()).isTrue();
+        assertThat(featureCollection.getFeatures()).hasSize(2)
+                .satisfies(features -> assertThat(features.getFirst())
+                        .satisfies(feature -> assertThat(feature.getId()).isEqualTo("1"))
+                        .satisfies(feature -> assertThat(feature.getGeometry()).isEqualTo(Point.of(100.0, 0.0)))
+                        .satisfies(feature -> assertThat(feature.getProperties()).containsOnly(entry("name", "Olympic Park"), entry("size", 85))))
+                .satisfies(features -> assertThat(features.getLast().getGeometry()).isInstanceOf(LineString.class));
+    }
+
+    @Test
+    void deserialization_withPropertyOfGeometryType_shouldResolveContextualType() throws JsonProcessingException {
+        String json = """
+                {"name": "Olympic Park", "location": {"coordinates": [11.55, 48.17], "type": "Point"}, "boundaries": [{"coordinates": [[[100.0, 0.0], [101.0, 0.0], [101.0, 1.0], [100.0, 0.0]]], "type": "Polygon"}]}""";
+        Location location = objectMapper.readValue(json, Location.class);
+        assertThat(location.location()).isEqualTo(Point.of(11.55, 48.17));
+        assertThat(location.boundaries()).singleElement().isInstanceOf(Polygon.class);
+    }
+
+    @Test
+    void deserialization_withEmptyCoordinates_shouldDependOnType() throws JsonProcessingException {
+        assertThat(objectMapper.readValue("""
+                {"coordinates": [], "type": "Point"}""", Point.class).getCoordinates()).isEqualTo(new Position(new double[0]));
+        assertThat(objectMapper.readValue("""
+                {"coordinates": [], "type": "LineString"}""", LineString.class).getCoordinates()).isEmpty();
+    }
+
+    @Test
+    void deserialization_whenTypeMissing_shouldThrowError() {
+        assertThrows(InvalidTypeIdException.class, () -> objectMapper.readValue("""
+                {"coordinates": [100.0, 0.0]}""", Point.class));
+    }
+
+    @Test
+    void deserialization_whenTypeIsNotSubtypeOfTarget_shouldThrowError() {
+        assertThrows(InvalidTypeIdException.class, () -> objectMapper.readValue("""
+                {"coordinates": [[100.0, 0.0], [101.0, 1.0]], "type": "LineString"}""", Point.class));
+        assertThrows(InvalidTypeIdException.class, () -> objectMapper.readValue("""
+                {"type": "Feature", "id": "ID_001", "geometry": null, "properties": {}}""", Geometry.class));
+        assertThrows(InvalidTypeIdException.class, () -> objectMapper.readValue("""
+                {"type": "Unknown", "coordinates": [100.0, 0.0]}""", GeoJson.class));
+    }
+
+    @Test
+    void deserialization_whenCoordinatesDepthDoesNotMatchType_shouldThrowError() {
+        assertThrows(MismatchedInputException.class, () -> objectMapper.readValue("""
+                {"coordinates": [[100.0, 0.0]], "type": "Point"}""", GeoJson.class));
+        assertThrows(MismatchedInputException.class, () -> objectMapper.readValue("""
+                {"coordinates": [100.0, 0.0], "type": "LineString"}""", GeoJson.class));
+    }
+
+    @Test
+    void deserialization_withUnknownMembers_shouldRespectFailOnUnknownProperties() throws JsonProcessingException {
+        String json = """
+                {"bbox": [100.0, 0.0, 100.0, 0.0], "coordinates": [100.0, 0.0], "type": "Point", "geometries": []}""";
+        assertThrows(UnrecognizedPropertyException.class, () -> objectMapper.readValue(json, GeoJson.class));
+
+        ObjectMapper lenientObjectMapper = new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        assertThat(lenientObjectMapper.readValue(json, GeoJson.class)).isEqualTo(Point.of(100.0, 0.0));
+    }
+
+    @Test
+    void deserialization_withIgnoredMembers_shouldSkipThem() throws JsonProcessingException {
+        assertThat(objectMapper.readValue("""
+                {"type": "Point", "coordinates": [100.0, 0.0], "valid": true}""", Point.class)).isEqualTo(Point.of(100.0, 0.0));
+        assertThat(objectMapper.readValue("""
+                {"valid": false, "type": "FeatureCollection", "features": [
+                {"type": "Feature", "valid": true, "geometry": {"valid": true, "type": "Point", "coordinates": [100.0, 0.0]}, "properties": {}}
+                ]}""", GeoJson.class)).isEqualTo(FeatureCollection.of(Feature.of(null, Point.of(100.0, 0.0), Map.of())));
+    }
+
+    @Test
+    void deserialization_whenTypeIsNotSubtypeOfTarget_shouldListOnlyAssignableTypeIds() {
+        InvalidTypeIdException exception = assertThrows(InvalidTypeIdException.class, () -> objectMapper.readValue("""
+                {"type": "Feature", "id": "ID_001", "geometry": null, "properties": {}}""", Geometry.class));
+        assertThat(exception.getMessage()).contains("known type ids = [GeometryCollection, LineString, MultiLineString, MultiPoint, MultiPolygon, Point, Polygon]");
+        exception = assertThrows(InvalidTypeIdException.class, () -> objectMapper.readValue("""
+                {"coordinates": [[100.0, 0.0], [101.0, 1.0]], "type": "LineString"}""", Point.class));
+        assertThat(exception.getMessage()).contains("known type ids = [Point]");
+    }
+
+    @Test
+    void deserialization_withMemberOfAnotherType_shouldThrowError() {
+        assertThrows(UnrecognizedPropertyException.class, () -> objectMapper.readValue("""
+                {"id": "ID_001", "coordinates": [100.0, 0.0], "type": "Point"}""", GeoJson.class));
+        assertThrows(UnrecognizedPropertyException.class, () -> objectMapper.readValue("""
+                {"coordinates": [100.0, 0.0], "type": "GeometryCollection", "geometries": []}""", GeometryCollection.class));
+    }
+
+    @Test
+    void deserialization_withFeatureWithoutProperties_shouldThrowError() {
+        assertThrows(JsonProcessingException.class, () -> objectMapper.readValue("""
+                {"geometry": {"type": "Point", "coordinates": [100.0, 0.0]}, "type": "Feature"}""", Feature.class));
+    }
+
+    @ParameterizedTest
+    @CsvSource(quoteCharacter = '"', delimiter = ';', textBlock = """
+            {"type": "MultiPoint", "coordinates": [[100.0, 0.0], [101.0, 1.0]]}
+            {"type": "MultiPoint", "coordinates": [[1e2, -5E-1], [100, 0.1234567890123456789], [-0.0, 4.9e-324]]}
+            {"coordinates": [[100.0, 0.0, 10.0], [101.0, 1.0, 20.0]], "type": "LineString"}
+            {"type": "LineString", "coordinates": [[100.0, 0.0], [101.0, 1.0, 20.0], [102.0, 2.0]]}
+            {"type": "MultiLineString", "coordinates": [[[100.0, 0.0], [101.0, 1.0]], [], [[102.0, 2.0], [103.0, 3.0]]]}
+            {"type": "Polygon", "coordinates": [[[100.0, 0.0], [101.0, 0.0], [101.0, 1.0], [100.0, 0.0]], [[100.2, 0.2], [100.8, 0.2], [100.8, 0.8], [100.2, 0.2]]]}
+            {"type": "MultiPolygon", "coordinates": [[[[100.0, 0.0], [101.0, 0.0], [101.0, 1.0], [100.0, 0.0]]], [[[102.0, 2.0], [103.0, 2.0], [103.0, 3.0], [102.0, 2.0]]]]}
+            {"type": "GeometryCollection", "geometries": [{"type": "LineString", "coordinates": [["100.0", 0], [101.0, 1.0]]}]}
+            """)
+    void deserialization_withPackedCoordinates_shouldBeSameAsDefault(String json) throws JsonProcessingException {
+        GeoJson expected = objectMapper.readValue(json, GeoJson.class);
+        GeoJson packed = packedReader(GeoJson.class).readValue(json);
+        assertThat(packed).isEqualTo(expected).hasSameHashCodeAs(expected)
+                .satisfies(geoJson -> assertThat(geoJson.isValid()).isEqualTo(expected.isValid()));
+        assertThat(objectMapper.writeValueAsString(packed)).isEqualTo(objectMapper.writeValueAsString(expected));
+    }
+
+    @Test
+    void deserialization_withPackedCoordinates_shouldProvidePositions() throws JsonProcessingException {
+        LineString lineString = packedReader(LineString.class).readValue("""
+                {"type": "LineString", "coordinates": [[100.0, 0.0, 10.0], [101.0, 1.0, 20.0]]}""");
+        assertThat(lineString.getCoordinates()).containsExactly(Position.of(100.0, 0.0, 10.0), Position.of(101.0, 1.0, 20.0));
+        assertThat(lineString.getCoordinates().get(1).getAltitude()).isEqualTo(20.0);
+    }
+
+    @Test
+    void deserialization_withPackedCoordinates_whenCoordinatesMalformed_shouldThrowError() {
+        assertThrows(MismatchedInputException.class, () -> packedReader(GeoJson.class).readValue("""
+                {"type": "LineString", "coordinates": [[100.0, 0.0], 42]}"""));
+        assertThrows(MismatchedInputException.class, () -> packedReader(GeoJson.class).readValue("""
+                {"type": "LineString", "coordinates": [[100.0, 0.0], [[101.0, 1.0]]]}"""));
+        assertThrows(MismatchedInputException.class, () -> packedReader(GeoJson.class).readValue("""
+                {"type": "MultiLineString", "coordinates": [[100.0, 0.0], [101.0, 1.0]]}"""));
+        assertThrows(MismatchedInputException.class, () -> packedReader(GeoJson.class).readValue("""
+                {"type": "LineString", "coordinates": [[100.0, [0.0]], [101.0, 1.0]]}"""));
+    }
+
+    @Test
+    void deserialization_withPackedCoordinates_whenNonNumericNumbersAllowed_shouldReadNaN() throws JsonProcessingException {
+        ObjectMapper nonNumericObjectMapper = JsonMapper.builder().enable(JsonReadFeature.ALLOW_NON_NUMERIC_NUMBERS).build();
+        LineString lineString = GeoJsonReadOptions.DEFAULT.withPackedCoordinates(true).applyTo(nonNumericObjectMapper.readerFor(LineString.class)).readValue("""
+                {"type": "LineString", "coordinates": [[NaN, 0.0], [-INF, Infinity]]}""");
+        assertThat(lineString.getCoordinates()).containsExactly(
+                new Position(new double[]{Double.NaN, 0.0}), new Position(new double[]{Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY}));
+    }
+
+    @Test
+    void deserialization_withSkipGeometry_shouldReadFeaturesWithoutGeometry() throws JsonProcessingException {
+        FeatureCollection featureCollection = GeoJsonReadOptions.DEFAULT.withSkipGeometry(true).applyTo(objectMapper.readerFor(FeatureCollection.class)).readValue("""
+                {"type": "FeatureCollection", "features": [
+                  {"geometry": {"type": "Polygon", "coordinates": [[[100.0, 0.0], [101.0, 0.0], [101.0, 1.0], [100.0, 0.0]]]}, "type": "Feature", "id": "1", "properties": {"name": "one"}},
+                  {"type": "Feature", "id": "2", "properties": {"name": "two"}, "geometry": null}
+                ]}""");
+        assertThat(featureCollection.getFeatures())
+                .extracting(Feature::getGeometry).containsOnlyNulls();
+        assertThat(featureCollection.getFeatures())
+                .extracting(Feature::getId, feature -> feature.getProperty("name"))
+                .containsExactly(tuple("1", "one"), tuple("2", "two"));
+    }
+
+    @Test
+    void deserialization_withSkipProperties_shouldReadFeaturesWithEmptyProperties() throws JsonProcessingException {
+        Feature feature = GeoJsonReadOptions.DEFAULT.withSkipProperties(true).withLazyProperties(true).applyTo(objectMapper.readerFor(Feature.class)).readValue("""
+                {"type": "Feature", "id": "1", "properties": {"name": "one", "tags": {"a": [1, 2, {"b": null}]}}, "geometry": {"type": "Point", "coordinates": [100.0, 0.0]}}""");
+        assertThat(feature.getProperties()).isEmpty();
+        assertThat(feature.getGeometry()).isEqualTo(Point.of(100.0, 0.0));
+    }
+
+    @Test
+    void deserialization_withIncludedPropertyKeys_shouldReadOnlyIncludedKeys() throws JsonProcessingException {
+        Feature feature = GeoJsonReadOptions.DEFAULT.withIncludedPropertyKeys(Set.of("name", "tags", "missing"))
+                .applyTo(objectMapper.readerFor(Feature.class)).readValue("""
+                        {"type": "Feature", "properties": {"size": 1, "nested": {"name": "ignored"}, "name": "one", "tags": [1, {"a": "b"}], "other": [[2]]},
+                         "geometry": {"type": "Point", "coordinates": [100.0, 0.0]}}""");
+        assertThat(feature.getProperties()).containsOnly(entry("name", "one"), entry("tags", new ArrayList<>(List.of(1, Map.of("a", "b")))));
+        assertThat(feature.getGeometry()).isEqualTo(Point.of(100.0, 0.0));
+    }
+
+    @Test
+    void deserialization_withExcludedPropertyKeys_shouldSkipExcludedKeys() throws JsonProcessingException {
+        Feature feature = GeoJsonReadOptions.DEFAULT.withExcludedPropertyKeys(Set.of("nested", "other"))
+                .applyTo(objectMapper.readerFor(Feature.class)).readValue("""
+                        {"type": "Feature", "properties": {"size": 1, "nested": {"name": "ignored"}, "name": "one", "other": [[2]]},
+                         "geometry": {"type": "Point", "coordinates": [100.0, 0.0]}}""");
+        assertThat(feature.getProperties()).containsOnly(entry("size", 1), entry("name", "one"));
+    }
+
+    @Test
+    void deserialization_withPropertyKeysFilteredAndSkipGeometry_shouldBeSameAsDefaultForIncludedKeys() throws JsonProcessingException {
+        String json = """
+                {"features": [{"properties": {"name": "one", "size": 1}, "type": "Feature", "geometry": {"type": "Point", "coordinates": [100.0, 0.0]}}], "type": "FeatureCollection"}""";
+        FeatureCollection projected = GeoJsonReadOptions.DEFAULT.withSkipGeometry(true).withIncludedPropertyKeys(Set.of("size"))
+                .applyTo(objectMapper.readerFor(FeatureCollection.class)).readValue(json);
+        FeatureCollection expected = objectMapper.readValue(json, FeatureCollection.class);
+        assertThat(projected.getFeatures().get(0).getProperties()).containsOnly(entry("size", expected.getFeatures().get(0).getProperty("size")));
+        assertThat(projected.getFeatures().get(0).getGeometry()).isNull();
+    }
+
+    @Test
+    void deserialization_withSinglePrecisionCoordinates_shouldStoreFloats() throws JsonProcessingException {
+        ObjectReader reader = GeoJsonReadOptions.DEFAULT.withSinglePrecisionCoordinates(true).applyTo(objectMapper.readerFor(GeoJson.class));
+        String json = """
+                {"type":"MultiLineString","coordinates":[[[13.3888,52.517034],[13.397631,52.529432]],[[-179.9999999,-89.9999999,12.5],[180.0,90.0,100.25]]]}""";
+
+        MultiLineString multiLineString = reader.readValue(json);
+        MultiLineString expected = objectMapper.readValue(json, MultiLineString.class);
+
+        assertThat(multiLineString.getCoordinates()).allSatisfy(line ->
+                assertThat(line).isInstanceOfSatisfying(CoordinateSequence.class, sequence -> assertThat(sequence.isSinglePrecision()).isTrue()));
+        for (int line = 0; line < 2; line++) {
+            for (int i = 0; i < 2; i++) {
+                assertThat(multiLineString.getCoordinates().get(line).get(i).getCoordinates())
+                        .containsExactly(expected.getCoordinates().get(line).get(i).getCoordinates(), offset(1e-5));
+            }
+        }
+        assertThat(multiLineString.isValid()).isTrue();
+        assertThat(objectMapper.writeValueAsString(multiLineString)).isEqualTo("""
+                {"type":"MultiLineString","coordinates":[[[13.3888,52.517033],[13.397631,52.52943]],[[-180.0,-90.0,12.5],[180.0,90.0,100.25]]]}""");
+    }
+
+    @Test
+    void deserialization_withSinglePrecisionCoordinates_whenDimensionsMixed_shouldKeepDoublePrecision() throws JsonProcessingException {
+        ObjectReader reader = GeoJsonReadOptions.DEFAULT.withSinglePrecisionCoordinates(true).applyTo(objectMapper.readerFor(LineString.class));
+        LineString lineString = reader.readValue("""
+                {"type": "LineString", "coordinates": [[100.0, 0.1], [101.0, 1.0, 20.0]]}""");
+        assertThat(lineString.getCoordinates()).containsExactly(Position.of(100.0, 0.1), Position.of(101.0, 1.0, 20.0));
+    }
+
+    @Test
+    void deserialization_withPositionPool_shouldShareEqualPositions() throws JsonProcessingException {
+        PositionPool pool = PositionPool.create();
+        String json = """
+                {"type": "FeatureCollection", "features": [
+                {"type": "Feature", "geometry": {"type": "Point", "coordinates": [13.3888, 52.517033]}, "properties": {}},
+                {"type": "Feature", "geometry": {"type": "Point", "coordinates": [13.3888, 52.517033]}, "properties": {}},
+                {"type": "Feature", "geometry": {"type": "MultiPoint", "coordinates": [[13.3888, 52.517033], [1.0, 2.0, 3.0]]}, "properties": {}}
+                ]}""";
+        for (boolean packed : new boolean[]{false, true}) {
+            ObjectReader reader = GeoJsonReadOptions.DEFAULT.withPackedCoordinates(packed).withPositionPool(pool)
+                    .applyTo(objectMapper.readerFor(FeatureCollection.class));
+            List<Feature> features = reader.<FeatureCollection>readValue(json).getFeatures();
+
+            Position first = ((Point) features.get(0).getGeometry()).getCoordinates();
+            assertThat(((Point) features.get(1).getGeometry()).getCoordinates()).isSameAs(first);
+            assertThat(((MultiPoint) features.get(2).getGeometry()).getCoordinates().getFirst()).isSameAs(first);
+            assertThat(pool.size()).isEqualTo(2);
+        }
+        assertThat(objectMapper.readValue(json, FeatureCollection.class).getFeatures().getFirst().getGeometry())
+                .isEqualTo(Point.of(13.3888, 52.517033));
+    }
+
+    private static ObjectReader packedReader(Class<?> type) {
+        return GeoJsonReadOptions.DEFAULT.withPackedCoordinates(true).applyTo(objectMapper.readerFor(type));
+    }
+
+    record Location(String name, Geometry location, List<Geometry> boundaries) {
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.jackson;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.github.nramc.geojson.domain.LineString;
+import com.github.nramc.geojson.domain.PositionPool;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GeoJsonReadOptionsTest {
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void default_shouldNotPackCoordinates() {
+        assertThat(GeoJsonReadOptions.DEFAULT.isPackedCoordinates()).isFalse();
+    }
+
+    @Test
+    void withPackedCoordinates_shouldReturnNewOptions() {
+        GeoJsonReadOptions options = GeoJsonReadOptions.DEFAULT.withPackedCoordinates(true);
+        assertThat(options.isPackedCoordinates()).isTrue();
+        assertThat(options.withPackedCoordinates(false).isPackedCoordinates()).isFalse();
+        assertThat(GeoJsonReadOptions.DEFAULT.isPackedCoordinates()).isFalse();
+        assertThat(options).hasToString("GeoJsonReadOptions{packedCoordinates=true, singlePrecisionCoordinates=false, lazyProperties=false, skipGeometry=false, skipProperties=false, includedPropertyKeys=null, excludedPropertyKeys=[], positionPool=null}");
+    }
+
+    @Test
+    void withSinglePrecisionCoordinates_shouldKeepOtherOptions() {
+        GeoJsonReadOptions options = GeoJsonReadOptions.DEFAULT.withPackedCoordinates(true).withSinglePrecisionCoordinates(true);
+        assertThat(options.isSinglePrecisionCoordinates()).isTrue();
+        assertThat(options.isPackedCoordinates()).isTrue();
+        assertThat(options.withLazyProperties(true).isSinglePrecisionCoordinates()).isTrue();
+        assertThat(options.withSinglePrecisionCoordinates(false).isSinglePrecisionCoordinates()).isFalse();
+        assertThat(GeoJsonReadOptions.DEFAULT.isSinglePrecisionCoordinates()).isFalse();
+    }
+
+    @Test
+    void withPositionPool_shouldKeepOtherOptions() {
+        PositionPool pool = PositionPool.create();
+        GeoJsonReadOptions options = GeoJsonReadOptions.DEFAULT.withPackedCoordinates(true).withPositionPool(pool);
+        assertThat(options.getPositionPool()).isSameAs(pool);
+        assertThat(options.isPackedCoordinates()).isTrue();
+        assertThat(options.withLazyProperties(true).getPositionPool()).isSameAs(pool);
+        assertThat(options.withPositionPool(null).getPositionPool()).isNull();
+        assertThat(GeoJsonReadOptions.DEFAULT.getPositionPool()).isNull();
+    }
+
+    @Test
+    void withLazyProperties_shouldKeepOtherOptions() {
+        GeoJsonReadOptions options = GeoJsonReadOptions.DEFAULT.withPackedCoordinates(true).withLazyProperties(true);
+        assertThat(options.isLazyProperties()).isTrue();
+        assertThat(options.isPackedCoordinates()).isTrue();
+        assertThat(options.withPackedCoordinates(false).isLazyProperties()).isTrue();
+        assertThat(GeoJsonReadOptions.DEFAULT.isLazyProperties()).isFalse();
+    }
+
+    @Test
+    void withSkipGeometryAndSkipProperties_shouldKeepOtherOptions() {
+        GeoJsonReadOptions options = GeoJsonReadOptions.DEFAULT.withLazyProperties(true).withSkipGeometry(true).withSkipProperties(true);
+        assertThat(options.isSkipGeometry()).isTrue();
+        assertThat(options.isSkipProperties()).isTrue();
+        assertThat(options.isLazyProperties()).isTrue();
+        assertThat(options.withSkipGeometry(false).isSkipProperties()).isTrue();
+        assertThat(GeoJsonReadOptions.DEFAULT.isSkipGeometry()).isFalse();
+        assertThat(GeoJsonReadOptions.DEFAULT.isSkipProperties()).isFalse();
+    }
+
+    @Test
+    void withPropertyKeys_shouldFilterKeys() {
+        assertThat(GeoJsonReadOptions.DEFAULT.isPropertyKeyFiltered()).isFalse();
+        assertThat(GeoJsonReadOptions.DEFAULT.getIncludedPropertyKeys()).isNull();
+        assertThat(GeoJsonReadOptions.DEFAULT.getExcludedPropertyKeys()).isEmpty();
+
+        GeoJsonReadOptions options = GeoJsonReadOptions.DEFAULT.withIncludedPropertyKeys(Set.of("name", "size")).withExcludedPropertyKeys(Set.of("size"));
+        assertThat(options.isPropertyKeyFiltered()).isTrue();
+        assertThat(options.getIncludedPropertyKeys()).containsOnly("name", "size");
+        assertThat(options.isPropertyKeyIncluded("name")).isTrue();
+        assertThat(options.isPropertyKeyIncluded("size")).isFalse();
+        assertThat(options.isPropertyKeyIncluded("other")).isFalse();
+
+        GeoJsonReadOptions unfiltered = options.withIncludedPropertyKeys(null).withExcludedPropertyKeys(null);
+        assertThat(unfiltered.isPropertyKeyFiltered()).isFalse();
+        assertThat(unfiltered.isPropertyKeyIncluded("other")).isTrue();
+    }
+
+    @Test
+    void applyTo_shouldAttachOptionsToReader() {
+        GeoJsonReadOptions options = GeoJsonReadOptions.DEFAULT.withPackedCoordinates(true);
+        ObjectReader reader = options.applyTo(objectMapper.readerFor(LineString.class));
+        assertThat(reader.getAttributes().getAttribute(GeoJsonReadOptions.class)).isSameAs(options);
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.jackson;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GeoJsonWriteOptionsTest {
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void default_shouldWriteFullPrecision() {
+        assertThat(GeoJsonWriteOptions.DEFAULT.getCoordinatePrecision()).isEqualTo(-1);
+    }
+
+    @Test
+    void withCoordinatePrecision_shouldReturnNewOptions() {
+        GeoJsonWriteOptions options = GeoJsonWriteOptions.DEFAULT.withCoordinatePrecision(6);
+        assertThat(options.getCoordinatePrecision()).isEqualTo(6);
+        assertThat(options.withFullCoordinatePrecision().getCoordinatePrecision()).isEqualTo(-1);
+        assertThat(GeoJsonWriteOptions.DEFAULT.getCoordinatePrecision()).isEqualTo(-1);
+        assertThat(options).hasToString("GeoJsonWriteOptions{coordinatePrecision=6}");
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {-1, 16, Integer.MAX_VALUE})
+    void withCoordinatePrecision_whenOutOfRange_shouldThrowError(int precision) {
+        GeoJsonWriteOptions options = GeoJsonWriteOptions.DEFAULT;
+        assertThrows(IllegalArgumentException.class, () -> options.withCoordinatePrecision(precision));
+    }
+
+    @Test
+    void applyTo_shouldAttachOptionsToWriter() {
+        GeoJsonWriteOptions options = GeoJsonWriteOptions.DEFAULT.withCoordinatePrecision(7);
+        ObjectWriter writer = options.applyTo(objectMapper.writer());
+        assertThat(writer.getAttributes().getAttribute(GeoJsonWriteOptions.class)).isSameAs(options);
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.jackson;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.json.JsonWriteFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.github.nramc.geojson.domain.Feature;
+import com.github.nramc.geojson.domain.FeatureCollection;
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LazyPropertiesTest {
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final ObjectReader lazyReader = GeoJsonReadOptions.DEFAULT.withLazyProperties(true).applyTo(objectMapper.readerFor(Feature.class));
+    private static final String FEATURE_JSON = """
+            {
+              "type": "Feature",
+              "id": "ID_001",
+              "geometry": {"type": "Point", "coordinates": [100.0, 0.0]},
+              "properties": {
+                "name": "Olympic \\"Park\\" \\u00fc",
+                "size": 85,
+                "area": 0.850000000000000001,
+                "population": 12345678901234567890,
+                "open": true,
+                "closed": null,
+                "tags": ["park", {"sport": [1, 2.5]}],
+                "address": {"city": "Munich", "zip": "80809"}
+              }
+            }""";
+
+    private static LazyProperties lazyProperties(Feature feature) {
+        return (LazyProperties) feature.getProperties();
+    }
+
+    @Test
+    void get_shouldDecodeRequestedValueOnly() throws JsonProcessingException {
+        Feature feature = lazyReader.readValue(FEATURE_JSON);
+        assertThat(feature.getProperty("name")).isEqualTo("Olympic \"Park\" ü");
+        assertThat(feature.getProperty("size")).isEqualTo(85);
+        assertThat(feature.getProperty("address")).isEqualTo(Map.of("city", "Munich", "zip", "80809"));
+        assertThat(feature.getProperty("closed")).isNull();
+        assertThat(feature.getProperty("unknown")).isNull();
+        assertThat(feature.getPropertyIfExists("open")).contains(true);
+        assertThat(lazyProperties(feature).isDecoded()).isFalse();
+    }
+
+    @Test
+    void containsKey_shouldNotDecodeProperties() throws JsonProcessingException {
+        Feature feature = lazyReader.readValue(FEATURE_JSON);
+        Map<String, Serializable> properties = feature.getProperties();
+        assertThat(properties.containsKey("closed")).isTrue();
+        assertThat(properties.containsKey("tags")).isTrue();
+        assertThat(properties.containsKey("unknown")).isFalse();
+        assertThat(lazyProperties(feature).isDecoded()).isFalse();
+    }
+
+    @Test
+    void entrySet_shouldDecodeAllPropertiesInDocumentOrder() throws JsonProcessingException {
+        Feature feature = lazyReader.readValue(FEATURE_JSON);
+        assertThat(feature.getProperties()).hasSize(8)
+                .containsKeys("name", "size", "area", "population", "open", "closed", "tags", "address")
+                .contains(entry("tags", (Serializable) List.of("park", Map.of("sport", List.of(1, 2.5)))));
+        assertThat(feature.getProperties().keySet()).first().isEqualTo("name");
+        assertThat(lazyProperties(feature).isDecoded()).isTrue();
+        assertThat(feature.getProperty("size")).isEqualTo(85);
+        assertThrows(UnsupportedOperationException.class, () -> feature.getProperties().put("size", 1));
+    }
+
+    @Test
+    void equals_shouldBeSameAsEagerlyDecodedProperties() throws JsonProcessingException {
+        String json = """
+                {"type": "Feature", "id": "ID_001", "geometry": {"type": "Point", "coordinates": [100.0, 0.0]}, "properties": {"name": "Olympic Park", "size": 85, "tags": ["park"]}}""";
+        Feature eager = objectMapper.readValue(json, Feature.class);
+        Feature lazy = lazyReader.readValue(json);
+        assertThat(lazy).isEqualTo(eager).hasSameHashCodeAs(eager);
+        assertThat(eager).isEqualTo(lazy);
+    }
+
+    @Test
+    void serialization_shouldWriteJsonWithoutDecoding() throws JsonProcessingException {
+        Feature feature = lazyReader.readValue(FEATURE_JSON);
+        String json = objectMapper.writeValueAsString(feature);
+        assertThat(lazyProperties(feature).isDecoded()).isFalse();
+        assertThat(json).contains("\"area\":0.850000000000000001", "\"population\":12345678901234567890");
+        assertThat(objectMapper.readTree(json)).isEqualTo(objectMapper.readTree(FEATURE_JSON));
+    }
+
+    @Test
+    void serialization_toBytes_shouldWriteJsonWithoutDecoding() throws IOException {
+        Feature feature = lazyReader.readValue(FEATURE_JSON);
+        byte[] json = objectMapper.writeValueAsBytes(feature);
+        assertThat(lazyProperties(feature).isDecoded()).isFalse();
+        assertThat(new String(json, StandardCharsets.UTF_8)).isEqualTo(objectMapper.writeValueAsString(feature));
+    }
+
+    @Test
+    void serialization_withPrettyPrinter_shouldIndentProperties() throws JsonProcessingException {
+        Feature feature = lazyReader.readValue(FEATURE_JSON);
+        String json = objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(feature);
+        assertThat(json).contains("  \"properties\" : {\n    \"name\" : ");
+        assertThat(objectMapper.readTree(json)).isEqualTo(objectMapper.readTree(FEATURE_JSON));
+    }
+
+    @Test
+    void serialization_withEscapedNonAscii_shouldEscapeProperties() throws JsonProcessingException {
+        Feature feature = lazyReader.readValue("""
+                {"type": "Feature", "id": "ID_001", "geometry": null, "properties": {"name": "Müller"}}""");
+        String json = objectMapper.writer().with(JsonWriteFeature.ESCAPE_NON_ASCII).writeValueAsString(feature);
+        assertThat(json).contains("\"name\":\"M\\u00FCller\"").doesNotContain("ü");
+    }
+
+    @Test
+    void serialization_toTree_shouldCopyTokens() throws JsonProcessingException {
+        Feature feature = lazyReader.readValue(FEATURE_JSON);
+        JsonNode tree = objectMapper.valueToTree(feature);
+        assertThat(tree.get("properties")).isEqualTo(objectMapper.readTree(FEATURE_JSON).get("properties"));
+    }
+
+    @Test
+    void javaSerialization_shouldKeepProperties() throws JsonProcessingException {
+        Feature feature = lazyReader.readValue(FEATURE_JSON);
+        Feature copy = SerializationUtils.roundtrip(feature);
+        assertThat(copy.getProperty("address")).isEqualTo(Map.of("city", "Munich", "zip", "80809"));
+        assertThat(copy).isEqualTo(feature);
+    }
+
+    @Test
+    void deserialization_withFeatureCollection_shouldKeepPropertiesOfEveryFeature() throws JsonProcessingException {
+        FeatureCollection featureCollection = GeoJsonReadOptions.DEFAULT.withLazyProperties(true).applyTo(objectMapper.readerFor(FeatureCollection.class)).readValue("""
+                {"type": "FeatureCollection", "features": [
+                  {"type": "Feature", "geometry": null, "properties": {"index": 0}},
+                  {"type": "Feature", "geometry": null, "properties": {}}
+                ]}""");
+        assertThat(featureCollection.getFeatures()).extracting(Feature::getProperties).allSatisfy(properties -> assertThat(properties).isInstanceOf(LazyProperties.class));
+        assertThat(featureCollection.getFeatures().getFirst().getProperty("index")).isEqualTo(0);
+        assertThat(featureCollection.getFeatures().getLast().getProperties()).isEmpty();
+    }
+
+    @Test
+    void deserialization_withoutProperties_shouldThrowError() {
+        assertThrows(JsonProcessingException.class, () -> lazyReader.readValue("""
+                {"type": "Feature", "geometry": null, "properties": null}"""));
+    }
+}
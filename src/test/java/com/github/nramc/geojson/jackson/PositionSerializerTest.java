@@ -0,0 +1,88 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.jackson;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.nramc.geojson.domain.LineString;
+import com.github.nramc.geojson.domain.Point;
+import com.github.nramc.geojson.domain.Position;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+class PositionSerializerTest {
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static ObjectWriter writer(int precision) {
+        return GeoJsonWriteOptions.DEFAULT.withCoordinatePrecision(precision).applyTo(objectMapper.writer());
+    }
+
+    @Test
+    void serialization_withoutOptions_shouldBeSameAsCoordinatesArray() throws JsonProcessingException {
+        double[] coordinates = {100.12345678901234, -0.000001, 1.0E-10};
+        assertThat(objectMapper.writeValueAsString(new Position(coordinates))).isEqualTo(objectMapper.writeValueAsString(coordinates));
+        assertThat(objectMapper.writeValueAsString(new Position(new double[0]))).isEqualTo("[]");
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = ';', textBlock = """
+            # precision; coordinates;                 expected
+            6;           100.12345678901234;          100.123457
+            6;           100.0;                       100
+            6;           -0.5;                        -0.5
+            6;           -0.0000001;                  0
+            6;           -0.0;                        0
+            6;           11.1000004;                  11.1
+            6;           -179.9999999;                -180
+            0;           48.5;                        49
+            0;           -48.5;                       -49
+            7;           0.00000005;                  0.0000001
+            3;           1.0E12;                      1000000000000
+            15;          1.0E2;                       100.0
+            15;          1.0E3;                       1000.0
+            2;           NaN;                         "NaN"
+            2;           Infinity;                    "Infinity"
+            """)
+    void serialization_withCoordinatePrecision_shouldRoundToDecimals(int precision, double coordinate, String expected) throws JsonProcessingException {
+        assertThat(writer(precision).writeValueAsString(new Position(new double[]{coordinate}))).isEqualTo("[" + expected + "]");
+    }
+
+    @Test
+    void serialization_withCoordinatePrecision_shouldApplyToAllGeometries() throws JsonProcessingException {
+        ObjectWriter writer = writer(6);
+        assertThat(writer.writeValueAsString(Point.of(11.575310994687, 48.137108333333))).isEqualTo("""
+                {"type":"Point","coordinates":[11.575311,48.137108]}""");
+        assertThat(writer.writeValueAsString(LineString.of(List.of(Position.of(100.0, 0.0, 10.123456789), Position.of(101.0, 1.0, 0.1)))))
+                .isEqualTo("""
+                        {"type":"LineString","coordinates":[[100,0,10.123457],[101,1,0.1]]}""");
+    }
+
+    @Test
+    void deserialization_ofRoundedCoordinates_shouldBeWithinPrecision() throws JsonProcessingException {
+        Position position = Position.of(11.575310994687, 48.137108333333, 519.9999996);
+        Position rounded = objectMapper.readValue(writer(6).writeValueAsString(position), Position.class);
+        assertThat(rounded.getLongitude()).isCloseTo(position.getLongitude(), offset(5e-7));
+        assertThat(rounded.getLatitude()).isCloseTo(position.getLatitude(), offset(5e-7));
+        assertThat(rounded.getAltitude()).isEqualTo(520.0);
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.mvt;
+
+import com.github.nramc.geojson.domain.Feature;
+import com.github.nramc.geojson.domain.FeatureCollection;
+import com.github.nramc.geojson.domain.GeometryCollection;
+import com.github.nramc.geojson.domain.LineString;
+import com.github.nramc.geojson.domain.Point;
+import com.github.nramc.geojson.domain.Position;
+import org.junit.jupiter.api.Test;
+
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MvtEncoderTest {
+
+    @Test
+    void encode_withFeatureCollection_shouldWriteLayer() {
+        FeatureCollection featureCollection = FeatureCollection.of(
+                Feature.of("1", Point.of(0.0, 0.0), Map.of("kind", "building")),
+                Feature.of("2", LineString.of(Position.of(0.0, 0.0), Position.of(10.0, 10.0)), Map.of("kind", "building")));
+
+        byte[] tile = MvtEncoder.DEFAULT.encode("buildings", featureCollection, 0, 0, 0);
+
+        Map<Integer, List<Object>> layer = message(single(message(tile), Mvt.TILE_LAYERS));
+        assertThat(layer.get(Mvt.LAYER_VERSION)).containsExactly(2L);
+        assertThat(string(single(layer, Mvt.LAYER_NAME))).isEqualTo("buildings");
+        assertThat(layer.get(Mvt.LAYER_EXTENT)).containsExactly(4096L);
+        assertThat(layer.get(Mvt.LAYER_KEYS)).hasSize(1);
+        assertThat(layer.get(Mvt.LAYER_VALUES)).hasSize(1);
+        assertThat(message(single(layer, Mvt.LAYER_VALUES)).get(Mvt.VALUE_STRING)).hasSize(1);
+
+        List<Object> features = layer.get(Mvt.LAYER_FEATURES);
+        assertThat(features).hasSize(2);
+        Map<Integer, List<Object>> point = message(features.get(0));
+        assertThat(point.get(Mvt.FEATURE_ID)).containsExactly(1L);
+        assertThat(point.get(Mvt.FEATURE_TYPE)).containsExactly((long) Mvt.POINT);
+        assertThat(varints(single(point, Mvt.FEATURE_TAGS))).containsExactly(0L, 0L);
+        assertThat(varints(single(point, Mvt.FEATURE_GEOMETRY))).containsExactly(9L, 4096L, 4096L);
+        Map<Integer, List<Object>> line = message(features.get(1));
+        assertThat(line.get(Mvt.FEATURE_TYPE)).containsExactly((long) Mvt.LINE_STRING);
+        assertThat(varints(single(line, Mvt.FEATURE_TAGS))).containsExactly(0L, 0L);
+    }
+
+    @Test
+    void encode_withPropertyTypes_shouldWriteValueTypes() {
+        Map<String, Serializable> properties = new LinkedHashMap<>();
+        properties.put("name", "Berlin");
+        properties.put("capital", true);
+        properties.put("population", 3_850_809);
+        properties.put("population_long", 3_850_809L);
+        properties.put("delta", -12);
+        properties.put("area", 891.7);
+        properties.put("ratio", 0.5f);
+        properties.put("districts", new ArrayList<>(List.of("Mitte", "Pankow")));
+
+        byte[] tile = MvtEncoder.DEFAULT.encode("cities", List.of(Feature.of("city", Point.of(13.4, 52.5), properties)).iterator(), 0, 0, 0);
+
+        Map<Integer, List<Object>> layer = message(single(message(tile), Mvt.TILE_LAYERS));
+        assertThat(layer.get(Mvt.LAYER_KEYS)).hasSize(8);
+        assertThat(layer.get(Mvt.LAYER_VALUES)).hasSize(7);
+        Map<Integer, List<Object>> feature = message(single(layer, Mvt.LAYER_FEATURES));
+        assertThat(feature).doesNotContainKey(Mvt.FEATURE_ID);
+        List<Long> tags = varints(single(feature, Mvt.FEATURE_TAGS));
+        Map<String, Map<Integer, List<Object>>> values = new LinkedHashMap<>();
+        for (int i = 0; i < tags.size(); i += 2) {
+            values.put(string(layer.get(Mvt.LAYER_KEYS).get(tags.get(i).intValue())), message(layer.get(Mvt.LAYER_VALUES).get(tags.get(i + 1).intValue())));
+        }
+
+        assertThat(values).containsOnlyKeys("name", "capital", "population", "population_long", "delta", "area", "ratio", "districts");
+        assertThat(string(single(values.get("name"), Mvt.VALUE_STRING))).isEqualTo("Berlin");
+        assertThat(values.get("capital").get(Mvt.VALUE_BOOL)).containsExactly(1L);
+        assertThat(values.get("population").get(Mvt.VALUE_UINT)).containsExactly(3_850_809L);
+        assertThat(values.get("population_long")).isEqualTo(values.get("population"));
+        assertThat(values.get("delta").get(Mvt.VALUE_SINT)).containsExactly(23L);
+        assertThat(values.get("area").get(Mvt.VALUE_DOUBLE)).containsExactly(Double.doubleToLongBits(891.7));
+        assertThat(values.get("ratio").get(Mvt.VALUE_FLOAT)).containsExactly((long) Float.floatToIntBits(0.5f));
+        assertThat(string(single(values.get("districts"), Mvt.VALUE_STRING))).isEqualTo("[\"Mitte\",\"Pankow\"]");
+    }
+
+    @Test
+    void encode_withGeometryCollection_shouldWriteFeaturePerMember() {
+        Feature feature = Feature.of("7", GeometryCollection.of(Point.of(0.0, 0.0), LineString.of(Position.of(0.0, 0.0), Position.of(1.0, 1.0))), Map.of("name", "both"));
+
+        byte[] tile = MvtEncoder.DEFAULT.encode("mixed", FeatureCollection.of(feature), 0, 0, 0);
+
+        Map<Integer, List<Object>> layer = message(single(message(tile), Mvt.TILE_LAYERS));
+        List<Map<Integer, List<Object>>> features = layer.get(Mvt.LAYER_FEATURES).stream().map(MvtEncoderTest::message).toList();
+        assertThat(features).hasSize(2);
+        assertThat(features).allSatisfy(member -> assertThat(member.get(Mvt.FEATURE_ID)).containsExactly(7L));
+        assertThat(features.get(0).get(Mvt.FEATURE_TYPE)).containsExactly((long) Mvt.POINT);
+        assertThat(features.get(1).get(Mvt.FEATURE_TYPE)).containsExactly((long) Mvt.LINE_STRING);
+        assertThat(layer.get(Mvt.LAYER_KEYS)).hasSize(1);
+    }
+
+    @Test
+    void encode_whenNoFeatureInTile_shouldReturnEmptyTile() {
+        FeatureCollection featureCollection = FeatureCollection.of(Feature.of("1", Point.of(100.0, -40.0), Map.of("kind", "far away")));
+
+        assertThat(MvtEncoder.DEFAULT.encode("places", featureCollection, 3, 0, 0)).isEmpty();
+        assertThat(MvtEncoder.DEFAULT.encode("places", new FeatureCollection("FeatureCollection", List.of(new Feature("Feature", "1", null, Map.of()))), 0, 0, 0)).isEmpty();
+    }
+
+    @Test
+    void encode_whenTileDoesNotExist_shouldThrowError() {
+        FeatureCollection featureCollection = FeatureCollection.of(Feature.of("1", Point.of(0.0, 0.0), Map.of()));
+        MvtEncoder encoder = MvtEncoder.DEFAULT;
+        assertThrows(IllegalArgumentException.class, () -> encoder.encode("layer", featureCollection, -1, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> encoder.encode("layer", featureCollection, 31, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> encoder.encode("layer", featureCollection, 2, 4, 0));
+        assertThrows(IllegalArgumentException.class, () -> encoder.encode("layer", featureCollection, 2, 0, -1));
+    }
+
+    @Test
+    void withExtentAndBuffer_shouldValidateAndKeepSettings() {
+        MvtEncoder encoder = MvtEncoder.DEFAULT.withExtent(512).withBuffer(8);
+        assertThat(encoder.getExtent()).isEqualTo(512);
+        assertThat(encoder.getBuffer()).isEqualTo(8);
+        assertThat(encoder).hasToString("MvtEncoder{extent=512, buffer=8}");
+        assertThat(MvtEncoder.DEFAULT).hasToString("MvtEncoder{extent=4096, buffer=64}");
+        assertThrows(IllegalArgumentException.class, () -> encoder.withExtent(0));
+        assertThrows(IllegalArgumentException.class, () -> encoder.withBuffer(-1));
+        assertThrows(IllegalArgumentException.class, () -> encoder.withBuffer(513));
+
+        byte[] tile = encoder.encode("layer", FeatureCollection.of(Feature.of("1", Point.of(0.0, 0.0), Map.of())), 0, 0, 0);
+        Map<Integer, List<Object>> layer = message(single(message(tile), Mvt.TILE_LAYERS));
+        assertThat(layer.get(Mvt.LAYER_EXTENT)).containsExactly(512L);
+        assertThat(varints(single(message(single(layer, Mvt.LAYER_FEATURES)), Mvt.FEATURE_GEOMETRY))).containsExactly(9L, 512L, 512L);
+    }
+
+    /**
+     * Decodes the fields of a Protocol Buffers message, varints and fixed values as Long, anything else as byte[].
+     */
+    private static Map<Integer, List<Object>> message(Object bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap((byte[]) bytes).order(ByteOrder.LITTLE_ENDIAN);
+        Map<Integer, List<Object>> fields = new LinkedHashMap<>();
+        while (buffer.hasRemaining()) {
+            long tag = varint(buffer);
+            Object value = switch ((int) (tag & 0x7)) {
+                case ProtobufWriter.WIRE_VARINT -> varint(buffer);
+                case ProtobufWriter.WIRE_FIXED64 -> buffer.getLong();
+                case ProtobufWriter.WIRE_FIXED32 -> (long) buffer.getInt();
+                case ProtobufWriter.WIRE_LENGTH_DELIMITED -> {
+                    byte[] content = new byte[(int) varint(buffer)];
+                    buffer.get(content);
+                    yield content;
+                }
+                default -> throw new IllegalStateException("Unexpected wire type of tag " + tag);
+            };
+            fields.computeIfAbsent((int) (tag >>> 3), field -> new ArrayList<>()).add(value);
+        }
+        return fields;
+    }
+
+    private static Object single(Map<Integer, List<Object>> message, int field) {
+        assertThat(message.get(field)).hasSize(1);
+        return message.get(field).getFirst();
+    }
+
+    private static String string(Object bytes) {
+        return new String((byte[]) bytes, StandardCharsets.UTF_8);
+    }
+
+    private static List<Long> varints(Object bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap((byte[]) bytes);
+        List<Long> values = new ArrayList<>();
+        while (buffer.hasRemaining()) {
+            values.add(varint(buffer));
+        }
+        return values;
+    }
+
+    private static long varint(ByteBuffer buffer) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.mvt;
+
+import com.github.nramc.geojson.domain.GeometryCollection;
+import com.github.nramc.geojson.domain.LineString;
+import com.github.nramc.geojson.domain.MultiPoint;
+import com.github.nramc.geojson.domain.Point;
+import com.github.nramc.geojson.domain.Polygon;
+import com.github.nramc.geojson.domain.Position;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TileGeometryEncoderTest {
+    private static final long MOVE_TO_ONE = 9;
+    private static final long LINE_TO_ONE = 10;
+    private static final long CLOSE_PATH = 15;
+
+    @Test
+    void encode_withPoint_shouldProjectToTileGrid() {
+        TileGeometryEncoder encoder = new TileGeometryEncoder(0, 0, 0, 4096, 0);
+        assertThat(encoder.encode(Point.of(0.0, 0.0))).isEqualTo(Mvt.POINT);
+        assertThat(commands(encoder)).containsExactly(MOVE_TO_ONE, 4096L, 4096L);
+
+        TileGeometryEncoder buffered = new TileGeometryEncoder(0, 0, 0, 4096, 1);
+        assertThat(buffered.encode(Point.of(-180.0, 89.0))).isEqualTo(Mvt.POINT);
+        assertThat(commands(buffered)).containsExactly(MOVE_TO_ONE, 0L, 0L);
+    }
+
+    @Test
+    void encode_withMultiPoint_shouldDropPointsOutsideBuffer() {
+        TileGeometryEncoder encoder = new TileGeometryEncoder(1, 0, 0, 4096, 64);
+        MultiPoint multiPoint = MultiPoint.of(Position.of(-90.0, 0.0), Position.of(90.0, 0.0), Position.of(-180.0, 0.0));
+
+        assertThat(encoder.encode(multiPoint)).isEqualTo(Mvt.POINT);
+        // MoveTo(2), (2048, 4096), then (-2048, 0) relative
+        assertThat(commands(encoder)).containsExactly(2 << 3 | 1L, 4096L, 8192L, 4095L, 0L);
+        assertThat(encoder.encode(Point.of(90.0, 0.0))).isEqualTo(Mvt.UNKNOWN);
+    }
+
+    @Test
+    void encode_withLineCrossingTileBorder_shouldClipLine() {
+        TileGeometryEncoder encoder = new TileGeometryEncoder(1, 0, 0, 4096, 0);
+
+        assertThat(encoder.encode(LineString.of(Position.of(-90.0, 0.0), Position.of(90.0, 0.0)))).isEqualTo(Mvt.LINE_STRING);
+        assertThat(commands(encoder)).containsExactly(MOVE_TO_ONE, 4096L, 8192L, LINE_TO_ONE, 4096L, 0L);
+    }
+
+    @Test
+    void encode_withLineLeavingAndReenteringTile_shouldSplitLine() {
+        TileGeometryEncoder encoder = new TileGeometryEncoder(0, 0, 0, 256, 0);
+        LineString lineString = LineString.of(Position.of(0.0, 0.0), Position.of(0.0, 89.0), Position.of(90.0, 89.0), Position.of(90.0, 0.0));
+
+        assertThat(encoder.encode(lineString)).isEqualTo(Mvt.LINE_STRING);
+        List<Long> commands = commands(encoder);
+        assertThat(commands.stream().filter(command -> command == MOVE_TO_ONE).count()).isEqualTo(2);
+        // (128, 128) up to the top border, then from the top border down to (192, 128)
+        assertThat(commands).containsExactly(MOVE_TO_ONE, 256L, 256L, LINE_TO_ONE, 0L, 255L,
+                MOVE_TO_ONE, 128L, 0L, LINE_TO_ONE, 0L, 256L);
+    }
+
+    @Test
+    void encode_withPolygon_shouldWindExteriorClockwiseAndHolesCounterclockwise() {
+        TileGeometryEncoder encoder = new TileGeometryEncoder(0, 0, 0, 4096, 0);
+        Polygon polygon = Polygon.of(
+                List.of(Position.of(-10.0, -10.0), Position.of(10.0, -10.0), Position.of(10.0, 10.0), Position.of(-10.0, 10.0), Position.of(-10.0, -10.0)),
+                List.of(Position.of(-5.0, -5.0), Position.of(-5.0, 5.0), Position.of(5.0, 5.0), Position.of(5.0, -5.0), Position.of(-5.0, -5.0)));
+
+        assertThat(encoder.encode(polygon)).isEqualTo(Mvt.POLYGON);
+        List<long[]> rings = rings(commands(encoder));
+        assertThat(rings).hasSize(2);
+        assertThat(doubleArea(rings.get(0))).isPositive();
+        assertThat(doubleArea(rings.get(1))).isNegative();
+
+        Polygon reversed = Polygon.of(
+                List.of(Position.of(-10.0, -10.0), Position.of(-10.0, 10.0), Position.of(10.0, 10.0), Position.of(10.0, -10.0), Position.of(-10.0, -10.0)));
+        assertThat(encoder.encode(reversed)).isEqualTo(Mvt.POLYGON);
+        assertThat(doubleArea(rings(commands(encoder)).getFirst())).isPositive();
+    }
+
+    @Test
+    void encode_withPolygonLargerThanTile_shouldClipToBufferedTile() {
+        TileGeometryEncoder encoder = new TileGeometryEncoder(2, 1, 1, 4096, 64);
+        Polygon polygon = Polygon.of(List.of(Position.of(-170.0, -80.0), Position.of(170.0, -80.0), Position.of(170.0, 80.0), Position.of(-170.0, 80.0), Position.of(-170.0, -80.0)));
+
+        assertThat(encoder.encode(polygon)).isEqualTo(Mvt.POLYGON);
+        long[] ring = rings(commands(encoder)).getFirst();
+        assertThat(ring).hasSize(8);
+        for (long coordinate : ring) {
+            assertThat(coordinate).isIn(-64L, 4160L);
+        }
+    }
+
+    @Test
+    void encode_withPolygonOutsideTileOrCollapsed_shouldWriteNothing() {
+        TileGeometryEncoder encoder = new TileGeometryEncoder(1, 1, 1, 4096, 64);
+        Polygon outside = Polygon.of(List.of(Position.of(-20.0, 10.0), Position.of(-10.0, 10.0), Position.of(-10.0, 20.0), Position.of(-20.0, 10.0)));
+        Polygon tiny = Polygon.of(List.of(Position.of(10.0, -10.0), Position.of(10.00001, -10.0), Position.of(10.00001, -10.00001), Position.of(10.0, -10.0)));
+
+        assertThat(encoder.encode(outside)).isEqualTo(Mvt.UNKNOWN);
+        assertThat(encoder.encode(tiny)).isEqualTo(Mvt.UNKNOWN);
+        assertThat(commands(encoder)).isEmpty();
+    }
+
+    @Test
+    void encode_withGeometryCollection_shouldThrowError() {
+        TileGeometryEncoder encoder = new TileGeometryEncoder(0, 0, 0, 4096, 0);
+        GeometryCollection collection = GeometryCollection.of(Point.of(0.0, 0.0));
+        assertThrows(IllegalArgumentException.class, () -> encoder.encode(collection));
+    }
+
+    private static List<Long> commands(TileGeometryEncoder encoder) {
+        ByteBuffer buffer = ByteBuffer.wrap(encoder.commands().toByteArray());
+        List<Long> commands = new ArrayList<>();
+        while (buffer.hasRemaining()) {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = buffer.get();
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            commands.add(value);
+        }
+        return commands;
+    }
+
+    /**
+     * Returns the absolute coordinates of every ring of polygon commands.
+     */
+    private static List<long[]> rings(List<Long> commands) {
+        List<long[]> rings = new ArrayList<>();
+        long x = 0;
+        long y = 0;
+        int i = 0;
+        while (i < commands.size()) {
+            long lineTo = 0;
+            List<Long> ring = new ArrayList<>();
+            for (int command = 0; command < 3; command++) {
+                long header = commands.get(i++);
+                int count = header == CLOSE_PATH ? 0 : (int) (header >> 3);
+                for (int j = 0; j < count; j++) {
+                    x += decode(commands.get(i++));
+                    y += decode(commands.get(i++));
+                    ring.add(x);
+                    ring.add(y);
+                }
+                lineTo += count;
+            }
+            assertThat(lineTo).isGreaterThan(2);
+            rings.add(ring.stream().mapToLong(Long::longValue).toArray());
+        }
+        return rings;
+    }
+
+    private static long decode(long zigZag) {
+        return (zigZag >>> 1) ^ -(zigZag & 1);
+    }
+
+    private static long doubleArea(long[] ring) {
+        long area = 0;
+        int n = ring.length / 2;
+        for (int i = 0; i < n; i++) {
+            int next = (i + 1) % n;
+            area += ring[2 * i] * ring[2 * next + 1] - ring[2 * next] * ring[2 * i + 1];
+        }
+        return area;
+    }
+}
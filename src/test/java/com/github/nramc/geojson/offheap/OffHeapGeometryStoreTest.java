@@ -0,0 +1,135 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.offheap;
+
+import com.github.nramc.geojson.domain.GeometryCollection;
+import com.github.nramc.geojson.domain.LineString;
+import com.github.nramc.geojson.domain.Point;
+import com.github.nramc.geojson.domain.Polygon;
+import com.github.nramc.geojson.domain.PolygonCoordinates;
+import com.github.nramc.geojson.domain.Position;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OffHeapGeometryStoreTest {
+    private static final List<Position> RING = List.of(Position.of(100.0, 0.0), Position.of(101.0, 0.0), Position.of(101.0, 1.0), Position.of(100.0, 1.0), Position.of(100.0, 0.0));
+
+    @Test
+    void add_shouldReturnHandleOfStoredGeometry() {
+        try (OffHeapGeometryStore store = OffHeapGeometryStore.create()) {
+            OffHeapGeometry point = store.add(Point.of(100.0, 0.0));
+            OffHeapGeometry polygon = store.add(Polygon.of(PolygonCoordinates.of(RING)));
+
+            assertThat(store.size()).isEqualTo(2);
+            assertThat(store.get(0)).isEqualTo(point).hasSameHashCodeAs(point);
+            assertThat(store.get(1)).isEqualTo(polygon).isNotEqualTo(point);
+            assertThat(store.getAll()).containsExactly(point, polygon);
+            assertThat(polygon.toGeometry()).isEqualTo(Polygon.of(PolygonCoordinates.of(RING)));
+            assertThat(store.getUsedBytes()).isPositive().isLessThan(store.getAllocatedBytes());
+            assertThat(store.getAllocatedBytes()).isEqualTo(OffHeapGeometryStore.DEFAULT_BLOCK_SIZE);
+        }
+    }
+
+    @Test
+    void add_whenBlockFull_shouldAllocateNextBlock() {
+        try (OffHeapGeometryStore store = OffHeapGeometryStore.create(4096)) {
+            List<LineString> lines = IntStream.range(0, 100)
+                    .mapToObj(i -> LineString.of(Position.of(i, 0.0), Position.of(i, 1.0), Position.of(i + 1.0, 1.0)))
+                    .toList();
+            lines.forEach(store::add);
+            LineString large = LineString.of(IntStream.range(0, 1000).mapToObj(i -> Position.of(i / 10.0, i / 20.0)).toList());
+            store.add(large);
+
+            assertThat(store.getAllocatedBytes()).isGreaterThan(2 * 4096L);
+            assertThat(IntStream.range(0, 100).mapToObj(i -> store.get(i).toGeometry()).toList()).isEqualTo(lines);
+            assertThat(store.get(100).toGeometry()).isEqualTo(large);
+        }
+    }
+
+    @Test
+    void add_fromManyThreads_shouldStoreEveryGeometry() {
+        try (OffHeapGeometryStore store = OffHeapGeometryStore.create(4096)) {
+            IntStream.range(0, 10_000).parallel().forEach(i -> store.add(Point.of(i / 100.0, 0.0)));
+
+            assertThat(store.size()).isEqualTo(10_000);
+            assertThat(store.getAll().stream().mapToDouble(geometry -> geometry.getX(0)).sorted().toArray())
+                    .isEqualTo(IntStream.range(0, 10_000).mapToDouble(i -> i / 100.0).toArray());
+        }
+    }
+
+    @Test
+    void add_whenGeometryUnsupported_shouldThrowError() {
+        try (OffHeapGeometryStore store = OffHeapGeometryStore.create()) {
+            GeometryCollection collection = GeometryCollection.of(Point.of(1.0, 2.0));
+            LineString mixed = new LineString("LineString", List.of(Position.of(1.0, 2.0), Position.of(1.0, 2.0, 3.0)));
+            LineString withNull = new LineString("LineString", Arrays.asList(Position.of(1.0, 2.0), null));
+            Point withoutCoordinates = new Point("Point", new Position(new double[]{1.0}));
+
+            assertThrows(IllegalArgumentException.class, () -> store.add(collection));
+            assertThrows(IllegalArgumentException.class, () -> store.add(mixed));
+            assertThrows(IllegalArgumentException.class, () -> store.add(withNull));
+            assertThrows(IllegalArgumentException.class, () -> store.add(withoutCoordinates));
+            assertThrows(NullPointerException.class, () -> store.add(null));
+            assertThat(store.size()).isZero();
+        }
+    }
+
+    @Test
+    void create_whenBlockSizeTooSmall_shouldThrowError() {
+        assertThrows(IllegalArgumentException.class, () -> OffHeapGeometryStore.create(100));
+    }
+
+    @Test
+    void get_whenIndexOutOfRange_shouldThrowError() {
+        try (OffHeapGeometryStore store = OffHeapGeometryStore.create()) {
+            store.add(Point.of(1.0, 2.0));
+            assertThrows(IndexOutOfBoundsException.class, () -> store.get(1));
+            assertThrows(IndexOutOfBoundsException.class, () -> store.get(-1));
+        }
+    }
+
+    @Test
+    void close_shouldReleaseEveryGeometry() {
+        OffHeapGeometryStore store = OffHeapGeometryStore.create();
+        OffHeapGeometry point = store.add(Point.of(1.0, 2.0));
+        store.close();
+        store.close();
+
+        assertThat(store.isOpen()).isFalse();
+        assertThat(store.size()).isZero();
+        assertThat(store.getAllocatedBytes()).isZero();
+        assertThat(point).hasToString("OffHeapGeometry{released}");
+        assertThrows(IllegalStateException.class, point::toGeometry);
+        assertThrows(IllegalStateException.class, () -> point.getX(0));
+        assertThrows(IllegalStateException.class, () -> store.get(0));
+        assertThrows(IllegalStateException.class, () -> store.add(Point.of(1.0, 2.0)));
+        assertThrows(IllegalStateException.class, store::getAll);
+    }
+
+    @Test
+    void toString_shouldContainBlockSizeAndSize() {
+        try (OffHeapGeometryStore store = OffHeapGeometryStore.create(4096)) {
+            store.add(Point.of(1.0, 2.0));
+            assertThat(store).hasToString("OffHeapGeometryStore{blockSize=4096, size=1, open=true}");
+        }
+    }
+}
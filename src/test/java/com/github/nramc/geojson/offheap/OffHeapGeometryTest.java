@@ -0,0 +1,141 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.offheap;
+
+import com.github.nramc.geojson.domain.CoordinateSequence;
+import com.github.nramc.geojson.domain.Geometry;
+import com.github.nramc.geojson.domain.LineString;
+import com.github.nramc.geojson.domain.MultiLineString;
+import com.github.nramc.geojson.domain.MultiPoint;
+import com.github.nramc.geojson.domain.MultiPolygon;
+import com.github.nramc.geojson.domain.Point;
+import com.github.nramc.geojson.domain.Polygon;
+import com.github.nramc.geojson.domain.PolygonCoordinates;
+import com.github.nramc.geojson.domain.Position;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OffHeapGeometryTest {
+    private static final List<Position> RING = List.of(Position.of(100.0, 0.0), Position.of(101.0, 0.0), Position.of(101.0, 1.0), Position.of(100.0, 1.0), Position.of(100.0, 0.0));
+    private static final List<Position> HOLE = List.of(Position.of(100.2, 0.2), Position.of(100.8, 0.2), Position.of(100.8, 0.8), Position.of(100.2, 0.2));
+    private static final List<Position> OTHER_RING = List.of(Position.of(102.0, 2.0), Position.of(103.0, 2.0), Position.of(103.0, 3.0), Position.of(102.0, 3.0), Position.of(102.0, 2.0));
+
+    private final OffHeapGeometryStore store = OffHeapGeometryStore.create();
+
+    @AfterEach
+    void close() {
+        store.close();
+    }
+
+    @Test
+    void toGeometry_shouldRoundTripEveryType() {
+        List<Geometry> geometries = List.of(
+                Point.of(100.0, 0.0),
+                Point.of(100.0, 0.0, 42.0),
+                LineString.of(Position.of(100.0, 0.0), Position.of(101.0, 1.0)),
+                Polygon.of(PolygonCoordinates.of(RING, HOLE)),
+                MultiPoint.of(Position.of(100.0, 0.0, 1.0), Position.of(101.0, 1.0, 2.0)),
+                MultiLineString.of(List.of(Position.of(100.0, 0.0), Position.of(101.0, 1.0)), List.of(Position.of(102.0, 2.0), Position.of(103.0, 3.0))),
+                MultiPolygon.of(PolygonCoordinates.of(RING, HOLE), PolygonCoordinates.of(OTHER_RING))
+        );
+        for (Geometry geometry : geometries) {
+            OffHeapGeometry stored = store.add(geometry);
+            assertThat(stored.toGeometry()).isEqualTo(geometry).hasSameClassAs(geometry);
+            assertThat(stored.getType()).isEqualTo(geometry.getClass().getSimpleName());
+        }
+    }
+
+    @Test
+    void toGeometry_withEmptyGeometries_shouldKeepThemEmpty() {
+        assertThat(((Point) store.add(new Point("Point", null)).toGeometry()).getCoordinates()).isNull();
+        assertThat(store.add(new LineString("LineString", List.of())).toGeometry()).isEqualTo(new LineString("LineString", List.of()));
+        assertThat(((MultiPolygon) store.add(new MultiPolygon("MultiPolygon", List.of())).toGeometry()).getCoordinates()).isNull();
+        assertThat(((Polygon) store.add(new Polygon("Polygon", null)).toGeometry()).getCoordinates()).isNull();
+        assertThat(store.add(new LineString("LineString", List.of())).getBoundingBox()).containsOnly(Double.NaN);
+    }
+
+    @Test
+    void toGeometry_shouldCreateCoordinateSequences() {
+        MultiLineString multiLineString = (MultiLineString) store.add(MultiLineString.of(
+                List.of(Position.of(100.0, 0.0), Position.of(101.0, 1.0)), List.of(Position.of(102.0, 2.0), Position.of(103.0, 3.0)))).toGeometry();
+
+        assertThat(multiLineString.getCoordinates()).allSatisfy(line -> assertThat(line).isInstanceOf(CoordinateSequence.class));
+        assertThat(multiLineString.getCoordinates().getLast()).isEqualTo(CoordinateSequence.of(2, 102.0, 2.0, 103.0, 3.0));
+    }
+
+    @Test
+    void getOrdinate_shouldReadPositionsAcrossParts() {
+        OffHeapGeometry geometry = store.add(MultiPolygon.of(PolygonCoordinates.of(RING, HOLE), PolygonCoordinates.of(OTHER_RING)));
+
+        assertThat(geometry.getDimension()).isEqualTo(2);
+        assertThat(geometry.getPositionCount()).isEqualTo(14);
+        assertThat(geometry.getPolygonCount()).isEqualTo(2);
+        assertThat(geometry.getRingCount(0)).isEqualTo(2);
+        assertThat(geometry.getRingCount(1)).isEqualTo(1);
+        assertThat(geometry.getPartCount()).isEqualTo(3);
+        assertThat(geometry.getPartStart(1)).isEqualTo(5);
+        assertThat(geometry.getPartEnd(1)).isEqualTo(9);
+        assertThat(geometry.getPartStart(0)).isZero();
+        assertThat(geometry.getPartEnd(2)).isEqualTo(14);
+        assertThat(geometry.getX(5)).isEqualTo(100.2);
+        assertThat(geometry.getY(5)).isEqualTo(0.2);
+        assertThat(geometry.getOrdinate(13, 0)).isEqualTo(102.0);
+    }
+
+    @Test
+    void getOrdinate_withAltitude_shouldReadThirdCoordinate() {
+        OffHeapGeometry geometry = store.add(LineString.of(Position.of(1.0, 2.0, 3.0), Position.of(4.0, 5.0, 6.0)));
+
+        assertThat(geometry.getDimension()).isEqualTo(3);
+        assertThat(geometry.getOrdinate(1, 2)).isEqualTo(6.0);
+        assertThat(geometry.getPartCount()).isEqualTo(1);
+        assertThat(geometry.getPolygonCount()).isZero();
+    }
+
+    @Test
+    void getOrdinate_whenIndexOutOfRange_shouldThrowError() {
+        OffHeapGeometry geometry = store.add(LineString.of(Position.of(1.0, 2.0), Position.of(4.0, 5.0)));
+
+        assertThrows(IndexOutOfBoundsException.class, () -> geometry.getX(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> geometry.getOrdinate(0, 2));
+        assertThrows(IndexOutOfBoundsException.class, () -> geometry.getPartStart(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> geometry.getPartEnd(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> geometry.getRingCount(0));
+    }
+
+    @Test
+    void getBoundingBox_shouldCoverEveryPosition() {
+        OffHeapGeometry geometry = store.add(MultiPolygon.of(PolygonCoordinates.of(RING, HOLE), PolygonCoordinates.of(OTHER_RING)));
+
+        assertThat(geometry.getBoundingBox()).containsExactly(100.0, 0.0, 103.0, 3.0);
+        assertThat(geometry.intersects(102.5, 2.5, 110.0, 10.0)).isTrue();
+        assertThat(geometry.intersects(103.0, 3.0, 103.0, 3.0)).isTrue();
+        assertThat(geometry.intersects(104.0, 0.0, 110.0, 10.0)).isFalse();
+        assertThat(geometry.intersects(90.0, -10.0, 99.0, 10.0)).isFalse();
+        assertThat(store.add(new LineString("LineString", List.of())).intersects(-180.0, -90.0, 180.0, 90.0)).isFalse();
+    }
+
+    @Test
+    void toString_shouldContainTypeAndPositions() {
+        OffHeapGeometry geometry = store.add(LineString.of(Position.of(1.0, 2.0), Position.of(4.0, 5.0)));
+        assertThat(geometry).hasToString("OffHeapGeometry{type=LineString, dimension=2, positions=2, boundingBox=[1.0, 2.0, 4.0, 5.0]}");
+    }
+}
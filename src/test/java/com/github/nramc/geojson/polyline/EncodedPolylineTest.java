@@ -0,0 +1,121 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.polyline;
+
+import com.github.nramc.geojson.domain.CoordinateSequence;
+import com.github.nramc.geojson.domain.LineString;
+import com.github.nramc.geojson.domain.MultiLineString;
+import com.github.nramc.geojson.domain.Position;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class EncodedPolylineTest {
+    private static final String GOOGLE_EXAMPLE = "_p~iF~ps|U_ulLnnqC_mqNvxq`@";
+    private static final LineString GOOGLE_LINE = LineString.of(
+            Position.of(-120.2, 38.5), Position.of(-120.95, 40.7), Position.of(-126.453, 43.252));
+
+    @Test
+    void encode_withLineString_shouldWriteLatitudeFirst() {
+        assertThat(EncodedPolyline.DEFAULT.encode(GOOGLE_LINE)).isEqualTo(GOOGLE_EXAMPLE);
+    }
+
+    @Test
+    void decodeLineString_shouldReadLongitudeFirst() {
+        LineString lineString = EncodedPolyline.DEFAULT.decodeLineString(GOOGLE_EXAMPLE);
+        assertThat(lineString).isEqualTo(GOOGLE_LINE);
+        assertThat(lineString.getType()).isEqualTo("LineString");
+    }
+
+    @Test
+    void encode_withPrecision6_shouldRoundTrip() {
+        EncodedPolyline polyline = EncodedPolyline.DEFAULT.withPrecision(6);
+        LineString lineString = LineString.of(Position.of(13.388799, 52.517033), Position.of(13.397631, 52.529432), Position.of(-0.000001, 0.0));
+
+        String encoded = polyline.encode(lineString);
+        assertThat(encoded).isNotEqualTo(EncodedPolyline.DEFAULT.encode(lineString));
+        assertThat(polyline.decodeLineString(encoded)).isEqualTo(lineString);
+        assertThat(polyline.getPrecision()).isEqualTo(6);
+    }
+
+    @Test
+    void encode_withAltitude_shouldDropAltitude() {
+        String encoded = EncodedPolyline.DEFAULT.encode(LineString.of(Position.of(-120.2, 38.5, 100.0), Position.of(-120.95, 40.7, 200.0)));
+        assertThat(EncodedPolyline.DEFAULT.decodeLineString(encoded)).isEqualTo(LineString.of(Position.of(-120.2, 38.5), Position.of(-120.95, 40.7)));
+    }
+
+    @Test
+    void encode_withMultiLineString_shouldEncodeEveryLine() {
+        MultiLineString multiLineString = MultiLineString.of(GOOGLE_LINE.getCoordinates(), List.of(Position.of(1.0, 2.0), Position.of(3.0, 4.0)));
+
+        List<String> encoded = EncodedPolyline.DEFAULT.encode(multiLineString);
+        assertThat(encoded).hasSize(2).first().isEqualTo(GOOGLE_EXAMPLE);
+        MultiLineString decoded = EncodedPolyline.DEFAULT.decodeMultiLineString(encoded);
+        assertThat(decoded).isEqualTo(multiLineString);
+        assertThat(EncodedPolyline.DEFAULT.encode(new MultiLineString("MultiLineString", List.of()))).isEmpty();
+    }
+
+    @Test
+    void encode_withReusedBuilder_shouldAppendPolylines() {
+        StringBuilder builder = new StringBuilder();
+        EncodedPolyline.DEFAULT.encode(GOOGLE_LINE.getCoordinates(), builder);
+        int end = builder.length();
+        EncodedPolyline.DEFAULT.encode(GOOGLE_LINE.getCoordinates(), builder);
+
+        assertThat(builder).hasToString(GOOGLE_EXAMPLE + GOOGLE_EXAMPLE);
+        assertThat(EncodedPolyline.DEFAULT.decode(builder, end, builder.length())).isEqualTo(GOOGLE_LINE.getCoordinates())
+                .isInstanceOf(CoordinateSequence.class);
+        assertThat(EncodedPolyline.DEFAULT.decode(builder, 0, 0)).isEmpty();
+    }
+
+    @Test
+    void encode_withLongLine_shouldRoundTrip() {
+        LineString lineString = LineString.of(IntStream.range(0, 1000)
+                .mapToObj(i -> Position.of((-18_000_000 + i * 36_000) / 1e5, (8_900_000 - i * 17_803) / 1e5)).toList());
+        assertThat(EncodedPolyline.DEFAULT.decodeLineString(EncodedPolyline.DEFAULT.encode(lineString))).isEqualTo(lineString);
+        assertThat(EncodedPolyline.DEFAULT.encode(new LineString("LineString", List.of()))).isEmpty();
+    }
+
+    @Test
+    void encode_whenPositionInvalid_shouldThrowError() {
+        EncodedPolyline polyline = EncodedPolyline.DEFAULT;
+        LineString withNaN = new LineString(null, List.of(Position.of(1.0, 2.0), new Position(new double[]{Double.NaN, 1.0})));
+        LineString withNull = new LineString(null, Arrays.asList(Position.of(1.0, 2.0), null));
+        assertThrows(IllegalArgumentException.class, () -> polyline.encode(withNaN));
+        assertThrows(IllegalArgumentException.class, () -> polyline.encode(withNull));
+        assertThrows(IllegalArgumentException.class, () -> polyline.withPrecision(8));
+    }
+
+    @Test
+    void decode_whenPolylineMalformed_shouldThrowError() {
+        EncodedPolyline polyline = EncodedPolyline.DEFAULT;
+        assertThrows(IllegalArgumentException.class, () -> polyline.decodeLineString("_p~iF"));
+        assertThrows(IllegalArgumentException.class, () -> polyline.decodeLineString("_p~i"));
+        assertThrows(IllegalArgumentException.class, () -> polyline.decodeLineString("_p~iF ps|U"));
+        assertThrows(IllegalArgumentException.class, () -> polyline.decodeLineString("~~~~~~~~~~~~~~?"));
+        assertThrows(IndexOutOfBoundsException.class, () -> polyline.decode(GOOGLE_EXAMPLE, 2, 100));
+    }
+
+    @Test
+    void toString_shouldContainPrecision() {
+        assertThat(EncodedPolyline.DEFAULT).hasToString("EncodedPolyline{precision=5}");
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.quantization;
+
+import com.github.nramc.geojson.domain.Feature;
+import com.github.nramc.geojson.domain.FeatureCollection;
+import com.github.nramc.geojson.domain.GeometryCollection;
+import com.github.nramc.geojson.domain.LineString;
+import com.github.nramc.geojson.domain.Point;
+import com.github.nramc.geojson.domain.Position;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class QuantizationTest {
+
+    @Test
+    void of_withBoundingBox_shouldMapBoxOntoGrid() {
+        Quantization quantization = Quantization.of(1001, 10.0, 50.0, 20.0, 55.0);
+
+        assertThat(quantization.getScale()).containsExactly(0.01, 0.005);
+        assertThat(quantization.getTranslate()).containsExactly(10.0, 50.0);
+        assertThat(quantization.quantizeX(10.0)).isZero();
+        assertThat(quantization.quantizeX(20.0)).isEqualTo(1000);
+        assertThat(quantization.quantizeY(55.0)).isEqualTo(1000);
+        assertThat(quantization.quantizeX(13.404954)).isEqualTo(340);
+        assertThat(quantization.dequantizeX(340)).isEqualTo(340 * 0.01 + 10.0);
+        assertThat(quantization.dequantizeY(-2)).isEqualTo(-2 * 0.005 + 50.0);
+    }
+
+    @Test
+    void quantize_withRestoredCoordinates_shouldReturnSameGridValues() {
+        Quantization quantization = Quantization.of(1_000_000, -180.0, -90.0, 180.0, 90.0);
+        for (int x = -5; x < 1_000_005; x += 997) {
+            assertThat(quantization.quantizeX(quantization.dequantizeX(x))).isEqualTo(x);
+            assertThat(quantization.quantizeY(quantization.dequantizeY(x))).isEqualTo(x);
+        }
+    }
+
+    @Test
+    void of_withFeatureCollection_shouldCoverAllPositions() {
+        FeatureCollection featureCollection = new FeatureCollection("FeatureCollection", List.of(
+                Feature.of("1", Point.of(-3.0, 40.0), Map.of()),
+                Feature.of("2", GeometryCollection.of(LineString.of(Position.of(2.0, 41.0), Position.of(5.0, 38.0))), Map.of()),
+                new Feature("Feature", "3", null, Map.of())));
+
+        Quantization quantization = Quantization.of(9, featureCollection);
+
+        assertThat(quantization.getTranslate()).containsExactly(-3.0, 38.0);
+        assertThat(quantization.getScale()).containsExactly(1.0, 0.375);
+        assertThat(Quantization.of(10, new FeatureCollection("FeatureCollection", List.of()))).isEqualTo(Quantization.of(1.0, 1.0, 0.0, 0.0));
+        assertThat(Quantization.of(10, FeatureCollection.of(Feature.of("1", Point.of(7.0, 8.0), Map.of())))).isEqualTo(Quantization.of(1.0, 1.0, 7.0, 8.0));
+    }
+
+    @Test
+    void of_whenArgumentsInvalid_shouldThrowError() {
+        assertThrows(IllegalArgumentException.class, () -> Quantization.of(1, 0.0, 0.0, 1.0, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> Quantization.of(10, 1.0, 0.0, 0.0, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> Quantization.of(0.0, 1.0, 0.0, 0.0));
+        assertThrows(IllegalArgumentException.class, () -> Quantization.of(1.0, 1.0, Double.NaN, 0.0));
+    }
+
+    @Test
+    void quantize_whenCoordinateOutOfRange_shouldThrowError() {
+        Quantization quantization = Quantization.of(1e-9, 1e-9, 0.0, 0.0);
+        assertThrows(IllegalArgumentException.class, () -> quantization.quantizeX(180.0));
+        assertThrows(IllegalArgumentException.class, () -> quantization.quantizeY(Double.NaN));
+    }
+
+    @Test
+    void equalsAndToString_shouldUseScaleAndTranslate() {
+        Quantization quantization = Quantization.of(0.5, 0.25, -180.0, -90.0);
+        assertThat(quantization).isEqualTo(Quantization.of(0.5, 0.25, -180.0, -90.0)).hasSameHashCodeAs(Quantization.of(0.5, 0.25, -180.0, -90.0))
+                .isNotEqualTo(Quantization.of(0.5, 0.25, -180.0, 90.0))
+                .hasToString("Quantization{scale=[0.5, 0.25], translate=[-180.0, -90.0]}");
+    }
+}
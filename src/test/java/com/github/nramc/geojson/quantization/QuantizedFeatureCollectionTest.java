@@ -0,0 +1,86 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.quantization;
+
+import com.github.nramc.geojson.domain.Feature;
+import com.github.nramc.geojson.domain.FeatureCollection;
+import com.github.nramc.geojson.domain.LineString;
+import com.github.nramc.geojson.domain.Point;
+import com.github.nramc.geojson.domain.Position;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.data.Offset.offset;
+
+class QuantizedFeatureCollectionTest {
+    private static final FeatureCollection FEATURE_COLLECTION = new FeatureCollection("FeatureCollection", List.of(
+            Feature.of("1", Point.of(13.404954, 52.520008), Map.of("name", "Berlin")),
+            Feature.of("2", LineString.of(Position.of(9.993682, 53.551086), Position.of(11.576124, 48.137154)), Map.of("name", "A9")),
+            new Feature("Feature", "3", null, Map.of("name", "nowhere"))));
+
+    @Test
+    void of_withQuantization_shouldKeepFeaturesOnGrid() {
+        QuantizedFeatureCollection quantized = QuantizedFeatureCollection.of(FEATURE_COLLECTION, 1_000_000);
+
+        assertThat(quantized.size()).isEqualTo(3);
+        assertThat(quantized.getQuantization().getTranslate()).containsExactly(9.993682, 48.137154);
+        Feature berlin = quantized.getFeature(0);
+        assertThat(berlin.getId()).isEqualTo("1");
+        assertThat(berlin.getProperties()).isEqualTo(Map.of("name", "Berlin"));
+        Position position = ((Point) berlin.getGeometry()).getCoordinates();
+        assertThat(position.getLongitude()).isCloseTo(13.404954, offset(1e-5));
+        assertThat(position.getLatitude()).isCloseTo(52.520008, offset(1e-5));
+        assertThat(quantized.getGeometry(2)).isNull();
+        assertThat(quantized.getFeature(2).getGeometry()).isNull();
+        assertThat(quantized).hasToString("QuantizedFeatureCollection{quantization=" + quantized.getQuantization() + ", features=3}");
+    }
+
+    @Test
+    void toFeatureCollection_shouldBeStableAcrossRoundTrips() {
+        QuantizedFeatureCollection quantized = QuantizedFeatureCollection.of(FEATURE_COLLECTION, 10_000);
+        FeatureCollection restored = quantized.toFeatureCollection();
+
+        QuantizedFeatureCollection again = QuantizedFeatureCollection.of(restored, quantized.getQuantization());
+        for (int i = 0; i < quantized.size(); i++) {
+            assertThat(again.getGeometry(i)).isEqualTo(quantized.getGeometry(i));
+            assertThat(again.getFeature(i).getGeometry()).isEqualTo(restored.getFeatures().get(i).getGeometry());
+        }
+    }
+
+    @Test
+    void serialize_shouldKeepFeatures() throws IOException, ClassNotFoundException {
+        QuantizedFeatureCollection quantized = QuantizedFeatureCollection.of(FEATURE_COLLECTION, 1_000_000);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+            output.writeObject(quantized);
+        }
+        try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            QuantizedFeatureCollection result = (QuantizedFeatureCollection) input.readObject();
+            assertThat(result.getQuantization()).isEqualTo(quantized.getQuantization());
+            assertThat(result.getFeature(0)).isEqualTo(quantized.getFeature(0));
+            assertThat(result.getFeature(1)).isEqualTo(quantized.getFeature(1));
+            assertThat(result.getFeature(2).getProperties()).isEqualTo(Map.of("name", "nowhere"));
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.quantization;
+
+import com.github.nramc.geojson.domain.Geometry;
+import com.github.nramc.geojson.domain.GeometryCollection;
+import com.github.nramc.geojson.domain.LineString;
+import com.github.nramc.geojson.domain.MultiLineString;
+import com.github.nramc.geojson.domain.MultiPoint;
+import com.github.nramc.geojson.domain.MultiPolygon;
+import com.github.nramc.geojson.domain.Point;
+import com.github.nramc.geojson.domain.Polygon;
+import com.github.nramc.geojson.domain.PolygonCoordinates;
+import com.github.nramc.geojson.domain.Position;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class QuantizedGeometryTest {
+    private static final Quantization INTEGER_GRID = Quantization.of(1.0, 1.0, 0.0, 0.0);
+    private static final Quantization QUANTIZATION = Quantization.of(1e-6, 1e-6, 0.0, 0.0);
+
+    @Test
+    void of_withLineString_shouldStoreDeltas() {
+        QuantizedGeometry quantized = QuantizedGeometry.of(LineString.of(Position.of(10.0, 20.0), Position.of(11.0, 19.0), Position.of(11.4, 19.6)), INTEGER_GRID);
+
+        assertThat(quantized.getType()).isEqualTo("LineString");
+        assertThat(quantized.getStructure()).containsExactly(3);
+        assertThat(quantized.getDeltas()).containsExactly(10, 20, 1, -1, 0, 1);
+        assertThat(quantized.getPositionCount()).isEqualTo(3);
+        assertThat(quantized.toGeometry(INTEGER_GRID)).isEqualTo(LineString.of(Position.of(10.0, 20.0), Position.of(11.0, 19.0), Position.of(11.0, 20.0)));
+        assertThat(quantized).hasToString("QuantizedGeometry{type='LineString', positions=3}");
+    }
+
+    @Test
+    void toGeometry_withEveryGeometryType_shouldRestoreGeometry() {
+        List<Position> exterior = List.of(Position.of(1.0, 1.0), Position.of(2.0, 1.0), Position.of(2.0, 2.0), Position.of(1.0, 1.0));
+        List<Position> hole = List.of(Position.of(1.5, 1.2), Position.of(1.9, 1.2), Position.of(1.9, 1.6), Position.of(1.5, 1.2));
+        List<Geometry> geometries = List.of(
+                Point.of(13.404954, 52.520008),
+                Point.of(13.404954, 52.520008, 34.5),
+                MultiPoint.of(Position.of(1.0, 2.0), Position.of(-3.0, -4.0)),
+                LineString.of(Position.of(1.0, 2.0, 3.0), Position.of(4.0, 5.0)),
+                MultiLineString.of(List.of(Position.of(1.0, 2.0), Position.of(3.0, 4.0)), List.of(Position.of(5.0, 6.0), Position.of(7.0, 8.0))),
+                Polygon.of(exterior, hole),
+                MultiPolygon.of(PolygonCoordinates.of(exterior), PolygonCoordinates.of(exterior, hole)),
+                GeometryCollection.of(Point.of(1.0, 2.0), LineString.of(Position.of(1.0, 2.0), Position.of(3.0, 4.0)))
+        );
+        for (Geometry geometry : geometries) {
+            QuantizedGeometry quantized = QuantizedGeometry.of(geometry, QUANTIZATION);
+            assertThat(quantized.toGeometry(QUANTIZATION)).isEqualTo(onGrid(geometry)).hasSameClassAs(geometry);
+            assertThat(QuantizedGeometry.of(quantized.toGeometry(QUANTIZATION), QUANTIZATION)).isEqualTo(quantized);
+        }
+    }
+
+    @Test
+    void of_withGeometryCollection_shouldQuantizeMembers() {
+        QuantizedGeometry quantized = QuantizedGeometry.of(GeometryCollection.of(Point.of(1.0, 2.0), Point.of(3.0, 4.0)), INTEGER_GRID);
+
+        assertThat(quantized.getType()).isEqualTo("GeometryCollection");
+        assertThat(quantized.getMembers()).hasSize(2);
+        assertThat(quantized.getMembers().get(1).getDeltas()).containsExactly(3, 4);
+        assertThat(quantized.getPositionCount()).isEqualTo(2);
+        assertThat(quantized.getDeltas()).isEmpty();
+    }
+
+    @Test
+    void of_withEmptyCoordinates_shouldRestoreEmptyGeometry() {
+        assertThat(QuantizedGeometry.of(new Point("Point", null), INTEGER_GRID).toGeometry(INTEGER_GRID)).isEqualTo(new Point("Point", null));
+        assertThat(QuantizedGeometry.of(new LineString("LineString", List.of()), INTEGER_GRID).toGeometry(INTEGER_GRID)).isEqualTo(new LineString("LineString", List.of()));
+        Polygon polygon = (Polygon) QuantizedGeometry.of(new Polygon("Polygon", null), INTEGER_GRID).toGeometry(INTEGER_GRID);
+        assertThat(polygon.getCoordinates().getExterior()).isNull();
+    }
+
+    @Test
+    void of_whenPositionInvalid_shouldThrowError() {
+        LineString withNaN = new LineString("LineString", List.of(Position.of(1.0, 2.0), new Position(new double[]{Double.NaN, 1.0})));
+        LineString withNull = new LineString("LineString", Arrays.asList(Position.of(1.0, 2.0), null));
+        assertThrows(IllegalArgumentException.class, () -> QuantizedGeometry.of(withNaN, INTEGER_GRID));
+        assertThrows(IllegalArgumentException.class, () -> QuantizedGeometry.of(withNull, INTEGER_GRID));
+    }
+
+    @Test
+    void serialize_shouldKeepQuantizedGeometry() throws IOException, ClassNotFoundException {
+        QuantizedGeometry quantized = QuantizedGeometry.of(GeometryCollection.of(Point.of(1.0, 2.0, 3.0), LineString.of(Position.of(1.0, 2.0), Position.of(3.0, 4.0))), QUANTIZATION);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+            output.writeObject(quantized);
+        }
+        try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertThat(input.readObject()).isEqualTo(quantized).hasSameHashCodeAs(quantized);
+        }
+    }
+
+    /**
+     * Returns the given geometry with every position moved onto the grid, as the quantized geometry restores it.
+     */
+    private static Geometry onGrid(Geometry geometry) {
+        return switch (geometry) {
+            case Point point -> new Point("Point", onGrid(point.getCoordinates()));
+            case MultiPoint multiPoint -> new MultiPoint("MultiPoint", onGrid(multiPoint.getCoordinates()));
+            case LineString lineString -> new LineString("LineString", onGrid(lineString.getCoordinates()));
+            case MultiLineString multiLineString -> new MultiLineString("MultiLineString", multiLineString.getCoordinates().stream().map(QuantizedGeometryTest::onGrid).toList());
+            case Polygon polygon -> new Polygon("Polygon", new PolygonCoordinates(polygon.getCoordinates().getCoordinates().stream().map(QuantizedGeometryTest::onGrid).toList()));
+            case MultiPolygon multiPolygon -> new MultiPolygon("MultiPolygon", multiPolygon.getCoordinates().stream()
+                    .map(coordinates -> new PolygonCoordinates(coordinates.getCoordinates().stream().map(QuantizedGeometryTest::onGrid).toList())).toList());
+            case GeometryCollection collection -> new GeometryCollection("GeometryCollection", collection.getGeometries().stream().map(QuantizedGeometryTest::onGrid).toList());
+        };
+    }
+
+    private static List<Position> onGrid(List<Position> positions) {
+        return positions.stream().map(QuantizedGeometryTest::onGrid).toList();
+    }
+
+    private static Position onGrid(Position position) {
+        double[] coordinates = position.getCoordinates().clone();
+        coordinates[0] = QUANTIZATION.dequantizeX(QUANTIZATION.quantizeX(coordinates[0]));
+        coordinates[1] = QUANTIZATION.dequantizeY(QUANTIZATION.quantizeY(coordinates[1]));
+        return new Position(coordinates);
+    }
+}
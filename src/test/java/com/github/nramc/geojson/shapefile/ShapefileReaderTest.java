@@ -0,0 +1,360 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.shapefile;
+
+import com.github.nramc.geojson.domain.Feature;
+import com.github.nramc.geojson.domain.LineString;
+import com.github.nramc.geojson.domain.MultiLineString;
+import com.github.nramc.geojson.domain.MultiPoint;
+import com.github.nramc.geojson.domain.MultiPolygon;
+import com.github.nramc.geojson.domain.Point;
+import com.github.nramc.geojson.domain.Polygon;
+import com.github.nramc.geojson.domain.PolygonCoordinates;
+import com.github.nramc.geojson.domain.Position;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ShapefileReaderTest {
+    private static final double[][] SQUARE = {{0, 0}, {0, 10}, {10, 10}, {10, 0}, {0, 0}};
+    private static final double[][] SQUARE_HOLE = {{2, 2}, {4, 2}, {4, 4}, {2, 4}, {2, 2}};
+    private static final double[][] ISLAND = {{20, 0}, {20, 5}, {25, 5}, {25, 0}, {20, 0}};
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void read_withPoints_shouldDecodeGeometriesAndProperties() throws IOException {
+        Path path = write("points.shp", Shapefile.POINT, List.of(point(13.4, 52.5), point(-0.1, 51.5)));
+        writeTable("points.dbf", StandardCharsets.ISO_8859_1, new boolean[2],
+                List.of("NAME:C:20", "POP:N:10", "AREA:N:12:3", "CAPITAL:L:1", "FOUNDED:D:8"),
+                List.of("Berlin", "3850809", "891.120", "T", "12370101"),
+                List.of("London", "", "1572.000", "?", ""));
+
+        ShapefileReader reader = ShapefileReader.of(path);
+        List<Feature> features = reader.read().toList();
+
+        assertThat(reader.getRecordCount()).isEqualTo(2);
+        assertThat(reader.getFieldNames()).containsExactly("NAME", "POP", "AREA", "CAPITAL", "FOUNDED");
+        assertThat(features).hasSize(2);
+        assertThat(features.getFirst().getGeometry()).isEqualTo(Point.of(13.4, 52.5));
+        assertThat(features.getFirst().getId()).isNull();
+        assertThat(features.getFirst().getProperties()).isEqualTo(Map.of(
+                "NAME", "Berlin", "POP", 3850809L, "AREA", 891.12, "CAPITAL", true, "FOUNDED", "1237-01-01"));
+        assertThat(features.get(1).getProperties()).isEqualTo(Map.of("NAME", "London", "AREA", 1572.0));
+    }
+
+    @Test
+    void of_shouldReadBoundingBox() throws IOException {
+        ShapefileReader reader = ShapefileReader.of(write("points.shp", Shapefile.POINT, List.of(point(13.4, 52.5), point(-0.1, 51.5))));
+        assertThat(reader.getBoundingBox()).containsExactly(-0.1, 51.5, 13.4, 52.5);
+        reader.getBoundingBox()[0] = 100;
+        assertThat(reader.getBoundingBox()[0]).isEqualTo(-0.1);
+    }
+
+    @Test
+    void read_withoutTable_shouldReturnFeaturesWithoutProperties() throws IOException {
+        ShapefileReader reader = ShapefileReader.of(write("points.shp", Shapefile.POINT, List.of(point(1, 2))));
+        assertThat(reader.getFieldNames()).isEmpty();
+        assertThat(reader.read().toList()).singleElement()
+                .satisfies(feature -> assertThat(feature.getProperties()).isEmpty());
+    }
+
+    @Test
+    void read_withPointsZ_shouldKeepAltitudeAndDropMeasure() throws IOException {
+        ByteBuffer pointZ = record(Shapefile.POINT_Z, 36).putDouble(1).putDouble(2).putDouble(3).putDouble(4);
+        ByteBuffer pointM = record(Shapefile.POINT_M, 28).putDouble(5).putDouble(6).putDouble(7);
+        ShapefileReader reader = ShapefileReader.of(write("points.shp", Shapefile.POINT_Z, List.of(pointZ, pointM, record(Shapefile.NULL_SHAPE, 4))));
+
+        assertThat(reader.read().map(Feature::getGeometry)).containsExactly(Point.of(1, 2, 3), Point.of(5, 6), null);
+    }
+
+    @Test
+    void read_withPolyLines_shouldDecodeLineStringsAndMultiLineStrings() throws IOException {
+        double[][] first = {{0, 0}, {1, 1}, {2, 0}};
+        double[][] second = {{5, 5}, {6, 6}};
+        ShapefileReader reader = ShapefileReader.of(write("lines.shp", Shapefile.POLY_LINE,
+                List.of(parts(Shapefile.POLY_LINE, first), parts(Shapefile.POLY_LINE, first, second))));
+
+        assertThat(reader.read().map(Feature::getGeometry)).containsExactly(
+                LineString.of(positions(first)),
+                MultiLineString.of(positions(first), positions(second)));
+    }
+
+    @Test
+    void read_withPolyLineZ_shouldReadAltitudes() throws IOException {
+        double[][] line = {{0, 0}, {1, 1}};
+        ShapefileReader reader = ShapefileReader.of(write("lines.shp", Shapefile.POLY_LINE_Z,
+                List.of(partsZ(Shapefile.POLY_LINE_Z, new double[]{10, 20}, line))));
+
+        assertThat(reader.getFeature(0).getGeometry()).isEqualTo(LineString.of(Position.of(0, 0, 10), Position.of(1, 1, 20)));
+    }
+
+    @Test
+    void read_withMultiPoint_shouldDecodeAllPoints() throws IOException {
+        ByteBuffer multiPoint = record(Shapefile.MULTI_POINT, 40 + 32).putDouble(1).putDouble(2).putDouble(3).putDouble(4)
+                .putInt(2).putDouble(1).putDouble(2).putDouble(3).putDouble(4);
+        ShapefileReader reader = ShapefileReader.of(write("points.shp", Shapefile.MULTI_POINT, List.of(multiPoint)));
+
+        assertThat(reader.getFeature(0).getGeometry()).isEqualTo(MultiPoint.of(Position.of(1, 2), Position.of(3, 4)));
+    }
+
+    @Test
+    void read_withPolygon_shouldAssignHolesAndOrientRings() throws IOException {
+        ShapefileReader reader = ShapefileReader.of(write("polygons.shp", Shapefile.POLYGON, List.of(
+                parts(Shapefile.POLYGON, SQUARE, SQUARE_HOLE),
+                parts(Shapefile.POLYGON, SQUARE, ISLAND, SQUARE_HOLE))));
+
+        Polygon polygon = (Polygon) reader.getFeature(0).getGeometry();
+        MultiPolygon multiPolygon = (MultiPolygon) reader.getFeature(1).getGeometry();
+
+        PolygonCoordinates expected = new PolygonCoordinates(positions(reversed(SQUARE)), List.of(positions(reversed(SQUARE_HOLE))));
+        assertThat(polygon.getCoordinates()).isEqualTo(expected);
+        assertThat(polygon.isValid()).isTrue();
+        assertThat(multiPolygon.getCoordinates()).containsExactly(expected, new PolygonCoordinates(positions(reversed(ISLAND)), List.of()));
+        assertThat(multiPolygon.isValid()).isTrue();
+    }
+
+    @Test
+    void read_withHoleOutsideOfAllShells_shouldTreatItAsShell() throws IOException {
+        double[][] counterclockwise = reversed(ISLAND);
+        ShapefileReader reader = ShapefileReader.of(write("polygons.shp", Shapefile.POLYGON,
+                List.of(parts(Shapefile.POLYGON, counterclockwise))));
+
+        assertThat(reader.getFeature(0).getGeometry()).isEqualTo(Polygon.of(positions(counterclockwise)));
+    }
+
+    @Test
+    void read_withNestedShells_shouldAssignHoleToSmallestShell() throws IOException {
+        double[][] outer = {{-10, -10}, {-10, 20}, {20, 20}, {20, -10}, {-10, -10}};
+        double[][] outerHole = {{-5, -5}, {15, -5}, {15, 15}, {-5, 15}, {-5, -5}};
+        ShapefileReader reader = ShapefileReader.of(write("polygons.shp", Shapefile.POLYGON,
+                List.of(parts(Shapefile.POLYGON, outer, outerHole, SQUARE, SQUARE_HOLE))));
+
+        MultiPolygon multiPolygon = (MultiPolygon) reader.getFeature(0).getGeometry();
+        assertThat(multiPolygon.getCoordinates()).extracting(PolygonCoordinates::getHoles).containsExactly(
+                List.of(positions(reversed(outerHole))), List.of(positions(reversed(SQUARE_HOLE))));
+    }
+
+    @Test
+    void read_withDeletedRecords_shouldSkipThem() throws IOException {
+        Path path = write("points.shp", Shapefile.POINT, List.of(point(1, 1), point(2, 2), point(3, 3)));
+        writeTable("points.dbf", StandardCharsets.ISO_8859_1, new boolean[]{false, true, false},
+                List.of("ID:N:5"), List.of("1"), List.of("2"), List.of("3"));
+
+        ShapefileReader reader = ShapefileReader.of(path);
+
+        assertThat(reader.isDeleted(1)).isTrue();
+        assertThat(reader.read().map(feature -> feature.getProperties().get("ID"))).containsExactly(1L, 3L);
+        assertThat(reader.getFeature(1).getProperties()).containsEntry("ID", 2L);
+    }
+
+    @Test
+    void read_withRange_shouldReturnRecordsOfRange() throws IOException {
+        List<ByteBuffer> points = IntStream.range(0, 100).mapToObj(i -> point(i, i / 2.0)).toList();
+        ShapefileReader reader = ShapefileReader.of(write("points.shp", Shapefile.POINT, points));
+
+        assertThat(reader.read(10, 13).map(Feature::getGeometry)).containsExactly(Point.of(10, 5), Point.of(11, 5.5), Point.of(12, 6));
+        assertThat(reader.read().parallel().map(Feature::getGeometry).toList())
+                .isEqualTo(IntStream.range(0, 100).mapToObj(i -> Point.of(i, i / 2.0)).toList());
+        assertThrows(IndexOutOfBoundsException.class, () -> reader.read(90, 101));
+        assertThrows(IndexOutOfBoundsException.class, () -> reader.getFeature(100));
+        assertThrows(IndexOutOfBoundsException.class, () -> reader.isDeleted(-1));
+    }
+
+    @Test
+    void of_withCodePage_shouldDecodeCharacterFields() throws IOException {
+        Path path = write("cities.shp", Shapefile.POINT, List.of(point(1, 1)));
+        writeTable("cities.dbf", StandardCharsets.UTF_8, new boolean[1], List.of("NAME:C:20"), List.of("München"));
+        Files.writeString(directory.resolve("cities.cpg"), "UTF-8\n");
+
+        assertThat(ShapefileReader.of(path).getFeature(0).getProperties()).containsEntry("NAME", "München");
+        assertThat(ShapefileReader.of(path, StandardCharsets.ISO_8859_1).getFeature(0).getProperties().get("NAME")).isNotEqualTo("München");
+    }
+
+    @Test
+    void charset_shouldResolveCodePages() {
+        assertThat(ShapefileReader.charset("65001")).isEqualTo(StandardCharsets.UTF_8);
+        assertThat(ShapefileReader.charset("1252")).isEqualTo(Charset.forName("windows-1252"));
+        assertThat(ShapefileReader.charset(" utf-8 ")).isEqualTo(StandardCharsets.UTF_8);
+        assertThat(ShapefileReader.charset("unknown")).isEqualTo(StandardCharsets.ISO_8859_1);
+    }
+
+    @Test
+    void of_withUpperCaseExtension_shouldFindSiblings() throws IOException {
+        Path path = write("POINTS.SHP", Shapefile.POINT, List.of(point(1, 2)));
+        assertThat(ShapefileReader.sibling(path, "dbf").getFileName()).hasToString("POINTS.DBF");
+        assertThat(ShapefileReader.of(path).getRecordCount()).isEqualTo(1);
+    }
+
+    @Test
+    void of_whenFileInvalid_shouldThrowError() throws IOException {
+        Path withoutIndex = directory.resolve("missing.shp");
+        Files.write(withoutIndex, new byte[Shapefile.HEADER_SIZE]);
+        Path notShapefile = directory.resolve("other.shp");
+        Files.write(notShapefile, new byte[Shapefile.HEADER_SIZE]);
+        Files.write(directory.resolve("other.shx"), new byte[Shapefile.HEADER_SIZE]);
+
+        assertThrows(IOException.class, () -> ShapefileReader.of(withoutIndex));
+        assertThrows(IOException.class, () -> ShapefileReader.of(notShapefile));
+    }
+
+    @Test
+    void getFeature_whenRecordInvalid_shouldThrowError() throws IOException {
+        ByteBuffer truncated = record(Shapefile.POLY_LINE, 44).putDouble(0).putDouble(0).putDouble(0).putDouble(0).putInt(1).putInt(5);
+        ByteBuffer multiPatch = record(31, 4);
+        ShapefileReader reader = ShapefileReader.of(write("invalid.shp", Shapefile.POLY_LINE, List.of(truncated, multiPatch)));
+
+        assertThrows(IllegalArgumentException.class, () -> reader.getFeature(0));
+        assertThrows(IllegalArgumentException.class, () -> reader.getFeature(1));
+    }
+
+    /**
+     * Writes the given record contents as {@code .shp} file with its {@code .shx} index.
+     */
+    private Path write(String name, int shapeType, List<ByteBuffer> records) throws IOException {
+        double[] box = {Double.MAX_VALUE, Double.MAX_VALUE, -Double.MAX_VALUE, -Double.MAX_VALUE};
+        for (ByteBuffer content : records) {
+            if (Shapefile.baseType(content.getInt(0)) == Shapefile.POINT) {
+                box[0] = Math.min(box[0], content.getDouble(4));
+                box[1] = Math.min(box[1], content.getDouble(12));
+                box[2] = Math.max(box[2], content.getDouble(4));
+                box[3] = Math.max(box[3], content.getDouble(12));
+            }
+        }
+        int length = Shapefile.HEADER_SIZE + records.stream().mapToInt(content -> Shapefile.RECORD_HEADER_SIZE + content.capacity()).sum();
+        ByteBuffer shp = header(length, shapeType, box);
+        ByteBuffer shx = header(Shapefile.HEADER_SIZE + records.size() * Shapefile.INDEX_RECORD_SIZE, shapeType, box);
+        for (int i = 0; i < records.size(); i++) {
+            ByteBuffer content = records.get(i);
+            shx.order(ByteOrder.BIG_ENDIAN).putInt(shp.position() / 2).putInt(content.capacity() / 2);
+            shp.order(ByteOrder.BIG_ENDIAN).putInt(i + 1).putInt(content.capacity() / 2).put(content.array());
+        }
+        Path path = directory.resolve(name);
+        Files.write(path, shp.array());
+        Files.write(ShapefileReader.sibling(path, "shx"), shx.array());
+        return path;
+    }
+
+    private static ByteBuffer header(int length, int shapeType, double[] box) {
+        ByteBuffer header = ByteBuffer.allocate(length).order(ByteOrder.BIG_ENDIAN);
+        header.putInt(Shapefile.FILE_CODE).position(Shapefile.FILE_LENGTH_OFFSET);
+        header.putInt(length / 2).order(ByteOrder.LITTLE_ENDIAN).putInt(1000).putInt(shapeType);
+        Arrays.stream(box).forEach(header::putDouble);
+        return header.position(Shapefile.HEADER_SIZE);
+    }
+
+    /**
+     * Writes a {@code .dbf} table with the given fields, each {@code name:type:length[:decimals]}, and rows.
+     */
+    @SafeVarargs
+    private void writeTable(String name, Charset charset, boolean[] deleted, List<String> fields, List<String>... rows) throws IOException {
+        int headerSize = Shapefile.DBF_FIELDS_OFFSET + fields.size() * Shapefile.DBF_FIELD_SIZE + 1;
+        int recordSize = 1 + fields.stream().mapToInt(field -> Integer.parseInt(field.split(":")[2])).sum();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ByteBuffer header = ByteBuffer.allocate(headerSize).order(ByteOrder.LITTLE_ENDIAN);
+        header.put(0, (byte) 3).putInt(Shapefile.DBF_RECORD_COUNT_OFFSET, rows.length)
+                .putShort(Shapefile.DBF_HEADER_SIZE_OFFSET, (short) headerSize)
+                .putShort(Shapefile.DBF_RECORD_SIZE_OFFSET, (short) recordSize);
+        for (int i = 0; i < fields.size(); i++) {
+            String[] field = fields.get(i).split(":");
+            int position = Shapefile.DBF_FIELDS_OFFSET + i * Shapefile.DBF_FIELD_SIZE;
+            header.put(position, field[0].getBytes(StandardCharsets.US_ASCII))
+                    .put(position + Shapefile.DBF_FIELD_TYPE_OFFSET, (byte) field[1].charAt(0))
+                    .put(position + Shapefile.DBF_FIELD_LENGTH_OFFSET, (byte) Integer.parseInt(field[2]))
+                    .put(position + Shapefile.DBF_FIELD_DECIMALS_OFFSET, (byte) (field.length > 3 ? Integer.parseInt(field[3]) : 0));
+        }
+        header.put(headerSize - 1, Shapefile.DBF_FIELDS_TERMINATOR);
+        bytes.writeBytes(header.array());
+        for (int row = 0; row < rows.length; row++) {
+            bytes.write(deleted[row] ? Shapefile.DBF_DELETED : ' ');
+            for (int i = 0; i < fields.size(); i++) {
+                String[] field = fields.get(i).split(":");
+                byte[] value = Arrays.copyOf(rows[row].get(i).getBytes(charset), Integer.parseInt(field[2]));
+                int length = rows[row].get(i).getBytes(charset).length;
+                Arrays.fill(value, Math.min(length, value.length), value.length, (byte) ' ');
+                if (field[1].equals("N")) {
+                    // numbers are right aligned
+                    String padded = " ".repeat(value.length - length) + rows[row].get(i);
+                    value = padded.getBytes(StandardCharsets.US_ASCII);
+                }
+                bytes.writeBytes(value);
+            }
+        }
+        bytes.write(0x1A);
+        Files.write(directory.resolve(name), bytes.toByteArray());
+    }
+
+    private static ByteBuffer record(int shapeType, int length) {
+        return ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN).putInt(shapeType);
+    }
+
+    private static ByteBuffer point(double x, double y) {
+        return record(Shapefile.POINT, 20).putDouble(x).putDouble(y);
+    }
+
+    private static ByteBuffer parts(int shapeType, double[][]... parts) {
+        return partsZ(shapeType, null, parts);
+    }
+
+    /**
+     * Returns a poly line or polygon record of the given parts, with the given Z values unless null.
+     */
+    private static ByteBuffer partsZ(int shapeType, double[] z, double[][]... parts) {
+        int pointCount = Arrays.stream(parts).mapToInt(part -> part.length).sum();
+        int length = 44 + parts.length * 4 + pointCount * 16 + (z != null ? 16 + pointCount * 8 : 0);
+        ByteBuffer record = record(shapeType, length).putDouble(0).putDouble(0).putDouble(0).putDouble(0)
+                .putInt(parts.length).putInt(pointCount);
+        int start = 0;
+        for (double[][] part : parts) {
+            record.putInt(start);
+            start += part.length;
+        }
+        for (double[][] part : parts) {
+            for (double[] point : part) {
+                record.putDouble(point[0]).putDouble(point[1]);
+            }
+        }
+        if (z != null) {
+            record.putDouble(0).putDouble(0);
+            Arrays.stream(z).forEach(record::putDouble);
+        }
+        return record;
+    }
+
+    private static double[][] reversed(double[][] ring) {
+        return Arrays.asList(ring).reversed().toArray(double[][]::new);
+    }
+
+    private static List<Position> positions(double[][] points) {
+        return Arrays.stream(points).map(point -> Position.of(point[0], point[1])).toList();
+    }
+}
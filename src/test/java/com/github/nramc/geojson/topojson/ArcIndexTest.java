@@ -0,0 +1,91 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.topojson;
+
+import org.junit.jupiter.api.Test;
+
+import static com.github.nramc.geojson.topojson.ArcIndex.point;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ArcIndexTest {
+
+    @Test
+    void point_shouldPackCoordinates() {
+        long point = point(-3, 7);
+        assertThat(ArcIndex.x(point)).isEqualTo(-3);
+        assertThat(ArcIndex.y(point)).isEqualTo(7);
+        assertThat(ArcIndex.y(point(Integer.MAX_VALUE, -1))).isEqualTo(-1);
+        assertThat(ArcIndex.x(point(Integer.MAX_VALUE, -1))).isEqualTo(Integer.MAX_VALUE);
+    }
+
+    @Test
+    void build_withAdjacentRings_shouldShareBorderInReverse() {
+        ArcIndex index = new ArcIndex();
+        index.addRing(new long[]{point(0, 0), point(1, 0), point(1, 1), point(0, 1)});
+        index.addRing(new long[]{point(1, 0), point(2, 0), point(2, 1), point(1, 1)});
+
+        int[][] references = index.build();
+        assertThat(index.getArcs()).hasSize(3);
+        assertThat(index.getArcs().get(0)).containsExactly(point(1, 0), point(1, 1));
+        assertThat(references[0]).containsExactly(0, 1);
+        assertThat(references[1]).containsExactly(2, ~0);
+    }
+
+    @Test
+    void build_withIslandInHole_shouldShareClosedArc() {
+        ArcIndex index = new ArcIndex();
+        index.addRing(new long[]{point(5, 5), point(6, 5), point(6, 6), point(5, 6)});
+        index.addRing(new long[]{point(6, 6), point(6, 5), point(5, 5), point(5, 6)});
+
+        int[][] references = index.build();
+        assertThat(index.getArcs()).hasSize(1);
+        assertThat(index.getArcs().get(0)).containsExactly(point(5, 5), point(6, 5), point(6, 6), point(5, 6), point(5, 5));
+        assertThat(references[0]).containsExactly(0);
+        assertThat(references[1]).containsExactly(~0);
+    }
+
+    @Test
+    void build_withThreeRingsMeetingAtPoint_shouldCutAtJunction() {
+        ArcIndex index = new ArcIndex();
+        index.addRing(new long[]{point(0, 0), point(1, 0), point(1, 1), point(1, 2), point(0, 2)});
+        index.addRing(new long[]{point(1, 0), point(2, 0), point(2, 1), point(1, 1)});
+        index.addRing(new long[]{point(1, 1), point(2, 1), point(2, 2), point(1, 2)});
+
+        int[][] references = index.build();
+        assertThat(index.getArcs()).hasSize(6);
+        assertThat(references[0]).hasSize(3);
+        assertThat(references[1]).hasSize(3).contains(~0);
+        assertThat(references[2]).hasSize(3).contains(~1);
+    }
+
+    @Test
+    void build_withLines_shouldCutAtEndsAndCrossings() {
+        ArcIndex index = new ArcIndex();
+        index.addLine(new long[]{point(0, 0), point(1, 1), point(2, 2)});
+        index.addLine(new long[]{point(2, 2), point(1, 1), point(0, 0)});
+        index.addLine(new long[]{point(0, 2), point(1, 1), point(2, 0)});
+        index.addLine(new long[]{point(3, 3)});
+        index.addLine(new long[0]);
+
+        int[][] references = index.build();
+        assertThat(references[0]).containsExactly(0, 1);
+        assertThat(references[1]).containsExactly(~1, ~0);
+        assertThat(references[2]).containsExactly(2, 3);
+        assertThat(references[3]).containsExactly(4);
+        assertThat(index.getArcs().get(4)).containsExactly(point(3, 3), point(3, 3));
+        assertThat(references[4]).isEmpty();
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.topojson;
+
+import com.github.nramc.geojson.domain.Feature;
+import com.github.nramc.geojson.domain.FeatureCollection;
+import com.github.nramc.geojson.domain.GeometryCollection;
+import com.github.nramc.geojson.domain.LineString;
+import com.github.nramc.geojson.domain.MultiLineString;
+import com.github.nramc.geojson.domain.MultiPoint;
+import com.github.nramc.geojson.domain.MultiPolygon;
+import com.github.nramc.geojson.domain.Point;
+import com.github.nramc.geojson.domain.Polygon;
+import com.github.nramc.geojson.domain.PolygonCoordinates;
+import com.github.nramc.geojson.domain.Position;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TopoJsonReaderTest {
+    private static final String SPECIFICATION_EXAMPLE = """
+            {
+              "type": "Topology",
+              "objects": {
+                "example": {
+                  "type": "GeometryCollection",
+                  "geometries": [
+                    {"type": "Point", "properties": {"prop0": "value0"}, "coordinates": [102, 0.5]},
+                    {"type": "LineString", "properties": {"prop0": "value0", "prop1": 0}, "arcs": [0]},
+                    {"type": "Polygon", "properties": {"prop0": "value0", "prop1": {"this": "that"}, "prop2": null}, "arcs": [[-2]]}
+                  ]
+                }
+              },
+              "arcs": [
+                [[102, 0], [103, 1], [104, 0], [105, 1]],
+                [[100, 0], [101, 0], [101, 1], [100, 1], [100, 0]]
+              ]
+            }""";
+    private static final String QUANTIZED_EXAMPLE = """
+            {
+              "type": "Topology",
+              "transform": {"scale": [0.5, 0.25], "translate": [100, 0]},
+              "objects": {
+                "example": {"type": "LineString", "id": 7, "arcs": [0, -2]}
+              },
+              "arcs": [
+                [[4, 0], [2, 4]],
+                [[0, 0], [6, 4]]
+              ]
+            }""";
+
+    @Test
+    void read_withSpecificationExample_shouldRebuildFeatures() throws Exception {
+        List<Feature> features = TopoJsonReader.read(SPECIFICATION_EXAMPLE, "example").getFeatures();
+
+        assertThat(features).hasSize(3);
+        assertThat(features.get(0).getGeometry()).isEqualTo(Point.of(102.0, 0.5));
+        assertThat(features.get(0).getProperties()).isEqualTo(Map.of("prop0", "value0"));
+        assertThat(features.get(1).getGeometry()).isEqualTo(LineString.of(Position.of(102.0, 0.0), Position.of(103.0, 1.0), Position.of(104.0, 0.0), Position.of(105.0, 1.0)));
+        assertThat(features.get(2).getGeometry()).isEqualTo(Polygon.of(PolygonCoordinates.of(List.of(
+                Position.of(100.0, 0.0), Position.of(100.0, 1.0), Position.of(101.0, 1.0), Position.of(101.0, 0.0), Position.of(100.0, 0.0)))));
+        assertThat(features.get(2).getProperties()).isEqualTo(Map.of("prop0", "value0", "prop1", Map.of("this", "that")));
+    }
+
+    @Test
+    void read_withTransform_shouldDecodeDeltasAndJoinArcs() throws Exception {
+        FeatureCollection featureCollection = TopoJsonReader.read(new ByteArrayInputStream(QUANTIZED_EXAMPLE.getBytes(StandardCharsets.UTF_8)), "example");
+
+        assertThat(featureCollection.getFeatures()).singleElement().satisfies(feature -> {
+            assertThat(feature.getId()).isEqualTo("7");
+            assertThat(feature.getGeometry()).isEqualTo(LineString.of(Position.of(102.0, 0.0), Position.of(103.0, 1.0), Position.of(100.0, 0.0)));
+        });
+    }
+
+    @Test
+    void read_withWrittenTopology_shouldRoundTripEveryType() throws Exception {
+        FeatureCollection featureCollection = FeatureCollection.of(
+                Feature.of("point", Point.of(0.0, 0.0), Map.of("rank", 1)),
+                Feature.of("points", MultiPoint.of(Position.of(1.0, 2.0), Position.of(3.0, 4.0)), Map.of()),
+                Feature.of("line", LineString.of(Position.of(0.0, 0.0), Position.of(5.0, 5.0), Position.of(10.0, 0.0)), Map.of()),
+                Feature.of("lines", MultiLineString.of(List.of(Position.of(10.0, 0.0), Position.of(5.0, 5.0)), List.of(Position.of(0.0, 10.0), Position.of(10.0, 10.0))), Map.of()),
+                Feature.of("west", TopoJsonWriterTest.square(0, 0), Map.of("name", "West")),
+                Feature.of("islands", MultiPolygon.of(PolygonCoordinates.of(
+                        List.of(Position.of(1.0, 0.0), Position.of(2.0, 0.0), Position.of(2.0, 1.0), Position.of(1.0, 1.0), Position.of(1.0, 0.0))),
+                        PolygonCoordinates.of(List.of(Position.of(6.0, 6.0), Position.of(9.0, 6.0), Position.of(9.0, 9.0), Position.of(6.0, 9.0), Position.of(6.0, 6.0)),
+                                List.of(Position.of(7.0, 7.0), Position.of(7.0, 8.0), Position.of(8.0, 8.0), Position.of(8.0, 7.0), Position.of(7.0, 7.0)))), Map.of()),
+                Feature.of("fill", Polygon.of(PolygonCoordinates.of(List.of(Position.of(7.0, 7.0), Position.of(8.0, 7.0), Position.of(8.0, 8.0), Position.of(7.0, 8.0), Position.of(7.0, 7.0)))), Map.of()),
+                Feature.of("collection", GeometryCollection.of(Point.of(10.0, 10.0), LineString.of(Position.of(0.0, 10.0), Position.of(0.0, 0.0))), Map.of()));
+
+        String topology = TopoJsonWriter.DEFAULT.withQuantization(11).writeValueAsString("shapes", featureCollection);
+        assertThat(TopoJsonReader.read(topology, "shapes")).isEqualTo(featureCollection);
+    }
+
+    @Test
+    void read_withWrittenDistrictGrid_shouldRoundTripWithinGridUnit() throws Exception {
+        FeatureCollection featureCollection = TopoJsonWriterTest.grid(5, 5, 8);
+        FeatureCollection result = TopoJsonReader.read(TopoJsonWriter.DEFAULT.writeValueAsString("districts", featureCollection), "districts");
+
+        assertThat(result.getFeatures()).hasSize(25);
+        for (int i = 0; i < 25; i++) {
+            Feature expected = featureCollection.getFeatures().get(i);
+            Feature actual = result.getFeatures().get(i);
+            assertThat(actual.getId()).isEqualTo(expected.getId());
+            assertThat(actual.getProperties()).isEqualTo(expected.getProperties());
+            List<Position> expectedRing = ((Polygon) expected.getGeometry()).getCoordinates().getExterior();
+            List<Position> actualRing = ((Polygon) actual.getGeometry()).getCoordinates().getExterior();
+            assertThat(actualRing).hasSameSizeAs(expectedRing);
+            assertThat(actualRing).allSatisfy(position -> assertThat(expectedRing).anySatisfy(candidate -> {
+                assertThat(position.getLongitude()).isCloseTo(candidate.getLongitude(), org.assertj.core.data.Offset.offset(1e-5));
+                assertThat(position.getLatitude()).isCloseTo(candidate.getLatitude(), org.assertj.core.data.Offset.offset(1e-5));
+            }));
+        }
+    }
+
+    @Test
+    void read_withFeatureWithoutGeometry_shouldKeepFeature() throws Exception {
+        FeatureCollection featureCollection = TopoJsonReader.read("""
+                {"type":"Topology","objects":{"empty":{"type":"GeometryCollection","geometries":[{"type":null,"id":"2","properties":{"name":"none"}}]}},"arcs":[]}""", "empty");
+
+        Feature feature = featureCollection.getFeatures().getFirst();
+        assertThat(feature.getId()).isEqualTo("2");
+        assertThat(feature.getGeometry()).isNull();
+        assertThat(feature.getProperties()).isEqualTo(Map.of("name", "none"));
+    }
+
+    @Test
+    void read_withEmptyPolygonOfMultiPolygon_shouldSkipIt() throws Exception {
+        FeatureCollection featureCollection = TopoJsonReader.read("""
+                {"type":"Topology","objects":{"islands":{"type":"MultiPolygon","arcs":[[], [[0]]]}},
+                 "arcs":[[[1, 0], [2, 0], [2, 1], [1, 1], [1, 0]]]}""", "islands");
+
+        assertThat(featureCollection.getFeatures().getFirst().getGeometry()).isEqualTo(MultiPolygon.of(PolygonCoordinates.of(
+                List.of(Position.of(1.0, 0.0), Position.of(2.0, 0.0), Position.of(2.0, 1.0), Position.of(1.0, 1.0), Position.of(1.0, 0.0)))));
+    }
+
+    @Test
+    void read_whenContentInvalid_shouldThrowError() {
+        assertThrows(IllegalArgumentException.class, () -> TopoJsonReader.read("{\"type\":\"FeatureCollection\",\"features\":[]}", "example"));
+        assertThrows(IllegalArgumentException.class, () -> TopoJsonReader.read(SPECIFICATION_EXAMPLE, "missing"));
+        assertThrows(IllegalArgumentException.class, () -> TopoJsonReader.read("""
+                {"type":"Topology","objects":{"example":{"type":"Circle"}},"arcs":[]}""", "example"));
+        assertThrows(IllegalArgumentException.class, () -> TopoJsonReader.read("""
+                {"type":"Topology","objects":{"example":{"type":"LineString","arcs":[3]}},"arcs":[]}""", "example"));
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.topojson;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.nramc.geojson.domain.Feature;
+import com.github.nramc.geojson.domain.FeatureCollection;
+import com.github.nramc.geojson.domain.LineString;
+import com.github.nramc.geojson.domain.Point;
+import com.github.nramc.geojson.domain.Polygon;
+import com.github.nramc.geojson.domain.PolygonCoordinates;
+import com.github.nramc.geojson.domain.Position;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.Serializable;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TopoJsonWriterTest {
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void write_withAdjacentPolygons_shouldWriteSharedBorderOnce() throws Exception {
+        FeatureCollection featureCollection = FeatureCollection.of(
+                Feature.of("west", square(0, 0), Map.of("name", "West")),
+                Feature.of("east", square(1, 0), Map.of()));
+
+        JsonNode topology = objectMapper.readTree(TopoJsonWriter.DEFAULT.withQuantization(3).writeValueAsString("districts", featureCollection));
+        assertThat(topology.path("type").asText()).isEqualTo("Topology");
+        assertThat(topology.path("transform").toString()).isEqualTo("{\"scale\":[1.0,0.5],\"translate\":[0.0,0.0]}");
+        assertThat(topology.path("arcs")).hasSize(3);
+        assertThat(topology.path("arcs").path(0).toString()).isEqualTo("[[1,0],[0,2]]");
+
+        JsonNode geometries = topology.path("objects").path("districts").path("geometries");
+        assertThat(topology.path("objects").path("districts").path("type").asText()).isEqualTo("GeometryCollection");
+        assertThat(geometries).hasSize(2);
+        assertThat(geometries.path(0).toString()).isEqualTo("{\"type\":\"Polygon\",\"id\":\"west\",\"properties\":{\"name\":\"West\"},\"arcs\":[[0,1]]}");
+        assertThat(geometries.path(1).toString()).isEqualTo("{\"type\":\"Polygon\",\"id\":\"east\",\"arcs\":[[2,-1]]}");
+    }
+
+    @Test
+    void write_withPointsAndFeatureWithoutGeometry_shouldWriteQuantizedCoordinates() throws Exception {
+        FeatureCollection featureCollection = new FeatureCollection("FeatureCollection", List.of(
+                Feature.of("1", Point.of(10.0, 20.0, 5.0), Map.of()),
+                new Feature("Feature", "2", null, Map.of()),
+                Feature.of("3", Point.of(20.0, 40.0), Map.of())));
+
+        JsonNode topology = objectMapper.readTree(TopoJsonWriter.DEFAULT.withQuantization(11).writeValueAsString("places", featureCollection));
+        JsonNode geometries = topology.path("objects").path("places").path("geometries");
+        assertThat(geometries.path(0).path("coordinates").toString()).isEqualTo("[0,0]");
+        assertThat(geometries.path(1).toString()).isEqualTo("{\"type\":null,\"id\":\"2\"}");
+        assertThat(geometries.path(2).path("coordinates").toString()).isEqualTo("[10,10]");
+        assertThat(topology.path("arcs")).isEmpty();
+    }
+
+    @Test
+    void write_withDistrictGrid_shouldBeMuchSmallerThanGeoJson(@TempDir Path directory) throws Exception {
+        FeatureCollection featureCollection = grid(20, 20, 25);
+        Path file = directory.resolve("districts.topojson");
+        TopoJsonWriter.DEFAULT.write("districts", featureCollection, file);
+
+        String geoJson = objectMapper.writeValueAsString(featureCollection);
+        assertThat(file.toFile().length()).as("TopoJSON size compared to GeoJSON of %d bytes", geoJson.length())
+                .isLessThan(geoJson.length() / 4);
+        assertThat(TopoJsonReader.read(file, "districts").getFeatures()).hasSize(400);
+    }
+
+    @Test
+    void write_whenPositionInvalid_shouldThrowError() {
+        FeatureCollection withNaN = new FeatureCollection("FeatureCollection", List.of(new Feature("Feature", null,
+                new LineString("LineString", List.of(Position.of(1.0, 2.0), new Position(new double[]{Double.NaN, 1.0}))), Map.of())));
+        FeatureCollection withNull = new FeatureCollection("FeatureCollection", List.of(new Feature("Feature", null,
+                new Point("Point", new Position(null)), Map.of())));
+        TopoJsonWriter writer = TopoJsonWriter.DEFAULT;
+        assertThrows(IllegalArgumentException.class, () -> writer.writeValueAsString("lines", withNaN));
+        assertThrows(IllegalArgumentException.class, () -> writer.writeValueAsString("points", withNull));
+        assertThrows(IllegalArgumentException.class, () -> writer.withQuantization(1));
+    }
+
+    @Test
+    void toString_shouldContainQuantization() {
+        assertThat(TopoJsonWriter.DEFAULT).hasToString("TopoJsonWriter{quantization=1000000}");
+        assertThat(TopoJsonWriter.DEFAULT.withQuantization(10_000).getQuantization()).isEqualTo(10_000);
+    }
+
+    static Polygon square(int x, int y) {
+        return Polygon.of(PolygonCoordinates.of(List.of(Position.of(x, y), Position.of(x + 1.0, y), Position.of(x + 1.0, y + 1.0), Position.of(x, y + 1.0), Position.of(x, y))));
+    }
+
+    /**
+     * Returns a grid of adjacent districts around Berlin, each side with the given number of segments.
+     */
+    static FeatureCollection grid(int columns, int rows, int segments) {
+        List<Feature> features = new ArrayList<>();
+        for (int column = 0; column < columns; column++) {
+            for (int row = 0; row < rows; row++) {
+                List<Position> ring = new ArrayList<>();
+                int[][] corners = {{column, row}, {column + 1, row}, {column + 1, row + 1}, {column, row + 1}};
+                for (int side = 0; side < 4; side++) {
+                    int[] from = corners[side];
+                    int[] to = corners[(side + 1) % 4];
+                    for (int i = 0; i < segments; i++) {
+                        double x = from[0] + (to[0] - from[0]) * i / (double) segments;
+                        double y = from[1] + (to[1] - from[1]) * i / (double) segments;
+                        ring.add(Position.of(13.088 + x * 0.0213, 52.338 + y * 0.0137));
+                    }
+                }
+                ring.add(ring.get(0));
+                Map<String, Serializable> properties = Map.of("name", "District " + column + "/" + row, "population", column * 1000 + row);
+                features.add(Feature.of(column + "-" + row, Polygon.of(PolygonCoordinates.of(ring)), properties));
+            }
+        }
+        return FeatureCollection.of(features);
+    }
+}
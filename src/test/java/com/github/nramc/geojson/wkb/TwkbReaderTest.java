@@ -0,0 +1,98 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.wkb;
+
+import com.github.nramc.geojson.domain.Geometry;
+import com.github.nramc.geojson.domain.GeometryCollection;
+import com.github.nramc.geojson.domain.LineString;
+import com.github.nramc.geojson.domain.MultiPoint;
+import com.github.nramc.geojson.domain.Point;
+import com.github.nramc.geojson.domain.Polygon;
+import com.github.nramc.geojson.domain.Position;
+import org.junit.jupiter.api.Test;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.HexFormat;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TwkbReaderTest {
+    private static final HexFormat HEX = HexFormat.of();
+
+    @Test
+    void read_shouldRoundTripEveryGeometryType() {
+        List<TwkbWriter> writers = List.of(TwkbWriter.DEFAULT, TwkbWriter.DEFAULT.withBoundingBox(true).withSize(true).withZPrecision(3));
+        for (TwkbWriter writer : writers) {
+            assertThat(WkbWriterTest.geometries()).allSatisfy(geometry -> {
+                Geometry result = TwkbReader.read(writer.write(geometry));
+                assertThat(result).isEqualTo(geometry);
+                assertThat(result.isValid()).isTrue();
+            });
+        }
+    }
+
+    @Test
+    void read_withPrecision_shouldRestoreRoundedCoordinates() {
+        Point point = Point.of(11.123456789, -48.987654321, 512.3456);
+        assertThat(TwkbReader.read(TwkbWriter.DEFAULT.withZPrecision(2).write(point)))
+                .isEqualTo(Point.of(11.1234568, -48.9876543, 512.35));
+        assertThat(TwkbReader.read(TwkbWriter.DEFAULT.withPrecision(-2).write(point)))
+                .isEqualTo(Point.of(0.0, 0.0, 512.0));
+    }
+
+    @Test
+    void read_withMeasureAndIdList_shouldSkipThem() {
+        // MultiPoint with id list [7, 8] and XYM coordinates (1 2 9), (3 4 9) at precision 0
+        Geometry geometry = TwkbReader.read(HEX.parseHex("04" + "0c" + "02" + "02" + "0e10" + "020412" + "040400"));
+        assertThat(geometry).isEqualTo(MultiPoint.of(Position.of(1.0, 2.0), Position.of(3.0, 4.0)));
+    }
+
+    @Test
+    void read_withEmptyGeometries_shouldReadEmptyGeometries() {
+        assertThat(TwkbReader.read(HEX.parseHex("0110"))).isInstanceOf(Point.class)
+                .satisfies(point -> assertThat(((Point) point).getCoordinates().getLongitude()).isNaN());
+        assertThat(TwkbReader.read(HEX.parseHex("0310"))).isInstanceOf(Polygon.class);
+        assertThat(TwkbReader.read(HEX.parseHex("0710"))).isEqualTo(new GeometryCollection(GeometryCollection.of(Point.of(1.0, 2.0)).getType(), List.of()));
+    }
+
+    @Test
+    void read_withBuffer_shouldMovePosition() {
+        ByteBuffer buffer = ByteBuffer.wrap(HEX.parseHex("0100020402000202040404ff"));
+        assertThat(TwkbReader.read(buffer)).isEqualTo(Point.of(1.0, 2.0));
+        assertThat(TwkbReader.read(buffer)).isEqualTo(LineString.of(Position.of(1.0, 2.0), Position.of(3.0, 4.0)));
+        assertThat(buffer.remaining()).isEqualTo(1);
+    }
+
+    @Test
+    void read_whenContentInvalid_shouldThrowError() {
+        assertThrows(IllegalArgumentException.class, () -> TwkbReader.read(HEX.parseHex("0800")));
+        assertThrows(IllegalArgumentException.class, () -> TwkbReader.read(HEX.parseHex("0010")));
+        assertThrows(IllegalArgumentException.class, () -> TwkbReader.read(HEX.parseHex("0100ffffffffffffffffffff01")));
+        assertThrows(BufferUnderflowException.class, () -> TwkbReader.read(HEX.parseHex("020002020404")));
+    }
+
+    @Test
+    void read_whenCountCorrupt_shouldThrowError() {
+        assertThrows(BufferUnderflowException.class, () -> TwkbReader.read(HEX.parseHex("0200ffffffff07")));
+        assertThrows(BufferUnderflowException.class, () -> TwkbReader.read(HEX.parseHex("0200ffffffffffffffffff01")));
+        assertThrows(BufferUnderflowException.class, () -> TwkbReader.read(HEX.parseHex("0300ffffffff07")));
+        assertThrows(BufferUnderflowException.class, () -> TwkbReader.read(HEX.parseHex("040003020202")));
+        assertThrows(BufferUnderflowException.class, () -> TwkbReader.read(HEX.parseHex("0700ffffffff07")));
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.wkb;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.nramc.geojson.domain.GeometryCollection;
+import com.github.nramc.geojson.domain.LineString;
+import com.github.nramc.geojson.domain.Point;
+import com.github.nramc.geojson.domain.Position;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TwkbWriterTest {
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final HexFormat HEX = HexFormat.of();
+    private static final TwkbWriter INTEGER_WRITER = TwkbWriter.DEFAULT.withPrecision(0);
+
+    @Test
+    void write_withPointAndLineString_shouldWriteDeltaVarints() {
+        assertThat(HEX.formatHex(INTEGER_WRITER.write(Point.of(1.0, 2.0)))).isEqualTo("01000204");
+        assertThat(HEX.formatHex(INTEGER_WRITER.write(LineString.of(Position.of(1.0, 2.0), Position.of(3.0, 4.0)))))
+                .isEqualTo("02000202040404");
+    }
+
+    @Test
+    void write_withPrecision_shouldScaleCoordinates() {
+        assertThat(HEX.formatHex(TwkbWriter.DEFAULT.withPrecision(1).write(Point.of(1.05, -2.0)))).isEqualTo("21001627");
+        assertThat(HEX.formatHex(TwkbWriter.DEFAULT.withPrecision(-1).write(Point.of(120.0, 40.0)))).isEqualTo("11001808");
+        assertThrows(IllegalArgumentException.class, () -> TwkbWriter.DEFAULT.withPrecision(8));
+        assertThrows(IllegalArgumentException.class, () -> TwkbWriter.DEFAULT.withZPrecision(-1));
+    }
+
+    @Test
+    void write_withAltitude_shouldWriteExtendedDimensions() {
+        assertThat(HEX.formatHex(INTEGER_WRITER.withZPrecision(1).write(Point.of(1.0, 2.0, 3.0)))).isEqualTo("01080502043c");
+    }
+
+    @Test
+    void write_withBoundingBoxAndSize_shouldWriteHeader() {
+        byte[] twkb = INTEGER_WRITER.withBoundingBox(true).withSize(true).write(LineString.of(Position.of(1.0, 2.0), Position.of(3.0, 4.0)));
+        assertThat(HEX.formatHex(twkb)).isEqualTo("020309020404040202040404");
+        assertThat(TwkbReader.read(twkb)).isEqualTo(LineString.of(Position.of(1.0, 2.0), Position.of(3.0, 4.0)));
+    }
+
+    @Test
+    void write_withEmptyGeometries_shouldSetEmptyFlag() {
+        assertThat(HEX.formatHex(INTEGER_WRITER.write(new Point()))).isEqualTo("0110");
+        assertThat(HEX.formatHex(INTEGER_WRITER.withBoundingBox(true).write(new GeometryCollection(null, null)))).isEqualTo("0710");
+    }
+
+    @Test
+    void write_whenCoordinateNotFinite_shouldThrowError() {
+        LineString lineString = new LineString(null, List.of(Position.of(1.0, 2.0), new Position(new double[]{Double.NaN, 1.0})));
+        assertThrows(IllegalArgumentException.class, () -> TwkbWriter.DEFAULT.write(lineString));
+    }
+
+    @Test
+    void write_withDenseLineString_shouldBeSmallerThanWkbAndJson() throws JsonProcessingException {
+        LineString lineString = LineString.of(IntStream.range(0, 1000)
+                .mapToObj(i -> Position.of(11.5 + i * 0.00001, 48.1 + Math.sin(i / 100.0) * 0.001))
+                .toList());
+        int twkb = TwkbWriter.DEFAULT.write(lineString).length;
+        assertThat(twkb).isLessThan(WkbWriter.DEFAULT.write(lineString).length / 4)
+                .isLessThan(objectMapper.writeValueAsBytes(lineString).length / 5);
+    }
+
+    @Test
+    void write_withBuffer_shouldWriteAtPosition() {
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        buffer.position(2);
+        INTEGER_WRITER.write(Point.of(1.0, 2.0), buffer);
+        assertThat(buffer.position()).isEqualTo(6);
+        assertThat(TwkbReader.read(buffer.position(2))).isEqualTo(Point.of(1.0, 2.0));
+    }
+
+    @Test
+    void withSettings_shouldKeepOtherSettings() {
+        TwkbWriter writer = TwkbWriter.DEFAULT.withPrecision(5).withZPrecision(2).withBoundingBox(true).withSize(true);
+        assertThat(writer.getPrecision()).isEqualTo(5);
+        assertThat(writer.getZPrecision()).isEqualTo(2);
+        assertThat(writer.isBoundingBox()).isTrue();
+        assertThat(writer.isSize()).isTrue();
+        assertThat(writer).hasToString("TwkbWriter{precision=5, zPrecision=2, boundingBox=true, size=true}");
+        assertThat(TwkbWriter.DEFAULT).hasToString("TwkbWriter{precision=7, zPrecision=0, boundingBox=false, size=false}");
+    }
+}
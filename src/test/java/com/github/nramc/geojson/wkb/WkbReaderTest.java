@@ -0,0 +1,122 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.wkb;
+
+import com.github.nramc.geojson.domain.CoordinateSequence;
+import com.github.nramc.geojson.domain.Geometry;
+import com.github.nramc.geojson.domain.LineString;
+import com.github.nramc.geojson.domain.MultiPoint;
+import com.github.nramc.geojson.domain.Point;
+import com.github.nramc.geojson.domain.Polygon;
+import com.github.nramc.geojson.domain.Position;
+import org.junit.jupiter.api.Test;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.HexFormat;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class WkbReaderTest {
+    private static final HexFormat HEX = HexFormat.of();
+
+    @Test
+    void read_withPoint_shouldReadBothByteOrders() {
+        assertThat(WkbReader.read(HEX.parseHex("0101000000000000000000F03F0000000000000040"))).isEqualTo(Point.of(1.0, 2.0));
+        assertThat(WkbReader.read(HEX.parseHex("00000000013FF00000000000004000000000000000"))).isEqualTo(Point.of(1.0, 2.0));
+    }
+
+    @Test
+    void read_withZAndM_shouldKeepAltitudeAndDropMeasure() {
+        assertThat(WkbReader.read(HEX.parseHex("01E9030000000000000000F03F00000000000000400000000000000840")))
+                .as("ISO Z").isEqualTo(Point.of(1.0, 2.0, 3.0));
+        assertThat(WkbReader.read(HEX.parseHex("01D1070000000000000000F03F00000000000000400000000000000840")))
+                .as("ISO M").isEqualTo(Point.of(1.0, 2.0));
+        assertThat(WkbReader.read(HEX.parseHex("01B90B0000000000000000F03F000000000000004000000000000008400000000000001040")))
+                .as("ISO ZM").isEqualTo(Point.of(1.0, 2.0, 3.0));
+        assertThat(WkbReader.read(HEX.parseHex("01010000C0000000000000F03F000000000000004000000000000008400000000000001040")))
+                .as("EWKB ZM").isEqualTo(Point.of(1.0, 2.0, 3.0));
+    }
+
+    @Test
+    void read_withEwkb_shouldSkipSrid() {
+        byte[] ewkb = HEX.parseHex("0101000020E6100000000000000000F03F0000000000000040");
+        assertThat(WkbReader.read(ewkb)).isEqualTo(Point.of(1.0, 2.0));
+        assertThat(WkbReader.readSrid(ByteBuffer.wrap(ewkb))).isEqualTo(4326);
+        assertThat(WkbReader.readSrid(ByteBuffer.wrap(HEX.parseHex("0101000000000000000000F03F0000000000000040")))).isZero();
+    }
+
+    @Test
+    void read_withMembersOfDifferentByteOrder_shouldReadEveryMember() {
+        Geometry geometry = WkbReader.read(HEX.parseHex("000000000400000002"
+                + "0101000000000000000000F03F0000000000000040"
+                + "000000000140080000000000004010000000000000"));
+        assertThat(geometry).isEqualTo(MultiPoint.of(Position.of(1.0, 2.0), Position.of(3.0, 4.0)));
+    }
+
+    @Test
+    void read_shouldRoundTripEveryGeometryType() {
+        for (WkbWriter writer : new WkbWriter[]{WkbWriter.DEFAULT, WkbWriter.DEFAULT.withByteOrder(ByteOrder.BIG_ENDIAN), WkbWriter.DEFAULT.withSrid(4326)}) {
+            assertThat(WkbWriterTest.geometries()).allSatisfy(geometry -> {
+                Geometry result = WkbReader.read(writer.write(geometry));
+                assertThat(result).isEqualTo(geometry);
+                assertThat(result.isValid()).isTrue();
+            });
+        }
+    }
+
+    @Test
+    void read_withLineString_shouldReadPositionsIntoCoordinateSequence() {
+        LineString lineString = LineString.of(Position.of(1, 2, 3), Position.of(4, 5, 6));
+
+        assertThat(WkbReader.read(WkbWriter.DEFAULT.write(lineString))).isEqualTo(lineString)
+                .satisfies(geometry -> assertThat(((LineString) geometry).getCoordinates()).isInstanceOf(CoordinateSequence.class));
+    }
+
+    @Test
+    void read_withBuffer_shouldMovePositionAndRestoreByteOrder() {
+        ByteBuffer buffer = ByteBuffer.wrap(HEX.parseHex("FF0101000000000000000000F03F0000000000000040FF")).order(ByteOrder.BIG_ENDIAN);
+        buffer.position(1);
+        assertThat(WkbReader.read(buffer)).isEqualTo(Point.of(1.0, 2.0));
+        assertThat(buffer.position()).isEqualTo(22);
+        assertThat(buffer.order()).isEqualTo(ByteOrder.BIG_ENDIAN);
+    }
+
+    @Test
+    void read_withEmptyPolygon_shouldReadPolygonWithoutRings() {
+        assertThat(WkbReader.read(HEX.parseHex("010300000000000000"))).isInstanceOf(Polygon.class)
+                .satisfies(geometry -> assertThat(((Polygon) geometry).getCoordinates().getExterior()).isNull());
+    }
+
+    @Test
+    void read_whenContentInvalid_shouldThrowError() {
+        assertThrows(IllegalArgumentException.class, () -> WkbReader.read(HEX.parseHex("0208000000")));
+        assertThrows(IllegalArgumentException.class, () -> WkbReader.read(HEX.parseHex("0108000000")));
+        assertThrows(IllegalArgumentException.class, () -> WkbReader.read(HEX.parseHex("010400000001000000010200000000000000")));
+        assertThrows(BufferUnderflowException.class, () -> WkbReader.read(HEX.parseHex("0101000000000000000000F03F")));
+    }
+
+    @Test
+    void read_whenCountCorrupt_shouldThrowError() {
+        assertThrows(BufferUnderflowException.class, () -> WkbReader.read(HEX.parseHex("010200000000000010")));
+        assertThrows(BufferUnderflowException.class, () -> WkbReader.read(HEX.parseHex("0102000000F0FFFF7F")));
+        assertThrows(BufferUnderflowException.class, () -> WkbReader.read(HEX.parseHex("0103000000FFFFFF0F")));
+        assertThrows(BufferUnderflowException.class, () -> WkbReader.read(HEX.parseHex("0107000000FFFFFF0F")));
+        assertThrows(IllegalArgumentException.class, () -> WkbReader.read(HEX.parseHex("0102000000FFFFFFFF")));
+    }
+}
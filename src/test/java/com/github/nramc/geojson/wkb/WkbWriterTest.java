@@ -0,0 +1,132 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.wkb;
+
+import com.github.nramc.geojson.domain.Geometry;
+import com.github.nramc.geojson.domain.GeometryCollection;
+import com.github.nramc.geojson.domain.LineString;
+import com.github.nramc.geojson.domain.MultiLineString;
+import com.github.nramc.geojson.domain.MultiPoint;
+import com.github.nramc.geojson.domain.MultiPolygon;
+import com.github.nramc.geojson.domain.Point;
+import com.github.nramc.geojson.domain.Polygon;
+import com.github.nramc.geojson.domain.PolygonCoordinates;
+import com.github.nramc.geojson.domain.Position;
+import org.junit.jupiter.api.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.HexFormat;
+import java.util.List;
+
+import static com.github.nramc.geojson.constant.GeoJsonType.MULTI_POINT;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class WkbWriterTest {
+    private static final HexFormat HEX = HexFormat.of().withUpperCase();
+    private static final List<Position> RING = List.of(Position.of(100.0, 0.0), Position.of(101.0, 0.0), Position.of(101.0, 1.0), Position.of(100.0, 0.0));
+
+    static List<Geometry> geometries() {
+        return List.of(
+                Point.of(100.0, 0.0),
+                Point.of(100.0, 0.0, 42.0),
+                LineString.of(Position.of(100.0, 0.0), Position.of(101.0, 1.0)),
+                Polygon.of(PolygonCoordinates.of(RING, List.of(Position.of(100.2, 0.2), Position.of(100.8, 0.2), Position.of(100.8, 0.8), Position.of(100.2, 0.2)))),
+                MultiPoint.of(Position.of(100.0, 0.0, 1.0), Position.of(101.0, 1.0, 2.0)),
+                MultiLineString.of(List.of(Position.of(100.0, 0.0), Position.of(101.0, 1.0)), List.of(Position.of(102.0, 2.0), Position.of(103.0, 3.0))),
+                MultiPolygon.of(PolygonCoordinates.of(RING), PolygonCoordinates.of(RING)),
+                GeometryCollection.of(Point.of(100.0, 0.0), LineString.of(Position.of(101.0, 0.0), Position.of(102.0, 1.0)))
+        );
+    }
+
+    @Test
+    void write_withPoint_shouldWriteIsoWkb() {
+        assertThat(HEX.formatHex(WkbWriter.DEFAULT.write(Point.of(1.0, 2.0))))
+                .isEqualTo("0101000000000000000000F03F0000000000000040");
+        assertThat(HEX.formatHex(WkbWriter.DEFAULT.withByteOrder(ByteOrder.BIG_ENDIAN).write(Point.of(1.0, 2.0))))
+                .isEqualTo("00000000013FF00000000000004000000000000000");
+        assertThat(HEX.formatHex(WkbWriter.DEFAULT.write(Point.of(1.0, 2.0, 3.0))))
+                .isEqualTo("01E9030000000000000000F03F00000000000000400000000000000840");
+    }
+
+    @Test
+    void write_withSrid_shouldWriteEwkb() {
+        assertThat(HEX.formatHex(WkbWriter.DEFAULT.withSrid(4326).write(Point.of(1.0, 2.0))))
+                .isEqualTo("0101000020E6100000000000000000F03F0000000000000040");
+        assertThat(HEX.formatHex(WkbWriter.DEFAULT.withSrid(4326).write(Point.of(1.0, 2.0, 3.0))))
+                .isEqualTo("01010000A0E6100000000000000000F03F00000000000000400000000000000840");
+        assertThat(HEX.formatHex(WkbWriter.DEFAULT.withSrid(4326).write(new MultiPoint(MULTI_POINT, List.of(Position.of(1.0, 2.0))))))
+                .as("only the outermost geometry has a SRID")
+                .isEqualTo("0104000020E6100000010000000101000000000000000000F03F0000000000000040");
+        assertThrows(IllegalArgumentException.class, () -> WkbWriter.DEFAULT.withSrid(-1));
+    }
+
+    @Test
+    void write_withLineString_shouldWriteCountAndPositions() {
+        assertThat(HEX.formatHex(WkbWriter.DEFAULT.write(LineString.of(Position.of(1.0, 2.0), Position.of(3.0, 4.0)))))
+                .isEqualTo("010200000002000000000000000000F03F000000000000004000000000000008400000000000001040");
+    }
+
+    @Test
+    void write_whenSomePositionsHaveAltitude_shouldWriteZWithNaN() {
+        GeometryCollection collection = GeometryCollection.of(Point.of(1.0, 2.0), Point.of(3.0, 4.0, 5.0));
+        Geometry geometry = WkbReader.read(WkbWriter.DEFAULT.write(collection));
+        assertThat(((GeometryCollection) geometry).getGeometries()).extracting(member -> ((Point) member).getCoordinates().getAltitude())
+                .containsExactly(Double.NaN, 5.0);
+    }
+
+    @Test
+    void write_withEmptyGeometries_shouldWriteEmptyWkb() {
+        assertThat(HEX.formatHex(WkbWriter.DEFAULT.write(new Point())))
+                .isEqualTo("0101000000000000000000F87F000000000000F87F");
+        assertThat(HEX.formatHex(WkbWriter.DEFAULT.write(new Polygon())))
+                .isEqualTo("010300000000000000");
+        assertThat(HEX.formatHex(WkbWriter.DEFAULT.write(new GeometryCollection(null, null))))
+                .isEqualTo("010700000000000000");
+    }
+
+    @Test
+    void size_shouldBeLengthOfEncodedGeometry() {
+        for (WkbWriter writer : List.of(WkbWriter.DEFAULT, WkbWriter.DEFAULT.withSrid(4326))) {
+            assertThat(geometries()).allSatisfy(geometry -> assertThat(writer.size(geometry)).isEqualTo(writer.write(geometry).length));
+        }
+    }
+
+    @Test
+    void write_withBuffer_shouldWriteAtPositionAndRestoreByteOrder() {
+        Point point = Point.of(1.0, 2.0);
+        ByteBuffer buffer = ByteBuffer.allocate(3 + WkbWriter.DEFAULT.size(point)).order(ByteOrder.BIG_ENDIAN);
+        buffer.position(3);
+        WkbWriter.DEFAULT.write(point, buffer);
+        assertThat(buffer.position()).isEqualTo(buffer.capacity());
+        assertThat(buffer.order()).isEqualTo(ByteOrder.BIG_ENDIAN);
+        assertThat(WkbReader.read(buffer.position(3))).isEqualTo(point);
+
+        assertThrows(BufferOverflowException.class, () -> WkbWriter.DEFAULT.write(point, ByteBuffer.allocate(8)));
+    }
+
+    @Test
+    void withByteOrderAndSrid_shouldKeepOtherSettings() {
+        WkbWriter writer = WkbWriter.DEFAULT.withSrid(4326).withByteOrder(ByteOrder.BIG_ENDIAN);
+        assertThat(writer.getSrid()).isEqualTo(4326);
+        assertThat(writer.getByteOrder()).isEqualTo(ByteOrder.BIG_ENDIAN);
+        assertThat(writer).hasToString("WkbWriter{byteOrder=BIG_ENDIAN, srid=4326}");
+        assertThat(WkbWriter.DEFAULT.getSrid()).isZero();
+        assertThat(WkbWriter.DEFAULT.getByteOrder()).isEqualTo(ByteOrder.LITTLE_ENDIAN);
+    }
+}
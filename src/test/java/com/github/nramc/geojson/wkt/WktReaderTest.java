@@ -0,0 +1,157 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.wkt;
+
+import com.github.nramc.geojson.domain.Geometry;
+import com.github.nramc.geojson.domain.GeometryCollection;
+import com.github.nramc.geojson.domain.LineString;
+import com.github.nramc.geojson.domain.MultiLineString;
+import com.github.nramc.geojson.domain.MultiPoint;
+import com.github.nramc.geojson.domain.MultiPolygon;
+import com.github.nramc.geojson.domain.Point;
+import com.github.nramc.geojson.domain.Polygon;
+import com.github.nramc.geojson.domain.PolygonCoordinates;
+import com.github.nramc.geojson.domain.Position;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class WktReaderTest {
+    private static final List<Position> RING = List.of(Position.of(35.0, 10.0), Position.of(45.0, 45.0), Position.of(15.0, 40.0), Position.of(10.0, 20.0), Position.of(35.0, 10.0));
+    private static final List<Position> HOLE = List.of(Position.of(20.0, 30.0), Position.of(35.0, 35.0), Position.of(30.0, 20.0), Position.of(20.0, 30.0));
+
+    @Test
+    void read_shouldReadEveryType() {
+        assertThat(WktReader.read("POINT (30 10)")).isEqualTo(Point.of(30.0, 10.0));
+        assertThat(WktReader.read("LINESTRING (30 10, 10 30, 40 40)"))
+                .isEqualTo(LineString.of(Position.of(30.0, 10.0), Position.of(10.0, 30.0), Position.of(40.0, 40.0)));
+        assertThat(WktReader.read("POLYGON ((35 10, 45 45, 15 40, 10 20, 35 10),(20 30, 35 35, 30 20, 20 30))"))
+                .isEqualTo(Polygon.of(PolygonCoordinates.of(RING, HOLE)));
+        assertThat(WktReader.read("MULTIPOINT ((10 40), (40 30))")).isEqualTo(MultiPoint.of(Position.of(10.0, 40.0), Position.of(40.0, 30.0)));
+        assertThat(WktReader.read("MULTIPOINT (10 40, 40 30)")).isEqualTo(MultiPoint.of(Position.of(10.0, 40.0), Position.of(40.0, 30.0)));
+        assertThat(WktReader.read("MULTILINESTRING ((10 10, 20 20), (40 40, 30 30))"))
+                .isEqualTo(MultiLineString.of(List.of(Position.of(10.0, 10.0), Position.of(20.0, 20.0)), List.of(Position.of(40.0, 40.0), Position.of(30.0, 30.0))));
+        assertThat(WktReader.read("MULTIPOLYGON (((35 10, 45 45, 15 40, 10 20, 35 10)), ((35 10, 45 45, 15 40, 10 20, 35 10), (20 30, 35 35, 30 20, 20 30)))"))
+                .isEqualTo(MultiPolygon.of(PolygonCoordinates.of(RING), PolygonCoordinates.of(RING, HOLE)));
+        assertThat(WktReader.read("GEOMETRYCOLLECTION (POINT (40 10), LINESTRING (10 10, 20 20))"))
+                .isEqualTo(GeometryCollection.of(Point.of(40.0, 10.0), LineString.of(Position.of(10.0, 10.0), Position.of(20.0, 20.0))));
+    }
+
+    @Test
+    void read_withLowerCaseAndWithoutWhitespace_shouldReadGeometry() {
+        assertThat(WktReader.read("\tpolygon((35 10,45 45,15 40,10 20,35 10),(20 30,35 35,30 20,20 30))\n"))
+                .isEqualTo(Polygon.of(PolygonCoordinates.of(RING, HOLE)));
+        assertThat(WktReader.read("MultiPoint(+10 40,40 30)")).isEqualTo(MultiPoint.of(Position.of(10.0, 40.0), Position.of(40.0, 30.0)));
+    }
+
+    @Test
+    void read_withDimensions_shouldKeepAltitudeAndDropMeasure() {
+        assertThat(WktReader.read("POINT Z (1 2 3)")).isEqualTo(Point.of(1.0, 2.0, 3.0));
+        assertThat(WktReader.read("POINT (1 2 3)")).isEqualTo(Point.of(1.0, 2.0, 3.0));
+        assertThat(WktReader.read("POINT M (1 2 4)")).isEqualTo(Point.of(1.0, 2.0));
+        assertThat(WktReader.read("POINT ZM (1 2 3 4)")).isEqualTo(Point.of(1.0, 2.0, 3.0));
+        assertThat(WktReader.read("POINT (1 2 3 4)")).isEqualTo(Point.of(1.0, 2.0, 3.0));
+        assertThat(WktReader.read("LINESTRINGM(1 2 4, 5 6 7)")).isEqualTo(LineString.of(Position.of(1.0, 2.0), Position.of(5.0, 6.0)));
+        assertThat(WktReader.read("GEOMETRYCOLLECTION Z (POINT Z (1 2 3), POINT M (1 2 4), POINT (5 6 7))"))
+                .isEqualTo(GeometryCollection.of(Point.of(1.0, 2.0, 3.0), Point.of(1.0, 2.0), Point.of(5.0, 6.0, 7.0)));
+    }
+
+    @Test
+    void read_withEmptyGeometries_shouldReadEmpty() {
+        assertThat(((Point) WktReader.read("POINT EMPTY")).getCoordinates().getCoordinates()).containsExactly(Double.NaN, Double.NaN);
+        assertThat(WktReader.read("LINESTRING EMPTY")).isEqualTo(new LineString("LineString", List.of()));
+        assertThat(((Polygon) WktReader.read("POLYGON EMPTY")).getCoordinates()).isNull();
+        assertThat(((MultiPoint) WktReader.read("MULTIPOINT (EMPTY, (1 2))")).getCoordinates().get(1)).isEqualTo(Position.of(1.0, 2.0));
+        assertThat(((MultiPolygon) WktReader.read("MULTIPOLYGON EMPTY")).getCoordinates()).isNull();
+        assertThat(WktReader.read("GEOMETRYCOLLECTION EMPTY")).isEqualTo(new GeometryCollection("GeometryCollection", List.of()));
+    }
+
+    @Test
+    void read_withEwkt_shouldSkipSrid() {
+        assertThat(WktReader.read("SRID=4326;POINT(30 10)")).isEqualTo(Point.of(30.0, 10.0));
+        assertThat(WktReader.readSrid("SRID=4326;POINT(30 10)")).isEqualTo(4326);
+        assertThat(WktReader.readSrid("POINT(30 10)")).isZero();
+    }
+
+    @Test
+    void read_withNumbers_shouldParseExactly() {
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            double longitude = random.nextDouble() * 360 - 180;
+            double latitude = Math.round((random.nextDouble() * 180 - 90) * 1e7) / 1e7;
+            Position position = ((Point) WktReader.read("POINT (" + longitude + " " + latitude + ")")).getCoordinates();
+            assertThat(position.getCoordinates()).containsExactly(longitude, latitude);
+        }
+        assertThat(((Point) WktReader.read("POINT (1.5e3 -2.5E-3)")).getCoordinates().getCoordinates()).containsExactly(1500.0, -0.0025);
+        assertThat(((Point) WktReader.read("POINT (.5 0.000000000000000000000000001)")).getCoordinates().getCoordinates()).containsExactly(0.5, 1e-27);
+        assertThat(((Point) WktReader.read("POINT (123456789012345678901234 1e400)")).getCoordinates().getCoordinates())
+                .containsExactly(1.2345678901234568e23, Double.POSITIVE_INFINITY);
+        assertThat(((Point) WktReader.read("POINT (NaN -Infinity)")).getCoordinates().getCoordinates())
+                .containsExactly(Double.NaN, Double.NEGATIVE_INFINITY);
+    }
+
+    @Test
+    void read_withLongSignificands_shouldRoundLikeJdk() {
+        Random random = new Random(7);
+        for (int i = 0; i < 100_000; i++) {
+            StringBuilder digits = new StringBuilder();
+            for (int d = 16 + random.nextInt(3); d > 0; d--) {
+                digits.append((char) ('0' + random.nextInt(10)));
+            }
+            int point = random.nextInt(digits.length() + 1);
+            String number = digits.insert(point, '.').append('e').append(random.nextInt(21) - 10).toString();
+            double expected = Double.parseDouble(number);
+            assertThat(((Point) WktReader.read("POINT (" + number + " " + expected + ")")).getCoordinates().getCoordinates())
+                    .as(number).containsExactly(expected, expected);
+        }
+        String tie = "9007199254740993";
+        assertThat(((Point) WktReader.read("POINT (" + tie + " -" + tie + "5e-1)")).getCoordinates().getCoordinates())
+                .containsExactly(Double.parseDouble(tie), -Double.parseDouble(tie + "5e-1"));
+    }
+
+    @Test
+    void read_withRange_shouldReadColumnOfLine() {
+        char[] line = "42;POINT (1 2);name".toCharArray();
+        assertThat(WktReader.read(line, 3, 11)).isEqualTo(Point.of(1.0, 2.0));
+        assertThrows(IndexOutOfBoundsException.class, () -> WktReader.read(line, 10, 20));
+    }
+
+    @Test
+    void read_withWrittenGeometries_shouldRoundTrip() {
+        List<Geometry> geometries = List.of(
+                Point.of(13.404954, 52.520008, 34.5),
+                Polygon.of(PolygonCoordinates.of(RING, HOLE)),
+                MultiPolygon.of(PolygonCoordinates.of(RING), PolygonCoordinates.of(RING, HOLE)),
+                GeometryCollection.of(Point.of(0.1 + 0.2, 1e-7), MultiLineString.of(List.of(Position.of(-180.0, -90.0), Position.of(180.0, 90.0)))));
+        for (Geometry geometry : geometries) {
+            assertThat(WktReader.read(WktWriter.DEFAULT.withSrid(4326).write(geometry))).isEqualTo(geometry);
+        }
+    }
+
+    @Test
+    void read_whenTextMalformed_shouldThrowError() {
+        List<String> texts = List.of("", "CIRCLE (1 2)", "POINT", "POINT (1)", "POINT (1 2", "POINT (1 2) x", "POINT (1 2 3 4 5)",
+                "POINT Z (1 2)", "POINT (1 a)", "POINT (- 2)", "POINT (1e 2)", "LINESTRING (1 2,)", "POINTX (1 2)", "SRID=;POINT (1 2)",
+                "SRID=4326 POINT (1 2)", "MULTIPOLYGON ((1 2))");
+        for (String text : texts) {
+            assertThrows(IllegalArgumentException.class, () -> WktReader.read(text), text);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.nramc.geojson.wkt;
+
+import com.github.nramc.geojson.domain.Geometry;
+import com.github.nramc.geojson.domain.GeometryCollection;
+import com.github.nramc.geojson.domain.LineString;
+import com.github.nramc.geojson.domain.MultiLineString;
+import com.github.nramc.geojson.domain.MultiPoint;
+import com.github.nramc.geojson.domain.MultiPolygon;
+import com.github.nramc.geojson.domain.Point;
+import com.github.nramc.geojson.domain.Polygon;
+import com.github.nramc.geojson.domain.PolygonCoordinates;
+import com.github.nramc.geojson.domain.Position;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class WktWriterTest {
+    private static final List<Position> RING = List.of(Position.of(35.0, 10.0), Position.of(45.0, 45.0), Position.of(15.0, 40.0), Position.of(10.0, 20.0), Position.of(35.0, 10.0));
+    private static final List<Position> HOLE = List.of(Position.of(20.0, 30.0), Position.of(35.0, 35.0), Position.of(30.0, 20.0), Position.of(20.0, 30.0));
+
+    @Test
+    void write_shouldWriteEveryType() {
+        assertThat(WktWriter.DEFAULT.write(Point.of(30.0, 10.0))).isEqualTo("POINT (30 10)");
+        assertThat(WktWriter.DEFAULT.write(LineString.of(Position.of(30.0, 10.0), Position.of(10.0, 30.0), Position.of(40.0, 40.0))))
+                .isEqualTo("LINESTRING (30 10, 10 30, 40 40)");
+        assertThat(WktWriter.DEFAULT.write(Polygon.of(PolygonCoordinates.of(RING, HOLE))))
+                .isEqualTo("POLYGON ((35 10, 45 45, 15 40, 10 20, 35 10), (20 30, 35 35, 30 20, 20 30))");
+        assertThat(WktWriter.DEFAULT.write(MultiPoint.of(Position.of(10.0, 40.0), Position.of(40.0, 30.0))))
+                .isEqualTo("MULTIPOINT ((10 40), (40 30))");
+        assertThat(WktWriter.DEFAULT.write(MultiLineString.of(List.of(Position.of(10.0, 10.0), Position.of(20.0, 20.0)), List.of(Position.of(40.0, 40.0), Position.of(30.0, 30.0)))))
+                .isEqualTo("MULTILINESTRING ((10 10, 20 20), (40 40, 30 30))");
+        assertThat(WktWriter.DEFAULT.write(MultiPolygon.of(PolygonCoordinates.of(RING), PolygonCoordinates.of(RING, HOLE))))
+                .isEqualTo("MULTIPOLYGON (((35 10, 45 45, 15 40, 10 20, 35 10)), ((35 10, 45 45, 15 40, 10 20, 35 10), (20 30, 35 35, 30 20, 20 30)))");
+        assertThat(WktWriter.DEFAULT.write(GeometryCollection.of(Point.of(40.0, 10.0), LineString.of(Position.of(10.0, 10.0), Position.of(20.0, 20.0)))))
+                .isEqualTo("GEOMETRYCOLLECTION (POINT (40 10), LINESTRING (10 10, 20 20))");
+    }
+
+    @Test
+    void write_withAltitude_shouldWriteZ() {
+        assertThat(WktWriter.DEFAULT.write(Point.of(30.0, 10.0, 5.5))).isEqualTo("POINT Z (30 10 5.5)");
+        assertThat(WktWriter.DEFAULT.write(LineString.of(Position.of(30.0, 10.0, 0.0), Position.of(10.0, 30.0, 1.0))))
+                .isEqualTo("LINESTRING Z (30 10 0, 10 30 1)");
+        assertThat(WktWriter.DEFAULT.write(GeometryCollection.of(Point.of(40.0, 10.0, 0.5), Point.of(1.0, 2.0, 3.0))))
+                .isEqualTo("GEOMETRYCOLLECTION Z (POINT Z (40 10 0.5), POINT Z (1 2 3))");
+    }
+
+    @Test
+    void write_withMixedAltitude_shouldThrowError() {
+        StringBuilder builder = new StringBuilder("id;");
+        LineString lineString = LineString.of(Position.of(30.0, 10.0), Position.of(10.0, 30.0, 1.0));
+        GeometryCollection collection = GeometryCollection.of(Point.of(40.0, 10.0), Point.of(1.0, 2.0, 3.0));
+        assertThrows(IllegalArgumentException.class, () -> WktWriter.DEFAULT.write(lineString, builder));
+        assertThrows(IllegalArgumentException.class, () -> WktWriter.DEFAULT.withSrid(4326).write(collection, builder));
+        assertThat(builder).hasToString("id;");
+    }
+
+    @Test
+    void write_withFractionsAndLargeValues_shouldWriteShortestRepresentation() {
+        assertThat(WktWriter.DEFAULT.write(Point.of(13.404954, -52.520008))).isEqualTo("POINT (13.404954 -52.520008)");
+        assertThat(WktWriter.DEFAULT.write(new Point("Point", new Position(new double[]{0.1 + 0.2, 1e-7}))))
+                .isEqualTo("POINT (0.30000000000000004 1.0E-7)");
+        assertThat(WktWriter.DEFAULT.write(new Point("Point", new Position(new double[]{1e20, -0.0}))))
+                .isEqualTo("POINT (1.0E20 0)");
+    }
+
+    @Test
+    void write_withEmptyGeometries_shouldWriteEmpty() {
+        assertThat(WktWriter.DEFAULT.write(new Point("Point", null))).isEqualTo("POINT EMPTY");
+        assertThat(WktWriter.DEFAULT.write(new Point("Point", new Position()))).isEqualTo("POINT EMPTY");
+        assertThat(WktWriter.DEFAULT.write(new LineString("LineString", List.of()))).isEqualTo("LINESTRING EMPTY");
+        assertThat(WktWriter.DEFAULT.write(new Polygon("Polygon", null))).isEqualTo("POLYGON EMPTY");
+        assertThat(WktWriter.DEFAULT.write(new MultiPoint("MultiPoint", List.of(new Position(), Position.of(1.0, 2.0)))))
+                .isEqualTo("MULTIPOINT (EMPTY, (1 2))");
+        assertThat(WktWriter.DEFAULT.write(new MultiLineString("MultiLineString", List.of()))).isEqualTo("MULTILINESTRING EMPTY");
+        assertThat(WktWriter.DEFAULT.write(new MultiPolygon("MultiPolygon", null))).isEqualTo("MULTIPOLYGON EMPTY");
+        assertThat(WktWriter.DEFAULT.write(new GeometryCollection("GeometryCollection", List.of()))).isEqualTo("GEOMETRYCOLLECTION EMPTY");
+    }
+
+    @Test
+    void write_withSrid_shouldWriteEwkt() {
+        WktWriter writer = WktWriter.DEFAULT.withSrid(4326);
+        assertThat(writer.write(Point.of(30.0, 10.0))).isEqualTo("SRID=4326;POINT (30 10)");
+        assertThat(writer.getSrid()).isEqualTo(4326);
+        assertThrows(IllegalArgumentException.class, () -> writer.withSrid(-1));
+    }
+
+    @Test
+    void write_withReusedBuilder_shouldAppendGeometries() {
+        StringBuilder builder = new StringBuilder("id;");
+        List<Geometry> geometries = List.of(Point.of(1.0, 2.0), Point.of(3.0, 4.0));
+        for (Geometry geometry : geometries) {
+            WktWriter.DEFAULT.write(geometry, builder).append(';');
+        }
+        assertThat(builder).hasToString("id;POINT (1 2);POINT (3 4);");
+    }
+
+    @Test
+    void toString_shouldContainSrid() {
+        assertThat(WktWriter.DEFAULT.withSrid(4326)).hasToString("WktWriter{srid=4326}");
+    }
+}